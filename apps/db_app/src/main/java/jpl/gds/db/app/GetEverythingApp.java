@@ -20,7 +20,9 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.PrintWriter;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -111,6 +113,9 @@ public class GetEverythingApp extends AbstractFetchApp
 {
     /** Environment Variables */
     public static final String APP_NAME = ApplicationConfiguration.getApplicationName("chill_get_everything");
+
+    /** Long option for merging the chill_get_* outputs as they stream in */
+    public static final String STREAM_MERGE_LONG = "streamMerge";
     
     /*
      * Command line options
@@ -273,6 +278,11 @@ public class GetEverythingApp extends AbstractFetchApp
      * This lets us know we are only processing the sql only outputs
      */
     private boolean sqlOnly = false;
+    /**
+     * True if all the chill_get_* processes are started together and merged
+     * as they write their output, rather than run one at a time to completion
+     */
+    private boolean streamMerge = false;
     /**
      * The ArrayLists used for parsing out the command line to be sent to each
      * get_*
@@ -527,6 +537,60 @@ public class GetEverythingApp extends AbstractFetchApp
         } // Ends the compareTo()
     } // Ends the sortDataStructure Class
 
+    /**
+     * Reads lines from a chill_get_* process while it is still running, and
+     * copies each line read to the data type's file. Used when merging the
+     * process outputs as they stream in, so that each process only gets as
+     * far ahead of the merge as its pipe lets it, and nothing is held in
+     * memory or read from disk twice.
+     * <p>
+     * At end of output the process is waited for. A process that exits with a
+     * non-zero status, for instance a query aborted part way through, fails
+     * the read instead of silently truncating that data type.
+     */
+    private static class TeeLineReader extends BufferedReader {
+        private final BufferedWriter copy;
+        private final Process process;
+        private boolean exitChecked;
+
+        public TeeLineReader(final Reader in, final BufferedWriter copy, final Process process) {
+            super(in);
+            this.copy = copy;
+            this.process = process;
+        }
+
+        @Override
+        public String readLine() throws IOException {
+            final String line = super.readLine();
+            if (line != null) {
+                copy.write(line);
+                copy.newLine();
+            } else {
+                copy.flush();
+                checkExit();
+            }
+            return line;
+        }
+
+        private void checkExit() throws IOException {
+            if (exitChecked) {
+                return;
+            }
+            exitChecked = true;
+            final int status;
+            try {
+                status = process.waitFor();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for the process to exit");
+            }
+            if (status != 0) {
+                throw new IOException("The process exited with status " + status
+                        + " before its output was complete");
+            }
+        }
+    }
+
 
     /**
      * Constructor
@@ -811,6 +875,10 @@ public class GetEverythingApp extends AbstractFetchApp
         if (cmdline.hasOption(SQL_STATEMENT_ONLY_LONG)) {
             sqlOnly = true;
         }
+        streamMerge = cmdline.hasOption(STREAM_MERGE_LONG);
+        if (streamMerge) {
+            cmdlineGe.add(DOUBLE_DASH + STREAM_MERGE_LONG);
+        }
         /*
          * Now we parse each command line option, and add it to each applicable
          * app(s) individual command line string.
@@ -1499,6 +1567,12 @@ public class GetEverythingApp extends AbstractFetchApp
                 if (outSRTEXT) {
                     header = text1553Header;
                 }
+            } else if (streamMerge) {
+                // The merge reads straight from the process, copying each
+                // line to the file as it goes, so the processes all run
+                // together and none waits for another to finish.
+                inBuff = new TeeLineReader(new InputStreamReader(
+                        p.getInputStream()), outBuff, p);
             } else {
                 // We need to read the input buffer to the file.
                 final BufferedReader inStreamBuff = new BufferedReader(
@@ -1787,6 +1861,22 @@ public class GetEverythingApp extends AbstractFetchApp
         }
     }
 
+    /**
+     * This is used to stop any chill_get_* processes still running when the
+     * report fails part way through a streaming merge. Otherwise they would
+     * be left blocked writing output that is never read.
+     */
+    private void destroyProcesses() {
+        if (DataMap == null) {
+            return;
+        }
+        for (final ArrayList<Object> data : DataMap.values()) {
+            if (data.size() > PROCESS) {
+                ((Process) data.get(PROCESS)).destroy();
+            }
+        }
+    }
+
     /**
      * This is used to retrieve a data types command line in string format.
      * 
@@ -3126,6 +3216,10 @@ public class GetEverythingApp extends AbstractFetchApp
         final Option scetOpt = ReservedOptions.createOption(null, DO_SCET_LONG, null,
                 "Combined output is sorted by SCET.");
         options.addOption(scetOpt);
+        final Option streamOpt = ReservedOptions.createOption(STREAM_MERGE_LONG, null,
+                "Run all the queries at once and merge their output as it arrives, "
+                        + "instead of running them one after another.");
+        options.addOption(streamOpt);
         final Option noEhaOpt = ReservedOptions.createOption(NO_EHA_LONG, null,
                 "No channels in the report.");
         options.addOption(noEhaOpt);
@@ -3302,6 +3396,9 @@ public class GetEverythingApp extends AbstractFetchApp
             // e.getMessage()));
             trace.fatal("Application error: " + (e));
             setExitCode(1);
+            if (streamMerge) {
+                destroyProcesses();
+            }
         }
 
     }
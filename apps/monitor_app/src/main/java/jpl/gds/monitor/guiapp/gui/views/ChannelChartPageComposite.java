@@ -173,6 +173,8 @@ public class ChannelChartPageComposite implements View, ChannelSetConsumer
 		mainShell.setLayout(layout);
 
 		dataset = new ChillDataset(appContext.getBean(MonitorGuiProperties.class), appContext.getBean(MonitorTimers.class));
+		// Points plotted against another channel do not arrive in domain order, so cannot be downsampled
+		dataset.setDownsampleEnabled(xAxisChoice != XAxisChoice.CHANNEL);
 
 		theChart = new ChillChart();
 
@@ -213,6 +215,7 @@ public class ChannelChartPageComposite implements View, ChannelSetConsumer
 
 		// by using setChart, the chartComposite is made to listen to chart changes
 		chartComp.setChart( theChart.getChart() );
+		dataset.setDomainAxis(theChart.getChart().getXYPlot().getDomainAxis());
 
 		data = new FormData();
 		data.top = new FormAttachment(0);
@@ -444,6 +447,8 @@ public class ChannelChartPageComposite implements View, ChannelSetConsumer
 								if (time.length >= 2 && lastValue.getTime() <= time[1]){
 									point.setXValue(lastValue.getData());
 									time[0] = lastValue.getTime();
+									// The series holds a copy of the point, so it must be told of the change
+									dataset.updateLatestDataPoint(entry.getKey(), point);
 								}
 								// otherwise create a new datapoint using the existing y data value.
 								else{
@@ -659,6 +664,7 @@ public class ChannelChartPageComposite implements View, ChannelSetConsumer
 
 								currentPoint.setYValue(point.getYValue());
 								timestamp[1] = data.getErt().getTime();
+								dataset.updateLatestDataPoint(channelIndex, currentPoint);
 
 								point = null;
 							}
@@ -976,6 +982,7 @@ public class ChannelChartPageComposite implements View, ChannelSetConsumer
 										}
 										xAxisChoice = viewConfig.getDomainValueSelector();
 										yAxisChoice = viewConfig.getRangeValueSelector();
+										dataset.setDownsampleEnabled(xAxisChoice != XAxisChoice.CHANNEL);
 
 										theChart.setChartConfiguration(viewConfig);
 										final boolean afterAutoAdjustRange = viewConfig.isAutoAdjustRange();
@@ -1016,6 +1023,7 @@ public class ChannelChartPageComposite implements View, ChannelSetConsumer
 											}
 
 											chartComp.setChart( theChart.getChart() );
+											dataset.setDomainAxis(theChart.getChart().getXYPlot().getDomainAxis());
 										}
 										resetChartSources();
 
@@ -14,18 +14,43 @@
 
 package jpl.gds.monitor.guiapp.plot;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * ChartDataSeries holds the entire list of data points for a single plot in chill_monitor.
  *
+ * Points are kept in a ring of parallel primitive arrays, oldest first, so adding a point and expiring old ones
+ * costs the same however many points the series holds. Before each redraw, prepareRender() copies the points in
+ * the plot's domain range into a separate set of arrays, reducing them to the minimum and maximum of each pixel column
+ * when there are many more points than the plot is wide.
+ *
  */
 public class ChartDataSeries {
     
+    private static final int INITIAL_CAPACITY = 1000;
+    
+    /** Points kept for each pixel column when downsampling: first, minimum, maximum and last */
+    private static final int POINTS_PER_BUCKET = 4;
+
     private String name;
-    private final ArrayList<ChartDataPoint> seriesData = new ArrayList<ChartDataPoint>(1000);
+    private double[] xValues   = new double[INITIAL_CAPACITY];
+    private double[] yValues   = new double[INITIAL_CAPACITY];
+    private long[]   postTimes = new long[INITIAL_CAPACITY];
+    /** Ring index of the oldest point */
+    private int head;
+    private int size;
     private long timeToLive    = Long.MAX_VALUE;
     private long maxDataPoints = Long.MAX_VALUE;
+    
+    /*
+     * Points as last prepared for rendering. Written by prepareRender() and read by the chart as it draws, both on
+     * the display thread, so not synchronized.
+     */
+    private double[] renderXValues = new double[0];
+    private double[] renderYValues = new double[0];
+    private int      renderCount;
+    private double   domainLower   = Double.NaN;
+    private double   domainUpper   = Double.NaN;
 
     
     /**
@@ -45,6 +70,11 @@ public class ChartDataSeries {
 	public synchronized void setMaxDataPoints(long maxDataPoints) {
 		this.maxDataPoints = maxDataPoints;
 		expireData();
+		
+		// Give back memory the series can no longer use
+		if (xValues.length > maxDataPoints && xValues.length > INITIAL_CAPACITY) {
+			resize((int) Math.max(maxDataPoints, INITIAL_CAPACITY));
+		}
 	}
 
 	/**
@@ -63,59 +93,88 @@ public class ChartDataSeries {
 	 * @return number of data points
 	 */
     public synchronized int numItems() {
-        return seriesData.size();
+        return size;
     }
 
 
     /**
      * Adds a new data point to the series and then expires old data
-     * if required.
+     * if required. The point's values are copied; later changes to the point
+     * do not affect the series.
      * 
      * @param point the new ChartDataPoint to add 
      */
     public synchronized void addDataPoint(ChartDataPoint point) {
         
-        this.seriesData.add(point);
+        if (size == xValues.length) {
+            if (size >= maxDataPoints) {
+                // Full; the oldest point makes way for the new one
+                removeOldest(1);
+            } else {
+                resize((int) Math.min(Math.min((long) xValues.length * 2, maxDataPoints), Integer.MAX_VALUE - 8));
+            }
+        }
+        
+        final int index = ringIndex(size);
+        xValues[index] = point.getXValue();
+        yValues[index] = point.getYValue();
+        postTimes[index] = point.getPostTime();
+        size++;
 
-        if ((this.seriesData.size() > this.maxDataPoints) ||
+        if ((size > this.maxDataPoints) ||
             (this.timeToLive < Long.MAX_VALUE))
         {
         	expireData();
         }
     }
+    
+    /**
+     * Replaces the values of the latest data point in the series with those of
+     * the given point, for plots that revise a point after adding it.
+     * 
+     * @param point the ChartDataPoint holding the new values
+     */
+    public synchronized void updateLatestDataPoint(ChartDataPoint point) {
+        if (size == 0) {
+            return;
+        }
+        final int index = ringIndex(size - 1);
+        xValues[index] = point.getXValue();
+        yValues[index] = point.getYValue();
+    }
 
 
     /**
      * Clears all the data points in this series.
      */
     public synchronized  void clearDataPoints() {
-        this.seriesData.clear();
+        head = 0;
+        size = 0;
     }
     
     /**
      * Gets the data point at the specified index.
      * 
      * @param num the index of the data point to get (starting at 0)
-     * @return the ChartDataPoint, or null if none found at the given index
+     * @return a copy of the ChartDataPoint, or null if none found at the given index
      */
     public synchronized ChartDataPoint getDataPoint(int num) {
-    	if (this.seriesData.size() == 0 || this.seriesData.size() <= num) {
+    	if (num < 0 || size <= num) {
     		return null;
     	}
-        ChartDataPoint point = this.seriesData.get(num);
-        return point;
+        return copyOf(ringIndex(num));
     }
     
     /**
      * Gets the latest data point added to this series.
      * 
-     * @return latest data point, or null if no data points exist
+     * @return a copy of the latest data point, or null if no data points exist
      */
     public synchronized ChartDataPoint getLatestDataPoint() {
-    	if (this.seriesData.isEmpty()) {
+    	if (size == 0) {
     		return null;
     	} else {
-    		return this.seriesData.get(this.seriesData.size() - 1);
+    		return copyOf(ringIndex(size - 1));
     	}
     }
     
@@ -125,38 +184,176 @@ public class ChartDataSeries {
      * oldest data points are removed.
      */
     private synchronized void expireData() {
-        if (this.seriesData.size() == 0) {
+        if (size == 0) {
             return;
         }
         
-        // If too many data points, remove the oldest 25%
-        if (this.seriesData.size() > this.maxDataPoints) {
-        	while (this.seriesData.size() > ((this.maxDataPoints / 4.0) * 3.0)) {
-        		seriesData.remove(0);
-        	}
+        // If too many data points, remove the oldest
+        if (size > this.maxDataPoints) {
+        	removeOldest((int) (size - this.maxDataPoints));
         }
         
         // Remove data points that have exceeded the configured retention time
-        /*Don't attempt to remove points if
-         * seriesData is empty */
-        if(seriesData.size() > 0) {
-	        long latest = this.seriesData.get(this.seriesData.size() - 1).getPostTime();        
-	        ArrayList<ChartDataPoint> removeList = new ArrayList<ChartDataPoint>();
+        if (size > 0 && timeToLive < Long.MAX_VALUE) {
+	        final long latest = postTimes[ringIndex(size - 1)];
 	        
-	        for (ChartDataPoint point : this.seriesData) {
-	        	long pointTime = point.getPostTime();
-	        	long elapsed = latest - pointTime;
-	        	if (elapsed > timeToLive) {
-	               removeList.add(point);		
-	        	} else {
-	        		break;
-	        	}
-	        }
-	        
-	        for (ChartDataPoint point : removeList) {
-	        	seriesData.remove(point);
+	        int expired = 0;
+	        while (expired < size && latest - postTimes[ringIndex(expired)] > timeToLive) {
+	        	expired++;
 	        }
+	        removeOldest(expired);
+        }
+    }
+    
+    /**
+     * Prepares the points the chart will draw until the next call, from the
+     * points currently in the series, and records the domain bounds of the
+     * whole series. Called on the display thread.
+     * <p>
+     * When downsampling, the points must be in domain order. Only the points
+     * within the given domain range are prepared, along with the nearest point
+     * outside each end so lines are drawn to the edges of the plot. If there
+     * are more than four of them per bucket, the range is split into the given
+     * number of buckets of equal width and only the first, minimum, maximum and
+     * last points of each bucket are kept. Sizing the buckets to the plot's
+     * pixel width keeps every spike and dip visible while the number of points
+     * drawn stays proportional to the width rather than to the amount of data,
+     * however far the plot is zoomed in.
+     * 
+     * @param buckets number of buckets, normally the plot width in pixels; 0 to
+     *            draw every point, in which case the points may be in any order
+     * @param lower lower bound of the domain range shown, or NaN for the
+     *            whole series
+     * @param upper upper bound of the domain range shown, or NaN for the
+     *            whole series
+     */
+    public synchronized void prepareRender(int buckets, double lower, double upper) {
+        if (buckets <= 0) {
+            ensureRenderCapacity(size);
+            domainLower = Double.NaN;
+            domainUpper = Double.NaN;
+            renderCount = 0;
+            for (int i = 0; i < size; i++) {
+                final double x = xValues[ringIndex(i)];
+                if (!(x >= domainLower)) {
+                    domainLower = x;
+                }
+                if (!(x <= domainUpper)) {
+                    domainUpper = x;
+                }
+                addRenderPoint(i);
+            }
+            return;
+        }
+        
+        domainLower = size == 0 ? Double.NaN : xValues[ringIndex(0)];
+        domainUpper = size == 0 ? Double.NaN : xValues[ringIndex(size - 1)];
+        if (Double.isNaN(lower) || Double.isNaN(upper)) {
+            lower = domainLower;
+            upper = domainUpper;
+        }
+        
+        // Visible points are [first, end); one more is drawn at each end, if there is one, to reach the edges
+        final int first = firstItemAfter(lower, false);
+        final int end = Math.max(first, firstItemAfter(upper, true));
+        final int from = Math.max(first - 1, 0);
+        final int to = Math.min(end + 1, size);
+        
+        renderCount = 0;
+        if (end - first <= buckets * POINTS_PER_BUCKET) {
+            ensureRenderCapacity(to - from);
+            for (int i = from; i < to; i++) {
+                addRenderPoint(i);
+            }
+            return;
+        }
+        
+        ensureRenderCapacity(buckets * POINTS_PER_BUCKET + 2);
+        if (from < first) {
+            addRenderPoint(from);
         }
+        
+        final double bucketsPerUnit = upper > lower ? buckets / (upper - lower) : 0.0;
+        int bucket = -1;
+        int bucketFirst = first;
+        int min = first;
+        int max = first;
+        for (int i = first; i < end; i++) {
+            final int index = ringIndex(i);
+            final int b = Math.max(0, Math.min((int) ((xValues[index] - lower) * bucketsPerUnit), buckets - 1));
+            if (b != bucket) {
+                if (bucket >= 0) {
+                    addBucket(bucketFirst, min, max, i - 1);
+                }
+                bucket = b;
+                bucketFirst = i;
+                min = i;
+                max = i;
+            } else {
+                final double y = yValues[index];
+                if (y < yValues[ringIndex(min)]) {
+                    min = i;
+                }
+                if (y > yValues[ringIndex(max)]) {
+                    max = i;
+                }
+            }
+        }
+        addBucket(bucketFirst, min, max, end - 1);
+        
+        if (end < to) {
+            addRenderPoint(end);
+        }
+    }
+    
+    /**
+     * Gets the lowest X (domain) value in the series as of the last call to
+     * prepareRender().
+     * 
+     * @return lowest X value, or NaN if the series was empty
+     */
+    public double getDomainLowerBound() {
+        return domainLower;
+    }
+    
+    /**
+     * Gets the highest X (domain) value in the series as of the last call to
+     * prepareRender().
+     * 
+     * @return highest X value, or NaN if the series was empty
+     */
+    public double getDomainUpperBound() {
+        return domainUpper;
+    }
+    
+    /**
+     * Gets the number of points prepared for rendering by the last call to
+     * prepareRender().
+     * 
+     * @return number of points to draw
+     */
+    public int getRenderItemCount() {
+        return renderCount;
+    }
+    
+    /**
+     * Gets the X (domain) value of a point prepared for rendering.
+     * 
+     * @param index index of the point (starting with 0)
+     * @return X value
+     */
+    public double getRenderXValue(int index) {
+        return renderXValues[index];
+    }
+    
+    /**
+     * Gets the Y (range) value of a point prepared for rendering.
+     * 
+     * @param index index of the point (starting with 0)
+     * @return Y value
+     */
+    public double getRenderYValue(int index) {
+        return renderYValues[index];
     }
 
     /**
@@ -188,11 +385,10 @@ public class ChartDataSeries {
      */
     public synchronized double getYValue(int index)
     {
-        ChartDataPoint point = getDataPoint(index);
-        if (point == null) {
+        if (index < 0 || size <= index) {
         	return 0.0;
         }
-         return point.getYValue();
+        return yValues[ringIndex(index)];
     }
 
     /**
@@ -204,10 +400,108 @@ public class ChartDataSeries {
      */
     public synchronized double getXValue(int item)
     {
-        ChartDataPoint point = getDataPoint(item);
-        if (point == null) {
+        if (item < 0 || size <= item) {
         	return 0.0;
         }
-        return point.getXValue();
+        return xValues[ringIndex(item)];
+    }
+    
+    private int ringIndex(int item) {
+        final int index = head + item;
+        return index < xValues.length ? index : index - xValues.length;
+    }
+    
+    private void removeOldest(int count) {
+        head = ringIndex(count);
+        size -= count;
+        if (size == 0) {
+            head = 0;
+        }
+    }
+    
+    private void resize(int capacity) {
+        final double[] newX = new double[capacity];
+        final double[] newY = new double[capacity];
+        final long[] newPostTimes = new long[capacity];
+        
+        for (int i = 0; i < size; i++) {
+            final int index = ringIndex(i);
+            newX[i] = xValues[index];
+            newY[i] = yValues[index];
+            newPostTimes[i] = postTimes[index];
+        }
+        
+        xValues = newX;
+        yValues = newY;
+        postTimes = newPostTimes;
+        head = 0;
+    }
+    
+    private ChartDataPoint copyOf(int index) {
+        final ChartDataPoint point = new ChartDataPoint();
+        point.setXValue(xValues[index]);
+        point.setYValue(yValues[index]);
+        point.setPostTime(postTimes[index]);
+        return point;
+    }
+    
+    private void ensureRenderCapacity(int count) {
+        // Reallocate when too small, or far too large after the series has shrunk
+        if (renderXValues.length < count || renderXValues.length > Math.max(count * 4, INITIAL_CAPACITY)) {
+            renderXValues = new double[count];
+            renderYValues = new double[count];
+        }
+    }
+    
+    /**
+     * Finds the first point past a domain value, by binary search on points in
+     * domain order.
+     * 
+     * @param x domain value
+     * @param inclusive true to also pass points at x
+     * @return index of the first point with an X value above x (or at x when
+     *         not inclusive), or the number of points if there is none
+     */
+    private int firstItemAfter(double x, boolean inclusive) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            final double midX = xValues[ringIndex(mid)];
+            if (midX < x || (inclusive && midX == x)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private void addBucket(int first, int min, int max, int last) {
+        // Add in the order they occur, so lines are drawn as they were received: first <= lo <= hi <= last
+        final int lo = Math.min(min, max);
+        final int hi = Math.max(min, max);
+        addRenderPoint(first);
+        if (lo > first) {
+            addRenderPoint(lo);
+        }
+        if (hi > lo) {
+            addRenderPoint(hi);
+        }
+        if (last > hi) {
+            addRenderPoint(last);
+        }
+    }
+    
+    private void addRenderPoint(int item) {
+        // Points slightly out of domain order can revisit a bucket, so more than the expected number may be added
+        if (renderCount == renderXValues.length) {
+            renderXValues = Arrays.copyOf(renderXValues, Math.max(renderCount * 2, 16));
+            renderYValues = Arrays.copyOf(renderYValues, renderXValues.length);
+        }
+        final int index = ringIndex(item);
+        renderXValues[renderCount] = xValues[index];
+        renderYValues[renderCount] = yValues[index];
+        renderCount++;
     }
 }
@@ -16,6 +16,11 @@ package jpl.gds.monitor.guiapp.plot.freechart;
 import java.util.ArrayList;
 
 import org.eclipse.swt.widgets.Composite;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.event.AxisChangeEvent;
+import org.jfree.chart.event.AxisChangeListener;
+import org.jfree.data.DomainInfo;
+import org.jfree.data.Range;
 import org.jfree.data.xy.AbstractXYDataset;
 
 import jpl.gds.monitor.config.MonitorGuiProperties;
@@ -32,7 +37,7 @@ import jpl.gds.shared.swt.SWTUtilities;
  */
 @SuppressWarnings("serial")
 public class ChillDataset extends AbstractXYDataset implements
-        ChartUpdateListener {
+        ChartUpdateListener, DomainInfo, AxisChangeListener {
 
     /**
      * The maximum number of data points that can be plotted on a single trace
@@ -62,6 +67,10 @@ public class ChillDataset extends AbstractXYDataset implements
     private long maxPointsPerTrace;
     private Composite chartComposite;
 	private final MonitorTimers timers;
+    private boolean downsampleEnabled = true;
+    private ValueAxis domainAxis;
+    /** Domain range the points were last prepared for; null if for all of them */
+    private Range renderedDomainRange;
     
     /**
      * Constructor.
@@ -115,6 +124,41 @@ public class ChillDataset extends AbstractXYDataset implements
         for (final ChartDataSeries series : this.list) {
             series.setMaxDataPoints(this.maxPointsPerTrace);
         }
+        this.datasetChanged = true;
+    }
+
+    /**
+     * Sets whether line plots with more points than the plot is pixels wide
+     * are reduced to the minimum and maximum of each pixel column when drawn.
+     * Only sensible when points arrive in domain order, so it should be turned
+     * off when the domain is another channel.
+     * 
+     * @param enable
+     *            true to downsample, false to draw every point
+     */
+    public synchronized void setDownsampleEnabled(final boolean enable) {
+        this.downsampleEnabled = enable;
+        this.datasetChanged = true;
+    }
+
+    /**
+     * Sets the domain axis of the plot that draws this dataset. When the axis
+     * has a fixed range, as when the plot is zoomed, only the points in that
+     * range are prepared for drawing, and they are prepared again whenever the
+     * range changes. Must be called on the display thread.
+     * 
+     * @param axis
+     *            the plot's domain axis
+     */
+    public synchronized void setDomainAxis(final ValueAxis axis) {
+        if (this.domainAxis != null) {
+            this.domainAxis.removeChangeListener(this);
+        }
+        this.domainAxis = axis;
+        if (axis != null) {
+            axis.addChangeListener(this);
+        }
+        this.datasetChanged = true;
     }
 
     /**
@@ -162,6 +206,7 @@ public class ChillDataset extends AbstractXYDataset implements
             @Override
             public void run() {
                 if (renderPlots) {
+                    prepareRender();
                     fireDatasetChanged();
                 }
             }
@@ -183,6 +228,22 @@ public class ChillDataset extends AbstractXYDataset implements
         this.datasetChanged = true;
     }
 
+    /**
+     * Replaces the values of the latest data point in the series specified by
+     * the series number parameter
+     * 
+     * @param series
+     *            number of the data series in the sequence
+     * @param point
+     *            x,y data point holding the new values
+     */
+    public synchronized void updateLatestDataPoint(final int series,
+            final ChartDataPoint point) {
+        final ChartDataSeries ser = this.list.get(series);
+        ser.updateLatestDataPoint(point);
+        this.datasetChanged = true;
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -213,7 +274,7 @@ public class ChillDataset extends AbstractXYDataset implements
     @Override
     public int getItemCount(final int series) {
         final ChartDataSeries ser = this.list.get(series);
-        return ser.numItems();
+        return ser.getRenderItemCount();
     }
 
     /**
@@ -223,9 +284,18 @@ public class ChillDataset extends AbstractXYDataset implements
      */
     @Override
     public Number getX(final int series, final int item) {
+        return Double.valueOf(getXValue(series, item));
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.jfree.data.xy.XYDataset#getXValue(int, int)
+     */
+    @Override
+    public double getXValue(final int series, final int item) {
         final ChartDataSeries ser = this.list.get(series);
-        final double value = ser.getXValue(item);
-        return Double.valueOf(value);
+        return ser.getRenderXValue(item);
     }
 
     /**
@@ -235,9 +305,18 @@ public class ChillDataset extends AbstractXYDataset implements
      */
     @Override
     public Number getY(final int series, final int item) {
+        return Double.valueOf(getYValue(series, item));
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.jfree.data.xy.XYDataset#getYValue(int, int)
+     */
+    @Override
+    public double getYValue(final int series, final int item) {
         final ChartDataSeries ser = this.list.get(series);
-        final double value = ser.getYValue(item);
-        return Double.valueOf(value);
+        return ser.getRenderYValue(item);
     }
 
     /**
@@ -247,6 +326,7 @@ public class ChillDataset extends AbstractXYDataset implements
         for (final ChartDataSeries ser : this.list) {
             ser.clearDataPoints();
         }
+        this.datasetChanged = true;
     }
 
     /**
@@ -264,12 +344,119 @@ public class ChillDataset extends AbstractXYDataset implements
             @Override
             public void run() {
                 if (renderPlots) {
+                    prepareRender();
                     fireDatasetChanged();
                 }
             }
         });
     }
 
+    /**
+     * Prepares the points of each series to be drawn on the next redraw. Line
+     * plots are clipped to the domain axis range, if it is fixed, and
+     * downsampled to the width of the chart in pixels when downsampling is
+     * enabled. Must be called on the display thread.
+     */
+    private synchronized void prepareRender() {
+        int buckets = 0;
+        if (downsampleEnabled && chartComposite != null && !chartComposite.isDisposed() &&
+                (renderingStyle == ChannelChartViewConfiguration.RenderingStyle.LINE ||
+                 renderingStyle == ChannelChartViewConfiguration.RenderingStyle.STEP)) {
+            buckets = chartComposite.getClientArea().width;
+        }
+        
+        // An auto-ranged axis shows every point, so its range need not be known here
+        renderedDomainRange = domainAxis == null || domainAxis.isAutoRange() ? null : domainAxis.getRange();
+        final double lower = renderedDomainRange == null ? Double.NaN : renderedDomainRange.getLowerBound();
+        final double upper = renderedDomainRange == null ? Double.NaN : renderedDomainRange.getUpperBound();
+        for (final ChartDataSeries series : this.list) {
+            series.prepareRender(buckets, lower, upper);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Prepares the points again when the domain range shown changes, as when
+     * the plot is zoomed or restored to its automatic range.
+     * 
+     * @see org.jfree.chart.event.AxisChangeListener#axisChanged(org.jfree.chart.event.AxisChangeEvent)
+     */
+    @Override
+    public void axisChanged(final AxisChangeEvent event) {
+        SWTUtilities.runInDisplayThread(chartComposite, new Runnable() {
+
+            @Override
+            public String toString() {
+                return "ChillDataSet.axisChanged.Runnable";
+            }
+
+            @Override
+            public void run() {
+                if (!renderPlots || !domainRangeChanged()) {
+                    return;
+                }
+                prepareRender();
+                fireDatasetChanged();
+            }
+        });
+    }
+
+    private synchronized boolean domainRangeChanged() {
+        final Range range = domainAxis == null || domainAxis.isAutoRange() ? null : domainAxis.getRange();
+        return range == null ? renderedDomainRange != null : !range.equals(renderedDomainRange);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * The bounds are those of all the points in the dataset, not only those
+     * prepared for drawing, so that the domain axis automatic range is not
+     * narrowed by clipping.
+     * 
+     * @see org.jfree.data.DomainInfo#getDomainLowerBound(boolean)
+     */
+    @Override
+    public synchronized double getDomainLowerBound(final boolean includeInterval) {
+        double lower = Double.NaN;
+        for (final ChartDataSeries series : this.list) {
+            final double x = series.getDomainLowerBound();
+            if (!(lower <= x)) {
+                lower = Double.isNaN(x) ? lower : x;
+            }
+        }
+        return lower;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.jfree.data.DomainInfo#getDomainUpperBound(boolean)
+     */
+    @Override
+    public synchronized double getDomainUpperBound(final boolean includeInterval) {
+        double upper = Double.NaN;
+        for (final ChartDataSeries series : this.list) {
+            final double x = series.getDomainUpperBound();
+            if (!(upper >= x)) {
+                upper = Double.isNaN(x) ? upper : x;
+            }
+        }
+        return upper;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.jfree.data.DomainInfo#getDomainBounds(boolean)
+     */
+    @Override
+    public Range getDomainBounds(final boolean includeInterval) {
+        final double lower = getDomainLowerBound(includeInterval);
+        final double upper = getDomainUpperBound(includeInterval);
+        return Double.isNaN(lower) || Double.isNaN(upper) ? null : new Range(lower, upper);
+    }
+
     /**
      * @{inheritDoc}
      * @see jpl.gds.monitor.guiapp.common.ChartUpdateListener#update()
@@ -290,6 +477,7 @@ public class ChillDataset extends AbstractXYDataset implements
         ChillDataset.this.datasetChanged = false;
 
         if (renderPlots) {
+            prepareRender();
             fireDatasetChanged();
         }
     }
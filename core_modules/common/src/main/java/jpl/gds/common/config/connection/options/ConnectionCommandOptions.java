@@ -1306,7 +1306,7 @@ public class ConnectionCommandOptions implements ICommandLineOptionsGroup {
 
     /**
      * Option parser class for the DOWNLINK_INPUT_FILE option. Will validate the
-     * value is an existing file. The resulting parsed value will be set into the
+     * value is an existing file or directory. The resulting parsed value will be set into the
 	 * IConnectionMap member instance, into the FSW Downlink or SSE Downlink
 	 * connection map entry, depending on whether we are in an SSE context.
      * 
@@ -1318,7 +1318,8 @@ public class ConnectionCommandOptions implements ICommandLineOptionsGroup {
          * Consstructor.
          */
         public InputFileOptionParser() {
-            super(true);
+            // validated in parse(), which also allows a directory
+            super(false);
         }
 
         /**
@@ -1341,11 +1342,12 @@ public class ConnectionCommandOptions implements ICommandLineOptionsGroup {
 
             if (file != null) {
 
+                // A directory of files can be replayed by memory-mapped file input
                 final File temp = new File(file);
-                if (!temp.exists() || !temp.isFile()) {
+                if (!temp.exists() || !(temp.isFile() || temp.isDirectory())) {
                     throw new ParseException("The file specified on the command line ("
                                                      +  file
-                                                     + ") does not exist or is not a file");
+                                                     + ") does not exist or is not a file or directory");
                 }
 
                 if (file.length() > ConfigurationConstants.FILE_LENGTH) {
@@ -28,7 +28,9 @@ import jpl.gds.shared.reflect.ReflectionToolkit;
  * in which the EU computation is performed by a Java class that must implement
  * IEUCalculation. If the class cannot be loaded or the EU method located the first 
  * time invoked, then the failed state is saved and no further attempts to perform
- * the EU calculation will be made.
+ * the EU calculation will be made. The loaded class, the eu() method, and the
+ * algorithm instance are resolved once and then reused, so a single instance of
+ * this class may be cached per EU definition.
  * 
  *
  * @see IEUCalculationFactory
@@ -62,7 +64,15 @@ public class AlgorithmicDNtoEU implements IEUCalculation {
 	 */
 	protected boolean loadFailed = false;
 	
+	/**
+	 * The user's algorithm instance, once created.
+	 */
 	protected Object converter;
+
+	/**
+	 * The eu() method of the algorithm class, once located.
+	 */
+	protected Method cachedEuMethod;
 	
 	/**
 	 * Constructor.
@@ -74,7 +84,7 @@ public class AlgorithmicDNtoEU implements IEUCalculation {
 		this.definition = def;
 		this.loader = loader;
 		synchronized(loadedClasses) {
-		    loadedClasses.put(this.loader, new HashMap<String, Class<?>>());
+		    loadedClasses.computeIfAbsent(this.loader, k -> new HashMap<String, Class<?>>());
 		}
 	}
 
@@ -112,11 +122,10 @@ public class AlgorithmicDNtoEU implements IEUCalculation {
             return null;
         }
         
-        IEUCalculation converter = null;
         final String className = this.definition.getClassName();
 
         try {
-            converter = (IEUCalculation) ReflectionToolkit.createObject(algorithmClass);
+            converter = ReflectionToolkit.createObject(algorithmClass);
         } catch (final ReflectionException e) {
             e.printStackTrace();
             loadFailed = true;
@@ -141,16 +150,24 @@ public class AlgorithmicDNtoEU implements IEUCalculation {
 	 *             class does not implement the desired interface
 	 */
 	protected Class<?> loadClass(final Class<?> interfaceClass) throws EUGenerationException {
-		Class<?> algorithmClass = null;
-		
-		final String className = this.definition.getClassName();
-
 		if (loadFailed) {
 			return null;
 		}
 
-		final Map<String, Class<?>> map = loadedClasses.get(loader);
-		algorithmClass = map.get(className);
+		if (this.algorithmClass != null) {
+			return this.algorithmClass;
+		}
+
+		final String className = this.definition.getClassName();
+
+		final Map<String, Class<?>> map;
+		synchronized(loadedClasses) {
+		    map = loadedClasses.computeIfAbsent(loader, k -> new HashMap<String, Class<?>>());
+		}
+		Class<?> algorithmClass;
+		synchronized(map) {
+		    algorithmClass = map.get(className);
+		}
 		
 		if (algorithmClass == null) {
 			try
@@ -164,16 +181,21 @@ public class AlgorithmicDNtoEU implements IEUCalculation {
 						className + "': class not found");
 			}
 
-			if (! interfaceClass.isAssignableFrom(algorithmClass))
-			{
-				loadFailed = true;
-				throw new EUGenerationException("Class '"                 +
-						className            +
-						"' is not a subclass of " +
-						IEUCalculation.class.getName());
+			synchronized(map) {
+			    map.put(className, algorithmClass);
 			}
 		}
 
+		if (! interfaceClass.isAssignableFrom(algorithmClass))
+		{
+			loadFailed = true;
+			throw new EUGenerationException("Class '"                 +
+					className            +
+					"' is not a subclass of " +
+					IEUCalculation.class.getName());
+		}
+
+		this.algorithmClass = algorithmClass;
 		return algorithmClass;
 	}
 
@@ -235,7 +257,10 @@ public class AlgorithmicDNtoEU implements IEUCalculation {
 			return 0.0;
 		}
 
-		final Method euMethod = getEuMethod(algorithmClass);
+		if (cachedEuMethod == null) {
+		    cachedEuMethod = getEuMethod(algorithmClass);
+		}
+		final Method euMethod = cachedEuMethod;
 
 		final IEUCalculation converter = (IEUCalculation) getAlgorithmInstance();
 		
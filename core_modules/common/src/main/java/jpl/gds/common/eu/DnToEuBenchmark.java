@@ -0,0 +1,195 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.common.eu;
+
+import java.util.Random;
+
+import jpl.gds.dictionary.api.eu.EUDefinitionFactory;
+import jpl.gds.dictionary.api.eu.EUGenerationException;
+import jpl.gds.dictionary.api.eu.IPolynomialEUDefinition;
+import jpl.gds.dictionary.api.eu.ITableEUDefinition;
+import jpl.gds.shared.performance.MicroBenchmark;
+
+/**
+ * DnToEuBenchmark compares the cached, compiled table and polynomial DN to EU
+ * calculators with the per-sample path they replace, in which a calculator
+ * was created for every channel sample and read its coefficients back out of
+ * the dictionary definition on every call. Before timing, every sample DN is
+ * converted both ways and the results are required to be identical.
+ * <p>
+ * Usage: DnToEuBenchmark [table-length [samples-per-round]]
+ *
+ */
+public final class DnToEuBenchmark {
+
+    private static final int DEFAULT_TABLE_LENGTH = 64;
+    private static final int DEFAULT_SAMPLES      = 1_000_000;
+    private static final int DISTINCT_DNS         = 4096;
+
+    private DnToEuBenchmark() {
+        // main only
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            optional table length and number of samples per round
+     * @throws Exception
+     *             if a conversion fails
+     */
+    public static void main(final String[] args) throws Exception {
+        final int tableLength = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TABLE_LENGTH;
+        final long samples = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_SAMPLES;
+
+        final Random random = new Random(42);
+        final double[] dnColumn = new double[tableLength];
+        final double[] euColumn = new double[tableLength];
+        for (int i = 0; i < tableLength; i++) {
+            dnColumn[i] = i * 16.0;
+            euColumn[i] = i * 16.0 * 0.125 + random.nextDouble();
+        }
+        final ITableEUDefinition table = EUDefinitionFactory.createTableEU(dnColumn, euColumn);
+        final IPolynomialEUDefinition poly = EUDefinitionFactory
+                .createPolynomialEU(new double[] { -12.5, 0.0625, 1.5e-5, -2.25e-9, 3.0e-13, -1.0e-17 });
+
+        /* Include DNs below, on and above the table points. */
+        final double[] dns = new double[DISTINCT_DNS];
+        for (int i = 0; i < dns.length; i++) {
+            dns[i] = Math.floor(random.nextDouble() * (tableLength + 2) * 16.0) - 16.0;
+        }
+
+        final TableDNtoEU cachedTable = new TableDNtoEU(table);
+        final PolynomialDNtoEU cachedPoly = new PolynomialDNtoEU(poly);
+        for (final double dn : dns) {
+            check("table", dn, cachedTable.eu(dn), new DefinitionTableEvaluator(table).eu(dn));
+            check("polynomial", dn, cachedPoly.eu(dn), new DefinitionPolynomialEvaluator(poly).eu(dn));
+        }
+        System.out.println("Accuracy check passed for " + dns.length + " DNs");
+
+        final MicroBenchmark bench = new MicroBenchmark();
+
+        final double tablePerSample = bench.measure("table, calculator per sample", samples, n -> {
+            double sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += new DefinitionTableEvaluator(table).eu(dns[(int) (i % DISTINCT_DNS)]);
+            }
+            return (long) sum;
+        });
+        final double tableCached = bench.measure("table, cached compiled calculator", samples, n -> {
+            double sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += cachedTable.eu(dns[(int) (i % DISTINCT_DNS)]);
+            }
+            return (long) sum;
+        });
+        bench.compare("table speedup", tableCached, tablePerSample);
+
+        final double polyPerSample = bench.measure("polynomial, calculator per sample", samples, n -> {
+            double sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += new DefinitionPolynomialEvaluator(poly).eu(dns[(int) (i % DISTINCT_DNS)]);
+            }
+            return (long) sum;
+        });
+        final double polyCached = bench.measure("polynomial, cached compiled calculator", samples, n -> {
+            double sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += cachedPoly.eu(dns[(int) (i % DISTINCT_DNS)]);
+            }
+            return (long) sum;
+        });
+        bench.compare("polynomial speedup", polyCached, polyPerSample);
+    }
+
+    private static void check(final String type, final double dn, final double actual, final double expected) {
+        if (Double.doubleToLongBits(actual) != Double.doubleToLongBits(expected)) {
+            throw new IllegalStateException(type + " EU mismatch for DN " + dn + ": " + actual + " != " + expected);
+        }
+    }
+
+    /**
+     * The previous table conversion, which reads the dictionary definition on
+     * every call.
+     */
+    private static class DefinitionTableEvaluator {
+        private final ITableEUDefinition definition;
+
+        private DefinitionTableEvaluator(final ITableEUDefinition definition) {
+            this.definition = definition;
+        }
+
+        private double eu(final double val) throws EUGenerationException {
+            int i = findLowerBound(val);
+            final int len = definition.getLength();
+
+            if (i >= len - 1) {
+                i = len - 2;
+            } else if (i < 0) {
+                ++i;
+            }
+
+            if (definition.getDn(i) == val) {
+                return definition.getEu(i);
+            }
+
+            final double lowCo = definition.getEu(i);
+            final double hiCo = definition.getEu(i + 1);
+            final double lowDn = definition.getDn(i);
+            final double hiDn = definition.getDn(i + 1);
+            return lowCo + (((hiCo - lowCo) / (hiDn - lowDn)) * (val - lowDn));
+        }
+
+        private int findLowerBound(final double dn) {
+            int lowerBoundIndex = 0;
+            int upperBoundIndex = definition.getLength() - 1;
+            int i = 0;
+            while (lowerBoundIndex <= upperBoundIndex) {
+                i = lowerBoundIndex + (upperBoundIndex - lowerBoundIndex) / 2;
+                final double currentDn = definition.getDn(i);
+                if (dn == currentDn) {
+                    break;
+                } else if (dn < currentDn) {
+                    upperBoundIndex = i - 1;
+                } else {
+                    lowerBoundIndex = i + 1;
+                }
+            }
+            if (definition.getDn(i) > dn) {
+                --i;
+            }
+            return i;
+        }
+    }
+
+    /**
+     * The previous polynomial conversion, which reads the dictionary
+     * definition on every call.
+     */
+    private static class DefinitionPolynomialEvaluator {
+        private final IPolynomialEUDefinition definition;
+
+        private DefinitionPolynomialEvaluator(final IPolynomialEUDefinition definition) {
+            this.definition = definition;
+        }
+
+        private double eu(final double val) {
+            double euV = 0.0d;
+            for (int i = definition.getLength() - 1; i >= 0; i--) {
+                euV = (euV * val) + definition.getCoefficient(i);
+            }
+            return euV;
+        }
+    }
+}
@@ -128,7 +128,10 @@ public class ParameterizedAlgorithmicDNtoEU extends AlgorithmicDNtoEU {
 			return 0.0;
 		}
 
-		final Method euMethod = getEuMethod(algorithmClass);
+		if (cachedEuMethod == null) {
+		    cachedEuMethod = getEuMethod(algorithmClass);
+		}
+		final Method euMethod = cachedEuMethod;
 
         final IParameterizedEUCalculation converter = (IParameterizedEUCalculation) getAlgorithmInstance();
         
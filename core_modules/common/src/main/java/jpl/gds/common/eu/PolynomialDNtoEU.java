@@ -19,6 +19,10 @@ import jpl.gds.dictionary.api.eu.IPolynomialEUDefinition;
 
 /**
  * This class is for performing polynomial DN to EU conversions on channel values.
+ * The coefficients are copied into a primitive array when the object is
+ * created, so that the conversion itself neither allocates nor calls back into
+ * the dictionary definition. Instances may therefore be cached and shared
+ * between threads.
  * 
  *
  * @see EUCalculationFactory
@@ -26,7 +30,8 @@ import jpl.gds.dictionary.api.eu.IPolynomialEUDefinition;
  */
 public class PolynomialDNtoEU implements IEUCalculation {
     
-    private IPolynomialEUDefinition definition;
+    private final IPolynomialEUDefinition definition;
+    private final double[] coefficients;
 
 	/**
 	 * Creates an instance of PolynomialDNtoEU. 
@@ -34,8 +39,13 @@ public class PolynomialDNtoEU implements IEUCalculation {
 	 * @param def the dictionary definition object for this DN to EU conversion.
 	 * 
 	 */
-	public PolynomialDNtoEU(IPolynomialEUDefinition def) {
+	public PolynomialDNtoEU(final IPolynomialEUDefinition def) {
 	    this.definition = def;
+	    final int len = def.getLength();
+	    this.coefficients = new double[len];
+	    for (int i = 0; i < len; i++) {
+	        coefficients[i] = def.getCoefficient(i);
+	    }
 	}
 
 	/**
@@ -55,9 +65,8 @@ public class PolynomialDNtoEU implements IEUCalculation {
 	public double eu(final double val) throws EUGenerationException {
 
 		double euV = 0.0d;
-		int len = definition.getLength();
-		for (int i = len - 1; i >= 0; i--) {
-			euV = (euV * val) + definition.getCoefficient(i);
+		for (int i = coefficients.length - 1; i >= 0; i--) {
+			euV = (euV * val) + coefficients[i];
 		}
 		return euV;
 	}
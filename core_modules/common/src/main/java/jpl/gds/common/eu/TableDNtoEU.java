@@ -20,6 +20,10 @@ import jpl.gds.dictionary.api.eu.ITableEUDefinition;
 
 /**
  * This class is for performing table interpolation DN to EU conversion on channels.
+ * The DN and EU columns of the table are copied into primitive arrays when the
+ * object is created, so that the conversion itself neither allocates nor calls
+ * back into the dictionary definition. Instances may therefore be cached and
+ * shared between threads.
  * 
  *
  * @see EUDefinitionFactory
@@ -27,15 +31,24 @@ import jpl.gds.dictionary.api.eu.ITableEUDefinition;
  */
 public class TableDNtoEU implements IEUCalculation {
     
-    private ITableEUDefinition definition;
+    private final ITableEUDefinition definition;
+    private final double[] dns;
+    private final double[] eus;
 
     /**
      * Creates an instance of TableDNtoEU. 
      * 
      * @param def the dictionary definition object for this DN to EU conversion. .
      */
-    public TableDNtoEU(ITableEUDefinition def) {
+    public TableDNtoEU(final ITableEUDefinition def) {
         this.definition = def;
+        final int len = def.getLength();
+        this.dns = new double[len];
+        this.eus = new double[len];
+        for (int i = 0; i < len; i++) {
+            dns[i] = def.getDn(i);
+            eus[i] = def.getEu(i);
+        }
     }
 
     /**
@@ -54,7 +67,7 @@ public class TableDNtoEU implements IEUCalculation {
 	@Override
 	public double eu(final double val) throws EUGenerationException {
 		int i = findLowerBound(val);
-		int len = definition.getLength();
+		final int len = dns.length;
 
 		if (i >= len - 1)  {
 			// DN is greater than max value in table
@@ -63,14 +76,14 @@ public class TableDNtoEU implements IEUCalculation {
 			++i;
 		}
 		
-		if (definition.getDn(i) == val) {
-			return definition.getEu(i);
+		if (dns[i] == val) {
+			return eus[i];
 		}
 
-		final double low_co = definition.getEu(i);
-		final double hi_co = definition.getEu(i + 1);
-		final double low_dn = definition.getDn(i);
-		final double hi_dn = definition.getDn(i + 1);
+		final double low_co = eus[i];
+		final double hi_co = eus[i + 1];
+		final double low_dn = dns[i];
+		final double hi_dn = dns[i + 1];
 		double euv;
 		euv = low_co
 				+ (((hi_co - low_co) / (hi_dn - low_dn)) * (val - low_dn));
@@ -78,15 +91,15 @@ public class TableDNtoEU implements IEUCalculation {
 
 	}
 
-	private int findLowerBound(double dn) {
+	private int findLowerBound(final double dn) {
 		// Modified binary search. At the end, the return index is decreased
 		// by one if the DN at the current index is greater than the DN that is passed in.
 		int lowerBoundIndex = 0;
-		int upperBoundIndex = definition.getLength() - 1;
+		int upperBoundIndex = dns.length - 1;
 		int i = 0;
 		while (lowerBoundIndex <= upperBoundIndex) {
 			i = lowerBoundIndex + (upperBoundIndex - lowerBoundIndex) / 2;
-			double currentDn = definition.getDn(i);
+			final double currentDn = dns[i];
 			if (dn == currentDn) {
 				break;
 			} else if (dn < currentDn) {
@@ -95,7 +108,7 @@ public class TableDNtoEU implements IEUCalculation {
 				lowerBoundIndex = i + 1;
 			}
 		}
-		if (definition.getDn(i) > dn) {
+		if (dns[i] > dn) {
 			--i;
 		}
 		return i;
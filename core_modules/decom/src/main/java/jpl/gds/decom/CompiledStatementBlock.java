@@ -0,0 +1,309 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.decom;
+
+import jpl.gds.dictionary.api.decom.*;
+import jpl.gds.dictionary.api.decom.types.*;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A list of decom statements compiled for execution by the {@link DecomEngine}.
+ *
+ * Each statement is resolved once, when the block is compiled, to an opcode that the engine
+ * dispatches on with a single switch, rather than being tested against every statement type
+ * each time it is executed. The statements contained by arrays, repeat blocks and switch
+ * cases are compiled into child blocks of their own, so a whole decom map becomes a tree of
+ * blocks. Map references are resolved to the ID of the referenced map at compile time; the
+ * referenced map itself is looked up when the reference is executed, and compiled separately.
+ *
+ * Blocks are not modified once compiled.
+ *
+ */
+final class CompiledStatementBlock {
+
+	/* Statement opcodes, in the order the statement types were originally tested */
+	static final int WIDTH = 0;
+	static final int OFFSET = 1;
+	static final int SKIP = 2;
+	static final int CHANNEL = 3;
+	static final int VARIABLE = 4;
+	static final int SWITCH = 5;
+	static final int INTEGER = 6;
+	static final int BOOLEAN = 7;
+	static final int BREAK = 8;
+	static final int CASE = 9;
+	static final int MAP_REFERENCE = 10;
+	static final int DYNAMIC_ARRAY = 11;
+	static final int ENUM = 12;
+	static final int FLOAT = 13;
+	static final int FIXED_MOVE = 14;
+	static final int VARIABLE_MOVE = 15;
+	static final int OPCODE = 16;
+	static final int REPEAT_BLOCK = 17;
+	static final int STATIC_ARRAY = 18;
+	static final int STRING = 19;
+	static final int TIME = 20;
+	static final int ALGORITHM = 21;
+	static final int BYTE_ORDER = 22;
+	static final int GROUND_VARIABLE = 23;
+	static final int EVENT_RECORD = 24;
+	static final int UNKNOWN = 25;
+
+	private final Node[] nodes;
+
+	/**
+	 * A single compiled statement.
+	 */
+	static final class Node {
+		private final IDecomStatement statement;
+		private final int opcode;
+		private final boolean readsData;
+		private final CompiledStatementBlock body;
+		private final Map<List<IDecomStatement>, CompiledStatementBlock> cases;
+		private final IDecomMapId referenceId;
+		private final IDecomMapId mapId;
+
+		private Node(final IDecomStatement statement, final IDecomMapId mapId) {
+			this.statement = statement;
+			this.mapId = mapId;
+			this.opcode = opcodeOf(statement);
+			this.readsData = statement instanceof IDecomDataDefinition || statement instanceof IAlgorithmInvocation;
+
+			CompiledStatementBlock compiledBody = null;
+			Map<List<IDecomStatement>, CompiledStatementBlock> compiledCases = null;
+			IDecomMapId resolvedId = null;
+
+			switch (opcode) {
+			case STATIC_ARRAY:
+			case DYNAMIC_ARRAY:
+				compiledBody = compile(((ICompositeDataDefinition) statement).getDataDefinitions(), mapId);
+				break;
+			case REPEAT_BLOCK:
+				compiledBody = compile(((IRepeatBlockDefinition) statement).getStatementsToExecute(), mapId);
+				break;
+			case SWITCH:
+				compiledCases = compileCases((ISwitchStatementDefinition) statement, mapId);
+				break;
+			case MAP_REFERENCE:
+				if (mapId != null) {
+					resolvedId = mapId.resolveReference(((IDecomMapReference) statement).getMapId());
+				}
+				break;
+			default:
+				break;
+			}
+			this.body = compiledBody;
+			this.cases = compiledCases;
+			this.referenceId = resolvedId;
+		}
+
+		/**
+		 * Get the statement this node was compiled from.
+		 * @return the decom statement
+		 */
+		IDecomStatement getStatement() {
+			return statement;
+		}
+
+		/**
+		 * Get the opcode of the statement.
+		 * @return one of the opcode constants of {@link CompiledStatementBlock}
+		 */
+		int getOpcode() {
+			return opcode;
+		}
+
+		/**
+		 * Determine whether the statement consumes data, and so requires the current
+		 * buffer to have data remaining.
+		 * @return true if the statement is a data definition or algorithm invocation
+		 */
+		boolean readsData() {
+			return readsData;
+		}
+
+		/**
+		 * Get the compiled body of an array or repeat block.
+		 * @return the compiled child statements, or null if the statement has none
+		 */
+		CompiledStatementBlock getBody() {
+			return body;
+		}
+
+		/**
+		 * Get the compiled statements for a switch case.
+		 * @param caseStatements the statement list selected by the switch for its variable value
+		 * @return the compiled statements
+		 */
+		CompiledStatementBlock getCase(final List<IDecomStatement> caseStatements) {
+			final CompiledStatementBlock block = cases.get(caseStatements);
+			if (block != null) {
+				return block;
+			}
+			// Not a list seen at compile time; compile it for this execution only
+			return compile(caseStatements, mapId);
+		}
+
+		/**
+		 * Get the ID of the map referenced by a map reference.
+		 * @param currentMapId the ID of the map executing the reference
+		 * @return the referenced map ID
+		 */
+		IDecomMapId getReferenceId(final IDecomMapId currentMapId) {
+			if (referenceId != null && (currentMapId == mapId || currentMapId.equals(mapId))) {
+				return referenceId;
+			}
+			return currentMapId.resolveReference(((IDecomMapReference) statement).getMapId());
+		}
+	}
+
+	private CompiledStatementBlock(final Node[] nodes) {
+		this.nodes = nodes;
+	}
+
+	/**
+	 * Compile a list of decom statements.
+	 * @param statements the statements to compile
+	 * @param mapId the ID of the map the statements belong to, used to resolve map references;
+	 *        may be null, in which case references are resolved when executed
+	 * @return the compiled block
+	 */
+	static CompiledStatementBlock compile(final List<? extends IDecomStatement> statements, final IDecomMapId mapId) {
+		final Node[] nodes = new Node[statements.size()];
+		int i = 0;
+		for (final IDecomStatement statement : statements) {
+			nodes[i++] = new Node(statement, mapId);
+		}
+		return new CompiledStatementBlock(nodes);
+	}
+
+	/**
+	 * Get the number of statements in the block.
+	 * @return statement count
+	 */
+	int size() {
+		return nodes.length;
+	}
+
+	/**
+	 * Get a compiled statement.
+	 * @param index the index of the statement in the block
+	 * @return the compiled statement
+	 */
+	Node get(final int index) {
+		return nodes[index];
+	}
+
+	/**
+	 * Add the IDs of all maps referenced from this block, including from its child blocks,
+	 * to the given list.
+	 * @param ids the list to add the referenced map IDs to
+	 */
+	void collectReferences(final List<IDecomMapId> ids) {
+		for (final Node node : nodes) {
+			if (node.referenceId != null) {
+				ids.add(node.referenceId);
+			}
+			if (node.body != null) {
+				node.body.collectReferences(ids);
+			}
+			if (node.cases != null) {
+				for (final CompiledStatementBlock block : node.cases.values()) {
+					block.collectReferences(ids);
+				}
+			}
+		}
+	}
+
+	private static Map<List<IDecomStatement>, CompiledStatementBlock> compileCases(
+			final ISwitchStatementDefinition statement, final IDecomMapId mapId) {
+		// Switch case lists are keyed by identity, since the switch returns the stored case lists
+		final Map<List<IDecomStatement>, CompiledStatementBlock> cases = new IdentityHashMap<>();
+		for (final Long value : statement.getCaseValues()) {
+			final List<IDecomStatement> caseStatements = statement.getStatementsToExecute(value);
+			if (caseStatements != null && !cases.containsKey(caseStatements)) {
+				cases.put(caseStatements, compile(caseStatements, mapId));
+			}
+		}
+		final List<IDecomStatement> defaultStatements = statement.getStatementsToExecute();
+		if (defaultStatements != null && !cases.containsKey(defaultStatements)) {
+			cases.put(defaultStatements, compile(defaultStatements, mapId));
+		}
+		return cases.isEmpty() ? Collections.emptyMap() : cases;
+	}
+
+	/**
+	 * Determine the opcode for a statement. The types are tested in the order the engine
+	 * has always tested them, so a statement implementing more than one statement interface
+	 * is executed the same way.
+	 */
+	private static int opcodeOf(final IDecomStatement statement) {
+		if (statement instanceof IWidthStatementDefinition) {
+			return WIDTH;
+		} else if (statement instanceof IOffsetStatementDefinition) {
+			return OFFSET;
+		} else if (statement instanceof ISkipStatementDefinition) {
+			return SKIP;
+		} else if (statement instanceof IChannelStatementDefinition) {
+			return CHANNEL;
+		} else if (statement instanceof IVariableStatementDefinition) {
+			return VARIABLE;
+		} else if (statement instanceof ISwitchStatementDefinition) {
+			return SWITCH;
+		} else if (statement instanceof IIntegerDefinition) {
+			return INTEGER;
+		} else if (statement instanceof IBooleanDefinition) {
+			return BOOLEAN;
+		} else if (statement instanceof IBreakStatementDefinition) {
+			return BREAK;
+		} else if (statement instanceof ICaseBlockDefinition) {
+			return CASE;
+		} else if (statement instanceof IDecomMapReference) {
+			return MAP_REFERENCE;
+		} else if (statement instanceof IDynamicArrayDefinition) {
+			return DYNAMIC_ARRAY;
+		} else if (statement instanceof IEnumDataDefinition) {
+			return ENUM;
+		} else if (statement instanceof IFloatingPointDefinition) {
+			return FLOAT;
+		} else if (statement instanceof IFixedMoveStatementDefinition) {
+			return FIXED_MOVE;
+		} else if (statement instanceof IVariableMoveStatementDefinition) {
+			return VARIABLE_MOVE;
+		} else if (statement instanceof IOpcodeDefinition) {
+			return OPCODE;
+		} else if (statement instanceof IRepeatBlockDefinition) {
+			return REPEAT_BLOCK;
+		} else if (statement instanceof IStaticArrayDefinition) {
+			return STATIC_ARRAY;
+		} else if (statement instanceof IStringDefinition) {
+			return STRING;
+		} else if (statement instanceof ITimeDefinition) {
+			return TIME;
+		} else if (statement instanceof IAlgorithmInvocation) {
+			return ALGORITHM;
+		} else if (statement instanceof IByteOrderStatement) {
+			return BYTE_ORDER;
+		} else if (statement instanceof IGroundVariableDefinition) {
+			return GROUND_VARIABLE;
+		} else if (statement instanceof IEventRecordDefinition) {
+			return EVENT_RECORD;
+		}
+		return UNKNOWN;
+	}
+}
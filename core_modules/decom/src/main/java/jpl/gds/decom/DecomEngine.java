@@ -43,6 +43,9 @@ import java.nio.BufferUnderflowException;
 import java.nio.InvalidMarkException;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.function.Consumer;
+
+import static jpl.gds.decom.CompiledStatementBlock.*;
 
 /**
  * This class drives generic decom, but does not interpret the data besides decoding raw bits.
@@ -51,28 +54,52 @@ import java.util.Map.Entry;
  * by the engine.  Those listeners may do whatever processing they like, although they should be aware
  * that the DecomEngine's performance will be affected by their actions.
  * 
+ * Decom maps are compiled the first time they are executed, or ahead of time using
+ * {@link #compile(IDecomMapDefinition)}, so each statement is dispatched with a single switch
+ * on its compiled opcode.  Stack frames are reused from one decom run to the next.
+ * 
  * This class is stateful and not thread safe.
  *
  */
 public class DecomEngine {
 
+	private static final int INITIAL_STACK_SIZE = 16;
+
 	private int defaultWidth;
-	private final List<IDecomListener> listeners= new ArrayList<>();
+	private IDecomListener[] listeners = new IDecomListener[0];
 	private final StringBuilder errorBuilder = new StringBuilder(40);
 	private BitBuffer buffer;
 	private final IDecomDelegate decomDelegate;
 	
-	private final Stack<BitBuffer> bufferStack = new Stack<>();
+	private final Deque<BitBuffer> bufferStack = new ArrayDeque<>();
 
 	/**
 	 * You can think of this like a call stack. The engine executes the next statement yielded
-	 * by the iterator at the top of the stack. Any statements that contain other statements
-	 * (e.g. arrays, repeat blocks, etc.) push an iterator from their list of children statements
+	 * by the frame at the top of the stack. Any statements that contain other statements
+	 * (e.g. arrays, repeat blocks, etc.) push a frame for their list of children statements
 	 * onto the stack, so the first child of such a statement executes it next.  
-	 * When an iterator runs out of elements, it is popped and execution resumes at the new top of the stack,
+	 * When a frame runs out of statements, it is popped and execution resumes at the new top of the stack,
 	 * until the stack is empty which marks the end of decom.
+	 * 
+	 * Frames above the current depth are kept so they can be reused.
+	 */
+	private DecomStackFrame[] executionStack = new DecomStackFrame[INITIAL_STACK_SIZE];
+	private int stackDepth;
+
+	/* Kinds of frame, which determine what happens when the frame finishes */
+	private static final int MAP_FRAME = 1;
+	private static final int STATIC_ARRAY_FRAME = 2;
+	private static final int DYNAMIC_ARRAY_FRAME = 3;
+	private static final int REPEAT_BLOCK_FRAME = 4;
+	private static final int SWITCH_FRAME = 5;
+
+	private final Consumer<DecomStackFrame> finishAction = this::finishFrame;
+
+	/**
+	 * Compiled decom maps. Weakly keyed, so maps from a dictionary that has been cleared
+	 * are released.
 	 */
-	private final Stack<DecomStackFrame> executionStack = new Stack<>();
+	private final Map<IDecomMapDefinition, CompiledStatementBlock> compiledMaps = new WeakHashMap<>();
 
 	private final IChannelDecomDefinitionProvider dict;
 
@@ -169,32 +196,160 @@ public class DecomEngine {
 	public void prepareForDecom(final IDecomMapDefinition map, final byte[] data, final int startingOffset, final int length) {
 		buffer = BitBuffer.wrap(data, startingOffset, length);
 		errorBuilder.setLength(0);
-		executionStack.clear();
+		stackDepth = 0;
 		bufferStack.clear();
-		executionStack.push(new DecomStackFrame(map.getStatementsToExecute(), map.getId(), 
-				(f) -> {
-					executionStack.pop();
-					for (final IDecomListener l : listeners) {
-						l.onMapEnd(map);
-					}
-				}
-		));
+		pushFrame(getCompiledMap(map), map.getId(), null).setFinishState(MAP_FRAME, map, 0, 0);
 		
 	}
 
+	/**
+	 * Compile a decom map, and the maps it references, ahead of time, so that the first
+	 * decommutation using the map does not incur the cost of compiling it.  Maps that have
+	 * not been compiled this way are compiled when first used.
+	 * @param map the decom map to compile
+	 */
+	public void compile(final IDecomMapDefinition map) {
+		final List<IDecomMapId> references = new ArrayList<>();
+		final Set<IDecomMapDefinition> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		IDecomMapDefinition next = map;
+		while (true) {
+			if (next != null && visited.add(next)) {
+				getCompiledMap(next).collectReferences(references);
+			}
+			if (references.isEmpty()) {
+				break;
+			}
+			next = dict.getDecomMapById(references.remove(references.size() - 1));
+		}
+	}
+
+	private CompiledStatementBlock getCompiledMap(final IDecomMapDefinition map) {
+		CompiledStatementBlock block = compiledMaps.get(map);
+		if (block == null) {
+			block = CompiledStatementBlock.compile(map.getStatementsToExecute(), map.getId());
+			compiledMaps.put(map, block);
+		}
+		return block;
+	}
+
+	private DecomStackFrame pushFrame(final CompiledStatementBlock block, final IDecomMapId mapId,
+			final DecomStackFrame parentFrame) {
+		if (stackDepth == executionStack.length) {
+			executionStack = Arrays.copyOf(executionStack, stackDepth * 2);
+		}
+		DecomStackFrame frame = executionStack[stackDepth];
+		if (frame == null) {
+			frame = new DecomStackFrame(finishAction);
+			executionStack[stackDepth] = frame;
+		}
+		frame.reset(block, mapId, parentFrame);
+		stackDepth++;
+		return frame;
+	}
+
+	private DecomStackFrame peekFrame() {
+		if (stackDepth == 0) {
+			throw new EmptyStackException();
+		}
+		return executionStack[stackDepth - 1];
+	}
+
+	private void popFrame() {
+		if (stackDepth == 0) {
+			throw new EmptyStackException();
+		}
+		stackDepth--;
+	}
+
+	/**
+	 * Called when a frame pushed by the engine exits, to either loop it or pop it.
+	 */
+	private void finishFrame(final DecomStackFrame f) {
+		switch (f.getKind()) {
+		case MAP_FRAME: {
+			final IDecomMapDefinition map = (IDecomMapDefinition) f.getOwner();
+			popFrame();
+			for (final IDecomListener l : listeners) {
+				l.onMapEnd(map);
+			}
+			break;
+		}
+		case STATIC_ARRAY_FRAME:
+			if (f.getIterationCount() < f.getCount()) {
+				f.loop();
+			}
+			else {
+				for (final IDecomListener l : listeners) {
+					l.onArrayEnd((IStaticArrayDefinition) f.getOwner());
+				}
+				popFrame();
+			} 
+			break;
+		case DYNAMIC_ARRAY_FRAME:
+			if (f.getIterationCount() < f.getCount()) {
+				f.loop();
+			} else {
+				for (final IDecomListener l : listeners) {
+					l.onArrayEnd((IDynamicArrayDefinition) f.getOwner());
+				}
+				popFrame();
+			}
+			break;
+		case REPEAT_BLOCK_FRAME: {
+			final IRepeatBlockDefinition statement = (IRepeatBlockDefinition) f.getOwner();
+			final int startOffset = f.getStartOffset();
+			if (statement.getLengthType() != LengthType.ABSENT && buffer.position() >= startOffset + statement.getLength()) {
+				for (final IDecomListener l : listeners) {
+					l.onRepeatBlockEnd(statement);
+				}
+				popFrame();
+			} else if (f.hitBreak() || buffer.position() == buffer.limit()) {
+				// Must have hit break statement
+				if (statement.getLengthType() == LengthType.ABSOLUTE) {
+					buffer.position(statement.getLength() + startOffset);
+				}
+				for (final IDecomListener l : listeners) {
+					l.onRepeatBlockEnd(statement);
+				}
+				popFrame();
+			} else {
+				f.loop();
+			}
+			break;
+		}
+		case SWITCH_FRAME: {
+			final ISwitchStatementDefinition statement = (ISwitchStatementDefinition) f.getOwner();
+			final long variableValue = f.getCount();
+			for (final IDecomListener l : listeners) {
+				l.onSwitchEnd(statement, variableValue);
+			}
+			popFrame();
+			if (f.hitBreak()) {
+				if (stackDepth != 0) {
+					peekFrame().doBreak();
+				}
+			}
+			break;
+		}
+		default:
+			throw new IllegalStateException("Decom engine encountered unknown stack frame kind " + f.getKind());
+		}
+	}
+
 	/**
 	 * Execute the next decom statement from the map. Use {@link #prepareForDecom(IDecomMapDefinition, byte[], int, int)}
 	 * to set up the engine before calling this method.
 	 * @throws DecomException if there are no statements to execute, or if an exception is thrown while executing the next statement
 	 */
 	public void step() throws DecomException {
-		if (executionStack.empty()) {
+		if (stackDepth == 0) {
 			throw new DecomException("No more statements to execute");
 		}
-		if(executionStack.peek().hasNext()) {
-			executeStatement(executionStack.peek().next());
+		final DecomStackFrame frame = executionStack[stackDepth - 1];
+		if(frame.hasNext()) {
+			executeStatement(frame.nextNode());
 		} else {
-			executionStack.peek().exit();
+			frame.exit();
 		}
 	}
 
@@ -212,15 +367,16 @@ public class DecomEngine {
 	 * @throws DecomException 
 	 */
 	private void executeStatements() throws DecomException {
-		while (!executionStack.empty()) {
+		while (stackDepth != 0) {
 			step();
 		}
 	}
 
-	private void executeStatement(final IDecomStatement statement) throws DecomException {
-		if (statement instanceof IDecomDataDefinition || statement instanceof IAlgorithmInvocation) {
+	private void executeStatement(final CompiledStatementBlock.Node node) throws DecomException {
+		final IDecomStatement statement = node.getStatement();
+		if (node.readsData()) {
 			while (buffer.position() == buffer.limit()) {
-				if (bufferStack.empty()) {
+				if (bufferStack.isEmpty()) {
 					throw new DecomException("Ran out of data during decommutation");
 				} else {
 					buffer = bufferStack.pop();
@@ -228,58 +384,83 @@ public class DecomEngine {
 			}
 		}
 		try {
-			if (statement instanceof IWidthStatementDefinition) {
+			switch (node.getOpcode()) {
+			case WIDTH:
 				handleStatement((IWidthStatementDefinition) statement);
-			} else if (statement instanceof IOffsetStatementDefinition) {
+				break;
+			case OFFSET:
 				handleStatement((IOffsetStatementDefinition) statement);
-			} else if (statement instanceof ISkipStatementDefinition) {
+				break;
+			case SKIP:
 				handleStatement((ISkipStatementDefinition) statement);
-			} else if (statement instanceof IChannelStatementDefinition) {
+				break;
+			case CHANNEL:
 				handleStatement((IChannelStatementDefinition) statement);
-			} else if (statement instanceof IVariableStatementDefinition) {
+				break;
+			case VARIABLE:
 				handleStatement((IVariableStatementDefinition) statement);
-			} else if (statement instanceof ISwitchStatementDefinition) {
-				handleStatement((ISwitchStatementDefinition) statement);
-			} else if (statement instanceof IIntegerDefinition) {
+				break;
+			case SWITCH:
+				handleStatement((ISwitchStatementDefinition) statement, node);
+				break;
+			case INTEGER:
 				handleStatement((IIntegerDefinition) statement);
-			} else if (statement instanceof IBooleanDefinition) {
+				break;
+			case BOOLEAN:
 				handleStatement((IBooleanDefinition) statement);
-			} else if (statement instanceof IBreakStatementDefinition) {
+				break;
+			case BREAK:
 				handleStatement((IBreakStatementDefinition) statement);
-			} else if (statement instanceof ICaseBlockDefinition) {
+				break;
+			case CASE:
 				handleStatement((ICaseBlockDefinition) statement);
-			} else if (statement instanceof IDecomMapReference) {
-				handleStatement((IDecomMapReference) statement);
-			} else if (statement instanceof IDynamicArrayDefinition) {
-				handleStatement((IDynamicArrayDefinition) statement);
-			} else if (statement instanceof IEnumDataDefinition) {
+				break;
+			case MAP_REFERENCE:
+				handleStatement((IDecomMapReference) statement, node);
+				break;
+			case DYNAMIC_ARRAY:
+				handleStatement((IDynamicArrayDefinition) statement, node);
+				break;
+			case ENUM:
 				handleStatement((IEnumDataDefinition) statement);
-			} else if (statement instanceof IFloatingPointDefinition) {
+				break;
+			case FLOAT:
 				handleStatement((IFloatingPointDefinition) statement);
-			} else if (statement instanceof IFixedMoveStatementDefinition) {
+				break;
+			case FIXED_MOVE:
 				handleStatement((IFixedMoveStatementDefinition) statement);
-			} else if (statement instanceof IVariableMoveStatementDefinition) {
+				break;
+			case VARIABLE_MOVE:
 				handleStatement((IVariableMoveStatementDefinition) statement);
-			} else if (statement instanceof IOpcodeDefinition) {
+				break;
+			case OPCODE:
 				handleStatement((IOpcodeDefinition) statement);
-			} else if (statement instanceof IRepeatBlockDefinition) {
-				handleStatement((IRepeatBlockDefinition) statement);
-			} else if (statement instanceof IStaticArrayDefinition) {
-				handleStatement((IStaticArrayDefinition) statement);
-			} else if (statement instanceof IStringDefinition) {
+				break;
+			case REPEAT_BLOCK:
+				handleStatement((IRepeatBlockDefinition) statement, node);
+				break;
+			case STATIC_ARRAY:
+				handleStatement((IStaticArrayDefinition) statement, node);
+				break;
+			case STRING:
 				handleStatement((IStringDefinition) statement);
-			} else if (statement instanceof ITimeDefinition) {
+				break;
+			case TIME:
 				handleStatement((ITimeDefinition) statement);
-			} else if (statement instanceof IAlgorithmInvocation) {
+				break;
+			case ALGORITHM:
 				handleStatement((IAlgorithmInvocation) statement);
-			} else if (statement instanceof IByteOrderStatement) {
+				break;
+			case BYTE_ORDER:
 				buffer.order(((IByteOrderStatement) statement).getByteOrder());
-			} else if (statement instanceof IGroundVariableDefinition) {
+				break;
+			case GROUND_VARIABLE:
 				handleStatement((IGroundVariableDefinition) statement);
-			} else if (statement instanceof IEventRecordDefinition) {
+				break;
+			case EVENT_RECORD:
 				handleStatement((IEventRecordDefinition) statement);
-			}
-			else {
+				break;
+			default:
 				this.errorBuilder.append("Encountered unexpected statement type: ");
 				this.errorBuilder.append(statement.getClass().getName());
 				throw new DecomException(errorBuilder.toString());
@@ -304,7 +485,7 @@ public class DecomEngine {
 	}
 	
 	private void handleStatement(final IGroundVariableDefinition def) {
-		this.executionStack.peek().putVariable(def.getName(), def.getValue());
+		peekFrame().putVariable(def.getName(), def.getValue());
 	}
 
 	private void beforeData(final IDecomDataDefinition def) {
@@ -368,7 +549,7 @@ public class DecomEngine {
 			buffer.reset();
 		}
 		if (def.shouldStore()) {
-			executionStack.peek().putVariable(def.getName(), val);
+			peekFrame().putVariable(def.getName(), val);
 		}
 		return val;
 	}
@@ -398,7 +579,7 @@ public class DecomEngine {
 	private Map<String, Object> populateAlgoArgs(final IAlgorithmInvocation statement) throws MissingDecomVariableException {
 		final Map<String, Object> args = new HashMap<>(statement.getArgs().size());
 		for (final Entry<String, String> entry : statement.getArgs().entrySet()) {
-			final Object argValue = executionStack.peek().getValue(entry.getValue());
+			final Object argValue = peekFrame().getValue(entry.getValue());
 			args.put(entry.getKey(), argValue);
 		}
 		return args;
@@ -460,60 +641,29 @@ public class DecomEngine {
 			throw new IllegalStateException("Decom encountered unknown string encoding: " + statement.getEncoding().toString());
 		}
 		if (statement.shouldStore()) {
-			this.executionStack.peek().putVariable(statement.getName(), data);
+			peekFrame().putVariable(statement.getName(), data);
 		}
 		for (final IDecomListener l : listeners) {
 			l.onString(statement, data);
 		}
 	}
 
-	private void handleStatement(final IStaticArrayDefinition statement) {
+	private void handleStatement(final IStaticArrayDefinition statement, final CompiledStatementBlock.Node node) {
 		final int size = statement.getLength();
 		for (final IDecomListener l : listeners) {
 			l.onArrayStart(statement);
 		}
-		final DecomStackFrame frame = new DecomStackFrame(statement.getDataDefinitions(),
-				executionStack.peek().getMapId(), (f) -> {
-					if (f.getIterationCount() < size) {
-						f.loop();
-					}
-					else {
-						for (final IDecomListener l : listeners) {
-							l.onArrayEnd(statement);
-						}
-						executionStack.pop();
-					} 
-		});
-		executionStack.push(frame);
+		pushFrame(node.getBody(), peekFrame().getMapId(), null).setFinishState(STATIC_ARRAY_FRAME, statement, size, 0);
 		
 	}
 
-	private void handleStatement(final IRepeatBlockDefinition statement) {
+	private void handleStatement(final IRepeatBlockDefinition statement, final CompiledStatementBlock.Node node) {
 		final int startOffset = buffer.position();
 		for (final IDecomListener l : listeners) {
 			l.onRepeatBlockStart(statement);
 		}
-		final DecomStackFrame frame = new DecomStackFrame(statement.getStatementsToExecute(), executionStack.peek().getMapId(),
-				(f) -> {
-					if (statement.getLengthType() != LengthType.ABSENT && buffer.position() >= startOffset + statement.getLength()) {
-						for (final IDecomListener l : listeners) {
-							l.onRepeatBlockEnd(statement);
-						}
-						executionStack.pop();
-					} else if (f.hitBreak() || buffer.position() == buffer.limit()) {
-						// Must have hit break statement
-						if (statement.getLengthType() == LengthType.ABSOLUTE) {
-							buffer.position(statement.getLength() + startOffset);
-						}
-						for (final IDecomListener l : listeners) {
-							l.onRepeatBlockEnd(statement);
-						}
-						executionStack.pop();
-					} else {
-						f.loop();
-					}
-				});
-		executionStack.push(frame);
+		pushFrame(node.getBody(), peekFrame().getMapId(), null).setFinishState(REPEAT_BLOCK_FRAME, statement, 0,
+				startOffset);
 		
 	}
 
@@ -544,7 +694,7 @@ public class DecomEngine {
 
 	private void handleStatement(final IVariableMoveStatementDefinition statement) throws MissingDecomVariableException, DecomException {
 		final int originalOffset = buffer.position();
-		final int variableValue = ((Long)executionStack.peek().getValue(statement.getOffsetVariable())).intValue();
+		final int variableValue = ((Long)peekFrame().getValue(statement.getOffsetVariable())).intValue();
 		final int offset = variableValue * statement.offsetMultiplier();
 		final int newPosition;
 		if (statement.getDirection() == Direction.FORWARD) {
@@ -568,30 +718,21 @@ public class DecomEngine {
 		
 	}
 
-	private void handleStatement(final IDynamicArrayDefinition statement) throws MissingDecomVariableException {
-		final long size = (long) executionStack.peek().getValue(statement.getLengthVariableName());
+	private void handleStatement(final IDynamicArrayDefinition statement, final CompiledStatementBlock.Node node)
+			throws MissingDecomVariableException {
+		final long size = (long) peekFrame().getValue(statement.getLengthVariableName());
 		for (final IDecomListener l : listeners) {
 			l.onArrayStart(statement);
 		}
 
-		final DecomStackFrame frame = new DecomStackFrame(statement.getDataDefinitions(),
-				executionStack.peek().getMapId(), (f) -> {
-					if (f.getIterationCount() < size) {
-						f.loop();
-					} else {
-						for (final IDecomListener l : listeners) {
-							l.onArrayEnd(statement);
-						}
-						executionStack.pop();
-					}
-				});
-		executionStack.push(frame);
+		pushFrame(node.getBody(), peekFrame().getMapId(), null).setFinishState(DYNAMIC_ARRAY_FRAME, statement, size, 0);
 		
 	}
 	
 
-	private void handleStatement(final IDecomMapReference statement) throws DecomException {
-		final IDecomMapId referenceId = executionStack.peek().getMapId().resolveReference(statement.getMapId());
+	private void handleStatement(final IDecomMapReference statement, final CompiledStatementBlock.Node node)
+			throws DecomException {
+		final IDecomMapId referenceId = node.getReferenceId(peekFrame().getMapId());
 		final IDecomMapDefinition referencedMap =  dict.getDecomMapById(referenceId);
 		// If referenceId is bad, no referencedMap can be retrieved, preventing decom
 		if(referencedMap == null){
@@ -601,14 +742,7 @@ public class DecomEngine {
 			l.onMapReference(statement);
 			l.onMapStart(referencedMap);
 		}
-		executionStack.push(new DecomStackFrame(referencedMap.getStatementsToExecute(), referenceId,
-				(f) -> {
-					for (final IDecomListener l : listeners) {
-						l.onMapEnd(referencedMap);
-					}
-					executionStack.pop();
-				})
-		);
+		pushFrame(getCompiledMap(referencedMap), referenceId, null).setFinishState(MAP_FRAME, referencedMap, 0, 0);
 	}
 
 	private void handleStatement(final ICaseBlockDefinition statement) {
@@ -619,7 +753,7 @@ public class DecomEngine {
 		for (final IDecomListener l : listeners) {
 			l.onBreak(statement);
 		}
-		executionStack.peek().doBreak();
+		peekFrame().doBreak();
 	}
 
 	
@@ -655,7 +789,7 @@ public class DecomEngine {
 							for (final IDecomListener l : listeners) {
 								l.onVariable(statement, value);
 							}
-							executionStack.peek().putVariable(name, value);
+							peekFrame().putVariable(name, value);
 						}
 
 					} catch (final Exception e) {
@@ -667,8 +801,8 @@ public class DecomEngine {
 					}
 
 		} else {
-			final long value = (long) executionStack.peek().getValue(statement.getReferenceVariableName());
-			executionStack.peek().putVariable(name, value);
+			final long value = (long) peekFrame().getValue(statement.getReferenceVariableName());
+			peekFrame().putVariable(name, value);
 			for (final IDecomListener l : listeners) {
 					l.onVariable(statement, value);
 			}
@@ -785,7 +919,8 @@ public class DecomEngine {
 	 * @param listener the listener that will receive callbacks from the engine
 	 */
 	public void addListener(final IDecomListener listener) {
-		listeners.add(listener);
+		listeners = Arrays.copyOf(listeners, listeners.length + 1);
+		listeners[listeners.length - 1] = listener;
 	}
 
 	private void handleStatement(final IWidthStatementDefinition statement) {
@@ -826,9 +961,11 @@ public class DecomEngine {
 
 	}
 
-	private void handleStatement(final ISwitchStatementDefinition statement) throws DecomException {
+	private void handleStatement(final ISwitchStatementDefinition statement, final CompiledStatementBlock.Node node)
+			throws DecomException {
 		final String variableName = statement.getVariableToSwitchOn();
-		final long variableValue = (long) executionStack.peek().getValue(variableName);
+		final DecomStackFrame currentFrame = peekFrame();
+		final long variableValue = (long) currentFrame.getValue(variableName);
 		final List<IDecomStatement> statementsUnderCase = statement.getStatementsToExecute(variableValue);
 
 		if (statementsUnderCase == null) {
@@ -839,18 +976,11 @@ public class DecomEngine {
 			.append(variableValue);
 			throw new DecomException(errorBuilder.toString());
 		} else {
-			this.listeners.forEach(l -> l.onSwitchStart(statement, variableValue));
-			executionStack.push(new DecomStackFrame(statementsUnderCase, executionStack.peek().getMapId(),
-					(f) -> {
-						this.listeners.forEach(l -> l.onSwitchEnd(statement, variableValue));
-						executionStack.pop();
-						if (f.hitBreak()) {
-							if (!executionStack.empty()) {
-								executionStack.peek().doBreak();
-							}
-						}
-					},
-					 Optional.ofNullable(this.executionStack.peek())));
+			for (final IDecomListener l : listeners) {
+				l.onSwitchStart(statement, variableValue);
+			}
+			pushFrame(node.getCase(statementsUnderCase), currentFrame.getMapId(), currentFrame)
+					.setFinishState(SWITCH_FRAME, statement, variableValue, 0);
 		}
 	}
 
@@ -860,7 +990,9 @@ public class DecomEngine {
 			this.buffer.mark();
 			this.buffer.position(statement.getBitOffset());
 		}
-		this.listeners.forEach(l -> l.onEvr(statement, buffer));
+		for (final IDecomListener l : listeners) {
+			l.onEvr(statement, buffer);
+		}
 		if(statement.offsetSpecified()) {
 			this.buffer.reset();
 		}
@@ -17,6 +17,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.function.Consumer;
 
@@ -34,20 +35,30 @@ import jpl.gds.dictionary.api.decom.IDecomStatement;
  * the top-level frame of a decom map itself, or it may represent a frame within that map, such as an 
  * array's frame.  In other words, there may be many stack frames corresponding to one decom map, 
  * though one decom map corresponds to exactly one frame.
+ * 
+ * Frames execute compiled statement blocks, and the {@link DecomEngine} reuses its frames
+ * from one packet to the next rather than allocating a frame for every array, repeat block,
+ * switch or map reference.  The local variable table is only allocated once a variable is stored.
  *  
  *
  */
 public class DecomStackFrame implements Iterator<IDecomStatement> {
 	
 	private static final int INITIAL_VARIABLE_TABLE_SIZE = 16;
-	private final Optional<DecomStackFrame> parentStackFrame;
-	private final Map<String, Object> localVariableTable = new HashMap<>(INITIAL_VARIABLE_TABLE_SIZE);
-	private Iterator<? extends IDecomStatement> statementItr;
-	private final List<? extends IDecomStatement> cachedStatements;
-	private final IDecomMapId mapId;
+	private DecomStackFrame parentStackFrame;
+	private Map<String, Object> localVariableTable;
+	private CompiledStatementBlock block;
+	private int nextIndex;
+	private IDecomMapId mapId;
 	private final Consumer<DecomStackFrame> finishAction;
 	private boolean doBreak = false;
 	private int iterations = 0;
+
+	/* Engine state describing how the frame finishes */
+	private int kind;
+	private Object owner;
+	private long count;
+	private int startOffset;
 	
 	/**
 	 * Create a new stack frame.
@@ -56,11 +67,7 @@ public class DecomStackFrame implements Iterator<IDecomStatement> {
 	 * @param finishAction the action to call upon exiting this frame the action to call upon exiting this frame.
 	 */
 	public DecomStackFrame(List<? extends IDecomStatement> statements, IDecomMapId mapId, Consumer<DecomStackFrame> finishAction) {
-		this.mapId = mapId;
-		this.parentStackFrame = Optional.empty();
-		this.finishAction = finishAction;
-		statementItr = statements.iterator();
-		this.cachedStatements = statements;
+		this(statements, mapId, finishAction, Optional.empty());
 	}
 	
 	/**
@@ -75,21 +82,103 @@ public class DecomStackFrame implements Iterator<IDecomStatement> {
 	 */
 	public DecomStackFrame(List<? extends IDecomStatement> statements, IDecomMapId mapId,
 			Consumer<DecomStackFrame> finishAction, Optional<DecomStackFrame> parentFrame) {
-		this.mapId = mapId;
 		this.finishAction = finishAction;
+		reset(CompiledStatementBlock.compile(statements, mapId), mapId, parentFrame.orElse(null));
+	}
+
+	/**
+	 * Create a reusable stack frame with no statements. {@link #reset(CompiledStatementBlock, IDecomMapId, DecomStackFrame)}
+	 * must be called before the frame is used.
+	 * @param finishAction the action to call upon exiting this frame
+	 */
+	DecomStackFrame(Consumer<DecomStackFrame> finishAction) {
+		this.finishAction = finishAction;
+	}
+
+	/**
+	 * Prepare the frame to execute a block of statements, discarding all state from its previous use.
+	 * @param statements the compiled statements for this frame to iterate over
+	 * @param mapId the ID of of the map this frame belongs to.
+	 * @param parentFrame the stack frame containing this stack frame, or null if its variables
+	 *        should not be visible to this frame
+	 */
+	void reset(CompiledStatementBlock statements, IDecomMapId mapId, DecomStackFrame parentFrame) {
+		this.block = statements;
+		this.mapId = mapId;
 		this.parentStackFrame = parentFrame;
-		cachedStatements = statements;
-		statementItr = statements.iterator();
+		this.nextIndex = 0;
+		this.doBreak = false;
+		this.iterations = 0;
+		this.kind = 0;
+		this.owner = null;
+		this.count = 0;
+		this.startOffset = 0;
+		if (localVariableTable != null && !localVariableTable.isEmpty()) {
+			localVariableTable.clear();
+		}
+	}
+
+	/**
+	 * Set the engine state used to finish the frame.
+	 * @param kind the kind of statement or map the frame was created for
+	 * @param owner the statement or map the frame was created for
+	 * @param count an iteration count or variable value associated with the frame
+	 * @param startOffset the buffer offset at which the frame started
+	 */
+	void setFinishState(int kind, Object owner, long count, int startOffset) {
+		this.kind = kind;
+		this.owner = owner;
+		this.count = count;
+		this.startOffset = startOffset;
+	}
+
+	/**
+	 * @return the kind of statement or map the frame was created for
+	 */
+	int getKind() {
+		return kind;
+	}
+
+	/**
+	 * @return the statement or map the frame was created for
+	 */
+	Object getOwner() {
+		return owner;
+	}
+
+	/**
+	 * @return the iteration count or variable value associated with the frame
+	 */
+	long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return the buffer offset at which the frame started
+	 */
+	int getStartOffset() {
+		return startOffset;
 	}
 
 	@Override
 	public boolean hasNext() {
-		return statementItr.hasNext();
+		return nextIndex < block.size();
 	}
 
 	@Override
 	public IDecomStatement next() { 
-		return statementItr.next();
+		return nextNode().getStatement();
+	}
+
+	/**
+	 * Get the next compiled statement.
+	 * @return the compiled statement
+	 */
+	CompiledStatementBlock.Node nextNode() {
+		if (nextIndex >= block.size()) {
+			throw new NoSuchElementException();
+		}
+		return block.get(nextIndex++);
 	}
 	
 	/**
@@ -98,7 +187,7 @@ public class DecomStackFrame implements Iterator<IDecomStatement> {
 	 * @param value the value of the variable
 	 */
 	public void putVariable(String variable, long value) {
-		localVariableTable.put(variable, value);
+		getVariableTable().put(variable, value);
 	}
 
 	/**
@@ -107,7 +196,7 @@ public class DecomStackFrame implements Iterator<IDecomStatement> {
 	 * @param value the value of the variable
 	 */
 	public void putVariable(String variable, String value) {
-		this.localVariableTable.put(variable, value);
+		getVariableTable().put(variable, value);
 	}
 
 	/**
@@ -119,12 +208,14 @@ public class DecomStackFrame implements Iterator<IDecomStatement> {
 	 * @throws MissingDecomVariableException if a value was not found for the variable
 	 */
 	public Object getValue(String variable) throws MissingDecomVariableException {
-		Object value = localVariableTable.get(variable);
-		if (value != null) {
-			return value;
+		if (localVariableTable != null) {
+			Object value = localVariableTable.get(variable);
+			if (value != null) {
+				return value;
+			}
 		}
-		if (this.parentStackFrame.isPresent()) {
-			return this.parentStackFrame.get().getValue(variable);
+		if (this.parentStackFrame != null) {
+			return this.parentStackFrame.getValue(variable);
 		}
 
 		throw new MissingDecomVariableException(String.format("No value defined for variable %s", variable));
@@ -143,6 +234,9 @@ public class DecomStackFrame implements Iterator<IDecomStatement> {
 	 * @return the variable table
 	 */
 	public Map<String, Object> getVariableTable() {
+		if (localVariableTable == null) {
+			localVariableTable = new HashMap<>(INITIAL_VARIABLE_TABLE_SIZE);
+		}
 		return localVariableTable;
 	}
 
@@ -152,7 +246,7 @@ public class DecomStackFrame implements Iterator<IDecomStatement> {
 	 * will return the first {@link IDecomStatement} associated with the frame.
 	 */
 	public void loop() {
-		statementItr = cachedStatements.iterator();
+		nextIndex = 0;
 	}
 	
 	/**
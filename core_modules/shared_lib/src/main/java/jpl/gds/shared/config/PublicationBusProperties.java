@@ -0,0 +1,155 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.shared.config;
+
+import java.util.List;
+
+import jpl.gds.shared.message.BackpressurePolicy;
+import jpl.gds.shared.spring.context.flag.SseContextFlag;
+
+/**
+ * Loads and provides information from the publication_bus.properties file,
+ * which controls selection and tuning of the internal message publication
+ * bus. The properties file is searched for using the standard AMPCS
+ * configuration file search.
+ *
+ */
+public class PublicationBusProperties extends GdsHierarchicalProperties {
+
+    /** The property file */
+    private static final String PROPERTY_FILE = "publication_bus.properties";
+
+    private static final String PROPERTY_PREFIX = "publicationBus.";
+    private static final String ASYNC_BLOCK = PROPERTY_PREFIX + "async.";
+
+    // Property Names
+    private static final String ASYNC_ENABLE = ASYNC_BLOCK + "enable";
+    private static final String LANE_CAPACITY = ASYNC_BLOCK + "laneCapacity";
+    private static final String BACKPRESSURE_POLICY = ASYNC_BLOCK + "backpressurePolicy";
+    private static final String DRAIN_TIMEOUT = ASYNC_BLOCK + "drainTimeout";
+    private static final String SYNCHRONOUS_SUBSCRIBERS = ASYNC_BLOCK + "synchronousSubscribers";
+    private static final String LAG_YELLOW = ASYNC_BLOCK + "lagYellowLevel";
+    private static final String LAG_RED = ASYNC_BLOCK + "lagRedLevel";
+
+    private static final int DEFAULT_LANE_CAPACITY = 4096;
+    private static final long DEFAULT_DRAIN_TIMEOUT = 5000;
+
+    /**
+     * Test constructor
+     */
+    public PublicationBusProperties() {
+        this(new SseContextFlag());
+    }
+
+    /**
+     * Creates and loads the object.
+     *
+     * @param sseFlag
+     *            The SSE context flag
+     */
+    public PublicationBusProperties(final SseContextFlag sseFlag) {
+        super(PROPERTY_FILE, sseFlag);
+    }
+
+    /**
+     * Indicates whether the asynchronous, multi-lane publication bus should be
+     * used in place of the synchronous bus.
+     *
+     * @return true if the asynchronous bus is enabled
+     */
+    public boolean isAsyncEnabled() {
+        return getBooleanProperty(ASYNC_ENABLE, false);
+    }
+
+    /**
+     * Gets the number of messages each subscriber lane of the asynchronous bus
+     * can hold before the backpressure policy is applied.
+     *
+     * @return lane capacity, messages
+     */
+    public int getLaneCapacity() {
+        int val = getIntProperty(LANE_CAPACITY, DEFAULT_LANE_CAPACITY);
+        if (val < 1) {
+            log.warn("Value for " + LANE_CAPACITY + " in the " + PROPERTY_FILE + " file is not valid; setting to "
+                    + DEFAULT_LANE_CAPACITY);
+            val = DEFAULT_LANE_CAPACITY;
+        }
+        return val;
+    }
+
+    /**
+     * Gets the policy applied by the asynchronous bus when a subscriber lane
+     * is full.
+     *
+     * @return BackpressurePolicy
+     */
+    public BackpressurePolicy getBackpressurePolicy() {
+        final String val = getProperty(BACKPRESSURE_POLICY, BackpressurePolicy.BLOCK.name());
+        try {
+            return BackpressurePolicy.valueOf(val.trim().toUpperCase());
+        } catch (final IllegalArgumentException e) {
+            log.warn("Value for " + BACKPRESSURE_POLICY + " in the " + PROPERTY_FILE + " file is not valid; setting to "
+                    + BackpressurePolicy.BLOCK);
+            return BackpressurePolicy.BLOCK;
+        }
+    }
+
+    /**
+     * Gets the maximum time to wait for a subscriber lane to drain when the
+     * subscriber is removed from the asynchronous bus, in milliseconds.
+     *
+     * @return milliseconds
+     */
+    public long getDrainTimeout() {
+        return getLongProperty(DRAIN_TIMEOUT, DEFAULT_DRAIN_TIMEOUT);
+    }
+
+    /**
+     * Gets the fully-qualified class names of subscribers that must continue
+     * to receive messages synchronously on the publishing thread, even when
+     * the asynchronous bus is enabled.
+     *
+     * @return list of class names; may be empty
+     */
+    public List<String> getSynchronousSubscribers() {
+        return getListProperty(SYNCHRONOUS_SUBSCRIBERS, null, ",");
+    }
+
+    /**
+     * Gets the mean delivery lag, in milliseconds, at which a subscriber lane
+     * should be considered in YELLOW health state. A value of 0 disables
+     * YELLOW health checking.
+     *
+     * @return milliseconds
+     */
+    public long getLagYellowLevel() {
+        return getLongProperty(LAG_YELLOW, 1000);
+    }
+
+    /**
+     * Gets the mean delivery lag, in milliseconds, at which a subscriber lane
+     * should be considered in RED health state. A value of 0 disables RED
+     * health checking.
+     *
+     * @return milliseconds
+     */
+    public long getLagRedLevel() {
+        return getLongProperty(LAG_RED, 5000);
+    }
+
+    @Override
+    public String getPropertyPrefix() {
+        return PROPERTY_PREFIX;
+    }
+}
@@ -13,8 +13,8 @@
  */
 package jpl.gds.shared.database;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigInteger;
 import java.sql.SQLException;
 import java.sql.Timestamp;
@@ -177,7 +177,7 @@ public final class BytesBuilder extends Object
      *
      * @throws IOException I/O exception
      */
-    public void write(final FileOutputStream fos) throws IOException
+    public void write(final OutputStream fos) throws IOException
     {
         if ((fos != null) && (_size > 0))
         {
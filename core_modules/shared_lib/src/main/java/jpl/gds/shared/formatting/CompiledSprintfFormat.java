@@ -0,0 +1,96 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.shared.formatting;
+
+/**
+ * A C-style format string that has been parsed by SprintfFormat into the
+ * literal text and formatter tokens it consists of, so that it can be applied
+ * to any number of value lists without being parsed again.
+ * <p>
+ * Instances are immutable and may be cached and shared between threads. They
+ * are created by SprintfFormat.compile() and applied by
+ * SprintfFormat.sprintf(CompiledSprintfFormat, Object[]).
+ *
+ */
+public final class CompiledSprintfFormat {
+
+    private final String formatString;
+    private final String[] literals;
+    private final String[] tokens;
+    private final boolean valid;
+
+    /**
+     * Constructor.
+     *
+     * @param formatString
+     *            the format string as supplied to compile()
+     * @param literals
+     *            the literal text before the first formatter and after each
+     *            formatter, with escaped percents already replaced; one more
+     *            entry than there are formatters
+     * @param tokens
+     *            the formatter tokens, in order
+     * @param valid
+     *            false if a formatter could not be parsed, in which case
+     *            applying the format yields "NSF"
+     */
+    CompiledSprintfFormat(final String formatString, final String[] literals, final String[] tokens,
+            final boolean valid) {
+        this.formatString = formatString;
+        this.literals = literals;
+        this.tokens = tokens;
+        this.valid = valid;
+    }
+
+    /**
+     * Gets the format string this was compiled from.
+     *
+     * @return format string
+     */
+    public String getFormatString() {
+        return formatString;
+    }
+
+    /**
+     * Gets the number of formatters, which is the number of values the format
+     * must be applied to.
+     *
+     * @return formatter count
+     */
+    public int getFormatterCount() {
+        return tokens.length;
+    }
+
+    /**
+     * Indicates whether every formatter could be parsed.
+     *
+     * @return true if valid
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    String getLiteral(final int index) {
+        return literals[index];
+    }
+
+    String getToken(final int index) {
+        return tokens[index];
+    }
+
+    @Override
+    public String toString() {
+        return formatString;
+    }
+}
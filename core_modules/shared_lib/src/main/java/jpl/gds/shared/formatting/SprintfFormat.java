@@ -120,32 +120,110 @@ public class SprintfFormat
      */
     public synchronized String sprintf(final String formatString,
             final Object formatValues[]) {
-        int i = 0;
-        String aFormatString = null; //formatString;
-        StringBuilder formattedOutput = null;
+        return sprintf(compile(formatString), formatValues, null);
+    } // end member function Csprintf
 
+    /**
+     * Parses a format string into its literal text and formatter tokens, so
+     * that it can be applied repeatedly without being parsed again. The
+     * result does not depend on the state of this object and may be shared
+     * between threads.
+     *
+     * @param formatString
+     *            Format string
+     * @return the compiled format; if a formatter cannot be parsed, the
+     *         result formats as "NSF"
+     */
+    public CompiledSprintfFormat compile(final String formatString) {
         try {
-            int endLiteral = 0;
-
             // Replace non-C format specifiers from the dictionary with formatters we can easily identify
-            aFormatString = translateNonCFormats(formatString);
+            final String aFormatString = translateNonCFormats(formatString);
 
-            // Count the number and location of the percent formatters and the literals
-            // in the format string.
-            final int numOfPercents = findPercents(aFormatString);
+            // Locate the percent formatters; escaped %% are skipped
+            final int formatStrLen = aFormatString.length();
+            final List<Integer> positions = new ArrayList<Integer>();
+            int nxtPos = aFormatString.indexOf(FINAL_TOKEN);
+            while (nxtPos != -1 && nxtPos < formatStrLen - 1) {
+                if (aFormatString.charAt(nxtPos + 1) == FINAL_TOKEN) {
+                    nxtPos += 2;
+                } else {
+                    positions.add(nxtPos);
+                    nxtPos++;
+                }
+                nxtPos = aFormatString.indexOf(FINAL_TOKEN, nxtPos);
+            }
 
-            // If no conversions necessary, so just replace double percents and return
+            final int numOfPercents = positions.size();
+            final String[] tokens = new String[numOfPercents];
+            final String[] literals = new String[numOfPercents + 1];
+
+            // If no conversions necessary, the whole string is literal
             if (numOfPercents == 0) {
-                return replaceDoublePercents(aFormatString);
-            } else {
-                formattedOutput = new StringBuilder("");
+                literals[0] = replaceDoublePercents(aFormatString);
+                return new CompiledSprintfFormat(formatString, literals, tokens, true);
+            }
+
+            literals[0] = replaceDoublePercents(aFormatString.substring(0, positions.get(0)));
+
+            // Split out each formatter token and the literal text between it and the next formatter
+            final Matcher m = formatterPattern.matcher(aFormatString);
+            for (int i = 0; i < numOfPercents; ++i) {
+                final int endLiteral = (i == numOfPercents - 1) ? formatStrLen : positions.get(i + 1);
+
+                if (!m.find(positions.get(i))) {
+                    return new CompiledSprintfFormat(formatString, literals, tokens, false);
+                }
+                final int literalPos = m.end();
+                tokens[i] = aFormatString.substring(positions.get(i), literalPos);
+                literals[i + 1] = (literalPos < endLiteral)
+                        ? replaceDoublePercents(aFormatString.substring(literalPos, endLiteral)) : "";
+            }
+
+            return new CompiledSprintfFormat(formatString, literals, tokens, true);
+
+        } catch (final Exception e) {
+            e.printStackTrace();
+            trace.error("Unexpected exception in SprintfFormat processing "
+                    + " format string " + formatString);
+            return new CompiledSprintfFormat(formatString, new String[] { NSF }, new String[0], false);
+        }
+    }
+
+    /**
+     * Applies a compiled format string to a list of values, with the same
+     * results as sprintf(String, Object[]) on the original format string.
+     * <p>
+     * This method does not lock. The value formatting state is held by this
+     * object, so an instance must not be used by more than one thread at a
+     * time through this method.
+     *
+     * @param format
+     *            Compiled format string
+     * @param formatValues
+     *            an Object array with the values to insert in the format string
+     * @param insertions
+     *            text to append after the formatted value of each formatter,
+     *            indexed by formatter, with null entries where there is none;
+     *            may be null
+     * @return the formatted string
+     */
+    public String sprintf(final CompiledSprintfFormat format,
+            final Object formatValues[], final String[] insertions) {
+        int i = 0;
+
+        try {
+            final int numOfPercents = format.getFormatterCount();
+
+            // If no conversions necessary, the format is all literal text
+            if (numOfPercents == 0) {
+                return format.isValid() ? format.getLiteral(0) : NSF;
             }
 
             // If too few formatters for value list, throw an exception
             if (numOfPercents < formatValues.length) {
                 trace.error(
                         "Too few format values in: "
-                        + formatString
+                        + format.getFormatString()
                         + " to output the number of Objects ("
                         + formatValues.length + ")");
                 trace
@@ -157,7 +235,7 @@ public class SprintfFormat
             if (numOfPercents > formatValues.length) {
                 trace.error(
                         "Too few values for: "
-                        + formatString
+                        + format.getFormatString()
                         + " to output the number of Objects ("
                         + formatValues.length + ")");
                 trace
@@ -166,30 +244,18 @@ public class SprintfFormat
                 return NSF;
             }
 
-            nextLiteralPos = 0;
-            final int formatStrLen = aFormatString.length();
+            if (!format.isValid()) {
+                return NSF;
+            }
 
-            // Start by appending the first literal portion of the format string to the output text
-            formattedOutput.append(replaceDoublePercents(aFormatString.substring(0,
-                    percentPositions.get(0))));
+            final StringBuilder formattedOutput = new StringBuilder(format.getFormatString().length() + 16 * numOfPercents);
 
-            // Loop through the percent/formatter token positions. Format each object and append it. Then append
-            // in literal text between the current formatter and the next formatter, etc, until all the
-            // objects have been formatted and the string is complete.
+            // Start by appending the first literal portion of the format string to the output text
+            formattedOutput.append(format.getLiteral(0));
 
+            // Format each object and append it, followed by the literal text up to the next formatter
             for (i = 0; i < numOfPercents; ++i) {
 
-                if (i == numOfPercents - 1) {
-                    endLiteral = formatStrLen;
-                } else {
-                    endLiteral = percentPositions.get(i + 1);
-                }
-
-                final String nxtToken = findFormatterToken(aFormatString, percentPositions.get(i));
-                if (nxtToken.equals(NSF)) {
-                    return nxtToken;
-                }
-
                 if (formatValues[i] == null) {
                     return NSF;
                 }
@@ -198,31 +264,26 @@ public class SprintfFormat
                 final SprintfDataType type = SprintfDataType.getTypeForObject(formatValues[i]);
 
                 // Format the value and append it to the output string
-                final StringBuilder tempBuff = formatValueForOutput(nxtToken,formatValues, type, i);
-                formattedOutput.append(tempBuff);
+                formattedOutput.append(formatValueForOutput(format.getToken(i), formatValues, type, i));
 
-                // Append the next chunk of literal string
-                if (nextLiteralPos < endLiteral) {
-                    formattedOutput.append(replaceDoublePercents(aFormatString.substring(nextLiteralPos, endLiteral)));
+                if (insertions != null && insertions[i] != null) {
+                    formattedOutput.append(insertions[i]);
                 }
-            } // end for
 
-            // Append any trailing chunk of literal stream
-            if (endLiteral < formatStrLen) {
-                formattedOutput.append(replaceDoublePercents(aFormatString.substring(endLiteral)));
-            }
+                // Append the next chunk of literal string
+                formattedOutput.append(format.getLiteral(i + 1));
+            } // end for
 
             return formattedOutput.toString();
 
         } catch (final Exception e) {
             e.printStackTrace();
             trace.error("Unexpected exception in SprintfFormat processing "
-                    + " format string " + formatString);
+                    + " format string " + format.getFormatString());
             return NSF;
 
         }
-
-    } // end member function Csprintf
+    }
 
 
     /**
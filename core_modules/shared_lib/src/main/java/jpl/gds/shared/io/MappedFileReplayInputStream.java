@@ -0,0 +1,502 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.shared.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * An InputStream that replays one or more files by memory-mapping them, either
+ * as fast as the reader can take the data or metered out at a target bitrate.
+ * <p>
+ * The files are read in order as one continuous stream. Each file is mapped in
+ * segments of at most the configured segment size, so files of any length can
+ * be replayed without mapping all of them at once. A background thread maps
+ * the next segments, which may be in the following files, and loads them into
+ * physical memory ahead of the reader, so the reader does not stall on disk
+ * reads at segment or file boundaries.
+ * <p>
+ * Reads copy straight out of the mapped segment into the caller's buffer; there
+ * is no intermediate buffering and no read system call per read. Unlike
+ * MeteredFileInputStream, readers may read any number of bytes at a time and no
+ * data is ever discarded: when metering, a read blocks until the stream has
+ * reached the time at which its data is due, based on the time of the first
+ * read. A reader that falls behind catches up at full speed.
+ * <p>
+ * This class is intended for use by a single reading thread. The progress
+ * accessors may be called from any thread.
+ *
+ */
+public class MappedFileReplayInputStream extends InputStream {
+
+    /** Default size of a mapped segment, bytes */
+    public static final long DEFAULT_SEGMENT_SIZE = 256L * 1024 * 1024;
+
+    /** Default number of segments mapped and loaded ahead of the reader */
+    public static final int DEFAULT_READ_AHEAD = 2;
+
+    /** Maximum size of a mapped segment, bytes */
+    private static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+    /** Number of metering intervals per second; bounds the size of a metered read */
+    private static final int METER_TICKS_PER_SEC = 100;
+
+    private static final String READ_AHEAD_THREAD_NAME = "Mapped Replay Read Ahead";
+
+    private final List<Segment> segments;
+    private final int fileCount;
+    private final long totalBytes;
+    private final int readAhead;
+    private final double bitRate;
+    private final int maxMeteredRead;
+    private final ExecutorService loader;
+    private final ArrayDeque<Future<MappedByteBuffer>> pending = new ArrayDeque<>();
+
+    private int nextToLoad;
+    private int currentIndex = -1;
+    private MappedByteBuffer current;
+    private final byte[] singleByte = new byte[1];
+
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile boolean started;
+    private volatile boolean finished;
+    private volatile long bytesRead;
+    private volatile int filesRead;
+    private volatile boolean closed;
+
+    /**
+     * Constructor. Starts mapping the first segments in the background
+     * immediately, but the metering clock does not start until the first read.
+     *
+     * @param files
+     *            the files to replay, in order
+     * @param segmentSize
+     *            maximum number of bytes of a file mapped at once
+     * @param readAhead
+     *            number of segments to map and load ahead of the reader; 0
+     *            maps each segment when the reader reaches it
+     * @param bitRate
+     *            target replay rate, bits per second; 0 or less replays at
+     *            full speed
+     * @throws IOException
+     *             if one of the files does not exist or cannot be read
+     */
+    public MappedFileReplayInputStream(final List<File> files, final long segmentSize, final int readAhead,
+            final double bitRate) throws IOException {
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("No files to replay");
+        }
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be greater than 0");
+        }
+
+        final long segSize = Math.min(segmentSize, MAX_SEGMENT_SIZE);
+        final List<Segment> temp = new ArrayList<>();
+        long total = 0;
+        int nonEmpty = 0;
+
+        for (final File f : files) {
+            if (!f.isFile() || !f.canRead()) {
+                throw new FileNotFoundException("Replay file " + f.getPath() + " does not exist or cannot be read");
+            }
+            final long length = f.length();
+            for (long pos = 0; pos < length; pos += segSize) {
+                final long size = Math.min(segSize, length - pos);
+                temp.add(new Segment(f, pos, size, pos + size == length));
+            }
+            total += length;
+            if (length != 0) {
+                nonEmpty++;
+            }
+        }
+
+        this.segments = Collections.unmodifiableList(temp);
+        this.fileCount = nonEmpty;
+        this.totalBytes = total;
+        this.readAhead = Math.max(0, readAhead);
+        this.bitRate = bitRate > 0 ? bitRate : 0;
+        this.maxMeteredRead = (int) Math.max(1, Math.min(Integer.MAX_VALUE,
+                this.bitRate / 8 / METER_TICKS_PER_SEC));
+
+        if (this.readAhead > 0) {
+            this.loader = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat(READ_AHEAD_THREAD_NAME).setDaemon(true).build());
+            scheduleReadAhead();
+        } else {
+            this.loader = null;
+        }
+    }
+
+    /**
+     * Gets the files to replay for the given path. If the path is a directory,
+     * returns the non-hidden files directly in it, sorted by name. Otherwise,
+     * returns the path itself.
+     *
+     * @param path
+     *            path to a file or a directory of files
+     * @return list of files, which is empty if the directory has no files
+     */
+    public static List<File> listReplayFiles(final File path) {
+        if (!path.isDirectory()) {
+            return Collections.singletonList(path);
+        }
+
+        final File[] files = path.listFiles(f -> f.isFile() && !f.isHidden());
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        Arrays.sort(files);
+        return Arrays.asList(files);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.io.InputStream#read()
+     */
+    @Override
+    public int read() throws IOException {
+        final int len = read(singleByte, 0, 1);
+        return len < 0 ? -1 : singleByte[0] & 0xFF;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Returns at most the bytes remaining in the current segment. When
+     * metering, also returns at most one metering interval's worth of bytes,
+     * and blocks until they are due.
+     *
+     * @see java.io.InputStream#read(byte[], int, int)
+     */
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        checkOpen();
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+
+        if (!started) {
+            startNanos = System.nanoTime();
+            started = true;
+        }
+
+        /*
+         * Work from a local reference to the segment. The stream may be closed
+         * from another thread while a read is in progress; a closed stream
+         * keeps its last segment, but the read must then fail.
+         */
+        MappedByteBuffer seg = current;
+        while (seg == null || !seg.hasRemaining()) {
+            if (!nextSegment()) {
+                if (!finished) {
+                    endNanos = System.nanoTime();
+                    finished = true;
+                }
+                return -1;
+            }
+            seg = current;
+        }
+
+        int n = Math.min(len, seg.remaining());
+        if (bitRate > 0) {
+            n = Math.min(n, maxMeteredRead);
+            awaitDue(bytesRead + n);
+        }
+
+        checkOpen();
+        seg.get(b, off, n);
+        bytesRead += n;
+        return n;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.io.InputStream#available()
+     */
+    @Override
+    public int available() throws IOException {
+        final MappedByteBuffer seg = current;
+        return closed || seg == null ? 0 : seg.remaining();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Stops read-ahead. May be called from another thread while a read is in
+     * progress, in which case that read fails with an IOException. The mapped
+     * segments are released when they are garbage collected.
+     *
+     * @see java.io.InputStream#close()
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (loader != null) {
+            // segments that were never loaded are cancelled so a reader
+            // waiting for one is released
+            for (final Runnable r : loader.shutdownNow()) {
+                if (r instanceof Future) {
+                    ((Future<?>) r).cancel(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of bytes read so far.
+     *
+     * @return byte count
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Gets the total number of bytes in all files to replay.
+     *
+     * @return byte count
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Gets the number of files completely read so far.
+     *
+     * @return file count
+     */
+    public int getFilesRead() {
+        return filesRead;
+    }
+
+    /**
+     * Gets the number of files to replay. Empty files are not counted.
+     *
+     * @return file count
+     */
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    /**
+     * Gets the target replay rate.
+     *
+     * @return bits per second, or 0 if replaying at full speed
+     */
+    public double getTargetBitRate() {
+        return bitRate;
+    }
+
+    /**
+     * Gets the time spent reading, from the first read until the end of data
+     * was reached or until now.
+     *
+     * @return elapsed time, nanoseconds; 0 before the first read
+     */
+    public long getElapsedNanos() {
+        if (!started) {
+            return 0;
+        }
+        return (finished ? endNanos : System.nanoTime()) - startNanos;
+    }
+
+    /**
+     * Gets the average data rate since the first read.
+     *
+     * @return bits per second
+     */
+    public double getAverageBitRate() {
+        final long elapsed = getElapsedNanos();
+        return elapsed <= 0 ? 0.0 : bytesRead * 8 * 1.0E9 / elapsed;
+    }
+
+    /**
+     * Indicates whether all data has been read.
+     *
+     * @return true if at end of data, false if not
+     */
+    public boolean isComplete() {
+        return bytesRead == totalBytes;
+    }
+
+    /**
+     * Moves to the next segment, waiting for it to be mapped if it was read
+     * ahead or mapping it if not, and schedules the read-ahead of the segments
+     * after it.
+     *
+     * @return true if there is a next segment, false if at end of data
+     * @throws IOException
+     *             if the segment cannot be mapped
+     */
+    private boolean nextSegment() throws IOException {
+        checkOpen();
+        if (current != null && segments.get(currentIndex).lastInFile) {
+            filesRead++;
+        }
+        current = null;
+
+        if (currentIndex + 1 >= segments.size()) {
+            return false;
+        }
+        currentIndex++;
+
+        final Future<MappedByteBuffer> loaded = pending.poll();
+        if (loaded == null) {
+            current = map(segments.get(currentIndex), false);
+        } else {
+            scheduleReadAhead();
+            current = await(loaded);
+        }
+        return true;
+    }
+
+    /**
+     * Submits segments for mapping and loading until the configured number of
+     * segments past the current one are pending.
+     */
+    private void scheduleReadAhead() {
+        while (nextToLoad < segments.size() && nextToLoad <= currentIndex + readAhead) {
+            final Segment seg = segments.get(nextToLoad++);
+            pending.add(loader.submit(() -> map(seg, true)));
+        }
+    }
+
+    /**
+     * Waits for a read-ahead segment.
+     *
+     * @param loaded
+     *            the pending segment
+     * @return the mapped segment
+     * @throws IOException
+     *             if mapping failed or the wait was interrupted
+     */
+    private MappedByteBuffer await(final Future<MappedByteBuffer> loaded) throws IOException {
+        try {
+            return loaded.get();
+        } catch (final CancellationException e) {
+            throw new IOException("Replay stream is closed");
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for replay read-ahead");
+        } catch (final ExecutionException e) {
+            checkOpen();
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Replay read-ahead failed", e.getCause());
+        }
+    }
+
+    /**
+     * Throws if the stream has been closed.
+     *
+     * @throws IOException
+     *             if the stream is closed
+     */
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Replay stream is closed");
+        }
+    }
+
+    /**
+     * Blocks until the given byte count is due at the target bitrate.
+     *
+     * @param byteCount
+     *            number of bytes read once the pending read completes
+     * @throws InterruptedIOException
+     *             if interrupted while waiting
+     */
+    private void awaitDue(final long byteCount) throws InterruptedIOException {
+        final long due = startNanos + (long) (byteCount * 8 * 1.0E9 / bitRate);
+
+        long wait;
+        while ((wait = due - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, wait);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while metering replay");
+            }
+        }
+    }
+
+    /**
+     * Maps a segment.
+     *
+     * @param seg
+     *            the segment
+     * @param load
+     *            true to load the segment into physical memory before
+     *            returning
+     * @return the mapped segment
+     * @throws IOException
+     *             if the file cannot be mapped
+     */
+    private static MappedByteBuffer map(final Segment seg, final boolean load) throws IOException {
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(seg.file.toPath(), StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, seg.position, seg.size);
+            if (load) {
+                buffer.load();
+            }
+            return buffer;
+        }
+    }
+
+    /**
+     * A region of a file that is mapped at once.
+     */
+    private static class Segment {
+        private final File file;
+        private final long position;
+        private final long size;
+        private final boolean lastInFile;
+
+        Segment(final File file, final long position, final long size, final boolean lastInFile) {
+            this.file = file;
+            this.position = position;
+            this.size = size;
+            this.lastInFile = lastInFile;
+        }
+    }
+}
@@ -0,0 +1,657 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.shared.message;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jpl.gds.shared.config.PerformanceProperties;
+import jpl.gds.shared.config.PublicationBusProperties;
+import jpl.gds.shared.log.Tracer;
+import jpl.gds.shared.metadata.context.IContextKey;
+import jpl.gds.shared.performance.IPerformanceData;
+import jpl.gds.shared.performance.IPerformanceProvider;
+import jpl.gds.shared.performance.LatencyPerformanceData;
+import jpl.gds.shared.performance.QueuePerformanceData;
+
+/**
+ * AsyncPublicationBus is an alternative to GenericPublicationBus in which
+ * publish calls do not wait for subscribers to process the message. Each
+ * subscriber is given its own lane, which is a bounded ring buffer drained by
+ * a dedicated daemon thread, so a slow subscriber delays only itself.
+ * <p>
+ * <br>
+ * <b>Ordering</b>
+ * <p>
+ * <br>
+ * Every subscriber receives messages in the order in which they were
+ * published, on a single thread, so per-type ordering (and in fact total
+ * ordering) is preserved for each subscriber. There is no ordering guarantee
+ * between different subscribers: one may process a message long after another
+ * has.
+ * <p>
+ * <br>
+ * <b>Backpressure</b>
+ * <p>
+ * <br>
+ * When a lane is full, the configured BackpressurePolicy is applied. Messages
+ * published from within handleMessage() on any lane thread never wait for
+ * room: a lane waiting on itself, or two lanes that publish to each other both
+ * waiting on the other's full lane, would deadlock. Under BLOCK, and under
+ * COALESCE when no queued message is superseded by the new one, such a
+ * message is instead held in an unbounded overflow queue behind the ring. The
+ * lane delivers the overflow, in order, before anything published later, and
+ * other publishers wait until it has been emptied. A warning is logged when
+ * a lane starts to overflow.
+ * <p>
+ * COALESCE replaces a queued message only if the new message is an
+ * ICoalescingMessage that supersedes it (for instance, a newer sample of the
+ * same channel), or if the same message object is already queued.
+ * <p>
+ * <br>
+ * <b>Synchronous subscribers</b>
+ * <p>
+ * <br>
+ * Some subscribers depend on having processed a message before the publish
+ * call returns (for instance, a LAD that must be current before the next
+ * channel is derived). Subscribers whose class names are configured as
+ * synchronous get no lane, and are called on the publishing thread exactly as
+ * GenericPublicationBus would call them.
+ * <p>
+ * <br>
+ * <b>Performance</b>
+ * <p>
+ * <br>
+ * This class is an IPerformanceProvider. For each lane it reports queue depth
+ * and high water mark, and the lag between publication and delivery of
+ * messages. Lag figures cover the interval since the previous performance
+ * sweep.
+ *
+ * @see GenericPublicationBus
+ * @see BackpressurePolicy
+ */
+public final class AsyncPublicationBus implements IMessagePublicationBus, IPerformanceProvider {
+
+    private static final String ANY_TYPE = "[ANY]";
+    private static final String PROVIDER_NAME = "Publication Bus";
+    private static final long WARNING_INTERVAL = 1000;
+
+    /**
+     * Set on every lane thread, of any bus, so publishes from handleMessage()
+     * can be recognized and never wait for room.
+     */
+    private static final ThreadLocal<Boolean> ON_LANE_THREAD = new ThreadLocal<Boolean>();
+
+    private final Tracer messageLog;
+    private final PerformanceProperties perfProps;
+    private final int laneCapacity;
+    private final BackpressurePolicy policy;
+    private final long drainTimeout;
+    private final long lagYellow;
+    private final long lagRed;
+    private final Set<String> synchronousSubscribers;
+
+    private IContextKey contextKey;
+
+    /**
+     * Map of subscriber lists.
+     */
+    private final Map<String, CopyOnWriteArrayList<MessageSubscriber>> subscriberMap = new ConcurrentHashMap<String, CopyOnWriteArrayList<MessageSubscriber>>();
+
+    /**
+     * Map of subscriber to lane. Synchronous subscribers have no entry.
+     */
+    private final Map<MessageSubscriber, SubscriberLane> laneMap = new ConcurrentHashMap<MessageSubscriber, SubscriberLane>();
+
+    private final AtomicInteger laneCounter = new AtomicInteger();
+
+    /**
+     * Constructor.
+     *
+     * @param key
+     *            IContextKey to use
+     * @param log
+     *            Tracer to log with
+     * @param busProps
+     *            PublicationBusProperties object containing configuration
+     * @param perfProps
+     *            PerformanceProperties object containing configuration
+     */
+    public AsyncPublicationBus(final IContextKey key, final Tracer log, final PublicationBusProperties busProps,
+            final PerformanceProperties perfProps) {
+        this.messageLog = log;
+        this.perfProps = perfProps;
+        this.laneCapacity = busProps.getLaneCapacity();
+        this.policy = busProps.getBackpressurePolicy();
+        this.drainTimeout = busProps.getDrainTimeout();
+        this.lagYellow = busProps.getLagYellowLevel();
+        this.lagRed = busProps.getLagRedLevel();
+        this.synchronousSubscribers = new HashSet<String>(busProps.getSynchronousSubscribers());
+        this.setContextKey(key);
+
+        messageLog.debug("Asynchronous publication bus created with lane capacity ", laneCapacity,
+                " and backpressure policy ", policy);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see jpl.gds.shared.message.IMessagePublicationBus#publish(IMessage)
+     */
+    @Override
+    public void publish(final IMessage message) {
+        publish(message, false);
+    }
+
+    /**
+     * Queues the message to all subscribers listening for its type of message,
+     * and delivers it directly to synchronous subscribers. This method returns
+     * without waiting for queued messages to be processed, unless the
+     * backpressure policy requires it to wait for room in a lane.
+     *
+     * @param message        IMessage object to be published
+     * @param keepContextKey if true, message's context key will not be overwritten; if false, behaves same as
+     *                       {@code jpl.gds.shared.message.IMessagePublicationBus#publish(jpl.gds.shared.message.IMessage)}
+     */
+    @Override
+    public void publish(final IMessage message, final boolean keepContextKey) {
+
+        final String type = message.getType().getSubscriptionTag();
+
+        if (!keepContextKey && this.contextKey != null) {
+            message.setContextKey(this.contextKey);
+        }
+
+        if (messageLog.isDebugEnabled()) {
+            messageLog.debug("Publishing ", type, " = ", message.toString());
+        }
+        final List<MessageSubscriber> subscribers = subscriberMap.get(type);
+        final List<MessageSubscriber> anySubscribers = subscriberMap.get(ANY_TYPE);
+
+        if ((subscribers == null || subscribers.isEmpty()) && (anySubscribers == null || anySubscribers.isEmpty())) {
+            messageLog.debug("no subscribers for type ", type);
+
+            return;
+        }
+
+        if (subscribers != null) {
+            for (final MessageSubscriber sub : subscribers) {
+                deliver(type, message, sub);
+            }
+        }
+
+        if (anySubscribers != null) {
+            for (final MessageSubscriber sub : anySubscribers) {
+                deliver(type, message, sub);
+            }
+        }
+    }
+
+    private void deliver(final String type, final IMessage message, final MessageSubscriber sub) {
+        if (messageLog.isDebugEnabled()) {
+            messageLog.debug("Sending ", type, " to ", sub.getClass().getName());
+        }
+
+        final SubscriberLane lane = laneMap.get(sub);
+        if (lane == null) {
+            sub.handleMessage(message);
+        } else {
+            lane.offer(message);
+        }
+    }
+
+    private void subscribe(final String type, final MessageSubscriber subscriber) {
+
+        /* The lane must exist before the subscriber can be found by publish() */
+        if (!synchronousSubscribers.contains(subscriber.getClass().getName())) {
+            laneMap.computeIfAbsent(subscriber, this::createLane);
+        }
+
+        subscriberMap.computeIfAbsent(type, k -> new CopyOnWriteArrayList<MessageSubscriber>()).add(subscriber);
+
+        messageLog.debug("Message Subscription: ", subscriber.getClass().getName(), " subscribed to ", type);
+
+    }
+
+    @Override
+    public void subscribe(final IMessageType type, final MessageSubscriber subscriber) {
+        subscribe(type.getSubscriptionTag(), subscriber);
+
+    }
+
+    @Override
+    public void subscribe(final MessageSubscriber subscriber) {
+        subscribe(ANY_TYPE, subscriber);
+    }
+
+    private void unsubscribe(final String type, final MessageSubscriber subscriber) {
+
+        final List<MessageSubscriber> list = subscriberMap.get(type);
+        if (list != null) {
+            list.remove(subscriber);
+        }
+
+        messageLog.debug("Message Subscriber: ", subscriber.getClass().getName(), " unsubscribed from ", type);
+
+        if (!isSubscribed(subscriber)) {
+            closeLane(subscriber);
+        }
+    }
+
+    @Override
+    public void unsubscribe(final IMessageType config, final MessageSubscriber subscriber) {
+        unsubscribe(config.getSubscriptionTag(), subscriber);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Messages already queued are delivered before each lane is shut down,
+     * subject to the configured drain timeout.
+     *
+     * @see jpl.gds.shared.message.IMessagePublicationBus#unsubscribeAll()
+     */
+    @Override
+    public void unsubscribeAll() {
+        subscriberMap.clear();
+        for (final MessageSubscriber sub : laneMap.keySet()) {
+            closeLane(sub);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see jpl.gds.shared.message.IMessagePublicationBus#unsubscribeAll(jpl.gds.shared.message.MessageSubscriber)
+     */
+    @Override
+    public void unsubscribeAll(final MessageSubscriber subscriber) {
+
+        /*
+         * Iteration here is safe because it's a ConcurrentHashMap.
+         */
+        for (final String key : subscriberMap.keySet()) {
+
+            final List<MessageSubscriber> list = subscriberMap.get(key);
+            if (list.remove(subscriber)) {
+                messageLog.debug("Message Subscription: ", subscriber.getClass().getName(), " unsubscribed from ", key);
+
+            }
+        }
+        closeLane(subscriber);
+    }
+
+    @Override
+    public void setContextKey(final IContextKey toSet) {
+        this.contextKey = toSet;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see jpl.gds.shared.performance.IPerformanceProvider#getProviderName()
+     */
+    @Override
+    public String getProviderName() {
+        return PROVIDER_NAME;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see jpl.gds.shared.performance.IPerformanceProvider#getPerformanceData()
+     */
+    @Override
+    public List<IPerformanceData> getPerformanceData() {
+        final List<IPerformanceData> result = new ArrayList<IPerformanceData>(laneMap.size() * 2);
+        for (final SubscriberLane lane : laneMap.values()) {
+            lane.updatePerformance();
+            result.add(lane.queuePerf);
+            result.add(lane.lagPerf);
+        }
+        return result;
+    }
+
+    private boolean isSubscribed(final MessageSubscriber subscriber) {
+        for (final List<MessageSubscriber> list : subscriberMap.values()) {
+            if (list.contains(subscriber)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private SubscriberLane createLane(final MessageSubscriber subscriber) {
+        String name = subscriber.getClass().getName();
+        name = name.substring(name.lastIndexOf('.') + 1) + "#" + laneCounter.incrementAndGet();
+
+        final SubscriberLane lane = new SubscriberLane(subscriber, name);
+        lane.start();
+
+        messageLog.debug("Created publication bus lane ", name);
+        return lane;
+    }
+
+    private void closeLane(final MessageSubscriber subscriber) {
+        final SubscriberLane lane = laneMap.remove(subscriber);
+        if (lane != null) {
+            lane.close();
+        }
+    }
+
+    /**
+     * A bounded ring buffer of messages for one subscriber, and the thread
+     * that delivers them.
+     */
+    private class SubscriberLane implements Runnable {
+
+        private final MessageSubscriber subscriber;
+        private final String name;
+
+        private final IMessage[] ring;
+        private final long[] enqueueTimes;
+        private int head;
+        private int count;
+        private boolean closed;
+
+        /**
+         * Messages published from lane threads while the ring was full. They
+         * logically follow the ring, and the ring is refilled from here as it
+         * drains, so this is only non-empty when the ring is full.
+         */
+        private final ArrayDeque<OverflowEntry> overflow = new ArrayDeque<OverflowEntry>();
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private final Thread worker;
+
+        private long highWater;
+        private long dropped;
+        private long coalesced;
+        private long overflowed;
+
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong intervalDelivered = new AtomicLong();
+        private final AtomicLong intervalLagNanos = new AtomicLong();
+        private final AtomicLong intervalMaxLagNanos = new AtomicLong();
+
+        private final QueuePerformanceData queuePerf;
+        private final LatencyPerformanceData lagPerf;
+
+        public SubscriberLane(final MessageSubscriber subscriber, final String name) {
+            this.subscriber = subscriber;
+            this.name = name;
+            this.ring = new IMessage[laneCapacity];
+            this.enqueueTimes = new long[laneCapacity];
+            this.worker = new Thread(this, "Bus_Lane_" + name);
+            this.worker.setDaemon(true);
+            this.queuePerf = new QueuePerformanceData(perfProps, "Bus Lane " + name, laneCapacity, true,
+                    policy == BackpressurePolicy.BLOCK, "messages");
+            this.lagPerf = new LatencyPerformanceData(perfProps, "Bus Lane " + name, lagYellow, lagRed);
+        }
+
+        public void start() {
+            worker.start();
+        }
+
+        /**
+         * Adds a message to the tail of the lane, applying the backpressure
+         * policy if the lane is full.
+         *
+         * @param message
+         *            the message to queue
+         */
+        public void offer(final IMessage message) {
+            lock.lock();
+            try {
+                final boolean mayWait = ON_LANE_THREAD.get() == null;
+
+                while (count == ring.length) {
+                    if (closed) {
+                        return;
+                    }
+
+                    if (policy == BackpressurePolicy.COALESCE) {
+                        final int index = indexOfSuperseded(message);
+                        if (index >= 0) {
+                            removeAt(index);
+                            refill();
+                            coalesced++;
+                            break;
+                        }
+                    }
+
+                    if (policy == BackpressurePolicy.DROP_OLDEST) {
+                        removeAt(0);
+                        refill();
+                        if (dropped++ % WARNING_INTERVAL == 0) {
+                            messageLog.warn("Publication bus lane ", name, " is full; ", dropped,
+                                    " message(s) dropped so far");
+                        }
+                        break;
+                    }
+
+                    if (!mayWait) {
+                        if (overflowed++ % WARNING_INTERVAL == 0) {
+                            messageLog.warn("Publication bus lane ", name, " is full; message of type ",
+                                    message.getType().getSubscriptionTag(),
+                                    " published from a lane thread is held in overflow (", overflow.size() + 1,
+                                    " held, ", overflowed, " so far)");
+                        }
+                        break;
+                    }
+
+                    try {
+                        notFull.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        messageLog.warn("Interrupted while waiting for room in publication bus lane ", name,
+                                "; message of type ", message.getType().getSubscriptionTag(), " discarded");
+                        return;
+                    }
+                }
+
+                if (closed) {
+                    return;
+                }
+
+                final long now = System.nanoTime();
+                if (count < ring.length) {
+                    final int tail = (head + count) % ring.length;
+                    ring[tail] = message;
+                    enqueueTimes[tail] = now;
+                    count++;
+                } else {
+                    overflow.add(new OverflowEntry(message, now));
+                }
+                if (count + overflow.size() > highWater) {
+                    highWater = count + overflow.size();
+                }
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Stops accepting messages and waits, up to the drain timeout, for
+         * messages already queued to be delivered.
+         */
+        public void close() {
+            lock.lock();
+            try {
+                closed = true;
+                notEmpty.signalAll();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            /* A subscriber unsubscribing itself from handleMessage() cannot wait on its own thread */
+            if (Thread.currentThread() == worker) {
+                return;
+            }
+            try {
+                worker.join(drainTimeout);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (worker.isAlive()) {
+                messageLog.warn("Publication bus lane ", name, " did not drain within ", drainTimeout,
+                        " milliseconds");
+            }
+        }
+
+        @Override
+        public void run() {
+            ON_LANE_THREAD.set(Boolean.TRUE);
+            while (true) {
+                final IMessage message;
+                final long enqueueTime;
+
+                lock.lock();
+                try {
+                    while (count == 0 && !closed) {
+                        notEmpty.await();
+                    }
+                    if (count == 0) {
+                        return;
+                    }
+                    message = ring[head];
+                    enqueueTime = enqueueTimes[head];
+                    removeAt(0);
+                    refill();
+                    if (count < ring.length) {
+                        notFull.signal();
+                    }
+                } catch (final InterruptedException e) {
+                    messageLog.debug("Publication bus lane ", name, " interrupted");
+                    return;
+                } finally {
+                    lock.unlock();
+                }
+
+                final long lag = System.nanoTime() - enqueueTime;
+                intervalDelivered.incrementAndGet();
+                intervalLagNanos.addAndGet(lag);
+                intervalMaxLagNanos.accumulateAndGet(lag, Math::max);
+
+                try {
+                    subscriber.handleMessage(message);
+                } catch (final Exception e) {
+                    failures.incrementAndGet();
+                    messageLog.error("Subscriber " + subscriber.getClass().getName()
+                            + " failed to handle message of type " + message.getType().getSubscriptionTag() + ": "
+                            + e.toString(), e);
+                }
+            }
+        }
+
+        /**
+         * Copies the current lane statistics into the performance data
+         * objects and starts a new lag interval.
+         */
+        public void updatePerformance() {
+            lock.lock();
+            try {
+                queuePerf.setCurrentQueueSize(count + overflow.size());
+                queuePerf.setHighWaterMark(highWater);
+                if (coalesced > 0 || dropped > 0 || overflowed > 0) {
+                    messageLog.debug("Publication bus lane ", name, ": ", coalesced, " coalesced, ", dropped,
+                            " dropped, ", overflowed, " overflowed");
+                }
+            } finally {
+                lock.unlock();
+            }
+            lagPerf.setCounters(intervalDelivered.getAndSet(0), 0, failures.get(), intervalLagNanos.getAndSet(0),
+                    intervalMaxLagNanos.getAndSet(0), false);
+        }
+
+        /**
+         * Finds the first message in the ring that the given message
+         * supersedes. Messages held in overflow are not considered. Must be
+         * called with the lock held.
+         */
+        private int indexOfSuperseded(final IMessage message) {
+            final ICoalescingMessage coalescing = message instanceof ICoalescingMessage
+                    ? (ICoalescingMessage) message : null;
+            for (int i = 0; i < count; i++) {
+                final IMessage queued = ring[(head + i) % ring.length];
+                if (queued == message || (coalescing != null && coalescing.supersedes(queued))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Moves messages from the overflow queue to the tail of the ring
+         * while there is room. Must be called with the lock held.
+         */
+        private void refill() {
+            while (count < ring.length && !overflow.isEmpty()) {
+                final OverflowEntry entry = overflow.poll();
+                final int tail = (head + count) % ring.length;
+                ring[tail] = entry.message;
+                enqueueTimes[tail] = entry.enqueueTime;
+                count++;
+            }
+        }
+
+        /**
+         * Removes the element at the given position, counted from the head,
+         * closing the gap so the remaining messages keep their order. Must be
+         * called with the lock held.
+         */
+        private void removeAt(final int index) {
+            if (index == 0) {
+                ring[head] = null;
+                head = (head + 1) % ring.length;
+            } else {
+                for (int i = index; i < count - 1; i++) {
+                    final int to = (head + i) % ring.length;
+                    final int from = (head + i + 1) % ring.length;
+                    ring[to] = ring[from];
+                    enqueueTimes[to] = enqueueTimes[from];
+                }
+                ring[(head + count - 1) % ring.length] = null;
+            }
+            count--;
+        }
+    }
+
+    /**
+     * A message held in a lane's overflow queue, with the time it was queued.
+     */
+    private static class OverflowEntry {
+        private final IMessage message;
+        private final long enqueueTime;
+
+        private OverflowEntry(final IMessage message, final long enqueueTime) {
+            this.message = message;
+            this.enqueueTime = enqueueTime;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.shared.message;
+
+/**
+ * An enumeration of the actions the asynchronous publication bus may take
+ * when a subscriber lane is full and another message arrives for it. None of
+ * the policies reorders the messages that remain in the lane.
+ *
+ */
+public enum BackpressurePolicy {
+    /**
+     * The publisher waits until the subscriber has made room in its lane. No
+     * messages are lost.
+     */
+    BLOCK,
+    /**
+     * The oldest message in the lane is discarded to make room. The publisher
+     * never waits.
+     */
+    DROP_OLDEST,
+    /**
+     * The oldest queued message that the new one supersedes is discarded in
+     * favor of the new one. A message supersedes another if it is an
+     * ICoalescingMessage that says so, such as a newer sample of the same
+     * channel, or if it is the same message. If the lane holds no superseded
+     * message, the publisher waits as for BLOCK.
+     * <p>
+     * Under BLOCK and COALESCE, a publisher that is itself a bus lane thread
+     * never waits. Its message is held in an unbounded overflow queue behind
+     * the lane instead, so nothing is lost.
+     *
+     * @see ICoalescingMessage
+     */
+    COALESCE
+}
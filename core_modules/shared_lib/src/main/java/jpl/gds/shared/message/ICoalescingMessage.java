@@ -0,0 +1,38 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.shared.message;
+
+/**
+ * An interface to be implemented by messages that make earlier messages about
+ * the same subject obsolete, such as a newer sample of the same channel. The
+ * asynchronous publication bus uses it to decide which queued message a new
+ * one may replace under the COALESCE backpressure policy. Messages that do
+ * not implement this interface only replace a queued copy of themselves.
+ *
+ * @see BackpressurePolicy#COALESCE
+ */
+public interface ICoalescingMessage extends IMessage {
+
+    /**
+     * Indicates whether this message makes the given earlier message
+     * obsolete, so that a subscriber that has not yet received the earlier
+     * message need only receive this one.
+     *
+     * @param queued
+     *            an earlier message, of any type
+     * @return true if the earlier message may be discarded in favor of this
+     *         one
+     */
+    public boolean supersedes(IMessage queued);
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.shared.performance;
+
+import jpl.gds.shared.config.PerformanceProperties;
+
+
+/**
+ * A performance data class that represents the execution latency of a unit of
+ * work (an algorithm, a task, a load operation) by supplying invocation,
+ * timeout, and failure counts, along with mean and maximum latency. The
+ * yellow and red boundary values are mean latencies in milliseconds; a value
+ * of 0 disables that health level. Any timeout makes the health at least
+ * YELLOW, and a disabled (quarantined) component is always RED.
+ *
+ */
+public class LatencyPerformanceData extends AbstractPerformanceData implements
+        IPerformanceData {
+
+    /** Constant string representing the component type */
+    public static final String COMPONENT_TYPE = "Latency ";
+
+    /** Number of completed invocations */
+    private long count;
+
+    /** Number of invocations that timed out */
+    private long timeouts;
+
+    /** Number of invocations that failed */
+    private long failures;
+
+    /** Total latency of all completed invocations, nanoseconds */
+    private long totalNanos;
+
+    /** Maximum latency of any completed invocation, nanoseconds */
+    private long maxNanos;
+
+    /** Indicates the component has been disabled */
+    private boolean disabled;
+
+    /**
+     * Constructor.
+     *
+     * @param props
+     *            PerformanceProperties object containing configuration
+     * @param source
+     *            name of the component. The constant COMPONENT_TYPE will be
+     *            prepended.
+     * @param yellow
+     *            mean latency, milliseconds, at which health becomes YELLOW
+     * @param red
+     *            mean latency, milliseconds, at which health becomes RED
+     */
+    public LatencyPerformanceData(final PerformanceProperties props, final String source, final long yellow,
+            final long red) {
+        super(props, COMPONENT_TYPE + source, yellow, red);
+    }
+
+    /**
+     * Sets the current counters and recomputes health status.
+     *
+     * @param count
+     *            number of completed invocations
+     * @param timeouts
+     *            number of invocations that timed out
+     * @param failures
+     *            number of invocations that failed
+     * @param totalNanos
+     *            total latency of completed invocations, nanoseconds
+     * @param maxNanos
+     *            maximum latency of any completed invocation, nanoseconds
+     * @param disabled
+     *            true if the component has been disabled
+     */
+    public void setCounters(final long count, final long timeouts, final long failures, final long totalNanos,
+            final long maxNanos, final boolean disabled) {
+        this.count = count;
+        this.timeouts = timeouts;
+        this.failures = failures;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.disabled = disabled;
+
+        setHealthStatus(HealthStatus.GREEN);
+
+        final long mean = getMeanLatencyMillis();
+        if ((yellowLevel != 0 && mean >= yellowLevel) || timeouts > 0) {
+            setHealthStatus(HealthStatus.YELLOW);
+        }
+        if ((redLevel != 0 && mean >= redLevel) || disabled) {
+            setHealthStatus(HealthStatus.RED);
+        }
+    }
+
+    /**
+     * Gets the number of completed invocations.
+     *
+     * @return invocation count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the number of invocations that timed out.
+     *
+     * @return timeout count
+     */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * Gets the number of invocations that failed.
+     *
+     * @return failure count
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * Gets the mean latency of completed invocations.
+     *
+     * @return mean latency, milliseconds
+     */
+    public long getMeanLatencyMillis() {
+        return count == 0 ? 0 : (totalNanos / count) / 1000000L;
+    }
+
+    /**
+     * Gets the mean latency of completed invocations.
+     *
+     * @return mean latency, microseconds
+     */
+    public long getMeanLatencyMicros() {
+        return count == 0 ? 0 : (totalNanos / count) / 1000L;
+    }
+
+    /**
+     * Gets the maximum latency of any completed invocation.
+     *
+     * @return maximum latency, microseconds
+     */
+    public long getMaxLatencyMicros() {
+        return maxNanos / 1000L;
+    }
+
+    /**
+     * Indicates whether the component has been disabled.
+     *
+     * @return true if disabled, false if not
+     */
+    public boolean isDisabled() {
+        return disabled;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see jpl.gds.shared.performance.IPerformanceData#toLogString()
+     */
+    @Override
+    public String toLogString() {
+        final StringBuilder b = new StringBuilder(getComponentName());
+        b.append(": Health=");
+        b.append(getHealthStatus());
+        b.append(", Count=");
+        b.append(this.count);
+        b.append(", Timeouts=");
+        b.append(this.timeouts);
+        b.append(", Failures=");
+        b.append(this.failures);
+        b.append(", Mean=");
+        b.append(getMeanLatencyMicros());
+        b.append("us, Max=");
+        b.append(getMaxLatencyMicros());
+        b.append("us");
+        if (this.disabled) {
+            b.append(", DISABLED");
+        }
+        return b.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see jpl.gds.shared.performance.IPerformanceData#copy()
+     */
+    @Override
+    public IPerformanceData copy() {
+        final String baseComponentName = getComponentName().substring(COMPONENT_TYPE.length());
+        final LatencyPerformanceData newCopy = new LatencyPerformanceData(properties, baseComponentName,
+                this.yellowLevel, this.redLevel);
+        super.copyMembersTo(newCopy);
+        newCopy.count = this.count;
+        newCopy.timeouts = this.timeouts;
+        newCopy.failures = this.failures;
+        newCopy.totalNanos = this.totalNanos;
+        newCopy.maxNanos = this.maxNanos;
+        newCopy.disabled = this.disabled;
+        return newCopy;
+    }
+}
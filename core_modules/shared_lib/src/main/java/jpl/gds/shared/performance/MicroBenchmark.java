@@ -0,0 +1,145 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.shared.performance;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * MicroBenchmark is a small timing harness for the benchmark classes that sit
+ * next to performance-sensitive code. Each measurement runs the supplied body
+ * for a number of warm-up rounds, so that the JIT has compiled it, and then
+ * for a number of timed rounds. The median round is reported as operations
+ * per second, along with the best and worst rounds.
+ * <p>
+ * The value returned by each round is folded into a volatile field so that
+ * the work cannot be eliminated as dead code.
+ *
+ */
+public class MicroBenchmark {
+
+    /** Default number of warm-up rounds. */
+    public static final int DEFAULT_WARMUP_ROUNDS = 5;
+
+    /** Default number of timed rounds. */
+    public static final int DEFAULT_MEASURED_ROUNDS = 10;
+
+    private final int         warmupRounds;
+    private final int         measuredRounds;
+    private final PrintStream out;
+    private volatile long     sink;
+
+    /**
+     * A benchmark body.
+     */
+    @FunctionalInterface
+    public interface Body {
+        /**
+         * Performs the given number of operations.
+         *
+         * @param operations
+         *            the number of operations to perform
+         * @return any value derived from the work done
+         * @throws Exception
+         *             if the work fails; the measurement is abandoned
+         */
+        long run(long operations) throws Exception;
+    }
+
+    /**
+     * Constructor using the default round counts and standard output.
+     */
+    public MicroBenchmark() {
+        this(DEFAULT_WARMUP_ROUNDS, DEFAULT_MEASURED_ROUNDS, System.out);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param warmupRounds
+     *            number of untimed rounds
+     * @param measuredRounds
+     *            number of timed rounds; must be at least 1
+     * @param out
+     *            stream results are reported to
+     */
+    public MicroBenchmark(final int warmupRounds, final int measuredRounds, final PrintStream out) {
+        if (measuredRounds < 1) {
+            throw new IllegalArgumentException("At least one measured round is required");
+        }
+        this.warmupRounds = warmupRounds;
+        this.measuredRounds = measuredRounds;
+        this.out = out;
+    }
+
+    /**
+     * Measures the given body and reports the result.
+     *
+     * @param name
+     *            name reported for the measurement
+     * @param operations
+     *            number of operations each round performs
+     * @param body
+     *            the work to measure
+     * @return the median throughput, in operations per second
+     * @throws Exception
+     *             if the body fails
+     */
+    public double measure(final String name, final long operations, final Body body) throws Exception {
+        for (int i = 0; i < warmupRounds; i++) {
+            sink += body.run(operations);
+        }
+
+        final long[] elapsed = new long[measuredRounds];
+        for (int i = 0; i < measuredRounds; i++) {
+            final long start = System.nanoTime();
+            sink += body.run(operations);
+            elapsed[i] = Math.max(1, System.nanoTime() - start);
+        }
+        Arrays.sort(elapsed);
+
+        final double median = perSecond(operations, elapsed[measuredRounds / 2]);
+        out.printf("%-48s %,16.0f ops/s  (best %,.0f, worst %,.0f, %d rounds)%n", name, median,
+                   perSecond(operations, elapsed[0]), perSecond(operations, elapsed[measuredRounds - 1]),
+                   measuredRounds);
+        return median;
+    }
+
+    /**
+     * Reports the ratio of two throughputs.
+     *
+     * @param name
+     *            name reported for the comparison
+     * @param candidate
+     *            throughput of the new code path
+     * @param reference
+     *            throughput of the code path it replaces
+     */
+    public void compare(final String name, final double candidate, final double reference) {
+        out.printf("%-48s %16.2fx%n", name, candidate / reference);
+    }
+
+    /**
+     * Gets the value accumulated from all benchmark rounds.
+     *
+     * @return accumulated value
+     */
+    public long getSink() {
+        return sink;
+    }
+
+    private static double perSecond(final long operations, final long nanos) {
+        return operations * 1.0e9 / nanos;
+    }
+}
@@ -113,6 +113,14 @@ public class PerformanceSummaryPublisher {
 		heapPerf = new HeapPerformanceData(perfProperties);
 		pubContext = context.getBean(IMessagePublicationBus.class);
         logger = TraceManager.getTracer(context, Loggers.PERFORMANCE);
+
+        /*
+         * An asynchronous bus reports on its own lanes. It cannot register
+         * itself when created, because this object needs the bus first.
+         */
+        if (pubContext instanceof IPerformanceProvider) {
+            registerProvider((IPerformanceProvider) pubContext);
+        }
 	}
 
 
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.shared.performance;
+
+import jpl.gds.shared.config.PerformanceProperties;
+
+
+/**
+ * A performance data class that represents the throughput of a data source
+ * that works through a known amount of data (such as a replay of telemetry
+ * files) by supplying bytes and files processed against their totals, along
+ * with the current and average data rates. The yellow and red boundary values
+ * are minimum current data rates in bits per second; health becomes YELLOW or
+ * RED when the current rate falls below them. A value of 0 disables that
+ * health level. A source that has completed is always GREEN.
+ *
+ */
+public class ThroughputPerformanceData extends AbstractPerformanceData implements
+        IPerformanceData {
+
+    /** Constant string representing the component type */
+    public static final String COMPONENT_TYPE = "Throughput ";
+
+    private static final double BITS_PER_MEGABIT = 1000000.0;
+
+    /** Number of bytes processed */
+    private long bytes;
+
+    /** Total number of bytes to process */
+    private long totalBytes;
+
+    /** Number of files processed */
+    private long files;
+
+    /** Total number of files to process */
+    private long totalFiles;
+
+    /** Data rate over the last reporting interval, bits per second */
+    private double currentBitRate;
+
+    /** Data rate since processing started, bits per second */
+    private double averageBitRate;
+
+    /** Indicates all data has been processed */
+    private boolean complete;
+
+    /**
+     * Constructor.
+     *
+     * @param props
+     *            PerformanceProperties object containing configuration
+     * @param source
+     *            name of the component. The constant COMPONENT_TYPE will be
+     *            prepended.
+     * @param yellow
+     *            current data rate, bits per second, below which health
+     *            becomes YELLOW
+     * @param red
+     *            current data rate, bits per second, below which health
+     *            becomes RED
+     */
+    public ThroughputPerformanceData(final PerformanceProperties props, final String source, final long yellow,
+            final long red) {
+        super(props, COMPONENT_TYPE + source, yellow, red);
+    }
+
+    /**
+     * Sets the current counters and recomputes health status.
+     *
+     * @param bytes
+     *            number of bytes processed
+     * @param totalBytes
+     *            total number of bytes to process
+     * @param files
+     *            number of files processed
+     * @param totalFiles
+     *            total number of files to process
+     * @param currentBitRate
+     *            data rate over the last reporting interval, bits per second
+     * @param averageBitRate
+     *            data rate since processing started, bits per second
+     */
+    public void setCounters(final long bytes, final long totalBytes, final long files, final long totalFiles,
+            final double currentBitRate, final double averageBitRate) {
+        this.bytes = bytes;
+        this.totalBytes = totalBytes;
+        this.files = files;
+        this.totalFiles = totalFiles;
+        this.currentBitRate = currentBitRate;
+        this.averageBitRate = averageBitRate;
+        this.complete = bytes >= totalBytes;
+
+        setHealthStatus(HealthStatus.GREEN);
+
+        if (this.complete) {
+            return;
+        }
+        if (yellowLevel != 0 && currentBitRate < yellowLevel) {
+            setHealthStatus(HealthStatus.YELLOW);
+        }
+        if (redLevel != 0 && currentBitRate < redLevel) {
+            setHealthStatus(HealthStatus.RED);
+        }
+    }
+
+    /**
+     * Gets the number of bytes processed.
+     *
+     * @return byte count
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Gets the total number of bytes to process.
+     *
+     * @return byte count
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Gets the number of files processed.
+     *
+     * @return file count
+     */
+    public long getFiles() {
+        return files;
+    }
+
+    /**
+     * Gets the total number of files to process.
+     *
+     * @return file count
+     */
+    public long getTotalFiles() {
+        return totalFiles;
+    }
+
+    /**
+     * Gets the data rate over the last reporting interval.
+     *
+     * @return bits per second
+     */
+    public double getCurrentBitRate() {
+        return currentBitRate;
+    }
+
+    /**
+     * Gets the data rate since processing started.
+     *
+     * @return bits per second
+     */
+    public double getAverageBitRate() {
+        return averageBitRate;
+    }
+
+    /**
+     * Gets the percentage of bytes processed.
+     *
+     * @return percent complete, 0 to 100
+     */
+    public long getPercentComplete() {
+        return totalBytes == 0 ? 100 : (bytes * 100) / totalBytes;
+    }
+
+    /**
+     * Indicates whether all data has been processed.
+     *
+     * @return true if complete, false if not
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see jpl.gds.shared.performance.IPerformanceData#toLogString()
+     */
+    @Override
+    public String toLogString() {
+        final StringBuilder b = new StringBuilder(getComponentName());
+        b.append(": Health=");
+        b.append(getHealthStatus());
+        b.append(", Bytes=");
+        b.append(this.bytes);
+        b.append("/");
+        b.append(this.totalBytes);
+        b.append(" (");
+        b.append(getPercentComplete());
+        b.append("%), Files=");
+        b.append(this.files);
+        b.append("/");
+        b.append(this.totalFiles);
+        b.append(", Current=");
+        b.append(String.format("%.3f", this.currentBitRate / BITS_PER_MEGABIT));
+        b.append("Mbps, Average=");
+        b.append(String.format("%.3f", this.averageBitRate / BITS_PER_MEGABIT));
+        b.append("Mbps");
+        if (this.complete) {
+            b.append(", COMPLETE");
+        }
+        return b.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see jpl.gds.shared.performance.IPerformanceData#copy()
+     */
+    @Override
+    public IPerformanceData copy() {
+        final String baseComponentName = getComponentName().substring(COMPONENT_TYPE.length());
+        final ThroughputPerformanceData newCopy = new ThroughputPerformanceData(properties, baseComponentName,
+                this.yellowLevel, this.redLevel);
+        super.copyMembersTo(newCopy);
+        newCopy.bytes = this.bytes;
+        newCopy.totalBytes = this.totalBytes;
+        newCopy.files = this.files;
+        newCopy.totalFiles = this.totalFiles;
+        newCopy.currentBitRate = this.currentBitRate;
+        newCopy.averageBitRate = this.averageBitRate;
+        newCopy.complete = this.complete;
+        return newCopy;
+    }
+}
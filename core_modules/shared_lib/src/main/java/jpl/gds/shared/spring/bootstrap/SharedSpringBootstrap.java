@@ -29,6 +29,7 @@ import jpl.gds.shared.cli.app.ICommandLineApp;
 import jpl.gds.shared.cli.cmdline.AliasingApacheCommandLineParser;
 import jpl.gds.shared.cli.cmdline.ICommandLineParser;
 import jpl.gds.shared.config.PerformanceProperties;
+import jpl.gds.shared.config.PublicationBusProperties;
 import jpl.gds.shared.log.ExternalTraceNotifier;
 import jpl.gds.shared.log.GuiNotifier;
 import jpl.gds.shared.log.Loggers;
@@ -36,6 +37,7 @@ import jpl.gds.shared.log.Slf4jTracer;
 import jpl.gds.shared.log.TraceManager;
 import jpl.gds.shared.log.Tracer;
 import jpl.gds.shared.log.config.LoggingProperties;
+import jpl.gds.shared.message.AsyncPublicationBus;
 import jpl.gds.shared.message.CommonMessageType;
 import jpl.gds.shared.message.GenericPublicationBus;
 import jpl.gds.shared.message.IMessagePublicationBus;
@@ -70,6 +72,11 @@ public class SharedSpringBootstrap {
      */
     public static final String PERFORMANCE_PROPERTIES      = "PERFORMANCE_PROPERTIES";
 
+    /**
+     * Bean name for publication bus properties object.
+     */
+    public static final String PUBLICATION_BUS_PROPERTIES  = "PUBLICATION_BUS_PROPERTIES";
+
     /**
      * Bean name for logging properties
      */
@@ -152,19 +159,45 @@ public class SharedSpringBootstrap {
 
     /**
      * Creates or returns the internal message publication bus bean. The
-     * instance created here has no assigned header context.
+     * instance created here has no assigned header context. The bus is
+     * asynchronous if so configured in the publication bus properties, and
+     * synchronous otherwise.
      * 
      * @param key
      *            the current IContextKey object
+     * @param busProps
+     *            the current PublicationBusProperties object
+     * @param perfProps
+     *            the current PerformanceProperties object
      * 
      * @return IMessagePublicationBus bean
      */
     @Bean(name=PUBLICATION_BUS)
     @Scope("singleton")
     @Lazy(value = true)
-    public IMessagePublicationBus getPublicationBus(final IContextKey key) {
+    public IMessagePublicationBus getPublicationBus(final IContextKey key, final PublicationBusProperties busProps,
+                                                    final PerformanceProperties perfProps) {
+        if (busProps.isAsyncEnabled()) {
+            return new AsyncPublicationBus(key, TraceManager.getTracer(appContext, Loggers.BUS), busProps, perfProps);
+        }
         return new GenericPublicationBus(key, TraceManager.getTracer(appContext, Loggers.BUS));
     } 
+
+    /**
+     * Creates or returns the publication bus properties bean.
+     * When created, the underlying configuration resources are loaded.
+     * 
+     * @param sseFlag
+     *            The SSE context flag
+     *
+     * @return PublicationBusProperties bean
+     */
+    @Bean(name=PUBLICATION_BUS_PROPERTIES)
+    @Scope("singleton")
+    @Lazy(value = true)
+    public PublicationBusProperties getPublicationBusProperties(final SseContextFlag sseFlag) {
+        return new PublicationBusProperties(sseFlag);
+    }
     
     /**
      * Creates or returns the algorithm configuration properties bean.
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.shared.thread;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import jpl.gds.shared.log.Tracer;
+
+/**
+ * OrderedPartitionExecutor runs the processing step of a pipeline stage on
+ * several partition worker threads, then hands the results to a single merge
+ * thread in the order the work was submitted.
+ * <p>
+ * Each piece of work carries a partition key, such as an APID or VCID. All
+ * work with the same key runs on the same worker, one at a time and in
+ * submission order, so a worker may keep per-key state without locking. Work
+ * with different keys may run in parallel. The merge step runs on one thread
+ * in exactly the original submission order, so consumers downstream of the
+ * merge see the same sequence they would if the stage were single-threaded.
+ * <p>
+ * The number of submitted items whose merge step has not yet run is bounded.
+ * When the bound is reached, submit() waits, which pushes back on the
+ * producer.
+ *
+ * @param <R> the type of result passed from the processing step to the merge step
+ */
+public class OrderedPartitionExecutor<R> {
+
+    private final String name;
+    private final Tracer log;
+    private final ExecutorService[] partitions;
+    private final BlockingQueue<PendingItem<R>> pending;
+    private final Thread merger;
+    private volatile boolean shutdown;
+
+    /**
+     * Constructor. Starts the partition and merge threads.
+     *
+     * @param name
+     *            name used for the threads
+     * @param partitionCount
+     *            number of partition worker threads; must be at least 1
+     * @param maxPending
+     *            maximum number of submitted items not yet merged
+     * @param log
+     *            tracer for logging errors from the processing and merge steps
+     */
+    public OrderedPartitionExecutor(final String name, final int partitionCount, final int maxPending,
+            final Tracer log) {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("Partition count must be at least 1");
+        }
+        this.name = name;
+        this.log = log;
+        this.pending = new ArrayBlockingQueue<>(maxPending);
+        this.partitions = new ExecutorService[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            final String threadName = name + "_Partition_" + i;
+            partitions[i] = Executors.newSingleThreadExecutor(r -> {
+                final Thread t = new Thread(r, threadName);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        this.merger = new Thread(this::mergeLoop, name + "_Merge");
+        this.merger.setDaemon(true);
+        this.merger.start();
+    }
+
+    /**
+     * Gets the number of partitions.
+     *
+     * @return partition count
+     */
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    /**
+     * Gets the partition that work with the given key runs on.
+     *
+     * @param key
+     *            partition key
+     * @return partition number, 0 to getPartitionCount() - 1
+     */
+    public int getPartition(final int key) {
+        return Math.floorMod(key, partitions.length);
+    }
+
+    /**
+     * Submits work. The processing step runs on the partition for the key.
+     * The merge step runs later on the merge thread, after the merge steps of
+     * all work submitted before it. If the processing step throws, the error
+     * is logged and the merge step is skipped. Callers that submit from more
+     * than one thread must order those submissions themselves.
+     *
+     * @param key
+     *            partition key
+     * @param process
+     *            processing step
+     * @param merge
+     *            merge step, given the result of the processing step
+     * @throws InterruptedException
+     *             if interrupted while waiting for space
+     * @throws IllegalStateException
+     *             if the executor has been shut down
+     */
+    public void submit(final int key, final Callable<R> process, final Consumer<R> merge)
+            throws InterruptedException {
+        if (shutdown) {
+            throw new IllegalStateException(name + " has been shut down");
+        }
+        final PendingItem<R> item = new PendingItem<>(process, merge);
+        pending.put(item);
+        try {
+            partitions[getPartition(key)].execute(item.task);
+        } catch (final RejectedExecutionException e) {
+            // Shutdown began after the check above. The item is already queued
+            // for the merge thread, so cancel it rather than leave the merge
+            // thread waiting for a result that will never come.
+            item.task.cancel(false);
+            throw new IllegalStateException(name + " has been shut down", e);
+        }
+    }
+
+    /**
+     * Stops accepting work, waits for submitted work to be merged, then stops
+     * the threads.
+     *
+     * @param timeoutMillis
+     *            maximum time to wait for submitted work; 0 waits indefinitely
+     */
+    public void shutdown(final long timeoutMillis) {
+        shutdown = true;
+        for (final ExecutorService partition : partitions) {
+            partition.shutdown();
+        }
+        try {
+            // The sentinel and the join share one deadline, so a full queue
+            // behind a stuck merge cannot hold shutdown past the timeout
+            final PendingItem<R> sentinel = new PendingItem<>(null, null);
+            if (timeoutMillis <= 0) {
+                pending.put(sentinel);
+                merger.join();
+            } else {
+                final long deadline = System.currentTimeMillis() + timeoutMillis;
+                if (pending.offer(sentinel, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    final long remaining = deadline - System.currentTimeMillis();
+                    if (remaining > 0) {
+                        merger.join(remaining);
+                    }
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (merger.isAlive()) {
+            log.warn(name, " did not finish merging submitted work before shutdown; remaining work discarded");
+            merger.interrupt();
+        }
+        for (final ExecutorService partition : partitions) {
+            partition.shutdownNow();
+        }
+    }
+
+    private void mergeLoop() {
+        while (true) {
+            final PendingItem<R> item;
+            try {
+                item = pending.take();
+            } catch (final InterruptedException e) {
+                return;
+            }
+            if (item.task == null) {
+                return;
+            }
+
+            final R result;
+            try {
+                result = item.task.get();
+            } catch (final InterruptedException e) {
+                return;
+            } catch (final ExecutionException e) {
+                log.error(name + " processing failed: " + e.getCause(), e.getCause());
+                continue;
+            } catch (final CancellationException e) {
+                continue;
+            }
+
+            try {
+                item.merge.accept(result);
+            } catch (final RuntimeException e) {
+                log.error(name + " merge failed: " + e, e);
+            }
+        }
+    }
+
+    /**
+     * One submitted item: the processing step, wrapped so the merge thread
+     * can wait for it, and the merge step.
+     */
+    private static class PendingItem<R> {
+        private final FutureTask<R> task;
+        private final Consumer<R> merge;
+
+        private PendingItem(final Callable<R> process, final Consumer<R> merge) {
+            this.task = process == null ? null : new FutureTask<>(process);
+            this.merge = merge;
+        }
+    }
+}
@@ -0,0 +1,379 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.shared.time;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import jpl.gds.shared.performance.MicroBenchmark;
+import jpl.gds.shared.time.SclkFmt.SclkFormatter;
+
+/**
+ * SclkScetBenchmark compares the indexed SCLK/SCET converter with the lookup
+ * it replaces, which scanned the correlation table from the start for every
+ * time and interpolated with BigDecimal. A correlation table is generated and
+ * written to a temporary correlation file, which the converter loads in the
+ * usual way; the reference reads the same entries.
+ * <p>
+ * Before timing, every input time is converted both ways and the results are
+ * required to agree: SCLKs to within one fine tick and SCETs to within a
+ * microsecond, or a millisecond when SCETs are not kept to extended precision.
+ * The check is repeated with two entries of the table swapped, which the
+ * converter loads with a warning and searches in file order, as before.
+ * <p>
+ * Usage: SclkScetBenchmark [table-entries [conversions-per-round]]
+ *
+ */
+public final class SclkScetBenchmark {
+
+    private static final int  DEFAULT_ENTRIES     = 500;
+    private static final int  DEFAULT_CONVERSIONS = 1_000_000;
+    private static final int  DISTINCT_TIMES      = 4096;
+    private static final long FIRST_SCET          = 946727935816L;
+
+    private static final long MICRO_NANOS = 1_000L;
+    private static final long MILLI_NANOS = 1_000_000L;
+
+    private SclkScetBenchmark() {
+        // main only
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            optional number of correlation entries and number of
+     *            conversions per round
+     * @throws Exception
+     *             if the correlation file cannot be written or loaded
+     */
+    public static void main(final String[] args) throws Exception {
+        final int entries = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ENTRIES;
+        final long conversions = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_CONVERSIONS;
+
+        final Random random = new Random(42);
+        final String[] lines = generateTable(entries, random);
+
+        final SclkScetConverter converter = load(lines);
+        final LinearConverter reference = new LinearConverter(lines);
+
+        /* Inputs span the table and a little either side of it, in time order as they usually arrive. */
+        final long lastCoarse = reference.sclk[entries - 1].getCoarse();
+        final long fineModulus = new Sclk(0L).getFineUpperLimit() + 1L;
+        final ISclk[] sclks = new ISclk[DISTINCT_TIMES];
+        final IAccurateDateTime[] scets = new IAccurateDateTime[DISTINCT_TIMES];
+        for (int i = 0; i < DISTINCT_TIMES; i++) {
+            final long coarse = (long) ((random.nextDouble() * 1.1 - 0.05) * lastCoarse);
+            sclks[i] = new Sclk(Math.max(coarse, 0L), (long) (random.nextDouble() * fineModulus));
+        }
+        Arrays.sort(sclks);
+        for (int i = 0; i < DISTINCT_TIMES; i++) {
+            scets[i] = reference.toScet(sclks[i]);
+        }
+
+        check("ordered table", converter, reference, sclks, scets);
+
+        final String[] swapped = lines.clone();
+        final int middle = entries / 2;
+        swapped[middle] = lines[middle + 1];
+        swapped[middle + 1] = lines[middle];
+        check("unordered table", load(swapped), new LinearConverter(swapped), sclks, scets);
+
+        final MicroBenchmark bench = new MicroBenchmark();
+
+        final double linearScet = bench.measure("SCLK to SCET, linear scan", conversions, n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += reference.toScet(sclks[(int) (i % DISTINCT_TIMES)]).getTime();
+            }
+            return sum;
+        });
+        final double indexedScet = bench.measure("SCLK to SCET, indexed", conversions, n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += converter.to_scet(sclks[(int) (i % DISTINCT_TIMES)], null).getTime();
+            }
+            return sum;
+        });
+        final double batchScet = bench.measure("SCLK to SCET, indexed batch", conversions, n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i += DISTINCT_TIMES) {
+                sum += converter.to_scet(sclks)[0].getTime();
+            }
+            return sum;
+        });
+        bench.compare("SCLK to SCET speedup", indexedScet, linearScet);
+        bench.compare("SCLK to SCET batch speedup", batchScet, linearScet);
+
+        final double linearSclk = bench.measure("SCET to SCLK, linear scan", conversions, n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += reference.toSclk(scets[(int) (i % DISTINCT_TIMES)]).getCoarse();
+            }
+            return sum;
+        });
+        final double indexedSclk = bench.measure("SCET to SCLK, indexed", conversions, n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += converter.to_sclk(scets[(int) (i % DISTINCT_TIMES)], null).getCoarse();
+            }
+            return sum;
+        });
+        final double batchSclk = bench.measure("SCET to SCLK, indexed batch", conversions, n -> {
+            long sum = 0;
+            for (long i = 0; i < n; i += DISTINCT_TIMES) {
+                sum += converter.to_sclk(scets)[0].getCoarse();
+            }
+            return sum;
+        });
+        bench.compare("SCET to SCLK speedup", indexedSclk, linearSclk);
+        bench.compare("SCET to SCLK batch speedup", batchSclk, linearSclk);
+    }
+
+    /**
+     * Generates correlation entries with segments of random length and rates
+     * close to one, formatted as correlation file data lines.
+     */
+    private static String[] generateTable(final int entries, final Random random) {
+        final SimpleDateFormat format = new SimpleDateFormat("yyyy-DDD'T'HH:mm:ss.SSS");
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+
+        final String[] lines = new String[entries];
+        long coarse = 0L;
+        long scet = FIRST_SCET;
+        for (int i = 0; i < entries; i++) {
+            final double rate = 1.0 + (random.nextDouble() - 0.5) * 1.0e-4;
+            lines[i] = String.format(" %15d.000    %s 64.184  %.9f", coarse, format.format(new Date(scet)), rate);
+            final long length = 1000L + random.nextInt(100_000);
+            coarse += length;
+            scet += Math.round(length * rate * 1000.0);
+        }
+        return lines;
+    }
+
+    /**
+     * Writes the given entries to a temporary correlation file and loads it.
+     */
+    private static SclkScetConverter load(final String[] lines) throws IOException {
+        final File file = File.createTempFile("sclkscet", ".benchmark");
+        file.deleteOnExit();
+        try (PrintWriter out = new PrintWriter(file, "US-ASCII")) {
+            out.println("CCSD3ZS00001$$sclk$$NJPL3KS0L015$$scet$$");
+            out.println("MISSION_NAME=BENCHMARK;");
+            out.println("SPACECRAFT_ID=0;");
+            out.println("CCSD3RE00000$$scet$$NJPL3IS00613$$data$$");
+            out.println("*____SCLK0_____    ________SCET0________ _DUT__ __SCLKRATE__");
+            for (final String line : lines) {
+                out.println(line);
+            }
+        }
+        final SclkScetConverter converter = SclkScetConverter.createConverter(file.getPath());
+        if (converter == null) {
+            throw new IllegalStateException("Could not load generated correlation file " + file);
+        }
+        return converter;
+    }
+
+    private static void check(final String table, final SclkScetConverter converter, final LinearConverter reference,
+            final ISclk[] sclks, final IAccurateDateTime[] scets) {
+        final boolean extended = (TimeProperties.getInstance().getScetPrecision() > 3)
+                && TimeProperties.getInstance().useExtendedScet();
+        final long scetTolerance = extended ? MICRO_NANOS : MILLI_NANOS;
+
+        final IAccurateDateTime[] batchScets = converter.to_scet(sclks);
+        final ISclk[] batchSclks = converter.to_sclk(scets);
+        for (int i = 0; i < DISTINCT_TIMES; i++) {
+            final IAccurateDateTime expectedScet = reference.toScet(sclks[i]);
+            checkScet(table, sclks[i], converter.to_scet(sclks[i], null), expectedScet, scetTolerance);
+            checkScet(table, sclks[i], batchScets[i], expectedScet, scetTolerance);
+
+            final ISclk expectedSclk = reference.toSclk(scets[i]);
+            checkSclk(table, scets[i], converter.to_sclk(scets[i], null), expectedSclk);
+            checkSclk(table, scets[i], batchSclks[i], expectedSclk);
+        }
+        System.out.println("Accuracy check passed for " + DISTINCT_TIMES + " times each way, " + table);
+    }
+
+    private static void checkScet(final String table, final ISclk sclk, final IAccurateDateTime actual,
+            final IAccurateDateTime expected, final long tolerance) {
+        final long difference = (actual.getTime() - expected.getTime()) * MILLI_NANOS
+                + (actual.getNanoseconds() - expected.getNanoseconds());
+        if (Math.abs(difference) > tolerance) {
+            throw new IllegalStateException(table + ": SCET mismatch for SCLK " + sclk + ": " + actual + " != "
+                    + expected + " (" + difference + " ns)");
+        }
+    }
+
+    private static void checkSclk(final String table, final IAccurateDateTime scet, final ISclk actual,
+            final ISclk expected) {
+        final long modulus = expected.getFineUpperLimit() + 1L;
+        final long difference = (actual.getCoarse() - expected.getCoarse()) * modulus
+                + (actual.getFine() - expected.getFine());
+        if (Math.abs(difference) > 1L) {
+            throw new IllegalStateException(table + ": SCLK mismatch for SCET " + scet + ": " + actual + " != "
+                    + expected + " (" + difference + " ticks)");
+        }
+    }
+
+    /**
+     * The previous conversions: the table is scanned in order for the first
+     * entry past the input time, and SCET to SCLK offsets are computed with
+     * BigDecimal.
+     */
+    private static final class LinearConverter {
+        private static final BigDecimal  HALF      = BigDecimal.valueOf(0.5D);
+        private static final MathContext CONTEXT   = MathContext.DECIMAL128;
+        private static final BigInteger  MILLION_I = BigInteger.valueOf(1_000_000L);
+        private static final BigDecimal  MILLION_D = BigDecimal.valueOf(1_000_000L);
+
+        private static final boolean SCET_PRECISION_EXTENDED = TimeProperties.getInstance().getScetPrecision() > 3;
+        private static final boolean USE_EXTENDED_SCET       = TimeProperties.getInstance().useExtendedScet();
+
+        private final ISclk[]             sclk;
+        private final IAccurateDateTime[] scet;
+        private final double[]            sclkRate;
+
+        private LinearConverter(final String[] lines) throws ParseException {
+            final SclkFormatter sclkFmt = TimeProperties.getInstance().getSclkFormatter();
+            sclk = new ISclk[lines.length];
+            scet = new IAccurateDateTime[lines.length];
+            sclkRate = new double[lines.length];
+            for (int i = 0; i < lines.length; i++) {
+                final String[] fields = lines[i].trim().split("\\s+");
+                sclk[i] = sclkFmt.valueOf(fields[0]);
+                scet[i] = new AccurateDateTime(fields[1]);
+                sclkRate[i] = Double.parseDouble(fields[3]);
+            }
+        }
+
+        private ISclk toSclk(final IAccurateDateTime input) {
+            int ind = 0;
+            for (ind = 0; ind < scet.length; ++ind) {
+                if (input.compareTo(scet[ind]) < 0) {
+                    break;
+                }
+            }
+
+            ISclk result = null;
+            if (ind == 0) {
+                final BigDecimal scetSecsBefore = scet[0].asFractionalSeconds()
+                        .subtract(input.asFractionalSeconds(), CONTEXT);
+                final BigDecimal timeToSubtract = scetSecsBefore.divide(BigDecimal.valueOf(sclkRate[0]), CONTEXT);
+
+                result = new Sclk(sclk[0]);
+                final long FULP1 = result.getFineUpperLimit() + 1L;
+                final BigDecimal[] split = timeToSubtract.divideAndRemainder(BigDecimal.ONE, CONTEXT);
+                final long coarseToSubtract = split[0].longValue();
+                final long fineToSubtract = split[1].multiply(BigDecimal.valueOf(FULP1), CONTEXT)
+                        .add(HALF, CONTEXT).longValue();
+
+                if (fineToSubtract < FULP1) {
+                    result = result.decrement(coarseToSubtract, fineToSubtract);
+                }
+                else {
+                    result = result.decrement(coarseToSubtract + 1L, fineToSubtract - FULP1);
+                }
+            }
+            else {
+                final int base = ind - 1;
+                BigDecimal timeToAdd = BigDecimal.ZERO;
+
+                if (ind == scet.length) {
+                    final BigDecimal scetSecsPast = input.asFractionalSeconds()
+                            .subtract(scet[base].asFractionalSeconds(), CONTEXT);
+                    timeToAdd = scetSecsPast.divide(BigDecimal.valueOf(sclkRate[base]), CONTEXT);
+                }
+                else {
+                    final BigDecimal scetBinWidth = scet[ind].asFractionalSeconds()
+                            .subtract(scet[base].asFractionalSeconds(), CONTEXT);
+                    final BigDecimal scetDifference = input.asFractionalSeconds()
+                            .subtract(scet[base].asFractionalSeconds(), CONTEXT);
+                    final BigDecimal ratio = scetDifference.divide(scetBinWidth, CONTEXT);
+                    final BigDecimal sclkBinWidth = BigDecimal
+                            .valueOf(sclk[ind].getFloatingPointTime() - sclk[base].getFloatingPointTime());
+                    timeToAdd = ratio.multiply(sclkBinWidth, CONTEXT);
+                }
+
+                result = new Sclk(sclk[base]);
+                final long FULP1 = result.getFineUpperLimit() + 1L;
+                final BigDecimal[] split = timeToAdd.divideAndRemainder(BigDecimal.ONE, CONTEXT);
+                final long coarseToAdd = split[0].longValue();
+                final long fineToAdd = split[1].multiply(BigDecimal.valueOf(FULP1), CONTEXT)
+                        .add(HALF, CONTEXT).longValue();
+
+                if (fineToAdd < FULP1) {
+                    result = result.increment(coarseToAdd, fineToAdd);
+                }
+                else {
+                    result = result.increment(coarseToAdd + 1L, fineToAdd - FULP1);
+                }
+            }
+            return result;
+        }
+
+        private IAccurateDateTime toScet(final ICoarseFineTime input) {
+            int ind = 0;
+            for (ind = 0; ind < sclk.length; ++ind) {
+                if (input.compareTo(sclk[ind]) < 0) {
+                    break;
+                }
+            }
+
+            if (ind == 0) {
+                final double sclkSecsBefore = sclk[0].getFloatingPointTime() - input.getFloatingPointTime();
+                final double msecsToSubtract = (sclkSecsBefore * sclkRate[0]) * 1000.0D;
+                return interpolatedScet(scet[0], -msecsToSubtract);
+            }
+
+            final int base = ind - 1;
+            double msecsToAdd = 0.0D;
+            if (ind == sclk.length) {
+                final double sclkSecsPast = input.getFloatingPointTime() - sclk[base].getFloatingPointTime();
+                msecsToAdd = (sclkSecsPast * sclkRate[base]) * 1000.0D;
+            }
+            else {
+                final double sclkBinWidth = sclk[ind].getFloatingPointTime() - sclk[base].getFloatingPointTime();
+                final double sclkDifference = input.getFloatingPointTime() - sclk[base].getFloatingPointTime();
+                final double scetBinWidth = scet[ind].getTime() - scet[base].getTime();
+                msecsToAdd = (sclkDifference / sclkBinWidth) * scetBinWidth;
+            }
+            return interpolatedScet(scet[base], msecsToAdd);
+        }
+
+        private static IAccurateDateTime interpolatedScet(final IAccurateDateTime base, final double msecsOffset) {
+            if (!SCET_PRECISION_EXTENDED || !USE_EXTENDED_SCET) {
+                return new AccurateDateTime(StrictMath.round(base.getTime() + msecsOffset));
+            }
+
+            final BigInteger bigScet = BigInteger.valueOf(base.getTime()).multiply(MILLION_I)
+                    .add(BigInteger.valueOf(base.getNanoseconds()));
+            final BigDecimal bigOffset = BigDecimal.valueOf(msecsOffset).multiply(MILLION_D, CONTEXT);
+            final BigInteger bigNanoseconds = bigOffset.add(new BigDecimal(bigScet), CONTEXT).add(HALF, CONTEXT)
+                    .toBigInteger();
+
+            return new AccurateDateTime(bigNanoseconds.divide(MILLION_I).longValue(),
+                    bigNanoseconds.mod(MILLION_I).longValue());
+        }
+    }
+}
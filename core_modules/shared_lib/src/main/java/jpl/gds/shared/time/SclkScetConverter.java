@@ -19,14 +19,18 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.LineNumberReader;
 import java.io.Serializable;
-import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.math.MathContext;
+import java.lang.ref.WeakReference;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import jpl.gds.shared.config.GdsSystemProperties;
 import jpl.gds.shared.exceptions.ExceptionTools;
@@ -47,8 +51,19 @@ import jpl.gds.shared.time.SclkFmt.SclkFormatter;
  *
  * NOTE: Assuming SCLK Rate has units of seconds per tick
  *
- * Some spots as marked with WRONG so we don't miss them when we remove double later.
+ * The correlation table is indexed when it is loaded: the SCLK and SCET of every entry are held as integer
+ * coarse/fine ticks and integer nanoseconds, and the entry for a time is found by binary search. Absolute times
+ * are only ever handled as longs; floating point is used only for offsets within a correlation segment, which
+ * keeps SCETs to nanosecond accuracy. The batch conversion methods also reuse the segment of the previous
+ * time, so monotonic input is converted without searching.
  *
+ * The correlation file is checked for changes at the interval configured in the time properties by a shared
+ * background thread, never by the converting thread. A changed file is reloaded once its size and modification
+ * time have stayed the same for a whole check interval, so a file that is still being written is not loaded.
+ * A reload replaces the whole table at once, so a conversion always uses either the old or the new correlation.
+ * A table whose SCLKs and SCETs are not strictly ascending is loaded with a warning when the converter is
+ * created, and is then searched linearly in file order as it always was; such a table found on reload is rejected
+ * and the previous correlation stays in use.
  *
  */
 @SuppressWarnings("serial")
@@ -76,18 +91,11 @@ public class SclkScetConverter implements Serializable {
     /** Spacecraft ID */
     public final String            SPACECRAFT_ID            = "SPACECRAFT_ID";
 
-    private static final BigDecimal  MILLION_D = BigDecimal.valueOf(1_000_000L);
-    private static final BigInteger  MILLION_I = BigInteger.valueOf(1_000_000L);
-    private static final BigDecimal  HALF      = BigDecimal.valueOf(0.5D);
-    private static final MathContext CONTEXT   = MathContext.DECIMAL128;
+    private static final long   NANOS_PER_MILLI  = 1_000_000L;
+    private static final double NANOS_PER_SECOND = 1.0E9;
 
-    /**
-     * Map containing SCLK/SCET File header data (version info, mission, etc.).
-     */
-    private final Map<String, String>    metadata;
-
-    /** The table of entries for this sclk/scet correlation */
-    private SclkScetEntry[]        table;
+    /** The loaded correlation; replaced as a whole when the file is reloaded */
+    private volatile Correlation   correlation;
 
     private String                filename;
 
@@ -96,15 +104,24 @@ public class SclkScetConverter implements Serializable {
     private static final boolean SCET_PRECISION_EXTENDED = TimeProperties.getInstance().getScetPrecision() > 3;
     private static final boolean USE_EXTENDED_SCET       = TimeProperties.getInstance().useExtendedScet();
 
+    /** Interval between checks of the correlation file for changes, milliseconds; 0 for none */
+    private final long reloadCheckInterval = TimeProperties.getInstance().getSclkScetReloadCheckInterval();
+
+    private long          fileLastModified;
+    private long          fileLength;
+    /** Size and modification time of a changed file that has not yet been seen to be stable */
+    private long          pendingLastModified;
+    private long          pendingLength;
+    private transient Tracer log;
+
 
     /**
      * Creates an instance of SclkScetConverter.
      */
     private SclkScetConverter()
     {
-        this.table = null;
+        this.correlation = new Correlation(new SclkScetEntry[0], new HashMap<String, String>(11));
         this.filename = null;
-        this.metadata = new HashMap<>(11);
     }
 
     /**
@@ -130,19 +147,20 @@ public class SclkScetConverter implements Serializable {
 
         final SclkScetConverter converter = new SclkScetConverter();
         try {
-            if (!converter.parseCorrelationFile(filename, log)) {
+            if (!converter.parseCorrelationFile(filename, log, false)) {
                 return (null);
             }
         }
         catch (final Exception e) {
             log.error("Unexpected extention parsing sclk/scet file ", ExceptionTools.getMessage(e), e);
         }
+        converter.startReloadChecks();
 
         // Validate the expected and actual spacecraft ID values. Warn the user if they're different.
-        if(scid != Integer.parseInt(converter.metadata.get("SPACECRAFT_ID"))){
+        if(scid != Integer.parseInt(converter.getMetaValue("SPACECRAFT_ID"))){
             log.warn(Markers.TIME_CORR,
                     "Given Spacecraft ID and value in SCLK/SCET file do not match: Expected: " + scid
-                    + " in file: " + converter.metadata.get("SPACECRAFT_ID"));
+                    + " in file: " + converter.getMetaValue("SPACECRAFT_ID"));
         }
 
         return (converter);
@@ -180,9 +198,10 @@ public class SclkScetConverter implements Serializable {
         }
 
         final SclkScetConverter converter = new SclkScetConverter();
-        if (!converter.parseCorrelationFile(filename, TraceManager.getDefaultTracer())) {
+        if (!converter.parseCorrelationFile(filename, TraceManager.getDefaultTracer(), false)) {
             return (null);
         }
+        converter.startReloadChecks();
 
         return (converter);
     }
@@ -194,10 +213,10 @@ public class SclkScetConverter implements Serializable {
      * NB: We do not care about the SCET extended precision mode here.
      * We just take the nanoseconds as is.
      *
-     * NB: Be careful with rounding! That is why below we use
-     * divideAndRemainder instead of breaking the integer and fractional
-     * parts out independently. Also, after the fine is converted to a
-     * count from a fraction we check for overflow and adjust the coarse.
+     * NB: Be careful with rounding! The offset from the correlation entry is
+     * split into whole and fractional seconds before the fraction is converted
+     * to a fine count. After the fine is rounded we check for overflow and
+     * adjust the coarse.
      *
      * @param scet
      *            The SCET time to convert
@@ -216,7 +235,9 @@ public class SclkScetConverter implements Serializable {
             throw new IllegalArgumentException("Null input SCET");
         }
 
-        if ((table == null) || (table.length == 0))
+        final Correlation c = correlation;
+
+        if (c.size == 0)
         {
             // TODO check if this is backwards compatible
             return new Sclk(true);
@@ -226,168 +247,54 @@ public class SclkScetConverter implements Serializable {
         // if sclk resets can occur must use ert to
         // find appropriate entry
 
-        int ind = 0;
-
-        for (ind = 0; ind < table.length; ++ind)
-        {
-            if (scet.compareTo(table[ind].getScet()) < 0)
-            {
-                break;
-            }
-        }
-
-        // At this point, "ind" is pointing to the entry that is directly past where the
-        // SCET falls in the table...meaning the input SCET is between table[ind-1] and table[ind]
-        // Except that ind may point past the table.
-
-        ISclk sclk = null;
-
-        final SclkScetEntry sse0 = ((ind < table.length) ? table[ind] : null);
-
-        if (ind == 0)
-        {
-            //input SCET is before first table entry
-
-            //Assume that SCET0 represents the first row of the table
-            //Assume that SCLK_RATE has units of seconds/sclk_ticks
-            //Assume that SCET is the user input SCET value and SCLK is the value we're trying to find
-
-            //SCET0-SCET (divide by 1000 because getTime() returns milliseconds)
-            // double scet_secs_before = (sse0.getScet().getTime() - scet.getTime()) / 1000.0;
-            final BigDecimal scet_secs_before =
-                sse0.getScet().asFractionalSeconds().subtract(scet.asFractionalSeconds(), CONTEXT);
-
-            //(SCET0-SCET) * (1/SCLK_RATE)
-            // double time_to_subtract = scet_secs_before / sse0.getSclkRate();
-            final BigDecimal time_to_subtract =
-                scet_secs_before.divide(BigDecimal.valueOf(sse0.getSclkRate()), CONTEXT);
-
-            //create a SCLK from the first table entry and then decrement it by the
-            //amount of seconds it will be before that entry
-            sclk = new Sclk(sse0.getSclk());
-
-            final long FULP1 = sclk.getFineUpperLimit() + 1L;
-
-            //the coarse is equal to the part of the result before the decimal point
-            // long coarse_to_subtract = (long) Math.floor(time_to_subtract);
-
-            //the fine is equal to the part of the result after the decimal point
-            //translated onto the fine scale (fines are usually 1/256 secs or 1/65536 secs)
-            // double secs_to_subtract = time_to_subtract % 1;
-
-            // int fine_to_subtract = (int) Math.round(secs_to_subtract * FULP1);
+        final long scetNanos = toNanos(scet);
 
-            final BigDecimal[] split = time_to_subtract.divideAndRemainder(BigDecimal.ONE, CONTEXT);
+        return c.toSclk(c.findScet(scetNanos), scetNanos);
+    }
 
-            final long coarse_to_subtract = split[0].longValue();
-            final long fine_to_subtract   =
-                split[1].multiply(BigDecimal.valueOf(FULP1), CONTEXT).add(HALF, CONTEXT).longValue();
+    /**
+     * Converts an array of SCET times to SCLK times. SCLK resets are assumed
+     * not to occur. The conversion is fastest when the times are in order.
+     *
+     * @param scets
+     *            The SCET times to convert
+     *
+     * @return The SCLK times corresponding to the SCET inputs, in the same order
+     */
+    public ISclk[] to_sclk(final IAccurateDateTime[] scets)
+    {
+        final Correlation c = correlation;
+        final ISclk[] sclks = new ISclk[scets.length];
 
-            // Check for overflow from fine
-            if (fine_to_subtract < FULP1)
-            {
-                sclk = sclk.decrement(coarse_to_subtract, fine_to_subtract);
-            }
-            else
-            {
-                sclk = sclk.decrement(coarse_to_subtract + 1L, fine_to_subtract - FULP1);
-            }
-        }
-        else
+        int ind = -1;
+        for (int i = 0; i < scets.length; ++i)
         {
-            final SclkScetEntry sse1 = table[ind - 1];
-
-            BigDecimal time_to_add = BigDecimal.ZERO;
-
-            if (ind == table.length)
+            if (scets[i] == null)
             {
-                //input SCET is past the last table entry
-
-                //Assume that SCET0 represents the last row of the table
-                //Assume that SCLK_RATE has units of seconds/sclk_ticks
-                //Assume that SCET is the user input SCET value and SCLK is the value we're trying to find
-
-                //SCET-SCET0 (divide by 1000 because getTime() returns milliseconds)
-                // double scet_secs_past = (scet.getTime() - sse1.getScet().getTime()) / 1000.0;
-                final BigDecimal scet_secs_past =
-                    scet.asFractionalSeconds().subtract(sse1.getScet().asFractionalSeconds(), CONTEXT);
-
-                //(SCET-SCET0) * (1/SCLK_RATE)
-                // time_to_add = scet_secs_past / sse1.getSclkRate();
-                time_to_add = scet_secs_past.divide(BigDecimal.valueOf(sse1.getSclkRate()), CONTEXT);
+                throw new IllegalArgumentException("Null input SCET");
             }
-            else
+            if (c.size == 0)
             {
-                //input SCET is between two table entries
-
-                //Assume that SCLK0 and SCET0 represent the lower bound row
-                //Assume that SCLK1 and SCET1 represent the upper bound row
-                //Assume that SCET is the user input SCET value and SCLK is the value we're trying to find
-
-                //SCET1 - SCET0
-                // double scet_bin_width = sse0.getScet().getTime() - sse1.getScet().getTime();
-                final BigDecimal scet_bin_width =
-                    sse0.getScet().asFractionalSeconds().subtract(sse1.getScet().asFractionalSeconds(), CONTEXT);
-
-                //SCET - SCET0
-                // double scet_difference = scet.getTime() - sse1.getScet().getTime();
-                final BigDecimal scet_difference =
-                    scet.asFractionalSeconds().subtract(sse1.getScet().asFractionalSeconds(), CONTEXT);
-
-                //(SCET - SCET0)/(SCET1-SCET0)
-                // double ratio_percentage = scet_difference / scet_bin_width;
-                final BigDecimal ratio_percentage = scet_difference.divide(scet_bin_width, CONTEXT);
-
-                //SCLK1 - SCLK0
-                // double sclk_bin_width = sse0.getSclk().getFloatingPointTime() - sse1.getSclk().getFloatingPointTime();
-                final BigDecimal sclk_bin_width =
-                    BigDecimal.valueOf(sse0.getSclk().getFloatingPointTime() - sse1.getSclk().getFloatingPointTime());
-
-                //SCLK = ((SCET-SCET0)/(SCET1-SCET0)) * (SCLK1-SCLK0)
-                // time_to_add = (ratio_percentage * sclk_bin_width);
-                time_to_add = ratio_percentage.multiply(sclk_bin_width, CONTEXT);
+                sclks[i] = new Sclk(true);
+                continue;
             }
 
-            //create a SCLK from the last table entry that occurred before the input SCET
-            sclk = new Sclk(sse1.getSclk());
-
-            final long FULP1 = sclk.getFineUpperLimit() + 1L;
-
-            //the coarse is equal to the part of the result before the decimal point
-            // long coarse_to_add = (long) Math.floor(time_to_add);
-
-            //the fine is equal to the part of the result after the decimal point
-            //translated onto the fine scale (fines are usually 1/256 secs or 1/65536 secs)
-            // double msecs_to_add = time_to_add % 1;
-
-            // int fine_to_add = (int) Math.round(msecs_to_add * (sclk.getFineUpperLimit() + 1));
+            final long scetNanos = toNanos(scets[i]);
 
-            final BigDecimal[] split = time_to_add.divideAndRemainder(BigDecimal.ONE, CONTEXT);
-
-            final long coarse_to_add = split[0].longValue();
-            final long fine_to_add   =
-                split[1].multiply(BigDecimal.valueOf(FULP1), CONTEXT).add(HALF, CONTEXT).longValue();
-
-            // Check for overflow from fine
-            if (fine_to_add < FULP1)
-            {
-                sclk = sclk.increment(coarse_to_add, fine_to_add);
-            }
-            else
+            // Reuse the previous segment if the time is still in it
+            if (ind < 0 || !c.isScetInSegment(ind, scetNanos))
             {
-                sclk = sclk.increment(coarse_to_add + 1L, fine_to_add - FULP1);
+                ind = c.findScet(scetNanos);
             }
+            sclks[i] = c.toSclk(ind, scetNanos);
         }
-
-        return sclk;
+        return sclks;
     }
 
 
     /**
      * Convert the given SCLK time to a SCET time.
      *
-     * WRONG! Cannot use double!
-     *
      * @param sclk
      *            The SCLK time to convert
      *
@@ -405,7 +312,9 @@ public class SclkScetConverter implements Serializable {
             throw new IllegalArgumentException("Null input SCLK");
         }
 
-        if ((table == null) || (table.length == 0))
+        final Correlation c = correlation;
+
+        if (c.size == 0)
         {
             return new AccurateDateTime(sclk.getCoarse());
         }
@@ -414,93 +323,45 @@ public class SclkScetConverter implements Serializable {
         // if sclk resets can occur must use ert to
         // find appropriate entry
 
-        // find the table entry just past the input time
+        return c.toScet(c.findSclk(sclk), sclk);
+    }
 
-        int ind = 0;
+    /**
+     * Converts an array of SCLK times to SCET times. SCLK resets are assumed
+     * not to occur. The conversion is fastest when the times are in order.
+     *
+     * @param sclks
+     *            The SCLK times to convert
+     *
+     * @return The SCET times corresponding to the SCLK inputs, in the same order
+     */
+    public IAccurateDateTime[] to_scet(final ICoarseFineTime[] sclks)
+    {
+        final Correlation c = correlation;
+        final IAccurateDateTime[] scets = new IAccurateDateTime[sclks.length];
 
-        for (ind = 0; ind < table.length; ++ind)
+        int ind = -1;
+        for (int i = 0; i < sclks.length; ++i)
         {
-            if (sclk.compareTo(table[ind].getSclk()) < 0)
+            final ICoarseFineTime sclk = sclks[i];
+            if (sclk == null)
             {
-                break;
+                throw new IllegalArgumentException("Null input SCLK");
             }
-        }
-
-        // At this point, "ind" is pointing to the entry that is directly past where the
-        // SCLK falls in the table...meaning the input SCLK is between table[ind-1] and table[ind]
-        // except may point past the table.
-
-        IAccurateDateTime scet = null;
-
-        final SclkScetEntry sse0 = ((ind < table.length) ? table[ind] : null);
-
-        if (ind == 0)
-        {
-            //input SCLK is before the first table entry
-
-            //Assume that SCLK0 represents the first row of the table
-            //Assume that SCLK_RATE has units of seconds/sclk_ticks
-            //Assume that SCLK is the user input SCLK value and SCET is the value we're trying to find
-
-            //SCLK0 - SCLK
-            final double sclk_secs_before = sse0.getSclk().getFloatingPointTime() - sclk.getFloatingPointTime();
-
-            //((SCLK0-SCLK)*SCLK_RATE)*1000 (multiply by 1000 to get milliseconds)
-            final double msecs_to_subtract = (sclk_secs_before * sse0.getSclkRate()) * 1000.0D;
-
-            //create a SCET from the first table entry and then decrement it by the
-            //amount of seconds it will be before that entry
-            scet = interpolatedScet(sse0.getScet(), - msecs_to_subtract);
-        }
-        else
-        {
-            double msecs_to_add = 0.0D;
-
-            final SclkScetEntry sse1 = table[ind - 1];
-
-            if (ind == table.length)
+            if (c.size == 0)
             {
-                //input SCLK is past the last table entry
-
-                //Assume that SCLK0 represents the last row of the table
-                //Assume that SCLK_RATE has units of seconds/sclk_ticks
-                //Assume that SCLK is the user input SCLK value and SCET is the value we're trying to find
-
-                //SCLK-SCLK0
-                final double sclk_secs_past = sclk.getFloatingPointTime() - sse1.getSclk().getFloatingPointTime();
-
-                //((SCLK-SCLK0) * SCLK_RATE) * 1000 (we multiply by 1000 to turn seconds into milliseconds)
-                msecs_to_add = (sclk_secs_past * sse1.getSclkRate()) * 1000.0D;
+                scets[i] = new AccurateDateTime(sclk.getCoarse());
+                continue;
             }
-            else
-            {
-                //input SCLK is between two table entries
-
-                //Assume that SCLK0 and SCET0 represent the lower bound row
-                //Assume that SCLK1 and SCET1 represent the upper bound row
-                //Assume that SCLK is the user input SCLK value and SCET is the value we're trying to find
-
-                //SCLK1 - SCLK0
-                final double sclk_bin_width = sse0.getSclk().getFloatingPointTime() - sse1.getSclk().getFloatingPointTime();
-
-                //SCLK - SCLK0
-                final double sclk_difference = sclk.getFloatingPointTime() - sse1.getSclk().getFloatingPointTime();
-
-                //(SCLK-SCLK0)/(SCLK1-SCLK0)
-                final double ratio = sclk_difference / sclk_bin_width;
 
-                //SCET1 - SCET0
-                final double scet_bin_width = sse0.getScet().getTime() - sse1.getScet().getTime();
-
-                //((SCLK-SCLK0)/(SCLK1-SCLK0))*(SCET1-SCET0)
-                msecs_to_add = ratio * scet_bin_width;
+            // Reuse the previous segment if the time is still in it
+            if (ind < 0 || !c.isSclkInSegment(ind, sclk))
+            {
+                ind = c.findSclk(sclk);
             }
-
-            //create a SCET from the beginning of the bin and add the milliseconds based on the ratio to it
-            scet = interpolatedScet(sse1.getScet(), msecs_to_add);
+            scets[i] = c.toScet(ind, sclk);
         }
-
-        return scet;
+        return scets;
     }
 
 
@@ -510,16 +371,25 @@ public class SclkScetConverter implements Serializable {
      *
      * @param correlationFilePath
      *            The path to the sclk/scet correlation file
+     * @param log
+     *            The tracer to log to
+     * @param reload
+     *            True if this is a reload of a file that was already loaded; a table that is out of order is
+     *            then rejected rather than used
      *
      * @return True if the correlation was parsed successfully, false otherwise (if false is returned, this object cannot be counted
      *         on to do conversions properly)
      */
-    private boolean parseCorrelationFile(final String correlationFilePath, final Tracer log) {
+    private boolean parseCorrelationFile(final String correlationFilePath, final Tracer log, final boolean reload) {
         if (correlationFilePath == null) {
             throw new IllegalArgumentException("Null input correlation file path");
         }
 
+        final File correlationFile = new File(correlationFilePath);
+        final long lastModified = correlationFile.lastModified();
+        final long length = correlationFile.length();
         final ArrayList<SclkScetEntry> entry = new ArrayList<SclkScetEntry>(64);
+        final Map<String, String> metadata = new HashMap<>(11);
         ISclk sclk = null;
         IAccurateDateTime scet = null;
         double dup = 60.0;
@@ -527,7 +397,7 @@ public class SclkScetConverter implements Serializable {
         LineNumberReader lnr = null;
 
         try {
-            lnr = new LineNumberReader(new FileReader(new File(correlationFilePath)));
+            lnr = new LineNumberReader(new FileReader(correlationFile));
         }
         catch (final FileNotFoundException e) {
             log.error(Markers.TIME_CORR, "Can't open SCLK/SCET file " + correlationFilePath);
@@ -626,13 +496,26 @@ public class SclkScetConverter implements Serializable {
             e.printStackTrace();
         }
 
-        //populate the local entry table
-        table = new SclkScetEntry[entry.size()];
-        for (int i = 0; i < entry.size(); i++) {
-            table[i] = entry.get(i);
+        //populate and index the local entry table
+        final Correlation loaded = new Correlation(entry.toArray(new SclkScetEntry[entry.size()]), metadata);
+        final int unordered = loaded.findUnordered();
+        if (unordered >= 0) {
+            if (reload) {
+                log.error(Markers.TIME_CORR, "SCLK/SCET file " + FileUtility.createFilePathLogMessage(correlationFilePath)
+                        + " is not in strictly ascending SCLK and SCET order at entry " + (unordered + 1)
+                        + "; it cannot be used");
+                return (false);
+            }
+            log.warn(Markers.TIME_CORR, "SCLK/SCET file " + FileUtility.createFilePathLogMessage(correlationFilePath)
+                    + " is not in strictly ascending SCLK and SCET order at entry " + (unordered + 1)
+                    + "; entries will be searched in file order, which is slower");
         }
+        this.correlation = loaded;
 
         this.filename = correlationFilePath;
+        this.fileLastModified = lastModified;
+        this.fileLength = length;
+        this.log = log;
 
         // Add log statement for SCLK/SCET file loading
         log.info(Markers.TIME_CORR, "Successfully loaded " + this);
@@ -640,12 +523,107 @@ public class SclkScetConverter implements Serializable {
         return (true);
     }
 
+    /**
+     * Reloads the correlation file if it has been modified since it was last
+     * loaded and has not changed since the previous call. A file that is seen
+     * to have changed is therefore reloaded on the following call, if it has
+     * not changed again in between. If the modified file cannot be parsed, the
+     * current correlation remains in use. Called periodically by the reload
+     * thread.
+     *
+     * @return true if the correlation was reloaded
+     */
+    public synchronized boolean reloadIfModified() {
+        if (filename == null) {
+            return false;
+        }
+
+        final File file = new File(filename);
+        final long lastModified = file.lastModified();
+        final long length = file.length();
+        if (lastModified == 0L || (lastModified == fileLastModified && length == fileLength)) {
+            return false;
+        }
+        if (lastModified != pendingLastModified || length != pendingLength) {
+            // May still be being written; wait until it has been left alone for a check interval
+            pendingLastModified = lastModified;
+            pendingLength = length;
+            return false;
+        }
+
+        final Tracer tracer = (log != null) ? log : TraceManager.getDefaultTracer();
+        tracer.info(Markers.TIME_CORR, "SCLK/SCET file " + FileUtility.createFilePathLogMessage(filename)
+                + " has changed; reloading");
+
+        if (!parseCorrelationFile(filename, tracer, true)) {
+            // Do not retry until the file changes again
+            fileLastModified = lastModified;
+            fileLength = length;
+            tracer.error(Markers.TIME_CORR, "Reload of SCLK/SCET file " + FileUtility.createFilePathLogMessage(filename)
+                    + " failed; continuing with the previously loaded correlation");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Starts checking the correlation file for changes on the reload thread,
+     * if reloading is enabled.
+     */
+    private void startReloadChecks() {
+        if (reloadCheckInterval > 0L && filename != null) {
+            new ReloadTask(this).schedule(reloadCheckInterval);
+        }
+    }
+
+    /**
+     * Periodic check of one converter's correlation file. Holds the converter
+     * weakly, and cancels itself once the converter has been discarded.
+     */
+    private static final class ReloadTask implements Runnable {
+        /** Shared by all converters; daemon, so it does not hold up exit */
+        private static final ScheduledExecutorService RELOADER = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("SCLK/SCET Reloader").setDaemon(true).build());
+
+        private final WeakReference<SclkScetConverter> converter;
+        private volatile ScheduledFuture<?>            future;
+
+        private ReloadTask(final SclkScetConverter converter) {
+            this.converter = new WeakReference<>(converter);
+        }
+
+        private void schedule(final long interval) {
+            future = RELOADER.scheduleWithFixedDelay(this, interval, interval, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void run() {
+            final SclkScetConverter c = converter.get();
+            if (c == null) {
+                final ScheduledFuture<?> f = future;
+                if (f != null) {
+                    f.cancel(false);
+                }
+                return;
+            }
+            try {
+                c.reloadIfModified();
+            }
+            catch (final Exception e) {
+                // Keep checking; an exception would cancel the schedule
+                TraceManager.getDefaultTracer().error(Markers.TIME_CORR, "Unexpected error checking SCLK/SCET file "
+                        + c.filename + " for changes: " + ExceptionTools.getMessage(e), e);
+            }
+        }
+    }
+
 
     /**
      *
      * @return an array of Strings representing all metadata tags found in SCLK/SCET file.
      */
     public String[] getMetaTags() {
+        final Map<String, String> metadata = correlation.metadata;
         return metadata.keySet().toArray(new String[metadata.size()]);
     }
 
@@ -656,11 +634,12 @@ public class SclkScetConverter implements Serializable {
      * @return the value of the metadata tag specified, or null if tag does not exist.
      */
     public String getMetaValue(final String tag) {
-        return metadata.get(tag);
+        return correlation.metadata.get(tag);
     }
 
     @Override
     public String toString() {
+        final Map<String, String> metadata = correlation.metadata;
         return "SCLK/SCET file: " + FileUtility.createFilePathLogMessage(this.filename) + " (Version: " + metadata.get(PRODUCT_VERSION_ID) + ": MISSION: " + metadata.get(MISSION_NAME) + ", SCID=" + metadata.get(SPACECRAFT_ID)
                 + " [VALID TIME RANGE: " + metadata.get(APPLICABLE_START_TIME) + " -- " + metadata.get(APPLICABLE_STOP_TIME) + "])";
     }
@@ -678,11 +657,10 @@ public class SclkScetConverter implements Serializable {
             throw new IllegalArgumentException("Null input SCLK");
         }
 
-        int ind = 0;
-        double dut = 0.0;
+        final Correlation c = correlation;
 
-        if ((table == null) || (table.length == 0)) {
-            return (dut);
+        if (c.size == 0) {
+            return (0.0);
         }
 
         // this method assume no sclk resets
@@ -690,75 +668,378 @@ public class SclkScetConverter implements Serializable {
         // find appropriate entry
 
         //find the table entry just past the input time
-        for (ind = 0; ind < table.length; ++ind) {
-            if (iSclk.compareTo(table[ind].getSclk()) < 0) {
-                break;
-            }
-        }
-
-        //At this point, "ind" is pointing to the entry that is directly past where the
-        //SCLK falls in the table...meaning the input SCLK is between table[ind-1] and table[ind]
+        final int ind = c.findSclk(iSclk);
 
         //input SCLK is before the first table entry
         if (ind == 0) {
-            dut = table[0].getDup();
+            return c.dut[0];
         }
         //input SCLK is past the last table entry or between two table entries
-        else {
-            dut = table[ind - 1].getDup();
-        }
-
-        return dut;
+        return c.dut[ind - 1];
     }
 
 
     /**
-     * Compute modified SCET by adding offset.
-     *
-     * WRONG! msecsOffset should not be a double.
-     *
-     * NB: Note that we round only once, which takes care of any
-     * fractional nanoseconds. Once we have the whole thing as
-     * an integer count of nanoseconds we can split the parts out
-     * without fear of any more rounding.
+     * Gets a SCET as a count of nanoseconds.
      *
      * NB: Remember that IAccurateDateTime nanoseconds are NOT a
      * full count of nanoseconds; they do not hold the milliseconds.
      *
-     * @param scet        Current SCET
-     * @param msecsOffset Fractional offset in milliseconds
+     * @param scet SCET
+     *
+     * @return Nanoseconds since the epoch
+     */
+    private static long toNanos(final IAccurateDateTime scet)
+    {
+        return scet.getTime() * NANOS_PER_MILLI + scet.getNanoseconds();
+    }
+
+
+    /**
+     * Create a SCLK offset from a correlation entry.
      *
-     * @return Modified SCET
+     * @param base    The SCLK of the correlation entry
+     * @param seconds Offset in SCLK seconds; not negative
+     * @param add     True to add the offset, false to subtract it
      *
+     * @return Offset SCLK
      */
-    private static IAccurateDateTime interpolatedScet(final IAccurateDateTime scet,
-                                                     final double           msecsOffset)
+    private static ISclk offsetSclk(final ISclk base, final double seconds, final boolean add)
     {
-        if (! SCET_PRECISION_EXTENDED || ! USE_EXTENDED_SCET)
+        final ISclk sclk = new Sclk(base);
+
+        final long FULP1 = sclk.getFineUpperLimit() + 1L;
+
+        //the coarse is equal to the part of the result before the decimal point
+        final long coarse = (long) seconds;
+
+        //the fine is equal to the part of the result after the decimal point
+        //translated onto the fine scale (fines are usually 1/256 secs or 1/65536 secs)
+        final long fine = (long) (((seconds - coarse) * FULP1) + 0.5D);
+
+        // Check for overflow from fine
+        if (fine < FULP1)
+        {
+            return add ? sclk.increment(coarse, fine) : sclk.decrement(coarse, fine);
+        }
+        return add ? sclk.increment(coarse + 1L, fine - FULP1) : sclk.decrement(coarse + 1L, fine - FULP1);
+    }
+
+
+    /**
+     * An indexed SCLK/SCET correlation table. Not modified once built.
+     *
+     * Entry i and entry i + 1 bound correlation segment i. The SCLK of each entry is held as coarse ticks,
+     * fine ticks and fine modulus, and the SCET as nanoseconds since the epoch, so that lookups compare
+     * integers. The widths of each segment are precomputed for interpolation.
+     *
+     */
+    private static final class Correlation implements Serializable {
+        private final SclkScetEntry[]     entries;
+        private final Map<String, String> metadata;
+        private final int                 size;
+
+        private final long[]   coarse;
+        private final long[]   fine;
+        private final long[]   fineModulus;
+        private final long[]   scetMillis;
+        private final long[]   scetNanos;
+        private final double[] sclkRate;
+        private final double[] dut;
+
+        /** SCLK width of each segment, in SCLK seconds */
+        private final double[] sclkWidth;
+        /** SCET width of each segment, in nanoseconds */
+        private final long[]   scetWidth;
+
+        /** True if the entries are strictly ascending, so that they may be binary searched */
+        private final boolean  ordered;
+
+        private Correlation(final SclkScetEntry[] entries, final Map<String, String> metadata)
+        {
+            this.entries = entries;
+            this.metadata = metadata;
+            this.size = entries.length;
+
+            coarse = new long[size];
+            fine = new long[size];
+            fineModulus = new long[size];
+            scetMillis = new long[size];
+            scetNanos = new long[size];
+            sclkRate = new double[size];
+            dut = new double[size];
+            sclkWidth = new double[Math.max(size - 1, 0)];
+            scetWidth = new long[Math.max(size - 1, 0)];
+
+            for (int i = 0; i < size; ++i)
+            {
+                final ISclk sclk = entries[i].getSclk();
+                final IAccurateDateTime scet = entries[i].getScet();
+
+                coarse[i] = sclk.getCoarse();
+                fine[i] = sclk.getFine();
+                fineModulus[i] = sclk.getFineUpperLimit() + 1L;
+                scetMillis[i] = scet.getTime();
+                scetNanos[i] = toNanos(scet);
+                sclkRate[i] = entries[i].getSclkRate();
+                dut[i] = entries[i].getDup();
+            }
+
+            for (int i = 0; i < size - 1; ++i)
+            {
+                sclkWidth[i] = sclkOffset(i, coarse[i + 1], fine[i + 1], fineModulus[i + 1]);
+                scetWidth[i] = scetNanos[i + 1] - scetNanos[i];
+            }
+
+            ordered = (findUnordered() < 0);
+        }
+
+        /**
+         * Finds the first entry that is not strictly later than its predecessor in both SCLK and SCET. The
+         * lookups can only binary search a table that has no such entry.
+         *
+         * @return index of the entry, or -1 if the table is strictly ascending
+         */
+        private int findUnordered()
         {
-            // WRONG! Cannot fit in double!
-            return new AccurateDateTime(StrictMath.round(scet.getTime() + msecsOffset));
+            for (int i = 1; i < size; ++i)
+            {
+                if (compareSclk(coarse[i], fine[i], fineModulus[i], i - 1) <= 0 || scetNanos[i] <= scetNanos[i - 1])
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Gets the offset of a SCLK from an entry, in SCLK seconds. The coarse difference is taken exactly,
+         * so only the offset itself is subject to floating point rounding.
+         */
+        private double sclkOffset(final int i, final long c, final long f, final long m)
+        {
+            return (c - coarse[i]) + (((double) f / m) - ((double) fine[i] / fineModulus[i]));
+        }
+
+        /**
+         * Compares a SCLK to the SCLK of an entry, the same way as CoarseFineTime.compareTo().
+         */
+        private int compareSclk(final long c, final long f, final long m, final int i)
+        {
+            if (c < coarse[i])
+            {
+                return -1;
+            }
+            if (c > coarse[i])
+            {
+                return 1;
+            }
+            if (m == fineModulus[i])
+            {
+                return Long.compare(f, fine[i]);
+            }
+            return Long.compareUnsigned((c * m + f) * fineModulus[i], (coarse[i] * fineModulus[i] + fine[i]) * m);
         }
 
-        // Compute result as an integer in nanoseconds, then split without more rounding.
+        /**
+         * Finds the first entry whose SCLK is later than the given SCLK. The SCLK falls between entries
+         * ind - 1 and ind, or before the table if 0 is returned, or past it if the table size is returned.
+         * An unordered table is searched in file order.
+         */
+        private int findSclk(final ICoarseFineTime sclk)
+        {
+            final long c = sclk.getCoarse();
+            final long f = sclk.getFine();
+            final long m = sclk.getFineUpperLimit() + 1L;
 
-        // Form SCET as a count in nanoseconds.
-        final BigInteger bigScet =
-            BigInteger.valueOf(scet.getTime()).multiply(MILLION_I).add(BigInteger.valueOf(scet.getNanoseconds()));
+            if (!ordered)
+            {
+                int ind = 0;
+                while ((ind < size) && (compareSclk(c, f, m, ind) >= 0))
+                {
+                    ++ind;
+                }
+                return ind;
+            }
 
-        // Form offset as fractional nanoseconds.
-        final BigDecimal bigOffset = BigDecimal.valueOf(msecsOffset).multiply(MILLION_D, CONTEXT);
+            int low = 0;
+            int high = size;
+            while (low < high)
+            {
+                final int mid = (low + high) >>> 1;
+                if (compareSclk(c, f, m, mid) < 0)
+                {
+                    high = mid;
+                }
+                else
+                {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
 
-        // The new SCET is the sum.
-        final BigDecimal bigResult = bigOffset.add(new BigDecimal(bigScet), CONTEXT);
+        /**
+         * Checks whether a SCLK falls in the segment that findSclk() would return the given index for.
+         * Never true for an unordered table, which has to be searched.
+         */
+        private boolean isSclkInSegment(final int ind, final ICoarseFineTime sclk)
+        {
+            if (!ordered)
+            {
+                return false;
+            }
 
-        // Extract as an integer count of nanoseconds, rounding.
-        final BigInteger bigNanoseconds = bigResult.add(HALF, CONTEXT).toBigInteger();
+            final long c = sclk.getCoarse();
+            final long f = sclk.getFine();
+            final long m = sclk.getFineUpperLimit() + 1L;
 
-        final BigInteger msecs = bigNanoseconds.divide(MILLION_I);
-        final BigInteger nanos = bigNanoseconds.mod(MILLION_I);
+            return ((ind == 0) || (compareSclk(c, f, m, ind - 1) >= 0))
+                    && ((ind == size) || (compareSclk(c, f, m, ind) < 0));
+        }
 
-        return new AccurateDateTime(msecs.longValue(), nanos.longValue());
+        /**
+         * Finds the first entry whose SCET is later than the given SCET. The SCET falls between entries
+         * ind - 1 and ind, or before the table if 0 is returned, or past it if the table size is returned.
+         * An unordered table is searched in file order.
+         */
+        private int findScet(final long nanos)
+        {
+            if (!ordered)
+            {
+                int ind = 0;
+                while ((ind < size) && (nanos >= scetNanos[ind]))
+                {
+                    ++ind;
+                }
+                return ind;
+            }
+
+            int low = 0;
+            int high = size;
+            while (low < high)
+            {
+                final int mid = (low + high) >>> 1;
+                if (nanos < scetNanos[mid])
+                {
+                    high = mid;
+                }
+                else
+                {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Checks whether a SCET falls in the segment that findScet() would return the given index for.
+         * Never true for an unordered table, which has to be searched.
+         */
+        private boolean isScetInSegment(final int ind, final long nanos)
+        {
+            return ordered && ((ind == 0) || (nanos >= scetNanos[ind - 1]))
+                    && ((ind == size) || (nanos < scetNanos[ind]));
+        }
+
+        /**
+         * Converts a SCLK to SCET given the index returned by findSclk().
+         */
+        private IAccurateDateTime toScet(final int ind, final ICoarseFineTime sclk)
+        {
+            // Before the table, extrapolate back from the first entry; otherwise work from the entry
+            // at or before the SCLK.
+            final int base = (ind == 0) ? 0 : ind - 1;
+
+            //SCLK - SCLK0
+            final double sclkSecs =
+                sclkOffset(base, sclk.getCoarse(), sclk.getFine(), sclk.getFineUpperLimit() + 1L);
+
+            final double nanosToAdd;
+
+            if ((ind == 0) || (ind == size))
+            {
+                //input SCLK is before the first or past the last table entry
+
+                //(SCLK-SCLK0) * SCLK_RATE (in nanoseconds)
+                nanosToAdd = sclkSecs * sclkRate[base] * NANOS_PER_SECOND;
+            }
+            else
+            {
+                //input SCLK is between two table entries
+
+                //((SCLK-SCLK0)/(SCLK1-SCLK0))*(SCET1-SCET0)
+                nanosToAdd = (sclkSecs / sclkWidth[base]) * scetWidth[base];
+            }
+
+            return interpolatedScet(base, nanosToAdd);
+        }
+
+        /**
+         * Converts a SCET, as nanoseconds, to SCLK given the index returned by findScet().
+         */
+        private ISclk toSclk(final int ind, final long nanos)
+        {
+            if (ind == 0)
+            {
+                //input SCET is before first table entry
+
+                //(SCET0-SCET) * (1/SCLK_RATE)
+                final double secsToSubtract = ((scetNanos[0] - nanos) / NANOS_PER_SECOND) / sclkRate[0];
+
+                //create a SCLK from the first table entry and then decrement it by the
+                //amount of seconds it will be before that entry
+                return offsetSclk(entries[0].getSclk(), secsToSubtract, false);
+            }
+
+            final int base = ind - 1;
+            final double secsToAdd;
+
+            if (ind == size)
+            {
+                //input SCET is past the last table entry
+
+                //(SCET-SCET0) * (1/SCLK_RATE)
+                secsToAdd = ((nanos - scetNanos[base]) / NANOS_PER_SECOND) / sclkRate[base];
+            }
+            else
+            {
+                //input SCET is between two table entries
+
+                //((SCET-SCET0)/(SCET1-SCET0)) * (SCLK1-SCLK0)
+                secsToAdd = ((double) (nanos - scetNanos[base]) / scetWidth[base]) * sclkWidth[base];
+            }
+
+            //create a SCLK from the last table entry that occurred before the input SCET
+            return offsetSclk(entries[base].getSclk(), secsToAdd, true);
+        }
+
+        /**
+         * Compute modified SCET by adding offset to the SCET of an entry.
+         *
+         * NB: Note that we round only once, which takes care of any
+         * fractional nanoseconds. Once we have the whole thing as
+         * an integer count of nanoseconds we can split the parts out
+         * without fear of any more rounding.
+         *
+         * @param base        Entry index
+         * @param nanosOffset Fractional offset in nanoseconds
+         *
+         * @return Modified SCET
+         *
+         */
+        private IAccurateDateTime interpolatedScet(final int base, final double nanosOffset)
+        {
+            if (! SCET_PRECISION_EXTENDED || ! USE_EXTENDED_SCET)
+            {
+                return new AccurateDateTime(scetMillis[base] + Math.round(nanosOffset / NANOS_PER_MILLI));
+            }
+
+            // Compute result as an integer in nanoseconds, then split without more rounding.
+            final long nanos = scetNanos[base] + Math.round(nanosOffset);
+
+            return new AccurateDateTime(Math.floorDiv(nanos, NANOS_PER_MILLI), Math.floorMod(nanos, NANOS_PER_MILLI));
+        }
     }
 
 
@@ -767,7 +1048,7 @@ public class SclkScetConverter implements Serializable {
      *
      *
      */
-    private class SclkScetEntry implements Serializable {
+    private static class SclkScetEntry implements Serializable {
         /** The SCLK time */
         private ISclk               sclk;
 
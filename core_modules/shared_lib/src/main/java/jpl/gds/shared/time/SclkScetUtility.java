@@ -141,6 +141,62 @@ public class SclkScetUtility
         return (converter.to_scet(sclk, ert));
     }
 
+    /**
+     * Get SCET times from an array of SCLK times for the given spacecraft.
+     * SCLK resets are assumed not to occur. Conversion is fastest when the
+     * SCLKs are in time order.
+     *
+     * @param sclks
+     *            The SCLK times to convert
+     * @param scid
+     *            The ID of the spacecraft whose correlation table should be used
+     * @param log
+     *            The Tracer to log with
+     *
+     * @return The SCET times corresponding to the input SCLKs, in the same order,
+     *         or null if the correlation file could not be found
+     */
+    public static IAccurateDateTime[] getScets(final ICoarseFineTime[] sclks, final int scid, final Tracer log) {
+        if (sclks == null) {
+            throw new IllegalArgumentException("Null input SCLK array");
+        }
+
+        final SclkScetConverter converter = getConverterFromSpacecraftId(scid, log);
+        if (converter == null) {
+            return null;
+        }
+
+        return (converter.to_scet(sclks));
+    }
+
+    /**
+     * Get SCLK times from an array of SCET times for the given spacecraft.
+     * SCLK resets are assumed not to occur. Conversion is fastest when the
+     * SCETs are in time order.
+     *
+     * @param scets
+     *            The SCET times to convert
+     * @param scid
+     *            The ID of the spacecraft whose correlation table should be used
+     * @param log
+     *            The Tracer to log with
+     *
+     * @return The SCLK times corresponding to the input SCETs, in the same order,
+     *         or null if the correlation file could not be found
+     */
+    public static ISclk[] getSclks(final IAccurateDateTime[] scets, final int scid, final Tracer log) {
+        if (scets == null) {
+            throw new IllegalArgumentException("Null input SCET array");
+        }
+
+        final SclkScetConverter converter = getConverterFromSpacecraftId(scid, log);
+        if (converter == null) {
+            return null;
+        }
+
+        return (converter.to_sclk(scets));
+    }
+
 
 	/**
 	 * Given a spacecraft ID, get the associated SclkScetConverter object.  If the object has already
@@ -98,6 +98,9 @@ public class TimeProperties extends GdsHierarchicalProperties {
 	private static final String SCET_PRECISION_KEY = DATE_BLOCK + "scetPrecision";
 	private static final String USE_EXTENDED_SCET_KEY = DATE_BLOCK + "useExtendedScetPrecision";
 	
+	private static final String SCLK_SCET_BLOCK = PROPERTY_PREFIX + "sclkScet.";
+	private static final String SCLK_SCET_RELOAD_INTERVAL_KEY = SCLK_SCET_BLOCK + "reloadCheckInterval";
+
 	private static final String LST_BLOCK = DATE_BLOCK + "localSolarTime.";
 	private static final String LST_ENABLE_KEY = LST_BLOCK + "enable";
 	private static final String LST_PREFIX_KEY = LST_BLOCK + "lstPrefix";
@@ -124,6 +127,7 @@ public class TimeProperties extends GdsHierarchicalProperties {
     private boolean useDoyOutputFormat;
     private final int ertPrecision;
     private final int scetPrecision;
+    private final long sclkScetReloadInterval;
     
 	/**
 	 * Create a TimeProperties instance, which will load and process
@@ -141,6 +145,7 @@ public class TimeProperties extends GdsHierarchicalProperties {
 		useDoyOutputFormat = getBooleanProperty(USE_DOY_FMT_KEY, true);
 		ertPrecision = getIntProperty(ERT_PRECISION_KEY, 3);
 		scetPrecision = getIntProperty(SCET_PRECISION_KEY, 3);
+		sclkScetReloadInterval = Math.max(getLongProperty(SCLK_SCET_RELOAD_INTERVAL_KEY, 10000L), 0L);
 	}
 	
 	private void processGpsTimes() {
@@ -435,6 +440,16 @@ public class TimeProperties extends GdsHierarchicalProperties {
 	public int getScetPrecision() {
 	    return scetPrecision;
 	}
+
+    /**
+     * Get the interval at which SCLK/SCET correlation files are checked for
+     * changes and reloaded.
+     *
+     * @return interval in milliseconds; 0 if files are never reloaded
+     */
+	public long getSclkScetReloadCheckInterval() {
+	    return sclkScetReloadInterval;
+	}
 	
 
     /**
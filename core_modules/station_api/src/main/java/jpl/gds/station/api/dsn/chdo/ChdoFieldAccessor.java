@@ -0,0 +1,209 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.station.api.dsn.chdo;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import jpl.gds.shared.time.IAccurateDateTime;
+import jpl.gds.shared.time.ISclk;
+
+/**
+ * A CHDO field name resolved against a CHDO configuration. Holds the type of
+ * every CHDO that defines the field along with the field's definition in that
+ * CHDO, so reading the field from an SFDU only needs the offsets of the CHDOs
+ * present in it rather than a search of their definitions by name.
+ * <p>
+ * Instances are immutable and are created and cached by the CHDO configuration,
+ * see IChdoConfiguration.getFieldAccessor(String). They remain tied to the
+ * definitions of that configuration and must be obtained again if it is
+ * re-parsed.
+ *
+ */
+public final class ChdoFieldAccessor {
+
+    private final String fieldName;
+    private final int[] chdoTypes;
+    private final IChdoFieldDefinition[] fieldDefs;
+    private final IChdoFieldDefinition[] extendedResolutionDefs;
+    private final IChdoFieldDefinition[] extResUnitsDefs;
+
+    private ChdoFieldAccessor(final String fieldName, final Map<Integer, IChdoDefinition> definitions) {
+        this.fieldName = fieldName;
+        this.chdoTypes = new int[definitions.size()];
+        this.fieldDefs = new IChdoFieldDefinition[definitions.size()];
+        this.extendedResolutionDefs = new IChdoFieldDefinition[definitions.size()];
+        this.extResUnitsDefs = new IChdoFieldDefinition[definitions.size()];
+
+        int i = 0;
+        for (final Map.Entry<Integer, IChdoDefinition> entry : definitions.entrySet()) {
+            final IChdoDefinition definition = entry.getValue();
+            this.chdoTypes[i] = entry.getKey().intValue();
+            this.fieldDefs[i] = definition.getFieldDefinitionByName(fieldName);
+            this.extendedResolutionDefs[i] = definition.getFieldDefinitionByName(fieldName
+                    + IChdoSfdu.EXTENDED_RESOLUTION_SUFFIX);
+            this.extResUnitsDefs[i] = definition.getFieldDefinitionByName(fieldName
+                    + IChdoSfdu.EXT_RES_UNITS_SUFFIX);
+            i++;
+        }
+    }
+
+    /**
+     * Resolves a field name against the CHDO definitions of a configuration.
+     *
+     * @param config the CHDO configuration
+     * @param fieldName name of the CHDO field
+     * @return the resolved accessor; never null, but defines no CHDO types if no
+     *         CHDO in the configuration has the field
+     */
+    public static ChdoFieldAccessor resolve(final IChdoConfiguration config, final String fieldName) {
+        if (fieldName == null) {
+            throw new IllegalArgumentException("Null CHDO field name");
+        }
+
+        final Map<Integer, IChdoDefinition> definitions = new TreeMap<>();
+        for (final Map.Entry<Integer, IChdoDefinition> entry : config.getTypeToDefinitionMap().entrySet()) {
+            if (entry.getValue().getFieldDefinitionByName(fieldName) != null) {
+                definitions.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return new ChdoFieldAccessor(fieldName, definitions);
+    }
+
+    /**
+     * Gets the name of the CHDO field.
+     *
+     * @return field name
+     */
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Indicates whether any CHDO in the configuration defines the field.
+     *
+     * @return true if the field is defined, false if not
+     */
+    public boolean isDefined() {
+        return chdoTypes.length != 0;
+    }
+
+    /**
+     * Gets the index of the given CHDO type among the types that define the
+     * field. The index is passed to the other methods of this class.
+     *
+     * @param chdoType CHDO type number
+     * @return index of the CHDO type, or -1 if that CHDO does not define the field
+     */
+    public int indexOf(final int chdoType) {
+        for (int i = 0; i < chdoTypes.length; i++) {
+            if (chdoTypes[i] == chdoType) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the field definition in the CHDO at the given index.
+     *
+     * @param index CHDO index, from indexOf(int)
+     * @return field definition
+     */
+    public IChdoFieldDefinition getFieldDefinition(final int index) {
+        return fieldDefs[index];
+    }
+
+    /**
+     * Gets the value of the field as an array of bytes.
+     *
+     * @param index CHDO index, from indexOf(int)
+     * @param data byte array holding the CHDO
+     * @param chdoOffset offset of the first byte of the CHDO in data
+     * @return byte array containing the extracted field value
+     */
+    public byte[] getByteArray(final int index, final byte[] data, final int chdoOffset) {
+        return IChdoSfdu.getFieldValueAsByteArray(data, chdoOffset, fieldDefs[index]);
+    }
+
+    /**
+     * Gets the value of the field as an unsigned integer.
+     *
+     * @param index CHDO index, from indexOf(int)
+     * @param data byte array holding the CHDO
+     * @param chdoOffset offset of the first byte of the CHDO in data
+     * @return value of the field
+     */
+    public Long getUnsignedInt(final int index, final byte[] data, final int chdoOffset) {
+        return IChdoSfdu.getFieldValueAsUnsignedInt(data, chdoOffset, fieldDefs[index]);
+    }
+
+    /**
+     * Gets the value of the field as a signed integer.
+     *
+     * @param index CHDO index, from indexOf(int)
+     * @param data byte array holding the CHDO
+     * @param chdoOffset offset of the first byte of the CHDO in data
+     * @return value of the field
+     */
+    public Long getSignedInt(final int index, final byte[] data, final int chdoOffset) {
+        return IChdoSfdu.getFieldValueAsSignedInt(data, chdoOffset, fieldDefs[index]);
+    }
+
+    /**
+     * Gets the value of the field as a floating point number.
+     *
+     * @param index CHDO index, from indexOf(int)
+     * @param data byte array holding the CHDO
+     * @param chdoOffset offset of the first byte of the CHDO in data
+     * @return value of the field
+     */
+    public Double getFloatingPoint(final int index, final byte[] data, final int chdoOffset) {
+        return IChdoSfdu.getFieldValueAsFloatingPoint(data, chdoOffset, fieldDefs[index]);
+    }
+
+    /**
+     * Gets the value of the field as a Date.
+     *
+     * @param index CHDO index, from indexOf(int)
+     * @param data byte array holding the CHDO
+     * @param chdoOffset offset of the first byte of the CHDO in data
+     * @return value of the field
+     */
+    public IAccurateDateTime getDate(final int index, final byte[] data, final int chdoOffset) {
+        return IChdoSfdu.getFieldValueAsDate(data, chdoOffset, fieldDefs[index],
+                extendedResolutionDefs[index], extResUnitsDefs[index]);
+    }
+
+    /**
+     * Gets the value of the field as a Sclk.
+     *
+     * @param index CHDO index, from indexOf(int)
+     * @param data byte array holding the CHDO
+     * @param chdoOffset offset of the first byte of the CHDO in data
+     * @return value of the field
+     */
+    public ISclk getSclk(final int index, final byte[] data, final int chdoOffset) {
+        return IChdoSfdu.getFieldValueAsSclk(data, chdoOffset, fieldDefs[index]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "ChdoFieldAccessor [fieldName=" + fieldName + ", chdoTypes=" + Arrays.toString(chdoTypes) + "]";
+    }
+}
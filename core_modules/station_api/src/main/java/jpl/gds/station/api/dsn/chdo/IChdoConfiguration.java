@@ -98,6 +98,16 @@ public interface IChdoConfiguration {
 	 * @return nameToPropertyMap
 	 */
 	public Map<String, IChdoProperty> getNameToPropertyMap();
+
+	/**
+	 * Gets the accessor for a CHDO field, resolving the field name against the
+	 * CHDO definitions the first time it is requested. Accessors are cached
+	 * until the configuration is cleared.
+	 * 
+	 * @param fieldName name of the CHDO field
+	 * @return ChdoFieldAccessor for the field; never null
+	 */
+	public ChdoFieldAccessor getFieldAccessor(String fieldName);
 	
 	/**
 	 * Gets an XML representation of the CHDO configuration.
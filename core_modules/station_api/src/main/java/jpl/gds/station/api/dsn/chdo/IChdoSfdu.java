@@ -58,6 +58,12 @@ public interface IChdoSfdu extends IScidFilterable, IVcidFilterable, IStationFil
     
     /** Cache the coarse length of the canonical ISclk */
     public final static int coarseLen = TimeProperties.getInstance().getCanonicalEncoding().getCoarseByteLength();
+
+    /** Suffix of the field that flags whether a 64 bit date field's extended resolution is valid */
+    public static final String EXTENDED_RESOLUTION_SUFFIX = "_extended_resolution";
+
+    /** Suffix of the field that flags whether a 64 bit date field's extended resolution is in tenths of microseconds */
+    public static final String EXT_RES_UNITS_SUFFIX = "_ext_res_units";
     
     /**
      * Label for SFDU hearbeat SFDUs
@@ -163,6 +169,64 @@ public interface IChdoSfdu extends IScidFilterable, IVcidFilterable, IStationFil
     public String getFieldValueAsString(String fieldName)
             throws UnsupportedEncodingException;
 
+    /**
+     * Gets the accessor for the indicated CHDO field from the CHDO configuration
+     * of this SFDU. Callers that read the same fields from every SFDU should get
+     * the accessors once and use the accessor forms of the field value methods.
+     * 
+     * @param fieldName name of the CHDO field
+     * @return ChdoFieldAccessor for the field
+     */
+    public ChdoFieldAccessor getFieldAccessor(String fieldName);
+
+    /**
+     * Gets the value of a CHDO field as an array of bytes.
+     * @param accessor accessor for the CHDO field to fetch
+     * @return byte array containing the extracted field value, or null if not found
+     */
+    public byte[] getFieldValueAsByteArray(ChdoFieldAccessor accessor);
+
+    /**
+     * Gets the value of a CHDO field as an unsigned integer.
+     * @param accessor accessor for the CHDO field to fetch
+     * @return value of the field, or null if not found
+     */
+    public Long getFieldValueAsUnsignedInt(ChdoFieldAccessor accessor);
+
+    /**
+     * Gets the value of a CHDO field as a signed integer.
+     * @param accessor accessor for the CHDO field to fetch
+     * @return value of the field, or null if not found
+     */
+    public Long getFieldValueAsSignedInt(ChdoFieldAccessor accessor);
+
+    /**
+     * Gets the value of a CHDO field as a floating point number.
+     * Can only fetch values that are byte aligned.
+     * 
+     * @param accessor accessor for the CHDO field to fetch
+     * @return value of the field, or null if not found
+     */
+    public Double getFieldValueAsFloatingPoint(ChdoFieldAccessor accessor);
+
+    /**
+     * Gets the value of a CHDO field as a Date.
+     * Can only fetch values that are byte aligned.
+     * 
+     * @param accessor accessor for the CHDO field to fetch
+     * @return value of the field, or null if not found
+     */
+    public IAccurateDateTime getFieldValueAsDate(ChdoFieldAccessor accessor);
+
+    /**
+     * Gets the value of a CHDO field as a Sclk.
+     * Can only fetch values that are byte aligned.
+     * 
+     * @param accessor accessor for the CHDO field to fetch
+     * @return value of the field, or null if not found
+     */
+    public ISclk getFieldValueAsSclk(ChdoFieldAccessor accessor);
+
     /**
      * Gets the ChdoFieldDefinition object for the indicated CHDO field.
      * 
@@ -358,7 +422,19 @@ public interface IChdoSfdu extends IScidFilterable, IVcidFilterable, IStationFil
      */
     public static byte[] getFieldValueAsByteArray(final IChdo chdo,
             final String fieldName) {
-    	final IChdoFieldDefinition fieldDef = chdo.getDefinition().getFieldDefinitionByName(fieldName);
+    	return (getFieldValueAsByteArray(chdo.getRawValue(), 0, chdo.getDefinition().getFieldDefinitionByName(fieldName)));
+    }
+
+    /**
+     * Gets the value of a CHDO field as an array of bytes from a CHDO that starts
+     * at the given offset of a byte array.
+     * @param data byte array holding the CHDO
+     * @param chdoOffset offset of the first byte of the CHDO (its type field) in data
+     * @param fieldDef definition of the CHDO field to fetch
+     * @return byte array containing the extracted field value
+     */
+    public static byte[] getFieldValueAsByteArray(final byte[] data, final int chdoOffset,
+            final IChdoFieldDefinition fieldDef) {
     	if (fieldDef.getBitOffset() != 0) {
     		throw new IllegalArgumentException("The CHDO parser cannot parse values as byte arrays if they are not byte aligned (bit offset must equal zero).");
     	} else if ((fieldDef.getBitLength() % 8) != 0) {
@@ -366,7 +442,7 @@ public interface IChdoSfdu extends IScidFilterable, IVcidFilterable, IStationFil
     	}
     
     	final byte[] value = new byte[fieldDef.getBitLength() / 8];
-    	System.arraycopy(chdo.getRawValue(), fieldDef.getByteOffset(), value, 0, value.length);
+    	System.arraycopy(data, chdoOffset + fieldDef.getByteOffset(), value, 0, value.length);
     	return (value);
     }
 
@@ -379,18 +455,30 @@ public interface IChdoSfdu extends IScidFilterable, IVcidFilterable, IStationFil
      */
     public static Long getFieldValueAsUnsignedInt(final IChdo chdo,
             final String fieldName) {
-    	final IChdoFieldDefinition fieldDef = chdo.getDefinition().getFieldDefinitionByName(fieldName);
-    
+    	return (getFieldValueAsUnsignedInt(chdo.getRawValue(), 0, chdo.getDefinition().getFieldDefinitionByName(fieldName)));
+    }
+
+    /**
+     * Gets the value of a CHDO field as an unsigned integer from a CHDO that starts
+     * at the given offset of a byte array.
+     * @param data byte array holding the CHDO
+     * @param chdoOffset offset of the first byte of the CHDO (its type field) in data
+     * @param fieldDef definition of the CHDO field to fetch
+     * @return value of the field
+     */
+    public static Long getFieldValueAsUnsignedInt(final byte[] data, final int chdoOffset,
+            final IChdoFieldDefinition fieldDef) {
+    	final int byteOffset = chdoOffset + fieldDef.getByteOffset();
     	long value = 0;
     
     	if (fieldDef.getBitLength() <= Byte.SIZE) {
-    		value = GDR.get_u8(chdo.getRawValue(), fieldDef.getByteOffset(), fieldDef.getBitOffset(), fieldDef.getBitLength());
+    		value = GDR.get_u8(data, byteOffset, fieldDef.getBitOffset(), fieldDef.getBitLength());
     	} else if (fieldDef.getBitLength() <= Short.SIZE) {
-    		value = GDR.get_u16(chdo.getRawValue(), fieldDef.getByteOffset(), fieldDef.getBitOffset(), fieldDef.getBitLength());
+    		value = GDR.get_u16(data, byteOffset, fieldDef.getBitOffset(), fieldDef.getBitLength());
     	} else if (fieldDef.getBitLength() <= 24) {
-    		value = GDR.get_u24(chdo.getRawValue(), fieldDef.getByteOffset(), fieldDef.getBitOffset(), fieldDef.getBitLength());
+    		value = GDR.get_u24(data, byteOffset, fieldDef.getBitOffset(), fieldDef.getBitLength());
     	} else if (fieldDef.getBitLength() <= Integer.SIZE) {
-    		value = GDR.get_u32(chdo.getRawValue(), fieldDef.getByteOffset(), fieldDef.getBitOffset(), fieldDef.getBitLength());
+    		value = GDR.get_u32(data, byteOffset, fieldDef.getBitOffset(), fieldDef.getBitLength());
     	} else {
     		throw new IllegalArgumentException("Unsigned values greater than 32 bits are not supported by the CHDO parser.");
     	}
@@ -407,19 +495,31 @@ public interface IChdoSfdu extends IScidFilterable, IVcidFilterable, IStationFil
      */
     public static Long getFieldValueAsSignedInt(final IChdo chdo,
             final String fieldName) {
-    	final IChdoFieldDefinition fieldDef = chdo.getDefinition().getFieldDefinitionByName(fieldName);
-    
+    	return (getFieldValueAsSignedInt(chdo.getRawValue(), 0, chdo.getDefinition().getFieldDefinitionByName(fieldName)));
+    }
+
+    /**
+     * Gets the value of a CHDO field as a signed integer from a CHDO that starts
+     * at the given offset of a byte array.
+     * @param data byte array holding the CHDO
+     * @param chdoOffset offset of the first byte of the CHDO (its type field) in data
+     * @param fieldDef definition of the CHDO field to fetch
+     * @return value of the field
+     */
+    public static Long getFieldValueAsSignedInt(final byte[] data, final int chdoOffset,
+            final IChdoFieldDefinition fieldDef) {
+    	final int byteOffset = chdoOffset + fieldDef.getByteOffset();
     	long value = 0;
     	if (fieldDef.getBitLength() <= Byte.SIZE) {
-    		value = GDR.get_i8(chdo.getRawValue(), fieldDef.getByteOffset(), fieldDef.getBitOffset(), fieldDef.getBitLength());
+    		value = GDR.get_i8(data, byteOffset, fieldDef.getBitOffset(), fieldDef.getBitLength());
     	} else if (fieldDef.getBitLength() <= Short.SIZE) {
-    		value = GDR.get_i16(chdo.getRawValue(), fieldDef.getByteOffset(), fieldDef.getBitOffset(), fieldDef.getBitLength());
+    		value = GDR.get_i16(data, byteOffset, fieldDef.getBitOffset(), fieldDef.getBitLength());
     	} else if (fieldDef.getBitLength() <= 24) {
-    		value = GDR.get_i24(chdo.getRawValue(), fieldDef.getByteOffset(), fieldDef.getBitOffset(), fieldDef.getBitLength());
+    		value = GDR.get_i24(data, byteOffset, fieldDef.getBitOffset(), fieldDef.getBitLength());
     	} else if (fieldDef.getBitLength() <= Integer.SIZE) {
-    		value = GDR.get_i32(chdo.getRawValue(), fieldDef.getByteOffset(), fieldDef.getBitOffset(), fieldDef.getBitLength());
+    		value = GDR.get_i32(data, byteOffset, fieldDef.getBitOffset(), fieldDef.getBitLength());
     	} else if (fieldDef.getBitLength() <= Long.SIZE) {
-    		value = GDR.get_i64(chdo.getRawValue(), fieldDef.getByteOffset(), fieldDef.getBitOffset(), fieldDef.getBitLength());
+    		value = GDR.get_i64(data, byteOffset, fieldDef.getBitOffset(), fieldDef.getBitLength());
     	}
     
     	return (Long.valueOf(value));
@@ -435,7 +535,20 @@ public interface IChdoSfdu extends IScidFilterable, IVcidFilterable, IStationFil
      */
     public static Double getFieldValueAsFloatingPoint(final IChdo chdo,
             final String fieldName) {
-    	final IChdoFieldDefinition fieldDef = chdo.getDefinition().getFieldDefinitionByName(fieldName);
+    	return (getFieldValueAsFloatingPoint(chdo.getRawValue(), 0, chdo.getDefinition().getFieldDefinitionByName(fieldName)));
+    }
+
+    /**
+     * Gets the value of a CHDO field as a floating point number from a CHDO that starts
+     * at the given offset of a byte array. Can only fetch values that are byte aligned.
+     * 
+     * @param data byte array holding the CHDO
+     * @param chdoOffset offset of the first byte of the CHDO (its type field) in data
+     * @param fieldDef definition of the CHDO field to fetch
+     * @return value of the field
+     */
+    public static Double getFieldValueAsFloatingPoint(final byte[] data, final int chdoOffset,
+            final IChdoFieldDefinition fieldDef) {
     	if (fieldDef.getBitOffset() != 0) {
     		throw new IllegalArgumentException("The CHDO parser cannot parse values as floating point values if they are not byte aligned.");
     	}
@@ -443,11 +556,11 @@ public interface IChdoSfdu extends IScidFilterable, IVcidFilterable, IStationFil
     	double value = 0;
     	switch (fieldDef.getBitLength()) {
     	case Float.SIZE:
-    		value = GDR.get_float(chdo.getRawValue(), fieldDef.getByteOffset());
+    		value = GDR.get_float(data, chdoOffset + fieldDef.getByteOffset());
     		break;
     
     	case Double.SIZE:
-    		value = GDR.get_double(chdo.getRawValue(), fieldDef.getByteOffset());
+    		value = GDR.get_double(data, chdoOffset + fieldDef.getByteOffset());
     		break;
     
     	default:
@@ -471,11 +584,34 @@ public interface IChdoSfdu extends IScidFilterable, IVcidFilterable, IStationFil
      */
     public static IAccurateDateTime getFieldValueAsDate(final IChdo chdo,
             final String fieldName) {
-    	final IChdoFieldDefinition fieldDef = chdo.getDefinition().getFieldDefinitionByName(fieldName);
+    	final IChdoDefinition definition = chdo.getDefinition();
+    	return (getFieldValueAsDate(chdo.getRawValue(), 0,
+    	        definition.getFieldDefinitionByName(fieldName),
+    	        definition.getFieldDefinitionByName(fieldName + EXTENDED_RESOLUTION_SUFFIX),
+    	        definition.getFieldDefinitionByName(fieldName + EXT_RES_UNITS_SUFFIX)));
+    }
+
+    /**
+     * Gets the value of a CHDO field as a Date from a CHDO that starts at the
+     * given offset of a byte array. Can only fetch values that are byte aligned.
+     *
+     * @param data byte array holding the CHDO
+     * @param chdoOffset offset of the first byte of the CHDO (its type field) in data
+     * @param fieldDef definition of the CHDO field to fetch
+     * @param extendedResolutionDef definition of the flag field saying whether a 64 bit
+     *        date's extended resolution is valid, or null if the CHDO has none
+     * @param extResUnitsDef definition of the flag field saying whether a 64 bit date's
+     *        extended resolution is in tenths of microseconds, or null if the CHDO has none
+     * @return value of the field
+     */
+    public static IAccurateDateTime getFieldValueAsDate(final byte[] data, final int chdoOffset,
+            final IChdoFieldDefinition fieldDef, final IChdoFieldDefinition extendedResolutionDef,
+            final IChdoFieldDefinition extResUnitsDef) {
     	if (fieldDef.getBitOffset() != 0) {
     		throw new IllegalArgumentException("The CHDO parser cannot parse values as Date objects if they are not byte aligned.");
     	}
     
+    	final int byteOffset = chdoOffset + fieldDef.getByteOffset();
     	int days = 0;
     	long msecsOfDay = 0;
     	long extended = 0;
@@ -486,9 +622,8 @@ public interface IChdoSfdu extends IScidFilterable, IVcidFilterable, IStationFil
     
     	switch (fieldDef.getBitLength()) {
     	case 48:
-    		days = GDR.get_u16(chdo.getRawValue(), fieldDef.getByteOffset());
-    		msecsOfDay = GDR.get_u32(chdo.getRawValue(), fieldDef.getByteOffset()
-    		        + DAYS_BYTE_LENGTH);
+    		days = GDR.get_u16(data, byteOffset);
+    		msecsOfDay = GDR.get_u32(data, byteOffset + DAYS_BYTE_LENGTH);
     		
     		/*
     		 * If time is negative, set it to 0 to avoid 1958 epoch
@@ -502,25 +637,18 @@ public interface IChdoSfdu extends IScidFilterable, IVcidFilterable, IStationFil
     		return (new AccurateDateTime(time));
     
     	case 64:
-    		days = GDR.get_u16(chdo.getRawValue(), fieldDef.getByteOffset());
-    		msecsOfDay = GDR.get_u32(chdo.getRawValue(), fieldDef.getByteOffset()
-    		        + DAYS_BYTE_LENGTH);
-    		extended = GDR.get_u16(chdo.getRawValue(), fieldDef.getByteOffset()
-    		        + DAYS_BYTE_LENGTH + MSECS_BYTE_LENGTH);
+    		days = GDR.get_u16(data, byteOffset);
+    		msecsOfDay = GDR.get_u32(data, byteOffset + DAYS_BYTE_LENGTH);
+    		extended = GDR.get_u16(data, byteOffset + DAYS_BYTE_LENGTH + MSECS_BYTE_LENGTH);
     
-    		final IChdoFieldDefinition extFieldDef = chdo.getDefinition().getFieldDefinitionByName(fieldName
-    		        + "_extended_resolution");
+    		boolean isTenthsOfMicros = false;
+    		if (extendedResolutionDef != null) {
+    			final boolean isExtendedValid = getFieldValueAsUnsignedInt(data, chdoOffset, extendedResolutionDef) != 0;
     
-    		Boolean isTenthsOfMicros = Boolean.valueOf(false);
-    		if (extFieldDef != null) {
-    			final Boolean isExtendedValid = getFieldValueAsBoolean(chdo, fieldName
-    			        + "_extended_resolution");
-    
-    			if (isExtendedValid == null || !isExtendedValid) {
+    			if (!isExtendedValid) {
     				extended = 0;
     			} else {
-    				isTenthsOfMicros = getFieldValueAsBoolean(chdo, fieldName
-    				        + "_ext_res_units");
+    				isTenthsOfMicros = getFieldValueAsUnsignedInt(data, chdoOffset, extResUnitsDef) != 0;
     			}
     		}
     		
@@ -533,14 +661,12 @@ public interface IChdoSfdu extends IScidFilterable, IVcidFilterable, IStationFil
     			time = 0;
     		}
     		
-    		return (new AccurateDateTime(time, extended, isTenthsOfMicros.booleanValue()));
+    		return (new AccurateDateTime(time, extended, isTenthsOfMicros));
     
     	case 96:
-    		year = GDR.get_u16(chdo.getRawValue(), fieldDef.getByteOffset());
-    		dayOfYear = GDR.get_u16(chdo.getRawValue(), fieldDef.getByteOffset()
-    		        + YEAR_BYTE_LENGTH);
-    		secsOfDay = GDR.get_double(chdo.getRawValue(), fieldDef.getByteOffset()
-    		        + YEAR_BYTE_LENGTH + DAY_OF_YEAR_BYTE_LENGTH);
+    		year = GDR.get_u16(data, byteOffset);
+    		dayOfYear = GDR.get_u16(data, byteOffset + YEAR_BYTE_LENGTH);
+    		secsOfDay = GDR.get_double(data, byteOffset + YEAR_BYTE_LENGTH + DAY_OF_YEAR_BYTE_LENGTH);
     
     		final Calendar cal = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
     		cal.set(Calendar.YEAR, year);
@@ -571,7 +697,20 @@ public interface IChdoSfdu extends IScidFilterable, IVcidFilterable, IStationFil
      */
     public static ISclk getFieldValueAsSclk(final IChdo chdo,
             final String fieldName) {
-    	final IChdoFieldDefinition fieldDef = chdo.getDefinition().getFieldDefinitionByName(fieldName);
+    	return (getFieldValueAsSclk(chdo.getRawValue(), 0, chdo.getDefinition().getFieldDefinitionByName(fieldName)));
+    }
+
+    /**
+     * Gets the value of a CHDO field as a ISclk from a CHDO that starts at the
+     * given offset of a byte array. Can only fetch values that are byte aligned.
+     * 
+     * @param data byte array holding the CHDO
+     * @param chdoOffset offset of the first byte of the CHDO (its type field) in data
+     * @param fieldDef definition of the CHDO field to fetch
+     * @return value of the field
+     */
+    public static ISclk getFieldValueAsSclk(final byte[] data, final int chdoOffset,
+            final IChdoFieldDefinition fieldDef) {
     	if (fieldDef.getBitOffset() != 0) {
     		throw new IllegalArgumentException("The CHDO parser cannot parse values as SCLK objects if they are not byte aligned.");
     	}
@@ -592,13 +731,13 @@ public interface IChdoSfdu extends IScidFilterable, IVcidFilterable, IStationFil
     	if (coarseLen != 4) {
     		throw new IllegalArgumentException("The CHDO parser cannot parse SCLKs that do not have a 32 bit coarse value.");
     	}
-    	final byte[] bytes = chdo.getRawValue();
-    	final long coarse = GDR.get_u32(bytes, fieldDef.getByteOffset());
+    	final int byteOffset = chdoOffset + fieldDef.getByteOffset();
+    	final long coarse = GDR.get_u32(data, byteOffset);
     	long fine = 0;
     	if (fieldDef.getBitLength() == 40) {
-    		GDR.get_u8(bytes, fieldDef.getByteOffset() + 4);
+    		GDR.get_u8(data, byteOffset + 4);
     	} else if (fieldDef.getBitLength() == 48) {
-    		fine = GDR.get_u16(bytes, fieldDef.getByteOffset() + 4);
+    		fine = GDR.get_u16(data, byteOffset + 4);
     	} else {
     		throw new IllegalArgumentException("The CHDO parser cannot parser SCLKs with a fine length greater than 16");
     	}
@@ -17,9 +17,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import jpl.gds.shared.log.TraceManager;
 import jpl.gds.shared.log.Tracer;
+import jpl.gds.station.api.dsn.chdo.ChdoFieldAccessor;
 import jpl.gds.station.api.dsn.chdo.IChdoConfiguration;
 import jpl.gds.station.api.dsn.chdo.IChdoDefinition;
 import jpl.gds.station.api.dsn.chdo.IChdoProperty;
@@ -45,6 +47,8 @@ public abstract class AbstractChdoConfiguration implements IChdoConfiguration  {
 	protected final Map<String, IChdoProperty> nameToPropertyMap;
 	/** list of CAIDs */
 	protected final List<String> controlAuthorityIds;
+	/** map of CHDO field name to resolved field accessor */
+	protected final Map<String, ChdoFieldAccessor> fieldAccessors;
 
 	
 	/**
@@ -55,6 +59,7 @@ public abstract class AbstractChdoConfiguration implements IChdoConfiguration  {
 		typeToDefinitionMap = new HashMap<Integer, IChdoDefinition>();
 		nameToPropertyMap = new HashMap<String, IChdoProperty>();
 		controlAuthorityIds = new ArrayList<String>(5);
+		fieldAccessors = new ConcurrentHashMap<String, ChdoFieldAccessor>();
 	}
 
 	/**
@@ -97,6 +102,19 @@ public abstract class AbstractChdoConfiguration implements IChdoConfiguration  {
 		return nameToPropertyMap;
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ChdoFieldAccessor getFieldAccessor(final String fieldName) {
+		ChdoFieldAccessor accessor = fieldAccessors.get(fieldName);
+		if (accessor == null) {
+			accessor = ChdoFieldAccessor.resolve(this, fieldName);
+			fieldAccessors.put(fieldName, accessor);
+		}
+		return accessor;
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
@@ -105,5 +123,6 @@ public abstract class AbstractChdoConfiguration implements IChdoConfiguration  {
 		typeToDefinitionMap.clear();
 		nameToPropertyMap.clear();
 		controlAuthorityIds.clear();
+		fieldAccessors.clear();
 	}
 }
\ No newline at end of file
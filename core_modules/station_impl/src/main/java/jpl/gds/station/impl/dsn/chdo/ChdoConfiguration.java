@@ -125,6 +125,7 @@ public class ChdoConfiguration extends AbstractChdoConfiguration
     public void parse(final String uri) throws ChdoConfigurationException
 	{
 		this.typeToDefinitionMap.clear();
+		this.fieldAccessors.clear();
 
 		if(uri == null)
 		{
@@ -15,13 +15,12 @@ package jpl.gds.station.impl.dsn.chdo;
 
 import static jpl.gds.station.api.dsn.chdo.ChdoConstants.CHARSET;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +38,7 @@ import jpl.gds.shared.sfdu.SfduVersionException;
 import jpl.gds.shared.time.IAccurateDateTime;
 import jpl.gds.shared.time.ISclk;
 import jpl.gds.shared.util.BinOctHexUtility;
+import jpl.gds.station.api.dsn.chdo.ChdoFieldAccessor;
 import jpl.gds.station.api.dsn.chdo.ChdoPropertyException;
 import jpl.gds.station.api.dsn.chdo.IChdo;
 import jpl.gds.station.api.dsn.chdo.IChdoCondition;
@@ -134,16 +134,39 @@ public class ChdoSfdu implements IChdoSfdu {
 	/** Maximum CHDO SFDU size (straight out of the 0172-Telecomm) */
 	public static final int MAX_SFDU_SIZE = 131096; 
 
+	/** Initial number of CHDOs the per SFDU CHDO tables can hold */
+	private static final int INITIAL_CHDO_CAPACITY = 16;
+
 	private SfduLabel sfduLabel;
-	private byte[] sfduBuffer;
+	/** Holds the current SFDU, label included. Allocated once and reused for every SFDU read. */
+	private final byte[] sfduBuffer;
+	/** Number of bytes of the current SFDU in sfduBuffer */
+	private int sfduLength;
 	private SfduId sfduId;
 
     /** Keep track of the offset of the last CHDO, the data CHDO. */
     private int lastChdoOffset = 0;
 
+	/*
+	 * Type, definition and offset in sfduBuffer of each CHDO in the current SFDU,
+	 * in the order they appear. Field values are read straight from sfduBuffer
+	 * using these, and Chdo objects are only created when asked for.
+	 */
+	private int[] chdoTypes;
+	private IChdoDefinition[] chdoDefinitions;
+	private int[] chdoOffsets;
+	private int chdoCount;
+	private int dataChdoIndex;
 
 	private final IChdoConfiguration dictionary;
+	/** Chdo objects created for the current SFDU so far, by CHDO type */
 	private final Map<Integer, Chdo> typeToChdoMap;
+
+	private final ChdoFieldAccessor majorAccessor;
+	private final ChdoFieldAccessor minorAccessor;
+	private final ChdoFieldAccessor missionIdAccessor;
+	private final ChdoFieldAccessor formatAccessor;
+	private final ChdoFieldAccessor numberBitsAccessor;
 	
 	/** Label that indicates the start of a TDS response */
 	public static final String TDS_RESPONSE_START_LABEL = "CCSD3ZS00001TDSQDATA";
@@ -167,6 +190,16 @@ public class ChdoSfdu implements IChdoSfdu {
 		this.typeToChdoMap = new HashMap<Integer, Chdo>(128);
 		this.dictionary = chdoConfig;
 		this.controlAuthorityIds = this.dictionary.getControlAuthorityIds();
+		this.sfduBuffer = new byte[MAX_SFDU_SIZE + SfduLabel.LABEL_LENGTH];
+		this.chdoTypes = new int[INITIAL_CHDO_CAPACITY];
+		this.chdoDefinitions = new IChdoDefinition[INITIAL_CHDO_CAPACITY];
+		this.chdoOffsets = new int[INITIAL_CHDO_CAPACITY];
+
+		this.majorAccessor = this.dictionary.getFieldAccessor("major");
+		this.minorAccessor = this.dictionary.getFieldAccessor("minor");
+		this.missionIdAccessor = this.dictionary.getFieldAccessor("mission_id");
+		this.formatAccessor = this.dictionary.getFieldAccessor("format");
+		this.numberBitsAccessor = this.dictionary.getFieldAccessor("number_bits");
 
 		clear();
 	}
@@ -176,64 +209,58 @@ public class ChdoSfdu implements IChdoSfdu {
 	 */
 	@Override
     public void clear() {
-		this.sfduBuffer = new byte[MAX_SFDU_SIZE + SfduLabel.LABEL_LENGTH];
+		this.sfduLength = 0;
 		this.sfduLabel = null;
 		this.sfduId = null;
+		this.chdoCount = 0;
+		this.dataChdoIndex = -1;
 		this.typeToChdoMap.clear();
 	}
 	
 	@Override
     public void loadSdfuHeaderOnly(final byte[] buffer, final int offset, final int length) throws IOException, SfduException {
 	    clear();
-	    
-	    DataInputStream bis = null;
-	    
-	    try {
-            if (length < SfduLabel.LABEL_LENGTH) {
-                throw new IllegalArgumentException("Requested read of CHDO SFDU but length of buffer is shorter than the SFDU label length");
-            }
-            
-            bis = new DataInputStream(new ByteArrayInputStream(buffer, offset, length));
-
-            // read in the SFDU label
-            this.sfduLabel = readSfduLabel(bis);
-            if (this.sfduLabel == null) {
-                throw new IllegalStateException("Got \"null\" when trying to read the SFDU label");
-            }
-
-            debugTrace.debug("========================================================================");
-            debugTrace.debug(this.sfduLabel);
-            debugTrace.debug("========================================================================\n");
-
-            // get the full SFDU length
-            switch (this.sfduLabel.getVersionId()) {
-            // in case 1 and 2, we get a numeric length back that's the # of bytes
-            // in the SFDU
-            case 1:
-            case 2:
-
-                readSfduByLength(bis, length - SfduLabel.LABEL_LENGTH);
-                break;
-
-            // if the version is something else, we just reject it
-            default:
-
-                debugTrace.debug("Version #"
-                        + this.sfduLabel.getVersionId()
-                        + " SFDU labels are not currently supported by this application. The offending SFDU label is: "
-                        + this.sfduLabel.toString());
-                throw new SfduVersionException("Version #"
-                        + this.sfduLabel.getVersionId()
-                        + " SFDU labels are not currently supported by this application. The offending SFDU label is: "
-                        + this.sfduLabel.toString(), this.sfduLabel.getVersionId(), this.sfduLabel.toString());
-            }
-
-            readChdos(true);
-            createSfduId();
-        } finally {
-            bis.close();
-            
+
+        if (length < SfduLabel.LABEL_LENGTH) {
+            throw new IllegalArgumentException("Requested read of CHDO SFDU but length of buffer is shorter than the SFDU label length");
+        }
+
+        // read in the SFDU label
+        final int labelOffset = findSfduLabel(buffer, offset, length);
+        System.arraycopy(buffer, labelOffset, this.sfduBuffer, 0, SfduLabel.LABEL_LENGTH);
+        this.sfduLength = SfduLabel.LABEL_LENGTH;
+        this.sfduLabel = new SfduLabel(this.sfduBuffer, 0);
+
+        debugTrace.debug("========================================================================");
+        debugTrace.debug(this.sfduLabel);
+        debugTrace.debug("========================================================================\n");
+
+        // get the full SFDU length
+        switch (this.sfduLabel.getVersionId()) {
+        // in case 1 and 2, we get a numeric length back that's the # of bytes
+        // in the SFDU
+        case 1:
+        case 2:
+
+            copySfduByLength(buffer, labelOffset + SfduLabel.LABEL_LENGTH,
+                    offset + length - labelOffset - SfduLabel.LABEL_LENGTH);
+            break;
+
+        // if the version is something else, we just reject it
+        default:
+
+            debugTrace.debug("Version #"
+                    + this.sfduLabel.getVersionId()
+                    + " SFDU labels are not currently supported by this application. The offending SFDU label is: "
+                    + this.sfduLabel.toString());
+            throw new SfduVersionException("Version #"
+                    + this.sfduLabel.getVersionId()
+                    + " SFDU labels are not currently supported by this application. The offending SFDU label is: "
+                    + this.sfduLabel.toString(), this.sfduLabel.getVersionId(), this.sfduLabel.toString());
         }
+
+        readChdos(true);
+        createSfduId();
     }
 	
 
@@ -323,18 +350,22 @@ public class ChdoSfdu implements IChdoSfdu {
 			        + 0 + " to " + MAX_SFDU_SIZE + " bytes.");
 		}
 
-		// read the bytes
-		this.sfduBuffer = new byte[SfduLabel.LABEL_LENGTH + sfduLength];
-		System.arraycopy(this.sfduLabel.getBytes(), 0, this.sfduBuffer, 0, SfduLabel.LABEL_LENGTH);
+		// read the bytes in after the label
 		dis.readFully(this.sfduBuffer, SfduLabel.LABEL_LENGTH, sfduLength);
+		this.sfduLength = SfduLabel.LABEL_LENGTH + sfduLength;
 	}
-	
-	private void readSfduByLength(final DataInputStream dis, final int length)
-            throws IOException, EOFException, SfduException {
-        if (dis == null) {
-            throw new EOFException("Null input data stream.");
-        }
 
+	/**
+	 * Copies the given number of bytes following the SFDU label from a byte
+	 * array into the SFDU buffer.
+	 * 
+	 * @param buffer the byte array
+	 * @param offset offset in buffer of the first byte after the SFDU label
+	 * @param length number of bytes to copy
+	 * @throws SfduException if the length is out of range
+	 */
+	private void copySfduByLength(final byte[] buffer, final int offset, final int length)
+            throws SfduException {
         final int sfduLength = length;
         debugTrace.debug("SFDU length is " + sfduLength);
 
@@ -346,10 +377,9 @@ public class ChdoSfdu implements IChdoSfdu {
                     + 0 + " to " + MAX_SFDU_SIZE + " bytes.");
         }
 
-        // read the bytes
-        this.sfduBuffer = new byte[SfduLabel.LABEL_LENGTH + sfduLength];
-        System.arraycopy(this.sfduLabel.getBytes(), 0, this.sfduBuffer, 0, SfduLabel.LABEL_LENGTH);
-        dis.readFully(this.sfduBuffer, SfduLabel.LABEL_LENGTH, sfduLength);
+        // copy the bytes in after the label
+        System.arraycopy(buffer, offset, this.sfduBuffer, SfduLabel.LABEL_LENGTH, sfduLength);
+        this.sfduLength = SfduLabel.LABEL_LENGTH + sfduLength;
     }
 
 	/**
@@ -369,50 +399,22 @@ public class ChdoSfdu implements IChdoSfdu {
 	        throws IOException, EOFException {
 		if (dis == null) {
 			throw new EOFException("Null input data stream.");
-		} else if (this.sfduBuffer == null) {
-			throw new IllegalStateException("Tried to read in a full SFDU, but the internal SFDU buffer is null.");
 		}
 
 		// Loop until we find a control authority ID that we recognize
-		// (to start, read in the length of an entire control authority ID)
-		boolean found = false;
-		final byte[] sfduLabelBuffer = new byte[SfduLabel.LABEL_LENGTH];
+		// (to start, read in the length of an entire control authority ID).
+		// The label is read straight into the start of the SFDU buffer.
+		final byte[] sfduLabelBuffer = this.sfduBuffer;
 		dis.readFully(sfduLabelBuffer, 0, SfduLabel.CONTROL_AUTHORITY_ID_LENGTH);
-		while (found == false) {
-			// Look to see if the current bytes in the buffer match any of
-			// the defined control authority IDs we're looking for
-			// (this is done by a char-by-char comparison for each control
-			// authority ID that we're looking for)
-			for (int i = 0; i < this.controlAuthorityIds.length; i++) {
-				// loop through to see if the current control authority ID
-				// matches what's in the buffer
-				int j = 0;
-				for (; j < SfduLabel.CONTROL_AUTHORITY_ID_LENGTH; j++) {
-					if (sfduLabelBuffer[j] != this.controlAuthorityIds[i].charAt(j)) {
-						break;
-					}
-				}
-
-				// if the inner for loop above ran all the way through, then
-				// it means we found a match on a control authority ID
-				if (j == SfduLabel.CONTROL_AUTHORITY_ID_LENGTH) {
-					found = true;
-					break;
-				}
-			}
-
-			// skip this step if we found a control authority ID in the current
-			// position
-			if (found == false) {
-				// drop the first byte in the buffer, shift everything left by 1
-				// spot,
-				// read in one more byte, and then loop around to compare again
-				int k = 1;
-				for (; k < SfduLabel.CONTROL_AUTHORITY_ID_LENGTH; k++) {
-					sfduLabelBuffer[k - 1] = sfduLabelBuffer[k];
-				}
-				dis.readFully(sfduLabelBuffer, k - 1, 1);
+		while (isControlAuthorityId(sfduLabelBuffer, 0) == false) {
+			// drop the first byte in the buffer, shift everything left by 1
+			// spot,
+			// read in one more byte, and then loop around to compare again
+			int k = 1;
+			for (; k < SfduLabel.CONTROL_AUTHORITY_ID_LENGTH; k++) {
+				sfduLabelBuffer[k - 1] = sfduLabelBuffer[k];
 			}
+			dis.readFully(sfduLabelBuffer, k - 1, 1);
 		}
 
 		// At this point, sfduBuffer[0] is pointing to the start of a control
@@ -421,24 +423,78 @@ public class ChdoSfdu implements IChdoSfdu {
 		// SFDU label
 		dis.readFully(sfduLabelBuffer, SfduLabel.CONTROL_AUTHORITY_ID_LENGTH, SfduLabel.LABEL_LENGTH
 		        - SfduLabel.CONTROL_AUTHORITY_ID_LENGTH);
+		this.sfduLength = SfduLabel.LABEL_LENGTH;
 
 		// parse the SFDU label that we read in
 		final SfduLabel label = new SfduLabel(sfduLabelBuffer, 0);
 		return (label);
 	}
 
+	/**
+	 * Finds the first SFDU label in a byte array, skipping any data before a
+	 * control authority ID that we recognize.
+	 * 
+	 * @param buffer the byte array
+	 * @param offset starting offset into the buffer
+	 * @param length length of the data to search
+	 * @return offset in buffer of the start of the SFDU label
+	 * @throws EOFException if there is no complete SFDU label in the data
+	 */
+	private int findSfduLabel(final byte[] buffer, final int offset, final int length)
+	        throws EOFException {
+		final int end = offset + length - SfduLabel.LABEL_LENGTH;
+		for (int i = offset; i <= end; i++) {
+			if (isControlAuthorityId(buffer, i)) {
+				return i;
+			}
+		}
+		throw new EOFException("No SFDU label found in the input buffer.");
+	}
+
+	/**
+	 * Looks to see if the bytes at the given offset match any of the defined
+	 * control authority IDs we're looking for (this is done by a char-by-char
+	 * comparison for each control authority ID).
+	 * 
+	 * @param buffer the bytes to check
+	 * @param offset offset of the first byte to check
+	 * @return true if a control authority ID starts at offset
+	 */
+	private boolean isControlAuthorityId(final byte[] buffer, final int offset) {
+		for (int i = 0; i < this.controlAuthorityIds.length; i++) {
+			// loop through to see if the current control authority ID
+			// matches what's in the buffer
+			int j = 0;
+			for (; j < SfduLabel.CONTROL_AUTHORITY_ID_LENGTH; j++) {
+				if (buffer[offset + j] != this.controlAuthorityIds[i].charAt(j)) {
+					break;
+				}
+			}
+
+			// if the inner for loop above ran all the way through, then
+			// it means we found a match on a control authority ID
+			if (j == SfduLabel.CONTROL_AUTHORITY_ID_LENGTH) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 
 	/**
-	 * Read sequential chdos in this sfdu
+	 * Read sequential chdos in this sfdu, recording the type and offset of each
+	 * in the CHDO tables. Any chdo type not defined in the chdo.xml config file
+	 * will be skipped quietly (a debug-level log message will be recorded
+	 * whenever a chdo is skipped this way).
      *
      * @throws SfduException If problem with data CHDO
 	 */
 	private void readChdos(final boolean headerOnly) throws SfduException
     {
 		int  offset = SfduLabel.LABEL_LENGTH;
-        Chdo chdo   = null;
+        IChdoDefinition definition = null;
 
-		while (offset < this.sfduBuffer.length)
+		while (offset < this.sfduLength)
         {
             // Keep track of last one, which better be the data CHDO
             lastChdoOffset = offset;
@@ -447,68 +503,64 @@ public class ChdoSfdu implements IChdoSfdu {
 
 			final int chdoLength = GDR.get_u16(this.sfduBuffer, offset+IChdoDefinition.CHDO_TYPE_SIZE);
 			
-			final IChdoDefinition definition = this.dictionary.getDefinitionByType(chdoType);
+			definition = this.dictionary.getDefinitionByType(chdoType);
 			
 			 /* Check for null definition also */
 			if (headerOnly && (definition == null || definition.getClassification().equals("data"))) {
 			    break;
 			}
 
-			chdo = readChdo(offset, chdoType, chdoLength);
+			if (definition == null) {
+				debugTrace.warn("Unrecognized CHDO Type \"" + chdoType
+				        + "\" encountered. Skipping.");
+			} else {
+				addChdo(chdoType, definition, offset, chdoLength);
+			}
+
 			offset += IChdoDefinition.CHDO_TYPE_SIZE
 					+ IChdoDefinition.CHDO_LENGTH_SIZE;
-			if (chdo == null) {
-				// this will work as long as the unidentified chdo is not an aggregation type
+			// this will work as long as an unidentified chdo is not an aggregation type
+			if (definition == null || definition.getClassification().equals("aggregation") == false) {
 				offset += chdoLength;
-			} else {
-				this.typeToChdoMap.put(Integer.valueOf(chdoType), chdo);
-
-				if (chdo.getDefinition().getClassification().equals("aggregation") == false) {
-					offset += chdo.getLength();
-				}
 			}
 		}
 
-        if (!headerOnly && ((chdo == null) || ! chdo.getDefinition().getClassification().equals("data")))
+        if (!headerOnly && ((definition == null) || ! definition.getClassification().equals("data")))
         {
             throw new SfduException("Data CHDO not found at end of SFDU");
         }
 	}
 
-
 	/**
-	 * Extract the next chdo at the given offset and return it as a Chdo object, or return
-	 * null if no definition is available for the chdo type indicated in the type field in
-	 * the given byte stream. Thus, any chdo type not defined in the chdo.xml config file
-	 * will be skipped quietly (a debug-level log message will be recorded whenever a chdo
-	 * is skipped this way). 
-	 * note: previous version that threw an exception on unidentified chdo had the side-effect
-	 * of short-circuiting the read loop in readChdos so that any subsequent chdos in the same
-	 * sfdu would not even be examined.
+	 * Records a chdo at the given offset in the CHDO tables. If the SFDU has
+	 * already had a chdo of the same type, the new one replaces it.
 	 * 
-	 * @param offset
-	 * @return extracted Chdo object or null if type is not defined
+	 * @param chdoType CHDO type number
+	 * @param definition CHDO definition
+	 * @param offset offset of the chdo in the SFDU buffer
+	 * @param chdoLength length of the chdo, from its length field
 	 */
-	private Chdo readChdo(final int offset, final int chdoType, final int chdoLength) {
-		final int chdoOffset = offset;
+	private void addChdo(final int chdoType, final IChdoDefinition definition, final int offset, final int chdoLength) {
+		int index = indexOfChdoType(chdoType);
+		if (index < 0) {
+			if (this.chdoCount == this.chdoTypes.length) {
+				this.chdoTypes = Arrays.copyOf(this.chdoTypes, this.chdoCount * 2);
+				this.chdoDefinitions = Arrays.copyOf(this.chdoDefinitions, this.chdoCount * 2);
+				this.chdoOffsets = Arrays.copyOf(this.chdoOffsets, this.chdoCount * 2);
+			}
+			index = this.chdoCount++;
+		}
 
-		final IChdoDefinition definition = this.dictionary.getDefinitionByType(chdoType);
-		if (definition == null) {
-			debugTrace.warn("Unrecognized CHDO Type \"" + chdoType
-			        + "\" encountered. Skipping.");
-			return null;
+		this.chdoTypes[index] = chdoType;
+		this.chdoDefinitions[index] = definition;
+		this.chdoOffsets[index] = offset;
+
+		if (definition.getClassification().equals("data")) {
+			this.dataChdoIndex = index;
 		}
 
-		int actualLength = chdoLength;
-		
-		if (definition.getClassification().equals("aggregation")) {
-		    actualLength = 0;
-        }
-		
-		final byte[] chdoBytes = new byte[IChdoDefinition.CHDO_TYPE_SIZE
-		        + IChdoDefinition.CHDO_LENGTH_SIZE + actualLength];
-		System.arraycopy(this.sfduBuffer, chdoOffset, chdoBytes, 0, chdoBytes.length);
 		if (debugTrace.isDebugEnabled()) {
+			final int actualLength = definition.getClassification().equals("aggregation") ? 0 : chdoLength;
 			final StringBuilder chdoText = new StringBuilder(2048);
 			chdoText.append(definition.getClassification());
 			chdoText.append(" CHDO Type ");
@@ -516,15 +568,73 @@ public class ChdoSfdu implements IChdoSfdu {
 			chdoText.append(" (Length ");
 			chdoText.append(chdoLength);
 			chdoText.append(") Hex: \n\n");
-			chdoText.append(BinOctHexUtility.toHexFromBytes(chdoBytes));
+			chdoText.append(BinOctHexUtility.toHexFromBytes(Arrays.copyOfRange(this.sfduBuffer, offset,
+			        offset + IChdoDefinition.CHDO_TYPE_SIZE + IChdoDefinition.CHDO_LENGTH_SIZE + actualLength)));
 			chdoText.append("\n\n");
 			debugTrace.debug(chdoText.toString());
 		}
+	}
 
-		final Chdo chdo = new Chdo(definition, chdoBytes);
-		chdo.setLength(chdoLength);
+	/**
+	 * Gets the index in the CHDO tables of the chdo with the given type.
+	 * 
+	 * @param chdoType CHDO type number
+	 * @return index, or -1 if the SFDU has no chdo of that type
+	 */
+	private int indexOfChdoType(final int chdoType) {
+		for (int i = 0; i < this.chdoCount; i++) {
+			if (this.chdoTypes[i] == chdoType) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Gets the index in the CHDO tables of the first chdo in the SFDU that
+	 * defines the field of the given accessor.
+	 * 
+	 * @param accessor CHDO field accessor
+	 * @return index, or -1 if no chdo in the SFDU has the field
+	 */
+	private int indexOfChdoForField(final ChdoFieldAccessor accessor) {
+		if (accessor.isDefined()) {
+			for (int i = 0; i < this.chdoCount; i++) {
+				if (accessor.indexOf(this.chdoTypes[i]) >= 0) {
+					return i;
+				}
+			}
+		}
+		return -1;
+	}
 
-		return (chdo);
+	/**
+	 * Gets the chdo at the given index in the CHDO tables as a Chdo object,
+	 * creating it from the SFDU buffer the first time it is asked for.
+	 * Aggregation chdos hold only their type and length fields.
+	 * 
+	 * @param index index in the CHDO tables
+	 * @return Chdo object
+	 */
+	private Chdo getChdo(final int index) {
+		final Integer type = Integer.valueOf(this.chdoTypes[index]);
+		Chdo chdo = this.typeToChdoMap.get(type);
+		if (chdo == null) {
+			final IChdoDefinition definition = this.chdoDefinitions[index];
+			final int offset = this.chdoOffsets[index];
+			final int chdoLength = GDR.get_u16(this.sfduBuffer, offset + IChdoDefinition.CHDO_TYPE_SIZE);
+
+			int actualLength = chdoLength;
+			if (definition.getClassification().equals("aggregation")) {
+			    actualLength = 0;
+	        }
+
+			chdo = new Chdo(definition, Arrays.copyOfRange(this.sfduBuffer, offset,
+			        offset + IChdoDefinition.CHDO_TYPE_SIZE + IChdoDefinition.CHDO_LENGTH_SIZE + actualLength));
+			chdo.setLength(chdoLength);
+			this.typeToChdoMap.put(type, chdo);
+		}
+		return chdo;
 	}
 
 	private void createSfduId() {
@@ -532,28 +642,28 @@ public class ChdoSfdu implements IChdoSfdu {
 
 		this.sfduId.setDdpId(this.sfduLabel.getDataDescriptionPackageId());
 
-		final Long majorType = getFieldValueAsUnsignedInt("major");
+		final Long majorType = getFieldValueAsUnsignedInt(this.majorAccessor);
 		if (majorType == null) {
 			throw new IllegalStateException("Could not find a \"major\" in the input SFDU (should be in the primary CHDO).");
 		}
 		this.sfduId.setMajorDataType(majorType.intValue());
 		debugTrace.debug("Major Type = " + majorType);
 
-		final Long minorType = getFieldValueAsUnsignedInt("minor");
+		final Long minorType = getFieldValueAsUnsignedInt(this.minorAccessor);
 		if (minorType == null) {
 			throw new IllegalStateException("Could not find a \"minor\" in the input SFDU (should be in the primary CHDO).");
 		}
 		this.sfduId.setMinorDataType(minorType.intValue());
 		debugTrace.debug("Minor Type = " + minorType);
 
-		final Long missionId = getFieldValueAsUnsignedInt("mission_id");
+		final Long missionId = getFieldValueAsUnsignedInt(this.missionIdAccessor);
 		if (missionId == null) {
 			throw new IllegalStateException("Could not find a \"mission_id\" in the input SFDU (should be in the primary CHDO).");
 		}
 		this.sfduId.setMissionId(missionId.intValue());
 		debugTrace.debug("Mission ID = " + missionId);
 
-		final Long formatId = getFieldValueAsUnsignedInt("format");
+		final Long formatId = getFieldValueAsUnsignedInt(this.formatAccessor);
 		if (formatId == null) {
 			throw new IllegalStateException("Could not find a \"format\" in the input SFDU (should be in the primary CHDO).");
 		}
@@ -563,16 +673,34 @@ public class ChdoSfdu implements IChdoSfdu {
 
 	/**
      * @{inheritDoc}
+     * @see jpl.gds.station.api.dsn.chdo.IChdoSfdu#getFieldAccessor(java.lang.String)
+     */
+	@Override
+    public ChdoFieldAccessor getFieldAccessor(final String fieldName) {
+		return (this.dictionary.getFieldAccessor(fieldName));
+	}
+
+	/**
+     * @{inheritDoc}
      * @see jpl.gds.station.api.dsn.chdo.IChdoSfdu#getFieldValueAsByteArray(java.lang.String)
      */
 	@Override
     public byte[] getFieldValueAsByteArray(final String fieldName) {
-		final IChdo chdo = getChdoForFieldName(fieldName);
-		if (chdo == null) {
+		return (getFieldValueAsByteArray(this.dictionary.getFieldAccessor(fieldName)));
+	}
+
+	/**
+     * @{inheritDoc}
+     * @see jpl.gds.station.api.dsn.chdo.IChdoSfdu#getFieldValueAsByteArray(jpl.gds.station.api.dsn.chdo.ChdoFieldAccessor)
+     */
+	@Override
+    public byte[] getFieldValueAsByteArray(final ChdoFieldAccessor accessor) {
+		final int index = indexOfChdoForField(accessor);
+		if (index < 0) {
 			return (null);
 		}
 
-		return (IChdoSfdu.getFieldValueAsByteArray(chdo, fieldName));
+		return (accessor.getByteArray(accessor.indexOf(this.chdoTypes[index]), this.sfduBuffer, this.chdoOffsets[index]));
 	}
 
 	/**
@@ -581,12 +709,21 @@ public class ChdoSfdu implements IChdoSfdu {
      */
 	@Override
     public Long getFieldValueAsUnsignedInt(final String fieldName) {
-		final IChdo chdo = getChdoForFieldName(fieldName);
-		if (chdo == null) {
+		return (getFieldValueAsUnsignedInt(this.dictionary.getFieldAccessor(fieldName)));
+	}
+
+	/**
+     * @{inheritDoc}
+     * @see jpl.gds.station.api.dsn.chdo.IChdoSfdu#getFieldValueAsUnsignedInt(jpl.gds.station.api.dsn.chdo.ChdoFieldAccessor)
+     */
+	@Override
+    public Long getFieldValueAsUnsignedInt(final ChdoFieldAccessor accessor) {
+		final int index = indexOfChdoForField(accessor);
+		if (index < 0) {
 			return (null);
 		}
 
-		return (IChdoSfdu.getFieldValueAsUnsignedInt(chdo, fieldName));
+		return (accessor.getUnsignedInt(accessor.indexOf(this.chdoTypes[index]), this.sfduBuffer, this.chdoOffsets[index]));
 	}
 
 	/**
@@ -595,12 +732,21 @@ public class ChdoSfdu implements IChdoSfdu {
      */
 	@Override
     public Long getFieldValueAsSignedInt(final String fieldName) {
-		final IChdo chdo = getChdoForFieldName(fieldName);
-		if (chdo == null) {
+		return (getFieldValueAsSignedInt(this.dictionary.getFieldAccessor(fieldName)));
+	}
+
+	/**
+     * @{inheritDoc}
+     * @see jpl.gds.station.api.dsn.chdo.IChdoSfdu#getFieldValueAsSignedInt(jpl.gds.station.api.dsn.chdo.ChdoFieldAccessor)
+     */
+	@Override
+    public Long getFieldValueAsSignedInt(final ChdoFieldAccessor accessor) {
+		final int index = indexOfChdoForField(accessor);
+		if (index < 0) {
 			return (null);
 		}
 
-		return (IChdoSfdu.getFieldValueAsSignedInt(chdo, fieldName));
+		return (accessor.getSignedInt(accessor.indexOf(this.chdoTypes[index]), this.sfduBuffer, this.chdoOffsets[index]));
 	}
 
 	/**
@@ -609,12 +755,21 @@ public class ChdoSfdu implements IChdoSfdu {
      */
 	@Override
     public Double getFieldValueAsFloatingPoint(final String fieldName) {
-		final IChdo chdo = getChdoForFieldName(fieldName);
-		if (chdo == null) {
+		return (getFieldValueAsFloatingPoint(this.dictionary.getFieldAccessor(fieldName)));
+	}
+
+	/**
+     * @{inheritDoc}
+     * @see jpl.gds.station.api.dsn.chdo.IChdoSfdu#getFieldValueAsFloatingPoint(jpl.gds.station.api.dsn.chdo.ChdoFieldAccessor)
+     */
+	@Override
+    public Double getFieldValueAsFloatingPoint(final ChdoFieldAccessor accessor) {
+		final int index = indexOfChdoForField(accessor);
+		if (index < 0) {
 			return (null);
 		}
 
-		return (IChdoSfdu.getFieldValueAsFloatingPoint(chdo, fieldName));
+		return (accessor.getFloatingPoint(accessor.indexOf(this.chdoTypes[index]), this.sfduBuffer, this.chdoOffsets[index]));
 	}
 
 	/**
@@ -623,12 +778,21 @@ public class ChdoSfdu implements IChdoSfdu {
      */
 	@Override
     public IAccurateDateTime getFieldValueAsDate(final String fieldName) {
-		final IChdo chdo = getChdoForFieldName(fieldName);
-		if (chdo == null) {
+		return (getFieldValueAsDate(this.dictionary.getFieldAccessor(fieldName)));
+	}
+
+	/**
+     * @{inheritDoc}
+     * @see jpl.gds.station.api.dsn.chdo.IChdoSfdu#getFieldValueAsDate(jpl.gds.station.api.dsn.chdo.ChdoFieldAccessor)
+     */
+	@Override
+    public IAccurateDateTime getFieldValueAsDate(final ChdoFieldAccessor accessor) {
+		final int index = indexOfChdoForField(accessor);
+		if (index < 0) {
 			return (null);
 		}
 
-		return (IChdoSfdu.getFieldValueAsDate(chdo, fieldName));
+		return (accessor.getDate(accessor.indexOf(this.chdoTypes[index]), this.sfduBuffer, this.chdoOffsets[index]));
 	}
 
 	/**
@@ -637,12 +801,21 @@ public class ChdoSfdu implements IChdoSfdu {
      */
 	@Override
     public ISclk getFieldValueAsSclk(final String fieldName) {
-		final IChdo chdo = getChdoForFieldName(fieldName);
-		if (chdo == null) {
+		return (getFieldValueAsSclk(this.dictionary.getFieldAccessor(fieldName)));
+	}
+
+	/**
+     * @{inheritDoc}
+     * @see jpl.gds.station.api.dsn.chdo.IChdoSfdu#getFieldValueAsSclk(jpl.gds.station.api.dsn.chdo.ChdoFieldAccessor)
+     */
+	@Override
+    public ISclk getFieldValueAsSclk(final ChdoFieldAccessor accessor) {
+		final int index = indexOfChdoForField(accessor);
+		if (index < 0) {
 			return (null);
 		}
 
-		return (IChdoSfdu.getFieldValueAsSclk(chdo, fieldName));
+		return (accessor.getSclk(accessor.indexOf(this.chdoTypes[index]), this.sfduBuffer, this.chdoOffsets[index]));
 	}
 
 	/**
@@ -677,23 +850,6 @@ public class ChdoSfdu implements IChdoSfdu {
 		return (value);
 	}
 
-	/**
-	 * Gets the Chdo object containing the indicated CHDO field.
-	 * 
-	 * @param fieldName name of the CHDO field to look for
-	 * @return Chdo object containing the field, or null if not found
-	 */
-	private IChdo getChdoForFieldName(final String fieldName) {
-		final Collection<Chdo> chdoCollection = this.typeToChdoMap.values();
-		for (final IChdo chdo : chdoCollection) {
-			if (chdo.getDefinition().getFieldDefinitionByName(fieldName) != null) {
-				return (chdo);
-			}
-		}
-
-		return (null);
-	}
-
 	/**
      * @{inheritDoc}
      * @see jpl.gds.station.api.dsn.chdo.IChdoSfdu#getChdoFieldDefinitionForFieldName(java.lang.String)
@@ -701,12 +857,12 @@ public class ChdoSfdu implements IChdoSfdu {
 	@Override
     public IChdoFieldDefinition getChdoFieldDefinitionForFieldName(
 	        final String fieldName) {
-		final IChdo chdo = getChdoForFieldName(fieldName);
-		if (chdo == null) {
+		final ChdoFieldAccessor accessor = this.dictionary.getFieldAccessor(fieldName);
+		final int index = indexOfChdoForField(accessor);
+		if (index < 0) {
 			return null;
 		}
-		final IChdoFieldDefinition fieldDef = chdo.getDefinition().getFieldDefinitionByName(fieldName);
-		return fieldDef;
+		return accessor.getFieldDefinition(accessor.indexOf(this.chdoTypes[index]));
 	}
 
 	/**
@@ -715,14 +871,11 @@ public class ChdoSfdu implements IChdoSfdu {
      */
 	@Override
     public IChdo getDataChdo() {
-		final Collection<Chdo> chdoCollection = this.typeToChdoMap.values();
-		for (final IChdo chdo : chdoCollection) {
-			if (chdo.getDefinition().getClassification().equals("data") == true) {
-				return (chdo);
-			}
+		if (this.dataChdoIndex < 0) {
+			return (null);
 		}
 
-		return (null);
+		return (getChdo(this.dataChdoIndex));
 	}
 
 	/**
@@ -871,7 +1024,7 @@ public class ChdoSfdu implements IChdoSfdu {
      */
 	@Override
     public int getNumberOfDataBits() throws ChdoPropertyException {
-		final Long numberOfDataBitsObj = getFieldValueAsUnsignedInt("number_bits");
+		final Long numberOfDataBitsObj = getFieldValueAsUnsignedInt(this.numberBitsAccessor);
 		final long numberOfDataBits = (null == numberOfDataBitsObj) ? 0 : numberOfDataBitsObj.longValue();
 		if ((numberOfDataBits > Integer.MAX_VALUE) || (numberOfDataBits < 0)) {
 			throw new ChdoPropertyException("Number of data bits will not result in a positive Integer: " + numberOfDataBits);
@@ -896,13 +1049,14 @@ public class ChdoSfdu implements IChdoSfdu {
 		final List<IChdoCondition> chdoConditions = property.getChdoConditions();
 		for (int i = 0; i < chdoConditions.size(); i++) {
 			final IChdoCondition chdoCondition = chdoConditions.get(i);
-			final IChdo chdo = this.typeToChdoMap.get(Integer.valueOf(chdoCondition.getChdoType()));
-			if (chdo == null) {
+			final int chdoIndex = indexOfChdoType(chdoCondition.getChdoType());
+			if (chdoIndex < 0) {
 				// this is in here for algorithm clarity...I'm aware it does
 				// nothing
 				// propertyResult = propertyResult || false;
 				continue;
 			}
+			final IChdo chdo = getChdo(chdoIndex);
 
 			boolean conditionResult = true;
 			final List<IEqualityCondition> equalityConditions = chdoCondition.getEqualityConditions();
@@ -948,9 +1102,7 @@ public class ChdoSfdu implements IChdoSfdu {
      */
 	@Override
     public byte[] getBytes() {
-		final byte[] bytes = new byte[this.sfduBuffer.length];
-		System.arraycopy(this.sfduBuffer, 0, bytes, 0, bytes.length);
-		return (bytes);
+		return (Arrays.copyOf(this.sfduBuffer, this.sfduLength));
 	}
 
 	/**
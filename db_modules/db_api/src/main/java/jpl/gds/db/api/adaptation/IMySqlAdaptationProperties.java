@@ -225,6 +225,16 @@ public interface IMySqlAdaptationProperties extends IDatabaseProperties {
      */
     boolean getConcurrentLDI();
 
+    /**
+     * Get the memory staging state for LDI, indicating whether rows to be bulk
+     * loaded may be staged in memory and loaded without writing an LDI file.
+     * Rows are still staged in files when LDI files are saved or exported, or
+     * if the JDBC driver cannot load from a stream.
+     *
+     * @return true if LDI rows may be staged in memory
+     */
+    boolean getMemoryStagedLDI();
+
     /**
      * Gets the Inserter queue length at which the performance status of the
      * queue should be considered YELLOW.
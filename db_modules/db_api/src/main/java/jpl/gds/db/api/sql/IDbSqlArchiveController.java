@@ -40,6 +40,7 @@ import jpl.gds.db.api.sql.store.ldi.IProductLDIStore;
 import jpl.gds.db.api.sql.store.ldi.ISseChannelValueLDIStore;
 import jpl.gds.db.api.sql.store.ldi.ISseEvrLDIStore;
 import jpl.gds.db.api.sql.store.ldi.ISsePacketLDIStore;
+import jpl.gds.db.api.sql.store.ldi.LdiStagingStream;
 import jpl.gds.db.api.sql.store.ldi.aggregate.IChannelAggregateLDIStore;
 import jpl.gds.db.api.sql.store.ldi.aggregate.IHeaderChannelAggregateLDIStore;
 import jpl.gds.db.api.sql.store.ldi.aggregate.IMonitorChannelAggregateLDIStore;
@@ -477,6 +478,9 @@ public interface IDbSqlArchiveController {
     void startGatherer();
 
     /**
+     * Wakes the gatherer so that it gathers streams now rather than at the end
+     * of its sleep. Multiple calls before the gatherer runs are coalesced.
+     *
      * TODO: Should be private after logic that calls it moves to controller
      */
     void stopGatherer();
@@ -623,6 +627,19 @@ public interface IDbSqlArchiveController {
      */
     Pair<File, FileOutputStream> openStream(String altDbTableName, String edir, boolean b);
 
+    /**
+     * Opens a staging stream for an LDI load into a table. The rows are staged
+     * in memory if memory-staged LDI is enabled and the rows do not need to be
+     * saved or exported; otherwise they are staged in an LDI file.
+     *
+     * @param table
+     *            Name of database table
+     * @param export
+     *            True if the rows will be exported
+     * @return Staging stream, or null if no LDI file could be opened
+     */
+    LdiStagingStream openLdiStream(String table, boolean export);
+
     /**
      * @return true if Controller is up (started and not stopped).
      */
@@ -13,11 +13,8 @@
  */
 package jpl.gds.db.api.sql.store;
 
-import java.io.File;
-import java.io.FileOutputStream;
-
 import jpl.gds.db.api.sql.store.ldi.IInserter;
-import jpl.gds.shared.types.Pair;
+import jpl.gds.db.api.sql.store.ldi.LdiStagingStream;
 
 
 public interface IStoreMonitor {
@@ -82,24 +79,24 @@ public interface IStoreMonitor {
     /**
      * @return the valueStream
      */
-    Pair<File, FileOutputStream> getValueStream();
+    LdiStagingStream getValueStream();
 
     /**
      * @param valueStream
      *            the valueStream to set
      */
-    void setValueStream(Pair<File, FileOutputStream> valueStream);
+    void setValueStream(LdiStagingStream valueStream);
 
     /**
      * @return the metadataStream
      */
-    Pair<File, FileOutputStream> getMetadataStream();
+    LdiStagingStream getMetadataStream();
 
     /**
      * @param metadataStream
      *            the metadataStream to set
      */
-    void setMetadataStream(Pair<File, FileOutputStream> metadataStream);
+    void setMetadataStream(LdiStagingStream metadataStream);
 
     /**
      * Clear the number of value rows to be processed
@@ -15,4 +15,9 @@ package jpl.gds.db.api.sql.store.ldi;
 
 public interface IGatherer {
 
+    /**
+     * Wakes the gatherer so that it gathers streams now rather than at the end
+     * of its sleep. Multiple calls before the gatherer runs are coalesced.
+     */
+    void wakeUp();
 }
\ No newline at end of file
@@ -22,10 +22,14 @@ import jpl.gds.shared.types.Quintuplet;
  * The gatherer puts these on the queue for the inserter. There's a file
  * stream, a table name, a field list, a count of the number of insertions
  * in the file stream, and a set clause.
+ *
+ * An item staged in memory has no file; its rows are in the staging stream.
  */
 public class InsertItem extends Quintuplet<File, String, String, Long, String> {
     private static final long serialVersionUID = 1L;
 
+    private final transient LdiStagingStream staging;
+
     /**
      * Constructor.
      *
@@ -42,6 +46,33 @@ public class InsertItem extends Quintuplet<File, String, String, Long, String> {
      */
     public InsertItem(final File file, final String table, final String fields, final Long count, final String setClause) {
         super(file, table, fields, count, StringUtil.safeTrim(setClause));
+        this.staging = null;
+    }
+
+    /**
+     * Constructor for an item staged in memory.
+     *
+     * @param staging
+     *            Memory-backed staging stream holding the rows
+     * @param fields
+     *            Field list
+     * @param count
+     *            Insertion count
+     * @param setClause
+     *            Set clause
+     */
+    public InsertItem(final LdiStagingStream staging, final String fields, final Long count, final String setClause) {
+        super(null, staging.getTable(), fields, count, StringUtil.safeTrim(setClause));
+        this.staging = staging;
+    }
+
+    /**
+     * Getter for the memory-backed staging stream.
+     *
+     * @return The staging stream, or null if the rows are in a file
+     */
+    public LdiStagingStream getStaging() {
+        return staging;
     }
 
     /**
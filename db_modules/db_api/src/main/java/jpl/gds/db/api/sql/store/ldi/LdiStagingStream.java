@@ -0,0 +1,198 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.db.api.sql.store.ldi;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Queue;
+
+/**
+ * Holds the rows written for one LDI load until the gatherer hands them to an
+ * inserter.
+ *
+ * A staging stream is either file-backed, in which case rows are written
+ * through a buffer to a unique LDI file, or memory-backed, in which case rows
+ * are written to a byte buffer and loaded from memory without a file ever
+ * being created. Memory buffers are taken from, and returned to, a pool owned
+ * by the archive controller, so that a store alternates between a buffer being
+ * filled and a buffer being loaded rather than allocating a new one per load.
+ */
+public class LdiStagingStream {
+    /** Size of the write buffer used for file-backed streams */
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
+    private final String                    table;
+    private final File                      file;
+    private final OutputStream              stream;
+    private final MemoryBuffer              buffer;
+    private final Queue<MemoryBuffer>       pool;
+
+    /**
+     * Creates a file-backed staging stream.
+     *
+     * @param table
+     *            Database table name
+     * @param file
+     *            LDI file
+     * @param fos
+     *            Stream open on the LDI file
+     */
+    public LdiStagingStream(final String table, final File file, final FileOutputStream fos) {
+        this.table = table;
+        this.file = file;
+        this.stream = new BufferedOutputStream(fos, FILE_BUFFER_SIZE);
+        this.buffer = null;
+        this.pool = null;
+    }
+
+    /**
+     * Creates a memory-backed staging stream, reusing a buffer from the pool if
+     * one is available.
+     *
+     * @param table
+     *            Database table name
+     * @param pool
+     *            Pool of free memory buffers; buffers are returned to it on
+     *            release
+     * @param initialSize
+     *            Initial size of a newly allocated buffer
+     */
+    public LdiStagingStream(final String table, final Queue<MemoryBuffer> pool, final int initialSize) {
+        final MemoryBuffer free = pool.poll();
+
+        this.table = table;
+        this.file = null;
+        this.buffer = (free != null) ? free : new MemoryBuffer(initialSize);
+        this.stream = this.buffer;
+        this.pool = pool;
+
+        this.buffer.reset();
+    }
+
+    /**
+     * @return Database table name
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * @return LDI file, or null if memory-backed
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return True if the rows are held in memory rather than in a file
+     */
+    public boolean isInMemory() {
+        return buffer != null;
+    }
+
+    /**
+     * @return Stream to write rows to
+     */
+    public OutputStream getStream() {
+        return stream;
+    }
+
+    /**
+     * @return Number of bytes staged in memory; zero if file-backed
+     */
+    public int size() {
+        return (buffer != null) ? buffer.size() : 0;
+    }
+
+    /**
+     * Gets a stream over the rows staged in memory. The buffer is not copied,
+     * so the stream must be consumed before the staging stream is released.
+     *
+     * @return Input stream over the staged rows
+     *
+     * @throws IllegalStateException
+     *             If file-backed
+     */
+    public InputStream getInputStream() {
+        if (buffer == null) {
+            throw new IllegalStateException("Staging stream for " + table + " is not memory-backed");
+        }
+        return buffer.toInputStream();
+    }
+
+    /**
+     * Copies the rows staged in memory to a stream, used to spill them to an
+     * LDI file.
+     *
+     * @param out
+     *            Stream to copy to
+     *
+     * @throws IOException
+     *             I/O error
+     */
+    public void writeTo(final OutputStream out) throws IOException {
+        if (buffer != null) {
+            buffer.writeTo(out);
+        }
+    }
+
+    /**
+     * Flushes and closes the stream. The rows of a memory-backed stream remain
+     * available until it is released.
+     *
+     * @throws IOException
+     *             I/O error
+     */
+    public void close() throws IOException {
+        stream.close();
+    }
+
+    /**
+     * Returns the memory buffer, if any, to the pool. Must be called exactly
+     * once, after the rows have been loaded or spilled.
+     */
+    public void release() {
+        if (buffer != null) {
+            buffer.reset();
+            pool.offer(buffer);
+        }
+    }
+
+    /**
+     * Growable byte buffer that can be read without copying.
+     */
+    public static class MemoryBuffer extends ByteArrayOutputStream {
+
+        /**
+         * @param initialSize
+         *            Initial capacity in bytes
+         */
+        public MemoryBuffer(final int initialSize) {
+            super(initialSize);
+        }
+
+        /**
+         * @return Input stream over the current contents
+         */
+        InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+}
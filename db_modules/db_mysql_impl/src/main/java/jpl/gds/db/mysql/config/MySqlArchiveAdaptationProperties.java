@@ -62,6 +62,7 @@ public class MySqlArchiveAdaptationProperties extends GdsHierarchicalProperties
 
     private static final String             SAVE_LDI_PROPERTY              = "saveLDI";
     private static final String             CONCURRENT_LDI_PROPERTY        = "concurrentLDI";
+    private static final String             MEMORY_STAGED_LDI_PROPERTY     = "memoryStagedLDI";
 
     /** MPCS-7714  */
     private static final String             LDI_ROW_LIMIT_PROPERTY         = "ldiRowLimit";
@@ -105,6 +106,7 @@ public class MySqlArchiveAdaptationProperties extends GdsHierarchicalProperties
 
     private static final boolean            DEFAULT_SAVE_LDI               = false;
     private static final boolean            DEFAULT_CONCURRENT_LDI         = true;
+    private static final boolean            DEFAULT_MEMORY_STAGED_LDI      = true;
     private static final boolean            DEFAULT_EXPORT_LDI             = false;
     private static final boolean            DEFAULT_EXPORT_LDI_CHANNEL     = false;
     private static final boolean            DEFAULT_EXPORT_LDI_EVR         = false;
@@ -280,6 +282,15 @@ public class MySqlArchiveAdaptationProperties extends GdsHierarchicalProperties
         return getBooleanProperty(MYSQL_CONFIG_BLOCK_NAME + "." + CONCURRENT_LDI_PROPERTY, DEFAULT_CONCURRENT_LDI);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean getMemoryStagedLDI() {
+        return getBooleanProperty(MYSQL_CONFIG_BLOCK_NAME + "." + MEMORY_STAGED_LDI_PROPERTY,
+                                  DEFAULT_MEMORY_STAGED_LDI);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -25,7 +25,9 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -64,6 +66,7 @@ import jpl.gds.db.api.sql.store.ldi.IProductLDIStore;
 import jpl.gds.db.api.sql.store.ldi.ISseChannelValueLDIStore;
 import jpl.gds.db.api.sql.store.ldi.ISseEvrLDIStore;
 import jpl.gds.db.api.sql.store.ldi.ISsePacketLDIStore;
+import jpl.gds.db.api.sql.store.ldi.LdiStagingStream;
 import jpl.gds.db.api.sql.store.ldi.aggregate.IChannelAggregateLDIStore;
 import jpl.gds.db.api.sql.store.ldi.aggregate.IHeaderChannelAggregateLDIStore;
 import jpl.gds.db.api.sql.store.ldi.aggregate.IMonitorChannelAggregateLDIStore;
@@ -102,6 +105,16 @@ import jpl.gds.shared.types.Pair;
  *
  */
 public class DbSqlArchiveController implements IDbSqlArchiveController {
+    /**
+     * Maximum number of free memory-staged LDI buffers kept for reuse
+     */
+    private static final int                          LDI_BUFFER_POOL_SIZE     = 4 * StoreIdentifier.values().length;
+
+    /**
+     * Initial size of a newly allocated memory-staged LDI buffer
+     */
+    private static final int                          LDI_BUFFER_INITIAL_SIZE  = 256 * 1024;
+
     /**
      * Tracer for this and subclasses
      */
@@ -189,6 +202,18 @@ public class DbSqlArchiveController implements IDbSqlArchiveController {
      */
     private final boolean                             saveFiles;
 
+    /**
+     * True if LDI rows should be staged in memory rather than in files
+     */
+    private final boolean                             memoryStagedLdi;
+
+    /**
+     * Free memory buffers for memory-staged LDI. Bounded so that buffers beyond
+     * double-buffering every stream are left to the garbage collector.
+     */
+    private final Queue<LdiStagingStream.MemoryBuffer> ldiBufferPool          =
+            new LinkedBlockingQueue<>(LDI_BUFFER_POOL_SIZE);
+
     /**
      * Set to indicate whether current application is SSE or FSW
      */
@@ -327,6 +352,9 @@ public class DbSqlArchiveController implements IDbSqlArchiveController {
 
         log.debug("Save LDI files: " + this.saveFiles);
 
+        this.memoryStagedLdi = dbProperties.getMemoryStagedLDI() && !this.saveFiles;
+        log.debug("Memory-staged LDI: " + this.memoryStagedLdi);
+
         /** MPCS-7714  New */
         ldiRowLimit = dbProperties.getLdiRowLimit();
         ldiRowExceed = ldiRowLimit + 1L;
@@ -837,12 +865,13 @@ public class DbSqlArchiveController implements IDbSqlArchiveController {
     }
 
     /**
-     * Start the LDI Gatherer Thread
+     * Wake the LDI Gatherer Thread so it gathers streams without waiting for
+     * the rest of its sleep
      */
     @Override
     public synchronized void stopGatherer() {
         if (null != gatherer) {
-            gatherer.interrupt();
+            gatherer.wakeUp();
         }
     }
 
@@ -1717,6 +1746,30 @@ public class DbSqlArchiveController implements IDbSqlArchiveController {
         }
     }
 
+    /**
+     * Opens a staging stream for an LDI load into the given table. Rows are
+     * staged in memory when memory staging is enabled, unless they must be
+     * saved or exported, which requires a file; otherwise an LDI file is
+     * opened as by openStream/1.
+     *
+     * @param table
+     *            Name of database table
+     * @param export
+     *            True if the rows will be exported
+     *
+     * @return Staging stream, or null if no file could be opened
+     */
+    @Override
+    public LdiStagingStream openLdiStream(final String table, final boolean export) {
+        if (memoryStagedLdi && !export) {
+            return new LdiStagingStream(table, ldiBufferPool, LDI_BUFFER_INITIAL_SIZE);
+        }
+
+        final Pair<File, FileOutputStream> pfos = openStream(table);
+
+        return (pfos != null) ? new LdiStagingStream(table, pfos.getOne(), pfos.getTwo()) : null;
+    }
+
     /**
      * See openStream/2. This version uses the standard file base.
      *
@@ -1968,7 +2021,7 @@ public class DbSqlArchiveController implements IDbSqlArchiveController {
 
                 //MPCS-7155 - If the gatherer is sleeping,
                 // nothing happens until the sleep interval expires. So
-                // interrupt it.
+                // wake it.
                 stopGatherer();
 
                 // Wait until the gatherer is done flushing.
@@ -13,14 +13,11 @@
  */
 package jpl.gds.db.mysql.impl.sql.store;
 
-import java.io.File;
-import java.io.FileOutputStream;
-
 import jpl.gds.db.api.sql.store.IDbSqlStore;
 import jpl.gds.db.api.sql.store.IStoreMonitor;
 import jpl.gds.db.api.sql.store.StoreIdentifier;
 import jpl.gds.db.api.sql.store.ldi.IInserter;
-import jpl.gds.shared.types.Pair;
+import jpl.gds.db.api.sql.store.ldi.LdiStagingStream;
 
 /**
  * A structure to capture the monitoring of various stores. The members of this
@@ -61,12 +58,12 @@ public class StoreMonitor implements IStoreMonitor {
     /**
      * Output Stream to write values
      */
-    private Pair<File, FileOutputStream> valueStream        = null;
+    private LdiStagingStream             valueStream        = null;
 
     /**
      * Output Stream to write meteadata
      */
-    private Pair<File, FileOutputStream> metadataStream     = null;
+    private LdiStagingStream             metadataStream     = null;
 
     /**
      * Number of value rows to be written to the value stream
@@ -232,7 +229,7 @@ public class StoreMonitor implements IStoreMonitor {
      * @see jpl.gds.db.mysql.impl.sql.store.IStoreMonitor#getValueStream()
      */
     @Override
-    public Pair<File, FileOutputStream> getValueStream() {
+    public LdiStagingStream getValueStream() {
         return valueStream;
     }
 
@@ -241,10 +238,10 @@ public class StoreMonitor implements IStoreMonitor {
      * 
      * @see
      * jpl.gds.db.mysql.impl.sql.store.IStoreMonitor#setValueStream(jpl.gds.
-     * shared.types.Pair)
+     * db.api.sql.store.ldi.LdiStagingStream)
      */
     @Override
-    public void setValueStream(final Pair<File, FileOutputStream> valueStream) {
+    public void setValueStream(final LdiStagingStream valueStream) {
         this.valueStream = valueStream;
     }
 
@@ -254,7 +251,7 @@ public class StoreMonitor implements IStoreMonitor {
      * @see jpl.gds.db.mysql.impl.sql.store.IStoreMonitor#getMetadataStream()
      */
     @Override
-    public Pair<File, FileOutputStream> getMetadataStream() {
+    public LdiStagingStream getMetadataStream() {
         return metadataStream;
     }
 
@@ -263,10 +260,10 @@ public class StoreMonitor implements IStoreMonitor {
      * 
      * @see
      * jpl.gds.db.mysql.impl.sql.store.IStoreMonitor#setMetadataStream(jpl.gds.
-     * shared.types.Pair)
+     * db.api.sql.store.ldi.LdiStagingStream)
      */
     @Override
-    public void setMetadataStream(final Pair<File, FileOutputStream> metadataStream) {
+    public void setMetadataStream(final LdiStagingStream metadataStream) {
         this.metadataStream = metadataStream;
     }
 
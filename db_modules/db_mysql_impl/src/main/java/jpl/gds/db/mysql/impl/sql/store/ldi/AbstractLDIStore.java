@@ -13,8 +13,8 @@
  */
 package jpl.gds.db.mysql.impl.sql.store.ldi;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -570,7 +570,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 
 			if (monitor.getValueStream() == null) {
 				monitor.clearValuesInStream();
-				monitor.setValueStream(archiveController.openStream(storeConfig.getValueTableName()));
+				monitor.setValueStream(archiveController.openLdiStream(storeConfig.getValueTableName(), monitor.isExport()));
 
 				if (monitor.getValueStream() == null) {
 					// Unable to write
@@ -581,7 +581,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 			try {
 				monitor.incValuesInStream();
 				monitor.incValuesProcessed();
-				channelValue.write(monitor.getValueStream().getTwo());
+				channelValue.write(monitor.getValueStream().getStream());
 			} catch (final IOException ioe) {
 				trace.error(IDbSqlArchiveController.WRITE_ERROR, storeConfig.getValueTableName(), ": ", ioe.getCause());
 			}
@@ -601,7 +601,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 
 			if (monitor.getMetadataStream() == null) {
 				monitor.clearMetadataInStream();
-				monitor.setMetadataStream(archiveController.openStream(storeConfig.getMetadataTableName()));
+				monitor.setMetadataStream(archiveController.openLdiStream(storeConfig.getMetadataTableName(), monitor.isExport()));
 				if (monitor.getMetadataStream() == null) {
 					// Unable to write
 					return;
@@ -611,7 +611,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 			try {
 				monitor.incMetadataInStream();
 				monitor.incMetadataProcessed();
-				channelMetadata.write(monitor.getMetadataStream().getTwo());
+				channelMetadata.write(monitor.getMetadataStream().getStream());
 			} catch (final IOException ioe) {
 				trace.error(IDbSqlArchiveController.WRITE_ERROR, storeConfig.getMetadataTableName(), ": ",
 						ioe.getCause());
@@ -640,7 +640,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 			if ((commandMessage != null) && (!commandMessage.isEmpty())) {
 				if (monitor.getValueStream() == null) {
 					monitor.clearValuesInStream();
-					monitor.setValueStream(archiveController.openStream(storeConfig.getValueTableName()));
+					monitor.setValueStream(archiveController.openLdiStream(storeConfig.getValueTableName(), monitor.isExport()));
 
 					if (monitor.getValueStream() == null) {
 						// Unable to write
@@ -651,7 +651,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 				try {
 					monitor.incValuesInStream();
 					monitor.incValuesProcessed();
-					commandMessage.write(monitor.getValueStream().getTwo());
+					commandMessage.write(monitor.getValueStream().getStream());
 					wroteCommand = true;
 				} catch (final IOException ioe) {
 					trace.error(IDbSqlArchiveController.WRITE_ERROR, storeConfig.getValueTableName(), ": ",
@@ -669,7 +669,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 
 			if (monitor.getMetadataStream() == null) {
 				monitor.clearMetadataInStream();
-				monitor.setMetadataStream(archiveController.openStream(storeConfig.getMetadataTableName()));
+				monitor.setMetadataStream(archiveController.openLdiStream(storeConfig.getMetadataTableName(), monitor.isExport()));
 				if (monitor.getMetadataStream() == null) {
 					// Unable to write
 					return;
@@ -679,7 +679,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 			try {
 				monitor.incMetadataInStream();
 				monitor.incMetadataProcessed();
-				commandStatus.write(monitor.getMetadataStream().getTwo());
+				commandStatus.write(monitor.getMetadataStream().getStream());
 			} catch (final IOException ioe) {
 				trace.error(IDbSqlArchiveController.WRITE_ERROR, storeConfig.getMetadataTableName(), ": ",
 						ioe.getCause());
@@ -706,7 +706,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 
 			if (monitor.getMetadataStream() == null) {
 				monitor.clearMetadataInStream();
-				monitor.setMetadataStream(archiveController.openStream(storeConfig.getMetadataTableName()));
+				monitor.setMetadataStream(archiveController.openLdiStream(storeConfig.getMetadataTableName(), monitor.isExport()));
 				if (monitor.getMetadataStream() == null) {
 					// Unable to write
 					return;
@@ -716,7 +716,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 			try {
 				monitor.incMetadataInStream();
 				monitor.incMetadataProcessed();
-				metadata.write(monitor.getMetadataStream().getTwo());
+				metadata.write(monitor.getMetadataStream().getStream());
 			} catch (final IOException ioe) {
 				trace.error(IDbSqlArchiveController.WRITE_ERROR, storeConfig.getMetadataTableName(), ": ",
 						ioe.getCause());
@@ -724,7 +724,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 
 			if (monitor.getValueStream() == null) {
 				monitor.clearValuesInStream();
-				monitor.setValueStream(archiveController.openStream(storeConfig.getValueTableName()));
+				monitor.setValueStream(archiveController.openLdiStream(storeConfig.getValueTableName(), monitor.isExport()));
 
 				if (monitor.getValueStream() == null) {
 					// Unable to write
@@ -735,7 +735,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 			try {
 				monitor.incValuesInStream();
 				monitor.incValuesProcessed();
-				body.write(monitor.getValueStream().getTwo());
+				body.write(monitor.getValueStream().getStream());
 			} catch (final IOException ioe) {
 				trace.error(IDbSqlArchiveController.WRITE_ERROR, storeConfig.getValueTableName(), ": ", ioe.getCause());
 			}
@@ -761,7 +761,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 
 			if (this.monitor.getValueStream() == null) {
 				this.monitor.clearValuesInStream();
-				this.monitor.setValueStream(archiveController.openStream(storeConfig.getValueTableName()));
+				this.monitor.setValueStream(archiveController.openLdiStream(storeConfig.getValueTableName(), monitor.isExport()));
 
 				if (this.monitor.getValueStream() == null) {
 					// Unable to write
@@ -772,7 +772,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 			try {
 				this.monitor.incValuesInStream();
 				this.monitor.incValuesProcessed();
-				evrValue.write(this.monitor.getValueStream().getTwo());
+				evrValue.write(this.monitor.getValueStream().getStream());
 			} catch (final IOException ioe) {
 				trace.error(IDbSqlArchiveController.WRITE_ERROR, storeConfig.getValueTableName(), ": ", ioe.getCause());
 				return;
@@ -787,14 +787,14 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 
 			if (this.monitor.getMetadataStream() == null) {
 				this.monitor.clearMetadataInStream();
-				this.monitor.setMetadataStream(archiveController.openStream(storeConfig.getMetadataTableName()));
+				this.monitor.setMetadataStream(archiveController.openLdiStream(storeConfig.getMetadataTableName(), monitor.isExport()));
 				if (this.monitor.getMetadataStream() == null) {
 					// Unable to write
 					return;
 				}
 			}
 
-			final FileOutputStream fos = this.monitor.getMetadataStream().getTwo();
+			final OutputStream fos = this.monitor.getMetadataStream().getStream();
 			boolean crossed = false;
 
 			for (final BytesBuilder nextMetadata : evrMetadata) {
@@ -835,7 +835,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
             if (this.monitor.getValueStream() == null) {
                 this.monitor.clearValuesInStream();
                 ((IAggregateStoreMonitor)this.monitor).clearInProgressRecordCount();
-                this.monitor.setValueStream(archiveController.openStream(storeConfig.getValueTableName()));
+                this.monitor.setValueStream(archiveController.openLdiStream(storeConfig.getValueTableName(), monitor.isExport()));
 
                 if (this.monitor.getValueStream() == null) {
                     // Unable to write
@@ -848,7 +848,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
                 
                 this.monitor.incValuesInStream();
                 this.monitor.incValuesProcessed();
-                caValue.write(this.monitor.getValueStream().getTwo());
+                caValue.write(this.monitor.getValueStream().getStream());
             }
             catch (final IOException ioe) {
                 trace.error(IDbSqlArchiveController.WRITE_ERROR + storeConfig.getValueTableName() + ": ",
@@ -864,14 +864,14 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 
             if (this.monitor.getMetadataStream() == null) {
                 this.monitor.clearMetadataInStream();
-                this.monitor.setMetadataStream(archiveController.openStream(storeConfig.getMetadataTableName()));
+                this.monitor.setMetadataStream(archiveController.openLdiStream(storeConfig.getMetadataTableName(), monitor.isExport()));
                 if (this.monitor.getMetadataStream() == null) {
                     // Unable to write
                     return;
                 }
             }
 
-            final FileOutputStream fos = this.monitor.getMetadataStream().getTwo();
+            final OutputStream fos = this.monitor.getMetadataStream().getStream();
             boolean crossed = false;
 
             for (final BytesBuilder nextMetadata : caMetadata) {
@@ -909,7 +909,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 
 			if (monitor.getValueStream() == null) {
 				monitor.clearValuesInStream();
-				monitor.setValueStream(archiveController.openStream(storeConfig.getValueTableName()));
+				monitor.setValueStream(archiveController.openLdiStream(storeConfig.getValueTableName(), monitor.isExport()));
 
 				if (monitor.getValueStream() == null) {
 					// Unable to write
@@ -920,7 +920,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 			try {
 				monitor.incValuesInStream();
 				monitor.incValuesProcessed();
-				log.write(monitor.getValueStream().getTwo());
+				log.write(monitor.getValueStream().getStream());
 				/** MPCS-7714 Added check */
 				checkStreamCount(monitor.getValuesInStream(), storeConfig.getValueTableName(), 0L,
 						storeConfig.getMetadataTableName());
@@ -943,7 +943,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 
 			if (monitor.getValueStream() == null) {
 				monitor.clearValuesInStream();
-				monitor.setValueStream(archiveController.openStream(storeConfig.getValueTableName()));
+				monitor.setValueStream(archiveController.openLdiStream(storeConfig.getValueTableName(), monitor.isExport()));
 
 				if (monitor.getValueStream() == null) {
 					// Unable to write
@@ -954,7 +954,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 			try {
 				monitor.incValuesInStream();
 				monitor.incValuesProcessed();
-				cfdpData.write(monitor.getValueStream().getTwo());
+				cfdpData.write(monitor.getValueStream().getStream());
 				checkStreamCount(monitor.getValuesInStream(), storeConfig.getValueTableName(), 0L,
 						storeConfig.getMetadataTableName());
 			} catch (final IOException ioe) {
@@ -964,7 +964,7 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 	}
 
 	/**
-	 * Interrupt the gatherer if the streams are large enough. Do interrupt once for
+	 * Wake the gatherer if the streams are large enough. Do wake once for
 	 * either or both.
 	 *
 	 * @param streamCount1
@@ -980,23 +980,23 @@ public abstract class AbstractLDIStore extends AbstractMySqlStore implements ILD
 	 */
 	protected void checkStreamCount(final long streamCount1, final String what1, final long streamCount2,
 			final String what2) {
-		boolean doInterrupt = false;
+		boolean doWake = false;
 
 		if (streamCount1 == archiveController.getLdiRowExceed()) {
-			doInterrupt = true;
+			doWake = true;
 
-			gathererTracer.trace("Gatherer interrupted for ", what1, " at ", archiveController.getLdiRowExceed());
+			gathererTracer.trace("Gatherer woken for ", what1, " at ", archiveController.getLdiRowExceed());
 
 		}
 
 		if (streamCount2 == archiveController.getLdiRowExceed()) {
-			doInterrupt = true;
+			doWake = true;
 
-			gathererTracer.trace("Gatherer interrupted for ", what2, " at ", archiveController.getLdiRowExceed());
+			gathererTracer.trace("Gatherer woken for ", what2, " at ", archiveController.getLdiRowExceed());
 
 		}
 
-		if (doInterrupt) {
+		if (doWake) {
 			archiveController.stopGatherer();
 		}
 	}
@@ -65,6 +65,9 @@ import jpl.gds.shared.types.Pair;
 public class EvrLDIStore extends AbstractLDIStore implements IEvrLDIStore
 {
     private final BytesBuilder _bb = new BytesBuilder();
+
+    /** Metadata builders, reused from EVR to EVR */
+    private final List<BytesBuilder> _bbMeta = new ArrayList<BytesBuilder>();
     private final Integer      _sessionDss;  // Zero means not set
     private final Integer      _sessionVcid; // null means not set
 
@@ -386,7 +389,7 @@ public class EvrLDIStore extends AbstractLDIStore implements IEvrLDIStore
      * @param name Table name
      * @param key  Evr key counter
      *
-     * @return List of populated BytesBuilder
+     * @return List of populated BytesBuilder, valid until the next call
      *
      * @throws DatabaseException SQL exception
      */
@@ -411,8 +414,13 @@ public class EvrLDIStore extends AbstractLDIStore implements IEvrLDIStore
             // Format all the metadata to the EVR metadata SQL
 
             for (final Pair<EvrMetadataKeywordEnum, String> p : metadata.asStrings()) {
-                final BytesBuilder bb_meta = new BytesBuilder();
+                if (bbs.size() == _bbMeta.size()) {
+                    _bbMeta.add(new BytesBuilder());
+                }
+
+                final BytesBuilder bb_meta = _bbMeta.get(bbs.size());
 
+                bb_meta.clear();
                 bbs.add(bb_meta);
 
                 bb_meta.insert(contextConfig.getContextId().getNumber().longValue());
@@ -62,6 +62,7 @@ public class FrameLDIStore extends AbstractLDIStore implements IFrameLDIStore
     private static final int TYPE_LENGTH = 32;
 
     private final BytesBuilder _bb = new BytesBuilder();
+    private final BytesBuilder _bbBody = new BytesBuilder();
     private final Integer          _sessionDss;  // Zero means not set
     private final Integer      _sessionVcid; // null means not set
     private final boolean      _storeIdle;
@@ -316,8 +317,10 @@ public class FrameLDIStore extends AbstractLDIStore implements IFrameLDIStore
 
                 // Add the line statement to the LDI batch
 
-                final BytesBuilder bb_body = new BytesBuilder();
-                
+                final BytesBuilder bb_body = _bbBody;
+
+                bb_body.clear();
+
                 bb_body.insert(contextConfig.getContextId().getNumber().longValue());
                 bb_body.insertSeparator();
                 bb_body.insert(contextConfig.getContextId().getHostId());
@@ -14,7 +14,6 @@
 package jpl.gds.db.mysql.impl.sql.store.ldi;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 
 import org.springframework.context.ApplicationContext;
@@ -27,11 +26,11 @@ import jpl.gds.db.api.sql.store.IStoreMonitor;
 import jpl.gds.db.api.sql.store.StoreIdentifier;
 import jpl.gds.db.api.sql.store.ldi.IGatherer;
 import jpl.gds.db.api.sql.store.ldi.InsertItem;
+import jpl.gds.db.api.sql.store.ldi.LdiStagingStream;
 import jpl.gds.shared.log.Loggers;
 import jpl.gds.shared.log.TraceManager;
 import jpl.gds.shared.log.Tracer;
 import jpl.gds.shared.process.ProcessLauncher;
-import jpl.gds.shared.types.Pair;
 
 /**
  * Wake up every so often and gather the open streams and queue them to the
@@ -45,7 +44,7 @@ import jpl.gds.shared.types.Pair;
  * The logic involving _gatherer_flush requires an explanation. We want to
  * shut down cleanly, which means that the gatherer must flush out any open
  * streams, even if it is "too soon" or the count is not large enough. So we
- * set _gatherer_flush true, and interrupt the gatherer. We want to clear
+ * set _gatherer_flush true, and wake the gatherer. We want to clear
  * _gatherer_flush to inform the shutdown logic that the flush has indeed
  * taken place.
  *
@@ -58,6 +57,14 @@ import jpl.gds.shared.types.Pair;
  * To prevent delays in displaying commands, we accept a wakeup if there are
  * any such to go out. This is OK as there are usually very few commands and
  * statuses.
+ *
+ * The gatherer is woken by a signal rather than a thread interrupt. Signals
+ * sent while the gatherer is busy are coalesced into a single wakeup, and
+ * never abort an export or an enqueue in progress.
+ *
+ * Streams staged in memory are double-buffered: while an inserter has a load
+ * waiting, further memory-staged streams for it are spilled to LDI files, so
+ * memory use stays bounded if the database falls behind.
  */
 public class Gatherer extends Thread implements Runnable, IGatherer {
 
@@ -68,6 +75,16 @@ public class Gatherer extends Thread implements Runnable, IGatherer {
     private final IStoreConfigurationMap    storeConfigMap;
     private final Tracer trace;
 
+    /**
+     * Number of loads an inserter may have waiting before memory-staged
+     * streams for it are spilled to LDI files
+     */
+    private static final int MAX_WAITING_IN_MEMORY = 2;
+
+    /** Lock and flag used to wake the gatherer */
+    private final Object wakeLock = new Object();
+    private boolean wakeRequested = false;
+
     /**
      * @param appContext The Spring Application Context
      */
@@ -80,6 +97,19 @@ public class Gatherer extends Thread implements Runnable, IGatherer {
         this.trace = TraceManager.getTracer(appContext, Loggers.LDI_GATHERER);
     }
 
+    /*
+     * (non-Javadoc)
+     *
+     * @see jpl.gds.db.api.sql.store.ldi.IGatherer#wakeUp()
+     */
+    @Override
+    public void wakeUp() {
+        synchronized (wakeLock) {
+            wakeRequested = true;
+            wakeLock.notifyAll();
+        }
+    }
+
     /**
      * Run method for thread that catches everything.
      */
@@ -98,18 +128,18 @@ public class Gatherer extends Thread implements Runnable, IGatherer {
      * Real run method for thread.
      *
      * Normally we just sleep, and then process any non-empty streams. But
-     * if any stream gets too big, an interrupt is issued. But that will
+     * if any stream gets too big, we are woken. But that will
      * cause the smaller streams to be forced out, and if we get a lot of
-     * interrupts, a lot of very small files. So on interrupt we generally
+     * wakeups, a lot of very small files. So on wakeup we generally
      * want to process only the large streams.
      *
-     * However, if we get a lot of interrupts the effect will be to stop the
+     * However, if we get a lot of wakeups the effect will be to stop the
      * sleeps in the middle, which then means that we will never do the
      * smaller streams at all. So checks are added to monitor the progress
-     * of time whether or not we get interrupts, and then process all
+     * of time whether or not we get wakeups, and then process all
      * streams as if the sleeps finished normally.
      *
-     * Oh, and we are also interrupted when flushing.
+     * Oh, and we are also woken when flushing.
      *
      * @version MPCS-7714 Refactor.
      */
@@ -122,8 +152,8 @@ public class Gatherer extends Thread implements Runnable, IGatherer {
         long desired = ft + System.currentTimeMillis();
 
         while (true) {
-            Pair<File, FileOutputStream> metadataStream = null;
-            Pair<File, FileOutputStream> valueStream = null;
+            LdiStagingStream metadataStream = null;
+            LdiStagingStream valueStream = null;
             long count = 0L;
             long count_body = 0L;
             boolean local_flush = false;
@@ -137,24 +167,30 @@ public class Gatherer extends Thread implements Runnable, IGatherer {
 
             long now = System.currentTimeMillis();
             long delta = Math.max(desired - now, 0L);
+            boolean woken = false;
 
-            try {
-                if (delta > 0L) {
-                    Thread.sleep(delta);
-
-                    now = desired;
-                    delta = 0L;
+            synchronized (wakeLock) {
+                try {
+                    if (!wakeRequested && (delta > 0L)) {
+                        wakeLock.wait(delta);
+                    }
+                }
+                catch (final InterruptedException ie) {
+                    trace.trace("Gatherer wakes up on interrupt", ie);
                 }
 
-                trace.trace("Gatherer wakes up after sleep");
-
+                woken = wakeRequested;
+                wakeRequested = false;
             }
-            catch (final InterruptedException ie) {
-                now = System.currentTimeMillis();
-                delta = Math.max(desired - now, 0L);
 
-                trace.trace("Gatherer wakes up on interrupt", ie);
+            now = System.currentTimeMillis();
+            delta = Math.max(desired - now, 0L);
 
+            if (delta == 0L) {
+                trace.trace("Gatherer wakes up after sleep");
+            }
+            else if (woken) {
+                trace.trace("Gatherer wakes up on signal");
             }
 
             // We must grab this here to insure consistent processing
@@ -264,11 +300,12 @@ public class Gatherer extends Thread implements Runnable, IGatherer {
 
     /**
      * Utility method to queue to inserter. The stream is closed (and flushed),
-     * and the entry created and queued. Note that the input pair and the queued
-     * pair are not the same.
+     * and the entry created and queued. A memory-staged stream is queued as is
+     * unless the inserter already has enough loads waiting, in which case it
+     * is spilled to an LDI file first.
      *
-     * @param fos
-     *            File and associated stream
+     * @param staging
+     *            Staging stream
      * @param table
      *            Database table name
      * @param fields
@@ -282,19 +319,39 @@ public class Gatherer extends Thread implements Runnable, IGatherer {
      * @param inserter
      *            Inserter to queue to
      */
-    private void enqueue(final IStoreMonitor monitor, final Pair<File, FileOutputStream> fos, final String table, final String fields, final String setClause, final long count) {
-        final File file = fos.getOne();
-        final String name = file.getAbsolutePath();
-        
+    private void enqueue(final IStoreMonitor monitor, final LdiStagingStream staging, final String table, final String fields, final String setClause, final long count) {
         try {
             // Flush and close
-            fos.getTwo().close();
+            staging.close();
         }
         catch (final IOException ioe) {
-            trace.error("Unable to close '" + name + "': ", ioe);
+            trace.error("Unable to close LDI stream for '" + table + "': ", ioe);
+            staging.release();
             return;
         }
 
+        final File file;
+
+        if (staging.isInMemory()) {
+            if (monitor.getInserter().size() < MAX_WAITING_IN_MEMORY) {
+                monitor.getInserter().add(new InsertItem(staging, fields, count, setClause));
+                trace.debug("Queuing ", staging.size(), " bytes in memory for ", table, " with ", count,
+                            " rows to ", monitor.getSi());
+                return;
+            }
+
+            file = Inserter.spillToFile(archiveController, staging, table, trace);
+
+            if (file == null) {
+                return;
+            }
+        }
+        else {
+            file = staging.getFile();
+        }
+
+        final String name = file.getAbsolutePath();
+
         if (monitor.isExport()) {
             // Hard link the LDI file to the export directory
 
@@ -14,6 +14,12 @@
 package jpl.gds.db.mysql.impl.sql.store.ldi;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -31,11 +37,13 @@ import jpl.gds.db.api.sql.store.IAggregateStoreMonitor;
 import jpl.gds.db.api.sql.store.StoreIdentifier;
 import jpl.gds.db.api.sql.store.ldi.IInserter;
 import jpl.gds.db.api.sql.store.ldi.InsertItem;
+import jpl.gds.db.api.sql.store.ldi.LdiStagingStream;
 import jpl.gds.shared.config.PerformanceProperties;
 import jpl.gds.shared.log.Tracer;
 import jpl.gds.shared.performance.IPerformanceData;
 import jpl.gds.shared.performance.QueuePerformanceData;
 import jpl.gds.shared.thread.SleepUtilities;
+import jpl.gds.shared.types.Pair;
 
 /**
  * Waits for a queue entry (or shutdown), creates LDI command, and executes it.
@@ -48,6 +56,12 @@ import jpl.gds.shared.thread.SleepUtilities;
  *
  * This is a thread. It traps all throwables in order to log.
  *
+ * Items staged in memory are loaded from a stream over the staged rows, using
+ * the JDBC driver's local infile stream support, so that no LDI file is
+ * written. If the driver does not offer that support, or a load from memory
+ * fails, the rows are spilled to an LDI file and loaded from the file as
+ * usual.
+ *
  * Detailed comments are mostly in-line.
  */
 public class Inserter extends Thread implements Runnable, IInserter {
@@ -62,6 +76,12 @@ public class Inserter extends Thread implements Runnable, IInserter {
     // field list
     private static final String                LDI4             = ")";
 
+    // Placeholder file name for loads from memory; the driver reads the stream instead
+    private static final String                STREAM_FILE      = "ldi_stream";
+
+    // Driver method that supplies the local infile stream for the next statement
+    private static final String                SET_STREAM       = "setLocalInfileInputStream";
+
     private final long                         DBCONFIG_SLEEP   = 250L;
     
     // MPCS-10410 : Add performance metric debug
@@ -78,6 +98,10 @@ public class Inserter extends Thread implements Runnable, IInserter {
     // True if LDI files should be run as CONCURRENT
     private boolean                            concurrent       = false;
 
+    // False once the driver is found not to support loads from memory
+    private boolean                            streamSupported  = true;
+    private Method                             setStream        = null;
+
     // MPCS-7168 - Added members for performance tracking.
     private QueuePerformanceData               queuePerformance = null;
     private long                               high_water_mark  = 0;
@@ -330,41 +354,32 @@ public class Inserter extends Thread implements Runnable, IInserter {
                 continue;
             }
 
-            final File file = element.getOne();
-            final String fileName = file.getAbsolutePath();
             final String table = element.getTwo();
+            final LdiStagingStream staging = element.getStaging();
+            File file = element.getOne();
 
-            if (!checkFileExistence(file, fileName)) {
-                // Give up on this one
-                continue;
-            }
-
-            // Build SQL statement
-            sb.setLength(0);
-            if (this.concurrent) {
-                sb.append(LDI0C);
-            }
-            else {
-                sb.append(LDI0);
-            }
+            if (staging != null) {
+                if (loadFromMemory(sb, element, staging)) {
+                    continue;
+                }
 
-            sb.append(fileName); // File name (path)
-            sb.append(LDI1);
-            archiveController.getActualTableName(sb, table);
-            sb.append(LDI2);
+                // Fall back to loading from a file
+                file = spillToFile(archiveController, staging, table, ldiTracer);
 
-            if (IDbSqlArchiveController.USE_FIELDS) {
-                sb.append(LDI3);
-                sb.append(element.getThree()); // Field list
-                sb.append(LDI4);
+                if (file == null) {
+                    continue;
+                }
             }
 
-            // Append set clause if there is one
-            final String setClause = element.getSetClause();
+            final String fileName = file.getAbsolutePath();
 
-            if (setClause != null) {
-                sb.append(" ").append(setClause);
+            if (!checkFileExistence(file, fileName)) {
+                // Give up on this one
+                continue;
             }
+
+            // Build SQL statement
+            buildSql(sb, fileName, element);
             
             // MPCS-10410 : Add performance metric debug
             long aggregateRecordCount = 0;
@@ -476,6 +491,159 @@ public class Inserter extends Thread implements Runnable, IInserter {
         ldiTracer.debug("Inserter " + si.name() + " exits");
     }
 
+    /**
+     * Build the LDI statement for an item.
+     *
+     * @param sb
+     *            Builder to build the statement in; cleared first
+     * @param fileName
+     *            File name (path) to load from
+     * @param element
+     *            Item to load
+     */
+    private void buildSql(final StringBuilder sb, final String fileName, final InsertItem element) {
+        sb.setLength(0);
+        if (this.concurrent) {
+            sb.append(LDI0C);
+        }
+        else {
+            sb.append(LDI0);
+        }
+
+        sb.append(fileName); // File name (path)
+        sb.append(LDI1);
+        archiveController.getActualTableName(sb, element.getTwo());
+        sb.append(LDI2);
+
+        if (IDbSqlArchiveController.USE_FIELDS) {
+            sb.append(LDI3);
+            sb.append(element.getThree()); // Field list
+            sb.append(LDI4);
+        }
+
+        // Append set clause if there is one
+        final String setClause = element.getSetClause();
+
+        if (setClause != null) {
+            sb.append(" ").append(setClause);
+        }
+    }
+
+    /**
+     * Load an item staged in memory, by supplying a stream over the staged rows
+     * to the driver in place of a file. The load is attempted once; the caller
+     * falls back to a file, with the usual retries, if it fails.
+     *
+     * @param sb
+     *            Builder to build the statement in
+     * @param element
+     *            Item to load
+     * @param staging
+     *            Memory-backed staging stream holding the rows
+     *
+     * @return True if the rows were loaded (or LDI is disabled) and the
+     *         staging stream has been released; false if the caller must
+     *         load the rows from a file
+     */
+    private boolean loadFromMemory(final StringBuilder sb, final InsertItem element, final LdiStagingStream staging) {
+        if (IDbSqlArchiveController.NO_LDI) {
+            staging.release();
+            return true;
+        }
+
+        if (!streamSupported) {
+            return false;
+        }
+
+        buildSql(sb, STREAM_FILE, element);
+
+        final String sql = sb.toString();
+        final String table = element.getTwo();
+
+        try {
+            final Statement statement = connection.getStatement();
+
+            if ((setStream == null) || !setStream.getDeclaringClass().isInstance(statement)) {
+                setStream = statement.getClass().getMethod(SET_STREAM, InputStream.class);
+            }
+
+            final long sqlStartTime = System.nanoTime();
+
+            setStream.invoke(statement, staging.getInputStream());
+            try {
+                statement.execute(sql);
+            }
+            finally {
+                setStream.invoke(statement, (Object) null);
+            }
+
+            final long sqlDuration = (System.nanoTime() - sqlStartTime);
+            final long sqlNumRec = element.getFour();
+
+            ldiTracer.debug("LDI SQL END FOR TABLE '", table, "' FROM MEMORY : "
+                    , String.format("%.2f",(sqlDuration/ONE_MILLION)), " msecs for "
+                    , sqlNumRec, " records, rate: "
+                    , String.format("%.2f", (sqlNumRec/(sqlDuration/ONE_BILLION)))
+                    , " (rec/sec) : ", sql);
+
+            staging.release();
+            return true;
+        }
+        catch (final NoSuchMethodException | IllegalAccessException e) {
+            streamSupported = false;
+            ldiTracer.warn("Inserter " + si.name() + ": JDBC driver cannot load from memory, using LDI files: "
+                    + e);
+        }
+        catch (final DatabaseException | SQLException e) {
+            ldiTracer.warn("Unable to load '" + table + "' from memory, using an LDI file: " + e);
+        }
+        catch (final ReflectiveOperationException e) {
+            ldiTracer.warn("Unable to load '" + table + "' from memory, using an LDI file: " + e.getCause());
+        }
+
+        return false;
+    }
+
+    /**
+     * Write the rows of a memory-backed staging stream to a new LDI file and
+     * release the stream.
+     *
+     * @param archiveController
+     *            Archive controller used to open the file
+     * @param staging
+     *            Memory-backed staging stream
+     * @param table
+     *            Database table name
+     * @param tracer
+     *            Tracer to log errors to
+     *
+     * @return The LDI file, or null if it could not be written
+     */
+    static File spillToFile(final IDbSqlArchiveController archiveController, final LdiStagingStream staging,
+                            final String table, final Tracer tracer) {
+        try {
+            final Pair<File, FileOutputStream> pfos = archiveController.openStream(table);
+
+            if (pfos == null) {
+                // Already logged
+                return null;
+            }
+
+            try (FileOutputStream fos = pfos.getTwo()) {
+                staging.writeTo(fos);
+            }
+            catch (final IOException ioe) {
+                tracer.error("Unable to write '" + pfos.getOne().getAbsolutePath() + "': ", ioe);
+                return null;
+            }
+
+            return pfos.getOne();
+        }
+        finally {
+            staging.release();
+        }
+    }
+
     /**
      * Check that the file exists and can be read. Try several times.
      *
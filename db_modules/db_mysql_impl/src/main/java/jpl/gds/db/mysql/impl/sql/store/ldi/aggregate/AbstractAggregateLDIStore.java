@@ -71,6 +71,12 @@ public abstract class AbstractAggregateLDIStore extends AbstractLDIStore {
      */
     protected final List<BytesBuilder> bbcl = new ArrayList<>();
 
+    /**
+     * ChannelLink builders reused from aggregate to aggregate; the first
+     * bbcl.size() of them are in use
+     */
+    private final List<BytesBuilder> bbclFree = new ArrayList<>();
+
     /**
      * Ids for this master key, by channel type. Atomic is used for
      * convenience as a holder of an integer with useful methods.
@@ -196,6 +202,7 @@ public abstract class AbstractAggregateLDIStore extends AbstractLDIStore {
 
         try {
             bb.clear();
+            bbcl.clear();
             insertChannelAggregate(aggregateObj);
             trace.trace("Writing aggregated ", bb, " bytes to stream.. ", bb.getBytes().length);
             writeToStream(bb, bbcl.toArray(new BytesBuilder[bbcl.size()]), aggregateObj.getValuesCount());
@@ -275,7 +282,7 @@ public abstract class AbstractAggregateLDIStore extends AbstractLDIStore {
      *
      * @throws DatabaseException
      *             SQL error
-     * @return BytesBuilder object
+     * @return BytesBuilder object, reused once the aggregate has been written
      */
     protected BytesBuilder prepareChannelData(
     		final ApplicationContext    appContext,
@@ -286,11 +293,15 @@ public abstract class AbstractAggregateLDIStore extends AbstractLDIStore {
             final long                  id)
                     throws DatabaseException
     {
-    	final BytesBuilder bb = new BytesBuilder();
+        if (bbcl.size() == bbclFree.size()) {
+            bbclFree.add(new BytesBuilder());
+        }
+
+        final BytesBuilder bb = bbclFree.get(bbcl.size());
         final ChannelType chanType = ChannelType.valueOf(member.getDn().getType().name().substring("DN_TYPE_".length()));
 
         try {
-            //bb.clear();
+            bb.clear();
 
             bb.insert(contextConfig.getContextId().getNumber());
             bb.insertSeparator();
@@ -108,7 +108,11 @@ public enum EConfigurationPropertyKey {
 
     // MPCS-12381  - 1/2022
     // Add configuration option for the maximum source filename length per FGICD
-    MAXIMUM_SOURCE_FILENAME_LENGTH_PROPERTY("maximum.source.filename.length");
+    MAXIMUM_SOURCE_FILENAME_LENGTH_PROPERTY("maximum.source.filename.length"),
+
+    // Add configuration options for waking the engine on inbound PDUs and actions instead of cycling at a fixed period
+    ENGINE_EVENT_DRIVEN_ENABLED_PROPERTY("engine.event.driven.enabled"),
+    ENGINE_MAXIMUM_WAIT_WHEN_NO_TRANSACTIONS_MILLIS_PROPERTY("engine.maximum.wait.when.no.transactions.millis");
 
     private static final String PROPERTY_PREFIX = "cfdp.processor.";
 
@@ -23,6 +23,7 @@ import org.springframework.stereotype.Service;
 import com.lmax.disruptor.RingBuffer;
 
 import jpl.gds.cfdp.processor.config.ConfigurationManager;
+import jpl.gds.cfdp.processor.engine.cycler.EngineWakeSignal;
 
 @Service
 @DependsOn("configurationManager")
@@ -31,11 +32,15 @@ public class ActionRingBufferManager {
 	@Autowired
 	private ConfigurationManager configurationManager;
 
+	@Autowired
+	private EngineWakeSignal engineWakeSignal;
+
 	private RingBuffer<ActionEvent> ringBuffer;
 
 	@PostConstruct
 	public void init() {
-		ringBuffer = RingBuffer.createMultiProducer(ActionEvent::new, configurationManager.getActionRingBufferSize());
+		ringBuffer = RingBuffer.createMultiProducer(ActionEvent::new, configurationManager.getActionRingBufferSize(),
+				engineWakeSignal.newWaitStrategy());
 	}
 
 	/**
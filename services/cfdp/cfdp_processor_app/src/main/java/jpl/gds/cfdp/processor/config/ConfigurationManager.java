@@ -512,6 +512,26 @@ public class ConfigurationManager implements IDirectoriesConfigurationLookup, IM
                 EConfigurationPropertyKey.ENGINE_CYCLE_MINIMUM_INTERVAL_WHEN_IDLE_MILLIS_PROPERTY.toString()));
     }
 
+    /**
+     * @return the
+     * EConfigurationPropertyKey.ENGINE_EVENT_DRIVEN_ENABLED_PROPERTY
+     * property value
+     */
+    public boolean isEngineEventDrivenEnabled() {
+        return Boolean.parseBoolean(configProperties.getProperty(
+                EConfigurationPropertyKey.ENGINE_EVENT_DRIVEN_ENABLED_PROPERTY.toString()));
+    }
+
+    /**
+     * @return the
+     * EConfigurationPropertyKey.ENGINE_MAXIMUM_WAIT_WHEN_NO_TRANSACTIONS_MILLIS_PROPERTY
+     * property value
+     */
+    public long getEngineMaximumWaitWhenNoTransactionsMillis() {
+        return Long.parseLong(configProperties.getProperty(
+                EConfigurationPropertyKey.ENGINE_MAXIMUM_WAIT_WHEN_NO_TRANSACTIONS_MILLIS_PROPERTY.toString()));
+    }
+
     /**
      * @return the
      * EConfigurationPropertyKey.PDU_FILE_READ_BUFFER_SIZE_BYTES_PROPERTY
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2006-2019. California Institute of Technology.
+ *  ALL RIGHTS RESERVED.
+ *  U.S. Government sponsorship acknowledged.
+ *
+ *  This software is subject to U. S. export control laws and
+ *  regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ *  extent that the software is subject to U.S. export control laws
+ *  and regulations, the recipient has the responsibility to obtain
+ *  export licenses or other export authority as may be required
+ *  before exporting such information to foreign countries or
+ *  providing access to foreign nationals.
+ */
+
+package jpl.gds.cfdp.processor.engine.cycler;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.EventPoller;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.WaitStrategy;
+import jpl.gds.shared.performance.MicroBenchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * {@code CfdpEngineCyclerBenchmark} compares the event-driven engine cycler with the fixed-period cycler it replaced.
+ *
+ * The GSFC CFDP Library needs a full processor configuration and session, so the engine here is a model of
+ * {@link CfdpProcessorEngineCycler#run()}: each cycle takes at most one inbound PDU and all pending actions from ring
+ * buffers, cycles the "library", which sends one PDU per inbound PDU or put action, and then waits or sleeps under
+ * the same rules as the real cycler. Only the waiting differs between the two engines measured.
+ *
+ * Two things are measured:
+ * <ul>
+ * <li>File-transfer throughput: a remote entity sends each PDU of a transfer once it has received the engine's reply
+ * to the previous one, as in the acknowledged exchanges of a class 2 transfer, reported as PDU exchanges per
+ * second.</li>
+ * <li>Time to first PDU: a put action is issued to an idle engine at a random point in its cycle, and the time until
+ * the engine sends the transfer's first PDU is recorded.</li>
+ * </ul>
+ *
+ * The fixed-period engine needs about one minimum cycle interval per exchange, so the default interval is shorter than
+ * the configured default of 1000 ms to keep the run short; its results scale with the interval.
+ *
+ * Usage: CfdpEngineCyclerBenchmark [minimum-interval-millis [exchanges-per-round [first-pdu-samples]]]
+ */
+public final class CfdpEngineCyclerBenchmark {
+
+    private static final long DEFAULT_INTERVAL_MILLIS = 20L;
+    private static final long DEFAULT_EXCHANGES = 100L;
+    private static final int DEFAULT_SAMPLES = 50;
+    private static final long MAXIMUM_WAIT_WHEN_NO_TRANSACTIONS_MILLIS = 10_000L;
+    private static final int RING_BUFFER_SIZE = 1024;
+
+    private CfdpEngineCyclerBenchmark() {
+        // main only
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optional minimum cycle interval in milliseconds, PDU exchanges per round and number of
+     *             time-to-first-PDU samples
+     * @throws Exception if the engine fails
+     */
+    public static void main(final String[] args) throws Exception {
+        final long interval = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_INTERVAL_MILLIS;
+        final long exchanges = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_EXCHANGES;
+        final int samples = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_SAMPLES;
+
+        final MicroBenchmark bench = new MicroBenchmark(1, 5, System.out);
+
+        final double[] throughput = new double[2];
+        final long[][] firstPdu = new long[2][];
+
+        for (final boolean eventDriven : new boolean[]{true, false}) {
+            final String mode = eventDriven ? "event-driven" : "fixed-period";
+            final ModelEngine engine = new ModelEngine(eventDriven, interval);
+            final Thread thread = new Thread(engine, "CfdpEngineCyclerBenchmark-" + mode);
+            thread.setDaemon(true);
+            thread.start();
+
+            try {
+                throughput[eventDriven ? 0 : 1] = bench.measure(mode + " engine, PDU exchanges", exchanges,
+                        n -> engine.transfer(n));
+                firstPdu[eventDriven ? 0 : 1] = engine.timeToFirstPdu(samples, new Random(42));
+                report(mode + " engine, time to first PDU", firstPdu[eventDriven ? 0 : 1]);
+            } finally {
+                thread.interrupt();
+                thread.join();
+            }
+
+        }
+
+        bench.compare("file-transfer throughput speedup", throughput[0], throughput[1]);
+        System.out.printf("%-48s %16.2fx%n", "time to first PDU, median reduction",
+                (double) median(firstPdu[1]) / Math.max(1L, median(firstPdu[0])));
+    }
+
+    private static long median(final long[] sorted) {
+        return sorted[sorted.length / 2];
+    }
+
+    private static void report(final String name, final long[] sorted) {
+        System.out.printf("%-48s %,16.3f ms median  (best %,.3f, 99th percentile %,.3f, %d samples)%n", name,
+                median(sorted) / 1.0e6, sorted[0] / 1.0e6, sorted[(int) (sorted.length * 0.99)] / 1.0e6,
+                sorted.length);
+    }
+
+    /**
+     * An inbound PDU or user action in a ring buffer.
+     */
+    private static final class Event {
+        private long transaction;
+    }
+
+    /**
+     * The engine cycle loop, with the GSFC CFDP Library replaced by a reply queue.
+     */
+    private static final class ModelEngine implements Runnable {
+
+        private final boolean eventDriven;
+        private final long intervalMillis;
+        private final EngineWakeSignal wakeSignal = new EngineWakeSignal();
+        private final RingBuffer<Event> inboundPdus;
+        private final RingBuffer<Event> actions;
+        private final EventPoller<Event> inboundPduPoller;
+        private final EventPoller<Event> actionPoller;
+
+        /** PDUs the library will send on its next cycle */
+        private final long[] toSend = new long[RING_BUFFER_SIZE * 2];
+        private int toSendCount;
+
+        /** PDUs sent by the engine, to the remote entity */
+        private final BlockingQueue<Long> sent = new ArrayBlockingQueue<>(RING_BUFFER_SIZE * 2);
+
+        private volatile int openTransactions;
+
+        private ModelEngine(final boolean eventDriven, final long intervalMillis) {
+            this.eventDriven = eventDriven;
+            this.intervalMillis = intervalMillis;
+
+            // The fixed-period engine's ring buffers used the disruptor's default wait strategy
+            final WaitStrategy inboundWait = eventDriven ? wakeSignal.newWaitStrategy() : new BlockingWaitStrategy();
+            final WaitStrategy actionWait = eventDriven ? wakeSignal.newWaitStrategy() : new BlockingWaitStrategy();
+            inboundPdus = RingBuffer.createMultiProducer(Event::new, RING_BUFFER_SIZE, inboundWait);
+            actions = RingBuffer.createMultiProducer(Event::new, RING_BUFFER_SIZE, actionWait);
+            inboundPduPoller = inboundPdus.newPoller();
+            inboundPdus.addGatingSequences(inboundPduPoller.getSequence());
+            actionPoller = actions.newPoller();
+            actions.addGatingSequences(actionPoller.getSequence());
+        }
+
+        @Override
+        public void run() {
+
+            try {
+
+                while (!Thread.currentThread().isInterrupted()) {
+                    final long cycleStartTimeMillis = System.currentTimeMillis();
+                    final boolean[] canSleepThisCycle = {true};
+
+                    // Step 1: at most one inbound PDU
+                    inboundPduPoller.poll((event, sequence, endOfBatch) -> {
+                        toSend[toSendCount++] = event.transaction;
+                        canSleepThisCycle[0] = canSleepThisCycle[0] && endOfBatch;
+                        return false;
+                    });
+
+                    // Step 2: all actions; a put opens a transaction and sends its metadata PDU
+                    actionPoller.poll((event, sequence, endOfBatch) -> {
+                        toSend[toSendCount++] = event.transaction;
+                        canSleepThisCycle[0] = canSleepThisCycle[0] && endOfBatch;
+                        return true;
+                    });
+
+                    // Step 4: cycle the library
+                    final boolean pduSentThisCycle = toSendCount > 0;
+                    for (int i = 0; i < toSendCount; i++) {
+                        sent.put(toSend[i]);
+                    }
+                    toSendCount = 0;
+                    canSleepThisCycle[0] = canSleepThisCycle[0] && !pduSentThisCycle;
+
+                    final long millisLeftInThisCycle = intervalMillis
+                            - (System.currentTimeMillis() - cycleStartTimeMillis);
+
+                    if (canSleepThisCycle[0]) {
+
+                        if (eventDriven) {
+                            wakeSignal.await(openTransactions == 0 ? MAXIMUM_WAIT_WHEN_NO_TRANSACTIONS_MILLIS
+                                    : millisLeftInThisCycle);
+                        } else if (millisLeftInThisCycle > 0) {
+                            MILLISECONDS.sleep(millisLeftInThisCycle);
+                        }
+
+                    }
+
+                }
+
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            } catch (final Exception e) {
+                e.printStackTrace();
+            }
+
+        }
+
+        /**
+         * Runs one transfer of the given number of PDU exchanges with the engine, acting as the remote entity.
+         *
+         * @return number of replies received
+         */
+        private long transfer(final long exchanges) throws InterruptedException {
+            openTransactions = 1;
+
+            try {
+                long replies = 0;
+
+                for (long i = 0; i < exchanges; i++) {
+                    final long transaction = i;
+                    inboundPdus.publishEvent((event, sequence) -> event.transaction = transaction);
+                    awaitReply(transaction);
+                    replies++;
+                }
+
+                return replies;
+            } finally {
+                openTransactions = 0;
+            }
+
+        }
+
+        /**
+         * Issues put actions to the idle engine at random points in its cycle.
+         *
+         * @return sorted nanoseconds from each put to the transfer's first PDU
+         */
+        private long[] timeToFirstPdu(final int samples, final Random random) throws InterruptedException {
+            final long[] elapsed = new long[samples];
+
+            for (int i = 0; i < samples; i++) {
+                // Let the engine go idle, then arrive part way through its cycle
+                MILLISECONDS.sleep(intervalMillis + random.nextInt((int) Math.max(1L, intervalMillis)));
+
+                final long transaction = -1L - i;
+                final long start = System.nanoTime();
+                actions.publishEvent((event, sequence) -> event.transaction = transaction);
+                awaitReply(transaction);
+                elapsed[i] = System.nanoTime() - start;
+            }
+
+            Arrays.sort(elapsed);
+            return elapsed;
+        }
+
+        private void awaitReply(final long transaction) throws InterruptedException {
+            final Long reply = sent.poll(MAXIMUM_WAIT_WHEN_NO_TRANSACTIONS_MILLIS * 2, TimeUnit.MILLISECONDS);
+
+            if (reply == null || reply != transaction) {
+                throw new IllegalStateException("Expected a PDU for " + transaction + ", got " + reply);
+            }
+
+        }
+
+    }
+
+}
@@ -117,6 +117,9 @@ public class CfdpProcessorEngineCycler implements Runnable {
     @Autowired
     private MessagesToUserMapManager mtuManager;
 
+    @Autowired
+    private EngineWakeSignal engineWakeSignal;
+
     @Override
     public void run() {
         log = TraceManager.getTracer(appContext, Loggers.CFDP);
@@ -500,8 +503,22 @@ public class CfdpProcessorEngineCycler implements Runnable {
                 final long millisLeftInThisCycle = configurationManager.getEngineCycleMinimumIntervalWhenIdleMillis()
                         - (Instant.now().toEpochMilli() - cycleStartTimeMillis);
 
-                if (canSleepThisCycle.get() && millisLeftInThisCycle > 0) {
-                    MILLISECONDS.sleep(millisLeftInThisCycle);
+                if (canSleepThisCycle.get()) {
+
+                    if (configurationManager.isEngineEventDrivenEnabled()) {
+                        /*
+                         * Wake as soon as an inbound PDU or action is published. Open transactions have timers
+                         * inside the GSFC CFDP Library that only advance when it is cycled, so while there are any,
+                         * wait no longer than the rest of the cycle. With none, the engine can stay idle for longer.
+                         */
+                        final long waitMillis = gsfcManager.getListOfTransactions().isEmpty()
+                                ? configurationManager.getEngineMaximumWaitWhenNoTransactionsMillis()
+                                : millisLeftInThisCycle;
+                        engineWakeSignal.await(waitMillis);
+                    } else if (millisLeftInThisCycle > 0) {
+                        MILLISECONDS.sleep(millisLeftInThisCycle);
+                    }
+
                 }
 
             }
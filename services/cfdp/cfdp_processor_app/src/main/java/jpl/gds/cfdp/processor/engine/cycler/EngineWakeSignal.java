@@ -0,0 +1,121 @@
+/*
+ * Copyright 2006-2019. California Institute of Technology.
+ *  ALL RIGHTS RESERVED.
+ *  U.S. Government sponsorship acknowledged.
+ *
+ *  This software is subject to U. S. export control laws and
+ *  regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ *  extent that the software is subject to U.S. export control laws
+ *  and regulations, the recipient has the responsibility to obtain
+ *  export licenses or other export authority as may be required
+ *  before exporting such information to foreign countries or
+ *  providing access to foreign nationals.
+ */
+
+package jpl.gds.cfdp.processor.engine.cycler;
+
+import com.lmax.disruptor.AlertException;
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.WaitStrategy;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code EngineWakeSignal} lets the engine cycler sleep until there is work for it, rather than for a fixed period.
+ *
+ * The ring buffers that feed the engine are created with this signal's wait strategy, which raises the signal every
+ * time an event is published to them. Inbound PDUs and user actions therefore wake an idle engine as soon as they
+ * arrive.
+ *
+ * A signal raised while the engine is busy is remembered, so the engine's next wait returns immediately.
+ */
+@Service
+public class EngineWakeSignal {
+
+    private final Object lock = new Object();
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private volatile boolean waiting;
+
+    /**
+     * Wakes the engine if it is waiting, or stops its next wait if it is not.
+     */
+    public void signal() {
+
+        if (pending.compareAndSet(false, true) && waiting) {
+
+            synchronized (lock) {
+                lock.notifyAll();
+            }
+
+        }
+
+    }
+
+    /**
+     * Waits until signalled or until the timeout expires, whichever is first. Returns immediately if signalled since
+     * the last wait. Clears the signal.
+     *
+     * @param timeoutMillis maximum time to wait, in milliseconds; 0 or less does not wait
+     * @return true if signalled, false if the timeout expired
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean await(final long timeoutMillis) throws InterruptedException {
+
+        if (timeoutMillis > 0 && !pending.get()) {
+
+            synchronized (lock) {
+                waiting = true;
+
+                try {
+                    final long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+                    long remainingMillis = timeoutMillis;
+
+                    // Loop to absorb spurious wakeups
+                    while (!pending.get() && remainingMillis > 0) {
+                        lock.wait(remainingMillis);
+                        remainingMillis = (deadline - System.nanoTime()) / 1_000_000L;
+                    }
+
+                } finally {
+                    waiting = false;
+                }
+
+            }
+
+        }
+
+        return pending.getAndSet(false);
+    }
+
+    /**
+     * Creates a ring buffer wait strategy that raises this signal whenever an event is published. Consumers that
+     * block on the ring buffer wait as with {@link BlockingWaitStrategy}.
+     *
+     * @return new wait strategy
+     */
+    public WaitStrategy newWaitStrategy() {
+        final WaitStrategy delegate = new BlockingWaitStrategy();
+
+        return new WaitStrategy() {
+
+            @Override
+            public long waitFor(final long sequence, final Sequence cursor, final Sequence dependentSequence,
+                                final SequenceBarrier barrier)
+                    throws AlertException, InterruptedException, TimeoutException {
+                return delegate.waitFor(sequence, cursor, dependentSequence, barrier);
+            }
+
+            @Override
+            public void signalAllWhenBlocking() {
+                delegate.signalAllWhenBlocking();
+                signal();
+            }
+
+        };
+    }
+
+}
@@ -24,6 +24,7 @@ import org.springframework.stereotype.Service;
 import com.lmax.disruptor.RingBuffer;
 
 import jpl.gds.cfdp.processor.config.ConfigurationManager;
+import jpl.gds.cfdp.processor.engine.cycler.EngineWakeSignal;
 import jpl.gds.shared.log.Loggers;
 import jpl.gds.shared.log.TraceManager;
 
@@ -37,13 +38,16 @@ public class InboundPduRingBufferManager {
     @Autowired
     private ConfigurationManager configurationManager;
 
+    @Autowired
+    private EngineWakeSignal engineWakeSignal;
+
     private RingBuffer<InboundPduEvent> ringBuffer;
 
     @PostConstruct
     public void init() {
         InboundPduEvent.setLog(TraceManager.getTracer(appContext, Loggers.CFDP));
         ringBuffer = RingBuffer.createMultiProducer(InboundPduEvent::new,
-                configurationManager.getInboundPduRingBufferSize());
+                configurationManager.getInboundPduRingBufferSize(), engineWakeSignal.newWaitStrategy());
     }
 
     /**
@@ -71,6 +71,9 @@ public class GlobalLadProperties extends GdsHierarchicalProperties {
 	public static final String GLAD_ENABLED_PROPERTY = PROPERTY_PREFIX + "enabled";
 	public static final String DATA_FACTORY_PROPERTY = PROPERTY_PREFIX + "internal.dataFactoryClass";
 	public static final String RING_BUFFER_PROPERTY = PROPERTY_PREFIX + "internal.containers.ringBuffer";
+	public static final String OFF_HEAP_RECORD_SIZE_PROPERTY = PROPERTY_PREFIX + "internal.containers.offHeap.recordSize";
+	public static final String OFF_HEAP_SEGMENT_RECORDS_PROPERTY = PROPERTY_PREFIX + "internal.containers.offHeap.segmentRecords";
+	public static final String OFF_HEAP_MAX_BYTES_PROPERTY = PROPERTY_PREFIX + "containers.offHeap.maxBytes";
 	public static final String CHILD_MAPPING_PROPERTY_BASE = PROPERTY_PREFIX + "containers.childContainers";
 	
 	public static final String DATA_DEPTH_PROPERTY = PROPERTY_PREFIX + "containers.depth.default";
@@ -82,6 +85,7 @@ public class GlobalLadProperties extends GdsHierarchicalProperties {
 	public static final String SOCKET_SERVER_CONNECT_RETRY_COUNT = PROPERTY_PREFIX + "server.retrycount";
 	public static final String SOCKET_SERVER_CONNECT_RETRY_DELAY_MILLIS = PROPERTY_PREFIX + "server.retrydelay";
 	public static final String REST_SERVER_PORT_PROPERTY = PROPERTY_PREFIX + "rest.port";
+	public static final String REST_QUERY_THREADS_PROPERTY = PROPERTY_PREFIX + "rest.query.threads";
 	
 	public static final String DOWNLINK_RING_BUFFER_SIZE_PROPERTY = PROPERTY_PREFIX + "disruptor.downlink.ringBufferSize";
 	public static final String CLIENT_RING_BUFFER_SIZE_PROPERTY = PROPERTY_PREFIX + "disruptor.client.ringBufferSize";
@@ -147,6 +151,9 @@ public class GlobalLadProperties extends GdsHierarchicalProperties {
 	private static final String PERSISTER_MAX_SIZE_PROPERTY = PROPERTY_PREFIX + "persistence.backup.maxSize";
 	private static final String PERSISTER_INTERVAL_PROPERTY = PROPERTY_PREFIX + "persistence.backup.interval";
 	private static final String PERSISTER_BASENAME_PROPERTY = PROPERTY_PREFIX + "persistence.backup.basename";
+	private static final String PERSISTER_WAL_ENABLED_PROPERTY = PROPERTY_PREFIX + "persistence.wal.enabled";
+	private static final String PERSISTER_WAL_SEGMENT_SIZE_PROPERTY = PROPERTY_PREFIX + "persistence.wal.segmentSize";
+	private static final String PERSISTER_WAL_SNAPSHOT_THRESHOLD_PROPERTY = PROPERTY_PREFIX + "persistence.wal.snapshotThreshold";
 	
 	private static final String DOWNLINK_SINK_PUBLISH_RETRY_PROPERTY = PROPERTY_PREFIX + "downlink.sink.publishRetry";
 	private static final String DOWNLINK_SINK_PUBLISH_RETRY_INTERVAL_PROPERTY = "globallad.downlink.sink.publishRetryInterval";
@@ -179,6 +186,9 @@ public class GlobalLadProperties extends GdsHierarchicalProperties {
 	
 	private final String dataFactoryClassName;
 	private final String ringBufferClassName;
+	private final int offHeapRecordSize;
+	private final int offHeapSegmentRecords;
+	private final long offHeapMaxBytes;
 	private final boolean isEnabled;
 	private final boolean isDebug;
 	
@@ -259,6 +269,9 @@ public class GlobalLadProperties extends GdsHierarchicalProperties {
 		
 		dataFactoryClassName = getProperty(DATA_FACTORY_PROPERTY);
 		ringBufferClassName = getProperty(RING_BUFFER_PROPERTY);
+		offHeapRecordSize = Math.max(64, getIntProperty(OFF_HEAP_RECORD_SIZE_PROPERTY, 256));
+		offHeapSegmentRecords = Math.max(1, getIntProperty(OFF_HEAP_SEGMENT_RECORDS_PROPERTY, 64));
+		offHeapMaxBytes = getLongProperty(OFF_HEAP_MAX_BYTES_PROPERTY, -1);
 		
 		globalLadHost = getProperty(SOCKET_SERVER_HOST_PROPERTY, "localhost");
 		globalLadSocketServerPort = getIntProperty(SOCKET_SERVER_PORT_PROPERTY, 8900);
@@ -536,6 +549,29 @@ public class GlobalLadProperties extends GdsHierarchicalProperties {
 		return persistenceBackupBaseName;
 	}
 
+	/**
+	 * @return true if inserts should be recorded in a write-ahead log between backups.  Defaults to true.
+	 */
+	public boolean isPersistenceWalEnabled() {
+		return getBooleanProperty(PERSISTER_WAL_ENABLED_PROPERTY, true);
+	}
+
+	/**
+	 * @return the size, in megabytes, at which a new write-ahead log segment is started.  Defaults to 64.
+	 */
+	public long getPersistenceWalSegmentSizeMB() {
+		final long val = getLongProperty(PERSISTER_WAL_SEGMENT_SIZE_PROPERTY, 64);
+		return val > 0 ? val : 64;
+	}
+
+	/**
+	 * @return the number of megabytes written to the write-ahead log after which the next backup
+	 * interval takes a new backup.  Defaults to 256.
+	 */
+	public long getPersistenceWalSnapshotThresholdMB() {
+		return getLongProperty(PERSISTER_WAL_SNAPSHOT_THRESHOLD_PROPERTY, 256);
+	}
+
 	/**
 	 * Looks up the configured value for the yellow value.  If not set default is 90.
 	 * 
@@ -828,6 +864,15 @@ public class GlobalLadProperties extends GdsHierarchicalProperties {
 		this.globalLadRestServerPort = globalLadRestServerPort;
 	}
 
+	/**
+	 * Looks up the number of threads used to search the data buffers for streaming REST queries.  Default is 4, and
+	 * the value is never less than 1.
+	 * @return
+	 */
+	public int getQueryThreadCount() {
+		return Math.max(1, getIntProperty(REST_QUERY_THREADS_PROPERTY, 4));
+	}
+
 	/**
 	 * @return
 	 */
@@ -880,6 +925,28 @@ public class GlobalLadProperties extends GdsHierarchicalProperties {
 		return ringBufferClassName;
 	}
 
+	/**
+	 * @return the size in bytes of each record slot in an off-heap ring buffer.
+	 */
+	public int getOffHeapRecordSize() {
+		return offHeapRecordSize;
+	}
+
+	/**
+	 * @return the number of record slots allocated at a time by an off-heap ring buffer.
+	 */
+	public int getOffHeapSegmentRecords() {
+		return offHeapSegmentRecords;
+	}
+
+	/**
+	 * @return the number of bytes of direct memory the memory threshold is measured against.  If not set this
+	 *         is the maximum heap size, which is the JVM default limit for direct memory.
+	 */
+	public long getOffHeapMaxBytes() {
+		return offHeapMaxBytes > 0 ? offHeapMaxBytes : Runtime.getRuntime().maxMemory();
+	}
+
 	/**
 	 * Matches the name to the deal.  Default is BLOCK.
 	 * @param propertyName
@@ -90,6 +90,11 @@ public abstract class AbstractGlobalLadData implements IByteBufferManipulator, I
 	@JsonView(GlobalLadSerializationViews.GlobalView.class) 
 	protected long insertNumber = -1;
 	
+	/**
+	 * Set when the object is recorded in the write-ahead log.  Not part of any output view.
+	 */
+	protected long writeAheadLogStamp = -1;
+	
 	protected GlobalLadPrimaryTime primaryTime = GlobalLadPrimaryTime.ERT;
 	
 	protected static final SclkFmt sclkFmt = TimeProperties.getInstance().getSclkFormatter();
@@ -568,6 +573,24 @@ public abstract class AbstractGlobalLadData implements IByteBufferManipulator, I
 		this.insertNumber = insertNumber;
 	}
 
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.IGlobalLADData#getWriteAheadLogStamp()
+	 */
+	@Override
+	@JsonIgnore
+	public long getWriteAheadLogStamp() {
+		return this.writeAheadLogStamp;
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.IGlobalLADData#setWriteAheadLogStamp(long)
+	 */
+	@Override
+	@JsonIgnore
+	public void setWriteAheadLogStamp(final long stamp) {
+		this.writeAheadLogStamp = stamp;
+	}
+
 	/**
 	 * These methods are used for serialization.  It creates a way that set verification can be included in the output by 
 	 * using mix-in classes.  You must NOT put any annotations on these initially because for some reason the CSV mapper gets 
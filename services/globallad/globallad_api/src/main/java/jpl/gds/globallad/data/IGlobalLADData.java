@@ -100,6 +100,22 @@ public interface IGlobalLADData extends Comparable<Object> {
 	 */
 	public void setInsertNumber(final long insertNumber);
 	
+	/**
+	 * A stamp assigned when this object is recorded in the global lad write-ahead log.  It identifies 
+	 * the log stream and the position in it, and is used to tell whether the object belongs in a 
+	 * backup that was started at a given point of the log.  
+	 * 
+	 * @return the write-ahead log stamp, or -1 if the object was not logged.
+	 */
+	public long getWriteAheadLogStamp();
+	
+	/**
+	 * Sets the write-ahead log stamp.
+	 * 
+	 * @param stamp
+	 */
+	public void setWriteAheadLogStamp(final long stamp);
+	
 	/**
 	 * @return the sclkCoarse
 	 */
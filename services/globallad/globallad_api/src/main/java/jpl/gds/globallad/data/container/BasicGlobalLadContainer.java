@@ -78,6 +78,13 @@ public class BasicGlobalLadContainer extends AbstractGlobalLadContainer {
 	@JsonView(GlobalLadSerializationViews.SerializationView.class)
 	private ConcurrentHashMap<Object, IGlobalLadContainer> containers;
 	
+	/**
+	 * Sorted index of the child identifiers used for regex queries.  Updated after containers on every add and
+	 * remove.
+	 */
+	@JsonIgnore
+	private final ChildIdentifierIndex childIndex;
+	
 	/**
 	 * Numbers used for stats and to keep track of how the global lad is performing.
 	 */
@@ -109,6 +116,7 @@ public class BasicGlobalLadContainer extends AbstractGlobalLadContainer {
 		this.numQueryGets = 0;
 
 		this.containers = new ConcurrentHashMap<Object, IGlobalLadContainer>(INITIAL_CAPACITY, LOAD_FACTOR, CONCURRENCY);
+		this.childIndex = new ChildIdentifierIndex();
 	}
 	
 	/* (non-Javadoc)
@@ -125,6 +133,7 @@ public class BasicGlobalLadContainer extends AbstractGlobalLadContainer {
 				if (container.remove(matcher)) {
 					log.info("Removing container with type " + container.getContainerType() + " and identifier " + container.getContainerIdentifier());
 					containers.remove(container.getContainerIdentifier());
+					childIndex.remove(container.getContainerIdentifier(), containers);
 				}
 			}
 			
@@ -147,6 +156,7 @@ public class BasicGlobalLadContainer extends AbstractGlobalLadContainer {
 	@Override
 	public void clear() {
 		containers.clear();
+		childIndex.clear();
 	}
 
 	/**
@@ -267,10 +277,11 @@ public class BasicGlobalLadContainer extends AbstractGlobalLadContainer {
 		final boolean isReapLevel = GlobalLadProperties.getGlobalInstance().isReapingLevel(containerType);
 
 		if (isReapLevel) {
-			final Iterator<IGlobalLadContainer> iterator = containers.values().iterator();
+			final Iterator<Map.Entry<Object, IGlobalLadContainer>> iterator = containers.entrySet().iterator();
 
 			while (iterator.hasNext()) {
-				final IGlobalLadContainer container = iterator.next();
+				final Map.Entry<Object, IGlobalLadContainer> entry = iterator.next();
+				final IGlobalLadContainer container = entry.getValue();
 				
 				final boolean childIsReapable = container.reap(reapSettings, checkTimeMilliseconds, reapable, ttl);
 				
@@ -279,6 +290,7 @@ public class BasicGlobalLadContainer extends AbstractGlobalLadContainer {
 						log.info(String.format("Container with type %s and identifier %s has been reaped.", container.getContainerType(), container.getContainerIdentifier().toString()));
 					}
 					iterator.remove();
+					childIndex.remove(entry.getKey(), containers);
 				}
 				
 				expired = expired && childIsReapable;
@@ -346,6 +358,7 @@ public class BasicGlobalLadContainer extends AbstractGlobalLadContainer {
 	@JsonProperty("childContainers")
 	public void setContainers(final ConcurrentHashMap<Object, IGlobalLadContainer> containers) {
 		this.containers = containers;
+		childIndex.rebuild(containers);
 	}
 
 	@Override
@@ -452,7 +465,9 @@ public class BasicGlobalLadContainer extends AbstractGlobalLadContainer {
 		 * that the container that actually gets inserted into the map is the one that is returned.
 		 */
 		final IGlobalLadContainer container = generateContainer(data);
-		containers.putIfAbsent(container.getContainerIdentifier(), container);
+		if (containers.putIfAbsent(container.getContainerIdentifier(), container) == null) {
+			childIndex.add(container.getContainerIdentifier());
+		}
 		
 		/**
 		 * No matter what happens above we want to return the container that is actually in the data map 
@@ -466,17 +481,38 @@ public class BasicGlobalLadContainer extends AbstractGlobalLadContainer {
 	 */
 	@Override
 	public Collection<IGlobalLadContainer> getChildrenWithRegex(final String rx) {
+		try {
+			return getChildrenWithRegex(IdentifierRegex.compile(rx));
+		} catch (final PatternSyntaxException e) {
+			log.warn("Bad regex for global lad search: " + e.getMessage(), e.getCause());
+			return Collections.<IGlobalLadContainer>emptyList();
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadContainer#getChildrenWithRegex(jpl.gds.globallad.data.container.IdentifierRegex)
+	 */
+	@Override
+	public Collection<IGlobalLadContainer> getChildrenWithRegex(final IdentifierRegex rx) {
+		if (childIndex.isEmpty() && !containers.isEmpty()) {
+			/**
+			 * Children were set without going through add, such as by deserialization.
+			 */
+			childIndex.rebuild(containers);
+		}
+
 		Collection<IGlobalLadContainer> matched = null;
-		for (final Object key : containers.keySet()) {
-			try {
-				if (key.toString().matches(rx)) {
-					if (matched == null) {
-						matched = new ArrayList<IGlobalLadContainer>();
-					}
-					matched.add(containers.get(key));
+		for (final Object key : childIndex.find(rx)) {
+			final IGlobalLadContainer child = containers.get(key);
+
+			/**
+			 * The index can briefly hold a child that has just been removed, skip it.
+			 */
+			if (child != null) {
+				if (matched == null) {
+					matched = new ArrayList<IGlobalLadContainer>();
 				}
-			} catch (final PatternSyntaxException e) {
-				log.warn("Bad regex for global lad search: " + e.getMessage(), e.getCause());
+				matched.add(child);
 			}
 		}
 		return matched == null ? Collections.<IGlobalLadContainer>emptyList() : matched;
@@ -574,7 +610,9 @@ public class BasicGlobalLadContainer extends AbstractGlobalLadContainer {
 	 */
 	@Override
 	public boolean add(final IGlobalLadContainer container) {
-		containers.putIfAbsent(container.getContainerIdentifier(), container);
+		if (containers.putIfAbsent(container.getContainerIdentifier(), container) == null) {
+			childIndex.add(container.getContainerIdentifier());
+		}
 		return true;
 	}
 
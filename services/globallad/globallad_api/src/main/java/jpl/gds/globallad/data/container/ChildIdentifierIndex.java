@@ -0,0 +1,114 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.globallad.data.container;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted index of a container's child identifiers, keyed by their string form, so that regex queries with a
+ * literal prefix only check the identifiers in that prefix's range rather than every child.  With wide levels,
+ * such as thousands of channel IDs under one user data type, this keeps a wild card lookup proportional to the
+ * number of children that could match.
+ * <p>
+ * The index is kept alongside the container's map of children and may briefly hold an identifier that has just
+ * been removed from it, so callers look each identifier found up in the map and skip any that are gone.
+ */
+class ChildIdentifierIndex {
+	private final ConcurrentSkipListMap<String, Object> identifiers = new ConcurrentSkipListMap<String, Object>();
+
+	/**
+	 * Adds a child identifier.
+	 *
+	 * @param identifier child container identifier.
+	 */
+	public void add(final Object identifier) {
+		identifiers.put(identifier.toString(), identifier);
+	}
+
+	/**
+	 * Removes a child identifier, unless the child has already been added back to children.
+	 *
+	 * @param identifier child container identifier.
+	 * @param children the container's children, checked after removing so a concurrent re-insert is not lost.
+	 */
+	public void remove(final Object identifier, final Map<Object, ?> children) {
+		identifiers.remove(identifier.toString());
+
+		if (children.containsKey(identifier)) {
+			add(identifier);
+		}
+	}
+
+	/**
+	 * Replaces the index contents with the identifiers of children.
+	 *
+	 * @param children the container's children.
+	 */
+	public void rebuild(final Map<Object, ?> children) {
+		identifiers.clear();
+
+		for (final Object identifier : children.keySet()) {
+			add(identifier);
+		}
+	}
+
+	/**
+	 * @return true if the index holds no identifiers.
+	 */
+	public boolean isEmpty() {
+		return identifiers.isEmpty();
+	}
+
+	/**
+	 * Removes all identifiers.
+	 */
+	public void clear() {
+		identifiers.clear();
+	}
+
+	/**
+	 * Finds the identifiers matching rx, scanning only the ranges of its literal prefixes if it has any.
+	 *
+	 * @param rx compiled identifier regex.
+	 * @return matching identifiers in string order.
+	 */
+	public Collection<Object> find(final IdentifierRegex rx) {
+		final Collection<Object> found = new ArrayList<Object>();
+
+		if (rx.getPrefixes() == null) {
+			for (final Object identifier : identifiers.values()) {
+				if (rx.matches(identifier)) {
+					found.add(identifier);
+				}
+			}
+		} else {
+			for (final String prefix : rx.getPrefixes()) {
+				for (final Entry<String, Object> entry : identifiers.tailMap(prefix).entrySet()) {
+					if (!entry.getKey().startsWith(prefix)) {
+						break;
+					}
+					if (rx.matches(entry.getKey())) {
+						found.add(entry.getValue());
+					}
+				}
+			}
+		}
+
+		return found;
+	}
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.globallad.data.container;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import jpl.gds.globallad.data.GlobalLadSearchAlgorithmException;
+import jpl.gds.globallad.data.IGlobalLADData;
+import jpl.gds.globallad.data.factory.IGlobalLadDataFactory;
+
+/**
+ * Runs a query against the global lad and hands the results to a sink one identifier at a time, instead of
+ * collecting every matched container's data into one result map first.
+ * <p>
+ * The query is done in two steps.  First the container tree is searched for the data buffers that match, fanning out
+ * across child containers on a fork/join pool.  This only collects references to the buffers, grouped by their
+ * identifier, ie channel id or evr level.  Then the buffers are queried a batch of identifiers at a time, again in
+ * parallel, and the results for each identifier are merged and given to the sink before the next batch is queried.
+ * The same identifier can have buffers under several hosts, sessions or user data types, so the merge keeps at most
+ * the requested number of records in a bounded sorted set.  At most one batch of results is held at a time.
+ */
+public class GlobalLadStreamingQuery {
+	/**
+	 * Number of identifiers whose buffers are queried together before their results are handed to the sink.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 256;
+
+	/**
+	 * Receives the results of a streaming query.
+	 */
+	public interface IResultSink {
+		/**
+		 * Called once for each identifier with matching data, from the thread that called run.
+		 *
+		 * @param identifier data identifier, ie channel id or evr level.
+		 * @param data matching data for identifier, sorted in descending order of the query time type.
+		 * @throws IOException if the results can not be written.
+		 */
+		public void write(Object identifier, Collection<IGlobalLADData> data) throws IOException;
+	}
+
+	private final IGlobalLadContainer root;
+	private final IGlobalLadSearchAlgorithm matcher;
+	private final int numRecords;
+	private final int batchSize;
+	private final ForkJoinPool pool;
+	private final Comparator<IGlobalLADData> comparator;
+
+	/**
+	 * @param root container to query, normally the master container.
+	 * @param matcher query search algorithm.
+	 * @param numRecords maximum number of records for each identifier.  If less than or equal to 0 gets all records.
+	 * @param pool pool to run the search and buffer queries on.  Buffer queries can block on the buffer locks, so this
+	 *        should be a pool dedicated to global lad queries rather than the common pool.
+	 */
+	public GlobalLadStreamingQuery(final IGlobalLadContainer root, final IGlobalLadSearchAlgorithm matcher, final int numRecords,
+			final ForkJoinPool pool) {
+		this(root, matcher, numRecords, DEFAULT_BATCH_SIZE, pool);
+	}
+
+	/**
+	 * @param root container to query, normally the master container.
+	 * @param matcher query search algorithm.
+	 * @param numRecords maximum number of records for each identifier.  If less than or equal to 0 gets all records.
+	 * @param batchSize number of identifiers queried together.
+	 * @param pool pool to run the search and buffer queries on.
+	 */
+	public GlobalLadStreamingQuery(final IGlobalLadContainer root, final IGlobalLadSearchAlgorithm matcher, final int numRecords,
+			final int batchSize, final ForkJoinPool pool) {
+		this.root = root;
+		this.matcher = matcher;
+		this.numRecords = numRecords;
+		this.batchSize = Math.max(1, batchSize);
+		this.pool = pool;
+
+		/**
+		 * Same ordering as GlobalLadUtilities.mergeMap, which the non-streaming query uses, so both return results in
+		 * the same order.  Results for ALL are sorted by SCET there as well.
+		 */
+		switch(matcher.getTimeType()) {
+		case ERT:
+			comparator = IGlobalLadDataFactory.ertComparator;
+			break;
+		case EVENT:
+			comparator = IGlobalLadDataFactory.eventComparator;
+			break;
+		case ALL:
+		case SCET:
+		case SCLK:
+		case LST:
+		default:
+			comparator = IGlobalLadDataFactory.scetComparator;
+			break;
+		}
+	}
+
+	/**
+	 * Runs the query, handing the results to sink as each batch of identifiers is done.
+	 *
+	 * @param sink receives the results.
+	 * @throws IOException if the sink fails.  The query stops at that point.
+	 */
+	public void run(final IResultSink sink) throws IOException {
+		final Map<Object, List<IGlobalLadContainer>> buffers = pool.invoke(new SearchTask(root));
+		final List<Entry<Object, List<IGlobalLadContainer>>> entries = new ArrayList<Entry<Object, List<IGlobalLadContainer>>>(buffers.entrySet());
+
+		for (int start = 0; start < entries.size(); start += batchSize) {
+			final List<QueryTask> batch = new ArrayList<QueryTask>(batchSize);
+
+			for (final Entry<Object, List<IGlobalLadContainer>> entry : entries.subList(start, Math.min(entries.size(), start + batchSize))) {
+				batch.add(new QueryTask(entry.getValue()));
+			}
+
+			pool.invoke(new BatchTask(batch));
+
+			for (int i = 0; i < batch.size(); i++) {
+				final Collection<IGlobalLADData> data = batch.get(i).getRawResult();
+
+				if (!data.isEmpty()) {
+					sink.write(entries.get(start + i).getKey(), data);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the data buffers under a container that match the query, grouped by identifier.  Forks a task for each
+	 * matching child container.
+	 */
+	private class SearchTask extends RecursiveTask<Map<Object, List<IGlobalLadContainer>>> {
+		private static final long serialVersionUID = 1L;
+
+		private final IGlobalLadContainer container;
+
+		SearchTask(final IGlobalLadContainer container) {
+			this.container = container;
+		}
+
+		@Override
+		protected Map<Object, List<IGlobalLadContainer>> compute() {
+			final Map<Object, List<IGlobalLadContainer>> found = new LinkedHashMap<Object, List<IGlobalLadContainer>>();
+			final List<SearchTask> subtasks = new ArrayList<SearchTask>();
+
+			Collection<IGlobalLadContainer> matched;
+			try {
+				matched = container.isEmpty() ? null : matcher.getMatchedChildren(container);
+			} catch (final GlobalLadSearchAlgorithmException e) {
+				// Same as a container search, a failed match matches nothing.
+				matched = null;
+			}
+
+			if (matched != null) {
+				for (final IGlobalLadContainer child : matched) {
+					if (child instanceof BasicGlobalLadContainer) {
+						subtasks.add(new SearchTask(child));
+					} else {
+						addBuffer(found, child.getContainerIdentifier(), child);
+					}
+				}
+			}
+
+			for (final SearchTask subtask : ForkJoinTask.invokeAll(subtasks)) {
+				for (final Entry<Object, List<IGlobalLadContainer>> entry : subtask.getRawResult().entrySet()) {
+					for (final IGlobalLadContainer buffer : entry.getValue()) {
+						addBuffer(found, entry.getKey(), buffer);
+					}
+				}
+			}
+
+			return found;
+		}
+
+		private void addBuffer(final Map<Object, List<IGlobalLadContainer>> found, final Object identifier, final IGlobalLadContainer buffer) {
+			List<IGlobalLadContainer> list = found.get(identifier);
+
+			if (list == null) {
+				list = new ArrayList<IGlobalLadContainer>(1);
+				found.put(identifier, list);
+			}
+
+			list.add(buffer);
+		}
+	}
+
+	/**
+	 * Runs a batch of buffer queries.
+	 */
+	private static class BatchTask extends RecursiveTask<Void> {
+		private static final long serialVersionUID = 1L;
+
+		private final List<QueryTask> tasks;
+
+		BatchTask(final List<QueryTask> tasks) {
+			this.tasks = tasks;
+		}
+
+		@Override
+		protected Void compute() {
+			ForkJoinTask.invokeAll(tasks);
+			return null;
+		}
+	}
+
+	/**
+	 * Queries the buffers for one identifier and merges the results, keeping at most numRecords of them.
+	 */
+	private class QueryTask extends RecursiveTask<Collection<IGlobalLADData>> {
+		private static final long serialVersionUID = 1L;
+
+		private final List<IGlobalLadContainer> buffers;
+
+		QueryTask(final List<IGlobalLadContainer> buffers) {
+			this.buffers = buffers;
+		}
+
+		@Override
+		protected Collection<IGlobalLADData> compute() {
+			final TreeSet<IGlobalLADData> merged = new TreeSet<IGlobalLADData>(comparator);
+
+			for (final IGlobalLadContainer buffer : buffers) {
+				final Map<Object, Collection<IGlobalLADData>> results = numRecords > 0 ?
+						buffer.get(matcher, numRecords) :
+						buffer.getAll(matcher);
+
+				for (final Collection<IGlobalLADData> data : results.values()) {
+					for (final IGlobalLADData d : data) {
+						merged.add(d);
+
+						/**
+						 * Sorted in descending order, so the last is the oldest.
+						 */
+						if (numRecords > 0 && merged.size() > numRecords) {
+							merged.pollLast();
+						}
+					}
+				}
+			}
+
+			return merged;
+		}
+	}
+}
@@ -195,6 +195,22 @@ public final class GlobalLadUtilities {
 	public static final Collection<IGlobalLADData> flattenMap(GlobalLadPrimaryTime timeType, 
 			final Map<Object, Collection<IGlobalLADData>> source, 
 			boolean reversed) {
+		TreeSet<IGlobalLADData> results = new TreeSet<IGlobalLADData>(getFlattenComparator(timeType));
+		
+		for (Collection<IGlobalLADData> datas : source.values()) {
+			datas.stream().forEach(results::add);
+		}
+
+		return reversed ? results.descendingSet() : results;
+	}
+
+	/**
+	 * Gets the comparator used to flatten results for the time type, in descending order.
+	 * 
+	 * @param timeType compare order.
+	 * @return flatten comparator for timeType.
+	 */
+	public static final Comparator<IGlobalLADData> getFlattenComparator(GlobalLadPrimaryTime timeType) {
 		Comparator<IGlobalLADData> comparator;
 
 		switch(timeType) {
@@ -216,14 +232,8 @@ public final class GlobalLadUtilities {
 			comparator = IGlobalLadDataFactory.flattenScetComparator;
 			break;
 		}
-		
-		TreeSet<IGlobalLADData> results = new TreeSet<IGlobalLADData>(comparator);
-		
-		for (Collection<IGlobalLADData> datas : source.values()) {
-			datas.stream().forEach(results::add);
-		}
 
-		return reversed ? results.descendingSet() : results;
+		return comparator;
 	}
 	
 	/**
@@ -29,6 +29,7 @@ import jpl.gds.globallad.IGlobalLadReapable;
 import jpl.gds.globallad.IGlobalLadSummarizableContainer;
 import jpl.gds.globallad.data.GlobalLadContainerException;
 import jpl.gds.globallad.data.IGlobalLADData;
+import jpl.gds.globallad.data.container.buffer.OffHeapGlobalLadDataBuffer;
 import jpl.gds.globallad.data.container.buffer.SortedSetGlobalLadDataBuffer;
 import jpl.gds.globallad.data.container.search.IGlobalLadContainerSearchAlgorithm;
 import jpl.gds.globallad.data.json.views.GlobalLadSerializationViews;
@@ -43,7 +44,8 @@ import jpl.gds.globallad.data.json.views.GlobalLadSerializationViews;
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "@class")
 @JsonSubTypes({
 	@Type(value = BasicGlobalLadContainer.class, name="container"),
-	@Type(value = SortedSetGlobalLadDataBuffer.class, name="ringBuffer")
+	@Type(value = SortedSetGlobalLadDataBuffer.class, name="ringBuffer"),
+	@Type(value = OffHeapGlobalLadDataBuffer.class, name="offHeapRingBuffer")
 	})
 
 public interface IGlobalLadContainer extends IGlobalLadQueryable, IGlobalLadDeltaQueryable, IGlobalLadStatable, IGlobalLadReapable, IGlobalLadSummarizableContainer {
@@ -122,6 +124,16 @@ public interface IGlobalLadContainer extends IGlobalLadQueryable, IGlobalLadDelt
 	 */
 	@JsonIgnore
 	public Collection<IGlobalLadContainer> getChildrenWithRegex(String rx);
+
+	/**
+	 * Finds any children that have an identifier matching the compiled rx.  Queries should compile their
+	 * regex once and use this rather than passing the string to every container they search.
+	 * 
+	 * @param rx compiled regular expression to match child identifiers.
+	 * @return Collection of children with identifiers that match rx.
+	 */
+	@JsonIgnore
+	public Collection<IGlobalLadContainer> getChildrenWithRegex(IdentifierRegex rx);
 	
 	/**
 	 * Create a container specific search algorithm using data.  Used for inserting.  This algorithm
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.globallad.data.container;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A regular expression used to match container identifiers, compiled once per query instead of once for every
+ * identifier checked.
+ * <p>
+ * Also works out the literal prefixes the expression can match, so that a container with an index of its
+ * children's identifiers only needs to check the identifiers starting with one of them.  For example the
+ * expression "A-00.*|B-01.*" can only match identifiers starting with "A-00" or "B-01".  If any alternative
+ * of the expression does not start with a literal there are no prefixes and every identifier must be checked.
+ */
+public final class IdentifierRegex {
+	private static final String META_CHARACTERS = "\\[](){}.*+?^$|";
+	private static final String QUANTIFIERS = "*+?{";
+
+	private final Pattern pattern;
+	private final Collection<String> prefixes;
+
+	private IdentifierRegex(final Pattern pattern, final Collection<String> prefixes) {
+		this.pattern = pattern;
+		this.prefixes = prefixes;
+	}
+
+	/**
+	 * Compiles the regular expression.
+	 *
+	 * @param rx regular expression to match identifiers.
+	 * @return compiled regular expression.
+	 * @throws PatternSyntaxException if rx is not a valid regular expression.
+	 */
+	public static IdentifierRegex compile(final String rx) throws PatternSyntaxException {
+		return new IdentifierRegex(Pattern.compile(rx), findPrefixes(rx));
+	}
+
+	/**
+	 * Checks the identifier against the expression.  The identifier is converted to a string using its toString
+	 * method, as with the String.matches check this replaces.
+	 *
+	 * @param identifier container identifier.
+	 * @return true if the whole identifier matches.
+	 */
+	public boolean matches(final Object identifier) {
+		return pattern.matcher(identifier.toString()).matches();
+	}
+
+	/**
+	 * @return the literal prefixes every match starts with, none of which is a prefix of another.  Null if a
+	 *         match can start with anything.
+	 */
+	public Collection<String> getPrefixes() {
+		return prefixes;
+	}
+
+	/**
+	 * @return the regular expression this was compiled from.
+	 */
+	public String getRegex() {
+		return pattern.pattern();
+	}
+
+	@Override
+	public String toString() {
+		return pattern.pattern();
+	}
+
+	/**
+	 * Works out the literal prefix of each top level alternative of rx.
+	 *
+	 * @param rx regular expression.
+	 * @return the prefixes, or null if any alternative has no literal prefix.
+	 */
+	private static Collection<String> findPrefixes(final String rx) {
+		final List<String> found = new ArrayList<String>();
+
+		for (final String alternative : splitAlternatives(rx)) {
+			final String prefix = literalPrefix(alternative);
+
+			if (prefix.isEmpty()) {
+				return null;
+			}
+			found.add(prefix);
+		}
+
+		/**
+		 * Drop any prefix that starts with another one, since the identifiers it would find are found by the
+		 * shorter prefix anyway.  This also means no identifier is found twice.
+		 */
+		final List<String> prefixes = new ArrayList<String>(found.size());
+		for (final String prefix : found) {
+			boolean covered = false;
+
+			for (final String other : found) {
+				if (prefix.startsWith(other) && (prefix.length() > other.length() || prefixes.contains(other))) {
+					covered = true;
+					break;
+				}
+			}
+
+			if (!covered) {
+				prefixes.add(prefix);
+			}
+		}
+
+		return Collections.unmodifiableList(prefixes);
+	}
+
+	/**
+	 * Splits rx at each '|' that is not escaped, in a character class or in a group.
+	 */
+	private static List<String> splitAlternatives(final String rx) {
+		final List<String> alternatives = new ArrayList<String>();
+		int depth = 0;
+		boolean inClass = false;
+		int start = 0;
+
+		for (int i = 0; i < rx.length(); i++) {
+			final char c = rx.charAt(i);
+
+			if (c == '\\') {
+				i++;
+			} else if (inClass) {
+				inClass = c != ']';
+			} else if (c == '[') {
+				inClass = true;
+			} else if (c == '(') {
+				depth++;
+			} else if (c == ')') {
+				depth--;
+			} else if (c == '|' && depth == 0) {
+				alternatives.add(rx.substring(start, i));
+				start = i + 1;
+			}
+		}
+		alternatives.add(rx.substring(start));
+
+		return alternatives;
+	}
+
+	/**
+	 * Gets the literal characters at the start of an alternative, up to the first meta character.  A literal
+	 * followed by a quantifier may not appear, so it is not part of the prefix.
+	 */
+	private static String literalPrefix(final String alternative) {
+		int i = alternative.startsWith("^") ? 1 : 0;
+		final StringBuilder prefix = new StringBuilder();
+
+		for (; i < alternative.length(); i++) {
+			final char c = alternative.charAt(i);
+
+			if (META_CHARACTERS.indexOf(c) >= 0) {
+				if (QUANTIFIERS.indexOf(c) >= 0 && prefix.length() > 0) {
+					prefix.setLength(prefix.length() - 1);
+				}
+				break;
+			}
+			prefix.append(c);
+		}
+
+		return prefix.toString();
+	}
+}
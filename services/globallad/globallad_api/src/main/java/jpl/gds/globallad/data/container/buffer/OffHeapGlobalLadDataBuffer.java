@@ -0,0 +1,1464 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.globallad.data.container.buffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import jpl.gds.globallad.GlobalLadProperties;
+import jpl.gds.globallad.GlobalLadReapSettings;
+import jpl.gds.globallad.data.AbstractGlobalLadData;
+import jpl.gds.globallad.data.GlobalLadContainerException;
+import jpl.gds.globallad.data.IGlobalLADData;
+import jpl.gds.globallad.data.IGlobalLADData.GlobalLadPrimaryTime;
+import jpl.gds.globallad.data.container.GlobalLadContainerFactory;
+import jpl.gds.globallad.data.container.GlobalLadUtilities;
+import jpl.gds.globallad.data.container.IGlobalLadContainer;
+import jpl.gds.globallad.data.container.IGlobalLadDepthNotifiable;
+import jpl.gds.globallad.data.container.IGlobalLadSearchAlgorithm;
+import jpl.gds.globallad.data.container.IGlobalLadSerializable;
+import jpl.gds.globallad.data.container.IdentifierRegex;
+import jpl.gds.globallad.data.container.search.IGlobalLadContainerSearchAlgorithm;
+import jpl.gds.globallad.data.container.search.IGlobalLadDataSearchAlgorithm;
+import jpl.gds.globallad.data.container.search.query.GlobalLadDataSearchAlgorithm;
+import jpl.gds.globallad.data.factory.GenericGlobalLadDataFactory;
+import jpl.gds.globallad.data.factory.IGlobalLadDataFactory;
+import jpl.gds.globallad.data.json.ObjectWithTypeDeserializer;
+import jpl.gds.globallad.data.json.ObjectWithTypeSerializer;
+import jpl.gds.globallad.data.json.views.GlobalLadSerializationViews;
+import jpl.gds.shared.log.Tracer;
+
+/**
+ * Global lad ring buffer that keeps its data outside of the java heap.  This is a drop in replacement for the
+ * SortedSetGlobalLadDataBuffer and is selected with the ring buffer class in the global lad properties.
+ * <p>
+ * Each data object is stored once, in its binary packet form, in a fixed size record slot of a direct memory
+ * ring.  The ring is allocated in segments of slots as it fills, so a buffer that only ever gets a few values
+ * does not hold the memory for its full depth.  Each record starts with a header holding the insert number and
+ * time fields used for sorting, so the buffer can be searched without decoding the data.  A packet too large to
+ * follow the header in its slot is kept out of line, in a direct buffer of its own, so that one large value does
+ * not grow the slots of the whole ring.
+ * <p>
+ * For each time type being stored an index of slot numbers is kept sorted by that time.  This is the only
+ * per value heap storage, four bytes for each time type, where the sorted set buffer holds the data object
+ * and a skip list node for each time type.  Time bounded queries find their range in the index with a binary
+ * search, and only the records in that range are decoded.  Data objects are decoded from their records for
+ * each query and are not kept.
+ * <p>
+ * When the ring is full the oldest inserted value is dropped to make room, so each time type holds the last
+ * N values inserted, sorted by that time.  The sorted set buffer drops the oldest value by each time type
+ * instead, which only differs when data arrives out of time order.  The last trim times used for delta queries
+ * are the latest time dropped for each time type, so a query is never reported complete when it could be missing
+ * data.
+ */
+@SuppressWarnings("deprecation")
+public class OffHeapGlobalLadDataBuffer implements IGlobalLadContainer, IGlobalLadSerializable, IGlobalLadDepthNotifiable {
+	public static final Tracer log = GlobalLadProperties.getTracer();
+	public static final boolean debug = GlobalLadProperties.getGlobalInstance().isDebug();
+
+	/**
+	 * Record header layout.  The packet bytes from toPacketByteArray follow the header.
+	 */
+	private static final int INSERT_NUMBER_OFFSET = 0;
+	private static final int EVENT_OFFSET = 8;
+	private static final int ERT_MS_OFFSET = 16;
+	private static final int ERT_NS_OFFSET = 24;
+	private static final int SCET_MS_OFFSET = 32;
+	private static final int SCET_NS_OFFSET = 40;
+	private static final int WAL_STAMP_OFFSET = 48;
+	private static final int LENGTH_OFFSET = 56;
+	private static final int HEADER_SIZE = 60;
+
+	/**
+	 * Offset of the transport bytes in the packet, after the start word and word length.
+	 */
+	private static final int PACKET_HEADER_SIZE = AbstractGlobalLadData.GLAD_PACKET_START_WORD.length + Integer.BYTES;
+
+	private static IGlobalLadDataFactory factory;
+
+	static {
+		try {
+			factory = new GenericGlobalLadDataFactory();
+		} catch (final Exception e) {
+			log.error("Failed to create data factory for off-heap ring buffers: " + e.getMessage(), e.getCause());
+		}
+	}
+
+	private final AtomicLong insertNumber = new AtomicLong();
+
+	@JsonSerialize(using = ObjectWithTypeSerializer.class)
+	@JsonDeserialize(using = ObjectWithTypeDeserializer.class)
+	private final Object identifier;
+	private final String containerType;
+	private long lastInsert;
+	private long lastTouch;
+
+	private long totalInsertTime;
+	private long totalQueryGetTime;
+	private long queryGetCount;
+
+	@JsonIgnore
+	private int maxSize;
+
+	@JsonProperty("userDataType")
+	@JsonView(GlobalLadSerializationViews.SerializationView.class)
+	byte userDataType;
+
+	private final AtomicLong lastTrimErt;
+	private final AtomicLong lastTrimScet;
+	private final AtomicLong lastTrimEvent;
+
+	private final boolean storeErt;
+	private final boolean storeScet;
+	private final boolean storeEvent;
+
+	/**
+	 * Guards the ring and the indexes.  Inserts take the write lock, queries the read lock.
+	 */
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final int segmentRecords;
+	private ByteBuffer[] segments;
+	private final int recordSize;
+	private int capacity;
+
+	/**
+	 * Packets of the records too large for their slot, by slot.  Null until the first one is inserted.
+	 */
+	private ByteBuffer[] outOfLine;
+
+	/**
+	 * Ring position of the next insert.  The slot is the position modulo the capacity.
+	 */
+	private long head;
+	private int count;
+
+	/**
+	 * Null for the time types that are not stored.
+	 */
+	private final TimeIndex eventIndex;
+	private final TimeIndex ertIndex;
+	private final TimeIndex scetIndex;
+
+	/**
+	 * Creates a new ring buffer.
+	 *
+	 * @param containerType the container type.
+	 * @param identifier the identifier of the data.
+	 * @param userDataType userDataType of all data stored in this buffer.
+	 */
+	@JsonCreator
+	public OffHeapGlobalLadDataBuffer(
+			@JsonProperty("containerType") final String containerType,
+			@JsonProperty("containerIdentifier") final Object identifier,
+			@JsonProperty("userDataType") final byte userDataType
+			)
+	{
+		final GlobalLadProperties config = GlobalLadProperties.getGlobalInstance();
+
+		this.identifier = identifier;
+		this.containerType = containerType;
+		this.userDataType = userDataType;
+
+		this.lastTrimErt = new AtomicLong(-1);
+		this.lastTrimScet = new AtomicLong(-1);
+		this.lastTrimEvent = new AtomicLong(-1);
+
+		this.lastInsert = System.currentTimeMillis();
+		this.lastTouch = System.currentTimeMillis();
+
+		maxSize = Math.max(1, config.getDataDepth(userDataType));
+		capacity = maxSize;
+		recordSize = config.getOffHeapRecordSize();
+		segmentRecords = config.getOffHeapSegmentRecords();
+		segments = new ByteBuffer[segmentCount(capacity)];
+
+		storeEvent = config.storeEvent(userDataType);
+		storeErt = config.storeErt(userDataType);
+		storeScet = config.storeScet(userDataType);
+
+		eventIndex = storeEvent ? new TimeIndex(EVENT_OFFSET, -1) : null;
+		ertIndex = storeErt ? new TimeIndex(ERT_MS_OFFSET, ERT_NS_OFFSET) : null;
+		scetIndex = storeScet ? new TimeIndex(SCET_MS_OFFSET, SCET_NS_OFFSET) : null;
+
+		queryGetCount = 0;
+		totalQueryGetTime = 0;
+		totalInsertTime = 0;
+
+		config.addDepthListener(this);
+	}
+
+	/**
+	 * Used for JSON marshalling.
+	 *
+	 * @param ert the ert time to set.
+	 */
+	@JsonProperty("lastTrimErt")
+	@JsonView(GlobalLadSerializationViews.SerializationView.class)
+	public void setLastTrimErt(final long ert) {
+		this.lastTrimErt.set(ert);
+	}
+
+	/**
+	 * Used for JSON marshalling.
+	 * @return latest ert of the data objects that got trimmed.  Will return -1 if nothing has been trimmed.
+	 */
+	@JsonProperty("lastTrimErt")
+	@JsonView(GlobalLadSerializationViews.SerializationView.class)
+	public long getLastTrimErt() {
+		return lastTrimErt.get();
+	}
+
+	/**
+	 * Used for JSON marshalling.
+	 * @param scet the time of the last scet data object to get trimmed.
+	 */
+	@JsonProperty("lastTrimScet")
+	@JsonView(GlobalLadSerializationViews.SerializationView.class)
+	public void setLastTrimScet(final long scet) {
+		this.lastTrimScet.set(scet);
+	}
+
+	/**
+	 * Used for JSON marshalling.
+	 * @return latest scet of the data objects that got trimmed.  Will return -1 if nothing has been trimmed.
+	 */
+	@JsonProperty("lastTrimScet")
+	@JsonView(GlobalLadSerializationViews.SerializationView.class)
+	public long getLastTrimScet() {
+		return lastTrimScet.get();
+	}
+
+	/**
+	 * Used for JSON marshalling.
+	 * @param event the time of the last event time data object to get trimmed.
+	 */
+	@JsonProperty("lastTrimEvent")
+	@JsonView(GlobalLadSerializationViews.SerializationView.class)
+	public void setLastTrimEvent(final long event) {
+		this.lastTrimEvent.set(event);
+	}
+
+	/**
+	 * Used for JSON marshalling.
+	 * @return latest event time of the data objects that got trimmed.  Will return -1 if nothing has been trimmed.
+	 */
+	@JsonProperty("lastTrimEvent")
+	@JsonView(GlobalLadSerializationViews.SerializationView.class)
+	public long getLastTrimEvent() {
+		return lastTrimEvent.get();
+	}
+
+	/**
+	 * Used for serialization.  Decodes every stored value.
+	 *
+	 * @return a sorted set that contains all of the stored data.
+	 */
+	@JsonProperty("mergedSet")
+	@JsonView(GlobalLadSerializationViews.SerializationView.class)
+	public NavigableSet<IGlobalLADData> getGlobalDataCollection() {
+		final NavigableSet<IGlobalLADData> mergedSet = new TreeSet<IGlobalLADData>(IGlobalLadDataFactory.eventComparator);
+
+		lock.readLock().lock();
+		try {
+			for (long position = head - count; position < head; position++) {
+				final IGlobalLADData data = decode(slot(position));
+
+				if (data != null) {
+					mergedSet.add(data);
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		return mergedSet;
+	}
+
+	/**
+	 * Used for serialization.  Adds all of the values in mergedSet to the buffer, keeping their insert numbers.
+	 *
+	 * @param mergedSet All data to be added to the buffer.
+	 */
+	@JsonProperty("mergedSet")
+	@JsonView(GlobalLadSerializationViews.SerializationView.class)
+	public void setGlobalDataCollection(final Collection<IGlobalLADData> mergedSet) {
+		/**
+		 * Insert in insert order so the ring drops the oldest if there are more than will fit.
+		 */
+		final List<IGlobalLADData> ordered = new ArrayList<IGlobalLADData>(mergedSet);
+		Collections.sort(ordered, Collections.reverseOrder(IGlobalLadDataFactory.eventComparator));
+
+		for (final IGlobalLADData container : ordered) {
+			_insert(container, false);
+		}
+	}
+
+	/**
+	 * Stubbed method.  Always returns null.
+	 * @return null.  This container never has children, it is always the last stop on the train.
+	 */
+	@Override
+	public Collection<IGlobalLadContainer> getChildren() {
+		return null;
+	}
+
+	/**
+	 * Stubbed method.  Always returns null.
+	 * @return null.  This container never has children, it is always the last stop on the train.
+	 */
+	@Override
+	public IGlobalLadContainer getChild(final Object identifier) {
+		return null;
+	}
+
+	/**
+	 * Stubbed method.  Always returns null.
+	 * @return null.  This container never has children, it is always the last stop on the train.
+	 */
+	@Override
+	public Collection<IGlobalLadContainer> getChildrenWithRegex(final String rx) {
+		return null;
+	}
+
+	/**
+	 * Stubbed method.  Always returns null.
+	 * @return null.  This container never has children, it is always the last stop on the train.
+	 */
+	@Override
+	public Collection<IGlobalLadContainer> getChildrenWithRegex(final IdentifierRegex rx) {
+		return null;
+	}
+
+	/**
+	 * This will always be null for this class.
+	 * @return null.  This container never has children, it is always the last stop on the train.
+	 */
+	@Override
+	public IGlobalLadContainerSearchAlgorithm generateInsertSearchAlgorithm(final IGlobalLADData data) {
+		return null;
+	}
+
+	/**
+	 * Same as the sorted set buffer, a ring buffer is never treated as an empty container.
+	 * @return false.
+	 */
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+	/**
+	 * @return the insertNumber
+	 */
+	@JsonProperty("insertNumber")
+	@JsonView(GlobalLadSerializationViews.SerializationView.class)
+	public long getInsertNumber() {
+		return insertNumber.get();
+	}
+
+	/**
+	 * @param insertNumber the insertNumber to set
+	 */
+	@JsonProperty("insertNumber")
+	public void setInsertNumber(final long insertNumber) {
+		this.insertNumber.set(insertNumber);
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadContainer#getContainerIdentifier()
+	 */
+	@Override
+	public Object getContainerIdentifier() {
+		return identifier;
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadContainer#getContainerType()
+	 */
+	@Override
+	public String getContainerType() {
+		return containerType;
+	}
+
+	/**
+	 * This does nothing.
+	 *
+	 * @returns false.  This container never has children.
+	 */
+	@Override
+	public boolean add(final IGlobalLadContainer container) {
+		return false;
+	}
+
+	/**
+	 * Inserts dataContainer, dropping the oldest inserted value if the ring is full.
+	 *
+	 * @see jpl.gds.globallad.data.container.IGlobalLadContainer#insert(jpl.gds.globallad.data.IGlobalLADData)
+	 */
+	@Override
+	public boolean insert(final IGlobalLADData dataContainer) {
+		return _insert(dataContainer, true);
+	}
+
+	/**
+	 * Inserts dataContainer.  This class ignores matcher.
+	 *
+	 * @see jpl.gds.globallad.data.container.IGlobalLadContainer#insert(jpl.gds.globallad.data.IGlobalLADData, jpl.gds.globallad.data.container.search.IGlobalLadContainerSearchAlgorithm)
+	 */
+	@Override
+	public boolean insert(final IGlobalLADData data, final IGlobalLadContainerSearchAlgorithm matcher) {
+		return insert(data);
+	}
+
+	/**
+	 * Writes dataContainer to the next slot of the ring and adds it to the time indexes.
+	 *
+	 * @param dataContainer
+	 * @param setInsertNumber
+	 * @return if the value was added.
+	 */
+	private boolean _insert(final IGlobalLADData dataContainer, final boolean setInsertNumber) {
+		lastInsert = System.currentTimeMillis();
+		final long start = System.nanoTime();
+
+		try {
+			if (setInsertNumber) {
+				dataContainer.setInsertNumber(insertNumber.incrementAndGet());
+			}
+
+			/**
+			 * Serialize before taking the lock, this is the expensive part.
+			 */
+			final byte[] packet = dataContainer.toPacketByteArray();
+
+			lock.writeLock().lock();
+			try {
+				if (count == capacity) {
+					trimOldest();
+				}
+
+				final int slot = slot(head);
+				final ByteBuffer segment = segmentFor(slot);
+				final int offset = recordOffset(slot);
+
+				segment.putLong(offset + INSERT_NUMBER_OFFSET, dataContainer.getInsertNumber());
+				segment.putLong(offset + EVENT_OFFSET, dataContainer.getEventTime());
+				segment.putLong(offset + ERT_MS_OFFSET, dataContainer.getErtMilliseconds());
+				segment.putLong(offset + ERT_NS_OFFSET, dataContainer.getErtNanoseconds());
+				segment.putLong(offset + SCET_MS_OFFSET, dataContainer.getScetMilliseconds());
+				segment.putLong(offset + SCET_NS_OFFSET, dataContainer.getScetNanoseconds());
+				segment.putLong(offset + WAL_STAMP_OFFSET, dataContainer.getWriteAheadLogStamp());
+				segment.putInt(offset + LENGTH_OFFSET, packet.length);
+
+				if (isInline(packet.length)) {
+					final ByteBuffer target = segment.duplicate();
+					target.position(offset + HEADER_SIZE);
+					target.put(packet);
+				} else {
+					if (outOfLine == null) {
+						outOfLine = new ByteBuffer[capacity];
+					}
+
+					outOfLine[slot] = ByteBuffer.allocateDirect(packet.length);
+					outOfLine[slot].put(packet);
+				}
+
+				head++;
+				count++;
+
+				for (final TimeIndex index : indexes()) {
+					index.add(slot);
+				}
+			} finally {
+				lock.writeLock().unlock();
+			}
+
+			/**
+			 * Always return true since we will never fail to add anything.
+			 */
+			return true;
+		} finally {
+			totalInsertTime += System.nanoTime() - start;
+		}
+	}
+
+	/**
+	 * Drops the oldest inserted value from the ring and the indexes.  Must hold the write lock.
+	 */
+	private void trimOldest() {
+		final int slot = slot(head - count);
+
+		for (final TimeIndex index : indexes()) {
+			index.remove(slot);
+		}
+
+		updateLastTrim(slot);
+		releaseOutOfLine(slot);
+		count--;
+	}
+
+	/**
+	 * @return true if a packet of length bytes is stored in its slot after the header.
+	 */
+	private boolean isInline(final int length) {
+		return HEADER_SIZE + length <= recordSize;
+	}
+
+	private void releaseOutOfLine(final int slot) {
+		if (outOfLine != null) {
+			outOfLine[slot] = null;
+		}
+	}
+
+	/**
+	 * Moves the last trim times forward to the times of the record in slot.
+	 */
+	private void updateLastTrim(final int slot) {
+		if (storeEvent) {
+			maxTrim(lastTrimEvent, readLong(slot, EVENT_OFFSET));
+		}
+		if (storeErt) {
+			maxTrim(lastTrimErt, readLong(slot, ERT_MS_OFFSET));
+		}
+		if (storeScet) {
+			maxTrim(lastTrimScet, readLong(slot, SCET_MS_OFFSET));
+		}
+	}
+
+	private static void maxTrim(final AtomicLong lastTrim, final long time) {
+		if (time > lastTrim.get()) {
+			lastTrim.set(time);
+		}
+	}
+
+	/**
+	 * Copies the newest keep records into a new ring, in insert order starting at slot 0.  Used when the depth
+	 * or the number of records held changes.  The dropped records count as trimmed.  Out of line packets are
+	 * not copied, they move to the new slot of their record.  Must hold the write lock.
+	 *
+	 * @param keep maximum number of records to keep.
+	 * @param newCapacity capacity of the new ring.
+	 */
+	private void relayout(final int keep, final int newCapacity) {
+		final int kept = Math.min(Math.min(keep, count), newCapacity);
+		final int[] slotMap = new int[capacity];
+		final long firstKept = head - kept;
+
+		for (long position = head - count; position < firstKept; position++) {
+			final int slot = slot(position);
+			updateLastTrim(slot);
+			slotMap[slot] = -1;
+		}
+
+		final ByteBuffer[] oldSegments = segments;
+		final ByteBuffer[] oldOutOfLine = outOfLine;
+		final int oldCapacity = capacity;
+
+		segments = new ByteBuffer[segmentCount(newCapacity)];
+		outOfLine = null;
+		capacity = newCapacity;
+
+		for (int i = 0; i < kept; i++) {
+			final int oldSlot = (int) ((firstKept + i) % oldCapacity);
+			final ByteBuffer source = oldSegments[oldSlot / segmentRecords].duplicate();
+			final int sourceOffset = (oldSlot % segmentRecords) * recordSize;
+			final int length = source.getInt(sourceOffset + LENGTH_OFFSET);
+
+			if (length >= 0 && isInline(length)) {
+				source.limit(sourceOffset + HEADER_SIZE + length);
+			} else {
+				source.limit(sourceOffset + HEADER_SIZE);
+
+				if (oldOutOfLine != null && oldOutOfLine[oldSlot] != null) {
+					if (outOfLine == null) {
+						outOfLine = new ByteBuffer[capacity];
+					}
+
+					outOfLine[i] = oldOutOfLine[oldSlot];
+				}
+			}
+			source.position(sourceOffset);
+
+			final ByteBuffer target = segmentFor(i).duplicate();
+			target.position(recordOffset(i));
+			target.put(source);
+
+			slotMap[oldSlot] = i;
+		}
+
+		for (final TimeIndex index : indexes()) {
+			index.remap(slotMap);
+		}
+
+		head = kept;
+		count = kept;
+	}
+
+	private int segmentCount(final int slots) {
+		return (slots + segmentRecords - 1) / segmentRecords;
+	}
+
+	private int slot(final long position) {
+		return (int) (position % capacity);
+	}
+
+	private int recordOffset(final int slot) {
+		return (slot % segmentRecords) * recordSize;
+	}
+
+	/**
+	 * Gets the segment holding slot, allocating it if this is the first time it is used.  Must hold the write lock.
+	 */
+	private ByteBuffer segmentFor(final int slot) {
+		final int segment = slot / segmentRecords;
+
+		if (segments[segment] == null) {
+			final int slots = Math.min(segmentRecords, capacity - segment * segmentRecords);
+			segments[segment] = ByteBuffer.allocateDirect(slots * recordSize);
+		}
+
+		return segments[segment];
+	}
+
+	private long readLong(final int slot, final int field) {
+		return segments[slot / segmentRecords].getLong(recordOffset(slot) + field);
+	}
+
+	/**
+	 * Decodes the data object stored in slot.  Must hold a lock.
+	 *
+	 * @return the decoded data, or null if it could not be decoded.
+	 */
+	private IGlobalLADData decode(final int slot) {
+		final ByteBuffer segment = segments[slot / segmentRecords].duplicate();
+		final int offset = recordOffset(slot);
+		final int length = segment.getInt(offset + LENGTH_OFFSET);
+
+		final ByteBuffer packet;
+		if (length < PACKET_HEADER_SIZE) {
+			packet = null;
+		} else if (isInline(length)) {
+			packet = segment;
+			packet.position(offset + HEADER_SIZE + PACKET_HEADER_SIZE);
+		} else {
+			packet = outOfLine == null || outOfLine[slot] == null ? null : outOfLine[slot].duplicate();
+
+			if (packet != null) {
+				packet.position(PACKET_HEADER_SIZE);
+			}
+		}
+
+		if (packet == null) {
+			log.error("Failed to decode off-heap global lad data for " + identifier + ": record in slot " + slot
+					+ " has no packet of length " + length);
+			return null;
+		}
+
+		final byte[] transport = new byte[length - PACKET_HEADER_SIZE];
+		packet.get(transport);
+
+		try {
+			final IGlobalLADData data = factory.loadLadData(transport);
+			data.setInsertNumber(segment.getLong(offset + INSERT_NUMBER_OFFSET));
+			data.setWriteAheadLogStamp(segment.getLong(offset + WAL_STAMP_OFFSET));
+			return data;
+		} catch (final Exception e) {
+			log.error("Failed to decode off-heap global lad data for " + identifier + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * @return the indexes for the time types being stored.
+	 */
+	private List<TimeIndex> indexes() {
+		final List<TimeIndex> indexes = new ArrayList<TimeIndex>(3);
+
+		if (eventIndex != null) {
+			indexes.add(eventIndex);
+		}
+		if (ertIndex != null) {
+			indexes.add(ertIndex);
+		}
+		if (scetIndex != null) {
+			indexes.add(scetIndex);
+		}
+
+		return indexes;
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadQueryable#get(jpl.gds.globallad.data.container.IGlobalLadSearchAlgorithm, int)
+	 */
+	@JsonIgnore
+	@Override
+	public Map<Object, Collection<IGlobalLADData>> get(final IGlobalLadSearchAlgorithm dataMatcher, final int numRecords) {
+		final long start = System.nanoTime();
+
+		lock.readLock().lock();
+		try {
+			if (dataMatcher == null || count == 0) {
+				/**
+				 * No reason to move on, just return an empty set.
+				 */
+				return Collections.<Object, Collection<IGlobalLADData>>emptyMap();
+			}
+
+			final boolean isLimited = numRecords > 0;
+			final TreeSet<IGlobalLADData> matched;
+
+			if (dataMatcher.getTimeType() == GlobalLadPrimaryTime.ALL) {
+				/**
+				 * All uses the primary time of each value, which is not indexed.  Check every value and keep
+				 * the latest by the all comparator.
+				 */
+				matched = new TreeSet<IGlobalLADData>(IGlobalLadDataFactory.allComparator);
+
+				for (long position = head - 1; position >= head - count; position--) {
+					final IGlobalLADData data = decode(slot(position));
+
+					if (data != null && dataMatcher.isMatched(data)) {
+						matched.add(data);
+
+						if (isLimited && matched.size() > numRecords) {
+							matched.pollLast();
+						}
+					}
+				}
+			} else {
+				final TimeIndex index;
+				final Comparator<IGlobalLADData> comparator;
+
+				switch(dataMatcher.getTimeType()) {
+				case ERT:
+					index = ertIndex;
+					comparator = IGlobalLadDataFactory.ertComparator;
+					break;
+				case EVENT:
+					index = eventIndex;
+					comparator = IGlobalLadDataFactory.eventComparator;
+					break;
+				case SCET:
+				case LST:
+				case SCLK:
+				default:
+					index = scetIndex;
+					comparator = IGlobalLadDataFactory.scetComparator;
+					break;
+				}
+
+				if (index == null) {
+					// This time type is not stored for this user data type.
+					return Collections.<Object, Collection<IGlobalLADData>>emptyMap();
+				}
+
+				matched = new TreeSet<IGlobalLADData>(comparator);
+
+				/**
+				 * Narrow the range to the query time bounds.  This only checks the milliseconds, the matcher
+				 * still does the full time check on what is left.
+				 */
+				int low = 0;
+				int high = index.size - 1;
+
+				if (dataMatcher instanceof GlobalLadDataSearchAlgorithm) {
+					final GlobalLadDataSearchAlgorithm timeMatcher = (GlobalLadDataSearchAlgorithm) dataMatcher;
+
+					if (timeMatcher.getLowerBoundMilliseconds() >= 0) {
+						low = index.firstAtOrAfter(timeMatcher.getLowerBoundMilliseconds());
+					}
+					if (timeMatcher.getUpperBoundMilliseconds() >= 0) {
+						high = index.firstAtOrAfter(timeMatcher.getUpperBoundMilliseconds() + 1) - 1;
+					}
+				}
+
+				/**
+				 * Index is in ascending order, so go backward to get the latest first.
+				 */
+				for (int i = high; i >= low && (!isLimited || matched.size() < numRecords); i--) {
+					final IGlobalLADData data = decode(index.get(i));
+
+					if (data != null && dataMatcher.isMatched(data)) {
+						matched.add(data);
+					}
+				}
+			}
+
+			if (matched.isEmpty()) {
+				return Collections.<Object, Collection<IGlobalLADData>>emptyMap();
+			} else {
+				final Map<Object, Collection<IGlobalLADData>> result = new HashMap<Object, Collection<IGlobalLADData>>();
+				result.put(getContainerIdentifier(), matched);
+
+				return result;
+			}
+		} finally {
+			lock.readLock().unlock();
+			queryGetCount++;
+			totalQueryGetTime += System.nanoTime() - start;
+			lastTouch = System.currentTimeMillis();
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadQueryable#getAll(jpl.gds.globallad.data.container.IGlobalLadSearchAlgorithm)
+	 */
+	@Override
+	public Map<Object, Collection<IGlobalLADData>> getAll(final IGlobalLadSearchAlgorithm matcher) {
+		return get(matcher, -1);
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadDeltaQueryable#deltaQuery(jpl.gds.globallad.data.container.IGlobalLadSearchAlgorithm, java.util.Map)
+	 */
+	@Override
+	public void deltaQuery(
+			final IGlobalLadSearchAlgorithm matcher, final Map<DeltaQueryStatus, Map<Object, Collection<IGlobalLADData>>> resultMap) {
+		final Map<Object, Collection<IGlobalLADData>> results = getAll(matcher);
+
+		if (!results.isEmpty()) {
+			final DeltaQueryStatus queryStatus = calculateDeltaQueryStatus(matcher);
+
+			if (resultMap.containsKey(queryStatus)) {
+				GlobalLadUtilities.mergeMap(matcher.getTimeType(), results, resultMap.get(queryStatus), -1);
+			} else {
+				// Nothing there yet, results will be the first.
+				resultMap.put(queryStatus, results);
+			}
+		}
+	}
+
+	/**
+	 * @param timeType
+	 * @return Latest timestamp of the trimmed data related to timeType.  Will return -1 if nothing has been trimmed.
+	 */
+	private long getLastTrimTime(final GlobalLadPrimaryTime timeType) {
+		switch (timeType) {
+		case ERT:
+			return lastTrimErt.get();
+		case EVENT:
+			return lastTrimEvent.get();
+		case SCET:
+		case LST:
+		case SCLK:
+		default:
+			return lastTrimScet.get();
+		}
+	}
+
+	/**
+	 * Based on the time value and the time type of matcher figures out the query status, the same as the
+	 * sorted set buffer.
+	 *
+	 * @param matcher
+	 * @return The delta query status.
+	 */
+	private DeltaQueryStatus calculateDeltaQueryStatus(final IGlobalLadDataSearchAlgorithm matcher) {
+		final long lowerTime = matcher.getLowerBoundMilliseconds();
+		final long lastTrim = getLastTrimTime(matcher.getTimeType());
+
+		if (lowerTime < 0) {
+			// Was not set or is not a valid time.
+			return DeltaQueryStatus.unknown;
+		} else if (lowerTime <= lastTrim) {
+			// The lower time was before the last trim or equal.  Can not be sure we got everything.
+			return DeltaQueryStatus.incomplete;
+		} else {
+			// Last trim time was before the data so we should have everything.
+			return DeltaQueryStatus.complete;
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadContainer#getTotalInsertTimeNS()
+	 */
+	@Override
+	public long getTotalInsertTimeNS() {
+		return totalInsertTime;
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadContainer#getTotalInsertGetTimeNS()
+	 */
+	@Override
+	public long getTotalInsertGetTimeNS() {
+		return 0;
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadContainer#getTotalGetTimeNS()
+	 */
+	@Override
+	public long getTotalQueryGetTimeNS() {
+		return totalQueryGetTime;
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadStatable#lastInsert()
+	 */
+	@Override
+	public long lastInsert() {
+		return lastInsert;
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadStatable#lastInsertDelta()
+	 */
+	@Override
+	public long lastInsertDelta() {
+		return System.currentTimeMillis() - lastInsert;
+	}
+
+	/**
+	 * @return Calculated inserts per second
+	 */
+	public long insertsPerSecond() {
+		final double avgNano = totalInsertTime / insertNumber.get();
+		return (long) (1 / (avgNano / 1E9));
+	}
+
+	/**
+	 * @return number of bytes of direct memory allocated for this buffer's records.
+	 */
+	public long getOffHeapBytes() {
+		lock.readLock().lock();
+		try {
+			long bytes = 0;
+
+			for (final ByteBuffer segment : segments) {
+				if (segment != null) {
+					bytes += segment.capacity();
+				}
+			}
+
+			if (outOfLine != null) {
+				for (final ByteBuffer packet : outOfLine) {
+					if (packet != null) {
+						bytes += packet.capacity();
+					}
+				}
+			}
+
+			return bytes;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadStatable#getStats()
+	 */
+	@Override
+	@JsonIgnore
+	public JsonObject getStats() {
+		return Json.createObjectBuilder()
+			    .add(IGlobalLadContainer.CONTAINER_IDENTIFIER_KEY, this.getContainerIdentifier().toString())
+			    .add(IGlobalLadContainer.CONTAINER_TYPE_KEY, this.getContainerType())
+				.add("numInserts", insertNumber.get())
+				.add("insertsPerSecond", insertsPerSecond())
+				.add("queryCount", queryGetCount)
+				.add("eventBufferCount",  getInsertDataCount())
+				.add("ertBufferCount", getErtDataCount())
+				.add("scetBufferCount", getScetDataCount())
+				.add("recordSize", recordSize)
+				.add("offHeapBytes", getOffHeapBytes())
+				.add("lastInsert", lastInsert())
+				.add("lastInsertDeltaMS", lastInsertDelta())
+				.build();
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadQueryable#getMetadata(jpl.gds.globallad.data.container.search.IGlobalLadContainerSearchAlgorithm)
+	 */
+	@Override
+	public JsonObject getMetadata(final IGlobalLadContainerSearchAlgorithm matcher) {
+		try {
+			return getStats();
+		} finally {
+			this.lastTouch = System.currentTimeMillis();
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.IGlobalLadSummarizableContainer#getSummary(jpl.gds.globallad.data.container.search.IGlobalLadContainerSearchAlgorithm)
+	 */
+	@Override
+	public JsonObject getSummary(final IGlobalLadContainerSearchAlgorithm matcher) {
+		try {
+			return Json.createObjectBuilder().build();
+		} finally {
+			this.lastTouch = System.currentTimeMillis();
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadStatable#getJsonId()
+	 */
+	@Override
+	@JsonIgnore
+	public String getJsonId() {
+		return (String) getContainerIdentifier();
+	}
+
+	/**
+	 * @return the lastInsert
+	 */
+	public long getLastInsert() {
+		return lastInsert;
+	}
+
+	/**
+	 * @param lastInsert the lastInsert to set
+	 */
+	public void setLastInsert(final long lastInsert) {
+		this.lastInsert = lastInsert;
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadStatable#getChildCount()
+	 */
+	@Override
+	public int getChildCount() {
+		// Ring buffers have no children.
+		return 0;
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadStatable#getInsertDataCount()
+	 */
+	@Override
+	public long getInsertDataCount() {
+		return storeEvent ? count : 0;
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadStatable#getErtDataCount()
+	 */
+	@Override
+	public long getErtDataCount() {
+		return storeErt ? count : 0;
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadStatable#getScetDataCount()
+	 */
+	@Override
+	public long getScetDataCount() {
+		return storeScet ? count : 0;
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadDepthNotifiable#depthUpdated()
+	 */
+	@Override
+	public void depthUpdated() {
+		final int newMaxSize = Math.max(1, GlobalLadProperties.getGlobalInstance().getDataDepth(this.userDataType));
+
+		lock.writeLock().lock();
+		try {
+			if (newMaxSize != maxSize) {
+				maxSize = newMaxSize;
+				relayout(count, maxSize);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean logableReap() {
+		// Reap of this target should only be logged if in debug mode.
+		return debug;
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.IGlobalLadReapable#reap()
+	 */
+	@Override
+	public boolean reap(final GlobalLadReapSettings reapSettings, final long checkTimeMilliseconds, boolean parentWasReapable, long parentTimeToLive) {
+		/**
+		 * Same reaping as the sorted set buffer.  When reducing the data depths the records that are kept are
+		 * copied into a new ring, which only allocates the segments needed to hold them, so the direct memory
+		 * of the old ring is released and not just the records.
+		 */
+		switch(reapSettings) {
+		case REDUCED_TOUCH_TIME_25:
+		case REDUCED_TOUCH_TIME_50:
+		case REDUCED_TOUCH_TIME_75:
+		case REDUCED_TOUCH_TIME_90:
+			parentTimeToLive = (long) (parentTimeToLive * reapSettings.touchTimeRatio);
+			break;
+		case IGNORE_LEVEL_RESTRICTIONS:
+			parentWasReapable = true;
+			break;
+		case REDUCED_TOUCH_TIME_IGNORE_LEVEL_RESTRICTIONS_25:
+		case REDUCED_TOUCH_TIME_IGNORE_LEVEL_RESTRICTIONS_50:
+		case REDUCED_TOUCH_TIME_IGNORE_LEVEL_RESTRICTIONS_75:
+		case REDUCED_TOUCH_TIME_IGNORE_LEVEL_RESTRICTIONS_90:
+			parentTimeToLive = (long) (parentTimeToLive * reapSettings.touchTimeRatio);
+			parentWasReapable = true;
+			break;
+		case REDUCE_DATA_DEPTHS_10:
+		case REDUCE_DATA_DEPTHS_25:
+		case REDUCE_DATA_DEPTHS_50:
+		case REDUCE_DATA_DEPTHS_75:
+		case REDUCE_DATA_DEPTHS_90:
+		case REDUCE_DATA_DEPTHS_99:
+			int newMaxSize = (int) (reapSettings.depthRatio * maxSize);
+			newMaxSize = newMaxSize > 1 ? newMaxSize : 1;
+
+			lock.writeLock().lock();
+			try {
+				if (count > newMaxSize) {
+					relayout(newMaxSize, capacity);
+				}
+			} finally {
+				lock.writeLock().unlock();
+			}
+			break;
+		case REDUCE_DATA_DEPTHS_PERM:
+			// This is not used by the buffers so treat them as a normal reap.
+		case NORMAL:
+		case MEM_NORMAL:
+			break;
+		}
+
+		final long localTime = lastTouch > lastInsert ? lastTouch : lastInsert;
+		return parentWasReapable && checkTimeMilliseconds - localTime > parentTimeToLive;
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadSerializable#push(java.lang.Object[][])
+	 */
+	@Override
+	@JsonView(GlobalLadSerializationViews.SerializationView.class)
+	public void dehydrate(final JsonGenerator generator, final Object... identifiers) throws IOException {
+		generator.useDefaultPrettyPrinter();
+		generator.writeStartObject();
+		generator.writeFieldName(GlobalLadContainerFactory.CONTAINER_PATH);
+		generator.writeStartArray();
+
+		for (final Object idd : identifiers) {
+			generator.writeObject(idd);
+		}
+
+		generator.writeEndArray();
+
+		generator.writeObjectField(GlobalLadContainerFactory.DATA_BUFFER, this);
+		generator.writeEndObject();
+		generator.flush();
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadSerializable#pull(jpl.gds.globallad.data.container.IGlobalLadContainer, java.util.List, java.util.List)
+	 */
+	@Override
+	public void rehydrate(final IGlobalLadContainer container,
+			final List<String> childContainerTypes,
+			final List<Object> childContainerIdentifiers)
+			throws GlobalLadContainerException {
+		throw new GlobalLadContainerException("In ring buffer and should not get here.");
+	}
+
+	/**
+	 * @return the user data type.
+	 */
+	public byte getUserDataType() {
+		return this.userDataType;
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.globallad.data.container.IGlobalLadContainer#remove(jpl.gds.globallad.data.container.search.IGlobalLadContainerSearchAlgorithm)
+	 */
+	@Override
+	public boolean remove(final IGlobalLadContainerSearchAlgorithm matcher) throws Exception {
+		return matcher.isContainerMatch(this);
+	}
+
+	/**
+	 * Drops all of the records and the ring segments holding them.
+	 *
+	 * @see jpl.gds.globallad.data.container.IGlobalLadContainer#clear()
+	 */
+	@Override
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			relayout(0, capacity);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append("OffHeapGlobalLadDataBuffer [");
+		if (identifier != null) {
+			builder.append("identifier=");
+			builder.append(identifier);
+			builder.append(", ");
+		}
+		if (containerType != null) {
+			builder.append("containerType=");
+			builder.append(containerType);
+		}
+		builder.append("]");
+		return builder.toString();
+	}
+
+	/**
+	 * Slot numbers of the records sorted in ascending order by one time type, then by insert number.  The keys
+	 * are read from the record headers, so the only heap used is the slot array.  Access is guarded by the
+	 * buffer lock.
+	 * <p>
+	 * The slot array is circular, with the first position at start, so that the two common cases, a record
+	 * arriving in time order and the oldest record being trimmed, only move the end or the start.  A record
+	 * arriving out of time order is found a place with a binary search, and the shorter side of the array is
+	 * moved to make room for it or to close up after it is removed.
+	 */
+	private final class TimeIndex {
+		private final int millisecondsField;
+		private final int nanosecondsField;
+
+		private int[] slots = new int[16];
+		private int start;
+		private int size;
+
+		/**
+		 * @param millisecondsField header offset of the milliseconds.
+		 * @param nanosecondsField header offset of the nanoseconds, or -1 if the time type has none.
+		 */
+		TimeIndex(final int millisecondsField, final int nanosecondsField) {
+			this.millisecondsField = millisecondsField;
+			this.nanosecondsField = nanosecondsField;
+		}
+
+		/**
+		 * @return the slot at position in time order.
+		 */
+		int get(final int position) {
+			return slots[physical(position)];
+		}
+
+		private int physical(final int position) {
+			final int index = start + position;
+			return index < slots.length ? index : index - slots.length;
+		}
+
+		private long milliseconds(final int slot) {
+			return readLong(slot, millisecondsField);
+		}
+
+		private long nanoseconds(final int slot) {
+			return nanosecondsField < 0 ? 0 : readLong(slot, nanosecondsField);
+		}
+
+		private int compare(final int slot, final long ms, final long ns, final long insert) {
+			int cmp = Long.compare(milliseconds(slot), ms);
+			cmp = cmp == 0 ? Long.compare(nanoseconds(slot), ns) : cmp;
+			return cmp == 0 ? Long.compare(readLong(slot, INSERT_NUMBER_OFFSET), insert) : cmp;
+		}
+
+		/**
+		 * @return the position of the record with the given keys, or (-(insertion point) - 1) if there is none.
+		 */
+		private int search(final long ms, final long ns, final long insert) {
+			int low = 0;
+			int high = size - 1;
+
+			while (low <= high) {
+				final int mid = (low + high) >>> 1;
+				final int cmp = compare(get(mid), ms, ns, insert);
+
+				if (cmp < 0) {
+					low = mid + 1;
+				} else if (cmp > 0) {
+					high = mid - 1;
+				} else {
+					return mid;
+				}
+			}
+
+			return -(low + 1);
+		}
+
+		/**
+		 * @return the position of the first record with milliseconds on or after ms, size if there is none.
+		 */
+		int firstAtOrAfter(final long ms) {
+			int low = 0;
+			int high = size;
+
+			while (low < high) {
+				final int mid = (low + high) >>> 1;
+
+				if (milliseconds(get(mid)) < ms) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+
+			return low;
+		}
+
+		/**
+		 * Adds the record in slot.  Data normally arrives in time order, so this checks the end first to avoid
+		 * the search.
+		 */
+		void add(final int slot) {
+			final long ms = milliseconds(slot);
+			final long ns = nanoseconds(slot);
+			final long insert = readLong(slot, INSERT_NUMBER_OFFSET);
+
+			if (size == slots.length) {
+				resize(Math.min(Math.max(16, size * 2), Math.max(capacity, size + 1)));
+			}
+
+			if (size == 0 || compare(get(size - 1), ms, ns, insert) < 0) {
+				slots[physical(size)] = slot;
+				size++;
+				return;
+			}
+
+			int position = search(ms, ns, insert);
+			position = position < 0 ? -(position + 1) : position;
+
+			if (position < size - position) {
+				// Move the records before it down one, into the free position before start.
+				start = start == 0 ? slots.length - 1 : start - 1;
+				size++;
+				for (int i = 0; i < position; i++) {
+					slots[physical(i)] = slots[physical(i + 1)];
+				}
+			} else {
+				for (int i = size; i > position; i--) {
+					slots[physical(i)] = slots[physical(i - 1)];
+				}
+				size++;
+			}
+
+			slots[physical(position)] = slot;
+		}
+
+		/**
+		 * Removes the record in slot.  Must be called before the slot is written again.  The oldest record is
+		 * normally the first in time order, so this checks the start first to avoid the search.
+		 */
+		void remove(final int slot) {
+			int position;
+
+			if (size > 0 && get(0) == slot) {
+				position = 0;
+			} else {
+				position = search(milliseconds(slot), nanoseconds(slot), readLong(slot, INSERT_NUMBER_OFFSET));
+
+				if (position < 0 || get(position) != slot) {
+					// Duplicate keys, fall back to finding the slot itself.
+					position = -1;
+					for (int i = 0; i < size; i++) {
+						if (get(i) == slot) {
+							position = i;
+							break;
+						}
+					}
+
+					if (position < 0) {
+						return;
+					}
+				}
+			}
+
+			if (position < size - position - 1) {
+				// Move the records before it up one, and start after them.
+				for (int i = position; i > 0; i--) {
+					slots[physical(i)] = slots[physical(i - 1)];
+				}
+				start = physical(1);
+			} else {
+				for (int i = position; i < size - 1; i++) {
+					slots[physical(i)] = slots[physical(i + 1)];
+				}
+			}
+
+			size--;
+		}
+
+		/**
+		 * Renumbers the slots after the ring was copied, dropping any mapped to -1.  The order is unchanged.
+		 */
+		void remap(final int[] slotMap) {
+			final int[] remapped = new int[Math.max(16, size)];
+			int kept = 0;
+
+			for (int i = 0; i < size; i++) {
+				final int slot = slotMap[get(i)];
+
+				if (slot >= 0) {
+					remapped[kept++] = slot;
+				}
+			}
+
+			slots = remapped;
+			start = 0;
+			size = kept;
+
+			if (slots.length > Math.max(16, size * 2)) {
+				resize(Math.max(16, size));
+			}
+		}
+
+		/**
+		 * Copies the slots into an array of the given length, starting at position 0.
+		 */
+		private void resize(final int length) {
+			final int[] resized = new int[length];
+
+			for (int i = 0; i < size; i++) {
+				resized[i] = get(i);
+			}
+
+			slots = resized;
+			start = 0;
+		}
+	}
+}
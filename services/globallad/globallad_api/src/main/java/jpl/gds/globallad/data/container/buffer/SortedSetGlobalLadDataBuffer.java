@@ -48,6 +48,7 @@ import jpl.gds.globallad.data.container.IGlobalLadContainer;
 import jpl.gds.globallad.data.container.IGlobalLadDepthNotifiable;
 import jpl.gds.globallad.data.container.IGlobalLadSearchAlgorithm;
 import jpl.gds.globallad.data.container.IGlobalLadSerializable;
+import jpl.gds.globallad.data.container.IdentifierRegex;
 import jpl.gds.globallad.data.container.search.IGlobalLadContainerSearchAlgorithm;
 import jpl.gds.globallad.data.container.search.IGlobalLadDataSearchAlgorithm;
 import jpl.gds.globallad.data.factory.IGlobalLadDataFactory;
@@ -341,6 +342,15 @@ public class SortedSetGlobalLadDataBuffer implements IGlobalLadContainer, IGloba
 		return null;
 	}
 
+	/**
+	 * Stubbed method.  Always returns null.
+	 * @return null.  This container never has children, it is always the last stop on the train.
+	 */
+	@Override
+	public Collection<IGlobalLadContainer> getChildrenWithRegex(final IdentifierRegex rx) {
+		return null;
+	}
+
 	/**
 	 * This will always be null for this class.
 	 * @return null.  This container never has children, it is always the last stop on the train.
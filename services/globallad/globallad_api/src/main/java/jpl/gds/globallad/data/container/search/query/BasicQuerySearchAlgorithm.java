@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.PatternSyntaxException;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.WordUtils;
@@ -30,6 +31,7 @@ import jpl.gds.globallad.data.IGlobalLADData.GlobalLadPrimaryTime;
 import jpl.gds.globallad.data.container.GlobalLadContainerFactory;
 import jpl.gds.globallad.data.container.IGlobalLadContainer;
 import jpl.gds.globallad.data.container.IGlobalLadSearchAlgorithm;
+import jpl.gds.globallad.data.container.IdentifierRegex;
 import jpl.gds.shared.gdr.GDR;
 import jpl.gds.shared.time.IAccurateDateTime;
 
@@ -169,6 +171,12 @@ public class BasicQuerySearchAlgorithm extends GlobalLadDataSearchAlgorithm impl
 	 */
 	private final boolean matchOnNullOrEmpty;
 	
+	/**
+	 * Regexes compiled by this query, keyed by the regex string, so each is compiled once per query rather than
+	 * once for every container and identifier checked.
+	 */
+	private final Map<String, IdentifierRegex> compiledRegexes = new ConcurrentHashMap<String, IdentifierRegex>();
+	
 	/**
 	 * Full protected constructor.
 	 * 
@@ -384,6 +392,29 @@ public class BasicQuerySearchAlgorithm extends GlobalLadDataSearchAlgorithm impl
 		return (String) invokeGetterMethod(MethodInvokeType.regex, container);
 	}
 
+	/**
+	 * Gets the compiled form of a regex returned by getRegex or getLocalRegex, compiling it the first time it is
+	 * asked for.
+	 * 
+	 * @param regex regex string.
+	 * @return compiled regex.
+	 * @throws GlobalLadSearchAlgorithmException if regex is not a valid regular expression.
+	 */
+	private IdentifierRegex getCompiledRegex(final String regex) throws GlobalLadSearchAlgorithmException {
+		IdentifierRegex compiled = compiledRegexes.get(regex);
+		
+		if (compiled == null) {
+			try {
+				compiled = IdentifierRegex.compile(regex);
+			} catch (final PatternSyntaxException e) {
+				throw new GlobalLadSearchAlgorithmException("Bad regex for global lad search: " + e.getMessage());
+			}
+			compiledRegexes.put(regex, compiled);
+		}
+		
+		return compiled;
+	}
+
 	/**
 	 * Added a method so that more checking could be done.
 	 */
@@ -460,7 +491,7 @@ public class BasicQuerySearchAlgorithm extends GlobalLadDataSearchAlgorithm impl
 			 * Only do a regex search.
 			 */
 			if (regex != null && !regex.isEmpty()) {
-				matched.addAll(container.getChildrenWithRegex(regex));
+				matched.addAll(container.getChildrenWithRegex(getCompiledRegex(regex)));
 			} else {
 				/**
 				 * Exact search.  Get the search data array and find the children that match.
@@ -497,7 +528,7 @@ public class BasicQuerySearchAlgorithm extends GlobalLadDataSearchAlgorithm impl
 		final String localRegex = this.getLocalRegex(container);
 		
 		if (localRegex != null && !localRegex.isEmpty()) {
-			return container.getContainerIdentifier().toString().matches(localRegex);
+			return getCompiledRegex(localRegex).matches(container.getContainerIdentifier());
 		} else {
 			final Collection<Object> searchArray = getLocalSearchData(container);
 	
@@ -16,6 +16,7 @@ package jpl.gds.globallad.data.container.search.query;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.regex.Pattern;
 
 import jpl.gds.globallad.data.EvrGlobalLadData;
 import jpl.gds.globallad.data.IGlobalLADData;
@@ -31,6 +32,12 @@ public class EvrQuerySearchAlgorithm extends BasicQuerySearchAlgorithm {
 	private Collection<String> nameRegex;
 	private Collection<String> messageRegex;
 	private Collection<Long> evrIds;
+	
+	/**
+	 * The name and message regexes, compiled once for the query rather than for every EVR checked.
+	 */
+	private final Collection<Pattern> namePatterns;
+	private final Collection<Pattern> messagePatterns;
 
 	/**
 	 * Full constructor.
@@ -87,6 +94,24 @@ public class EvrQuerySearchAlgorithm extends BasicQuerySearchAlgorithm {
 		this.evrIds = evrIds;
 		this.nameRegex = nameRegex;
 		this.messageRegex = messageRegex;
+		this.namePatterns = compile(nameRegex);
+		this.messagePatterns = compile(messageRegex);
+	}
+	
+	/**
+	 * @param regexes
+	 * @return the compiled regexes, or an empty collection if regexes is null.
+	 */
+	private static Collection<Pattern> compile(Collection<String> regexes) {
+		Collection<Pattern> patterns = new ArrayList<Pattern>();
+		
+		if (regexes != null) {
+			for (String rx : regexes) {
+				patterns.add(Pattern.compile(rx));
+			}
+		}
+		
+		return patterns;
 	}
 	
 	/* (non-Javadoc)
@@ -145,11 +170,11 @@ public class EvrQuerySearchAlgorithm extends BasicQuerySearchAlgorithm {
 	 * @return true if the evr name match the regexes specified in this search algorithm or if no regexes were defined.
 	 */
 	private boolean isNameRegexMatch(EvrGlobalLadData evr) {
-		if (nameRegex == null || nameRegex.isEmpty()) {
+		if (namePatterns.isEmpty()) {
 			return true;
 		} else {
-			for (String rx : nameRegex) {
-				if (evr.getEvrName().matches(rx)) {
+			for (Pattern rx : namePatterns) {
+				if (rx.matcher(evr.getEvrName()).matches()) {
 					return true;
 				}
 			}
@@ -164,11 +189,11 @@ public class EvrQuerySearchAlgorithm extends BasicQuerySearchAlgorithm {
 	 * @return true if the message matches the message regex specified in this search algorithm or if no regex was defined.
 	 */
 	private boolean isMessageRegex(EvrGlobalLadData evr) {
-		if (messageRegex == null || messageRegex.isEmpty()) {
+		if (messagePatterns.isEmpty()) {
 			return true;
 		} else {
-			for (String rx : messageRegex) {
-				if (evr.getMessage().matches(rx)) {
+			for (Pattern rx : messagePatterns) {
+				if (rx.matcher(evr.getMessage()).matches()) {
 					return true;
 				}
 			}
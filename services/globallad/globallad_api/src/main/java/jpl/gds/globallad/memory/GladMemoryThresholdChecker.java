@@ -13,15 +13,49 @@
  */
 package jpl.gds.globallad.memory;
 
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Checks the heap and direct memory used against a percentage.  Direct memory holds the data of off-heap
+ * ring buffers, so it is checked as well so the reaper can trim them the same as the heap buffers.
+ */
 public class GladMemoryThresholdChecker implements IMemoryThresholdChecker {
 
+    private static final String DIRECT_POOL_NAME = "direct";
+
     private final double maxMemoryUsedPercentage;
+    private final long maxDirectBytes;
+    private final BufferPoolMXBean directPool;
 
     /**
+     * Only checks the heap.
+     * 
      * @param maxMemoryUsedPercentage
      */
     public GladMemoryThresholdChecker(final double maxMemoryUsedPercentage) {
+        this(maxMemoryUsedPercentage, -1);
+    }
+
+    /**
+     * @param maxMemoryUsedPercentage
+     * @param maxDirectBytes
+     *            direct memory the percentage is applied to. If less than 1 direct memory is not checked.
+     */
+    public GladMemoryThresholdChecker(final double maxMemoryUsedPercentage, final long maxDirectBytes) {
         this.maxMemoryUsedPercentage = maxMemoryUsedPercentage;
+        this.maxDirectBytes = maxDirectBytes;
+
+        BufferPoolMXBean direct = null;
+        if (maxDirectBytes > 0) {
+            for (final BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+                if (DIRECT_POOL_NAME.equals(pool.getName())) {
+                    direct = pool;
+                    break;
+                }
+            }
+        }
+        this.directPool = direct;
     }
 
     /**
@@ -31,7 +65,21 @@ public class GladMemoryThresholdChecker implements IMemoryThresholdChecker {
     @Override
     public boolean isOverMemoryThreshold() {
         final double percent = calculateCurrentMemoryUsedPercentage();
-        return percent >= maxMemoryUsedPercentage;
+        return percent >= maxMemoryUsedPercentage || calculateDirectMemoryUsedPercentage() >= maxMemoryUsedPercentage;
+    }
+
+    /**
+     * Uses the direct buffer pool to calculate the percent of direct memory used.
+     * 
+     * @return percent of direct memory used, 0 if direct memory is not checked
+     */
+    private double calculateDirectMemoryUsedPercentage() {
+        if (directPool == null) {
+            return 0;
+        }
+
+        final double used = directPool.getMemoryUsed();
+        return (used / maxDirectBytes) * 100;
     }
 
     /**
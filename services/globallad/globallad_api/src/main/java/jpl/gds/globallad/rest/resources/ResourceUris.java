@@ -109,6 +109,8 @@ public class ResourceUris {
 	public static final String binaryResponseQP = "binaryResponse";
 	public static final String outputFormatQP = "outputFormat";
 	public static final String showColHeadersQP = "showColumnHeaders";
+	public static final String streamQP = "stream";
+	public static final String compressQP = "compress";
 
 	private static String buildUri(String uriBase, String uriName, String uri) {
 		return String.format("%-25s: %s%s", uriName, uriBase, uri);
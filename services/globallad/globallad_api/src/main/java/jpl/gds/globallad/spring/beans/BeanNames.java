@@ -50,6 +50,9 @@ public class BeanNames {
     /** Worker Bean: GLAD_WORKER_EXECUTOR */
     public static final String GLAD_WORKER_EXECUTOR         = "globalLadWorkerExecutor";
 
+    /** GLAD REST query fork/join pool */
+    public static final String GLAD_QUERY_POOL              = "globalLadQueryPool";
+
     /** GLAD Socket Server Executor */
     public static final String GLAD_EXECUTOR                = "gladExecutor";
 
@@ -15,6 +15,7 @@ package jpl.gds.globallad.data.storage;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.InputStream;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -42,6 +43,7 @@ import jpl.gds.globallad.disruptor.IDisruptorProducer;
 import jpl.gds.globallad.disruptor.NoOpEventHandler;
 import jpl.gds.globallad.io.IBinaryLoadHandler;
 import jpl.gds.globallad.spring.beans.GlobalLadBinaryLoadHandlerProvider;
+import jpl.gds.globallad.workers.GlobalLadWriteAheadLog;
 import jpl.gds.shared.log.Loggers;
 import jpl.gds.shared.log.TraceManager;
 import jpl.gds.shared.log.TraceSeverity;
@@ -181,6 +183,35 @@ public class DataInsertionManager implements IDisruptorProducer<IGlobalLADData>,
 		disruptor.start();
 	}
 
+	/**
+	 * Sets the write-ahead log on all of the event handlers.
+	 * 
+	 * @param writeAheadLog the log, or null to stop logging
+	 */
+	public void setWriteAheadLog(final GlobalLadWriteAheadLog writeAheadLog) {
+		for (final AbstractGlobalLadInserterEventHandler handler : handlers) {
+			handler.setWriteAheadLog(writeAheadLog);
+		}
+	}
+
+	/**
+	 * Waits for all data published to the disruptor to be processed by the event handlers.
+	 * 
+	 * @param timeoutMillis maximum time to wait
+	 * @return true if the ring buffer is empty
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public boolean waitForInserts(final long timeoutMillis) throws InterruptedException {
+		final long end = System.currentTimeMillis() + timeoutMillis;
+		while (disruptor.getRingBuffer().remainingCapacity() < disruptor.getRingBuffer().getBufferSize()) {
+			if (System.currentTimeMillis() >= end) {
+				return false;
+			}
+			Thread.sleep(10);
+		}
+		return true;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -213,23 +244,38 @@ public class DataInsertionManager implements IDisruptorProducer<IGlobalLADData>,
 			return false;
 		}
 
+		try (FileInputStream input = new FileInputStream(dumpFile)) {
+			loadLad(input);
+		} catch (final Exception e) {
+			log.error("Failed to initialize from backup file: " + e.getMessage(), e.getCause());
+		}
+		
+		log.info("Successfully initialized from restore file " , dumpFile);
+		return true;
+	}
+	
+	/**
+	 * Loads packet byte arrays, in the backup file format, from a stream into the lad.  Used to 
+	 * replay the write-ahead log after restoring a backup.  The stream is not closed.
+	 * 
+	 * @param input
+	 *            the data to load
+	 * @throws Exception
+	 *             if the data could not be loaded
+	 */
+	public void loadLad(final InputStream input) throws Exception {
 		/**
 		 * Connect to the global lad server as a client and pass the contents of
 		 * the restore file like any client would.
 		 */
         TraceManager.getTracer(Loggers.AMPCS_ROOT_TRACER).setLevel(TraceSeverity.ERROR);
 
-		try (FileInputStream input = new FileInputStream(dumpFile)) {
+		try {
 			final IBinaryLoadHandler binaryLoadHandler = binaryParseHandlerProvider.getBinaryLoadHandler(input, this);
 			binaryLoadHandler.execute();
-		} catch (final Exception e) {
-			log.error("Failed to initialize from backup file: " + e.getMessage(), e.getCause());
 		} finally {
 			TraceManager.getTracer(Loggers.AMPCS_ROOT_TRACER).setLevel(TraceSeverity.INFO);
 		}
-		
-		log.info("Successfully initialized from restore file " , dumpFile);
-		return true;
 	}
 	
 	/**
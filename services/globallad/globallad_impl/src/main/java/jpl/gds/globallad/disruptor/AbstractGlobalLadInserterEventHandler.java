@@ -16,6 +16,7 @@ package jpl.gds.globallad.disruptor;
 import com.lmax.disruptor.EventHandler;
 
 import jpl.gds.globallad.data.container.IGlobalLadContainer;
+import jpl.gds.globallad.workers.GlobalLadWriteAheadLog;
 
 /**
  * Event handler to insert data into the global lad.  This is abstract in order to support testing of
@@ -26,6 +27,7 @@ public abstract class AbstractGlobalLadInserterEventHandler implements EventHand
 	protected final int ordinal;
 	protected final int outOf;
 	public long lastSequence = -1;
+	protected volatile GlobalLadWriteAheadLog.Stream writeAheadLog;
 	
 	/**
 	 * 
@@ -46,4 +48,13 @@ public abstract class AbstractGlobalLadInserterEventHandler implements EventHand
 	public void setGlobalLad(IGlobalLadContainer newGlobalLad) {
 		this.globalLad = newGlobalLad;
 	}
+
+	/**
+	 * Sets the write-ahead log that data is recorded in before it is inserted.  The handler logs to 
+	 * its own stream of the log, numbered by its ordinal.
+	 * @param writeAheadLog the log, or null to stop logging
+	 */
+	public void setWriteAheadLog(GlobalLadWriteAheadLog writeAheadLog) {
+		this.writeAheadLog = writeAheadLog == null ? null : writeAheadLog.getStream(ordinal);
+	}
 }
@@ -14,6 +14,7 @@
 package jpl.gds.globallad.disruptor;
 
 import jpl.gds.globallad.data.container.IGlobalLadContainer;
+import jpl.gds.globallad.workers.GlobalLadWriteAheadLog;
 
 /**
  * Production event handler to insert data into the global lad.
@@ -32,7 +33,21 @@ public class GlobalLadInserterEventHandler extends AbstractGlobalLadInserterEven
 		 */
 		if (sequence % outOf == ordinal) {
 			lastSequence = sequence;
-			globalLad.insert(event.data);
+
+			/**
+			 * Log before inserting so a backup in progress can tell which data it must leave out.
+			 */
+			final GlobalLadWriteAheadLog.Stream wal = writeAheadLog;
+			if (wal == null) {
+				globalLad.insert(event.data);
+			} else {
+				wal.beginInsert(event.data);
+				try {
+					globalLad.insert(event.data);
+				} finally {
+					wal.endInsert();
+				}
+			}
 			
 			/**
 			 * Once we are done with this event we need to set the buffer to null so it can be GC'd.  If we don't 
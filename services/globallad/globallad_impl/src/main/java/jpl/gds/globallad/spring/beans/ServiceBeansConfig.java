@@ -22,6 +22,7 @@ import jpl.gds.globallad.GlobalLadProperties;
 import jpl.gds.globallad.IGlobalLadReapable;
 import jpl.gds.globallad.data.IGlobalLADData;
 import jpl.gds.globallad.data.container.GlobalLadUtilities;
+import jpl.gds.globallad.data.container.buffer.OffHeapGlobalLadDataBuffer;
 import jpl.gds.globallad.data.factory.IGlobalLadDataFactory;
 import jpl.gds.globallad.data.storage.DataInsertionManager;
 import jpl.gds.globallad.disruptor.IDisruptorProducer;
@@ -59,9 +60,12 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Bean configuration class for global lad services.  Note, this class is not meant to be used directly, it is a
@@ -134,7 +138,14 @@ public class ServiceBeansConfig {
     @Bean(name = BeanNames.GLAD_REAPER)
     public GlobalLadReaper globalLadReaper(final IGlobalLadReapable reapTarget, final GlobalLadProperties gladConfig) {
         final double                  memoryThreshold = gladConfig.getReapingMemoryThreshold();
-        final IMemoryThresholdChecker memChecker      = new GladMemoryThresholdChecker(memoryThreshold);
+        final boolean                 offHeap         = OffHeapGlobalLadDataBuffer.class.getName()
+                .equals(gladConfig.getRingBufferClassName());
+
+        /**
+         * The off-heap buffers keep their data in direct memory, so check that as well as the heap.
+         */
+        final IMemoryThresholdChecker memChecker      = new GladMemoryThresholdChecker(memoryThreshold,
+                offHeap ? gladConfig.getOffHeapMaxBytes() : -1);
 
         return new GlobalLadReaper(reapTarget, config.getTracer(), memChecker);
     }
@@ -165,6 +176,24 @@ public class ServiceBeansConfig {
         return exec;
     }
 
+    /**
+     * Fork/join pool that streaming REST queries search the data buffers on.  The buffer searches can block on
+     * buffer locks, so they are kept off the common pool and bounded by the configured thread count.
+     *
+     * @param gladConfig global lad configuration
+     * @return query pool
+     */
+    @Bean(name = BeanNames.GLAD_QUERY_POOL, destroyMethod = "shutdownNow")
+    public ForkJoinPool globalLadQueryPool(final GlobalLadProperties gladConfig) {
+        final AtomicInteger count = new AtomicInteger();
+        return new ForkJoinPool(gladConfig.getQueryThreadCount(), pool -> {
+            final ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            t.setName("glad-query-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }, null, false);
+    }
+
     /**
      * GLAD executor
      *
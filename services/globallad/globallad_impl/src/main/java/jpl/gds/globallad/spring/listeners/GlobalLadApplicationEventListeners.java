@@ -23,6 +23,7 @@ import jpl.gds.globallad.spring.beans.BeanNames;
 import jpl.gds.globallad.spring.beans.GlobalLadDataSourceProvider;
 import jpl.gds.globallad.spring.cli.GlobalLadCommandLineParser;
 import jpl.gds.globallad.workers.GlobalLadPersister;
+import jpl.gds.globallad.workers.GlobalLadWriteAheadLog;
 import jpl.gds.shared.log.Loggers;
 import jpl.gds.shared.log.TraceManager;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -53,6 +54,7 @@ import java.util.concurrent.TimeoutException;
 @Component
 @Scope(value = "prototype")
 public class GlobalLadApplicationEventListeners {
+    private static final long RESTORE_WAIT_MILLIS = 60000;
 
     /**
      * This is a prototype so it will only be created when it is being used, but still only going to auto wire the
@@ -71,6 +73,9 @@ public class GlobalLadApplicationEventListeners {
 
     private Future<?> dataSourceTask;
 
+    private GlobalLadWriteAheadLog writeAheadLog;
+    private long writeAheadLogFirstSequence;
+
     /**
      * Shuts down all services one the Spring context is closed, meaning the application has shut down.
      *
@@ -97,6 +102,10 @@ public class GlobalLadApplicationEventListeners {
         TraceManager.getTracer(Loggers.GLAD).debug("Shutting down the global lad data inserter manager.");
         inserter.stop();
 
+        if (writeAheadLog != null) {
+            writeAheadLog.close();
+        }
+
         final ScheduledExecutorService worker = evt.getApplicationContext()
                 .getBean(BeanNames.GLAD_WORKER_EXECUTOR, ScheduledExecutorService.class);
         worker.shutdown();
@@ -150,6 +159,10 @@ public class GlobalLadApplicationEventListeners {
     /**
      * Finds the back up file to load into the lad if it has been configured to restore from backup.  Also adds the
      * persister to the global lad worker executor if persistence has been enabled.
+     * <p>
+     * When restoring from the newest backup, the write-ahead log recorded since that backup is replayed after it.
+     * Once the restore is done the write-ahead log is opened for new data and a backup is taken right away, so
+     * the log does not need to be replayed again.
      */
     private void doPersist(final ApplicationContext ctx) {
         final ScheduledExecutorService   worker    = ctx
@@ -189,6 +202,11 @@ public class GlobalLadApplicationEventListeners {
                     if (df != null) {
                         inserter.initializeLadFromBackup(df, true);
                     }
+
+                    final GlobalLadWriteAheadLog wal = persister.getWriteAheadLog();
+                    if (wal != null && cli.backupFile == null) {
+                        replayWriteAheadLog(wal, df, ctx);
+                    }
                 }
             }
         }
@@ -198,10 +216,59 @@ public class GlobalLadApplicationEventListeners {
          * worker executor.
          */
         if (persister != null && config.isPersistenceEnabled()) {
+            long initialDelay = config.getPersistenceIntervalSeconds();
+
+            if (persister.getWriteAheadLog() != null && startWriteAheadLog(persister.getWriteAheadLog(), ctx)) {
+                /**
+                 * Back up right away so anything restored from an old write-ahead log is in a backup.
+                 */
+                initialDelay = 0;
+            }
+
             worker.scheduleWithFixedDelay(persister,
-                    config.getPersistenceIntervalSeconds(), // Delay before starting.
+                    initialDelay, // Delay before starting.
                     config.getPersistenceIntervalSeconds(),
                     TimeUnit.SECONDS);
         }
     }
+
+    /**
+     * Replays the write-ahead log records that follow the checkpoint of the restored backup, in the
+     * order they were logged.
+     */
+    private void replayWriteAheadLog(final GlobalLadWriteAheadLog wal, final File backup, final ApplicationContext ctx) {
+        try (GlobalLadWriteAheadLog.Replay replay = wal.openReplay(backup)) {
+            inserter.loadLad(replay);
+            writeAheadLogFirstSequence = replay.getLastSequence() + 1;
+            TraceManager.getTracer(ctx, Loggers.GLAD).info("Replayed ", replay.getRecordCount(),
+                    " records from the write-ahead log");
+        } catch (final Exception e) {
+            TraceManager.getTracer(ctx, Loggers.GLAD).error("Failed to replay the write-ahead log: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Waits for restored data to be inserted, then opens the write-ahead log and starts logging new data to it.
+     *
+     * @return true if the write-ahead log was started
+     */
+    private boolean startWriteAheadLog(final GlobalLadWriteAheadLog wal, final ApplicationContext ctx) {
+        try {
+            if (!inserter.waitForInserts(RESTORE_WAIT_MILLIS)) {
+                TraceManager.getTracer(ctx, Loggers.GLAD)
+                        .warn("Timed out waiting for restored data to be inserted; starting the write-ahead log anyway.");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        if (!wal.open(writeAheadLogFirstSequence)) {
+            return false;
+        }
+
+        writeAheadLog = wal;
+        inserter.setWriteAheadLog(wal);
+        return true;
+    }
 }
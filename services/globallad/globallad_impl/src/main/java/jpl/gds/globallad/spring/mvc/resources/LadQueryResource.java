@@ -26,6 +26,7 @@ import jpl.gds.globallad.data.GlobalLadDataException;
 import jpl.gds.globallad.data.GlobalLadUserDatatypeConverter;
 import jpl.gds.globallad.data.IGlobalLADData;
 import jpl.gds.globallad.data.IGlobalLADData.GlobalLadPrimaryTime;
+import jpl.gds.globallad.data.container.GlobalLadStreamingQuery;
 import jpl.gds.globallad.data.container.GlobalLadUtilities;
 import jpl.gds.globallad.data.container.IGlobalLadDeltaQueryable.DeltaQueryStatus;
 import jpl.gds.globallad.data.container.search.query.BasicQuerySearchAlgorithm.BasicQuerySearchAlgorithmBuilder;
@@ -39,9 +40,13 @@ import jpl.gds.globallad.data.utilities.JsonUtilities;
 import jpl.gds.globallad.message.handler.IGlobalLad;
 import jpl.gds.globallad.rest.resources.QueryOutputFormat;
 import jpl.gds.globallad.rest.resources.ResourceUris;
+import jpl.gds.globallad.spring.beans.BeanNames;
 import jpl.gds.shared.gdr.GDR;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Scope;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -59,6 +64,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Query the lad. 
@@ -70,6 +78,10 @@ public class LadQueryResource extends AbstractGlobalLadMVCResource {
 	@Autowired
 	IGlobalLad glad;
 
+	@Autowired
+	@Qualifier(BeanNames.GLAD_QUERY_POOL)
+	ForkJoinPool queryPool;
+
 	/**
 	 * Does a query with all filter options as query parameters.
 	 * 
@@ -93,6 +105,9 @@ public class LadQueryResource extends AbstractGlobalLadMVCResource {
 	 * @param outputFormat One of the following. [json, csv].  The default value is json.
 	 * output will be grouped in a JSON of complete and incomplete results.  If we can not guarantee that the results are 
 	 * complete it is incomplete.
+	 * @param stream - If true the query results are written as they are found rather than collected first.  Ignored for
+	 * verified queries.
+	 * @param compress - If true the response body is gzip compressed.
 	 * 
 	 * MPCS-7918 triviski 1/29/2016 - Adding options and updates to allow for csv output.
 	 * 
@@ -104,7 +119,7 @@ public class LadQueryResource extends AbstractGlobalLadMVCResource {
 	@ApiOperation(value="Query the global lad.",
 	response=IGlobalLADData.class,
 	responseContainer="Map")
-	public StreamingResponseBody getDataWithQueryParams(
+	public ResponseEntity<StreamingResponseBody> getDataWithQueryParams(
 			@ApiParam(value="The query type", allowableValues=ResourceUris.queryTypeSwagger, required=true) 
 			@PathVariable(ResourceUris.queryTypeQP) final QueryType queryType,
 
@@ -172,7 +187,13 @@ public class LadQueryResource extends AbstractGlobalLadMVCResource {
 			@RequestParam(name=ResourceUris.outputFormatQP, defaultValue="json") final QueryOutputFormat outputFormat,
 
 			@ApiParam(value="Only valid when outputFormat is \"csv\".  This will include the column headers in the output.", required=false, defaultValue="false", allowMultiple=false)
-			@RequestParam(name=ResourceUris.showColHeadersQP, defaultValue="false") final boolean showColHeaders) throws Exception {
+			@RequestParam(name=ResourceUris.showColHeadersQP, defaultValue="false") final boolean showColHeaders,
+
+			@ApiParam(value="Write results as they are found instead of collecting them all first.  Ignored for verified queries.", required=false, defaultValue="false", allowMultiple=false)
+			@RequestParam(name=ResourceUris.streamQP, defaultValue="false") final boolean stream,
+
+			@ApiParam(value="Gzip compress the response.", required=false, defaultValue="false", allowMultiple=false)
+			@RequestParam(name=ResourceUris.compressQP, defaultValue="false") final boolean compress) throws Exception {
 
 		BasicQuerySearchAlgorithmBuilder builder;
 
@@ -237,23 +258,172 @@ public class LadQueryResource extends AbstractGlobalLadMVCResource {
 		.setScid(scid)
 		.setUserDataTypes(GlobalLadUserDatatypeConverter.lookupUserDataTypes(queryType, source, recordedState));
 
+		StreamingResponseBody body;
+
 		if (verified) {
 			final Map<DeltaQueryStatus, Map<Object, Collection<IGlobalLADData>>> resultMap = 
 					new HashMap<DeltaQueryStatus, Map<Object,Collection<IGlobalLADData>>>();
 
 			glad.getMasterContainer().deltaQuery(builder.build(), resultMap);
 
-			return binaryResponse ? 
+			body = binaryResponse ? 
 					createDeltaBinaryQueryStreamingResponse(resultMap) :
 					createDeltaQueryStreamingResponse(resultMap, queryType, outputFormat, showColHeaders);
+		} else if (stream) {
+			final GlobalLadStreamingQuery query = new GlobalLadStreamingQuery(glad.getMasterContainer(), builder.build(), maxResults, queryPool);
+
+			body = binaryResponse ? 
+					createBinaryStreamingQueryResponse(query) :
+					createStreamingQueryResponse(query, type, queryType, outputFormat, showColHeaders);
 		} else {
 			final Map<Object, Collection<IGlobalLADData>> results = glad.get(builder.build(), maxResults);
 
-			return binaryResponse ? 
+			body = binaryResponse ? 
 					createBinaryQueryStreamingResponse(results) :
 					createQueryStreamingResponse(results, type, queryType, outputFormat, showColHeaders);
 
 		}
+
+		return compress ?
+				ResponseEntity.ok().header(HttpHeaders.CONTENT_ENCODING, "gzip").body(createCompressedResponse(body)) :
+				ResponseEntity.ok().body(body);
+	}
+
+	/**
+	 * Wraps a streaming response so that everything it writes is gzip compressed.
+	 * 
+	 * @param body - the response to compress.
+	 * @return Response writing the compressed output of body.
+	 */
+	public StreamingResponseBody createCompressedResponse(final StreamingResponseBody body) {
+		return new StreamingResponseBody() {
+
+			@Override
+			public void writeTo(final OutputStream output) throws IOException {
+				final GZIPOutputStream gzip = new GZIPOutputStream(output, 8192);
+				body.writeTo(gzip);
+
+				/**
+				 * The json writers close their generator, which already closes the gzip stream.  Closing again 
+				 * is a no-op, where finishing a closed stream would fail.
+				 */
+				gzip.close();
+			}
+		};
+	}
+
+	/**
+	 * Creates a streaming output response object that runs the query as it writes the output, one identifier at a
+	 * time, so the results are never all held at once.  JSON output is grouped by identifier as with a normal query.
+	 * CSV output is sorted across all identifiers, so the results for csv are collected into one sorted set before
+	 * being written, skipping the result map a normal query builds first.
+	 * 
+	 * @param query the query to run.
+	 * @param timeType used for csv output to pick the sort order.
+	 * @param queryType Required for csv output, ignored for json.
+	 * @param outputFormat defines the type of output.
+	 * @param showColumnHeaders if the output format is csv, includes the column headers.
+	 * @return Response with the requested data as an octet stream.
+	 */
+	public StreamingResponseBody createStreamingQueryResponse(final GlobalLadStreamingQuery query,
+			final GlobalLadPrimaryTime timeType,
+			final QueryType queryType, final QueryOutputFormat outputFormat, final boolean showColumnHeaders) {
+		final StreamingResponseBody stream = new StreamingResponseBody() {
+
+			@Override
+			public void writeTo(final OutputStream output) throws IOException {
+				try {
+					switch(outputFormat) {
+					case csv:
+						doCsvOutput(queryType, false, null, showColumnHeaders, output, collectSorted());
+						break;
+					case lm_csv:
+						doLmCsvOutput(output, collectSorted());
+						break;
+					case json:
+					default:
+						writeJson(output);
+						break;
+					}
+				} catch (final GlobalLadException e) {
+					throw new WebApplicationException(e);
+				}
+			}
+
+			/**
+			 * Runs the query into a single set sorted the same way as a flattened result map.
+			 */
+			private Collection<IGlobalLADData> collectSorted() throws IOException {
+				final Collection<IGlobalLADData> sorted = new TreeSet<IGlobalLADData>(GlobalLadUtilities.getFlattenComparator(timeType));
+
+				query.run(new GlobalLadStreamingQuery.IResultSink() {
+					@Override
+					public void write(final Object identifier, final Collection<IGlobalLADData> data) {
+						sorted.addAll(data);
+					}
+				});
+
+				return sorted;
+			}
+
+			private void writeJson(final OutputStream output) throws IOException {
+				final JsonGenerator generator = JsonUtilities.getRequestMapper()
+						.getFactory()
+						.createGenerator(output);
+				generator.useDefaultPrettyPrinter();
+
+				generator.writeStartObject();
+
+				query.run(new GlobalLadStreamingQuery.IResultSink() {
+					@Override
+					public void write(final Object identifier, final Collection<IGlobalLADData> data) throws IOException {
+						generator.writeArrayFieldStart(identifier.toString());
+
+						for (final Object pojo : data) {
+							generator.writeObject(pojo);
+						}
+
+						generator.writeEndArray();
+					}
+				});
+
+				generator.writeEndObject();
+
+				generator.flush();
+				generator.close();
+			}
+		};
+
+		return stream;
+	}
+
+	/**
+	 * Converts the data to binary words as the query runs and streams to the output.
+	 * 
+	 * @param query the query to run.
+	 * @return Response with the requested data as an octet stream of the entity body.
+	 */
+	public StreamingResponseBody createBinaryStreamingQueryResponse(final GlobalLadStreamingQuery query) {
+		final StreamingResponseBody stream = new StreamingResponseBody() {
+			
+			@Override
+			public void writeTo(final OutputStream output) throws IOException {
+				final DataOutputStream dos = new DataOutputStream(output);
+
+				query.run(new GlobalLadStreamingQuery.IResultSink() {
+					@Override
+					public void write(final Object identifier, final Collection<IGlobalLADData> data) throws IOException {
+						for (final IGlobalLADData d : data) {
+							dos.write(d.toPacketByteArray());
+						}
+					}
+				});
+
+				dos.flush();
+			}
+		};
+
+		return stream;
 	}
 
 	/**
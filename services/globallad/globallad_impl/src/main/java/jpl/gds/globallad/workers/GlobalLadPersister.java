@@ -13,6 +13,7 @@
  */
 package jpl.gds.globallad.workers;
 
+import java.io.BufferedOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileFilter;
@@ -35,10 +36,16 @@ import jpl.gds.shared.log.Tracer;
 
 /**
  * Runnable to persist the global lad.  
+ * 
+ * If a write-ahead log is set, each run only flushes the log, and a new backup is written only 
+ * once enough data has been logged since the last one, or if no backup has been written yet.  
+ * Restoring the newest backup and then replaying the log recovers the lad.
  */
 public class GlobalLadPersister implements Runnable {
 	private static final int BYTES_IN_GIGA = 1024*1024*1024;
 	private static final String INPROGRESS = ".inprogress";
+	private static final int BYTES_IN_MEGA = 1024*1024;
+	private static final int OUTPUT_BUFFER_SIZE = 1024*1024;
 	
 	private IGlobalLadContainer persistTarget;
 	private File outputDirectory;
@@ -56,6 +63,9 @@ public class GlobalLadPersister implements Runnable {
 	
 	private File lastBackupFile;
 	
+	private GlobalLadWriteAheadLog writeAheadLog;
+	private long snapshotThresholdBytes;
+	
 	private GlobalLadProperties config;
 	private Tracer log;
 
@@ -123,12 +133,27 @@ public class GlobalLadPersister implements Runnable {
 		this.maxTotalSize = config.getPersistenceMaxSize() * BYTES_IN_GIGA;
 		this.hasSizeRestraint = this.maxTotalSize > 0;
 		
+		if (config.isPersistenceWalEnabled()) {
+			this.writeAheadLog = new GlobalLadWriteAheadLog(new File(outputDirectory, "wal_" + backupFileBaseName), 
+					backupFileBaseName, config.getPersistenceWalSegmentSizeMB() * BYTES_IN_MEGA, log);
+			this.snapshotThresholdBytes = config.getPersistenceWalSnapshotThresholdMB() * BYTES_IN_MEGA;
+		}
+		
 		this.wasInitialized = true;
 		
 		
 		return true;
 	}
 	
+	/**
+	 * Returns the write-ahead log used between backups.  The log is not opened by the persister.  
+	 * 
+	 * @return - The write-ahead log, or null if it is not enabled.
+	 */
+	public GlobalLadWriteAheadLog getWriteAheadLog() {
+		return this.writeAheadLog;
+	}
+	
 	/**
 	 * Removes backups if required.
 	 */
@@ -250,20 +275,38 @@ public class GlobalLadPersister implements Runnable {
 			throw new IllegalStateException("Global LAD persister was not initialzed before run method.");
 		}
 		
-		/**
-		 * Gets all the data.
-		 * 
-		 * MPCS-8189 triviski 5/11/2016 - Must set the time type to ALL to ensure everything is backed up. 
-		 */
-		final Map<Object, Collection<IGlobalLADData>> results = persistTarget.getAll(BasicQuerySearchAlgorithm
-				.createBuilder()
-				.setTimeType(GlobalLadPrimaryTime.ALL)
-				.build());
+		final GlobalLadWriteAheadLog wal = writeAheadLog != null && writeAheadLog.isEnabled() ? writeAheadLog : null;
 		
-		if (results.isEmpty()) {
-			return;
+		if (wal != null) {
+			wal.flush();
+			
+			if (lastBackupFile != null && wal.getBytesSinceCheckpoint() < snapshotThresholdBytes) {
+				return;
+			}
+		}
+		
+		final GlobalLadWriteAheadLog.Checkpoint checkpoint = wal == null ? null : wal.beginCheckpoint();
+		
+		final File backupFile = writeBackup(checkpoint);
+		
+		if (wal != null) {
+			wal.endCheckpoint(checkpoint, backupFile);
 		}
 		
+		if (backupFile != null) {
+			cleanBackups();
+		}
+	}
+	
+	/**
+	 * Writes all the data in the lad to a new backup file.  The lad is written one data buffer at a time, 
+	 * so only the contents of a single buffer are held in memory at once.
+	 * 
+	 * @param checkpoint - The write-ahead log checkpoint in progress, or null.  Data logged since the 
+	 * checkpoint began is left out of the backup.
+	 * @return - The backup file, or null if nothing was written.
+	 */
+	private File writeBackup(final GlobalLadWriteAheadLog.Checkpoint checkpoint) {
 		/**
 		 * MPCS-8189 triviski 5/10/2016 - Generate the backup file name and append temp 
 		 * to write to it.  Once it is finished, move the file to the final name. 
@@ -271,22 +314,74 @@ public class GlobalLadPersister implements Runnable {
 		final File finalBackupFile = new File(generateBackupFileName());
 		final File inProgressFile = new File(finalBackupFile+INPROGRESS);
 		
-		try (DataOutputStream op = new DataOutputStream(new FileOutputStream(inProgressFile))) {
-			for (final Collection<IGlobalLADData> dataSet : results.values()) {
-				for (final IGlobalLADData data : dataSet) {
-					op.write(data.toPacketByteArray());
-				}
-			}
-			inProgressFile.renameTo(finalBackupFile);
-			this.lastBackupFile = finalBackupFile;
+		final long written;
+		try (DataOutputStream op = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(inProgressFile), OUTPUT_BUFFER_SIZE))) {
+			written = writeContainer(persistTarget, checkpoint, op);
 		} catch (final FileNotFoundException e) {
 			e.printStackTrace();
+			return null;
 		} catch (final IOException e) {
 			e.printStackTrace();
+			inProgressFile.delete();
+			return null;
+		}
+		
+		if (written == 0) {
+			inProgressFile.delete();
+			return null;
+		}
+		
+		if (!inProgressFile.renameTo(finalBackupFile)) {
+			log.error("Global LAD failed to rename backup file ", inProgressFile, " to ", finalBackupFile);
+			return null;
 		}
+		this.lastBackupFile = finalBackupFile;
 		
-        log.info("Created backup file: ", finalBackupFile);
+		log.info("Created backup file: ", finalBackupFile);
 		
-		cleanBackups();
+		return finalBackupFile;
+	}
+	
+	/**
+	 * Writes the data held in a container and all of its descendants.
+	 * 
+	 * @param container - The container to write.
+	 * @param checkpoint - The write-ahead log checkpoint in progress, or null.
+	 * @param op - The backup output stream.
+	 * @return - The number of data objects written.
+	 * @throws IOException - If the backup could not be written.
+	 */
+	private long writeContainer(final IGlobalLadContainer container, final GlobalLadWriteAheadLog.Checkpoint checkpoint, 
+			final DataOutputStream op) throws IOException {
+		final Collection<IGlobalLadContainer> children = container.getChildren();
+		long written = 0;
+		
+		if (children != null) {
+			for (final IGlobalLadContainer child : children) {
+				written += writeContainer(child, checkpoint, op);
+			}
+			return written;
+		}
+		
+		/**
+		 * Data buffers have no children.
+		 * 
+		 * MPCS-8189 triviski 5/11/2016 - Must set the time type to ALL to ensure everything is backed up. 
+		 */
+		final Map<Object, Collection<IGlobalLADData>> results = container.getAll(BasicQuerySearchAlgorithm
+				.createBuilder()
+				.setTimeType(GlobalLadPrimaryTime.ALL)
+				.build());
+		
+		for (final Collection<IGlobalLADData> dataSet : results.values()) {
+			for (final IGlobalLADData data : dataSet) {
+				if (checkpoint == null || checkpoint.contains(data)) {
+					op.write(data.toPacketByteArray());
+					written++;
+				}
+			}
+		}
+		return written;
 	}
 }
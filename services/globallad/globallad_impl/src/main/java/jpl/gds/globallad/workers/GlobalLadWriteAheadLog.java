@@ -0,0 +1,706 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.globallad.workers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import jpl.gds.globallad.data.IGlobalLADData;
+import jpl.gds.shared.log.Tracer;
+
+/**
+ * Append-only, segmented write-ahead log of global lad inserts.
+ * <p>
+ * The log is split into streams, one per inserter, so inserters never wait on
+ * each other to log.  Each stream is a series of numbered segment files, and a
+ * new segment is started when the current one exceeds the configured size.
+ * Every record is a stamp followed by the same packet byte array written to
+ * backup files.  The stamp holds a sequence number taken from a counter shared
+ * by all streams, and the stream number, and is also set on the logged data so
+ * it stays with the data while it is in the lad.
+ * <p>
+ * A checkpoint records, for every stream, the last sequence number logged to it
+ * and the segment and offset just after that record.  It is written to the
+ * checkpoint file along with the name of the backup (snapshot) taken while it
+ * was open.  Data whose stamp is at or before the checkpoint position of its
+ * stream is written to the snapshot, and later data is left out, so each
+ * record is restored exactly once: recovery loads the snapshot named in the
+ * checkpoint file and then replays every stream from its checkpoint position,
+ * in sequence order.  Segments before the checkpoint positions are deleted
+ * once the snapshot has been written.
+ * <p>
+ * Inserters must log each record with beginInsert before inserting it into the
+ * lad and call endInsert afterwards.  The stream stays locked in between, so a
+ * checkpoint position is never taken while a logged record is still waiting to
+ * be inserted.
+ */
+public class GlobalLadWriteAheadLog {
+	private static final String SEGMENT_EXTENSION = ".wal";
+	private static final String CHECKPOINT_FILE = "checkpoint";
+	private static final int BUFFER_SIZE = 1024 * 1024;
+
+	/**
+	 * The low bits of a stamp hold the stream number.
+	 */
+	private static final int STREAM_BITS = 8;
+	private static final int MAX_STREAMS = 1 << STREAM_BITS;
+	private static final long STREAM_MASK = MAX_STREAMS - 1;
+
+	private final File directory;
+	private final String baseName;
+	private final long maxSegmentBytes;
+	private final Pattern segmentPattern;
+	private final Tracer log;
+
+	private final Map<Integer, Stream> streams = new ConcurrentHashMap<Integer, Stream>();
+	private final AtomicLong sequence = new AtomicLong();
+	private final AtomicLong bytesLogged = new AtomicLong();
+	private volatile long bytesAtCheckpoint;
+	private volatile boolean enabled;
+
+	/**
+	 * @param directory the directory to hold the log segments and checkpoint file
+	 * @param baseName the base file name for the log segments
+	 * @param maxSegmentBytes size at which a new segment is started
+	 * @param log the Tracer logger
+	 */
+	public GlobalLadWriteAheadLog(final File directory, final String baseName, final long maxSegmentBytes,
+			final Tracer log) {
+		this.directory = directory;
+		this.baseName = baseName;
+		this.maxSegmentBytes = maxSegmentBytes;
+		this.segmentPattern = Pattern.compile(Pattern.quote(baseName) + "_(\\d+)_(\\d+)" + Pattern.quote(SEGMENT_EXTENSION));
+		this.log = log;
+	}
+
+	/**
+	 * Starts logging.  Streams start new segments numbered after any existing ones.
+	 *
+	 * @param firstSequence the lowest sequence number to stamp records with.  Must be greater than
+	 *        any sequence number in the segments kept on disk, see Replay#getLastSequence.  It is 
+	 *        raised above the positions in the checkpoint file if needed, so new records are never 
+	 *        taken to be in the last snapshot.
+	 * @return true if the log was opened
+	 */
+	public synchronized boolean open(final long firstSequence) {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			log.error("Global LAD failed to create the write-ahead log directory ", directory);
+			return false;
+		}
+
+		long first = firstSequence;
+		final Map<Integer, Position> positions = readCheckpoint(null);
+		if (positions != null) {
+			for (final Position position : positions.values()) {
+				first = Math.max(first, position.sequence + 1);
+			}
+		}
+		sequence.set(first);
+		enabled = true;
+		log.info("Global LAD write-ahead log opened in ", directory);
+		return true;
+	}
+
+	/**
+	 * Gets the stream used by one inserter, creating it if needed.  Each inserter must use its own stream,
+	 * and streams must not be created before the log is opened.
+	 *
+	 * @param number the stream number, from 0 to 255
+	 * @return the stream
+	 */
+	public Stream getStream(final int number) {
+		if (number < 0 || number >= MAX_STREAMS) {
+			throw new IllegalArgumentException("Write-ahead log stream number must be from 0 to " +
+					(MAX_STREAMS - 1) + ": " + number);
+		}
+		return streams.computeIfAbsent(number, Stream::new);
+	}
+
+	/**
+	 * Writes any buffered records to the current segments.
+	 */
+	public void flush() {
+		for (final Stream stream : streams.values()) {
+			stream.lock.lock();
+			try {
+				stream.flush();
+			} finally {
+				stream.lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Flushes and closes the current segments.  Nothing more will be logged.
+	 */
+	public void close() {
+		enabled = false;
+		for (final Stream stream : streams.values()) {
+			stream.lock.lock();
+			try {
+				stream.closeSegment();
+			} finally {
+				stream.lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * @return true if records are being logged
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @return the number of bytes logged since the last checkpoint completed
+	 */
+	public long getBytesSinceCheckpoint() {
+		return bytesLogged.get() - bytesAtCheckpoint;
+	}
+
+	/**
+	 * Begins a checkpoint by recording the current position of every stream.  Each stream is
+	 * flushed so its position is on disk.
+	 *
+	 * @return the checkpoint, to be used to filter the snapshot and passed to endCheckpoint
+	 */
+	public Checkpoint beginCheckpoint() {
+		final Map<Integer, Position> positions = new TreeMap<Integer, Position>();
+		final long bytes = bytesLogged.get();
+
+		for (final Stream stream : streams.values()) {
+			stream.lock.lock();
+			try {
+				stream.flush();
+
+				/**
+				 * With no segment open the next record starts the next segment.
+				 */
+				positions.put(stream.number, stream.out == null ?
+						new Position(stream.segmentId + 1, 0, stream.lastSequence) :
+						new Position(stream.segmentId, stream.segmentBytes, stream.lastSequence));
+			} finally {
+				stream.lock.unlock();
+			}
+		}
+		return new Checkpoint(positions, bytes);
+	}
+
+	/**
+	 * Completes a checkpoint.  If the snapshot was written, the checkpoint file is updated to
+	 * name it along with the stream positions, and segments contained in it are deleted.
+	 *
+	 * @param checkpoint the checkpoint returned by beginCheckpoint
+	 * @param snapshot the snapshot file, or null if the snapshot was not written
+	 */
+	public void endCheckpoint(final Checkpoint checkpoint, final File snapshot) {
+		if (snapshot == null) {
+			return;
+		}
+
+		final StringBuilder contents = new StringBuilder(snapshot.getName()).append('\n');
+		for (final Map.Entry<Integer, Position> entry : checkpoint.positions.entrySet()) {
+			final Position position = entry.getValue();
+			contents.append(entry.getKey()).append(' ')
+			.append(position.segmentId).append(' ')
+			.append(position.offset).append(' ')
+			.append(position.sequence).append('\n');
+		}
+
+		final File checkpointFile = new File(directory, CHECKPOINT_FILE);
+		final File inProgress = new File(directory, CHECKPOINT_FILE + ".inprogress");
+		try {
+			Files.write(inProgress.toPath(), contents.toString().getBytes(StandardCharsets.UTF_8));
+			Files.move(inProgress.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (final IOException e) {
+			log.error("Global LAD failed to write the write-ahead log checkpoint: " + e.getMessage(), e);
+			return;
+		}
+		bytesAtCheckpoint = checkpoint.bytesLogged;
+
+		/**
+		 * Segments of streams that were not open when the checkpoint began were all written by an
+		 * earlier run and were replayed into the lad before this run started logging, so they are
+		 * in the snapshot as well.
+		 */
+		for (final Map.Entry<Integer, List<Long>> entry : getSegmentIds().entrySet()) {
+			final Position position = checkpoint.positions.get(entry.getKey());
+			for (final long id : entry.getValue()) {
+				if (position == null ? !streams.containsKey(entry.getKey()) : id < position.segmentId) {
+					final File segment = segmentFile(entry.getKey(), id);
+					if (!segment.delete()) {
+						log.warn("Global LAD failed to delete write-ahead log segment ", segment);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Opens the records to replay after loading a snapshot.  Records are only returned if the
+	 * checkpoint file names the given snapshot.
+	 *
+	 * @param snapshot the snapshot file that was loaded
+	 * @return the records to replay; empty if there are none
+	 * @throws IOException if a segment cannot be opened
+	 */
+	public Replay openReplay(final File snapshot) throws IOException {
+		final Replay replay = new Replay();
+		final Map<Integer, Position> positions = snapshot == null ? null : readCheckpoint(snapshot);
+		if (positions == null) {
+			return replay;
+		}
+
+		try {
+			for (final Map.Entry<Integer, List<Long>> entry : getSegmentIds().entrySet()) {
+				final Position position = positions.get(entry.getKey());
+				final List<File> files = new ArrayList<File>();
+				long skip = 0;
+				long afterSequence = -1;
+
+				for (final long id : entry.getValue()) {
+					if (position == null || id >= position.segmentId) {
+						files.add(segmentFile(entry.getKey(), id));
+					}
+				}
+				if (position != null) {
+					afterSequence = position.sequence;
+					if (!files.isEmpty() && files.get(0).equals(segmentFile(entry.getKey(), position.segmentId))) {
+						skip = position.offset;
+					}
+				}
+				replay.add(new StreamReader(files, skip, afterSequence));
+			}
+		} catch (final IOException e) {
+			replay.close();
+			throw e;
+		}
+		return replay;
+	}
+
+	/**
+	 * @param snapshot the snapshot the checkpoint must name, or null to accept any
+	 * @return the stream positions in the checkpoint file, or null if it does not name the snapshot
+	 */
+	private Map<Integer, Position> readCheckpoint(final File snapshot) {
+		final File checkpoint = new File(directory, CHECKPOINT_FILE);
+		if (!checkpoint.isFile()) {
+			return null;
+		}
+
+		final List<String> lines;
+		try {
+			lines = Files.readAllLines(checkpoint.toPath(), StandardCharsets.UTF_8);
+		} catch (final IOException e) {
+			log.error("Global LAD failed to read the write-ahead log checkpoint: " + e.getMessage(), e);
+			return null;
+		}
+
+		if (lines.isEmpty() || (snapshot != null && !lines.get(0).trim().equals(snapshot.getName()))) {
+			log.warn("Global LAD write-ahead log checkpoint does not match restore file ", snapshot,
+					"; the write-ahead log will not be replayed");
+			return null;
+		}
+
+		final Map<Integer, Position> positions = new HashMap<Integer, Position>();
+		for (final String line : lines.subList(1, lines.size())) {
+			if (line.trim().isEmpty()) {
+				continue;
+			}
+			final String[] fields = line.trim().split(" ");
+			try {
+				positions.put(Integer.valueOf(fields[0]), new Position(Long.parseLong(fields[1]),
+						Long.parseLong(fields[2]), Long.parseLong(fields[3])));
+			} catch (final RuntimeException e) {
+				log.error("Global LAD write-ahead log checkpoint line is not valid, the write-ahead log will not be replayed: ", line);
+				return null;
+			}
+		}
+		return positions;
+	}
+
+	private File segmentFile(final int stream, final long id) {
+		return new File(directory, String.format("%s_%03d_%012d%s", baseName, stream, id, SEGMENT_EXTENSION));
+	}
+
+	/**
+	 * @return segment ids on disk by stream number, each list sorted oldest first
+	 */
+	private Map<Integer, List<Long>> getSegmentIds() {
+		final Map<Integer, List<Long>> ids = new TreeMap<Integer, List<Long>>();
+		final String[] names = directory.list();
+		if (names == null) {
+			return ids;
+		}
+		for (final String name : names) {
+			final Matcher m = segmentPattern.matcher(name);
+			if (m.matches()) {
+				ids.computeIfAbsent(Integer.valueOf(m.group(1)), k -> new ArrayList<Long>()).add(Long.valueOf(m.group(2)));
+			}
+		}
+		for (final List<Long> list : ids.values()) {
+			Collections.sort(list);
+		}
+		return ids;
+	}
+
+	private static long stamp(final long sequence, final int stream) {
+		return (sequence << STREAM_BITS) | stream;
+	}
+
+	/**
+	 * The position of a stream when a checkpoint began.
+	 */
+	private static class Position {
+		private final long segmentId;
+		private final long offset;
+		private final long sequence;
+
+		private Position(final long segmentId, final long offset, final long sequence) {
+			this.segmentId = segmentId;
+			this.offset = offset;
+			this.sequence = sequence;
+		}
+	}
+
+	/**
+	 * The log of one inserter.
+	 */
+	public class Stream {
+		private final int number;
+		private final ReentrantLock lock = new ReentrantLock();
+
+		private DataOutputStream out;
+		private long segmentId;
+		private long segmentBytes;
+		private long lastSequence;
+		private boolean failed;
+
+		private Stream(final int number) {
+			this.number = number;
+
+			/**
+			 * Records already on disk for this stream were written by an earlier run and are replayed
+			 * before the log is opened, so they count as logged before any checkpoint of this run.
+			 */
+			this.lastSequence = sequence.get() - 1;
+			final List<Long> ids = getSegmentIds().get(number);
+			this.segmentId = ids == null ? 0 : ids.get(ids.size() - 1);
+		}
+
+		/**
+		 * Appends a record to the stream ahead of inserting it into the lad, and stamps the data with
+		 * its position.  Every call must be followed by a call to endInsert once the insert is done.  If
+		 * the stream cannot be written the log is disabled and the lad continues without it; the next
+		 * snapshot will still capture the data.
+		 *
+		 * @param data the data about to be inserted into the lad
+		 */
+		public void beginInsert(final IGlobalLADData data) {
+			lock.lock();
+			if (!enabled || failed) {
+				return;
+			}
+
+			final byte[] bytes = data.toPacketByteArray();
+			final long seq = sequence.getAndIncrement();
+			final long stamp = stamp(seq, number);
+			try {
+				if (out == null) {
+					startSegment();
+				}
+				out.writeLong(stamp);
+				out.write(bytes);
+			} catch (final IOException e) {
+				log.error("Global LAD write-ahead log write failed, disabling the log: " + e.getMessage(), e);
+				failed = true;
+				enabled = false;
+				return;
+			}
+			data.setWriteAheadLogStamp(stamp);
+			lastSequence = seq;
+			segmentBytes += Long.BYTES + bytes.length;
+			bytesLogged.addAndGet(Long.BYTES + bytes.length);
+
+			if (segmentBytes >= maxSegmentBytes) {
+				closeSegment();
+			}
+		}
+
+		/**
+		 * Marks the insert of the record passed to the last beginInsert call as done.
+		 */
+		public void endInsert() {
+			lock.unlock();
+		}
+
+		private void startSegment() throws IOException {
+			segmentId++;
+			out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(segmentFile(number, segmentId)), BUFFER_SIZE));
+			segmentBytes = 0;
+		}
+
+		/**
+		 * Closes the current segment, the next record starts a new one.  Must hold the lock.
+		 */
+		private void closeSegment() {
+			if (out == null) {
+				return;
+			}
+			try {
+				out.close();
+			} catch (final IOException e) {
+				log.error("Global LAD failed to close write-ahead log segment: " + e.getMessage(), e);
+			}
+			out = null;
+		}
+
+		/**
+		 * Must hold the lock.
+		 */
+		private void flush() {
+			if (out == null) {
+				return;
+			}
+			try {
+				out.flush();
+			} catch (final IOException e) {
+				log.error("Global LAD write-ahead log flush failed: " + e.getMessage(), e);
+			}
+		}
+	}
+
+	/**
+	 * The stream positions at the start of a backup.  The backup must only contain data that
+	 * this checkpoint contains.
+	 */
+	public static class Checkpoint {
+		private final Map<Integer, Position> positions;
+		private final long bytesLogged;
+
+		private Checkpoint(final Map<Integer, Position> positions, final long bytesLogged) {
+			this.positions = positions;
+			this.bytesLogged = bytesLogged;
+		}
+
+		/**
+		 * Checks whether data in the lad was logged before the checkpoint began.  Data that was never
+		 * logged, such as data restored at startup, is always contained.
+		 *
+		 * @param data data from the lad
+		 * @return true if the data belongs in the snapshot
+		 */
+		public boolean contains(final IGlobalLADData data) {
+			final long stamp = data.getWriteAheadLogStamp();
+			if (stamp < 0) {
+				return true;
+			}
+			final Position position = positions.get((int) (stamp & STREAM_MASK));
+			return position != null && (stamp >>> STREAM_BITS) <= position.sequence;
+		}
+	}
+
+	/**
+	 * Reads the records of one stream after its checkpoint position.
+	 */
+	private static class StreamReader {
+		private final List<File> files;
+		private final long afterSequence;
+		private int fileIndex;
+		private DataInputStream in;
+
+		private long stamp;
+		private byte[] packet;
+
+		private StreamReader(final List<File> files, final long skip, final long afterSequence) throws IOException {
+			this.files = files;
+			this.afterSequence = afterSequence;
+			if (!files.isEmpty()) {
+				in = open(files.get(0));
+				long remaining = skip;
+				while (remaining > 0) {
+					final long skipped = in.skip(remaining);
+					if (skipped <= 0) {
+						break;
+					}
+					remaining -= skipped;
+				}
+			}
+		}
+
+		private static DataInputStream open(final File file) throws IOException {
+			return new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+		}
+
+		/**
+		 * Reads the next record.  A segment that ends part way through a record, as the last one
+		 * will after a crash, ends the segment.
+		 *
+		 * @return false if there are no more records
+		 */
+		private boolean next() throws IOException {
+			while (in != null) {
+				try {
+					final long s = in.readLong();
+					final int startWord = in.readInt();
+					final int length = in.readInt();
+					if (length < Integer.BYTES) {
+						throw new EOFException("Record length is not valid: " + length);
+					}
+
+					/**
+					 * The length in the packet counts itself but not the start word.
+					 */
+					final byte[] p = new byte[Integer.BYTES + length];
+					ByteBuffer.wrap(p).putInt(startWord).putInt(length);
+					in.readFully(p, 2 * Integer.BYTES, length - Integer.BYTES);
+
+					if ((s >>> STREAM_BITS) > afterSequence) {
+						stamp = s;
+						packet = p;
+						return true;
+					}
+				} catch (final EOFException e) {
+					close();
+					fileIndex++;
+					if (fileIndex < files.size()) {
+						in = open(files.get(fileIndex));
+					}
+				}
+			}
+			return false;
+		}
+
+		private void close() {
+			if (in != null) {
+				try {
+					in.close();
+				} catch (final IOException e) {
+					// Nothing else to do
+				}
+				in = null;
+			}
+		}
+	}
+
+	/**
+	 * The records to replay after loading a snapshot, merged from all streams in sequence order.
+	 * Read as an input stream it holds the same packet byte arrays as a backup file, so it can be
+	 * loaded with the binary load handler used to restore backups.
+	 */
+	public static class Replay extends InputStream {
+		private final PriorityQueue<StreamReader> readers = new PriorityQueue<StreamReader>(
+				(a, b) -> Long.compare(a.stamp >>> STREAM_BITS, b.stamp >>> STREAM_BITS));
+		private final List<StreamReader> all = new ArrayList<StreamReader>();
+		private InputStream current = new ByteArrayInputStream(new byte[0]);
+		private long lastSequence = -1;
+		private long records;
+
+		private void add(final StreamReader reader) throws IOException {
+			all.add(reader);
+			if (reader.next()) {
+				readers.add(reader);
+			}
+		}
+
+		/**
+		 * @return the number of records read so far
+		 */
+		public long getRecordCount() {
+			return records;
+		}
+
+		/**
+		 * @return the highest sequence number read so far, or -1 if none.  The log must be opened
+		 *         with a higher first sequence number once the replay is done.
+		 */
+		public long getLastSequence() {
+			return lastSequence;
+		}
+
+		private boolean advance() throws IOException {
+			final StreamReader reader = readers.poll();
+			if (reader == null) {
+				return false;
+			}
+			current = new ByteArrayInputStream(reader.packet);
+			lastSequence = Math.max(lastSequence, reader.stamp >>> STREAM_BITS);
+			records++;
+			if (reader.next()) {
+				readers.add(reader);
+			}
+			return true;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b;
+			while ((b = current.read()) < 0) {
+				if (!advance()) {
+					return -1;
+				}
+			}
+			return b;
+		}
+
+		@Override
+		public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+			if (length == 0) {
+				return 0;
+			}
+			int n;
+			while ((n = current.read(buffer, offset, length)) <= 0) {
+				if (!advance()) {
+					return -1;
+				}
+			}
+			return n;
+		}
+
+		@Override
+		public void close() {
+			for (final StreamReader reader : all) {
+				reader.close();
+			}
+			readers.clear();
+		}
+	}
+}
@@ -132,6 +132,7 @@ public class MdsSpringBootstrap {
      * @param clientConnectionManagerProvider client connection manager provider
      * @param mdsProperties                   MDS properties
      * @param sslConfiguration                SSL/TLS configuration
+     * @param spillProcessorProvider          spill processor factory
      * @param appContext                      spring app context
      * @return TcpSocketServer
      */
@@ -141,6 +142,7 @@ public class MdsSpringBootstrap {
                                               final ClientConnectionManagerProvider clientConnectionManagerProvider,
                                               final MdsProperties mdsProperties,
                                               final ISslConfiguration sslConfiguration,
+                                              final SpillProcessorProvider spillProcessorProvider,
                                               final ApplicationContext appContext) {
 
         ServerSocketFactory socketFactory = null;
@@ -155,7 +157,7 @@ public class MdsSpringBootstrap {
         }
 
         return new TcpSocketServer(messageEventConsumer, ringBufferController, clientConnectionManagerProvider,
-                socketFactory);
+                socketFactory, mdsProperties, spillProcessorProvider);
     }
 
     /**
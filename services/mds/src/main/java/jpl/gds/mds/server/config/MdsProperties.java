@@ -14,6 +14,7 @@
 
 package jpl.gds.mds.server.config;
 
+import jpl.gds.mds.server.tcp.ESlowClientPolicy;
 import jpl.gds.shared.config.GdsHierarchicalProperties;
 import jpl.gds.shared.spring.context.flag.SseContextFlag;
 import org.apache.commons.lang3.StringUtils;
@@ -40,6 +41,9 @@ public class MdsProperties extends GdsHierarchicalProperties {
     private static final String CONTROL_AUTHORITY   = PROPERTY_PREFIX + "security.packet.validate.controlAuthorities";
     private static final String SOURCE_IP_FILTERING = PROPERTY_PREFIX + "security.source.ip.filtering";
     private static final String ALLOWED_SOURCE_IPS  = PROPERTY_PREFIX + "security.source.ip.filtering.allowed";
+    private static final String NON_BLOCKING_TCP    = PROPERTY_PREFIX + "serverSocket.nonBlocking";
+    private static final String OUTBOUND_CAPACITY   = PROPERTY_PREFIX + "client.outboundCapacity";
+    private static final String SLOW_CLIENT_POLICY  = PROPERTY_PREFIX + "client.slowClientPolicy";
 
     /**
      * The configured server socket port
@@ -72,6 +76,15 @@ public class MdsProperties extends GdsHierarchicalProperties {
     // control authorities
     private Set<String> controlAuthorities;
 
+    // serve TCP clients from a single selector thread
+    private boolean nonBlockingTcp;
+
+    // capacity of each TCP client's outbound ring, in messages
+    private int outboundCapacity;
+
+    // what to do when a TCP client is not keeping up
+    private ESlowClientPolicy slowClientPolicy;
+
     /**
      * Constructor that loads the default property file, which will be located using the standard configuration search.
      */
@@ -183,6 +196,15 @@ public class MdsProperties extends GdsHierarchicalProperties {
         udpForwardHost = getProperty(UDP_FORWARD_HOST, "");
         secureTcp = getBooleanProperty(SECURE_TCP, false);
         validatePackets = getBooleanProperty(VALIDATE_PACKETS, false);
+        nonBlockingTcp = getBooleanProperty(NON_BLOCKING_TCP, true);
+        outboundCapacity = Math.max(getIntProperty(OUTBOUND_CAPACITY, 10000), 1);
+        final String policy = getProperty(SLOW_CLIENT_POLICY, ESlowClientPolicy.SPILL.name());
+        try {
+            slowClientPolicy = ESlowClientPolicy.valueOf(policy.trim().toUpperCase());
+        } catch (final IllegalArgumentException e) {
+            log.warn("Invalid value '", policy, "' for ", SLOW_CLIENT_POLICY, ", using ", ESlowClientPolicy.SPILL);
+            slowClientPolicy = ESlowClientPolicy.SPILL;
+        }
 
         // source ip filtering
         sourceIpFiltering = getBooleanProperty(SOURCE_IP_FILTERING, false);
@@ -238,6 +260,34 @@ public class MdsProperties extends GdsHierarchicalProperties {
         return controlAuthorities;
     }
 
+    /**
+     * Whether TCP clients are served from a single selector thread rather than a thread each. Secure TCP always
+     * uses a thread per client.
+     *
+     * @return true if non-blocking TCP is enabled
+     */
+    public boolean isNonBlockingTcp() {
+        return nonBlockingTcp;
+    }
+
+    /**
+     * Get the capacity of each TCP client's outbound ring, used with non-blocking TCP
+     *
+     * @return capacity in messages
+     */
+    public int getOutboundCapacity() {
+        return outboundCapacity;
+    }
+
+    /**
+     * Get what to do with messages for a TCP client whose outbound ring is full, used with non-blocking TCP
+     *
+     * @return slow client policy
+     */
+    public ESlowClientPolicy getSlowClientPolicy() {
+        return slowClientPolicy;
+    }
+
     /**
      * Set the set of valid Control Authorities
      */
@@ -157,6 +157,22 @@ public class ClientConnectionManager extends Thread implements IClientConnection
         return totalSentCount;
     }
 
+    @Override
+    public long getQueuedCount() {
+        return totalReceivedCount - totalSentCount;
+    }
+
+    @Override
+    public long getDroppedCount() {
+        // Messages are spilled or the distributor waits; none are dropped
+        return 0;
+    }
+
+    @Override
+    public long getLagMillis() {
+        return -1;
+    }
+
     /**
      * Metrics Task
      */
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2006-2021. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+
+package jpl.gds.mds.server.tcp;
+
+import jpl.gds.mds.server.MonitorDataService;
+import jpl.gds.mds.server.disruptor.IMessageEventConsumer;
+import jpl.gds.mds.server.spring.SpillProcessorProvider;
+import jpl.gds.shared.log.Loggers;
+import jpl.gds.shared.log.TraceManager;
+import jpl.gds.shared.log.Tracer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves all TCP clients from a single selector thread. Accepts connections, writes each client's outbound messages
+ * as the message distributor hands them over and the client's socket accepts them, notices clients going away, and
+ * periodically logs per-client lag metrics.
+ */
+public class ClientFanOutSelector {
+    private static final long SELECT_TIMEOUT  = 500L;
+    private static final long SPILL_TIMEOUT   = 10L;
+    private static final long METRIC_INTERVAL = 2 * 1000L;
+    private static final long CLOSE_TIMEOUT   = 5 * 1000L;
+
+    private final Tracer                     logger     = TraceManager.getTracer(Loggers.MDS);
+    private final IMessageEventConsumer      messageDistributor;
+    private final SpillProcessorProvider     spillProcessorProvider;
+    private final ESlowClientPolicy          slowClientPolicy;
+    private final int                        outboundCapacity;
+    private final Queue<NioClientConnection> scheduled  = new ConcurrentLinkedQueue<>();
+    private final List<NioClientConnection>  clients    = new ArrayList<>();
+    private final ByteBuffer                 readBuffer = ByteBuffer.allocate(1024);
+    private final CountDownLatch             stopped    = new CountDownLatch(1);
+    private volatile boolean                 closeRequested;
+    private volatile Selector                selector;
+    private       ServerSocketChannel        serverChannel;
+
+    /**
+     * Constructor
+     *
+     * @param messageDistributor     IMessageEventConsumer
+     * @param spillProcessorProvider spill processor factory, used with the SPILL policy
+     * @param slowClientPolicy       what to do when a client's outbound ring is full
+     * @param outboundCapacity       capacity of each client's outbound ring, in messages
+     */
+    public ClientFanOutSelector(final IMessageEventConsumer messageDistributor,
+                                final SpillProcessorProvider spillProcessorProvider,
+                                final ESlowClientPolicy slowClientPolicy, final int outboundCapacity) {
+        this.messageDistributor = messageDistributor;
+        this.spillProcessorProvider = spillProcessorProvider;
+        this.slowClientPolicy = slowClientPolicy;
+        this.outboundCapacity = outboundCapacity;
+    }
+
+    /**
+     * Serve clients on the given port until the service exits or close() is called. Blocks the calling thread, which
+     * closes the server socket and all client connections before returning.
+     *
+     * @param port Socket port
+     * @throws IOException if the server socket cannot be opened
+     */
+    public void serve(final int port) throws IOException {
+        try {
+            selector = Selector.open();
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(new InetSocketAddress(port));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+            long nextMetrics = System.currentTimeMillis() + METRIC_INTERVAL;
+            boolean spilling = false;
+            while (!MonitorDataService.exiting.get() && !closeRequested) {
+                selector.select(spilling ? SPILL_TIMEOUT : SELECT_TIMEOUT);
+
+                final Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    final SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    final NioClientConnection client = (NioClientConnection) key.attachment();
+                    if (key.isReadable()) {
+                        read(key, client);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        client.writable();
+                    }
+                }
+
+                NioClientConnection client;
+                while ((client = scheduled.poll()) != null) {
+                    client.flush();
+                }
+
+                // Spilled messages may still be on their way through a spill processor; keep checking for them
+                spilling = false;
+                for (final NioClientConnection c : clients) {
+                    if (c.isSpilling()) {
+                        c.flush();
+                        spilling |= c.isSpilling();
+                    }
+                }
+
+                final long now = System.currentTimeMillis();
+                if (now >= nextMetrics) {
+                    logMetrics();
+                    nextMetrics = now + METRIC_INTERVAL;
+                }
+            }
+        } finally {
+            closeAll();
+            stopped.countDown();
+        }
+    }
+
+    /**
+     * Close the server socket and all client connections. The closing is done by the selector thread, which owns
+     * the connections; this asks it to stop and waits a bounded time for it to do so. Any thread blocked in serve()
+     * returns.
+     */
+    public void close() {
+        closeRequested = true;
+        final Selector s = selector;
+        if (s == null) {
+            // serve() never started, or will see the request as soon as it does
+            return;
+        }
+        s.wakeup();
+        try {
+            if (!stopped.await(CLOSE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                logger.warn("TCP server did not stop within ", CLOSE_TIMEOUT, " ms, continuing");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Close all client connections, then the server socket and selector. Called on the selector thread as serve()
+     * returns.
+     */
+    private void closeAll() {
+        for (final NioClientConnection client : clients) {
+            client.close();
+        }
+        clients.clear();
+        try {
+            if (serverChannel != null) {
+                serverChannel.close();
+            }
+            if (selector != null) {
+                selector.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Encountered an error closing the TCP server, continuing");
+        }
+    }
+
+    /**
+     * Ask the selector thread to write a client's waiting messages. Called on the distributor thread.
+     *
+     * @param client the client connection
+     */
+    void schedule(final NioClientConnection client) {
+        scheduled.add(client);
+        selector.wakeup();
+    }
+
+    private void accept() {
+        SocketChannel channel = null;
+        try {
+            channel = serverChannel.accept();
+            if (channel == null) {
+                return;
+            }
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            final SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            final NioClientConnection client = new NioClientConnection(this, channel, key, messageDistributor,
+                    spillProcessorProvider, slowClientPolicy, outboundCapacity);
+            key.attach(client);
+            clients.add(client);
+            messageDistributor.addSocketConnection(client);
+            logger.info("Received new client connection : " + client.getClientPort());
+        } catch (IOException e) {
+            logger.warn("Could not accept a client connection: ", e.getMessage());
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ce) {
+                    // already failing; nothing more to do
+                }
+            }
+        }
+    }
+
+    private void read(final SelectionKey key, final NioClientConnection client) {
+        // Clients do not send anything; reading is only how we find out they have gone away
+        try {
+            readBuffer.clear();
+            if (((SocketChannel) key.channel()).read(readBuffer) < 0) {
+                logger.warn("Client went away, removing connection ", client.getClientPort());
+                client.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Client went away, removing connection ", client.getClientPort());
+            client.close();
+        }
+    }
+
+    private void logMetrics() {
+        clients.removeIf(client -> !client.isOpen());
+        for (final NioClientConnection client : clients) {
+            logger.debug("Client socket : " + client.getClientPort()
+                    + " Queued : " + client.getQueuedCount()
+                    + " lag ms: " + client.getLagMillis()
+                    + " received count: " + client.getTotalReceivedCount()
+                    + " sent count: " + client.getTotalSentCount()
+                    + " dropped count: " + client.getDroppedCount()
+                    + (client.isSpilling() ? " (spilling)" : ""));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2006-2021. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+
+package jpl.gds.mds.server.tcp;
+
+import org.springframework.messaging.Message;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Bounded ring of messages waiting to be written to one TCP client.
+ *
+ * One thread at a time offers messages and one thread takes them, so the ring needs no locks. The taking side
+ * gathers the payloads of several messages into one write, and keeps track of how far through the oldest message
+ * a partial write got.
+ */
+final class ClientOutboundRing {
+
+    private final Message[] messages;
+    private final int       mask;
+
+    /** Sequence of the next message to be offered; written by the offering thread only */
+    private volatile long head;
+    /** Sequence of the next message to be written; written by the taking thread only */
+    private volatile long tail;
+    /** Bytes of the message at tail already written; taking thread only */
+    private int partialOffset;
+
+    /**
+     * Constructor
+     *
+     * @param capacity minimum number of messages the ring holds; rounded up to a power of two
+     */
+    ClientOutboundRing(final int capacity) {
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.messages = new Message[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Offer a message. Called by the offering thread only.
+     *
+     * @param message the message; its payload must be a byte array
+     * @return true if added, false if the ring is full
+     */
+    boolean offer(final Message message) {
+        final long h = head;
+        if (h - tail >= messages.length) {
+            return false;
+        }
+        messages[(int) h & mask] = message;
+        head = h + 1;
+        return true;
+    }
+
+    /**
+     * Get the number of messages that can be offered before the ring is full.
+     *
+     * @return remaining capacity
+     */
+    int remainingCapacity() {
+        return messages.length - size();
+    }
+
+    /**
+     * Get the number of messages waiting, including one that is partly written.
+     *
+     * @return message count
+     */
+    int size() {
+        return (int) (head - tail);
+    }
+
+    /**
+     * Get the oldest message waiting. Called by the taking thread only.
+     *
+     * @return the oldest message, or null if the ring is empty
+     */
+    Message peek() {
+        final long t = tail;
+        return t == head ? null : messages[(int) t & mask];
+    }
+
+    /**
+     * Wrap the unwritten payloads of the oldest messages for a gathering write. Called by the taking thread only.
+     *
+     * @param vector array to fill with one buffer per message, from index 0
+     * @return number of buffers filled; 0 if the ring is empty
+     */
+    int gather(final ByteBuffer[] vector) {
+        final long t = tail;
+        final int count = (int) Math.min(head - t, vector.length);
+        for (int i = 0; i < count; i++) {
+            vector[i] = ByteBuffer.wrap((byte[]) messages[(int) (t + i) & mask].getPayload());
+        }
+        if (count > 0 && partialOffset > 0) {
+            vector[0].position(partialOffset);
+        }
+        return count;
+    }
+
+    /**
+     * Release the messages a gathering write finished with, and remember how far through the next one it got.
+     * Called by the taking thread only.
+     *
+     * @param vector the buffers filled by gather(), after the write
+     * @param count  the number of buffers filled
+     * @return number of messages completely written
+     */
+    int release(final ByteBuffer[] vector, final int count) {
+        int done = 0;
+        while (done < count && !vector[done].hasRemaining()) {
+            messages[(int) (tail + done) & mask] = null;
+            done++;
+        }
+        partialOffset = done < count ? vector[done].position() : 0;
+        tail += done;
+        return done;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2006-2021. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+
+package jpl.gds.mds.server.tcp;
+
+/**
+ * What to do with messages for a TCP client whose outbound ring is full, because the client is not reading as fast
+ * as messages arrive.
+ */
+public enum ESlowClientPolicy {
+    /**
+     * Drop messages that do not fit in the ring, and count them.
+     */
+    DROP,
+
+    /**
+     * Disconnect the client.
+     */
+    DISCONNECT,
+
+    /**
+     * Spill messages that do not fit in the ring through a spill processor, and send them once the client catches up.
+     */
+    SPILL
+}
@@ -40,6 +40,27 @@ public interface IClientConnectionManager {
      */
     long getTotalSentCount();
 
+    /**
+     * Get the number of messages received but not yet sent or dropped
+     *
+     * @return message count
+     */
+    long getQueuedCount();
+
+    /**
+     * Get the number of messages dropped because the client was not keeping up
+     *
+     * @return message count
+     */
+    long getDroppedCount();
+
+    /**
+     * Get how long the oldest message waiting to be sent has been waiting
+     *
+     * @return lag in milliseconds, 0 if nothing is waiting, or -1 if not known
+     */
+    long getLagMillis();
+
     /**
      * Handle message
      *
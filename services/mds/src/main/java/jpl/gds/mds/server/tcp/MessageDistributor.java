@@ -22,8 +22,8 @@ import jpl.gds.shared.log.Loggers;
 import jpl.gds.shared.log.TraceManager;
 import jpl.gds.shared.log.Tracer;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * This class takes the messages off of the Ring Buffer and distributes each
@@ -31,7 +31,8 @@ import java.util.List;
  */
 public class MessageDistributor implements IMessageEventConsumer {
 
-    private final List<IClientConnectionManager> connectedClients = new ArrayList<>();
+    // Copy on write, so clients can come and go while a message is being distributed
+    private final List<IClientConnectionManager> connectedClients = new CopyOnWriteArrayList<>();
     private long                                 count            = 0;
 
     private static final int MESSAGE_COUNT = 10000;
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2006-2021. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+
+package jpl.gds.mds.server.tcp;
+
+import jpl.gds.mds.server.disruptor.IMessageEventConsumer;
+import jpl.gds.mds.server.disruptor.MessageEvent;
+import jpl.gds.mds.server.spring.SpillProcessorProvider;
+import jpl.gds.message.api.spill.ISpillProcessor;
+import jpl.gds.shared.log.Loggers;
+import jpl.gds.shared.log.TraceManager;
+import jpl.gds.shared.log.Tracer;
+import org.springframework.messaging.Message;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Client connection for the selector-based TCP server. Messages for the client are offered to a bounded outbound
+ * ring by the message distributor, and written by the selector thread with gathering writes, as many messages at a
+ * time as the socket accepts. Nothing this class does on the distributor thread blocks, so a slow client cannot
+ * hold up the others; what happens when its ring fills is decided by the configured slow client policy.
+ */
+public class NioClientConnection implements IClientConnectionManager {
+    private static final int  MAX_WRITE_BUFFERS = 256;
+    private static final int  SPILL_QUOTA       = 1000;
+    private static final int  SPILL_BATCH_SIZE  = 100;
+    private static final long SPILL_TIMEOUT     = 100L;
+
+    private final SocketChannel         channel;
+    private final SelectionKey          key;
+    private final int                   clientPort;
+    private final ClientFanOutSelector  selector;
+    private final IMessageEventConsumer messageDistributor;
+    private final SpillProcessorProvider spillProcessorProvider;
+    private final ESlowClientPolicy     slowClientPolicy;
+    private final ClientOutboundRing    ring;
+    private final ByteBuffer[]          writeVector     = new ByteBuffer[MAX_WRITE_BUFFERS];
+    private final AtomicBoolean         flushScheduled  = new AtomicBoolean(false);
+    private final Tracer                logger          = TraceManager.getTracer(Loggers.MDS);
+
+    private volatile boolean closed;
+    private          boolean waitingForWritable;
+    private volatile boolean disconnectRequested;
+    private volatile long    totalReceivedCount;
+    private volatile long    totalSentCount;
+    private volatile long    droppedCount;
+    private          boolean dropping;
+
+    /*
+     * Spill state. While spilling, the distributor puts messages through the spill processor instead of offering
+     * them to the ring, and the selector thread moves them into the ring as it empties, so the ring has one
+     * producer at a time and messages stay in order. Guarded by spillLock, except that spilling is read without
+     * it to decide whether to take it.
+     */
+    private final    Object                                spillLock = new Object();
+    private volatile boolean                               spilling;
+    private          ISpillProcessor<MessageListContainer> spillProcessor;
+    private          Queue<MessageListContainer>           spillTarget;
+    private          List<Message>                         spillBatch;
+    private          List<Message>                         unspilled;
+    private          int                                   unspilledIndex;
+    private          long                                  spilledContainers;
+    private          long                                  unspilledContainers;
+
+    /**
+     * Constructor
+     *
+     * @param selector               the selector that owns the connection
+     * @param channel                client socket channel, in non-blocking mode
+     * @param key                    selection key of the channel
+     * @param messageDistributor     IMessageEventConsumer
+     * @param spillProcessorProvider spill processor factory, used with the SPILL policy
+     * @param slowClientPolicy       what to do when the outbound ring is full
+     * @param outboundCapacity       capacity of the outbound ring, in messages
+     */
+    NioClientConnection(final ClientFanOutSelector selector, final SocketChannel channel, final SelectionKey key,
+                        final IMessageEventConsumer messageDistributor,
+                        final SpillProcessorProvider spillProcessorProvider,
+                        final ESlowClientPolicy slowClientPolicy, final int outboundCapacity) {
+        this.selector = selector;
+        this.channel = channel;
+        this.key = key;
+        this.clientPort = channel.socket().getPort();
+        this.messageDistributor = messageDistributor;
+        this.spillProcessorProvider = spillProcessorProvider;
+        this.slowClientPolicy = slowClientPolicy;
+        this.ring = new ClientOutboundRing(outboundCapacity);
+    }
+
+    @Override
+    public void handleMessage(final MessageEvent messageEvent) {
+        // Called on the distributor thread for every message; must not block
+        if (closed || disconnectRequested) {
+            return;
+        }
+        final Message message = messageEvent.getMessage();
+        totalReceivedCount++;
+
+        if (spilling) {
+            synchronized (spillLock) {
+                if (spilling) {
+                    spill(message);
+                    scheduleFlush();
+                    return;
+                }
+            }
+        }
+
+        if (ring.offer(message)) {
+            dropping = false;
+        } else {
+            handleOverflow(message);
+        }
+        scheduleFlush();
+    }
+
+    private void handleOverflow(final Message message) {
+        switch (slowClientPolicy) {
+            case DISCONNECT:
+                if (!disconnectRequested) {
+                    logger.warn("Client ", clientPort, " is not keeping up, disconnecting it. Queued: ",
+                            ring.size());
+                    disconnectRequested = true;
+                }
+                break;
+            case SPILL:
+                synchronized (spillLock) {
+                    if (spillProcessor == null) {
+                        spillTarget = new LinkedBlockingQueue<>(SPILL_QUOTA);
+                        spillProcessor = spillProcessorProvider.getSpillProcessor(spillTarget, SPILL_QUOTA,
+                                SPILL_TIMEOUT, logger);
+                        spillProcessor.start();
+                    }
+                    logger.warn("Client ", clientPort, " is not keeping up, spilling messages. Queued: ",
+                            ring.size());
+                    spilling = true;
+                    spill(message);
+                }
+                break;
+            case DROP:
+            default:
+                if (!dropping) {
+                    logger.warn("Client ", clientPort, " is not keeping up, dropping messages. Queued: ",
+                            ring.size());
+                    dropping = true;
+                }
+                droppedCount++;
+                break;
+        }
+    }
+
+    /**
+     * Add a message to the spill batch, putting the batch through the spill processor when full. Must hold
+     * spillLock.
+     */
+    private void spill(final Message message) {
+        if (spillBatch == null) {
+            spillBatch = new ArrayList<>(SPILL_BATCH_SIZE);
+        }
+        spillBatch.add(message);
+        if (spillBatch.size() >= SPILL_BATCH_SIZE) {
+            spillProcessor.put(new MessageListContainer(spillBatch));
+            spilledContainers++;
+            spillBatch = null;
+        }
+    }
+
+    /**
+     * Move spilled messages into the ring, oldest first, as far as it has room, and stop spilling once they have
+     * all been moved. Called on the selector thread.
+     */
+    private void unspill() {
+        synchronized (spillLock) {
+            while (true) {
+                if (unspilled != null) {
+                    while (unspilledIndex < unspilled.size() && ring.offer(unspilled.get(unspilledIndex))) {
+                        unspilledIndex++;
+                    }
+                    if (unspilledIndex < unspilled.size()) {
+                        return;
+                    }
+                    unspilled = null;
+                }
+
+                if (unspilledContainers < spilledContainers) {
+                    if (spillTarget.isEmpty()) {
+                        // Still on its way through the spill processor. Checked here rather than by polling, which
+                        // logs a warning whenever it comes back empty while the processor is spilling to disk.
+                        return;
+                    }
+                    final MessageListContainer container = spillProcessor.poll(0, TimeUnit.MILLISECONDS);
+                    if (container == null) {
+                        return;
+                    }
+                    unspilledContainers++;
+                    unspilled = container.getMessageList();
+                } else if (spillBatch != null) {
+                    unspilled = spillBatch;
+                    spillBatch = null;
+                } else {
+                    logger.info("Client ", clientPort, " has caught up, no longer spilling messages");
+                    spilling = false;
+                    return;
+                }
+                unspilledIndex = 0;
+            }
+        }
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            selector.schedule(this);
+        }
+    }
+
+    /**
+     * Called on the selector thread when the socket becomes writable after a write that did not complete.
+     */
+    void writable() {
+        waitingForWritable = false;
+        flush();
+    }
+
+    /**
+     * Write as many waiting messages as the socket accepts. Called on the selector thread, when the connection
+     * has been scheduled or the socket becomes writable.
+     */
+    void flush() {
+        // Clear first, so that a message offered while writing schedules another flush
+        flushScheduled.set(false);
+        if (closed) {
+            return;
+        }
+        if (disconnectRequested) {
+            close();
+            return;
+        }
+        if (waitingForWritable) {
+            // The socket is still full; the selector will report when it has room
+            return;
+        }
+
+        try {
+            while (true) {
+                if (spilling) {
+                    unspill();
+                }
+                final int count = ring.gather(writeVector);
+                if (count == 0) {
+                    break;
+                }
+                channel.write(writeVector, 0, count);
+                final int written = ring.release(writeVector, count);
+                totalSentCount += written;
+                if (writeVector[count - 1].hasRemaining()) {
+                    // Socket send buffer is full; carry on when it has room
+                    waitingForWritable = true;
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+            }
+            key.interestOps(SelectionKey.OP_READ);
+        } catch (IOException e) {
+            //Socket has been closed by client
+            logger.warn("Client went away, removing connection ", clientPort);
+            close();
+        } finally {
+            Arrays.fill(writeVector, null);
+        }
+    }
+
+    /**
+     * Close the connection and stop distributing messages to it. Called on the selector thread.
+     */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        messageDistributor.removeSocketConnection(this);
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Encountered an error closing a socket client ", clientPort, ", continuing");
+        }
+        synchronized (spillLock) {
+            if (spillProcessor != null) {
+                spillProcessor.shutDown();
+            }
+        }
+    }
+
+    /**
+     * Get the client's port
+     *
+     * @return remote port
+     */
+    public int getClientPort() {
+        return clientPort;
+    }
+
+    /**
+     * Whether the connection is still open
+     *
+     * @return true if open
+     */
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    /**
+     * Whether messages for the client are currently being spilled
+     *
+     * @return true if spilling
+     */
+    public boolean isSpilling() {
+        return spilling;
+    }
+
+    @Override
+    public void flushBuffer() {
+        // Messages are written as they arrive; nothing is held back
+    }
+
+    @Override
+    public long getTotalReceivedCount() {
+        return totalReceivedCount;
+    }
+
+    @Override
+    public long getTotalSentCount() {
+        return totalSentCount;
+    }
+
+    @Override
+    public long getQueuedCount() {
+        return totalReceivedCount - totalSentCount - droppedCount;
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    @Override
+    public long getLagMillis() {
+        // Not synchronized with the selector thread, so may be momentarily out of date
+        final Message oldest = ring.peek();
+        if (oldest == null) {
+            return 0;
+        }
+        final Long timestamp = oldest.getHeaders().getTimestamp();
+        return timestamp != null ? Math.max(0, System.currentTimeMillis() - timestamp) : -1;
+    }
+
+}
@@ -15,9 +15,11 @@
 package jpl.gds.mds.server.tcp;
 
 import jpl.gds.mds.server.MonitorDataService;
+import jpl.gds.mds.server.config.MdsProperties;
 import jpl.gds.mds.server.disruptor.IMessageEventConsumer;
 import jpl.gds.mds.server.disruptor.RingBufferController;
 import jpl.gds.mds.server.spring.ClientConnectionManagerProvider;
+import jpl.gds.mds.server.spring.SpillProcessorProvider;
 import jpl.gds.shared.log.Loggers;
 import jpl.gds.shared.log.TraceManager;
 import jpl.gds.shared.log.Tracer;
@@ -40,8 +42,11 @@ public class TcpSocketServer {
     private final RingBufferController            ringBufferController;
     private final ClientConnectionManagerProvider clientConnectionManagerProvider;
     private final ServerSocketFactory             socketFactory;
+    private final MdsProperties                   mdsProperties;
+    private final SpillProcessorProvider          spillProcessorProvider;
     private       ExecutorService                 executorService = Executors.newCachedThreadPool();
     private       ServerSocket                    serverSocket;
+    private       ClientFanOutSelector            fanOutSelector;
 
     /**
      * Constructor
@@ -50,15 +55,21 @@ public class TcpSocketServer {
      * @param ringBufferController
      * @param clientConnectionManagerProvider
      * @param socketFactory
+     * @param mdsProperties
+     * @param spillProcessorProvider
      */
     public TcpSocketServer(final IMessageEventConsumer messageDistributor,
                            final RingBufferController ringBufferController,
                            final ClientConnectionManagerProvider clientConnectionManagerProvider,
-                           final ServerSocketFactory socketFactory) {
+                           final ServerSocketFactory socketFactory,
+                           final MdsProperties mdsProperties,
+                           final SpillProcessorProvider spillProcessorProvider) {
         this.messageDistributor = messageDistributor;
         this.ringBufferController = ringBufferController;
         this.clientConnectionManagerProvider = clientConnectionManagerProvider;
         this.socketFactory = socketFactory;
+        this.mdsProperties = mdsProperties;
+        this.spillProcessorProvider = spillProcessorProvider;
     }
 
     /**
@@ -70,6 +81,13 @@ public class TcpSocketServer {
         ringBufferController.init();
         final boolean secure     = socketFactory instanceof SSLServerSocketFactory;
         final String  serverType = secure ? "(Secure TLS)" : "(Unsecure)";
+        if (mdsProperties.isNonBlockingTcp()) {
+            if (!secure) {
+                startNonBlocking(port);
+                return;
+            }
+            logger.info("Non-blocking TCP is not available with secure TCP, serving each client from its own thread");
+        }
         try {
             logger.info("TCP Server ", serverType, " listening on port ", port);
             serverSocket = socketFactory.createServerSocket(port);
@@ -88,14 +106,43 @@ public class TcpSocketServer {
 
     }
 
+    /**
+     * Serve all clients from a single selector thread, which is the calling thread
+     *
+     * @param port Socket port
+     */
+    private void startNonBlocking(final int port) {
+        ESlowClientPolicy slowClientPolicy = mdsProperties.getSlowClientPolicy();
+        if (slowClientPolicy == ESlowClientPolicy.SPILL && !mdsProperties.isEnableSpill()) {
+            logger.warn("Spill processor is disabled, dropping messages for slow clients instead of spilling them");
+            slowClientPolicy = ESlowClientPolicy.DROP;
+        }
+        try {
+            logger.info("TCP Server (Unsecure, non-blocking) listening on port ", port, ", slow client policy ",
+                    slowClientPolicy);
+            fanOutSelector = new ClientFanOutSelector(messageDistributor, spillProcessorProvider, slowClientPolicy,
+                    mdsProperties.getOutboundCapacity());
+            fanOutSelector.serve(port);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            stop();
+        }
+    }
+
     /**
      * Stop TCP Socket Server
      */
     public void stop() {
         ringBufferController.cleanup();
         executorService.shutdownNow();
+        if (fanOutSelector != null) {
+            fanOutSelector.close();
+        }
         try {
-            serverSocket.close();
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -41,9 +41,11 @@ public final class PdppApiBeans {
     public static final String USER_DAO = "USER_DAO";
     public static final String CLASS_MAP_DAO = "CLASS_MAP_DAO";
     public static final String LOGS_DAO = "LOGS_DAO";
+    public static final String NOTIFICATION_DAO = "NOTIFICATION_DAO";
     public static final String AUTOMATION_DOWNLINK_SERVICE = "AUTOMATION_DOWNLINK_SERVICE";
     public static final String PDPP_PRODUCT_METADATA_BUILDER = "PDPP_PRODUCT_METADATA_BUILDER";
     public static final String PDPP_PRODUCT_AUTOMATION_PRODUCT_ADDER = "PDPP_PRODUCT_AUTOMATION_PRODUCT_ADDER";
     public static final String PDPP_CONTEXT_CONTAINER_CREATOR = "PDPP_CONTEXT_CONTAINER_CREATOR";
     public static final String AUTOMATION_LOGGER = "AUTOMATION_LOGGER";
+    public static final String ARBITER_WORK_DISPATCHER = "ARBITER_WORK_DISPATCHER";
 }
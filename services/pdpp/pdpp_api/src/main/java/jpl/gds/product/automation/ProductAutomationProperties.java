@@ -104,6 +104,8 @@ public final class ProductAutomationProperties extends GdsHierarchicalProperties
 	private static final String TRANSACTION_BLOCK_SIZE = ACTION_CATEGORIZER_BLOCK + "transactionblocksize";
 	private static final String PROCESS_DEAD_TIME = ACTION_CATEGORIZER_BLOCK + "processdeadtime";
 	private static final String LOAD_DIFFERENCE = ACTION_CATEGORIZER_BLOCK + "loaddifference";
+	private static final String PUSH_DISPATCH = ACTION_CATEGORIZER_BLOCK + "pushdispatch";
+	private static final String NOTIFICATION_POLL_TIME_MS = ACTION_CATEGORIZER_BLOCK + "notificationpolltime";
 	
 	private static final String ARBITER_CHECKERS = ARBITER_BLOCK + "checkers";
 	private static final String ARBITER_CHECKER_BLOCK = ARBITER_CHECKERS + ".";
@@ -139,6 +141,8 @@ public final class ProductAutomationProperties extends GdsHierarchicalProperties
 	private static final int DEFAULT_TRANSACTION_BLOCK_SIZE = 50;
 	private static final int DEFAULT_PROCESS_DEAD_TIME = 60000;
 	private static final int DEFAULT_LOAD_DIFFERENCE = 200;
+	private static final boolean DEFAULT_PUSH_DISPATCH = true;
+	private static final long DEFAULT_NOTIFICATION_POLL_TIME_MS = 250;
 	private static final int DEFAULT_SLEEP_TIME_AFTER_CLOSE_MS = 5000;
 	private static final int DEFAULT_SLEEP_TIME_AFTER_SESSION_STORE_MS = 200;
 	private static final int DEFAULT_RELOAD_SESSION_AFTER_CREATION_RETRIES = 10;
@@ -313,6 +317,25 @@ public final class ProductAutomationProperties extends GdsHierarchicalProperties
 	public int getLoadDifference(){
 	    return getIntProperty(LOAD_DIFFERENCE, DEFAULT_LOAD_DIFFERENCE);
 	}
+
+	/**
+	 * Returns whether arbiter workers are woken as soon as there is work for them, rather than only finding it on
+	 * their next cycle
+	 * 
+	 * @return true if push dispatch is enabled
+	 */
+	public boolean isPushDispatchEnabled(){
+	    return getBooleanProperty(PUSH_DISPATCH, DEFAULT_PUSH_DISPATCH);
+	}
+
+	/**
+	 * Returns the time, in milliseconds, between checks of the notification table for products added by chill_down
+	 * 
+	 * @return the notification poll time in milliseconds
+	 */
+	public long getNotificationPollTimeMS(){
+	    return getLongProperty(NOTIFICATION_POLL_TIME_MS, DEFAULT_NOTIFICATION_POLL_TIME_MS);
+	}
 	
 	public List<String> getCheckOrder(){
 		return getListProperty(ARBITER_CHECKERS,null,LIST_DELIMITER);
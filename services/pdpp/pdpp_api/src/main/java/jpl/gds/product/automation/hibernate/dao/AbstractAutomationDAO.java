@@ -24,6 +24,7 @@ import org.hibernate.resource.transaction.spi.TransactionStatus;
 import org.hibernate.type.StandardBasicTypes;
 import org.springframework.context.ApplicationContext;
 
+import java.sql.Savepoint;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -85,6 +86,7 @@ public class AbstractAutomationDAO {
 		ACTION("action"),
 		CLASSMAP("classmaps"),
 		LOGS("logs"),
+		NOTIFICATION("notification"),
 		PROCESS("process"),
 		PRODUCT("products"),
 		STATS("stats"),
@@ -211,6 +213,37 @@ public class AbstractAutomationDAO {
 		}
 	}
 
+	/**
+	 * Sets a savepoint in the current transaction, so that the work done after it can be undone without
+	 * rolling back the whole transaction.  Starts a transaction if one is not running.
+	 * 
+	 * @return the savepoint
+	 * 
+	 * @see java.sql.Connection#setSavepoint()
+	 */
+	public Savepoint setSavepoint() {
+		startTransaction();
+		return getSession().doReturningWork(connection -> connection.setSavepoint());
+	}
+	
+	/**
+	 * Rolls the current transaction back to a savepoint.  Work done before the savepoint is kept, and the
+	 * transaction remains active.
+	 * 
+	 * The session is cleared, since Hibernate cannot tell which of the objects it holds were written after the
+	 * savepoint.  Everything written before the savepoint must therefore already have been flushed, and objects
+	 * read through the session are detached.
+	 * 
+	 * @param savepoint
+	 *            the savepoint to roll back to
+	 * 
+	 * @see java.sql.Connection#rollback(Savepoint)
+	 */
+	public void rollbackToSavepoint(final Savepoint savepoint) {
+		getSession().clear();
+		getSession().doWork(connection -> connection.rollback(savepoint));
+	}
+
 	/**
 	 * Rollback the transaction and close the session
 	 * 
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.product.automation.hibernate.dao;
+
+import org.springframework.context.ApplicationContext;
+
+import jpl.gds.product.automation.AutomationException;
+import jpl.gds.product.automation.hibernate.AutomationSessionFactory;
+
+/**
+ * Product automation notification table data accessor object.
+ *
+ * The notification table holds one counter per topic.  A process that adds work for the arbiter bumps the counter
+ * for it, and the arbiter reads the counter to find out that there is new work without running the queries that
+ * find the work itself.  The counter for a topic is a single row read by its primary key, so it can be read far more
+ * often than the work queries are run.  The work is still found by those queries; the counter only says when to run
+ * them.
+ */
+public class ProductAutomationNotificationDAO extends AbstractAutomationDAO {
+
+	/** Topic bumped when chill_down adds uncategorized products */
+	public static final String PRODUCTS_ADDED = "products";
+
+	private static final String BUMP_QUERY = "INSERT INTO " + TableNames.NOTIFICATION
+			+ " (topic, counter) VALUES (:topic, 1) ON DUPLICATE KEY UPDATE counter = counter + 1";
+
+	private static final String READ_QUERY = "SELECT counter FROM " + TableNames.NOTIFICATION + " WHERE topic = :topic";
+
+	/**
+	 * Constructor
+	 *
+	 * @param appContext
+	 *            the Spring application context
+	 * @param sessionFactory
+	 *            the automation session factory
+	 */
+	public ProductAutomationNotificationDAO(ApplicationContext appContext, AutomationSessionFactory sessionFactory) {
+		super(appContext, sessionFactory);
+	}
+
+	/**
+	 * Bumps the counter for a topic in a transaction of its own, creating it if need be.  The current session is
+	 * closed afterwards.
+	 *
+	 * @param topic
+	 *            the notification topic
+	 *
+	 * @throws AutomationException
+	 *             the counter could not be updated
+	 */
+	public void bump(String topic) throws AutomationException {
+		try {
+			startTransaction();
+			getSession().createNativeQuery(BUMP_QUERY)
+				.setParameter("topic", topic)
+				.executeUpdate();
+			commit();
+		} catch (Exception e) {
+			rollback();
+			throw new AutomationException("Could not update notification " + topic + ": " + e.getMessage(), e);
+		} finally {
+			closeSession();
+		}
+	}
+
+	/**
+	 * Reads the counter for a topic.  The read is done in a transaction of its own so that it is not answered from
+	 * an earlier snapshot.
+	 *
+	 * @param topic
+	 *            the notification topic
+	 *
+	 * @return the counter value, or 0 if the topic has never been bumped
+	 *
+	 * @throws AutomationException
+	 *             the counter could not be read
+	 */
+	public long getCount(String topic) throws AutomationException {
+		try {
+			startTransaction();
+			Number count = (Number) getSession().createNativeQuery(READ_QUERY)
+					.setParameter("topic", topic)
+					.uniqueResult();
+			commit();
+
+			return count == null ? 0L : count.longValue();
+		} catch (Exception e) {
+			rollback();
+			throw new AutomationException("Could not read notification " + topic + ": " + e.getMessage(), e);
+		}
+	}
+}
@@ -32,6 +32,7 @@ import jpl.gds.product.automation.hibernate.AutomationSessionFactory;
 import jpl.gds.product.automation.hibernate.dao.ProductAutomationActionDAO;
 import jpl.gds.product.automation.hibernate.dao.ProductAutomationClassMapDAO;
 import jpl.gds.product.automation.hibernate.dao.ProductAutomationLogsDAO;
+import jpl.gds.product.automation.hibernate.dao.ProductAutomationNotificationDAO;
 import jpl.gds.product.automation.hibernate.dao.ProductAutomationProcessDAO;
 import jpl.gds.product.automation.hibernate.dao.ProductAutomationProductDAO;
 import jpl.gds.product.automation.hibernate.dao.ProductAutomationStatusDAO;
@@ -129,6 +130,13 @@ public class PDPPApiSpringBootstrap {
 		return new ProductAutomationLogsDAO(appContext, sessionFactory);
 	}
 
+	@Bean(name=PdppApiBeans.NOTIFICATION_DAO)
+	@Scope("singleton")
+	@Lazy(value = true)
+	public ProductAutomationNotificationDAO getNotificationDAO(final AutomationSessionFactory sessionFactory) {
+		return new ProductAutomationNotificationDAO(appContext, sessionFactory);
+	}
+
 	@Bean(name=PdppApiBeans.USER_DAO)
 	@Scope("singleton")
 	@Lazy(value = true)
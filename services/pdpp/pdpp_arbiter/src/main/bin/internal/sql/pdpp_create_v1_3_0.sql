@@ -10,6 +10,7 @@ DROP TABLE IF EXISTS products;
 DROP TABLE IF EXISTS status;
 DROP TABLE IF EXISTS logs;
 DROP TABLE IF EXISTS classmaps;
+DROP TABLE IF EXISTS notification;
 
 
 system echo 'Creating action table' `date`
@@ -131,5 +132,18 @@ CREATE TABLE classmaps(
 
 CREATE UNIQUE INDEX CLASS_PRIMARY on classmaps(mnemonic, className);
 
+
+
+system echo 'Creating notification table' `date`
+
+-- One counter per topic, bumped by processes that add work for the arbiter
+CREATE TABLE notification(
+	topic   VARCHAR(32) NOT NULL,
+	counter BIGINT      NOT NULL DEFAULT 0,
+	PRIMARY KEY (topic)
+)ENGINE=InnoDB ROW_FORMAT=COMPACT CHARSET=latin1;
+
+
+
 -- Insert to add Generic processor classes
 INSERT INTO classmaps (mnemonic, className, enabled) VALUES ('logger', 'jpl.gds.product.processors.ConsoleLoggerProcessor', 1);
@@ -7,6 +7,7 @@
 TRUNCATE TABLE action;
 TRUNCATE TABLE classmaps;
 TRUNCATE TABLE logs;
+TRUNCATE TABLE notification;
 TRUNCATE TABLE process;
 TRUNCATE TABLE products;
 TRUNCATE TABLE status;
@@ -23,7 +23,9 @@ import jpl.gds.product.automation.hibernate.IAutomationLogger;
 import jpl.gds.product.automation.hibernate.arbiter.workers.AbstractArbiterWorker;
 import jpl.gds.product.automation.hibernate.arbiter.workers.ActionAssignerArbiterWorker;
 import jpl.gds.product.automation.hibernate.arbiter.workers.ActionCreatorArbiterWorker;
+import jpl.gds.product.automation.hibernate.arbiter.workers.ArbiterWorkDispatcher;
 import jpl.gds.product.automation.hibernate.arbiter.workers.LoadBalancerArbiterWorker;
+import jpl.gds.product.automation.hibernate.arbiter.workers.ProductArrivalArbiterWorker;
 import jpl.gds.product.automation.hibernate.dao.ProductAutomationClassMapDAO;
 import jpl.gds.product.automation.hibernate.entity.ProductAutomationClassMap;
 import jpl.gds.product.processors.IProductAutomationProcessCache;
@@ -198,12 +200,32 @@ public class ProductAutomationArbiter extends AbstractCommandLineApp implements
          * All of the workers are created as daemon threads so no join is done on them before we exit.  It may be that we want to
          * do this in the future if we notice strange artifacts from these threads going down in the middle of something.
          */
-        workers.add(new ActionCreatorArbiterWorker(transactionBlockSize, maxArbiterErrors, cycleTime, appContext));
+        final ActionCreatorArbiterWorker actionCreator = new ActionCreatorArbiterWorker(transactionBlockSize, maxArbiterErrors, cycleTime, appContext);
+        workers.add(actionCreator);
         workers.add(new LoadBalancerArbiterWorker(deadTime, loadDiff, maxArbiterErrors, cycleTime, appContext));
 
+        /**
+         * With push dispatch, workers are woken as soon as there is work for them: the action creator when chill_down
+         * adds products, which the product arrival worker finds out from the notification table, and the assigner for
+         * an action type when actions of that type are created or taken away from a process.  They still poll every
+         * cycle time.
+         */
+        final boolean pushDispatch = config.isPushDispatchEnabled();
+        final ArbiterWorkDispatcher dispatcher = appContext.getBean(ArbiterWorkDispatcher.class);
+
+        if (pushDispatch) {
+            dispatcher.registerActionCreator(actionCreator);
+            workers.add(new ProductArrivalArbiterWorker(config.getNotificationPollTimeMS(), appContext));
+        }
+
         // Need an assigner for each type of PDPP.
         for (final ProductAutomationClassMap actionName : appContext.getBean(ProductAutomationClassMapDAO.class).getClassMaps()) {
-            workers.add(new ActionAssignerArbiterWorker(actionName, transactionBlockSize, maxArbiterAssigns, maxArbiterErrors, cycleTime, dbHost, appContext));
+            final ActionAssignerArbiterWorker assigner = new ActionAssignerArbiterWorker(actionName, transactionBlockSize, maxArbiterAssigns, maxArbiterErrors, cycleTime, dbHost, appContext);
+            workers.add(assigner);
+
+            if (pushDispatch) {
+                dispatcher.registerActionAssigner(actionName.getMnemonic(), assigner);
+            }
         }
 
         // Start all of the threads.
@@ -18,6 +18,7 @@ import jpl.gds.product.api.IProductMetadataProvider;
 import jpl.gds.product.api.file.IProductMetadata;
 import jpl.gds.product.automation.disruptor.ProductMetadataEvent;
 import jpl.gds.product.automation.hibernate.IAutomationLogger;
+import jpl.gds.product.automation.hibernate.dao.ProductAutomationNotificationDAO;
 import jpl.gds.product.automation.hibernate.dao.ProductAutomationStatusDAO;
 import org.hibernate.Transaction;
 import org.springframework.context.ApplicationContext;
@@ -32,8 +33,11 @@ public class ReferenceProductAutomationProductAdder extends AbstractProductAutom
     private int errorCount;
     private final int maxErrors;
     private final ProductAutomationStatusDAO instance;
+    private final ProductAutomationNotificationDAO notifications;
     private final long fswBuildId;
     private final ApplicationContext appContext;
+    private int addedSinceLastNotification;
+    private boolean notificationFailed;
 
     /**
      * Public constructor
@@ -47,6 +51,8 @@ public class ReferenceProductAutomationProductAdder extends AbstractProductAutom
         maxErrors = tmp <= 0 ? 10 : tmp;
 
         instance = appContext.getBean(ProductAutomationStatusDAO.class);
+        notifications = appContext.getBean(ProductAutomationProperties.class).isPushDispatchEnabled()
+                ? appContext.getBean(ProductAutomationNotificationDAO.class) : null;
 
         /**
          * Some adaptations rely on multiple dictionaries for one run, but other adaptations only need one.
@@ -126,6 +132,7 @@ public class ReferenceProductAutomationProductAdder extends AbstractProductAutom
 
                 transaction.commit();
                 errorCount = 0;
+                addedSinceLastNotification++;
 
                 /*
                  * MPCS-8295 11/28/16 - Catch any exception. Rollback, as
@@ -157,5 +164,22 @@ public class ReferenceProductAutomationProductAdder extends AbstractProductAutom
             }
 
         } while (errorCount != 0);
+
+        // Tell the arbiter about the products once per batch rather than for each one
+        if (endOfBatch && addedSinceLastNotification > 0 && notifications != null) {
+            addedSinceLastNotification = 0;
+
+            try {
+                notifications.bump(ProductAutomationNotificationDAO.PRODUCTS_ADDED);
+                notificationFailed = false;
+            } catch (final Exception e) {
+                // The arbiter still finds the products on its next cycle.  Only say so once per run of failures.
+                if (!notificationFailed) {
+                    log.warn("Could not notify the arbiter of new products; it will find them on its next cycle: "
+                            + e.getMessage());
+                    notificationFailed = true;
+                }
+            }
+        }
     }
 }
\ No newline at end of file
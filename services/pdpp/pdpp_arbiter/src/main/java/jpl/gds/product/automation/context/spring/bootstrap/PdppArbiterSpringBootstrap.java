@@ -27,6 +27,7 @@ import jpl.gds.product.api.file.IProductFilenameBuilderFactory;
 import jpl.gds.product.api.file.IProductMetadataBuilder;
 import jpl.gds.product.automation.*;
 import jpl.gds.product.automation.checkers.ReferencePdppMnemonic;
+import jpl.gds.product.automation.hibernate.arbiter.workers.ArbiterWorkDispatcher;
 import jpl.gds.product.automation.hibernate.dao.ProductAutomationProductDAO;
 import jpl.gds.product.automation.hibernate.dao.ProductAutomationUserDAO;
 import jpl.gds.product.automation.hibernate.gui.AncestorMap;
@@ -89,6 +90,13 @@ public class PdppArbiterSpringBootstrap {
         return new AutomationDownlinkService(appContext);
     }
 
+    @Bean(name=PdppApiBeans.ARBITER_WORK_DISPATCHER)
+    @Scope("singleton")
+    @Lazy(value = true)
+    public ArbiterWorkDispatcher getArbiterWorkDispatcher() {
+        return new ArbiterWorkDispatcher();
+    }
+
     @Bean(name=PdppApiBeans.DICTIONARY_MAPPER)
     @Scope("singleton")
     @Lazy(value = true)
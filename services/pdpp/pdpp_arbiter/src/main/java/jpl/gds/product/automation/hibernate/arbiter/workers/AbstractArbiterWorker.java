@@ -39,6 +39,8 @@ public abstract class AbstractArbiterWorker extends Thread {
 	/**  amount of time, in milliseconds, between each block of products to be worked on */
 	protected Long cycleTime;
 	private final AtomicBoolean running;
+	/** Set by wakeUp() when there is work waiting; guarded by this */
+	private boolean workPending;
 	
 	/** Database host */
 	protected String dbHost;
@@ -93,6 +95,15 @@ public abstract class AbstractArbiterWorker extends Thread {
 		notifyAll();
 	}
 	
+	/**
+	 * Tell this worker there is work for it, so that it looks for it now instead of at the end of its current sleep.
+	 * A wake up while the worker is busy is remembered, and its next sleep returns straight away.
+	 */
+	public synchronized void wakeUp() {
+		workPending = true;
+		notifyAll();
+	}
+	
 	/**
 	 * This is used to name the thread from within the constructor using the action type mnemonic.  If the action type is
 	 * null than there will only be a single instance of this subclass because it is not action specific and a string '1' is 
@@ -202,7 +213,8 @@ public abstract class AbstractArbiterWorker extends Thread {
 	}
 	
 	/**
-	 * Have this worker sleep for the designated amount of milliseconds time
+	 * Have this worker sleep for the designated amount of milliseconds time, or until it is woken up because there
+	 * is work for it
 	 * 
 	 * @param sleepTime
 	 *            the time, in milliseconds, for this worker to sleep
@@ -210,7 +222,10 @@ public abstract class AbstractArbiterWorker extends Thread {
 	 *             if the sleep encounters an exception
 	 */
 	protected synchronized void doSleep(final long sleepTime) throws InterruptedException {
-		wait(sleepTime);
+		if (!workPending) {
+			wait(sleepTime);
+		}
+		workPending = false;
 	}
 	
 	/**
@@ -231,5 +246,14 @@ public abstract class AbstractArbiterWorker extends Thread {
 	protected IProductAutomationProcessCache getProcessCache() {
 		return appContext.getBean(IProductAutomationProcessCache.class);
 	}
+	
+	/**
+	 * Gets the ArbiterWorkDispatcher used to wake workers when there is work for them
+	 * 
+	 * @return the ArbiterWorkDispatcher for this worker
+	 */
+	protected ArbiterWorkDispatcher getWorkDispatcher() {
+		return appContext.getBean(ArbiterWorkDispatcher.class);
+	}
 }
 
@@ -25,8 +25,11 @@ import jpl.gds.shared.reflect.ReflectionToolkit;
 import org.springframework.context.ApplicationContext;
 
 import java.lang.reflect.Constructor;
+import java.sql.Savepoint;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Product automation arbiter worker. Responsible for finding all uncategorized
@@ -109,7 +112,7 @@ public class ActionCreatorArbiterWorker extends AbstractArbiterWorker {
 	 * @return the ProductAutomationClassMap that will be the next type of
 	 *         action to be performed on the product.
 	 */
-	private ProductAutomationClassMap getActionName(ProductAutomationProduct product) {
+	ProductAutomationClassMap getActionName(ProductAutomationProduct product) {
 		for (String mnemonic : checkOrder) {
 			if (checkers.get(mnemonic).isProcessingRequired(product)) {
 				return classMapDao.getClassMap(mnemonic);
@@ -131,20 +134,47 @@ public class ActionCreatorArbiterWorker extends AbstractArbiterWorker {
 			ProductAutomationActionDAO actionInstance = appContext.getBean(ProductAutomationActionDAO.class);
 			ProductAutomationStatusDAO statusInstance = appContext.getBean(ProductAutomationStatusDAO.class);
 			
-			// Can not close session after each status.  This will make the status object that were queried
-			// bad to the current session.  You must only commit or roll back the transaction.  Close the session after the loop.
-			/**
-			 * Gets blockSize statuses and will create actions for them all in one transaction.  
-			 */
-			boolean workDoneOnLastCycle = false;
-
-			try {
-				for (ProductAutomationStatus status : statusInstance.getStatusesForCategorizing(getTransactionBlockSize())) {
-					workDoneOnLastCycle = true;
-					
-					Long productId = status.getProduct().getProductId();
-					statusInstance.startTransaction();
+			boolean workDoneOnLastCycle = categorizeBlock(actionInstance, statusInstance) > 0;
+			
+			if (overErrorCount()) {
+				log.fatal("Action creator has exceeded the maximum number of consecutive errors and is halting execution.");
+				break;
+			} else if (!workDoneOnLastCycle) {
+				try {
+					doSleep();
+				} catch (InterruptedException e) {
+					// Whatever
+				}
+			}
+		}
+		
+		log.info("Action creator has shut down.");
+	}
+	
+	/**
+	 * Gets blockSize statuses and creates actions for them all in one transaction.  Each status is worked on after a
+	 * savepoint and flushed before the next one, so one that fails is rolled back to its savepoint, leaving the rest
+	 * of the block to be committed.  A status that fails stays uncategorized and is tried again on the next pass.
+	 * The assigners for the actions created are woken once the block is committed.
+	 * 
+	 * @param actionInstance
+	 *            the action DAO
+	 * @param statusInstance
+	 *            the status DAO
+	 * @return the number of statuses committed, not counting ones left uncategorized
+	 */
+	int categorizeBlock(ProductAutomationActionDAO actionInstance, ProductAutomationStatusDAO statusInstance) {
+		Set<String> actionsCreated = new HashSet<String>();
+		int categorized = 0;
+		
+		// Can not close session after each status.  This will make the status object that were queried
+		// bad to the current session.  You must only commit or roll back the transaction.  Close the session after the loop.
+		try {
+			for (ProductAutomationStatus status : statusInstance.getStatusesForCategorizing(getTransactionBlockSize())) {
+				Long productId = status.getProduct().getProductId();
+				Savepoint savepoint = statusInstance.setSavepoint();
 				
+				try {
 					if (status.getProduct().getFswBuildId() <= 0) {
 						/*
 						 * MPCS-4308 -  - 10/31/2012 - Adding log message for this failure case.
@@ -152,19 +182,17 @@ public class ActionCreatorArbiterWorker extends AbstractArbiterWorker {
 						log.warn("Failed to process product " + status.getProduct().getProductPath() + " because the FSW BuildID of the product is less than or equal to zero", ARBITER_PROCESS_ID, productId);
 						// This means it is a partial, and there is no mpdu.  Mark as failed.
 						statusInstance.addFailed(status.getProduct(), status.getPassNumber());
-						statusInstance.commit();
 					} else {
 						ProductAutomationClassMap actionName = getActionName(status.getProduct());
 
 						if (actionName == null) {
 							// No work required.  Add a completed chill_down status.
 							statusInstance.addCompletedPrevious(status.getProduct(), status.getPassNumber());
-							statusInstance.commit();
 						} else if (actionName.getEnabled() == 0) {
 							// This was an info message, but it will totally spam the log table on every cycle when something is disabled.  So changing
 							// to a debug.  It would be easy to figure out why products were not getting processed if there is an issue in this case.
 							log.trace("Action " + actionName.getMnemonic() + " has been disabled.  Leaving status for product uncategorized: " + status.getProduct().getProductPath(), ARBITER_PROCESS_ID, productId);
-							
+							continue;
 						} else {
 							/**
 							 * Just create an action but don't assign it to a process.  
@@ -172,41 +200,45 @@ public class ActionCreatorArbiterWorker extends AbstractArbiterWorker {
 							log.debug(String.format("Creating action for status %d", 
 									status.getStatusId()), 
 									ARBITER_PROCESS_ID, 
-									status.getProduct().getProductId());
+									productId);
 							
 							actionInstance.addAction(actionName, status);
 							
 							// Create a status that it has been categorized.
-							statusInstance.addCategorized(status.getProduct(), status.getPassNumber());	
-							statusInstance.commit();
-							resetErrorCount();
+							statusInstance.addCategorized(status.getProduct(), status.getPassNumber());
+							actionsCreated.add(actionName.getMnemonic());
 						}
 					}
+					
+					// Write this status now, so that a failure is caught while its savepoint still applies
+					statusInstance.flush();
+					categorized++;
+					resetErrorCount();
+				} catch (Exception e) {
+					log.error("Exception encountered categorizing product " + status.getProduct().getProductPath() + ".  It is being rolled back and left uncategorized: " + e.getMessage(), ARBITER_PROCESS_ID, productId);
+					statusInstance.rollbackToSavepoint(savepoint);
+					incrementErrorCount();
 				}
-			} catch (Exception e) {
-				log.error("Exception encountered in the categorizing loop.  Transaction is being rolled back and closing session: " + e.getMessage());
-				e.printStackTrace();
-				statusInstance.rollbackAndClose();
-				incrementErrorCount();
-				
-			} finally {
-				// Everything went fine, commit and close the session.
-				statusInstance.closeSession();
 			}
 			
-			if (overErrorCount()) {
-				log.fatal("Action creator has exceeded the maximum number of consecutive errors and is halting execution.");
-				break;
-			} else if (!workDoneOnLastCycle) {
-				try {
-					doSleep();
-				} catch (InterruptedException e) {
-					// Whatever
-				}
-			}
+			statusInstance.commit();
+		} catch (Exception e) {
+			log.error("Exception encountered in the categorizing loop.  Transaction is being rolled back and closing session: " + e.getMessage());
+			e.printStackTrace();
+			statusInstance.rollbackAndClose();
+			incrementErrorCount();
+			
+			return 0;
+		} finally {
+			// Everything went fine, commit and close the session.
+			statusInstance.closeSession();
 		}
 		
-		log.info("Action creator has shut down.");
+		for (String mnemonic : actionsCreated) {
+			getWorkDispatcher().actionsCreated(mnemonic);
+		}
+		
+		return categorized;
 	}
 	
 	/* (non-Javadoc)
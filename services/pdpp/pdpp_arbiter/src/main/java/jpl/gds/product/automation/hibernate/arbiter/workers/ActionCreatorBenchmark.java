@@ -0,0 +1,213 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.product.automation.hibernate.arbiter.workers;
+
+import java.util.Arrays;
+
+import org.springframework.context.ApplicationContext;
+
+import jpl.gds.product.automation.ProductAutomationProperties;
+import jpl.gds.product.automation.hibernate.AutomationSessionFactory;
+import jpl.gds.product.automation.hibernate.dao.ProductAutomationActionDAO;
+import jpl.gds.product.automation.hibernate.dao.ProductAutomationStatusDAO;
+import jpl.gds.product.automation.hibernate.entity.ProductAutomationClassMap;
+import jpl.gds.product.automation.hibernate.entity.ProductAutomationStatus;
+import jpl.gds.shared.performance.MicroBenchmark;
+import jpl.gds.shared.spring.context.SpringContextFactory;
+
+/**
+ * Measures how many products per second the action creator categorizes, with each block of statuses committed in one
+ * transaction using a savepoint per status, against the previous loop that committed each status on its own.
+ *
+ * Each round adds a number of uncategorized products, the same as chill_down does, and then times categorizing blocks
+ * of them until none are left.  Adding the products is not timed.
+ *
+ * This needs a scratch PDPP database, reached through the configured product automation database properties.  The
+ * products and statuses it adds are left behind, and any uncategorized products already in the database are
+ * categorized along with them.
+ *
+ * Usage: ActionCreatorBenchmark [products-per-round [rounds]]
+ */
+public final class ActionCreatorBenchmark {
+
+	private static final int DEFAULT_PRODUCTS = 2000;
+	private static final int DEFAULT_ROUNDS = 5;
+	private static final int ADD_BLOCK_SIZE = 500;
+
+	private ActionCreatorBenchmark() {
+		// main only
+	}
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args
+	 *            optional number of products per round and number of timed rounds
+	 * @throws Exception
+	 *             if the database cannot be used
+	 */
+	public static void main(final String[] args) throws Exception {
+		final int products = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PRODUCTS;
+		final int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+		final ApplicationContext appContext = SpringContextFactory.getSpringContext(true);
+		appContext.getBean(AutomationSessionFactory.class).rebuildSessionFactory(appContext);
+
+		final ProductAutomationProperties config = appContext.getBean(ProductAutomationProperties.class);
+		final ActionCreatorArbiterWorker worker = new ActionCreatorArbiterWorker(config.getTransactionBlockSize(),
+				Integer.MAX_VALUE, config.getActionCategorizerCycleTimeMS(), appContext);
+		final ProductAutomationActionDAO actionInstance = appContext.getBean(ProductAutomationActionDAO.class);
+		final ProductAutomationStatusDAO statusInstance = appContext.getBean(ProductAutomationStatusDAO.class);
+
+		// Start from an empty backlog, so that only the products added here are timed
+		drain(worker, actionInstance, statusInstance, true);
+
+		final MicroBenchmark bench = new MicroBenchmark(1, rounds, System.out);
+		final double batched = measure("savepoint batches, products", products, rounds, worker,
+				actionInstance, statusInstance, true);
+		final double perStatus = measure("commit per status, products", products, rounds, worker,
+				actionInstance, statusInstance, false);
+
+		bench.compare("categorizing throughput speedup", batched, perStatus);
+	}
+
+	private static double measure(final String name, final int products,
+			final int rounds, final ActionCreatorArbiterWorker worker, final ProductAutomationActionDAO actionInstance,
+			final ProductAutomationStatusDAO statusInstance, final boolean batched) throws Exception {
+		final String mode = batched ? "batched" : "perstatus";
+		final long[] elapsed = new long[rounds];
+
+		// One untimed warm-up round
+		for (int round = -1; round < rounds; round++) {
+			addProducts(statusInstance, "/pdpp_benchmark/" + System.nanoTime() + "/" + mode, products);
+
+			final long start = System.nanoTime();
+			final long categorized = drain(worker, actionInstance, statusInstance, batched);
+			final long time = Math.max(1, System.nanoTime() - start);
+
+			// Nothing may be left behind, or the two loops did not do the same work
+			if (categorized != products || !statusInstance.getStatusesForCategorizing(1).isEmpty()) {
+				throw new IllegalStateException(name + ": categorized " + categorized + " of " + products
+						+ " products; is an action disabled, or is something else adding products?");
+			}
+
+			statusInstance.closeSession();
+
+			if (round >= 0) {
+				elapsed[round] = time;
+			}
+		}
+
+		Arrays.sort(elapsed);
+
+		final double median = perSecond(products, elapsed[rounds / 2]);
+		System.out.printf("%-48s %,16.0f ops/s  (best %,.0f, worst %,.0f, %d rounds)%n", name, median,
+				perSecond(products, elapsed[0]), perSecond(products, elapsed[rounds - 1]), rounds);
+		return median;
+	}
+
+	private static double perSecond(final long operations, final long nanos) {
+		return operations * 1.0e9 / nanos;
+	}
+
+	/**
+	 * Adds uncategorized products with unique paths, committing them in blocks as chill_down does.
+	 */
+	private static void addProducts(final ProductAutomationStatusDAO statusInstance, final String prefix,
+			final int count) throws Exception {
+		try {
+			for (int i = 0; i < count; i++) {
+				if (i % ADD_BLOCK_SIZE == 0) {
+					statusInstance.startTransaction();
+				}
+
+				statusInstance.addUncategorized(prefix + "/" + i, null, 1L, "benchmark", "/tmp", 1L, "localhost",
+						0, 0, (long) i, 0L, 0, 0);
+
+				if (i % ADD_BLOCK_SIZE == ADD_BLOCK_SIZE - 1 || i == count - 1) {
+					statusInstance.commit();
+				}
+			}
+		} catch (final Exception e) {
+			statusInstance.rollback();
+			throw e;
+		} finally {
+			statusInstance.closeSession();
+		}
+	}
+
+	/**
+	 * Categorizes blocks of statuses until a block makes no progress.
+	 *
+	 * @return the number of statuses categorized
+	 */
+	private static long drain(final ActionCreatorArbiterWorker worker, final ProductAutomationActionDAO actionInstance,
+			final ProductAutomationStatusDAO statusInstance, final boolean batched) {
+		long total = 0;
+		int categorized;
+
+		do {
+			categorized = batched ? worker.categorizeBlock(actionInstance, statusInstance)
+					: categorizeEachStatus(worker, actionInstance, statusInstance);
+			total += categorized;
+		} while (categorized > 0);
+
+		return total;
+	}
+
+	/**
+	 * The previous categorizing loop, which committed each status in its own transaction.
+	 *
+	 * @return the number of statuses categorized
+	 */
+	private static int categorizeEachStatus(final ActionCreatorArbiterWorker worker,
+			final ProductAutomationActionDAO actionInstance, final ProductAutomationStatusDAO statusInstance) {
+		int categorized = 0;
+
+		try {
+			for (final ProductAutomationStatus status : statusInstance
+					.getStatusesForCategorizing(worker.getTransactionBlockSize())) {
+				statusInstance.startTransaction();
+
+				if (status.getProduct().getFswBuildId() <= 0) {
+					statusInstance.addFailed(status.getProduct(), status.getPassNumber());
+					statusInstance.commit();
+					categorized++;
+				} else {
+					final ProductAutomationClassMap actionName = worker.getActionName(status.getProduct());
+
+					if (actionName == null) {
+						statusInstance.addCompletedPrevious(status.getProduct(), status.getPassNumber());
+						statusInstance.commit();
+						categorized++;
+					} else if (actionName.getEnabled() != 0) {
+						actionInstance.addAction(actionName, status);
+						statusInstance.addCategorized(status.getProduct(), status.getPassNumber());
+						statusInstance.commit();
+						categorized++;
+
+						worker.getWorkDispatcher().actionsCreated(actionName.getMnemonic());
+					}
+				}
+			}
+		} catch (final Exception e) {
+			e.printStackTrace();
+			statusInstance.rollbackAndClose();
+		} finally {
+			statusInstance.closeSession();
+		}
+
+		return categorized;
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.product.automation.hibernate.arbiter.workers;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Wakes arbiter workers as soon as there is work for them, so that a product does not wait out a full cycle time at
+ * each step between being added and being assigned to a process.
+ *
+ * The action creator is woken when chill_down adds products. chill_down runs in a separate process, so it bumps a
+ * counter in the notification table and a {@link ProductArrivalArbiterWorker} in the arbiter reports the change
+ * here. Action assigners are woken when actions are created or taken away from a process within the arbiter.
+ *
+ * The database remains the record of what work there is; a wake up only tells a worker to look now rather than on
+ * its next cycle. Workers that are not registered (all of them when push dispatch is disabled) find their work by
+ * polling every cycle time.
+ */
+public class ArbiterWorkDispatcher {
+
+	private final Collection<AbstractArbiterWorker> actionCreators = new CopyOnWriteArrayList<AbstractArbiterWorker>();
+	private final Map<String, Collection<AbstractArbiterWorker>> assigners = new ConcurrentHashMap<String, Collection<AbstractArbiterWorker>>();
+
+	/**
+	 * Register a worker that creates actions for new products
+	 *
+	 * @param worker
+	 *            the action creator
+	 */
+	public void registerActionCreator(final AbstractArbiterWorker worker) {
+		actionCreators.add(worker);
+	}
+
+	/**
+	 * Register a worker that assigns actions of one type to processes
+	 *
+	 * @param mnemonic
+	 *            the action type mnemonic
+	 * @param worker
+	 *            the action assigner
+	 */
+	public void registerActionAssigner(final String mnemonic, final AbstractArbiterWorker worker) {
+		Collection<AbstractArbiterWorker> workers = assigners.get(mnemonic);
+
+		if (workers == null) {
+			assigners.putIfAbsent(mnemonic, new CopyOnWriteArrayList<AbstractArbiterWorker>());
+			workers = assigners.get(mnemonic);
+		}
+
+		workers.add(worker);
+	}
+
+	/**
+	 * Products have been added and need categorizing
+	 */
+	public void productsAdded() {
+		for (final AbstractArbiterWorker worker : actionCreators) {
+			worker.wakeUp();
+		}
+	}
+
+	/**
+	 * Actions have been created and need assigning to a process
+	 *
+	 * @param mnemonic
+	 *            the action type mnemonic
+	 */
+	public void actionsCreated(final String mnemonic) {
+		final Collection<AbstractArbiterWorker> workers = assigners.get(mnemonic);
+
+		if (workers != null) {
+			for (final AbstractArbiterWorker worker : workers) {
+				worker.wakeUp();
+			}
+		}
+	}
+
+	/**
+	 * Actions have been taken away from a process and need assigning to another one
+	 */
+	public void actionsUnclaimed() {
+		for (final Collection<AbstractArbiterWorker> workers : assigners.values()) {
+			for (final AbstractArbiterWorker worker : workers) {
+				worker.wakeUp();
+			}
+		}
+	}
+}
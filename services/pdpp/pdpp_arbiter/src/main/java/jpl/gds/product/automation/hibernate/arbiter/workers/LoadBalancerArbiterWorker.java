@@ -84,6 +84,7 @@ public class LoadBalancerArbiterWorker extends AbstractArbiterWorker {
 			if (actionCount > 0) {
 				// If we get here, all the actions have been stripped.  Adjust the process to reflect this change.
 				processInstance.actionsReassigned(processId, actionCount);
+				getWorkDispatcher().actionsUnclaimed();
 			}
 		} catch (Exception e) {
 			actionInstance.rollback();
@@ -108,13 +109,19 @@ public class LoadBalancerArbiterWorker extends AbstractArbiterWorker {
 			 */
 			try {
 				actionInstance.startTransaction();
+				int strandedCount = 0;
 				
 				for (ProductAutomationAction action : actionInstance.getStrandedActions()) {
 					log.info("Found stranded action: " + action);
 					actionInstance.unclaimAction(action);
+					strandedCount++;
 				}
 				
 				actionInstance.commit();
+				
+				if (strandedCount > 0) {
+					getWorkDispatcher().actionsUnclaimed();
+				}
 			} catch (Exception e) {
 				log.debug("Exception encountered trying to reassign stranded actions: " + e.getMessage());
 			} finally {
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.product.automation.hibernate.arbiter.workers;
+
+import org.springframework.context.ApplicationContext;
+
+import jpl.gds.product.automation.hibernate.dao.ProductAutomationNotificationDAO;
+
+/**
+ * Product automation arbiter worker.  Watches the notification table for products added by chill_down and wakes the
+ * action creator when there are new ones, so that it does not wait out its cycle time before categorizing them.
+ *
+ * chill_down bumps the products counter once per batch of products it adds.  This worker reads the counter every poll
+ * time, which is a single row read by its primary key, and tells the work dispatcher when it has changed.  If the
+ * counter cannot be read, for instance because the database predates the notification table, the action creator
+ * still finds the products on its own cycle.
+ */
+public class ProductArrivalArbiterWorker extends AbstractArbiterWorker {
+
+	private final ProductAutomationNotificationDAO notificationInstance;
+
+	/**
+	 * @param pollTime
+	 *            the time, in milliseconds, between reads of the products counter
+	 * @param appContext
+	 *            the Spring application context
+	 */
+	public ProductArrivalArbiterWorker(Long pollTime, ApplicationContext appContext) {
+		super(null, null, null, 0, pollTime, null, appContext);
+
+		notificationInstance = appContext.getBean(ProductAutomationNotificationDAO.class);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Thread#run()
+	 */
+	@Override
+	public void run() {
+		log.info("Started product arrival watcher");
+		nowRunning();
+
+		Long lastCount = null;
+		boolean readFailed = false;
+
+		while(isRunning()) {
+			try {
+				long count = notificationInstance.getCount(ProductAutomationNotificationDAO.PRODUCTS_ADDED);
+
+				// The first read only sets the baseline; the action creator looks for products when it starts anyway
+				if (lastCount != null && count != lastCount) {
+					getWorkDispatcher().productsAdded();
+				}
+
+				lastCount = count;
+				readFailed = false;
+			} catch (Exception e) {
+				// Not fatal, and the arbiter shuts down if a worker dies.  Only say so once per run of failures.
+				if (!readFailed) {
+					log.warn("Unable to read the product notification counter; new products will be found on the action creator's cycle: " + e.getMessage());
+					readFailed = true;
+				}
+
+				notificationInstance.closeSession();
+			}
+
+			try {
+				doSleep();
+			} catch (InterruptedException e) {
+				// Whatever
+			}
+		}
+
+		notificationInstance.closeSession();
+		log.info("Product arrival watcher has shut down.");
+	}
+
+	/* (non-Javadoc)
+	 * @see jpl.gds.msl.product.automation.hibernate.arbiter.workers.AbstractArbiterWorker#getWorkerName()
+	 */
+	@Override
+	public String getWorkerName() {
+		return "ProductArrival";
+	}
+}
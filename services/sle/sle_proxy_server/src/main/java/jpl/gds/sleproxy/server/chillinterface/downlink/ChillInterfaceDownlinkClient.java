@@ -17,7 +17,6 @@ import com.lsespace.sle.user.service.data.TmProductionData;
 import com.lsespace.sle.user.util.ByteBlock;
 import com.lsespace.sle.user.util.JavaTimeTag;
 import jpl.gds.sleproxy.server.chillinterface.config.ChillInterfaceConfigManager;
-import jpl.gds.sleproxy.server.chillinterface.downlink.ampcsutil.BitOutputStream;
 import jpl.gds.sleproxy.server.chillinterface.downlink.ampcsutil.LeotHead;
 import jpl.gds.sleproxy.server.chillinterface.downlink.ampcsutil.SleHead;
 import jpl.gds.sleproxy.server.chillinterface.internal.config.ChillInterfaceInternalConfigManager;
@@ -26,22 +25,34 @@ import jpl.gds.sleproxy.server.websocket.MessageDistributor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.DataOutputStream;
 import java.io.IOException;
-import java.net.Socket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * ChillInterfaceDownlinkClient is the main interactor with AMPCS's chill_down.
  * It is responsible for making the socket connection to chill_down and
  * forwarding the frame data in <code>frameQueue</code> to chill_down.
  *
+ * Frames are taken from the queue in batches of up to the configured downlink
+ * transfer batch size. The headers for a batch are encoded into one reusable
+ * direct buffer, and each frame's header, ASM and data are then handed to a
+ * single gathering write on the socket channel, so that the frame data is not
+ * copied into an intermediate stream and a whole batch costs one system call
+ * in the usual case.
+ *
  */
 public class ChillInterfaceDownlinkClient implements Runnable {
 
@@ -52,27 +63,53 @@ public class ChillInterfaceDownlinkClient implements Runnable {
 	private final BlockingQueue<TmProductionData> frameQueue;
 
 	/**
-	 * Holding variable for the currently open output stream to chill_down.
-	 * Wrapper for the data output stream.
+	 * Holding variable for the currently open socket channel to chill_down.
 	 */
-	private BitOutputStream currentBitOutputStream;
+	private SocketChannel socketChannel;
 
 	/**
-	 * Holding variable for the currently open socket connection to chill_down.
+	 * A flag that will be set when the downlink client should just abandon the
+	 * remaining frames in the queue and not attempt to transfer them, i.e. when
+	 * the sending pipe has already been broken.
 	 */
-	private Socket socket;
+	private boolean doNotTransferRemainingFrames;
 
 	/**
-	 * Holding variable for the currently open data output stream to chill_down.
+	 * A flag that will be set when the downlink client has been asked to stop.
 	 */
-	private DataOutputStream dataOutputStream;
+	private volatile boolean stopRequested;
 
 	/**
-	 * A flag that will be set when the downlink client should just abandon the
-	 * remaining frames in the queue and not attempt to transfer them, i.e. when
-	 * the sending pipe has already been broken.
+	 * Maximum number of frames transferred in one write.
 	 */
-	private boolean doNotTransferRemainingFrames;
+	private final int batchSize;
+
+	/**
+	 * Frames of the batch currently being transferred.
+	 */
+	private final List<TmProductionData> batch;
+
+	/**
+	 * Buffers of the batch currently being transferred, three per frame:
+	 * header, ASM and frame data.
+	 */
+	private final ByteBuffer[] writeVector;
+
+	/**
+	 * Reusable direct buffer that the headers of a batch are encoded into.
+	 */
+	private ByteBuffer headerBuffer;
+
+	/**
+	 * The ASM, in a direct buffer that is never consumed; each frame writes a
+	 * duplicate of it.
+	 */
+	private final ByteBuffer asmBuffer;
+
+	/**
+	 * Reusable SLE header encoder.
+	 */
+	private final SleHead sleHeader;
 
 	/**
 	 * The logger.
@@ -84,6 +121,18 @@ public class ChillInterfaceDownlinkClient implements Runnable {
 	 */
 	private static final String downlinkOutputFormat = ChillInterfaceInternalConfigManager.INSTANCE.getDownlinkOutputFormat();
 
+	/**
+	 * Interval at which a client waiting for frames checks whether it has been
+	 * asked to stop.
+	 */
+	private static final long STOP_CHECK_INTERVAL_MILLIS = 100;
+
+	/**
+	 * Header space reserved per frame when the header buffer is first
+	 * allocated: an SLE header with a maximum size private annotation.
+	 */
+	private static final int INITIAL_HEADER_SPACE_PER_FRAME = SleHead.FIXED_SIZE + 128;
+
 	/**
 	 * Expected output format for downlink - LEOT
 	 */
@@ -106,6 +155,16 @@ public class ChillInterfaceDownlinkClient implements Runnable {
 		logger.trace("Entered constructor. frameQueue: {}", frameQueue);
 		this.frameQueue = frameQueue;
 		this.doNotTransferRemainingFrames = false;
+		this.stopRequested = false;
+		this.batchSize = ChillInterfaceInternalConfigManager.INSTANCE.getDownlinkTransferBatchSize();
+		this.batch = new ArrayList<>(batchSize);
+		this.writeVector = new ByteBuffer[batchSize * 3];
+		this.headerBuffer = ByteBuffer.allocateDirect(batchSize * INITIAL_HEADER_SPACE_PER_FRAME);
+		final byte[] asm = ChillInterfaceInternalConfigManager.INSTANCE.getDownlinkASMHeader();
+		this.asmBuffer = ByteBuffer.allocateDirect(asm.length);
+		this.asmBuffer.put(asm);
+		this.asmBuffer.flip();
+		this.sleHeader = new SleHead();
 	}
 
 	/**
@@ -124,14 +183,28 @@ public class ChillInterfaceDownlinkClient implements Runnable {
 		// Establish downlink connection to chill_down
 		String downlinkHost = ChillInterfaceConfigManager.INSTANCE.getDownlinkHost();
 		int downlinkPort = ChillInterfaceConfigManager.INSTANCE.getDownlinkPort();
-		logger.debug("Creating new socket to {}:{}", downlinkHost, downlinkPort);
-		socket = new Socket(downlinkHost, downlinkPort);
-		dataOutputStream = new DataOutputStream(socket.getOutputStream());
+		logger.debug("Creating new socket channel to {}:{}", downlinkHost, downlinkPort);
+		// Resolve explicitly so that an unknown host is still reported as such
+		InetAddress downlinkAddress = InetAddress.getByName(downlinkHost);
+		socketChannel = SocketChannel.open(new InetSocketAddress(downlinkAddress, downlinkPort));
 		logger.info("{} Connected to chill_down at {}:{}",
 				SLEInterfaceReturnService.INSTANCE.getCurrentConnectionNumberStringForLogging(), downlinkHost,
 				downlinkPort);
 	}
 
+	/**
+	 * Ask the client to stop. The client finishes the batch it is
+	 * transferring, transfers the frames remaining in the queue and then
+	 * closes its connection.
+	 *
+	 * Unlike interrupting the client thread, this never interrupts a write in
+	 * progress, which would close the socket channel part way through a frame.
+	 */
+	public final void requestStop() {
+		logger.debug("Entered requestStop()");
+		stopRequested = true;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -141,17 +214,18 @@ public class ChillInterfaceDownlinkClient implements Runnable {
 	public final void run() {
 		logger.debug("Entered run()");
 
-		currentBitOutputStream = new BitOutputStream(dataOutputStream);
-
-		while (socket != null && !socket.isClosed() && !(Thread.currentThread().isInterrupted())) {
+		while (socketChannel != null && socketChannel.isOpen() && !stopRequested
+				&& !(Thread.currentThread().isInterrupted())) {
 
 			try {
 				logger.trace(
-						"run()'s while loop (means socket is open and thread is not interrupted): Executing frameQueue.take()");
-				TmProductionData frame = frameQueue.take();
+						"run()'s while loop (means socket is open and thread is not interrupted): Polling frameQueue");
+				TmProductionData frame = frameQueue.poll(STOP_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
 
 				if (frame != null) {
-					transfer(frame);
+					batch.add(frame);
+					frameQueue.drainTo(batch, batchSize - 1);
+					transfer(batch);
 				}
 
 			} catch (InterruptedException ie) {
@@ -162,6 +236,8 @@ public class ChillInterfaceDownlinkClient implements Runnable {
 				 * currentthread-interrupt-when-catch-any-interruptexception
 				 */
 				Thread.currentThread().interrupt();
+			} finally {
+				batch.clear();
 			}
 
 		}
@@ -175,7 +251,7 @@ public class ChillInterfaceDownlinkClient implements Runnable {
 		frameQueue.drainTo(remainingFrames);
 		logger.debug("run(): Drained remaining {} frames in queue", remainingFrames.size());
 
-		if (socket != null && !socket.isClosed()) {
+		if (socketChannel != null && socketChannel.isOpen()) {
 
 			if (doNotTransferRemainingFrames) {
 				logger.warn(
@@ -189,43 +265,39 @@ public class ChillInterfaceDownlinkClient implements Runnable {
 						SLEInterfaceReturnService.INSTANCE.getCurrentConnectionNumberStringForLogging(),
 						remainingFrames.size());
 
+				/*
+				 * The socket channel is interruptible, so a pending interrupt
+				 * would close it on the first write. Clear it while the
+				 * remaining frames are written and raise it again afterwards.
+				 */
+				final boolean interrupted = Thread.interrupted();
 				int remainingFramesTransferred = 0;
 
-				for (TmProductionData frame : remainingFrames) {
-					transfer(frame);
-					remainingFramesTransferred++;
+				while (remainingFramesTransferred < remainingFrames.size()) {
+					final int batchEnd = Math.min(remainingFramesTransferred + batchSize, remainingFrames.size());
+					transfer(remainingFrames.subList(remainingFramesTransferred, batchEnd));
 
 					if (doNotTransferRemainingFrames) {
 						logger.warn("{} Frame transfer is failing. Abandoning {} frames left in the queue.",
 								SLEInterfaceReturnService.INSTANCE.getCurrentConnectionNumberStringForLogging(),
-								remainingFrames.size() - remainingFramesTransferred);
+								remainingFrames.size() - batchEnd);
 						break;
 					}
 
+					remainingFramesTransferred = batchEnd;
 				}
 
-			}
-
-			if (dataOutputStream != null) {
-				logger.trace("run(): Finished transferring so flushing and closing DataOutputStream");
-
-				try {
-					dataOutputStream.flush();
-					dataOutputStream.close();
-				} catch (IOException ie) {
-					logger.error("{} DataOutputStream flush or close caused exception",
-							SLEInterfaceReturnService.INSTANCE.getCurrentConnectionNumberStringForLogging(), ie);
+				if (interrupted) {
+					Thread.currentThread().interrupt();
 				}
 
-			} else {
-				logger.debug("run(): Just finished transferring but DataOutputStream is already null!");
 			}
 
-			if (!socket.isClosed()) {
-				logger.debug("run(): Closing socket");
+			if (socketChannel.isOpen()) {
+				logger.debug("run(): Closing socket channel");
 
 				try {
-					socket.close();
+					socketChannel.close();
 				} catch (IOException ie) {
 					logger.error("{} Socket close caused exception",
 							SLEInterfaceReturnService.INSTANCE.getCurrentConnectionNumberStringForLogging(), ie);
@@ -246,73 +318,44 @@ public class ChillInterfaceDownlinkClient implements Runnable {
 	}
 
 	/**
-	 * Utility to serialize a frame in the SLE SDU format. Uses the SLEHead header, adds ASM header, then writes
-	 * the data.
+	 * Utility to encode a frame's header in the SLE SDU format, using SleHead.
 	 * @param frame TmProductionData frame from SLE
+	 * @param buffer buffer to encode the header into
 	 */
-	private void writeSleFrame(final TmProductionData frame) {
-		JavaTimeTag ert = frame.getErt();
-		ByteBlock data = frame.getData();
-
-		int size = data.getLength() + ChillInterfaceInternalConfigManager.INSTANCE.getDownlinkASMHeader().length;
-		logger.trace("transfer(frame): Creating new SleHead. ASM + frame size: {}, ERT(ms): {}", size, ert.getMilliseconds());
-
-		SleHead sleHeader = new SleHead();
-		try {
-			sleHeader.load(frame);
-
-			sleHeader.serialize(currentBitOutputStream);
-
-			logger.trace("transfer(frame): Write ASM to stream");
-			currentBitOutputStream.write(ChillInterfaceInternalConfigManager.INSTANCE.getDownlinkASMHeader());
-
-			logger.trace("transfer(frame): Write data to stream");
-			currentBitOutputStream.write(data.getBytes(), data.getStartOffset(), data.getLength());
-			ChillInterfaceDownlinkManager.INSTANCE.incrementFramesTransferredCount(ZonedDateTime.now(ZoneOffset.UTC));
-
-			// Send written frame time and count information to GUI clients
-			MessageDistributor.INSTANCE.chillDownDataFlow(
-					ChillInterfaceDownlinkManager.INSTANCE.getLastFramesTransferredTimeSinceLastConnection(),
-					ChillInterfaceDownlinkManager.INSTANCE.getFramesTransferredCountSinceLastConnection());
-
-		} catch (Exception e) {
-			handleFrameException(e);
-		}
-
-
+	private void encodeSleHeader(final TmProductionData frame, final ByteBuffer buffer) {
+		logger.trace("transfer(frames): Encoding SleHead. ASM + frame size: {}, ERT(ms): {}",
+				frame.getData().getLength() + asmBuffer.remaining(), frame.getErt().getMilliseconds());
+		sleHeader.load(frame);
+		sleHeader.serialize(buffer);
 	}
 
 	/**
-	 * Utility to serialize a frame in the LEO-T format. Uses the LeotHead header, adds ASM header, then writes
-	 * the data.
+	 * Utility to encode a frame's header in the LEO-T format, using LeotHead.
 	 * @param frame TmProductionData frame from SLE
+	 * @param buffer buffer to encode the header into
 	 */
-	private void writeLeotFrame(final TmProductionData frame) {
+	private void encodeLeotHeader(final TmProductionData frame, final ByteBuffer buffer) {
 		JavaTimeTag ert = frame.getErt();
-		ByteBlock data = frame.getData();
-		int size = data.getLength() + ChillInterfaceInternalConfigManager.INSTANCE.getDownlinkASMHeader().length;
-		logger.trace("transfer(frame): Creating new LeotHead. ASM + frame size: {}, ERT(ms): {}", size, ert.getMilliseconds());
-
-		LeotHead leotHeader = new LeotHead(size, new Date(ert.getMilliseconds()));
-		try {
-			logger.trace("transfer(frame): Write LeotHead to stream");
-			leotHeader.write(currentBitOutputStream);
-			// Add ASM header
-			logger.trace("transfer(frame): Write ASM to stream");
-			currentBitOutputStream.write(ChillInterfaceInternalConfigManager.INSTANCE.getDownlinkASMHeader());
-			logger.trace("transfer(frame): Write data to stream");
-			currentBitOutputStream.write(data.getBytes(), data.getStartOffset(), data.getLength());
-			ChillInterfaceDownlinkManager.INSTANCE.incrementFramesTransferredCount(ZonedDateTime.now(ZoneOffset.UTC));
-
-			// Send written frame time and count information to GUI clients
-			MessageDistributor.INSTANCE.chillDownDataFlow(
-					ChillInterfaceDownlinkManager.INSTANCE.getLastFramesTransferredTimeSinceLastConnection(),
-					ChillInterfaceDownlinkManager.INSTANCE.getFramesTransferredCountSinceLastConnection());
+		int size = frame.getData().getLength() + asmBuffer.remaining();
+		logger.trace("transfer(frames): Encoding LeotHead. ASM + frame size: {}, ERT(ms): {}", size, ert.getMilliseconds());
+		new LeotHead(size, new Date(ert.getMilliseconds())).write(buffer);
+	}
 
-		} catch (IOException ie) {
-			handleFrameException(ie);
+	/**
+	 * Get the size of a frame's header in the configured output format.
+	 * @param frame TmProductionData frame from SLE
+	 * @return header size in bytes
+	 */
+	private int headerSize(final TmProductionData frame) {
+		switch (downlinkOutputFormat) {
+			case LEOT:
+				return LeotHead.LEOT_HEADER_SIZE;
+			case SLE:
+				sleHeader.load(frame);
+				return sleHeader.getSerializedSize();
+			default:
+				throw new IllegalStateException("Unexpected value: " + downlinkOutputFormat);
 		}
-
 	}
 
 	/**
@@ -323,31 +366,90 @@ public class ChillInterfaceDownlinkClient implements Runnable {
 	private void handleFrameException(Exception ex) {
 		logger.error("{} Error writing to output stream, downlink connection seems to have been lost",
 				SLEInterfaceReturnService.INSTANCE.getCurrentConnectionNumberStringForLogging(), ex);
-		logger.debug("transfer(frame): Raising interrupt");
+		logger.debug("transfer(frames): Raising interrupt");
 		Thread.currentThread().interrupt();
-		logger.debug("transfer(frame): Setting SLEInterfaceReturnService's frame queue to null");
+		logger.debug("transfer(frames): Setting SLEInterfaceReturnService's frame queue to null");
 		SLEInterfaceReturnService.INSTANCE.setFrameQueue(null);
 		doNotTransferRemainingFrames = true;
 	}
 
 	/**
-	 * Transfer the frame data over the socket connection to chill_down.
+	 * Transfer a batch of frames over the socket connection to chill_down.
+	 * Each frame is written as its header, the ASM and its data, in order, with
+	 * a single gathering write for the whole batch.
 	 *
-	 * @param frame
-	 *            The frame data to send
+	 * @param frames
+	 *            The frame data to send; no more than the batch size
 	 */
-	private void transfer(final TmProductionData frame) {
-		logger.trace("Entered transfer(frame: {})", frame);
-		switch (downlinkOutputFormat) {
-			case LEOT:
-				writeLeotFrame(frame);
-				break;
-			case SLE:
-				writeSleFrame(frame);
-				break;
-			default:
-				throw new IllegalStateException("Unexpected value: " + downlinkOutputFormat);
+	private void transfer(final List<TmProductionData> frames) {
+		logger.trace("Entered transfer(frames: {})", frames.size());
+
+		try {
+			int headerBytes = 0;
+
+			for (final TmProductionData frame : frames) {
+				headerBytes += headerSize(frame);
+			}
+
+			if (headerBytes > headerBuffer.capacity()) {
+				headerBuffer = ByteBuffer.allocateDirect(Math.max(headerBytes, headerBuffer.capacity() * 2));
+			}
+
+			headerBuffer.clear();
+			int buffers = 0;
+			long bytes = 0;
+
+			for (final TmProductionData frame : frames) {
+				final int headerStart = headerBuffer.position();
+
+				if (LEOT.equals(downlinkOutputFormat)) {
+					encodeLeotHeader(frame, headerBuffer);
+				} else {
+					encodeSleHeader(frame, headerBuffer);
+				}
+
+				final ByteBuffer header = headerBuffer.duplicate();
+				header.limit(headerBuffer.position());
+				header.position(headerStart);
+				final ByteBlock data = frame.getData();
+				writeVector[buffers++] = header;
+				writeVector[buffers++] = asmBuffer.duplicate();
+				writeVector[buffers++] = ByteBuffer.wrap(data.getBytes(), data.getStartOffset(), data.getLength());
+				bytes += header.remaining() + asmBuffer.remaining() + data.getLength();
+			}
+
+			logger.trace("transfer(frames): Writing {} frames, {} bytes to socket channel", frames.size(), bytes);
+			long remaining = bytes;
+			int offset = 0;
+
+			while (remaining > 0) {
+				remaining -= socketChannel.write(writeVector, offset, buffers - offset);
+
+				while (offset < buffers && !writeVector[offset].hasRemaining()) {
+					offset++;
+				}
+
+			}
+
+			ChillInterfaceDownlinkManager.INSTANCE.addFramesTransferred(ZonedDateTime.now(ZoneOffset.UTC),
+					frames.size(), bytes);
+
+			// Send written frame time, count and rate information to GUI clients
+			MessageDistributor.INSTANCE.chillDownDataFlow(
+					ChillInterfaceDownlinkManager.INSTANCE.getLastFramesTransferredTimeSinceLastConnection(),
+					ChillInterfaceDownlinkManager.INSTANCE.getFramesTransferredCountSinceLastConnection(),
+					ChillInterfaceDownlinkManager.INSTANCE.getTransferRateFramesPerSecond(),
+					ChillInterfaceDownlinkManager.INSTANCE.getTransferRateBitsPerSecond(),
+					frameQueue.size(),
+					ChillInterfaceDownlinkManager.INSTANCE.getEstimatedQueueLatencyMillis());
+
+		} catch (IOException | RuntimeException e) {
+			handleFrameException(e);
+		} finally {
+			// Do not hold on to the frame data until the next batch
+			Arrays.fill(writeVector, null);
 		}
+
 	}
 
 	/**
@@ -363,13 +465,13 @@ public class ChillInterfaceDownlinkClient implements Runnable {
 	public final void closeSocket() throws IOException {
 		logger.debug("Entered closeSocket()");
 
-		if (socket != null && !socket.isClosed()) {
-			logger.debug("closeSocket(): Closing socket");
-			socket.close();
+		if (socketChannel != null && socketChannel.isOpen()) {
+			logger.debug("closeSocket(): Closing socket channel");
+			socketChannel.close();
 		} else {
 			logger.debug("closeSocket(): Socket was already closed!");
 		}
 
 	}
 
-}
\ No newline at end of file
+}
@@ -65,6 +65,36 @@ public enum ChillInterfaceDownlinkManager {
 	 */
 	private volatile Object framesTransferredTimeAndCountLock;
 
+	/**
+	 * Length of the window over which the transfer rates are measured.
+	 */
+	private static final long TRANSFER_RATE_WINDOW_NANOS = 1_000_000_000L;
+
+	/**
+	 * Start of the current transfer rate window, from System.nanoTime().
+	 */
+	private long transferRateWindowStartNanos;
+
+	/**
+	 * Frames transferred in the current transfer rate window.
+	 */
+	private long transferRateWindowFrames;
+
+	/**
+	 * Bytes transferred in the current transfer rate window.
+	 */
+	private long transferRateWindowBytes;
+
+	/**
+	 * Frames per second transferred over the last complete rate window.
+	 */
+	private volatile double transferRateFramesPerSecond;
+
+	/**
+	 * Bits per second transferred over the last complete rate window.
+	 */
+	private volatile double transferRateBitsPerSecond;
+
 	/**
 	 * The <code>BlockingQueue</code> that serves as a pipe of transfer frame
 	 * data from the SLE return service to the chill interface downlink client.
@@ -133,8 +163,16 @@ public enum ChillInterfaceDownlinkManager {
 		logger.info("{} chill interface downlink connected at {}",
 				SLEInterfaceReturnService.INSTANCE.getCurrentConnectionNumberStringForLogging(),
 				downlinkStateChangeTime.format(DateTimeFormattingUtil.INSTANCE.getAMPCSDateTimeFormatter()));
-		lastFramesTransferredTimeSinceLastConnection = null;
-		framesTransferredCountSinceLastConnection = 0;
+
+		synchronized (framesTransferredTimeAndCountLock) {
+			lastFramesTransferredTimeSinceLastConnection = null;
+			framesTransferredCountSinceLastConnection = 0;
+			transferRateWindowStartNanos = System.nanoTime();
+			transferRateWindowFrames = 0;
+			transferRateWindowBytes = 0;
+			transferRateFramesPerSecond = 0;
+			transferRateBitsPerSecond = 0;
+		}
 
 		// Notify clients of chill_down connection state as connected
 		MessageDistributor.INSTANCE.chillDownStateChangeAction(EDownlinkActionType.CONNECT, downlinkStateChangeTime);
@@ -181,13 +219,13 @@ public enum ChillInterfaceDownlinkManager {
 		logger.info("{} chill interface downlink disconnected at {}",
 				SLEInterfaceReturnService.INSTANCE.getCurrentConnectionNumberStringForLogging(),
 				downlinkStateChangeTime.format(DateTimeFormattingUtil.INSTANCE.getAMPCSDateTimeFormatter()));
-		logger.debug("disconnect(): Interrupting chillInterfaceDownlinkClientThread");
-		chillInterfaceDownlinkClientThread.interrupt();
+		logger.debug("disconnect(): Asking chillInterfaceDownlinkClient to stop");
+		chillInterfaceDownlinkClient.requestStop();
 
 		/*
 		 * Wait a little bit and see if the client thread really stops. If it
 		 * remains alive, it means it's blocked on an I/O operation and
-		 * interrupting it had no effect.
+		 * asking it to stop had no effect.
 		 */
 		try {
 			logger.debug(
@@ -260,6 +298,117 @@ public enum ChillInterfaceDownlinkManager {
 
 	}
 
+	/**
+	 * Atomically update the last frame transferred time and the count of frames
+	 * transferred with a batch of frames, and update the transfer rates.
+	 * 
+	 * @param framesTransferredTime
+	 *            The time when the batch was transferred
+	 * @param frames
+	 *            The number of frames in the batch
+	 * @param bytes
+	 *            The number of bytes in the batch, including headers and ASMs
+	 */
+	public void addFramesTransferred(final ZonedDateTime framesTransferredTime, final int frames,
+			final long bytes) {
+
+		synchronized (framesTransferredTimeAndCountLock) {
+			lastFramesTransferredTimeSinceLastConnection = framesTransferredTime;
+			framesTransferredCountSinceLastConnection += frames;
+			transferRateWindowFrames += frames;
+			transferRateWindowBytes += bytes;
+			updateTransferRates(System.nanoTime());
+			logger.trace(
+					"addFramesTransferred(): New values are lastFramesTransferredTimeSinceLastConnection: {}, framesTransferredCountSinceLastConnection: {}",
+					lastFramesTransferredTimeSinceLastConnection
+							.format(DateTimeFormattingUtil.INSTANCE.getAMPCSDateTimeFormatter()),
+					framesTransferredCountSinceLastConnection);
+		}
+
+	}
+
+	/**
+	 * Close the current transfer rate window if it has run its length, and
+	 * compute the rates from it. Must be called holding
+	 * framesTransferredTimeAndCountLock.
+	 * 
+	 * @param nowNanos
+	 *            The current System.nanoTime()
+	 */
+	private void updateTransferRates(final long nowNanos) {
+		final long elapsedNanos = nowNanos - transferRateWindowStartNanos;
+
+		if (elapsedNanos >= TRANSFER_RATE_WINDOW_NANOS) {
+			transferRateFramesPerSecond = transferRateWindowFrames * 1e9 / elapsedNanos;
+			transferRateBitsPerSecond = transferRateWindowBytes * 8e9 / elapsedNanos;
+			transferRateWindowStartNanos = nowNanos;
+			transferRateWindowFrames = 0;
+			transferRateWindowBytes = 0;
+		}
+
+	}
+
+	/**
+	 * Get the rate at which frames were transferred to chill_down over the last
+	 * measurement window of about a second.
+	 * 
+	 * @return frames per second
+	 */
+	public double getTransferRateFramesPerSecond() {
+
+		synchronized (framesTransferredTimeAndCountLock) {
+			// Let the rate fall to zero when transfers stop
+			updateTransferRates(System.nanoTime());
+			return transferRateFramesPerSecond;
+		}
+
+	}
+
+	/**
+	 * Get the rate at which data was transferred to chill_down over the last
+	 * measurement window of about a second, including headers and ASMs.
+	 * 
+	 * @return bits per second
+	 */
+	public double getTransferRateBitsPerSecond() {
+
+		synchronized (framesTransferredTimeAndCountLock) {
+			updateTransferRates(System.nanoTime());
+			return transferRateBitsPerSecond;
+		}
+
+	}
+
+	/**
+	 * Get the number of frames waiting in the queue to be transferred to
+	 * chill_down.
+	 * 
+	 * @return frame queue depth; 0 if not connected
+	 */
+	public int getFrameQueueDepth() {
+		final BlockingQueue<TmProductionData> queue = frameQueue;
+		return queue != null && isConnected() ? queue.size() : 0;
+	}
+
+	/**
+	 * Get an estimate of how long a frame entering the queue now will wait
+	 * before it is transferred to chill_down: the queue depth divided by the
+	 * current frame transfer rate.
+	 * 
+	 * @return estimated queue latency in milliseconds; 0 if the queue is empty
+	 *         or -1 if frames are queued but none are being transferred
+	 */
+	public long getEstimatedQueueLatencyMillis() {
+		final int depth = getFrameQueueDepth();
+
+		if (depth == 0) {
+			return 0;
+		}
+
+		final double rate = getTransferRateFramesPerSecond();
+		return rate > 0 ? Math.round(depth * 1000 / rate) : -1;
+	}
+
 	/**
 	 * Get the time when the latest frame was transferred, since last connection
 	 * to chill_down.
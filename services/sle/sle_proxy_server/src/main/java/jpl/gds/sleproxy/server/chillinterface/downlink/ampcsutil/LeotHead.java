@@ -14,6 +14,7 @@
 package jpl.gds.sleproxy.server.chillinterface.downlink.ampcsutil;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
@@ -208,6 +209,30 @@ public class LeotHead {
         return size();
     }
 
+    /**
+     * Write this header into the given buffer at its current position, with
+     * the same layout as {@link #write(BitOutputStream)}, and advance the
+     * position past it.
+     * 
+     * @param out
+     *            buffer to write to; must have at least size() bytes remaining
+     * @return number of bytes written (always size())
+     */
+    public int write(final ByteBuffer out) {
+
+        out.putShort((short) (((this.version & 0x3) << TDU_LENGTH_BITS) | (this.tduLength & 0x3fff)));
+        out.putShort((short) (((this.rsEnabled & 0x1) << 15) | ((this.rsError & 0x1) << 14)
+                | ((this.crcEnabled & 0x1) << 13) | ((this.crcError & 0x1) << 12)
+                | ((this.chanSeqCheck & 0x1) << 11) | ((this.chanSeqError & 0x1) << 10)
+                | ((this.dataInversion & 0x3) << 8) | ((this.frameSync & 0x3) << 6)
+                | ((this.dataOrder & 0x1) << 5) | (this.dataClass & 0x1f)));
+        out.putInt(((this.ertPb5Flag & 0x1) << 31) | ((this.ertJulianDay & 0x3fff) << ERT_SEC_BITS)
+                | (this.ertSeconds & 0x1ffff));
+        out.putShort((short) ((this.ertMilliseconds & 0x3ff) << 6)); // FILLER AT END
+
+        return size();
+    }
+
     /**
      * Dumps frame header values to the console.
      * 
@@ -18,12 +18,8 @@ import jpl.gds.sleproxy.server.chillinterface.internal.config.ChillInterfaceInte
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
-import java.time.Instant;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.Arrays;
 
 /**
  * SLE Header format adapted from CCSDS RCF Bluebook 911.2-B-3 and CCSDS RAF Bluebook 911.1-B-4
@@ -40,13 +36,50 @@ public class SleHead {
     private static final int FRAME_QUALITY_BYTES        = 1;
     private static final int FRAME_LENGTH_BYTES         = 3;
 
+    /** Size of the header, in bytes, not counting the private annotation */
+    public static final int FIXED_SIZE = ERT_DAYS_BYTES + ERT_MILLIS_BYTES + ERT_MICROS_BYTES + ANTENNA_ID_BYTES
+            + DATA_LINK_CONTINUITY_BYTES + FRAME_QUALITY_BYTES + FRAME_LENGTH_BYTES;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /** Days from 1958/01/01 to 1970/01/01 */
+    private static final long DAYS_1958_TO_1970 = 4383;
+
     private TmProductionData frame;
 
     public void load(final TmProductionData frame) {
         this.frame = frame;
     }
 
+    /**
+     * Gets the size of the header for the loaded frame.
+     *
+     * @return header size in bytes; 0 if no frame is loaded
+     */
+    public int getSerializedSize() {
+        if (frame == null) {
+            return 0;
+        }
+        return FIXED_SIZE + (frame.getPrivateAnnotation() != null ? frame.getPrivateAnnotation().length : 0);
+    }
+
     public void serialize(OutputStream stream) throws IOException {
+        if (frame == null) {
+            return;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(getSerializedSize());
+        serialize(buffer);
+        stream.write(buffer.array(), 0, buffer.position());
+    }
+
+    /**
+     * Writes the header for the loaded frame into the given buffer at its current position, and advances the
+     * position past it.
+     *
+     * @param buffer
+     * 			The buffer to write to; must have at least getSerializedSize() bytes remaining
+     */
+    public void serialize(final ByteBuffer buffer) {
         if (frame == null) {
             return;
         }
@@ -127,28 +160,25 @@ public class SleHead {
         // Therefore, 8 octets = 2 + 4 + 2
 
         // NOTE - I confirmed via data inspection that the JavaTimeTag uses the 1970/1/1 epoch
-        ZonedDateTime dateTime1958 = ZonedDateTime.of(1958, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
-        ZonedDateTime dateTime1970 = ZonedDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
-        ZonedDateTime frameZDT = ZonedDateTime.ofInstant(Instant.ofEpochMilli(frame.getErt().getMilliseconds()), ZoneId.of("UTC"));
-        ZonedDateTime frameDayZDT = ZonedDateTime.of(frameZDT.getYear(), frameZDT.getMonthValue(), frameZDT.getDayOfMonth(), 0, 0, 0, 0, ZoneId.of("UTC"));
+        // UTC days are a fixed 86400000 ms (no leap seconds), so the day and time of day follow by division
+        final long ertMillis = frame.getErt().getMilliseconds();
 
         // ERT : DAYS *************************************************************
         // per SLE spec, number of days between frame and 1958/01/01 00:00:00
         // allocating 2 bytes, per CCDSDS spec
-        long daysBetween1958andFrame = ChronoUnit.DAYS.between(dateTime1958, frameDayZDT);
-        writeInt(ERT_DAYS_BYTES, Math.toIntExact(daysBetween1958andFrame), stream);
+        long daysBetween1958andFrame = Math.floorDiv(ertMillis, MILLIS_PER_DAY) + DAYS_1958_TO_1970;
+        writeInt(ERT_DAYS_BYTES, Math.toIntExact(daysBetween1958andFrame), buffer);
 
         // ERT : MILLISECONDS *************************************************************
         // milliseconds should be (ert millis (total millis since epoch) - millis between this date and ert epoch (assume 1970))
         // allocating 4 bytes, per CCDSDS spec
-        long millisBetween1970andFrameDay = ChronoUnit.MILLIS.between(dateTime1970, frameDayZDT);
-        long millisecondsInTheDay = frame.getErt().getMilliseconds() - millisBetween1970andFrameDay;
-        writeInt(ERT_MILLIS_BYTES, Math.toIntExact(millisecondsInTheDay), stream);
+        long millisecondsInTheDay = Math.floorMod(ertMillis, MILLIS_PER_DAY);
+        writeInt(ERT_MILLIS_BYTES, Math.toIntExact(millisecondsInTheDay), buffer);
 
         // ERT : MICROSECONDS *************************************************************
         // write microseconds - no conversion necessary
         // allocating 2 bytes, per CCDSDS spec (TimeCCSDS)
-        writeInt(ERT_MICROS_BYTES, Math.toIntExact(frame.getErt().getMicroseconds()), stream);
+        writeInt(ERT_MICROS_BYTES, Math.toIntExact(frame.getErt().getMicroseconds()), buffer);
 
         // ANTENNA ID *************************************************************
         // Haven't been able to find documentation on the global object identifier, will default to localForm pending further research
@@ -170,7 +200,7 @@ public class SleHead {
          * OBJECT IDENTIFIER, A globally unique value associated with an object to unambiguously identify it.
          */
         // Assume the maximum, 16 octets
-        writeByteArray(ANTENNA_ID_BYTES, frame.getAntennaId().getBytes(), stream);
+        writeByteArray(ANTENNA_ID_BYTES, frame.getAntennaId().getBytes(), buffer);
 
         // DATA LINK CONTINUITY *************************************************************
         // dataLinkContinuity  INTEGER (-1 .. 16777215)
@@ -178,7 +208,7 @@ public class SleHead {
          * Java integer has 4 bytes, but only using 3 here, since spec shows int max value that corresponds to 3-byte number
          */
         // assign 3 octets for dataLinkContinuity
-        writeInt(DATA_LINK_CONTINUITY_BYTES, frame.getDatalinkContinuity(), stream);
+        writeInt(DATA_LINK_CONTINUITY_BYTES, frame.getDatalinkContinuity(), buffer);
 
         // DELIVERED FRAME QUALITY *************************************************************
         /**
@@ -195,13 +225,13 @@ public class SleHead {
          * Java has 4 bytes for integer, but we really only need 2 bits (less than 1 byte)
          * to represent these small numbers. Going with 1 byte.
          */
-        writeInt(FRAME_QUALITY_BYTES, frame.getQuality().getValue(), stream);
+        writeInt(FRAME_QUALITY_BYTES, frame.getQuality().getValue(), buffer);
 
         // 9/22/2021 UPDATE
         // Per discussions with Quyen and Julia, SLE header should include length
         // max 448000 per current version of transfer_frame.xml (CADU size in bytes)
         // NB - CADU includes ASM size
-        writeInt(FRAME_LENGTH_BYTES, frame.getData().getLength() + ChillInterfaceInternalConfigManager.INSTANCE.getDownlinkASMHeader().length, stream);
+        writeInt(FRAME_LENGTH_BYTES, frame.getData().getLength() + ChillInterfaceInternalConfigManager.INSTANCE.getDownlinkASMHeader().length, buffer);
 
         // PRIVATE ANNOTATION *************************************************************
         // privateAnnotation - OCTET STRING (SIZE (1 .. 128))
@@ -210,56 +240,49 @@ public class SleHead {
         if (frame.getPrivateAnnotation() != null) {
             // MPCS-12335  - write the private annotations as actual size instead of fixed 128-byte array
             byte[] privateAnnotation = frame.getPrivateAnnotation();
-            writeByteArray(privateAnnotation.length, privateAnnotation, stream);
+            writeByteArray(privateAnnotation.length, privateAnnotation, buffer);
         }
 
     }
 
     /**
-     * Writes byte array to file output stream
+     * Writes byte array to the buffer, padded with zeros to the given size
      *
      * @param bufferSize
-     * 			The size of the byte array to write
+     * 			The size of the field to write
      * @param dataToWrite
-     * 			The byte array to write to file
-     * @throws IOException
-     * 			Thrown when attempt to write bytes to a file causes an exception
+     * 			The byte array to write; may not be longer than bufferSize
+     * @param buffer
+     * 			The buffer to write to
      */
-    private void writeByteArray(int bufferSize, byte[] dataToWrite, final OutputStream stream) throws IOException {
-        ByteBuffer byteBuffer = ByteBuffer.allocate(bufferSize);
-        if (dataToWrite == null) {
-            byteBuffer.put(new byte[bufferSize]);
-        } else {
-            byteBuffer.put(dataToWrite);
+    private void writeByteArray(int bufferSize, byte[] dataToWrite, final ByteBuffer buffer) {
+        int length = 0;
+        if (dataToWrite != null) {
+            if (dataToWrite.length > bufferSize) {
+                throw new BufferOverflowException();
+            }
+            buffer.put(dataToWrite);
+            length = dataToWrite.length;
+        }
+        for (; length < bufferSize; length++) {
+            buffer.put((byte) 0);
         }
-        stream.write(byteBuffer.array());
-        byteBuffer.clear();
     }
 
     /**
-     * Writes an integer to file output stream. Can truncate a smaller integer to smaller byte size.
+     * Writes an integer to the buffer. Can truncate a smaller integer to smaller byte size.
      *
      * @param bufferSize
-     * 			The size of the byte array to write - may be smaller than the standard 4
+     * 			The number of bytes to write - may be smaller than the standard 4
      * @param dataToWrite
-     *			The integer to write to file
-     * @throws IOException
-     * 			Thrown when attempt to write bytes to a file causes an exception
+     *			The integer to write, big-endian
+     * @param buffer
+     * 			The buffer to write to
      */
-    private void writeInt(int bufferSize, int dataToWrite, final OutputStream stream) throws IOException {
-        int intSize = 4;
-        ByteBuffer byteBuffer;
-        byteBuffer = ByteBuffer.allocate(intSize);
-        byteBuffer.putInt(dataToWrite);
-
-        if (bufferSize < intSize) {
-            // now we need to cut the data down to size. assuming big-endian data
-            byte[] dataArray = Arrays.copyOfRange(byteBuffer.array(), intSize - bufferSize, intSize);
-            writeByteArray(bufferSize, dataArray, stream);
-            return;
-        } // no case where bufferSize > 4 because it would have failed before this point. Java int has 4 byte max.
-
-        stream.write(byteBuffer.array());
-        byteBuffer.clear();
+    private void writeInt(int bufferSize, int dataToWrite, final ByteBuffer buffer) {
+        // no case where bufferSize > 4 because Java int has 4 byte max.
+        for (int shift = (bufferSize - 1) * 8; shift >= 0; shift -= 8) {
+            buffer.put((byte) (dataToWrite >>> shift));
+        }
     }
-}
\ No newline at end of file
+}
@@ -93,6 +93,17 @@ public enum ChillInterfaceInternalConfigManager {
 
 	private String downlinkOutputFormat;
 
+	/**
+	 * Default value for the downlink transfer batch size.
+	 */
+	private static final int DEFAULT_DOWNLINK_TRANSFER_BATCH_SIZE = 64;
+
+	/**
+	 * Configured value of the maximum number of frames transferred to
+	 * chill_down in one write.
+	 */
+	private int downlinkTransferBatchSize;
+
 	/**
 	 * Default constructor.
 	 */
@@ -300,6 +311,32 @@ public enum ChillInterfaceInternalConfigManager {
 			downlinkOutputFormat = "LEOT";
 		}
 
+		if (configProperties
+				.containsKey(EChillInterfaceInternalConfigPropertyField.DOWNLINK_TRANSFER_BATCH_SIZE.name())) {
+			String downlinkTransferBatchSizeStr = configProperties
+					.getProperty(EChillInterfaceInternalConfigPropertyField.DOWNLINK_TRANSFER_BATCH_SIZE.name())
+					.trim();
+
+			try {
+				downlinkTransferBatchSize = Integer.valueOf(downlinkTransferBatchSizeStr);
+			} catch (NumberFormatException nfe) {
+				throw new IllegalArgumentException(
+						"chill interface internal configuration has invalid downlink transfer batch size value configured: "
+								+ downlinkTransferBatchSizeStr,
+						nfe);
+			}
+
+			if (downlinkTransferBatchSize < 1) {
+				throw new IllegalArgumentException(
+						"chill interface internal configuration has invalid downlink transfer batch size value configured: "
+								+ downlinkTransferBatchSizeStr);
+			}
+
+		} else {
+			// keep backwards compatible with existing configs that dont have this entry
+			downlinkTransferBatchSize = DEFAULT_DOWNLINK_TRANSFER_BATCH_SIZE;
+		}
+
 	}
 
 	/**
@@ -394,4 +431,14 @@ public enum ChillInterfaceInternalConfigManager {
 		return downlinkOutputFormat;
 	}
 
+	/**
+	 * Get the configured maximum number of frames transferred to chill_down in
+	 * one write.
+	 *
+	 * @return the downlink transfer batch size
+	 */
+	public int getDownlinkTransferBatchSize() {
+		return downlinkTransferBatchSize;
+	}
+
 }
\ No newline at end of file
@@ -70,7 +70,13 @@ public enum EChillInterfaceInternalConfigPropertyField {
 	/**
 	 * Configuration property field for the frame output format
 	 */
-	DOWNLINK_OUTPUT_FORMAT
+	DOWNLINK_OUTPUT_FORMAT,
+
+	/**
+	 * Configuration property field for the maximum number of frames the
+	 * downlink client transfers to chill_down in one write.
+	 */
+	DOWNLINK_TRANSFER_BATCH_SIZE
 
 
 }
\ No newline at end of file
@@ -160,6 +160,14 @@ public class StateServerResource extends ServerResource implements IStateResourc
 						: "");
 		chillInterfaceDownlinkState.put("transferred_data_count",
 				ChillInterfaceDownlinkManager.INSTANCE.getFramesTransferredCountSinceLastConnection());
+		chillInterfaceDownlinkState.put("transfer_rate_frames_per_second",
+				ChillInterfaceDownlinkManager.INSTANCE.getTransferRateFramesPerSecond());
+		chillInterfaceDownlinkState.put("transfer_rate_bits_per_second",
+				ChillInterfaceDownlinkManager.INSTANCE.getTransferRateBitsPerSecond());
+		chillInterfaceDownlinkState.put("frame_queue_depth",
+				ChillInterfaceDownlinkManager.INSTANCE.getFrameQueueDepth());
+		chillInterfaceDownlinkState.put("estimated_queue_latency_millis",
+				ChillInterfaceDownlinkManager.INSTANCE.getEstimatedQueueLatencyMillis());
 
 		return new JacksonRepresentation<Map<String, Object>>(stateMap);
 	}
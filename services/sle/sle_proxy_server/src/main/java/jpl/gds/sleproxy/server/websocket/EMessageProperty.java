@@ -63,6 +63,30 @@ public enum EMessageProperty {
 	 */
 	DATA_COUNT("transferred_data_count"),
 	
+	/**
+	 * Data transfer rate in frames per second which maps to the same
+	 * property defined in the state resource for AMPCS downlink
+	 */
+	TRANSFER_RATE_FRAMES("transfer_rate_frames_per_second"),
+	
+	/**
+	 * Data transfer rate in bits per second which maps to the same
+	 * property defined in the state resource for AMPCS downlink
+	 */
+	TRANSFER_RATE_BITS("transfer_rate_bits_per_second"),
+	
+	/**
+	 * Number of frames waiting to be transferred which maps to the same
+	 * property defined in the state resource for AMPCS downlink
+	 */
+	FRAME_QUEUE_DEPTH("frame_queue_depth"),
+	
+	/**
+	 * Estimated time frames wait to be transferred which maps to the same
+	 * property defined in the state resource for AMPCS downlink
+	 */
+	ESTIMATED_QUEUE_LATENCY("estimated_queue_latency_millis"),
+	
 	/**
 	 * Connection number which is applicable for SLE Provider connection only
 	 */
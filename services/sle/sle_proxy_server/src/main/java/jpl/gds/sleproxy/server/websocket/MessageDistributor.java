@@ -283,21 +283,36 @@ public enum MessageDistributor {
 
 	/**
 	 * Notify clients with AMPCS Downlink data flow updates which include the total number of frames
-	 * transferred since last connection and the last frame time. 
+	 * transferred since last connection and the last frame time, the transfer rates and the state
+	 * of the frame queue. 
 	 * 
 	 * @param lastFramesTransferredTimeSinceLastConnection
 	 * 				Date/Time of last frame
 	 * @param framesTransferredCountSinceLastConnection
 	 * 				Total number of frames transferred since last connection
+	 * @param transferRateFramesPerSecond
+	 * 				Current transfer rate in frames per second
+	 * @param transferRateBitsPerSecond
+	 * 				Current transfer rate in bits per second
+	 * @param frameQueueDepth
+	 * 				Number of frames waiting to be transferred
+	 * @param estimatedQueueLatencyMillis
+	 * 				Estimated time frames wait to be transferred, in milliseconds
 	 */
 	public synchronized void chillDownDataFlow(final ZonedDateTime lastFramesTransferredTimeSinceLastConnection,
-			final long framesTransferredCountSinceLastConnection) {
+			final long framesTransferredCountSinceLastConnection, final double transferRateFramesPerSecond,
+			final double transferRateBitsPerSecond, final int frameQueueDepth,
+			final long estimatedQueueLatencyMillis) {
 		node = mapper.createObjectNode();
 		node.put(EMessageProperty.MESSAGE_TYPE.toString(), EMessageType.CHILL_DOWN_DATA_FLOW.toString());
 		node.put(EMessageProperty.DATA_TRANSFER_TIME.toString(), 
 				lastFramesTransferredTimeSinceLastConnection.format(
 						DateTimeFormattingUtil.INSTANCE.getAMPCSDateTimeFormatter()).toString());
 		node.put(EMessageProperty.DATA_COUNT.toString(), framesTransferredCountSinceLastConnection);
+		node.put(EMessageProperty.TRANSFER_RATE_FRAMES.toString(), transferRateFramesPerSecond);
+		node.put(EMessageProperty.TRANSFER_RATE_BITS.toString(), transferRateBitsPerSecond);
+		node.put(EMessageProperty.FRAME_QUEUE_DEPTH.toString(), frameQueueDepth);
+		node.put(EMessageProperty.ESTIMATED_QUEUE_LATENCY.toString(), estimatedQueueLatencyMillis);
 		
 		messageMap.put("chill_down", node);
 	}
@@ -60,8 +60,8 @@ public interface IChannelLad extends ILatestSampleProvider {
     public List<IServiceChannelValue> getChannelValueList();
 
     /** 
-     * Clears all values from the LAD. It is important that this and all methods that
-     * modify the hash maps are synchronized. The return value indicates the system time
+     * Clears all values from the LAD. Implementations must allow this to be called
+     * concurrently with all other methods. The return value indicates the system time
      * when the last channel was added. This is important in the global LAD.
      * 
      * @return the last time the LAd was modified prior to the clear
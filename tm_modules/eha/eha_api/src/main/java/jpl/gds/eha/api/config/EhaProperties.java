@@ -49,14 +49,21 @@ public class EhaProperties extends GdsHierarchicalProperties {
     private static final String UTILITY_BLOCK = PROPERTY_PREFIX + ".utility";
     private static final String DERIVATION_BLOCK = CHANNEL_PROC_BLOCK + ".derivation";
     private static final String HEADERS_BLOCK = CHANNEL_PROC_BLOCK + ".headers";
+    private static final String DECOM_BLOCK = CHANNEL_PROC_BLOCK + ".decom";
 
     private static final String AGGREGATED_CHANNEL_GROUP_TTL_PROPERTY = AGGREGATION_BLOCK + ".groupTimeToLive";
     private static final String AGGREGATED_CHANNEL_GROUP_MAX_SIZE_PROPERTY = AGGREGATION_BLOCK + ".maxChannelsPerGroup";
 
     private static final String USE_TRIGGER_CHANNELS_PROPERTY = DERIVATION_BLOCK + ".useTriggerChannels";
     private static final String DERIVATION_TIMEOUT_PROPERTY = DERIVATION_BLOCK + ".timeout";
+    private static final String DERIVATION_MAX_TIMEOUTS_PROPERTY = DERIVATION_BLOCK + ".maxTimeouts";
+    private static final String DERIVATION_PARALLEL_ENABLE_PROPERTY = DERIVATION_BLOCK + ".parallel.enable";
+    private static final String DERIVATION_WORKER_COUNT_PROPERTY = DERIVATION_BLOCK + ".parallel.workerCount";
     
     private static final String ENABLE_DERIVATION_PROPERTY = DERIVATION_BLOCK + ".enable";
+
+    private static final String DECOM_PARTITION_COUNT_PROPERTY = DECOM_BLOCK + ".partitionCount";
+    private static final String DECOM_MAX_PENDING_PROPERTY = DECOM_BLOCK + ".maxPendingPackets";
     
     private static final String FILL_HEADERS_ENABLE_PROPERTY = HEADERS_BLOCK + ".enableFillPackets";
     private static final String IDLE_HEADERS_ENABLE_PROPERTY = HEADERS_BLOCK + ".enableIdleFrames";
@@ -71,6 +78,9 @@ public class EhaProperties extends GdsHierarchicalProperties {
     private static final String STRICT_EHA_PROCESSING = CHANNEL_PROC_BLOCK + ".strict";
     
     private static final long DERIVATION_TIMEOUT_DEFAULT = 5000;
+    private static final int DERIVATION_MAX_TIMEOUTS_DEFAULT = 3;
+    private static final int DERIVATION_WORKER_COUNT_DEFAULT = 4;
+    private static final int DECOM_MAX_PENDING_DEFAULT = 1024;
     private static final long DEFAULT_SUSPECT_INTERVAL = 30;
     private static final long DEFAULT_AGGREGATED_CHANNEL_GROUP_TTL = 3000;
     private static final int DEFAULT_AGGREGATED_CHANNEL_MAX_GROUP_SIZE = 100;
@@ -167,6 +177,58 @@ public class EhaProperties extends GdsHierarchicalProperties {
         return getLongProperty(DERIVATION_TIMEOUT_PROPERTY, DERIVATION_TIMEOUT_DEFAULT);
     }
     
+    /**
+     * Gets the number of times a derivation algorithm may time out before it
+     * is quarantined and no longer run.
+     * 
+     * @return maximum timeout count; 0 means never quarantine
+     */
+    public int getDerivationMaxTimeouts() {
+        return Math.max(getIntProperty(DERIVATION_MAX_TIMEOUTS_PROPERTY, DERIVATION_MAX_TIMEOUTS_DEFAULT), 0);
+    }
+
+    /**
+     * Indicates whether independent algorithmic derivations triggered by the
+     * same packet may be run in parallel.
+     * 
+     * @return true if parallel derivation enabled, false if not
+     */
+    public boolean isParallelDerivationEnabled() {
+        return getBooleanProperty(DERIVATION_PARALLEL_ENABLE_PROPERTY, false);
+    }
+
+    /**
+     * Gets the number of worker threads used to run algorithmic derivations
+     * when parallel derivation is enabled.
+     * 
+     * @return number of worker threads
+     */
+    public int getDerivationWorkerCount() {
+        return Math.max(getIntProperty(DERIVATION_WORKER_COUNT_PROPERTY, DERIVATION_WORKER_COUNT_DEFAULT), 1);
+    }
+
+    /**
+     * Gets the number of partitions used to decom packets in parallel. Packets
+     * are assigned to partitions by APID. A value of 1 decoms all packets on
+     * the thread that receives them.
+     * 
+     * @return number of decom partitions
+     */
+    public int getDecomPartitionCount() {
+        return Math.max(getIntProperty(DECOM_PARTITION_COUNT_PROPERTY, 1), 1);
+    }
+
+    /**
+     * Gets the maximum number of packets that may be waiting for decom or for
+     * publication of their channels when more than one decom partition is in
+     * use.
+     * 
+     * @return maximum number of pending packets
+     */
+    public int getDecomMaxPendingPackets() {
+        return Math.max(getIntProperty(DECOM_MAX_PENDING_PROPERTY, DECOM_MAX_PENDING_DEFAULT), 1);
+    }
+
     /**
      * Gets the interval between issuance of suspect channel messages.
      * 
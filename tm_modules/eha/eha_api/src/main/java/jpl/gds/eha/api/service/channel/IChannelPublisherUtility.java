@@ -37,6 +37,13 @@ public interface IChannelPublisherUtility {
      */
     public void initDerivations();
 
+    /**
+     * Stops the derivation workers and releases their statistics. Should be
+     * called once data has stopped flowing; a later derivation initializes
+     * the derivation tables again.
+     */
+    public void shutdownDerivations();
+
     /**
      * Generates a stream id. This is an ID attached to streams of related
      * channel value messages.
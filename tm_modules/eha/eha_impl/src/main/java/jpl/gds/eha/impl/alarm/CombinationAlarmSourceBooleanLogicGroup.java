@@ -43,6 +43,11 @@ import jpl.gds.shared.log.Tracer;
  * overall boolean value (i.e. in alarm or not in alarm) of the nested boolean
  * logic group(s).
  * 
+ * The group's state is maintained incrementally. It keeps a count of its
+ * operands in each alarm state, which the operands update when their own state
+ * changes, so reading the state of a group does not re-evaluate its operands.
+ * A group whose state changes in turn updates the group that contains it.
+ * 
  * 1/8/15. Definition object split from this object
  *          for alarm dictionary refactoring.
  *
@@ -61,6 +66,15 @@ public class CombinationAlarmSourceBooleanLogicGroup implements ICombinationAlar
 
 	private final IAlarmFactory alarmFactory;
 
+	/* The group containing this one, or null if this is the top-level group */
+	private CombinationAlarmSourceBooleanLogicGroup parentGroup;
+
+	/* Operand counts indexed by AlarmState ordinal, and the resulting states */
+	private final int[] realtimeCounts = new int[AlarmState.values().length];
+	private final int[] recordedCounts = new int[AlarmState.values().length];
+	private AlarmState realtimeState;
+	private AlarmState recordedState;
+
 
 	    /**
      * Default constructor.
@@ -85,6 +99,13 @@ public class CombinationAlarmSourceBooleanLogicGroup implements ICombinationAlar
 		this.operator = groupDef.getOperator();
 		this.alarmFactory = alarmFactory;
 		build(timeStrategy);
+		checkOperandsCount();
+
+		/* Every operand starts in the UNKNOWN state */
+		realtimeCounts[AlarmState.UNKNOWN.ordinal()] = operands.size();
+		recordedCounts[AlarmState.UNKNOWN.ordinal()] = operands.size();
+		realtimeState = calculateOverallState(realtimeCounts);
+		recordedState = calculateOverallState(recordedCounts);
 	}
 
 	/**
@@ -128,6 +149,7 @@ public class CombinationAlarmSourceBooleanLogicGroup implements ICombinationAlar
 				 */
 				final CombinationAlarmSourceProxy sourceProxy = 
 						new CombinationAlarmSourceProxy(parentCombinationAlarm, (ICombinationSource)operand, timeStrategy, alarmFactory);
+				sourceProxy.setParentGroup(srcGroup);
 				srcGroup.addOperand(sourceProxy);
 
 			} else {
@@ -142,6 +164,7 @@ public class CombinationAlarmSourceBooleanLogicGroup implements ICombinationAlar
 				 */
 				final CombinationAlarmSourceBooleanLogicGroup nestedGroup = 
 						new CombinationAlarmSourceBooleanLogicGroup(this.parentCombinationAlarm, (ICombinationGroup)operand, alarmFactory, timeStrategy);
+				nestedGroup.parentGroup = srcGroup;
 				srcGroup.addOperand(nestedGroup);
 
 			}
@@ -155,15 +178,7 @@ public class CombinationAlarmSourceBooleanLogicGroup implements ICombinationAlar
 	 */
 	@Override
 	public AlarmState getRealtimeAlarmState() {
-		checkOperandsCount();
-		final List<AlarmState> alarmStates = new ArrayList<AlarmState>(
-				operands.size());
-
-		for (final ICombinationAlarmSourceElement op : operands) {
-			alarmStates.add(op.getRealtimeAlarmState());
-		}
-
-		return calculateOverallState(alarmStates);
+		return realtimeState;
 	}
 
 	/**
@@ -171,24 +186,48 @@ public class CombinationAlarmSourceBooleanLogicGroup implements ICombinationAlar
 	 */
 	@Override
 	public AlarmState getRecordedAlarmState() {
-		checkOperandsCount();
-		final List<AlarmState> alarmStates = new ArrayList<AlarmState>(
-				operands.size());
+		return recordedState;
+	}
 
-		for (final ICombinationAlarmSourceElement op : operands) {
-			alarmStates.add(op.getRecordedAlarmState());
+	/**
+	 * Updates the state of this group after one of its operands changes state,
+	 * and passes any resulting change in this group's state on to the group
+	 * containing it.
+	 * 
+	 * @param forRealtime
+	 *            true if the realtime state changed, false if the recorded
+	 *            state changed
+	 * @param oldState
+	 *            the operand's previous state
+	 * @param newState
+	 *            the operand's new state
+	 */
+	void operandStateChanged(final boolean forRealtime, final AlarmState oldState, final AlarmState newState) {
+		final int[] counts = forRealtime ? realtimeCounts : recordedCounts;
+		counts[oldState.ordinal()]--;
+		counts[newState.ordinal()]++;
+
+		final AlarmState previous = forRealtime ? realtimeState : recordedState;
+		final AlarmState current = calculateOverallState(counts);
+		if (current == previous) {
+			return;
+		}
+		if (forRealtime) {
+			realtimeState = current;
+		} else {
+			recordedState = current;
+		}
+		if (parentGroup != null) {
+			parentGroup.operandStateChanged(forRealtime, previous, current);
 		}
-
-		return calculateOverallState(alarmStates);
 	}
 
 	private void checkOperandsCount() {
 
 		if (operands.size() < 1) {
-			throw new IllegalStateException(
-					"Boolean logic group in combination alarm "
-							+ parentCombinationAlarm.getAlarmId()
-							+ " has no operand to perform boolean operation");
+			tracer.error("Boolean logic group in combination alarm "
+					+ parentCombinationAlarm.getAlarmId()
+					+ " has no operand to perform boolean operation; its state will remain unknown");
 
 		} else if (operands.size() < 2) {
 			tracer.warn("Boolean logic group in combination alarm "
@@ -199,7 +238,11 @@ public class CombinationAlarmSourceBooleanLogicGroup implements ICombinationAlar
 
 	}
 
-	private AlarmState calculateOverallState(final List<AlarmState> states) {
+	private AlarmState calculateOverallState(final int[] counts) {
+		if (operands.isEmpty()) {
+			return AlarmState.UNKNOWN;
+		}
+
 		/*
 		 * Because the AlarmState is defined so that we must use three-valued
 		 * logic, we follow the Kleene's logic convention.
@@ -208,21 +251,9 @@ public class CombinationAlarmSourceBooleanLogicGroup implements ICombinationAlar
 		 * http://en.wikipedia.org/wiki/Three-valued_logic#Kleene_logic
 		 */
 
-		int inAlarmCount = 0;
-		int notInAlarmCount = 0;
-		int unknownCount = 0;
-
-		for (final AlarmState st : states) {
-			if (st == AlarmState.IN_ALARM) {
-				inAlarmCount++;
-			} else if (st == AlarmState.NOT_IN_ALARM) {
-				notInAlarmCount++;
-			} else if (st == AlarmState.UNKNOWN) {
-				unknownCount++;
-			} else {
-				throw new IllegalStateException("Unrecognized enum value for " + st.getClass().getName() + " encountered");
-			}
-		}
+		final int inAlarmCount = counts[AlarmState.IN_ALARM.ordinal()];
+		final int notInAlarmCount = counts[AlarmState.NOT_IN_ALARM.ordinal()];
+		final int unknownCount = counts[AlarmState.UNKNOWN.ordinal()];
 
 		switch (operator) {
 		case AND:
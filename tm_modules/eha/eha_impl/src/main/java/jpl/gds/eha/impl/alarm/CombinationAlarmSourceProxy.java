@@ -56,9 +56,8 @@ public class CombinationAlarmSourceProxy extends AbstractAlarm
 implements ICombinationAlarmSourceProxy {
     private static final Tracer      comboAlarmsLogger = TraceManager.getTracer(Loggers.ALARM);
 
-	private final StringBuilder sb;
-
 	private final ICombinationAlarm parentCombinationAlarm;
+	private CombinationAlarmSourceBooleanLogicGroup parentGroup;
 	private final IChannelAlarm actualAlarm;
 	private AlarmState realtimeAlarmState;
 	private AlarmState recordedAlarmState;
@@ -85,7 +84,6 @@ implements ICombinationAlarmSourceProxy {
 		actualAlarm = alarmFactory.createAlarm(def.getActualAlarmDefinition(), timeStrategy);
 		realtimeAlarmState = AlarmState.UNKNOWN;
 		recordedAlarmState = AlarmState.UNKNOWN;
-		sb = new StringBuilder(1024);
 		this.sourceDefinition = def;
 	}
 
@@ -103,30 +101,45 @@ implements ICombinationAlarmSourceProxy {
 		 * as that of other (regular) alarms.
 		 */
 		final IAlarmValue actualAlarmValue = actualAlarm.check(history, value);
+		final AlarmState newState = actualAlarmValue != null ? AlarmState.IN_ALARM
+				: AlarmState.NOT_IN_ALARM;
+		final boolean realtime = value.isRealtime();
+		final AlarmState oldState = realtime ? realtimeAlarmState : recordedAlarmState;
 
-		if (value.isRealtime()) {
-			realtimeAlarmState = actualAlarmValue != null ? AlarmState.IN_ALARM
-					: AlarmState.NOT_IN_ALARM;
-
-			sb.setLength(0); // For debug text
-			comboAlarmsLogger.debug("CombinationAlarmSourceProxy: realtime check; parent="
-					+ parentCombinationAlarm.getAlarmId() + " " + getDefinition().getChannelId()
-					+ " " + getDefinition().getAlarmId() + " -> realtime alarm state = " + realtimeAlarmState);
-
+		if (realtime) {
+			realtimeAlarmState = newState;
 		} else {
-			recordedAlarmState = actualAlarmValue != null ? AlarmState.IN_ALARM
-					: AlarmState.NOT_IN_ALARM;
+			recordedAlarmState = newState;
+		}
 
-			sb.setLength(0); // For debug text
-			comboAlarmsLogger.debug("CombinationAlarmSourceProxy: recorded check; parent="
-					+ parentCombinationAlarm.getAlarmId() + " " + getDefinition().getChannelId()
-					+ " " + getDefinition().getAlarmId() + " -> recorded alarm state = " + recordedAlarmState);
+		/*
+		 * Only a change in state is passed on, so the boolean logic groups
+		 * above this proxy are updated incrementally.
+		 */
+		if (newState != oldState && parentGroup != null) {
+			parentGroup.operandStateChanged(realtime, oldState, newState);
+		}
 
+		if (comboAlarmsLogger.isDebugEnabled()) {
+			comboAlarmsLogger.debug("CombinationAlarmSourceProxy: " + (realtime ? "realtime" : "recorded")
+					+ " check; parent=" + parentCombinationAlarm.getAlarmId() + " " + getDefinition().getChannelId()
+					+ " " + getDefinition().getAlarmId() + " -> " + (realtime ? "realtime" : "recorded")
+					+ " alarm state = " + newState);
 		}
 
 		return null; // Source proxies should always return null.
 	}
 
+	/**
+	 * Sets the boolean logic group this proxy is an operand of, which is
+	 * updated when the state of this proxy changes.
+	 * 
+	 * @param group the containing group
+	 */
+	void setParentGroup(final CombinationAlarmSourceBooleanLogicGroup group) {
+		this.parentGroup = group;
+	}
+
 	@Override
 	protected IAlarmValue calculateAlarm(final IAlarmHistoryProvider history, final IServiceChannelValue value) {
 		throw new UnsupportedOperationException(
@@ -76,9 +76,11 @@ public class CombinationAlarmTargetProxy extends AbstractAlarm implements ICombi
 		 */
 
 		final AlarmState alarmState = parentCombinationAlarm.getAlarmState(value.isRealtime());
-		comboAlarmsLogger.debug("CombinationAlarmTargetProxy: check; parent="
-				+ parentCombinationAlarm.getAlarmId() + " " + getDefinition().getChannelId()
-				+ (getDefinition().isCheckOnDn() ? " DN" : " EU") + " -> alarm state = " + alarmState);
+		if (comboAlarmsLogger.isDebugEnabled()) {
+			comboAlarmsLogger.debug("CombinationAlarmTargetProxy: check; parent="
+					+ parentCombinationAlarm.getAlarmId() + " " + getDefinition().getChannelId()
+					+ (getDefinition().isCheckOnDn() ? " DN" : " EU") + " -> alarm state = " + alarmState);
+		}
 
 		if (alarmState == AlarmState.IN_ALARM) {
 			/* 
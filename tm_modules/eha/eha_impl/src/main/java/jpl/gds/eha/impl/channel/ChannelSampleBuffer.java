@@ -0,0 +1,487 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.eha.impl.channel;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import jpl.gds.dictionary.api.channel.IChannelDefinition;
+import jpl.gds.eha.api.channel.IChannelValueFactory;
+import jpl.gds.eha.api.channel.IServiceChannelValue;
+import jpl.gds.shared.time.IAccurateDateTime;
+import jpl.gds.shared.time.ISclk;
+
+/**
+ * Holds the channel samples extracted from one packet in primitive form.
+ * <p>
+ * Decom produces many small values. Rather than boxing each DN and building a
+ * channel value object as each field is extracted, samples are recorded in
+ * parallel arrays: an int index of the channel, the DN as long bits (or a
+ * reference for string and custom DNs), the EU as a double, and an int index
+ * into a table of the distinct SCLK/SCET pairs seen. Channel indexes are
+ * assigned by this buffer the first time it sees a channel definition.
+ * <p>
+ * {@link #collect(IChannelValueFactory)} hands the recorded samples over as a
+ * list, and the buffer continues with an empty block of arrays taken from a
+ * pool. Each element of the list is created the first time it is read. Once
+ * every element has been created, or the list is cleared, the list returns
+ * its block of arrays to the pool, so recording samples does not allocate
+ * once the pool holds enough blocks for the packets in flight.
+ * <p>
+ * Recording is not thread safe; a buffer belongs to one decom listener. A
+ * collected list may be read on another thread, but only one.
+ *
+ */
+public class ChannelSampleBuffer {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int INITIAL_TIME_CAPACITY = 4;
+    private static final int INITIAL_CHANNELS = 256;
+
+    /* Sample kinds. These create a value of the class matching the definition's type. */
+    private static final byte KIND_LONG = 0;
+    private static final byte KIND_INT = 1;
+    private static final byte KIND_FLOAT = 2;
+    private static final byte KIND_DOUBLE = 3;
+    private static final byte KIND_BOOLEAN = 4;
+    private static final byte KIND_OBJECT = 5;
+    /* These create a value of a fixed class, as channel statements always have. */
+    private static final byte KIND_INTEGER_VALUE = 6;
+    private static final byte KIND_FLOAT_VALUE = 7;
+    private static final byte KIND_DOUBLE_VALUE = 8;
+    private static final byte KIND_ASCII_VALUE = 9;
+
+    /**
+     * Channel definitions by channel index. Entries are only ever added, and
+     * a grown table is a copy, so a table handed to a collected list stays
+     * valid for every index the list uses.
+     */
+    private IChannelDefinition[] channels = new IChannelDefinition[INITIAL_CHANNELS];
+    private final Map<IChannelDefinition, Integer> channelIndex = new IdentityHashMap<>();
+    private int channelCount;
+
+    private final Queue<Block> pool = new ConcurrentLinkedQueue<>();
+    private Block block = new Block(INITIAL_CAPACITY);
+
+    /**
+     * Gets the number of samples recorded since the last collect.
+     *
+     * @return sample count
+     */
+    public int size() {
+        return block.size;
+    }
+
+    /**
+     * Gets the number of distinct channels this buffer has indexed.
+     *
+     * @return channel count
+     */
+    public int getChannelCount() {
+        return channelCount;
+    }
+
+    /**
+     * Records an integer sample.
+     *
+     * @param def
+     *            channel definition
+     * @param value
+     *            DN
+     * @param sclk
+     *            SCLK of the sample
+     * @param scet
+     *            SCET of the sample
+     */
+    public void addLong(final IChannelDefinition def, final long value, final ISclk sclk,
+            final IAccurateDateTime scet) {
+        add(def, KIND_LONG, value, null, sclk, scet);
+    }
+
+    /**
+     * Records an enumeration sample.
+     *
+     * @param def
+     *            channel definition
+     * @param value
+     *            DN
+     * @param sclk
+     *            SCLK of the sample
+     * @param scet
+     *            SCET of the sample
+     */
+    public void addInt(final IChannelDefinition def, final int value, final ISclk sclk,
+            final IAccurateDateTime scet) {
+        add(def, KIND_INT, value, null, sclk, scet);
+    }
+
+    /**
+     * Records a single precision floating point sample.
+     *
+     * @param def
+     *            channel definition
+     * @param value
+     *            DN
+     * @param sclk
+     *            SCLK of the sample
+     * @param scet
+     *            SCET of the sample
+     */
+    public void addFloat(final IChannelDefinition def, final float value, final ISclk sclk,
+            final IAccurateDateTime scet) {
+        add(def, KIND_FLOAT, Float.floatToRawIntBits(value), null, sclk, scet);
+    }
+
+    /**
+     * Records a double precision floating point sample.
+     *
+     * @param def
+     *            channel definition
+     * @param value
+     *            DN
+     * @param sclk
+     *            SCLK of the sample
+     * @param scet
+     *            SCET of the sample
+     */
+    public void addDouble(final IChannelDefinition def, final double value, final ISclk sclk,
+            final IAccurateDateTime scet) {
+        add(def, KIND_DOUBLE, Double.doubleToRawLongBits(value), null, sclk, scet);
+    }
+
+    /**
+     * Records a boolean sample.
+     *
+     * @param def
+     *            channel definition
+     * @param value
+     *            DN
+     * @param sclk
+     *            SCLK of the sample
+     * @param scet
+     *            SCET of the sample
+     */
+    public void addBoolean(final IChannelDefinition def, final boolean value, final ISclk sclk,
+            final IAccurateDateTime scet) {
+        add(def, KIND_BOOLEAN, value ? 1 : 0, null, sclk, scet);
+    }
+
+    /**
+     * Records a sample whose DN is already an object, such as a string or the
+     * DN produced by a custom decom algorithm.
+     *
+     * @param def
+     *            channel definition
+     * @param value
+     *            DN
+     * @param sclk
+     *            SCLK of the sample
+     * @param scet
+     *            SCET of the sample
+     */
+    public void addObject(final IChannelDefinition def, final Object value, final ISclk sclk,
+            final IAccurateDateTime scet) {
+        add(def, KIND_OBJECT, 0, value, sclk, scet);
+    }
+
+    /**
+     * Records a sample that is always created as an IntegerChannelValue,
+     * whatever the type of its definition.
+     *
+     * @param def
+     *            channel definition
+     * @param value
+     *            DN
+     * @param sclk
+     *            SCLK of the sample
+     * @param scet
+     *            SCET of the sample
+     */
+    public void addIntegerValue(final IChannelDefinition def, final long value, final ISclk sclk,
+            final IAccurateDateTime scet) {
+        add(def, KIND_INTEGER_VALUE, value, null, sclk, scet);
+    }
+
+    /**
+     * Records a sample that is always created as a single precision
+     * FloatChannelValue, whatever the type of its definition.
+     *
+     * @param def
+     *            channel definition
+     * @param value
+     *            DN
+     * @param sclk
+     *            SCLK of the sample
+     * @param scet
+     *            SCET of the sample
+     */
+    public void addFloatValue(final IChannelDefinition def, final float value, final ISclk sclk,
+            final IAccurateDateTime scet) {
+        add(def, KIND_FLOAT_VALUE, Float.floatToRawIntBits(value), null, sclk, scet);
+    }
+
+    /**
+     * Records a sample that is always created as a double precision
+     * FloatChannelValue, whatever the type of its definition.
+     *
+     * @param def
+     *            channel definition
+     * @param value
+     *            DN
+     * @param sclk
+     *            SCLK of the sample
+     * @param scet
+     *            SCET of the sample
+     */
+    public void addDoubleValue(final IChannelDefinition def, final double value, final ISclk sclk,
+            final IAccurateDateTime scet) {
+        add(def, KIND_DOUBLE_VALUE, Double.doubleToRawLongBits(value), null, sclk, scet);
+    }
+
+    /**
+     * Records a sample that is always created as an ASCIIChannelValue,
+     * whatever the type of its definition.
+     *
+     * @param def
+     *            channel definition
+     * @param value
+     *            DN
+     * @param sclk
+     *            SCLK of the sample
+     * @param scet
+     *            SCET of the sample
+     */
+    public void addAsciiValue(final IChannelDefinition def, final String value, final ISclk sclk,
+            final IAccurateDateTime scet) {
+        add(def, KIND_ASCII_VALUE, 0, value, sclk, scet);
+    }
+
+    /**
+     * Sets the EU of the most recently recorded sample.
+     *
+     * @param eu
+     *            EU value
+     */
+    public void setLastEu(final double eu) {
+        final Block b = block;
+        if (b.size == 0) {
+            throw new IllegalStateException("No sample has been recorded");
+        }
+        b.eus[b.size - 1] = eu;
+        b.euSet[b.size - 1] = true;
+    }
+
+    /**
+     * Hands over the samples recorded since the last collect, in the order
+     * recorded, as a list whose channel values are created as they are read.
+     * The buffer is then empty.
+     *
+     * @param chanFactory
+     *            factory for creating channel values
+     * @return list of the recorded samples
+     */
+    public List<IServiceChannelValue> collect(final IChannelValueFactory chanFactory) {
+        final Block filled = block;
+        Block next = pool.poll();
+        if (next == null) {
+            next = new Block(filled.capacity());
+        }
+        block = next;
+        return new ChannelSampleList(filled, channels, chanFactory, pool);
+    }
+
+    /**
+     * Discards all recorded samples, keeping the storage for reuse.
+     */
+    public void clear() {
+        block.clear();
+    }
+
+    private void add(final IChannelDefinition def, final byte kind, final long value, final Object obj,
+            final ISclk sclk, final IAccurateDateTime scet) {
+        block.add(indexOf(def), kind, value, obj, sclk, scet);
+    }
+
+    /**
+     * Gets the channel index of a definition, assigning the next one if it
+     * has not been seen before.
+     */
+    private int indexOf(final IChannelDefinition def) {
+        final Integer index = channelIndex.get(def);
+        if (index != null) {
+            return index;
+        }
+        if (channelCount == channels.length) {
+            channels = Arrays.copyOf(channels, channelCount * 2);
+        }
+        channels[channelCount] = def;
+        channelIndex.put(def, channelCount);
+        return channelCount++;
+    }
+
+    /**
+     * The parallel arrays holding one packet's samples.
+     */
+    static class Block {
+        private int[] channel;
+        private byte[] kinds;
+        private long[] bits;
+        private Object[] objects;
+        private double[] eus;
+        private boolean[] euSet;
+        private int[] timeIndex;
+        private int size;
+
+        private ISclk[] sclks = new ISclk[INITIAL_TIME_CAPACITY];
+        private IAccurateDateTime[] scets = new IAccurateDateTime[INITIAL_TIME_CAPACITY];
+        private int timeCount;
+
+        private Block(final int capacity) {
+            channel = new int[capacity];
+            kinds = new byte[capacity];
+            bits = new long[capacity];
+            objects = new Object[capacity];
+            eus = new double[capacity];
+            euSet = new boolean[capacity];
+            timeIndex = new int[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        private int capacity() {
+            return channel.length;
+        }
+
+        private void add(final int chan, final byte kind, final long value, final Object obj,
+                final ISclk sclk, final IAccurateDateTime scet) {
+            if (size == channel.length) {
+                grow();
+            }
+            channel[size] = chan;
+            kinds[size] = kind;
+            bits[size] = value;
+            objects[size] = obj;
+            timeIndex[size] = timeIndexOf(sclk, scet);
+            size++;
+        }
+
+        /**
+         * Gets the index of the given times in the time table, adding them if
+         * they differ from the most recent entry. Samples in a packet usually
+         * share a handful of time stamps, which arrive in order.
+         */
+        private int timeIndexOf(final ISclk sclk, final IAccurateDateTime scet) {
+            if (timeCount > 0 && sclks[timeCount - 1] == sclk && scets[timeCount - 1] == scet) {
+                return timeCount - 1;
+            }
+            if (timeCount == sclks.length) {
+                sclks = Arrays.copyOf(sclks, timeCount * 2);
+                scets = Arrays.copyOf(scets, timeCount * 2);
+            }
+            sclks[timeCount] = sclk;
+            scets[timeCount] = scet;
+            return timeCount++;
+        }
+
+        /**
+         * Creates the channel value for one sample.
+         *
+         * @param i
+         *            sample index
+         * @param channels
+         *            channel definitions by channel index
+         * @param chanFactory
+         *            factory for creating channel values
+         * @return the new channel value
+         */
+        IServiceChannelValue materialize(final int i, final IChannelDefinition[] channels,
+                final IChannelValueFactory chanFactory) {
+            final IChannelDefinition def = channels[channel[i]];
+            final IServiceChannelValue val;
+            switch (kinds[i]) {
+            case KIND_LONG:
+                val = chanFactory.createServiceChannelValue(def, Long.valueOf(bits[i]));
+                break;
+            case KIND_INT:
+                val = chanFactory.createServiceChannelValue(def, Integer.valueOf((int) bits[i]));
+                break;
+            case KIND_FLOAT:
+                val = chanFactory.createServiceChannelValue(def, Float.valueOf(Float.intBitsToFloat((int) bits[i])));
+                break;
+            case KIND_DOUBLE:
+                val = chanFactory.createServiceChannelValue(def, Double.valueOf(Double.longBitsToDouble(bits[i])));
+                break;
+            case KIND_BOOLEAN:
+                val = chanFactory.createServiceChannelValue(def, bits[i] != 0);
+                break;
+            case KIND_OBJECT:
+                val = chanFactory.createServiceChannelValue(def);
+                val.setDn(objects[i]);
+                break;
+            case KIND_INTEGER_VALUE:
+                val = new IntegerChannelValue(bits[i]);
+                val.setChannelDefinition(def);
+                break;
+            case KIND_FLOAT_VALUE:
+                val = new FloatChannelValue(Float.intBitsToFloat((int) bits[i]));
+                val.setChannelDefinition(def);
+                break;
+            case KIND_DOUBLE_VALUE:
+                val = new FloatChannelValue(Double.longBitsToDouble(bits[i]));
+                val.setChannelDefinition(def);
+                break;
+            case KIND_ASCII_VALUE:
+                val = new ASCIIChannelValue((String) objects[i]);
+                val.setChannelDefinition(def);
+                break;
+            default:
+                throw new IllegalStateException("Unknown sample kind " + kinds[i]);
+            }
+            val.setSclk(sclks[timeIndex[i]]);
+            val.setScet(scets[timeIndex[i]]);
+            if (euSet[i]) {
+                val.setEu(eus[i]);
+            }
+            return val;
+        }
+
+        /**
+         * Discards all samples, keeping the storage for reuse.
+         */
+        void clear() {
+            Arrays.fill(objects, 0, size, null);
+            Arrays.fill(euSet, 0, size, false);
+            Arrays.fill(sclks, 0, timeCount, null);
+            Arrays.fill(scets, 0, timeCount, null);
+            size = 0;
+            timeCount = 0;
+        }
+
+        private void grow() {
+            final int capacity = channel.length * 2;
+            channel = Arrays.copyOf(channel, capacity);
+            kinds = Arrays.copyOf(kinds, capacity);
+            bits = Arrays.copyOf(bits, capacity);
+            objects = Arrays.copyOf(objects, capacity);
+            eus = Arrays.copyOf(eus, capacity);
+            euSet = Arrays.copyOf(euSet, capacity);
+            timeIndex = Arrays.copyOf(timeIndex, capacity);
+        }
+    }
+}
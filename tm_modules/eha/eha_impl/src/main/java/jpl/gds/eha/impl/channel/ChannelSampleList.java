@@ -0,0 +1,118 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.eha.impl.channel;
+
+import java.util.AbstractList;
+import java.util.Queue;
+import java.util.RandomAccess;
+
+import jpl.gds.dictionary.api.channel.IChannelDefinition;
+import jpl.gds.eha.api.channel.IChannelValueFactory;
+import jpl.gds.eha.api.channel.IServiceChannelValue;
+
+/**
+ * A list of the channel samples collected from a {@link ChannelSampleBuffer}.
+ * The channel value for each sample is created the first time it is read and
+ * then kept, so a consumer that never reads a sample never creates its value.
+ * <p>
+ * When every value has been created, or the list is cleared, the sample
+ * arrays are returned to the buffer's pool. Elements may be replaced with
+ * set(), and the list may be cleared, but it cannot otherwise change size.
+ * <p>
+ * This class is not thread safe.
+ *
+ */
+public class ChannelSampleList extends AbstractList<IServiceChannelValue> implements RandomAccess {
+    private final IChannelDefinition[] channels;
+    private final IChannelValueFactory chanFactory;
+    private final Queue<ChannelSampleBuffer.Block> pool;
+    private ChannelSampleBuffer.Block block;
+    private IServiceChannelValue[] values;
+    private int size;
+    private int created;
+
+    /**
+     * Constructor.
+     *
+     * @param block
+     *            the samples; owned by this list until it returns them to the pool
+     * @param channels
+     *            channel definitions by channel index
+     * @param chanFactory
+     *            factory for creating channel values
+     * @param pool
+     *            pool to return the sample arrays to
+     */
+    ChannelSampleList(final ChannelSampleBuffer.Block block, final IChannelDefinition[] channels,
+            final IChannelValueFactory chanFactory, final Queue<ChannelSampleBuffer.Block> pool) {
+        this.block = block;
+        this.channels = channels;
+        this.chanFactory = chanFactory;
+        this.pool = pool;
+        this.size = block.size();
+        this.values = new IServiceChannelValue[size];
+        if (size == 0) {
+            release();
+        }
+    }
+
+    @Override
+    public IServiceChannelValue get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        IServiceChannelValue val = values[index];
+        if (val == null) {
+            val = block.materialize(index, channels, chanFactory);
+            values[index] = val;
+            if (++created == size) {
+                release();
+            }
+        }
+        return val;
+    }
+
+    @Override
+    public IServiceChannelValue set(final int index, final IServiceChannelValue element) {
+        final IServiceChannelValue old = get(index);
+        values[index] = element;
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        release();
+        values = new IServiceChannelValue[0];
+        size = 0;
+        created = 0;
+    }
+
+    /**
+     * Returns the sample arrays to the pool once no more values will be
+     * created from them.
+     */
+    private void release() {
+        if (block != null) {
+            block.clear();
+            pool.offer(block);
+            block = null;
+        }
+    }
+}
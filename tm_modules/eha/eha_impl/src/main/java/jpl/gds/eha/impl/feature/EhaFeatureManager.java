@@ -23,6 +23,7 @@ import jpl.gds.eha.api.channel.IChannelLad;
 import jpl.gds.eha.api.feature.IEhaFeatureManager;
 import jpl.gds.eha.api.service.alarm.IAlarmNotifierService;
 import jpl.gds.eha.api.service.alarm.IAlarmPublisherService;
+import jpl.gds.eha.api.service.channel.IChannelPublisherUtility;
 import jpl.gds.eha.api.service.channel.IChannelLadService;
 import jpl.gds.eha.api.service.channel.IGenericPacketDecomService;
 import jpl.gds.eha.api.service.channel.IGroupedChannelAggregationService;
@@ -49,6 +50,7 @@ public class EhaFeatureManager extends AbstractTelemetryFeatureManager implement
     private boolean alarmIsEnabled = true;
     private IAlarmNotifierService alarmNotifier;
     private IGroupedChannelAggregationService channelAggregationService;
+    private IChannelPublisherUtility pubUtil;
 
 	/**
      * {@inheritDoc}
@@ -91,6 +93,7 @@ public class EhaFeatureManager extends AbstractTelemetryFeatureManager implement
         //Setup the prechannelized publisher, which listens for packet messages and publishes ChannelValueMessages
         try {
             addService(springContext.getBean(IPrechannelizedPublisherService.class));
+            pubUtil = springContext.getBean(IChannelPublisherUtility.class);
         } catch (final Exception e) {
             log.error(e.getMessage(), e);
             log.error("Unable to initialize prechannelized packet decom service");
@@ -218,6 +221,11 @@ public class EhaFeatureManager extends AbstractTelemetryFeatureManager implement
 			return;
 		}
 		super.shutdown();
+
+		// Services are stopped, so no more derivations will be run
+		if (pubUtil != null) {
+		    pubUtil.shutdownDerivations();
+		}
 			
 		log.debug("EHA/Channel Decom feature has shutdown");
 	}
@@ -15,6 +15,7 @@ package jpl.gds.eha.impl.message;
 
 import com.google.protobuf.InvalidProtocolBufferException;
 import jpl.gds.common.config.mission.MissionProperties;
+import jpl.gds.eha.api.channel.IClientChannelValue;
 import jpl.gds.message.api.IStreamMessage;
 import jpl.gds.serialization.messages.Proto3AbstractMessage;
 import jpl.gds.shared.message.IMessageType;
@@ -133,6 +134,22 @@ public abstract class AbstractChannelMessage extends Message implements IStreamM
 
     }
 
+    /**
+     * Indicates whether two channel values are samples of the same channel,
+     * from the same station and the same realtime or recorded stream, so that
+     * the later one makes the earlier one obsolete.
+     *
+     * @param later
+     *            the later channel value; may be null
+     * @param earlier
+     *            the earlier channel value; may be null
+     * @return true if both values are non-null samples of the same channel
+     */
+    protected static boolean isSameChannelSample(final IClientChannelValue later, final IClientChannelValue earlier) {
+        return later != null && earlier != null && later.getDssId() == earlier.getDssId()
+                && later.isRealtime() == earlier.isRealtime() && later.getChanId().equals(earlier.getChanId());
+    }
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -27,6 +27,7 @@ import jpl.gds.serialization.messages.Proto3AbstractMessage;
 import jpl.gds.shared.config.GdsSystemProperties;
 import jpl.gds.shared.interfaces.EscapedCsvSupport;
 import jpl.gds.shared.message.BaseBinaryMessageParseHandler;
+import jpl.gds.shared.message.ICoalescingMessage;
 import jpl.gds.shared.message.IMessage;
 import jpl.gds.shared.message.MessageRegistry;
 import org.springframework.context.ApplicationContext;
@@ -44,7 +45,7 @@ import java.util.Map;
  */
 
 public class AlarmedChannelValueMessage extends AbstractChannelMessage implements
-    IAlarmedChannelValueMessage {
+    IAlarmedChannelValueMessage, ICoalescingMessage {
 
 	/**
 	 * Channel value.
@@ -128,6 +129,18 @@ public class AlarmedChannelValueMessage extends AbstractChannelMessage implement
 		return channelVal;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * An alarmed channel value message supersedes an earlier one for the same
+	 * channel, station and realtime or recorded stream.
+	 */
+	@Override
+	public boolean supersedes(final IMessage queued) {
+		return queued instanceof AlarmedChannelValueMessage
+				&& isSameChannelSample(channelVal, ((AlarmedChannelValueMessage) queued).channelVal);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
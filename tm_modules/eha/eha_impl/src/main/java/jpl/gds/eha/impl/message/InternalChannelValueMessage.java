@@ -17,6 +17,8 @@ import jpl.gds.common.config.mission.MissionProperties;
 import jpl.gds.eha.api.channel.IServiceChannelValue;
 import jpl.gds.eha.api.message.EhaMessageType;
 import jpl.gds.eha.api.message.IChannelValueMessage;
+import jpl.gds.shared.message.ICoalescingMessage;
+import jpl.gds.shared.message.IMessage;
 import jpl.gds.shared.message.MessageRegistry;
 
 import javax.xml.stream.XMLStreamException;
@@ -27,7 +29,7 @@ import javax.xml.stream.XMLStreamWriter;
  * a channelized telemetry values.
  *
  */
-public class InternalChannelValueMessage extends AbstractChannelMessage implements IChannelValueMessage
+public class InternalChannelValueMessage extends AbstractChannelMessage implements IChannelValueMessage, ICoalescingMessage
 {
 
     private IServiceChannelValue channelVal;
@@ -96,6 +98,18 @@ public class InternalChannelValueMessage extends AbstractChannelMessage implemen
         return channelVal;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A channel value message supersedes an earlier one for the same channel,
+     * station and realtime or recorded stream.
+     */
+    @Override
+    public boolean supersedes(final IMessage queued) {
+        return queued instanceof InternalChannelValueMessage
+                && isSameChannelSample(channelVal, ((InternalChannelValueMessage) queued).channelVal);
+    }
+
     /**
      * Sets the channel value.
      *
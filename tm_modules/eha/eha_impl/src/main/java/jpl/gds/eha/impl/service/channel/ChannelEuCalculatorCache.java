@@ -0,0 +1,192 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.eha.impl.service.channel;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.context.ApplicationContext;
+
+import jpl.gds.common.eu.AlgorithmicDNtoEU;
+import jpl.gds.common.eu.IEUCalculationFactory;
+import jpl.gds.dictionary.api.channel.IChannelDefinition;
+import jpl.gds.dictionary.api.channel.IChannelDefinitionProvider;
+import jpl.gds.dictionary.api.command.ICommandDefinitionProvider;
+import jpl.gds.dictionary.api.config.DictionaryProperties;
+import jpl.gds.dictionary.api.eu.EUGenerationException;
+import jpl.gds.dictionary.api.eu.EUType;
+import jpl.gds.dictionary.api.eu.IEUCalculation;
+import jpl.gds.dictionary.api.eu.IEUDefinition;
+import jpl.gds.dictionary.api.sequence.ISequenceDefinitionProvider;
+import jpl.gds.eha.api.channel.IChannelLad;
+import jpl.gds.eha.channel.api.DerivationException;
+import jpl.gds.eha.channel.api.IAlgorithmUtility;
+import jpl.gds.shared.log.Loggers;
+import jpl.gds.shared.log.TraceManager;
+import jpl.gds.shared.log.Tracer;
+
+/**
+ * ChannelEuCalculatorCache holds one DN to EU calculator per channel, so that
+ * the calculator (and, for algorithmic conversions, the user algorithm
+ * instance and its IAlgorithmUtility wiring) is created once rather than for
+ * every channel sample.
+ * <p>
+ * Entries are keyed by channel ID, and each entry remembers the EU definition
+ * object it was built from. If the channel dictionary is reloaded, the new
+ * channel definition carries a new EU definition object, and the stale entry
+ * is rebuilt on its next use. clear() discards all entries outright.
+ *
+ */
+public class ChannelEuCalculatorCache {
+
+    private final ApplicationContext                    appContext;
+    private final IEUCalculationFactory                 euFactory;
+    private final IChannelLad                           lad;
+    private final Tracer                                deriveLog;
+    private final ConcurrentMap<String, CachedCalculator> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param appContext
+     *            the current application context
+     */
+    public ChannelEuCalculatorCache(final ApplicationContext appContext) {
+        this.appContext = appContext;
+        this.euFactory = appContext.getBean(IEUCalculationFactory.class);
+        this.lad = appContext.getBean(IChannelLad.class);
+        this.deriveLog = TraceManager.getTracer(appContext, Loggers.TLM_DERIVATION);
+    }
+
+    /**
+     * Builds calculators for all table and polynomial conversions in the
+     * given channel dictionary. Algorithmic conversions are still built on
+     * first use, so that user classes that are never needed are not loaded.
+     *
+     * @param chanTable
+     *            the channel definition provider
+     */
+    public void populate(final IChannelDefinitionProvider chanTable) {
+        for (final IChannelDefinition def : chanTable.getChannelDefinitionMap().values()) {
+            final IEUDefinition euDef = def.getDnToEu();
+            if (!def.hasEu() || euDef == null) {
+                continue;
+            }
+            if (euDef.getEuType() == EUType.TABLE || euDef.getEuType() == EUType.POLYNOMIAL) {
+                cache.put(def.getId(), new CachedCalculator(euDef, euFactory.createEuCalculator(euDef)));
+            }
+        }
+    }
+
+    /**
+     * Gets the DN to EU calculator for the given channel definition, creating
+     * it if necessary.
+     *
+     * @param chanDef
+     *            the channel definition
+     * @return the calculator, or null if the channel has no EU conversion
+     * @throws EUGenerationException
+     *             if the user algorithm instance for an algorithmic conversion
+     *             cannot be created or wired; nothing is cached in that case
+     */
+    public IEUCalculation getCalculator(final IChannelDefinition chanDef) throws EUGenerationException {
+        final IEUDefinition euDef = chanDef.getDnToEu();
+        if (euDef == null) {
+            return null;
+        }
+
+        final CachedCalculator cached = cache.get(chanDef.getId());
+        if (cached != null && cached.source == euDef) {
+            return cached.calculator;
+        }
+
+        final IEUCalculation dnToEu = euFactory.createEuCalculator(euDef);
+
+        /* The dnToEu object is not the actual user algorithm instance.
+         * If it is an AlgorithmicDNToEU, we want to instantiate the actual user class inside of it.
+         * This is done once, before the calculator is cached, so that no other thread can
+         * obtain an algorithm that has not been wired. A calculator whose wiring fails is
+         * not cached, and creation is tried again on the next sample.
+         */
+        if (dnToEu instanceof AlgorithmicDNtoEU) {
+            wireAlgorithm(((AlgorithmicDNtoEU) dnToEu).getAlgorithmInstance());
+        }
+
+        final CachedCalculator created = new CachedCalculator(euDef, dnToEu);
+        final boolean stored = cached == null ? cache.putIfAbsent(chanDef.getId(), created) == null
+                : cache.replace(chanDef.getId(), cached, created);
+        if (!stored) {
+            /* Another thread cached a calculator first; use it if it is current. */
+            final CachedCalculator winner = cache.get(chanDef.getId());
+            if (winner != null && winner.source == euDef) {
+                return winner.calculator;
+            }
+        }
+
+        return dnToEu;
+    }
+
+    /**
+     * Discards all cached calculators.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * If the actual user algorithm instance supports the algorithm utility
+     * interface, use that interface to set things like the channel definition
+     * map and LAD, so that the algorithm instance has access to these things.
+     *
+     * @param temp
+     *            the user algorithm instance
+     * @throws EUGenerationException
+     *             if the algorithm instance rejects its wiring
+     */
+    private void wireAlgorithm(final Object temp) throws EUGenerationException {
+        if (!(temp instanceof IAlgorithmUtility)) {
+            return;
+        }
+
+        final IAlgorithmUtility algorithm = (IAlgorithmUtility) temp;
+        try {
+            algorithm.setChannelDefinitionMap(lad.getDefinitionProvider().getChannelDefinitionMap());
+            algorithm.setLogger(deriveLog);
+            algorithm.setDictionaryProperties(appContext.getBean(DictionaryProperties.class));
+            algorithm.setLadProvider(lad);
+            try {
+                final ISequenceDefinitionProvider dict = appContext.getBean(ISequenceDefinitionProvider.class);
+                algorithm.setSequenceDictionary(dict);
+            } catch (final Exception e) {
+                deriveLog.warn("No sequence dictionary found; sequence operations not available in EU conversions");
+            }
+            algorithm.setOpcodeToStemMap(appContext.getBean(ICommandDefinitionProvider.class).getStemByOpcodeMap());
+        } catch (final DerivationException e) {
+            throw new EUGenerationException("Error initializing DN-EU conversion algorithm: " + e.toString(), e);
+        }
+    }
+
+    /**
+     * A cached calculator and the EU definition it was built from.
+     */
+    private static class CachedCalculator {
+        private final IEUDefinition  source;
+        private final IEUCalculation calculator;
+
+        private CachedCalculator(final IEUDefinition source, final IEUCalculation calculator) {
+            this.source = source;
+            this.calculator = calculator;
+        }
+    }
+}
@@ -17,14 +17,13 @@ import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import jpl.gds.context.api.TimeComparisonStrategyContextFlag;
 import jpl.gds.dictionary.api.channel.ChannelDefinitionType;
@@ -53,18 +52,32 @@ import jpl.gds.shared.types.Pair;
  *
  * 10/17/13 entire class modified for station
  * segregation in chill_down LAD
+ * 
+ * The LAD is now safe for concurrent use without a lock. Each channel/station
+ * combination is interned once as a slot with an integer index, so lookups do
+ * not allocate a key. Readers get the current value of a slot with a single
+ * volatile read, and writers replace it with compare-and-set, so derivation,
+ * alarm and display threads no longer contend on one monitor.
  *         
  */
 public class ChannelLad implements IChannelLad 
 {
-	/** 
-	 * Table of lists of realtime channel values.
+	private static final int INITIAL_SLOTS = 1024;
+	
+	/**
+	 * Index of channel slots, by channel ID.
 	 */
-	private final Map <Pair <String, Integer>, IServiceChannelValue> realtimeLadMap;
-	/** 
-     * Table of lists of realtime channel values.
-     */
-	private final Map <Pair <String, Integer>, IServiceChannelValue> recordedLadMap;
+	private final ConcurrentMap<String, ChannelSlots> channelIndex = 
+			new ConcurrentHashMap<String, ChannelSlots>();
+	
+	/**
+	 * All slots, in the order they were added; a slot's position is its index.
+	 * Only the first slotCount entries are in use; a new entry is stored
+	 * before slotCount is raised, so readers never see a partial slot.
+	 */
+	private volatile LadSlot[] slotTable = new LadSlot[INITIAL_SLOTS];
+	private volatile int slotCount = 0;
+	private final Object internLock = new Object();
 
 
 	/*
@@ -77,7 +90,7 @@ public class ChannelLad implements IChannelLad
     /**
      * Tracks the last time the LAd changed.
      */
-	private long lastAddTime = 0;
+	private volatile long lastAddTime = 0;
 	
 	    /**
      * Creates an instance of ChannelLad.
@@ -89,9 +102,6 @@ public class ChannelLad implements IChannelLad
      */
 	public ChannelLad(final IChannelDefinitionProvider defProvider, final TimeComparisonStrategyContextFlag timeStrategy)
 	{
-		realtimeLadMap = new HashMap<Pair <String, Integer>, IServiceChannelValue>();
-		recordedLadMap = new HashMap<Pair <String, Integer>, IServiceChannelValue>();
-
 		this.channelTable = defProvider;
 		
 		this.timeCompare = new ChannelTimeComparator(timeStrategy);
@@ -115,7 +125,7 @@ public class ChannelLad implements IChannelLad
      * @see jpl.gds.eha.api.channel.IChannelLad#addNewValue(IServiceChannelValue)
      */
 	@Override
-    public synchronized void addNewValue(final IServiceChannelValue val)
+    public void addNewValue(final IServiceChannelValue val)
 	{
 		if(val == null)
 		{
@@ -134,10 +144,9 @@ public class ChannelLad implements IChannelLad
 		/*
 		 * Use channel definition to get type
 		 */
-		final boolean isMonitor = getChannelType(val).equals(
-				ChannelDefinitionType.M);
-		final boolean isHeader = getChannelType(val).equals(
-				ChannelDefinitionType.H);
+		final ChannelDefinitionType type = getChannelType(val);
+		final boolean isMonitor = type.equals(ChannelDefinitionType.M);
+		final boolean isHeader = type.equals(ChannelDefinitionType.H);
 		
 		/*
 		 * Reject header or monitor channels with non-realtime status.
@@ -149,26 +158,23 @@ public class ChannelLad implements IChannelLad
 					"recorded M or H channels");
 		}
 		
-		final Integer station = isMonitor ? 
+		final int station = isMonitor ? 
 				val.getDssId() : StationIdHolder.UNSPECIFIED_VALUE;
 		
-		final Pair<String, Integer> mapId = 
-				new Pair<String, Integer>(val.getChanId(), station);
+		final AtomicReference<IServiceChannelValue> latest = 
+				internSlot(val.getChanId(), station).getLatest(val.isRealtime());
 		
-		if (val.isRealtime()) {
-			
-			final IServiceChannelValue oldVal = realtimeLadMap.get(mapId);
-			if(oldVal == null || timeCompare.timestampIsLater(oldVal, val))
-			{
-				realtimeLadMap.put(mapId, val);
-			}
-		} else {
-			final IServiceChannelValue oldVal = recordedLadMap.get(mapId);
-			if(oldVal == null || timeCompare.timestampIsLater(oldVal, val))
-			{
-				recordedLadMap.put(mapId, val);
+		/*
+		 * Only replace the current value if the new one is later. If another
+		 * writer replaced it in the meantime, compare again against theirs.
+		 */
+		IServiceChannelValue oldVal;
+		do {
+			oldVal = latest.get();
+			if (oldVal != null && !timeCompare.timestampIsLater(oldVal, val)) {
+				return;
 			}
-		}
+		} while (!latest.compareAndSet(oldVal, val));
 	}
 	
 	/*  station segregation in chill_down LAD
@@ -178,7 +184,7 @@ public class ChannelLad implements IChannelLad
      * @see jpl.gds.eha.channel.api.ILatestSampleProvider#getMostRecentValue(java.lang.String, boolean, int)
      */
 	@Override
-    public synchronized IServiceChannelValue getMostRecentValue(final String id, 
+    public IServiceChannelValue getMostRecentValue(final String id, 
 			final boolean realtime, int station)
 	{
 		if(id == null)
@@ -190,15 +196,12 @@ public class ChannelLad implements IChannelLad
 		 */
 		station = getChannelType(id).equals(ChannelDefinitionType.M) ? station : 0;
 		
-		final Pair<String, Integer> mapId = new Pair<String, Integer>(id, station);
-		
-		if(realtime) {
-			return realtimeLadMap.get(mapId);
-		}
-		else {
-			return recordedLadMap.get(mapId);
-	
+		final ChannelSlots channel = channelIndex.get(id);
+		if (channel == null) {
+			return null;
 		}
+		final LadSlot slot = channel.find(station);
+		return slot == null ? null : slot.getLatest(realtime).get();
 	}
 	
 
@@ -221,22 +224,78 @@ public class ChannelLad implements IChannelLad
         // contain out-of-date channels or are mismatched with current dictionary
         return def == null ? ChannelDefinitionType.FSW : def.getDefinitionType();
     }
+	
+	/**
+	 * Gets the slot for a channel and station, adding it if this is the first
+	 * value seen for them.
+	 * 
+	 * @param chanId channel ID
+	 * @param station station ID
+	 * @return the slot
+	 */
+	private LadSlot internSlot(final String chanId, final int station) {
+		ChannelSlots channel = channelIndex.get(chanId);
+		if (channel != null) {
+			final LadSlot slot = channel.find(station);
+			if (slot != null) {
+				return slot;
+			}
+		}
+		
+		synchronized (internLock) {
+			channel = channelIndex.get(chanId);
+			if (channel == null) {
+				channel = new ChannelSlots();
+				channelIndex.put(chanId, channel);
+			}
+			LadSlot slot = channel.find(station);
+			if (slot != null) {
+				return slot;
+			}
+			
+			LadSlot[] table = slotTable;
+			if (slotCount == table.length) {
+				final LadSlot[] grown = new LadSlot[table.length * 2];
+				System.arraycopy(table, 0, grown, 0, slotCount);
+				table = grown;
+			}
+			slot = new LadSlot(chanId, station);
+			table[slotCount] = slot;
+			slotTable = table;
+			slotCount = slotCount + 1;
+			channel.add(slot);
+			return slot;
+		}
+	}
+	
+	/**
+	 * Gets the slots currently in use. The returned list reflects a single
+	 * point in time; slots added later are not included.
+	 * 
+	 * @return list of slots in index order
+	 */
+	private List<LadSlot> getSlots() {
+		final int count = slotCount;
+		final LadSlot[] table = slotTable;
+		final List<LadSlot> result = new ArrayList<LadSlot>(count);
+		for (int i = 0; i < count; i++) {
+			result.add(table[i]);
+		}
+		return result;
+	}
 
 	/**
      * @{inheritDoc}
      * @see jpl.gds.eha.api.channel.IChannelLad#getAllChannelIds(boolean)
      */
 	@Override
-    public synchronized List<String> getAllChannelIds(final boolean realtime) {
-		
-		final Set<Pair<String, Integer>> ids = realtime ? realtimeLadMap.keySet() : 
-			recordedLadMap.keySet();
-		
-
+    public List<String> getAllChannelIds(final boolean realtime) {
 		final List<String> result = new ArrayList<String> ();
 		
-		for(final Pair<String, Integer> mapId : ids) {
-			result.add(mapId.getOne());
+		for (final LadSlot slot : getSlots()) {
+			if (slot.getLatest(realtime).get() != null) {
+				result.add(slot.chanId);
+			}
 		}
 		
 		return result;
@@ -247,18 +306,16 @@ public class ChannelLad implements IChannelLad
      * @see jpl.gds.eha.api.channel.IChannelLad#getAllChannelIdAndStationPairs(boolean)
      */
 	@Override
-    public synchronized List<Pair<String, Integer>> getAllChannelIdAndStationPairs(
+    public List<Pair<String, Integer>> getAllChannelIdAndStationPairs(
 			final boolean realtime) {
-		
-		final Set<Pair<String, Integer>> ids = realtime ? realtimeLadMap.keySet() : 
-			recordedLadMap.keySet();
-		
-
 		final List<Pair<String, Integer>> result = 
 				new ArrayList<Pair<String, Integer>>();
 		
-
-		result.addAll(ids);
+		for (final LadSlot slot : getSlots()) {
+			if (slot.getLatest(realtime).get() != null) {
+				result.add(new Pair<String, Integer>(slot.chanId, slot.station));
+			}
+		}
 		
 		return result;
 	}
@@ -268,24 +325,34 @@ public class ChannelLad implements IChannelLad
      * @see jpl.gds.eha.api.channel.IChannelLad#getChannelValueList()
      */
     @Override
-    public synchronized List<IServiceChannelValue> getChannelValueList() {
-		final Collection<IServiceChannelValue> channelList1 = realtimeLadMap.values();
-
-		final Collection<IServiceChannelValue> channelList2 = recordedLadMap.values();
+    public List<IServiceChannelValue> getChannelValueList() {
+		final List<LadSlot> slots = getSlots();
+		final List<IServiceChannelValue> realtimeList = new ArrayList<IServiceChannelValue>(slots.size());
+		final List<IServiceChannelValue> recordedList = new ArrayList<IServiceChannelValue>();
 		
-		final List<IServiceChannelValue> list = new ArrayList<IServiceChannelValue>(channelList1.size() + channelList2.size());
+		for (final LadSlot slot : slots) {
+			final IServiceChannelValue rt = slot.realtime.get();
+			if (rt != null) {
+				realtimeList.add(rt);
+			}
+			final IServiceChannelValue rec = slot.recorded.get();
+			if (rec != null) {
+				recordedList.add(rec);
+			}
+		}
 		
-		list.addAll(channelList1);
-		list.addAll(channelList2);
+		realtimeList.addAll(recordedList);
 
-		return list;
+		return realtimeList;
 	}
  	
 
 	@Override
-    public synchronized long clearAll() {
-		realtimeLadMap.clear();
-		recordedLadMap.clear();
+    public long clearAll() {
+		for (final LadSlot slot : getSlots()) {
+			slot.realtime.set(null);
+			slot.recorded.set(null);
+		}
 		
 		// R8 Refactor TODO - We just cannot have this going on here. An instance
 		// of the LAD should not be doing anything with another EHA service, nor
@@ -302,7 +369,7 @@ public class ChannelLad implements IChannelLad
 		return temp;
 	}
 
-	private synchronized void setLastAddTime(final long time) {
+	private void setLastAddTime(final long time) {
 	    lastAddTime = time;
 	}
 	
@@ -314,7 +381,7 @@ public class ChannelLad implements IChannelLad
 	 * internally by the aforementioned methods. */
 
 	@Override
-    public synchronized boolean writeCsv(final Writer writer) {
+    public boolean writeCsv(final Writer writer) {
 
 	    try {
 	        final BufferedWriter bufferedWriter = new BufferedWriter(writer);
@@ -400,4 +467,52 @@ public class ChannelLad implements IChannelLad
 	    }
 	    return true;  
 	}
+
+	/**
+	 * The slots for one channel ID, one per station. Non-monitor channels
+	 * have a single slot. The array is replaced, never modified in place, when
+	 * a station is added, so it can be searched without a lock.
+	 */
+	private static class ChannelSlots {
+		private volatile LadSlot[] stations = new LadSlot[0];
+		
+		private LadSlot find(final int station) {
+			for (final LadSlot slot : stations) {
+				if (slot.station == station) {
+					return slot;
+				}
+			}
+			return null;
+		}
+		
+		/* Called only while holding the intern lock */
+		private void add(final LadSlot slot) {
+			final LadSlot[] current = stations;
+			final LadSlot[] added = new LadSlot[current.length + 1];
+			System.arraycopy(current, 0, added, 0, current.length);
+			added[current.length] = slot;
+			stations = added;
+		}
+	}
+	
+	/**
+	 * The latest realtime and recorded values for one channel and station.
+	 */
+	private static class LadSlot {
+		private final String chanId;
+		private final int station;
+		private final AtomicReference<IServiceChannelValue> realtime = 
+				new AtomicReference<IServiceChannelValue>();
+		private final AtomicReference<IServiceChannelValue> recorded = 
+				new AtomicReference<IServiceChannelValue>();
+		
+		private LadSlot(final String chanId, final int station) {
+			this.chanId = chanId;
+			this.station = station;
+		}
+		
+		private AtomicReference<IServiceChannelValue> getLatest(final boolean realtime) {
+			return realtime ? this.realtime : this.recorded;
+		}
+	}
 }
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.eha.impl.service.channel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import jpl.gds.common.config.TimeComparisonStrategy;
+import jpl.gds.context.api.TimeComparisonStrategyContextFlag;
+import jpl.gds.dictionary.api.channel.ChannelDefinitionFactory;
+import jpl.gds.dictionary.api.channel.ChannelType;
+import jpl.gds.dictionary.api.channel.IChannelDefinition;
+import jpl.gds.dictionary.api.channel.IChannelDefinitionProvider;
+import jpl.gds.dictionary.api.channel.IChannelDerivation;
+import jpl.gds.eha.api.channel.IServiceChannelValue;
+import jpl.gds.eha.impl.ChannelTimeComparator;
+import jpl.gds.eha.impl.channel.ChannelValueFactory;
+import jpl.gds.shared.performance.MicroBenchmark;
+import jpl.gds.shared.types.Pair;
+
+/**
+ * ChannelLadBenchmark measures the LAD under contention. Each of several
+ * threads acts like a derivation: it reads the latest values of a few parent
+ * channels and then adds a value for a child channel, while the other threads
+ * do the same on overlapping channels. The lock-free ChannelLad is compared
+ * with the previous implementation, in which every add and lookup
+ * synchronized on one monitor and allocated a channel/station key.
+ * <p>
+ * Before timing, the same sequence of values is added to both LADs on one
+ * thread and every channel is required to return the same latest value.
+ * <p>
+ * Usage: ChannelLadBenchmark [threads [channels [operations-per-round]]]
+ *
+ */
+public final class ChannelLadBenchmark {
+
+    private static final int DEFAULT_THREADS    = 8;
+    private static final int DEFAULT_CHANNELS   = 2000;
+    private static final int DEFAULT_OPERATIONS = 2_000_000;
+    private static final int PARENTS            = 3;
+    private static final int VALUES_PER_THREAD  = 4096;
+
+    private ChannelLadBenchmark() {
+        // main only
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            optional thread count, channel count and number of
+     *            derivations per round
+     * @throws Exception
+     *             if a thread fails
+     */
+    public static void main(final String[] args) throws Exception {
+        final int threads = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_THREADS;
+        final int channels = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CHANNELS;
+        final long operations = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_OPERATIONS;
+
+        final Map<String, IChannelDefinition> defs = new LinkedHashMap<>();
+        for (int i = 0; i < channels; i++) {
+            final String id = String.format("B-%04d", i);
+            defs.put(id, ChannelDefinitionFactory.createFlightChannel(id, ChannelType.FLOAT));
+        }
+        final String[] ids = defs.keySet().toArray(new String[channels]);
+        final IChannelDefinitionProvider provider = new MapDefinitionProvider(defs);
+        final TimeComparisonStrategyContextFlag strategy = new TimeComparisonStrategyContextFlag(
+                TimeComparisonStrategy.LAST_RECEIVED);
+
+        /* Values are created up front so only the LAD is timed. */
+        final ChannelValueFactory valueFactory = new ChannelValueFactory();
+        final Random random = new Random(42);
+        final IServiceChannelValue[][] values = new IServiceChannelValue[threads][VALUES_PER_THREAD];
+        final String[][][] parents = new String[threads][VALUES_PER_THREAD][PARENTS];
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < VALUES_PER_THREAD; i++) {
+                final IServiceChannelValue val = valueFactory
+                        .createServiceChannelValue(defs.get(ids[random.nextInt(channels)]), random.nextDouble());
+                val.setRealtime(random.nextInt(8) != 0);
+                values[t][i] = val;
+                for (int p = 0; p < PARENTS; p++) {
+                    parents[t][i][p] = ids[random.nextInt(channels)];
+                }
+            }
+        }
+
+        final ChannelLad checkLad = new ChannelLad(provider, strategy);
+        final SynchronizedChannelLad checkReference = new SynchronizedChannelLad(provider, strategy);
+        for (final IServiceChannelValue[] threadValues : values) {
+            for (final IServiceChannelValue val : threadValues) {
+                checkLad.addNewValue(val);
+                checkReference.addNewValue(val);
+            }
+        }
+        for (final String id : ids) {
+            for (final boolean realtime : new boolean[] { true, false }) {
+                if (checkLad.getMostRecentValue(id, realtime, 0) != checkReference.getMostRecentValue(id, realtime)) {
+                    throw new IllegalStateException("Latest value mismatch for " + id + " realtime=" + realtime);
+                }
+            }
+        }
+        System.out.println("Consistency check passed for " + channels + " channels");
+
+        final MicroBenchmark bench = new MicroBenchmark();
+
+        final ChannelLad lad = new ChannelLad(provider, strategy);
+        final double lockFree = bench.measure("lock-free LAD, " + threads + " derivation threads", operations,
+                n -> runThreads(threads, n, (t, i) -> {
+                    long found = 0;
+                    for (final String parent : parents[t][i]) {
+                        if (lad.getMostRecentValue(parent, true, 0) != null) {
+                            found++;
+                        }
+                    }
+                    lad.addNewValue(values[t][i]);
+                    return found;
+                }));
+
+        final SynchronizedChannelLad reference = new SynchronizedChannelLad(provider, strategy);
+        final double locked = bench.measure("synchronized LAD, " + threads + " derivation threads", operations,
+                n -> runThreads(threads, n, (t, i) -> {
+                    long found = 0;
+                    for (final String parent : parents[t][i]) {
+                        if (reference.getMostRecentValue(parent, true) != null) {
+                            found++;
+                        }
+                    }
+                    reference.addNewValue(values[t][i]);
+                    return found;
+                }));
+
+        bench.compare("speedup", lockFree, locked);
+    }
+
+    /**
+     * One derivation: read the parents and add the child for the given thread
+     * and value index.
+     */
+    @FunctionalInterface
+    private interface Derivation {
+        long run(int thread, int index);
+    }
+
+    /**
+     * Runs the derivations split across the given number of threads and waits
+     * for them all.
+     */
+    private static long runThreads(final int threads, final long operations, final Derivation derivation)
+            throws InterruptedException {
+        final long perThread = operations / threads;
+        final long[] results = new long[threads];
+        final List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            final Thread worker = new Thread(() -> {
+                long sum = 0;
+                for (long i = 0; i < perThread; i++) {
+                    sum += derivation.run(thread, (int) (i % VALUES_PER_THREAD));
+                }
+                results[thread] = sum;
+            }, "ChannelLadBenchmark-" + t);
+            workers.add(worker);
+        }
+        for (final Thread worker : workers) {
+            worker.start();
+        }
+        long sum = 0;
+        for (int t = 0; t < threads; t++) {
+            workers.get(t).join();
+            sum += results[t];
+        }
+        return sum;
+    }
+
+    /**
+     * The previous LAD: one monitor and a key allocated per add and lookup.
+     * Flight channels only, so the station is always 0.
+     */
+    private static class SynchronizedChannelLad {
+        private final Map<Pair<String, Integer>, IServiceChannelValue> realtimeLadMap = new HashMap<>();
+        private final Map<Pair<String, Integer>, IServiceChannelValue> recordedLadMap = new HashMap<>();
+        private final IChannelDefinitionProvider                       channelTable;
+        private final ChannelTimeComparator                             timeCompare;
+
+        private SynchronizedChannelLad(final IChannelDefinitionProvider provider,
+                final TimeComparisonStrategyContextFlag strategy) {
+            this.channelTable = provider;
+            this.timeCompare = new ChannelTimeComparator(strategy);
+        }
+
+        private synchronized void addNewValue(final IServiceChannelValue val) {
+            channelTable.getDefinitionFromChannelId(val.getChanId());
+            final Pair<String, Integer> mapId = new Pair<>(val.getChanId(), 0);
+            final Map<Pair<String, Integer>, IServiceChannelValue> map = val.isRealtime() ? realtimeLadMap
+                    : recordedLadMap;
+            final IServiceChannelValue oldVal = map.get(mapId);
+            if (oldVal == null || timeCompare.timestampIsLater(oldVal, val)) {
+                map.put(mapId, val);
+            }
+        }
+
+        private synchronized IServiceChannelValue getMostRecentValue(final String id, final boolean realtime) {
+            channelTable.getDefinitionFromChannelId(id);
+            final Pair<String, Integer> mapId = new Pair<>(id, 0);
+            return realtime ? realtimeLadMap.get(mapId) : recordedLadMap.get(mapId);
+        }
+    }
+
+    /**
+     * A channel definition provider backed by a map.
+     */
+    private static class MapDefinitionProvider implements IChannelDefinitionProvider {
+        private final Map<String, IChannelDefinition> defs;
+
+        private MapDefinitionProvider(final Map<String, IChannelDefinition> defs) {
+            this.defs = defs;
+        }
+
+        @Override
+        public IChannelDefinition getDefinitionFromChannelId(final String id) {
+            return defs.get(id);
+        }
+
+        @Override
+        public Map<String, IChannelDefinition> getChannelDefinitionMap() {
+            return defs;
+        }
+
+        @Override
+        public List<IChannelDerivation> getChannelDerivations() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public SortedSet<String> getChanIds() {
+            return new TreeSet<>(defs.keySet());
+        }
+    }
+}
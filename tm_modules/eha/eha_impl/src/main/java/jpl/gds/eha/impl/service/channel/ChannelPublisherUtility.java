@@ -13,9 +13,6 @@
  */
 package jpl.gds.eha.impl.service.channel;
 
-import static jpl.gds.shared.exceptions.ExceptionTools.printStack;
-import static jpl.gds.shared.exceptions.ExceptionTools.rollUpMessages;
-
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -25,20 +22,15 @@ import java.util.Set;
 
 import org.springframework.context.ApplicationContext;
 
-import jpl.gds.common.eu.AlgorithmicDNtoEU;
-import jpl.gds.common.eu.IEUCalculationFactory;
 import jpl.gds.common.eu.ParameterizedAlgorithmicDNtoEU;
 import jpl.gds.context.api.EnableLstContextFlag;
 import jpl.gds.context.api.TimeComparisonStrategyContextFlag;
 import jpl.gds.dictionary.api.channel.ChannelDefinitionType;
 import jpl.gds.dictionary.api.channel.IChannelDefinition;
 import jpl.gds.dictionary.api.channel.IChannelDefinitionProvider;
-import jpl.gds.dictionary.api.command.ICommandDefinitionProvider;
-import jpl.gds.dictionary.api.config.DictionaryProperties;
 import jpl.gds.dictionary.api.eu.EUGenerationException;
 import jpl.gds.dictionary.api.eu.IEUCalculation;
 import jpl.gds.dictionary.api.eu.IParameterizedAlgorithmicEUDefinition;
-import jpl.gds.dictionary.api.sequence.ISequenceDefinitionProvider;
 import jpl.gds.eha.api.channel.IChannelLad;
 import jpl.gds.eha.api.channel.IChannelValueFactory;
 import jpl.gds.eha.api.channel.IServiceChannelValue;
@@ -47,14 +39,13 @@ import jpl.gds.eha.api.message.IChannelValueMessage;
 import jpl.gds.eha.api.message.IEhaMessageFactory;
 import jpl.gds.eha.api.service.channel.IChannelPublisherUtility;
 import jpl.gds.eha.channel.api.DerivationException;
-import jpl.gds.eha.channel.api.IAlgorithmUtility;
 import jpl.gds.eha.channel.api.ParameterizedEuBase;
 import jpl.gds.eha.impl.ChannelTimeComparator;
 import jpl.gds.eha.impl.service.channel.derivation.ACVMap;
 import jpl.gds.eha.impl.service.channel.derivation.AlgorithmicDerivation;
 import jpl.gds.eha.impl.service.channel.derivation.BitUnpackDerivation;
+import jpl.gds.eha.impl.service.channel.derivation.DerivationExecutor;
 import jpl.gds.eha.impl.service.channel.derivation.DerivationMap;
-import jpl.gds.shared.exceptions.ExcessiveInterruptException;
 import jpl.gds.shared.holders.PacketIdHolder;
 import jpl.gds.shared.holders.VcidHolder;
 import jpl.gds.shared.log.Loggers;
@@ -64,7 +55,6 @@ import jpl.gds.shared.log.Tracer;
 import jpl.gds.shared.message.IMessage;
 import jpl.gds.shared.message.IMessagePublicationBus;
 import jpl.gds.shared.spring.context.flag.SseContextFlag;
-import jpl.gds.shared.thread.SleepUtilities;
 import jpl.gds.shared.time.IAccurateDateTime;
 import jpl.gds.shared.time.ILocalSolarTime;
 import jpl.gds.shared.time.ISclk;
@@ -86,21 +76,20 @@ public class ChannelPublisherUtility implements IChannelPublisherUtility {
 	private static final Random  RANDOM        = new Random();
 	private static final int     MAX_CYCLE     = 10;
 	private static final int     MAX_ERROR     = 5;
-    private final long                       maxWait;
     private final boolean                    useTriggers;
     private final boolean                    doDerivation;
-    private final boolean                    USE_THREADS = false;
 
 	private boolean setSolTimes = false;
     private final IMessagePublicationBus messageBus;
     private final IChannelLad lad;
     private final ChannelTimeComparator timeCompare;
     private DerivationMap derivationMap;
+    private DerivationExecutor derivationExecutor;
     private final IChannelDefinitionProvider chanTable;
     private final ApplicationContext appContext;
 	private final IEhaMessageFactory ehaMessageFactory;
     private final IChannelValueFactory chanFactory;
-    private final IEUCalculationFactory euFactory;
+    private final ChannelEuCalculatorCache euCache;
     private final SseContextFlag             sseFlag;
 
 	// Keep track of algorithms we have already reported as exceeding the
@@ -124,16 +113,29 @@ public class ChannelPublisherUtility implements IChannelPublisherUtility {
 		this.ehaMessageFactory = appContext.getBean(IEhaMessageFactory.class);
 	    this.chanFactory = appContext.getBean(IChannelValueFactory.class);
         final EhaProperties ehaProps = appContext.getBean(EhaProperties.class);
-        maxWait = ehaProps.getDerivationTimeout();
         useTriggers = ehaProps.isUseTriggerChannels();
         doDerivation = ehaProps.isDerivationEnabled();
-        euFactory = appContext.getBean(IEUCalculationFactory.class);
+        euCache = new ChannelEuCalculatorCache(appContext);
+        euCache.populate(chanTable);
         sseFlag = appContext.getBean(SseContextFlag.class);
 	}
 	
 	@Override
-    public void initDerivations() {
+    public synchronized void initDerivations() {
 		this.derivationMap = this.appContext.getBean(DerivationMap.class);
+		if (this.derivationExecutor == null) {
+		    this.derivationExecutor = new DerivationExecutor(this.appContext);
+		}
+	}
+
+	@Override
+    public synchronized void shutdownDerivations() {
+		if (this.derivationExecutor != null) {
+		    this.derivationExecutor.shutdown();
+		    this.derivationExecutor = null;
+		}
+		// Makes the next derivation initialize again
+		this.derivationMap = null;
 	}
 	
 	/**
@@ -392,7 +394,6 @@ public class ChannelPublisherUtility implements IChannelPublisherUtility {
 			final DerivationMap              map,
 			final List<IServiceChannelValue> newChannelValues)
 	{
-		final ACVMap                           parents    = new ACVMap();
 		final ACVMap                           workingMap =
 				new ACVMap(workingList);
 		//final Collection<IInternalChannelValue> working    = workingMap.values();
@@ -429,11 +430,12 @@ public class ChannelPublisherUtility implements IChannelPublisherUtility {
 		// That should narrow the algorithm list to just a few that really apply
 		final Set<AlgorithmicDerivation> algosForParents = map
 				.getAlgorithmicDerivations(workingList);
+		final List<PendingDerivation> pending = new ArrayList<PendingDerivation>(algosForParents.size());
 		for (final AlgorithmicDerivation algo : algosForParents) {
 			// Find the ACVs in the working list that correspond to the
 			// required parents of the algorithm
 
-			parents.clear();
+			final ACVMap parents = new ACVMap();
 
 			/* 
 			 * Must now go through definition object
@@ -507,49 +509,18 @@ public class ChannelPublisherUtility implements IChannelPublisherUtility {
 
 			if ((foundCount > 0) && (parents.size() == aparents.size()))
 			{
-				// We have all the required channels, so derive.
+				// We have all the required channels, so queue the derivation.
 				// Note that at least one channel value must be from the packet.
+				// The timestamps on the child channels will be set to match
+				// those on the first incoming parent.
 
-				long start = 0;
-				//if (deriveLog.isEnabledFor(TraceSeverity.TRACE)) {
-				start = System.currentTimeMillis();
-				//}
-				final List<IServiceChannelValue> tempChannels = new ArrayList<IServiceChannelValue>(1);
-				doDerivation(algo, parents, tempChannels);
-				if (deriveLog.isEnabledFor(TraceSeverity.TRACE)) {
-					deriveLog.trace("Algorithm " + algo + " took " + (System.currentTimeMillis() - start) + " milliseconds");
-				}
-
-				IAccurateDateTime scet = null;
-				IAccurateDateTime ert = null;
-                ISclk sclk = null;
-				ILocalSolarTime sol = null;
-				if (firstParent != null) {
-					scet = firstParent.getScet();
-					sclk = firstParent.getSclk();
-					ert = firstParent.getErt();
-					if (setSolTimes) {
-						sol = firstParent.getLst();
-					}
-
-				}
-				// Set the timestamps on these child channels to match that on the
-				// incoming channels
-				for (final IServiceChannelValue acv : tempChannels)
-				{
-					if (firstParent != null) {
-						acv.setScet(scet);
-						acv.setSclk(sclk);
-						acv.setErt(ert);
-						acv.setLst(sol);
-					}
-
-					acv.setRealtime(rt);
-				}
-
-				newChannelValues.addAll(tempChannels);
+				pending.add(new PendingDerivation(algo, parents, firstParent.getScet(),
+				        firstParent.getSclk(), firstParent.getErt(),
+				        setSolTimes ? firstParent.getLst() : null, rt));
 			}
 		}
+
+		runDerivations(pending, newChannelValues);
 	}
 
 
@@ -571,7 +542,6 @@ public class ChannelPublisherUtility implements IChannelPublisherUtility {
 			final DerivationMap map,
 			final List<IServiceChannelValue> newChannelValues) {
 
-		final ACVMap parents = new ACVMap();
 		final ACVMap workingMap = new ACVMap(workingList);
 		final Collection<IServiceChannelValue> working = workingMap.values();
 
@@ -584,6 +554,8 @@ public class ChannelPublisherUtility implements IChannelPublisherUtility {
 			return;
 		}
 
+		final List<PendingDerivation> pending = new ArrayList<PendingDerivation>(algosForParents.size());
+
 		//see if any channel in the working set is a trigger channel for a derivation
 		for (final IServiceChannelValue trigger : working)
 		{
@@ -626,7 +598,7 @@ public class ChannelPublisherUtility implements IChannelPublisherUtility {
 					stationId = trigger.getDssId();
 				}
 
-				parents.clear();
+				final ACVMap parents = new ACVMap();
 
 				// get the parents of the algorithm
 				final List<String> aparents = algo.getDefinition().getParents();
@@ -689,45 +661,107 @@ public class ChannelPublisherUtility implements IChannelPublisherUtility {
 				}
 
 				if (parents.size() == aparents.size()) {
-					// We have all the required channels, so derive
-
-					long start = 0;
-					//if (deriveLog.isEnabledFor(TraceSeverity.TRACE)) {
-					start = System.currentTimeMillis();
-					//}
-					final List<IServiceChannelValue> tempChannels = new ArrayList<IServiceChannelValue>(1);
-					doDerivation(algo, parents, tempChannels);
-					if (deriveLog.isEnabledFor(TraceSeverity.TRACE)) {
-						deriveLog.trace("Algorithm " + algo + " took " + (System.currentTimeMillis() - start) + " milliseconds");
-					}
+					// We have all the required channels, so queue the derivation.
+					// Child timestamps will match those of the trigger.
+					pending.add(new PendingDerivation(algo, parents, trigger.getScet(),
+					        trigger.getSclk(), trigger.getErt(), trigger.getLst(), rt));
+				}
+			}
+		}
+
+		runDerivations(pending, newChannelValues);
+	}
 
-					for (final IServiceChannelValue acv : tempChannels)
-					{
-						acv.setScet(trigger.getScet());
-						acv.setSclk(trigger.getSclk());
-						acv.setErt(trigger.getErt());
-						acv.setLst(trigger.getLst());
-						acv.setRealtime(rt);
-					}
 
-					newChannelValues.addAll(tempChannels);
+	/**
+	 * Run a set of queued algorithmic derivations. All of the derivations
+	 * were queued in the same derivation cycle, so their parents have already
+	 * been resolved and none can consume the output of another; they are
+	 * therefore independent and may be executed in parallel. Children are
+	 * added to the new channel list in the order the derivations were queued.
+	 *
+	 * @param pending the queued derivations
+	 * @param newChannelValues derived channel value list to which child
+	 *        channels should be added
+	 */
+	private void runDerivations(
+			final List<PendingDerivation>    pending,
+			final List<IServiceChannelValue> newChannelValues)
+	{
+		final List<PendingDerivation>     runnable = new ArrayList<PendingDerivation>(pending.size());
+		final List<AlgorithmicDerivation> algos    = new ArrayList<AlgorithmicDerivation>(pending.size());
+		final List<ACVMap>                parents  = new ArrayList<ACVMap>(pending.size());
+
+		for (final PendingDerivation pd : pending) {
+			if (checkDerivation(pd.algo, pd.parents)) {
+				runnable.add(pd);
+				algos.add(pd.algo);
+				parents.add(pd.parents);
+			}
+		}
+
+		if (runnable.isEmpty()) {
+			return;
+		}
+
+		final long start = System.currentTimeMillis();
+		final List<Pair<ACVMap, Integer>> results = derivationExecutor.executeAll(algos, parents);
+		if (deriveLog.isEnabledFor(TraceSeverity.TRACE)) {
+			deriveLog.trace("Algorithms " + algos + " took " + (System.currentTimeMillis() - start) + " milliseconds");
+		}
+
+		for (int i = 0; i < runnable.size(); i++) {
+			final PendingDerivation     pd     = runnable.get(i);
+			final Pair<ACVMap, Integer> result = results.get(i);
+
+			if (result == null)
+			{
+				continue;
+			}
+
+			final ACVMap children = result.getOne();
+
+			if ((children == null) || children.isEmpty())
+			{
+				continue;
+			}
+
+			// Set the timestamps on these child channels to match that on the
+			// incoming channels
+			for (final IServiceChannelValue acv : children.values())
+			{
+				acv.setScet(pd.scet);
+				acv.setSclk(pd.sclk);
+				acv.setErt(pd.ert);
+				acv.setLst(pd.sol);
+				acv.setRealtime(pd.realtime);
+			}
+
+			newChannelValues.addAll(children.values());
+
+			// The loop still executes, even if DEBUG is not enabled.
+			// This wastes cycles. Added the debug check.
+			if (deriveLog.isDebugEnabled()) {
+				final String algo_id = pd.algo.getDefinition().getId();
+				for (final String ci : children.keySet())
+				{
+					deriveLog.debug("Generated " + ci + " through " + algo_id);
 				}
+				deriveLog.debug(algo_id + " returned " + result.getTwo());
 			}
 		}
 	}
 
-
 	/**
-	 * Perform an algorithmic derivation.
+	 * Check whether an algorithmic derivation may be run.
 	 *
-	 * @param algo
-	 * @param parents
-	 * @param newChannelValues
+	 * @param algo the derivation to check
+	 * @param parents the parent channel values for the derivation
+	 * @return true if the derivation may be run, false if not
 	 */
-	private void doDerivation(
+	private boolean checkDerivation(
 			final AlgorithmicDerivation      algo,
-			final ACVMap                     parents,
-			final List<IServiceChannelValue> newChannelValues)
+			final ACVMap                     parents)
 	{
 		// Check parents to make sure
 		// channels are all flight or all monitor, not mixed.
@@ -742,7 +776,7 @@ public class ChannelPublisherUtility implements IChannelPublisherUtility {
 				// we cannot have a null definition type
 				deriveLog.error("Unknown Channel Definition Type for channel, "
 						+ chanVal.getChanId() + ". Aborting derivation.");
-				return;
+				return false;
 			}
 
 			// first iteration will determine whether we "expect" the parent
@@ -779,7 +813,7 @@ public class ChannelPublisherUtility implements IChannelPublisherUtility {
 								+ "' has exceeded permissible error count, not run: Parent/Child monitor channel type inconsistent.");
 					}
 
-					return;
+					return false;
 				}
 
 				// if we meet any error conditions issue warning and abandon
@@ -788,7 +822,7 @@ public class ChannelPublisherUtility implements IChannelPublisherUtility {
 				.warn("Detected a mixture of monitor and non monitor channels for parents to the derivation: "
 						+ algo.getDefinition().getId() + ". Abandoning derivation");
 				algo.incrementErrorCount();
-				return;
+				return false;
 			}
 		}
 
@@ -807,10 +841,15 @@ public class ChannelPublisherUtility implements IChannelPublisherUtility {
 						"' has exceeded permissible error count, not run");
 			}
 
-			return;
+			return false;
 		}
 
-		// Run as thread, timing out if it runs away
+		if (derivationExecutor.isQuarantined(algo))
+		{
+			return false;
+		}
+
+		// Run on the derivation worker pool, timing out if it runs away
 
 		// (Do NOT log at debug level; we want to know the name of the last
 		// algorithm in case the process has to be killed.)
@@ -822,38 +861,7 @@ public class ChannelPublisherUtility implements IChannelPublisherUtility {
 		    deriveLog.debug("Running algorithmic derivation: " + algo_id);
 		}
 
-        final RunAlgorithm ra = new RunAlgorithm(algo, parents, maxWait);
-
-		if (USE_THREADS)
-		{
-			ra.start();
-		}
-		else
-		{
-			ra.run();
-		}
-
-		final Pair<ACVMap, Integer> result = ra.getResult();
-
-		if (result != null)
-		{
-			final ACVMap children = result.getOne();
-
-			if ((children != null) && !children.isEmpty())
-			{
-				newChannelValues.addAll(children.values());
-
-				// The loop still executes, even if DEBUG is not enabled.
-				// This wastes cycles. Added the debug check.
-				if (deriveLog.isDebugEnabled()) {
-					for (final String ci : children.keySet())
-					{
-						deriveLog.debug("Generated " + ci + " through " + algo_id);
-					}
-					deriveLog.debug(algo_id + " returned " + result.getTwo());
-				}
-			}
-		}
+		return true;
 	}
 
 	/**
@@ -947,121 +955,45 @@ public class ChannelPublisherUtility implements IChannelPublisherUtility {
 
 
     /**
-	 * Class to run and time out user-supplied derived algorithms. We time
-	 * them out and kill them, because we don't know what else we can do
-	 * to stop them.
-	 *
-	 * The thread is run at diminished priority to make it easier to stop.
+	 * An algorithmic derivation whose parents have been resolved, queued for
+	 * execution, along with the timestamps to be applied to its children.
 	 */
-	private class RunAlgorithm extends Thread
+	private static class PendingDerivation
 	{
-		private final AlgorithmicDerivation _algo;
-		private final ACVMap                _parents;
-		private final long                  _wait;
-		private final String                _id;
-
-		private Pair<ACVMap, Integer> _result = null;
-
-
-		/**
-		 * Runs an algorithm derivation.
-		 * @param algo algorithm derivation to run
-		 * @param parents set of channel values
-		 * @param wait wait time for the thread
-		 */
-		public RunAlgorithm(final AlgorithmicDerivation algo,
-				final ACVMap                parents,
-				final long                  wait)
-		{
-			super();
-
-			_algo    = algo;
-			_parents = parents;
-			_wait    = Math.max(wait, 1L);
-			/* 
-			 * Must now go through definition object
-			 * to get derivation attributes (parents, children, id, etc.)
-			 */
-			_id      = _algo.getDefinition().getId();
-
-			setDaemon(true);
-			setName("Algorithm_" + _id);
-			setPriority(Thread.MIN_PRIORITY);
-		}
-
+		private final AlgorithmicDerivation algo;
+		private final ACVMap                parents;
+		private final IAccurateDateTime     scet;
+		private final ISclk                 sclk;
+		private final IAccurateDateTime     ert;
+		private final ILocalSolarTime       sol;
+		private final boolean               realtime;
 
 		/**
-		 * Get the result, or null if error. Wait until the thread terminates
-		 * or times out.
+		 * Constructor.
 		 *
-		 * @return Result of running algorithm or null
+		 * @param algo derivation to run
+		 * @param parents parent channel values
+		 * @param scet SCET for child channels
+		 * @param sclk SCLK for child channels
+		 * @param ert ERT for child channels
+		 * @param sol LST for child channels; may be null
+		 * @param realtime realtime flag for child channels
 		 */
-		public Pair<ACVMap, Integer> getResult()
-		{
-			try
-			{
-				SleepUtilities.fullJoin(this, _wait);
-			}
-			catch (final ExcessiveInterruptException eie)
-			{
-				deriveLog.error("EhaPublisherUtility.getResult Could not join: " +
-						rollUpMessages(eie));
-
-				// Do not return here; the thread may not be alive
-			}
-
-			if (isAlive())
-			{
-				// Timed out, no choice but to kill it
-
-				// Get state BEFORE we stop it
-				final Thread.State        state = getState();
-				final StackTraceElement[] stack = getStackTrace();
-
-				this.stop();
-
-				_algo.incrementErrorCount();
-
-				deriveLog.error("Forced to kill derived algorithm id '" +
-						_id                                +
-						"' in state "                           +
-						state);
-
-				// Don't put tracebacks in logs
-
-				System.out.println("Traceback for '" +
-						_id               +
-						"':\n"            +
-						printStack(stack));
-			}
-
-			return _result;
-		}
-
-
-		/**
-		 * Run the algorithm. The deriveChannels method takes care of all
-		 * throwables and rethrows as the DerivationException. We also check
-		 * for throwable just in case, so we can properly account for the
-		 * thread's death.
-		 */
-		@Override
-		public void run()
+		public PendingDerivation(final AlgorithmicDerivation algo,
+				final ACVMap                parents,
+				final IAccurateDateTime     scet,
+				final ISclk                 sclk,
+				final IAccurateDateTime     ert,
+				final ILocalSolarTime       sol,
+				final boolean               realtime)
 		{
-			try
-			{
-				_result = _algo.deriveChannels(appContext, _parents);
-			}
-			catch (final ThreadDeath td)
-			{
-				throw td;
-			}
-			catch (final Throwable t)
-			{
-				t.printStackTrace();
-				_algo.incrementErrorCount();
-				deriveLog.error("Problem producing derived algorithmic channels for id '" + _id + "': " + rollUpMessages(t));
-			}
+			this.algo     = algo;
+			this.parents  = parents;
+			this.scet     = scet;
+			this.sclk     = sclk;
+			this.ert      = ert;
+			this.sol      = sol;
+			this.realtime = realtime;
 		}
 	}
 	
@@ -1077,48 +1009,22 @@ public class ChannelPublisherUtility implements IChannelPublisherUtility {
             try {
                 double euVal = 0.0;
                 if (chanval.getChannelType().isNumberType() && chanval.hasEu()) {
-                    final IEUCalculation dnToEu = euFactory.createEuCalculator(chanDef.getDnToEu());
+                    /* Calculators are built once per channel definition and cached. */
+                    final IEUCalculation dnToEu = euCache.getCalculator(chanDef);
 
-                    /* Set builtin parameters for parameterized EU */
+                    /* Set builtin parameters for parameterized EU. The parameters live in the
+                     * shared definition, so setting them and computing the EU must not interleave
+                     * with another decom partition using the same cached calculator. */
                     if (dnToEu instanceof ParameterizedAlgorithmicDNtoEU) {
-                        populateBuiltinEuParameters((ParameterizedAlgorithmicDNtoEU)dnToEu, chanval);
-                    }
-
-                    /* The dnToEu object is not the actual user algorithm instance.
-                     * If it is an AlgorithmicDNToEU, we want to instantiate the actual user class inside of it.
-                     */
-                    if (dnToEu instanceof AlgorithmicDNtoEU) {
-                        
-                        final Object temp = ((AlgorithmicDNtoEU)dnToEu).getAlgorithmInstance();
-
-                        /*  Now if the actual user algorithm instance supports the
-                         * algorithm utility interface, use that interface to set things like the channel definition
-                         * map and LAD, so that the algorithm instance has access to these things. 
-                         */
-                        if (temp instanceof IAlgorithmUtility) {
-
-                            final IAlgorithmUtility algorithm = (IAlgorithmUtility)temp;
-                            try {
-                                algorithm.setChannelDefinitionMap(lad.getDefinitionProvider().getChannelDefinitionMap());
-                                algorithm.setLogger(TraceManager.getTracer(appContext, Loggers.TLM_DERIVATION));
-                                algorithm.setDictionaryProperties(appContext.getBean(DictionaryProperties.class));
-                                algorithm.setLadProvider(lad);
-                                try {
-                                    final ISequenceDefinitionProvider dict = appContext.getBean(ISequenceDefinitionProvider.class);
-                                    algorithm.setSequenceDictionary(dict);
-                                } catch (final Exception e) {
-                                    deriveLog.warn("No sequence dictionary found; sequence operations not available in EU conversions");
-                                }
-                                algorithm.setOpcodeToStemMap(appContext.getBean(ICommandDefinitionProvider.class).getStemByOpcodeMap());
-                            } catch (final DerivationException e) {
-                                /*  We need a visible stack trace here and the warning log does not seem to include it. */
-                                e.printStackTrace();
-                                deriveLog.warn("Error initializing DN-EU conversion for channel: " + e.toString(), e);
-                            }
+                        synchronized (dnToEu) {
+                            populateBuiltinEuParameters((ParameterizedAlgorithmicDNtoEU)dnToEu, chanval);
+                            euVal = dnToEu.eu(chanval.doubleValue());
                         }
+                        chanval.setEu(euVal);
+                    } else if (dnToEu != null) {
+                        euVal = dnToEu.eu(chanval.doubleValue());
+                        chanval.setEu(euVal);
                     }
-                    euVal = dnToEu.eu(chanval.doubleValue());
-                    chanval.setEu(euVal);
                 }
             } catch (final EUGenerationException e) {
                 e.setChannelId(chanDef.getId());
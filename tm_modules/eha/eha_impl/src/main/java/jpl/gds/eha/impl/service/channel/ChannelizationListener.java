@@ -36,16 +36,18 @@ import jpl.gds.shared.types.BitBuffer;
 import jpl.gds.tm.service.api.packet.ITelemetryPacketInfo;
 import org.springframework.context.ApplicationContext;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Supplier;
 
 /**
  * Decom listener that creates channel values from decom events.  Does not publish new channel values
  * itself; merely creates the values and then provides its internal list to the owner of the
  * listener object.
  * 
+ * Decom events are recorded in a {@link ChannelSampleBuffer} without boxing or
+ * creating channel value objects. The collected list creates each channel value
+ * when it is first read, and the sample storage is then reused for later packets.
+ * 
  * Channel values are not necessarily stamped with the same ISclk value; the listener
  * caches visited SCLK values.  This makes the listener stateful; it is not thread safe
  * and should not be shared.  It can, however, be reused for multiple sequential
@@ -62,7 +64,7 @@ public class ChannelizationListener extends AbstractChannelDecomListener impleme
 {
 	protected Tracer log;
 	
-	private List<IServiceChannelValue> cvList = new ArrayList<IServiceChannelValue>();
+	private final ChannelSampleBuffer samples = new ChannelSampleBuffer();
 
     /**
      * current spacecraft clock
@@ -148,19 +150,7 @@ public class ChannelizationListener extends AbstractChannelDecomListener impleme
     	this.log = tracer;
 	}
 
-	private void createChannelValue(final IChannelizableDataDefinition def, final Supplier<IServiceChannelValue> create) {
-
-	    final IChannelDefinition channelDef = findChannelValue(def);
-	    if (channelDef != null) {
-	        final IServiceChannelValue chanVal = create.get();
-	        chanVal.setSclk(currentSclk);
-	        chanVal.setScet(currentScet);
-	        cvList.add(chanVal);
-	    }
-	}
-	
-	
-	    /**
+    /**
      * {@inheritDoc}
      */
 	@Override
@@ -192,64 +182,62 @@ public class ChannelizationListener extends AbstractChannelDecomListener impleme
      */
     @Override
     public List<IServiceChannelValue> collectChannelValues() {
-		final List<IServiceChannelValue> returnList = this.cvList;
-		this.cvList = new ArrayList<>();
-		return returnList;
+		return samples.collect(chanFactory);
 	}
 
 	@Override
 	public void onInteger(final IIntegerDefinition def, final long value) {
+	    if (def == null) {
+	        return;
+	    }
 	    final IChannelDefinition channelDef = findChannelValue(def);
-	    if (def != null && channelDef != null) {
-	        createChannelValue(def, () -> { return chanFactory.createServiceChannelValue(channelDef, Long.valueOf(value));
-	        });
+	    if (channelDef != null) {
+	        samples.addLong(channelDef, value, currentSclk, currentScet);
 	    }
-	        
-//			if (def.isUnsigned()) {
-//				return chanFactory.create(channelDef, Long.valueOf(value));
-//			} else {
-//				return new IntegerChannelValue(value);
-//			}
 	}
 
 	@Override
 	public void onString(final IStringDefinition def, final String value) {
+	    if (def == null) {
+	        return;
+	    }
 	    final IChannelDefinition channelDef = findChannelValue(def);
-	    if (def != null && channelDef != null) {
-	        createChannelValue(def, () -> {
-	            return chanFactory.createServiceChannelValue(channelDef, value);
-	        });
+	    if (channelDef != null) {
+	        samples.addObject(channelDef, value, currentSclk, currentScet);
 	    }
 	}
 
 	@Override
 	public void onBoolean(final IBooleanDefinition def, final boolean value) {
+	    if (def == null) {
+	        return;
+	    }
 	    final IChannelDefinition channelDef = findChannelValue(def);
-	    if (def != null && channelDef != null) {
-	        createChannelValue(def, () -> {
-	            return chanFactory.createServiceChannelValue(channelDef, value);
-	        });
+	    if (channelDef != null) {
+	        samples.addBoolean(channelDef, value, currentSclk, currentScet);
 	    }
 	}
 	
 	@Override
     public void onFloat(final IFloatingPointDefinition def, final float val) {
-	    final IChannelDefinition channelDef = findChannelValue(def); 
-	    if (def != null && channelDef != null) {
-	        createChannelValue(def, () -> {
-	            return chanFactory.createServiceChannelValue(channelDef, Float.valueOf(val));
-	        });
+	    if (def == null) {
+	        return;
+	    }
+	    final IChannelDefinition channelDef = findChannelValue(def);
+	    if (channelDef != null) {
+	        samples.addFloat(channelDef, val, currentSclk, currentScet);
 	    }
 	}
 
 
 	@Override
 	public void onDouble(final IFloatingPointDefinition def, final double value) {
+	    if (def == null) {
+	        return;
+	    }
 	    final IChannelDefinition channelDef = findChannelValue(def);
-	    if (def != null && channelDef != null) {
-	        createChannelValue(def, () -> {
-	            return chanFactory.createServiceChannelValue(channelDef, Double.valueOf(value));
-	        });
+	    if (channelDef != null) {
+	        samples.addDouble(channelDef, value, currentSclk, currentScet);
 	    }
 	}
 	
@@ -265,50 +253,33 @@ public class ChannelizationListener extends AbstractChannelDecomListener impleme
 	
 	@Override
 	public void onEnum(final IEnumDataDefinition def, final int value) {
+	    if (def == null) {
+	        return;
+	    }
 	    final IChannelDefinition channelDef = findChannelValue(def);
-        if (def != null && channelDef != null) {
-            createChannelValue(def, () -> {
-                return chanFactory.createServiceChannelValue(channelDef, Integer.valueOf(value));
-            });
-        }		
+	    if (channelDef != null) {
+	        samples.addInt(channelDef, value, currentSclk, currentScet);
+	    }
 	}
 	
 	@Override
 	public void onChannel(final IChannelStatementDefinition statement, final long val) {
-		IServiceChannelValue chanVal;
-		chanVal = new IntegerChannelValue(val);
-		chanVal.setChannelDefinition(statement.getChannelDefinition());
-		chanVal.setSclk(currentSclk);
-		chanVal.setScet(currentScet);
-		cvList.add(chanVal);
+		samples.addIntegerValue(statement.getChannelDefinition(), val, currentSclk, currentScet);
 	}
 
 	@Override
 	public void onChannel(final IChannelStatementDefinition statement, final float val) {
-		final IServiceChannelValue chanVal = new FloatChannelValue(val);
-		chanVal.setChannelDefinition(statement.getChannelDefinition());
-		chanVal.setSclk(currentSclk);
-		chanVal.setScet(currentScet);
-		cvList.add(chanVal);
-		
+		samples.addFloatValue(statement.getChannelDefinition(), val, currentSclk, currentScet);
 	}
 
 	@Override
 	public void onChannel(final IChannelStatementDefinition statement, final double val) {
-		final IServiceChannelValue chanVal = new FloatChannelValue(val);
-		chanVal.setChannelDefinition(statement.getChannelDefinition());
-		chanVal.setSclk(currentSclk);
-		chanVal.setScet(currentScet);
-		cvList.add(chanVal);
+		samples.addDoubleValue(statement.getChannelDefinition(), val, currentSclk, currentScet);
 	} 
 
 	@Override
 	public void onChannel(final IChannelStatementDefinition statement, final String val) {
-		final IServiceChannelValue chanVal = new ASCIIChannelValue(val);
-		chanVal.setChannelDefinition(statement.getChannelDefinition());
-		chanVal.setSclk(currentSclk);
-		chanVal.setScet(currentScet);
-		cvList.add(chanVal);
+		samples.addAsciiValue(statement.getChannelDefinition(), val, currentSclk, currentScet);
 	};
 
 	@Override
@@ -322,45 +293,30 @@ public class ChannelizationListener extends AbstractChannelDecomListener impleme
 				log.warn(String.format("Custom decom algorithm %s produced an unknown channel ID: %s", algorithm.getClass().getName(), builder.getChannelId()));
 				continue;
 			}
-			IServiceChannelValue val;
 			switch(def.getChannelType()) {
 	        case SIGNED_INT:
 	        case STATUS:
-	            val = new IntegerChannelValue();
-	            break;
 	        case DIGITAL:
 	        case UNSIGNED_INT:
 	        case TIME:
-	            val = new UnsignedChannelValue();
-	            break;
 	        case FLOAT:
-	            val = new FloatChannelValue();
-	            break;
 	        case ASCII:
-	            val = new ASCIIChannelValue();
-	            break;
 	        case BOOLEAN:
-	            val = new BooleanChannelValue();
 	            break;
 	        default:
 	        	log.warn(
 	                    "Unrecognized or unsupported channel type: " + def.getChannelType());
 	        	continue;
 	        }
-	        val.setChannelDefinition(def);
 	        if (!currentSclk.equals(builder.getSclk())) {
 	        	currentSclk = builder.getSclk();
                 currentScet = SclkScetUtility.getScet(builder.getSclk(), currentErt, scid, log);
 	        }
-        	val.setSclk(currentSclk);
-        	val.setScet(currentScet);
-	        val.setDn(builder.getDn());
+	        samples.addObject(def, builder.getDn(), currentSclk, currentScet);
 
 	        if (builder.isEuSet() && def.getChannelType() != ChannelType.ASCII) {
-	        	val.setEu(builder.getEu());
+	        	samples.setLastEu(builder.getEu());
 	        }
-
-	        cvList.add(val);
 		}
 		
 
@@ -27,6 +27,7 @@ import jpl.gds.dictionary.api.channel.IChannelDefinitionProvider;
 import jpl.gds.dictionary.api.decom.IChannelDecomDefinitionProvider;
 import jpl.gds.dictionary.api.decom.IDecomMapDefinition;
 import jpl.gds.eha.api.channel.IServiceChannelValue;
+import jpl.gds.eha.api.config.EhaProperties;
 import jpl.gds.eha.api.service.channel.IChannelPublisherUtility;
 import jpl.gds.eha.api.service.channel.IChannelizationListener;
 import jpl.gds.eha.api.service.channel.IDecomListenerFactory;
@@ -39,6 +40,7 @@ import jpl.gds.shared.message.BaseMessageHandler;
 import jpl.gds.shared.message.IMessage;
 import jpl.gds.shared.message.IMessagePublicationBus;
 import jpl.gds.shared.message.MessageSubscriber;
+import jpl.gds.shared.thread.OrderedPartitionExecutor;
 import jpl.gds.tm.service.api.TmServiceMessageType;
 import jpl.gds.tm.service.api.packet.ITelemetryPacketInfo;
 import jpl.gds.tm.service.api.packet.ITelemetryPacketMessage;
@@ -51,6 +53,12 @@ import java.util.SortedSet;
  * This class listens for incoming packets message that contain data to be
  * decommed, decoms non-pre-channelized EHA data from them according to a decom
  * map, and publishes EhaChannel messages containing the extracted values.
+ * <p>
+ * If more than one decom partition is configured, packets are decommed in
+ * parallel, with each APID assigned to one partition that has its own decom
+ * engine and listener. Channels are still published one packet at a time, in
+ * the order the packets arrived, so everything downstream of this service sees
+ * the same sequence of messages as with a single partition.
  * 
  *
  */
@@ -84,7 +92,20 @@ public class GenericPacketDecomService implements IGenericPacketDecomService {
     
     /** Cached decom dictionary is okay for use by subclasses */
     protected IChannelDecomDefinitionProvider decomMapTable;
-    private final StringBuilder sb;
+    
+    private static final long PARTITION_DRAIN_TIMEOUT = 10000;
+    
+    /**
+     * Decom engine and listener for each partition. Partition 0 uses
+     * decomEngine and decomListener.
+     */
+    private DecomPartition[] partitions;
+    
+    /**
+     * Executor used to decom on multiple partitions, or null if there is
+     * only one partition.
+     */
+    private OrderedPartitionExecutor<PacketDecomResult> partitionExecutor;
     
 
     protected DecomEngine decomEngine;
@@ -131,8 +152,6 @@ public class GenericPacketDecomService implements IGenericPacketDecomService {
         this.contextConfig = contextConfig;
         this.pubUtil = pubUtil;
 
-        sb = new StringBuilder(1024);
-
         setDecomApids(loadDecomApidsFromDictionary(this.appContext));
 
 
@@ -182,8 +201,10 @@ public class GenericPacketDecomService implements IGenericPacketDecomService {
             return false;
         }
 
-        this.subscriber = new PacketMessageSubscriber();
         initializeDecom();
+        initializePartitions(appContext.getBean(EhaProperties.class));
+        compileDecomMaps();
+        this.subscriber = new PacketMessageSubscriber();
 
         this.started = true;
         trace.debug("Packet Decom Processor has started");
@@ -203,6 +224,59 @@ public class GenericPacketDecomService implements IGenericPacketDecomService {
         decomEngine.addListener(decomListener);
     }
 
+    /**
+     * Creates the decom partitions. Partition 0 uses the decom engine and
+     * listener created by initializeDecom(); initializeDecom() is called again
+     * for each additional partition.
+     * 
+     * @param ehaProps
+     *            EHA configuration properties
+     */
+    private void initializePartitions(final EhaProperties ehaProps) {
+        final int count = ehaProps.getDecomPartitionCount();
+        partitions = new DecomPartition[count];
+        partitions[0] = new DecomPartition(decomEngine, decomListener);
+
+        if (count == 1) {
+            return;
+        }
+
+        for (int i = 1; i < count; i++) {
+            initializeDecom();
+            partitions[i] = new DecomPartition(decomEngine, decomListener);
+        }
+        decomEngine = partitions[0].engine;
+        decomListener = partitions[0].listener;
+
+        partitionExecutor = new OrderedPartitionExecutor<>("Packet_Decom", count,
+                ehaProps.getDecomMaxPendingPackets(), trace);
+        trace.debug("Packet Decom Processor is using ", count, " partitions");
+    }
+
+    /**
+     * Compiles the decom maps for all decom APIDs on every partition's engine,
+     * so that no map is compiled while packets are being processed.
+     */
+    private void compileDecomMaps() {
+        if (decomApids == null) {
+            return;
+        }
+        for (final Integer apid : decomApids) {
+            final IDecomMapDefinition map = decomMapTable.getDecomMapByApid(apid);
+            if (map == null) {
+                continue;
+            }
+            try {
+                for (final DecomPartition partition : partitions) {
+                    partition.engine.compile(map);
+                }
+            } catch (final RuntimeException e) {
+                // The map will be compiled, and any error reported, when a packet uses it
+                trace.warn("Could not compile decom map for APID ", apid, ": ", ExceptionTools.getMessage(e));
+            }
+        }
+    }
+
     /**
      * Processes a telemetry PacketMessage by attempting to decom EHA from it
      * and sending out channel messages. If the packet is not a generic decom
@@ -210,13 +284,15 @@ public class GenericPacketDecomService implements IGenericPacketDecomService {
      * for the packet will include a start channel processing message, the eha
      * channel messages themselves, and an end of channel processing message.
      * All will have the same stream ID attached.
+     * <p>
+     * With more than one partition, the decom and publication are handed off
+     * to the partition executor and this method returns once the packet is
+     * queued.
      * 
      * @param pm
      *            the PacketMessage containing the data to process
      */
     protected void handlePacketMessage(final ITelemetryPacketMessage pm) {
-        final IDecomMapDefinition map;
-        
         if (!contextConfig.accept(pm)) {
             return;
         }
@@ -228,21 +304,47 @@ public class GenericPacketDecomService implements IGenericPacketDecomService {
         }
 
         final int apid = pm.getPacketInfo().getApid();
-        map = this.decomMapTable.getDecomMapByApid(apid);
 
-        if (map == null) {
-            this.sb.append("Could not find decom map to process packet APID ");
-            this.sb.append(apid);
-            trace.warn(this.sb.toString());
-            this.sb.setLength(0);
+        if (partitionExecutor == null) {
+            publishDecomResult(pm, decomPacket(pm, partitions[0]));
             return;
         }
 
+        final DecomPartition partition = partitions[partitionExecutor.getPartition(apid)];
+        try {
+            partitionExecutor.submit(apid, () -> decomPacket(pm, partition),
+                    result -> publishDecomResult(pm, result));
+        } catch (final InterruptedException e) {
+            trace.warn("Interrupted while queueing packet for decom; packet ", 
+                    pm.getPacketInfo().getIdentifierString(), " was not processed");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Decoms a packet using the engine and listener of one partition. With
+     * more than one partition, this is called on the partition's thread.
+     * 
+     * @param pm
+     *            the PacketMessage containing the data to process
+     * @param partition
+     *            the partition to decom with
+     * @return the decom result, or null if the packet has no decom map
+     */
+    private PacketDecomResult decomPacket(final ITelemetryPacketMessage pm, final DecomPartition partition) {
+        final int apid = pm.getPacketInfo().getApid();
+        final IDecomMapDefinition map = this.decomMapTable.getDecomMapByApid(apid);
+
+        if (map == null) {
+            trace.warn("Could not find decom map to process packet APID ", apid);
+            return null;
+        }
+
         // 07/08/2016 - Use new decom engine / visitor pattern
-        decomListener.setPacketInfo(pm.getPacketInfo());
+        partition.listener.setPacketInfo(pm.getPacketInfo());
         try {
-			decomEngine.decom(map, pm.getPacket(), 0, pm.getPacketInfo().getSize() * Byte.SIZE);
-		} catch (final DecomException e) {
+            partition.engine.decom(map, pm.getPacket(), 0, pm.getPacketInfo().getSize() * Byte.SIZE);
+        } catch (final DecomException e) {
 			trace.error(String.format("Generic decom failure occurred while processing packet %s; cause: %s",
 					pm.getPacketInfo().getIdentifierString(),
 					e.getMessage()));
@@ -250,7 +352,34 @@ public class GenericPacketDecomService implements IGenericPacketDecomService {
 			// with pre-R7.4 behavior.
 		}
 
-        final List<IServiceChannelValue> ehaList = decomListener.collectChannelValues();
+        return collectDecomResult(partition.listener);
+    }
+
+    /**
+     * Collects the values produced by the last decom from a partition's
+     * listener. Subclasses that produce more than channels override this to
+     * collect them as well.
+     * 
+     * @param listener
+     *            the partition's decom listener
+     * @return the decom result
+     */
+    protected PacketDecomResult collectDecomResult(final IChannelizationListener listener) {
+        return new PacketDecomResult(listener.collectChannelValues());
+    }
+
+    /**
+     * Publishes the channels decommed from a packet. With more than one
+     * partition, this is called on the partition executor's merge thread, in
+     * packet arrival order.
+     * 
+     * @param pm
+     *            the PacketMessage the result was decommed from
+     * @param result
+     *            the decom result; may be null if nothing was decommed
+     */
+    protected void publishDecomResult(final ITelemetryPacketMessage pm, final PacketDecomResult result) {
+        final List<IServiceChannelValue> ehaList = result == null ? null : result.channelValues;
 
         if (ehaList == null || ehaList.isEmpty()) {
             return;
@@ -296,6 +425,11 @@ public class GenericPacketDecomService implements IGenericPacketDecomService {
         if (this.subscriber != null) {
             this.messageContext.unsubscribeAll(this.subscriber);
         }
+        
+        if (this.partitionExecutor != null) {
+            this.partitionExecutor.shutdown(PARTITION_DRAIN_TIMEOUT);
+            this.partitionExecutor = null;
+        }
 
         trace.debug("Packet Decom Processor has shut down");
 
@@ -335,6 +469,38 @@ public class GenericPacketDecomService implements IGenericPacketDecomService {
         }
     }
 
+    /**
+     * The decom engine and listener used by one partition.
+     */
+    private static class DecomPartition {
+        private final DecomEngine engine;
+        private final IChannelizationListener listener;
+
+        private DecomPartition(final DecomEngine engine, final IChannelizationListener listener) {
+            this.engine = engine;
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * The values decommed from one packet, passed from the partition that
+     * decommed it to publication.
+     */
+    protected static class PacketDecomResult {
+        /** Channel values decommed from the packet */
+        protected final List<IServiceChannelValue> channelValues;
+
+        /**
+         * Constructor.
+         * 
+         * @param channelValues
+         *            channel values decommed from the packet
+         */
+        protected PacketDecomResult(final List<IServiceChannelValue> channelValues) {
+            this.channelValues = channelValues;
+        }
+    }
+
     /**
      * Loads decom apids from the ApidReference for the current mission.
      * 
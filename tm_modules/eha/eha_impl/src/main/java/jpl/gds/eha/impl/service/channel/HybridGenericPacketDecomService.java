@@ -23,6 +23,8 @@ import jpl.gds.common.types.RecordedBool;
 import jpl.gds.decom.DecomEngine;
 import jpl.gds.dictionary.api.evr.IEvrDefinition;
 import jpl.gds.dictionary.api.evr.IEvrDefinitionProvider;
+import jpl.gds.eha.api.channel.IServiceChannelValue;
+import jpl.gds.eha.api.service.channel.IChannelizationListener;
 import jpl.gds.eha.api.service.channel.IDecomListenerFactory;
 import jpl.gds.eha.api.service.channel.IHybridGenericPacketDecomService;
 import jpl.gds.evr.api.IEvr;
@@ -74,14 +76,23 @@ public class HybridGenericPacketDecomService extends GenericPacketDecomService i
 	}
 
 	@Override
-	protected void handlePacketMessage(final ITelemetryPacketMessage pm) {
-		super.handlePacketMessage(pm);
-		if (badListenerDetected) {
+	protected PacketDecomResult collectDecomResult(final IChannelizationListener listener) {
+		if (listener instanceof HybridChannelEvrListener) {
+			return new HybridDecomResult(listener.collectChannelValues(),
+					((HybridChannelEvrListener) listener).collectEvrs());
+		}
+		return super.collectDecomResult(listener);
+	}
+
+	@Override
+	protected void publishDecomResult(final ITelemetryPacketMessage pm, final PacketDecomResult result) {
+		super.publishDecomResult(pm, result);
+		if (badListenerDetected || result == null) {
 			return;
 		}
-		if (decomListener instanceof HybridChannelEvrListener) {
+		if (result instanceof HybridDecomResult) {
 			
-			final List<IEvr> evrList = ((HybridChannelEvrListener) decomListener).collectEvrs();
+			final List<IEvr> evrList = ((HybridDecomResult) result).evrs;
 
 			if (!evrList.isEmpty()) {
 				for (final IEvr evr : evrList) {
@@ -110,4 +121,16 @@ public class HybridGenericPacketDecomService extends GenericPacketDecomService i
 
 		}
 	}
+
+	/**
+	 * The channels and EVRs decommed from one packet.
+	 */
+	private static class HybridDecomResult extends PacketDecomResult {
+		private final List<IEvr> evrs;
+
+		private HybridDecomResult(final List<IServiceChannelValue> channelValues, final List<IEvr> evrs) {
+			super(channelValues);
+			this.evrs = evrs;
+		}
+	}
 }
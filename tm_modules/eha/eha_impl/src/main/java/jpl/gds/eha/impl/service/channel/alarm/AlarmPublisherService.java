@@ -15,22 +15,19 @@
 package jpl.gds.eha.impl.service.channel.alarm;
 
 import jpl.gds.context.api.TimeComparisonStrategyContextFlag;
-import jpl.gds.dictionary.api.alarm.AlarmType;
+import jpl.gds.dictionary.api.alarm.AlarmLevel;
 import jpl.gds.dictionary.api.alarm.IAlarmDefinitionProvider;
 import jpl.gds.dictionary.api.alarm.IAlarmReloadListener;
-import jpl.gds.eha.api.channel.IAlarmValue;
 import jpl.gds.eha.api.channel.IAlarmValueSet;
 import jpl.gds.eha.api.channel.IServiceChannelValue;
 import jpl.gds.eha.api.channel.alarm.IAlarmFactory;
 import jpl.gds.eha.api.channel.alarm.IAlarmHistoryProvider;
-import jpl.gds.eha.api.channel.alarm.IChannelAlarm;
 import jpl.gds.eha.api.message.EhaMessageType;
 import jpl.gds.eha.api.message.IAlarmedChannelValueMessage;
 import jpl.gds.eha.api.message.IChannelValueMessage;
 import jpl.gds.eha.api.message.IEhaMessageFactory;
 import jpl.gds.eha.api.message.aggregation.IAlarmChangeMessage;
 import jpl.gds.eha.api.service.alarm.IAlarmPublisherService;
-import jpl.gds.eha.impl.alarm.AlarmValueSet;
 import jpl.gds.shared.log.Loggers;
 import jpl.gds.shared.log.Markers;
 import jpl.gds.shared.log.TraceManager;
@@ -43,9 +40,10 @@ import jpl.gds.shared.types.Pair;
 import org.springframework.context.ApplicationContext;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -69,7 +67,7 @@ public class AlarmPublisherService implements IAlarmPublisherService, IAlarmRelo
     private final IAlarmDefinitionProvider alarmDefProvider;
     private final AtomicBoolean            needsDefinitionReload = new AtomicBoolean(false);
     private final IEhaMessageFactory       ehaMessageFactory;
-    private final Set<String>              channelsInAlarm;
+    private final Map<String, AlarmLevel>  channelsInAlarm;
 
     /**
      * Constructor.
@@ -89,7 +87,7 @@ public class AlarmPublisherService implements IAlarmPublisherService, IAlarmRelo
         this.alarmDefProvider.addReloadListener(this);
         this.ehaMessageFactory = serviceContext.getBean(IEhaMessageFactory.class);
         this.tracer = TraceManager.getTracer(serviceContext, Loggers.ALARM);
-        this.channelsInAlarm = new HashSet<>();
+        this.channelsInAlarm = new HashMap<>();
     }
 
     /**
@@ -115,43 +113,20 @@ public class AlarmPublisherService implements IAlarmPublisherService, IAlarmRelo
     }
 
     private IAlarmValueSet checkAlarms(final IAlarmedChannelValueMessage message, final boolean targetAlarmMode) {
-        final String              id       = message.getChannelValue().getChanId();
-        final List<IChannelAlarm> alarmSet = table.getAlarmsFromChannelId(id);
+        final String            id    = message.getChannelValue().getChanId();
+        final ChannelAlarmChain chain = table.getAlarmChain(id);
         /*
          * Do not create an alarm value set unless
          * there really is an alarm. Leave it null.
          */
-        IAlarmValueSet alarmVals = null;
-
-        if (alarmSet == null || alarmSet.size() == 0) {
+        if (chain == null) {
             if (tracer.isEnabledFor(TraceSeverity.TRACE)) {
                 tracer.trace("No alarms defined for channel " + id);
             }
-        } else {
-            final Iterator<IChannelAlarm> it = alarmSet.iterator();
-            while (it.hasNext()) {
-                final IChannelAlarm def = it.next();
-
-                if (targetAlarmMode == (def.getDefinition().getAlarmType() == AlarmType.COMBINATION_TARGET)) {
-
-                    final IAlarmValue alarmVal = def
-                            .check(alarmHistory, (IServiceChannelValue) message.getChannelValue());
-                    if (alarmVal != null) {
-                        /*
-                         * IF there was an actual
-                         * alarm, create an alarm value set if not already
-                         * created.
-                         */
-                        if (alarmVals == null) {
-                            alarmVals = new AlarmValueSet();
-                        }
-                        alarmVals.addAlarm(alarmVal);
-                    }
-                }
-            }
+            return null;
         }
 
-        return (alarmVals);
+        return chain.check(alarmHistory, (IServiceChannelValue) message.getChannelValue(), targetAlarmMode);
     }
 
     /**
@@ -215,8 +190,8 @@ public class AlarmPublisherService implements IAlarmPublisherService, IAlarmRelo
                     // updated to generate alarm change messages
                     calculateAlarmChange(outMessage);
 
-                    if (table.getCombinationAlarmTable()
-                            .hasCombinationAlarmsTargettingOnChannel(outMessage.getChannelValue().getChanId())) {
+                    final ChannelAlarmChain chain = table.getAlarmChain(outMessage.getChannelValue().getChanId());
+                    if (chain != null && chain.hasTargetAlarms()) {
                         heldMessages.add(outMessage);
                         return;
                     }
@@ -291,26 +266,32 @@ public class AlarmPublisherService implements IAlarmPublisherService, IAlarmRelo
         }
 
         /**
-         * Perform checks for alarm changes
+         * Perform checks for alarm changes. An alarm change message is only published
+         * when a channel enters or exits alarm, or its worst alarm level changes while
+         * in alarm; values that leave the alarm state unchanged do not publish one.
          *
          * @param outMessage alarmed eha message
          */
         protected void calculateAlarmChange(IAlarmedChannelValueMessage outMessage) {
             IAlarmValueSet alarmSet           = outMessage.getChannelValue().getAlarms();
             String         channelId          = outMessage.getChannelValue().getChanId();
-            boolean        channelWasInAlarm  = channelsInAlarm.contains(channelId);
+            AlarmLevel     previousLevel      = channelsInAlarm.get(channelId);
+            boolean        channelWasInAlarm  = previousLevel != null;
             boolean        currentlyInAlarm   = alarmSet != null && alarmSet.inAlarm();
             boolean        createAlarmMessage = false;
 
-            if (alarmSet != null && alarmSet.inAlarm()) {
-                createAlarmMessage = true;
+            if (currentlyInAlarm) {
+                AlarmLevel currentLevel = alarmSet.getWorstLevel();
                 if (!channelWasInAlarm) {
                     // case 1) channel entered alarm, create message saying "entered alarm"
-                    channelsInAlarm.add(channelId);
+                    createAlarmMessage = true;
+                    channelsInAlarm.put(channelId, currentLevel);
                     tracer.debug("ALARM ENTERED: ", channelId);
-                } else {
-                    // case 2) channel value was already in alarm, create message saying "still in alarm"
-                    tracer.debug("ALARM MAINTAINED: ", channelId);
+                } else if (currentLevel != previousLevel) {
+                    // case 2) channel value was already in alarm at another level, create message saying "still in alarm"
+                    createAlarmMessage = true;
+                    channelsInAlarm.put(channelId, currentLevel);
+                    tracer.debug("ALARM LEVEL CHANGED: ", channelId);
                 }
             } else if (channelWasInAlarm) {
                 // case 3) channel value was in alarm, but isn't any longer. create message saying "exited alarm"
@@ -13,6 +13,8 @@
  */
 package jpl.gds.eha.impl.service.channel.alarm;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -40,6 +42,10 @@ import jpl.gds.eha.api.channel.alarm.ICombinationAlarmTargetProxy;
  * which must contain the definitions for channels to be alarmed before any
  * alarm file is parsed by this class.
  * 
+ * Each time the table is populated, the alarms on each channel are also
+ * compiled into a ChannelAlarmChain, which is what the alarm publisher
+ * evaluates.
+ * 
  *
  * 1/15/15. Major work for the alarm vs alarm
  *          definition split. Renamed class from AlarmDefinitionTable and made
@@ -57,6 +63,9 @@ public class AlarmTable {
 
 	/** Mapping from Alarm ID to alarm list. */
 	private final Map<String, IChannelAlarm> alarmIdMapping;
+
+	/** Mapping from channel ID to compiled alarm chain; replaced as a whole on populate. */
+	private volatile Map<String, ChannelAlarmChain> chainMapping = Collections.emptyMap();
 	
 	private final CombinationAlarmTable comboTable;
 	
@@ -98,6 +107,21 @@ public class AlarmTable {
 	    });
 	    
 	    provider.getCombinationAlarmMap().forEach((k,v)->addFromCombinationAlarmDefinition(v));
+
+	    final Map<String, ChannelAlarmChain> chains = new HashMap<String, ChannelAlarmChain>(channelIdMapping.size() * 2);
+	    channelIdMapping.forEach((k,v)->chains.put(k, new ChannelAlarmChain(v)));
+	    chainMapping = chains;
+	}
+
+	/**
+	 * Gets the compiled alarm chain for a channel.
+	 * 
+	 * @param id the channel ID
+	 * 
+	 * @return the alarm chain for the channel, or null if it has no alarms
+	 */
+	ChannelAlarmChain getAlarmChain(final String id) {
+		return chainMapping.get(id);
 	}
 	
 	/**
@@ -182,6 +206,7 @@ public class AlarmTable {
 	    comboTable.clear();
 	    channelIdMapping.clear();
 	    alarmIdMapping.clear();
+	    chainMapping = Collections.emptyMap();
 	}
 
 
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.eha.impl.service.channel.alarm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jpl.gds.dictionary.api.alarm.AlarmType;
+import jpl.gds.dictionary.api.alarm.IAlarmDefinition;
+import jpl.gds.dictionary.api.channel.ChannelType;
+import jpl.gds.eha.api.channel.IAlarmValue;
+import jpl.gds.eha.api.channel.IAlarmValueSet;
+import jpl.gds.eha.api.channel.IServiceChannelValue;
+import jpl.gds.eha.api.channel.alarm.IAlarmHistoryProvider;
+import jpl.gds.eha.api.channel.alarm.IChannelAlarm;
+import jpl.gds.eha.impl.alarm.AlarmValueSet;
+import jpl.gds.eha.impl.alarm.ExclusiveCompareAlarm;
+import jpl.gds.eha.impl.alarm.HighValueCompareAlarm;
+import jpl.gds.eha.impl.alarm.InclusiveCompareAlarm;
+import jpl.gds.eha.impl.alarm.LowValueCompareAlarm;
+import jpl.gds.eha.impl.alarm.MaskCompareAlarm;
+import jpl.gds.eha.impl.alarm.StateCompareAlarm;
+
+/**
+ * The alarms on one channel, compiled when the alarm table is populated.
+ * <p>
+ * Alarms are split up front into those checked on every value and the
+ * combination target proxies, which are only checked at the end of channel
+ * processing, so neither list is filtered per value. Simple limit, mask and
+ * state alarms without hysteresis are also compiled to their limits, so a value
+ * is tested against all of them using one read of its DN and EU, and the alarm
+ * object is only consulted to build the alarm value when its condition holds.
+ * All other alarms, including those with hysteresis, deltas, compound alarms
+ * and combination source proxies, are checked by the alarm object itself.
+ * <p>
+ * A chain is not modified once built; the alarm table replaces all chains when
+ * alarms are reloaded.
+ *
+ */
+final class ChannelAlarmChain {
+
+    /* Compiled conditions */
+    private static final byte HIGH = 0;
+    private static final byte LOW = 1;
+    private static final byte INCLUSIVE = 2;
+    private static final byte EXCLUSIVE = 3;
+    private static final byte MASK = 4;
+    private static final byte STATE = 5;
+    /* Not compiled; the alarm object performs the check */
+    private static final byte GENERIC = 6;
+
+    private final IChannelAlarm[] alarms;
+    private final byte[] conditions;
+    private final boolean[] onDn;
+    private final double[] lowerLimits;
+    private final double[] upperLimits;
+    private final long[] masks;
+    private final long[][] states;
+
+    private final IChannelAlarm[] targetAlarms;
+
+    /**
+     * Compiles the alarms on a channel.
+     *
+     * @param channelAlarms
+     *            all alarms on the channel, including combination proxies, in
+     *            the order they are checked
+     */
+    ChannelAlarmChain(final List<IChannelAlarm> channelAlarms) {
+        final List<IChannelAlarm> normal = new ArrayList<IChannelAlarm>(channelAlarms.size());
+        final List<IChannelAlarm> targets = new ArrayList<IChannelAlarm>(1);
+        for (final IChannelAlarm alarm : channelAlarms) {
+            if (alarm.getDefinition().getAlarmType() == AlarmType.COMBINATION_TARGET) {
+                targets.add(alarm);
+            } else {
+                normal.add(alarm);
+            }
+        }
+
+        final int count = normal.size();
+        alarms = normal.toArray(new IChannelAlarm[count]);
+        targetAlarms = targets.toArray(new IChannelAlarm[targets.size()]);
+        conditions = new byte[count];
+        onDn = new boolean[count];
+        lowerLimits = new double[count];
+        upperLimits = new double[count];
+        masks = new long[count];
+        states = new long[count][];
+
+        for (int i = 0; i < count; i++) {
+            final IAlarmDefinition def = alarms[i].getDefinition();
+            conditions[i] = compile(alarms[i]);
+            onDn[i] = def.isCheckOnDn();
+            if (conditions[i] == MASK) {
+                masks[i] = def.getValueMask();
+            } else if (conditions[i] == STATE) {
+                final List<Long> alarmStates = def.getAlarmStates();
+                states[i] = new long[alarmStates.size()];
+                for (int j = 0; j < states[i].length; j++) {
+                    states[i][j] = alarmStates.get(j);
+                }
+            } else if (conditions[i] != GENERIC) {
+                lowerLimits[i] = def.getLowerLimit();
+                upperLimits[i] = def.getUpperLimit();
+            }
+        }
+    }
+
+    /**
+     * Indicates whether any combination alarm targets this channel, in which
+     * case its values are held until the end of channel processing.
+     *
+     * @return true if the channel has combination target proxies
+     */
+    boolean hasTargetAlarms() {
+        return targetAlarms.length != 0;
+    }
+
+    /**
+     * Checks a channel value against the alarms in this chain.
+     *
+     * @param history
+     *            the alarm history provider
+     * @param value
+     *            the channel value to check
+     * @param targetAlarmMode
+     *            true to check the combination target proxies, false to check
+     *            all other alarms
+     * @return the alarms triggered, or null if none
+     */
+    IAlarmValueSet check(final IAlarmHistoryProvider history, final IServiceChannelValue value,
+            final boolean targetAlarmMode) {
+        if (targetAlarmMode) {
+            IAlarmValueSet alarmVals = null;
+            for (final IChannelAlarm alarm : targetAlarms) {
+                alarmVals = add(alarmVals, alarm.check(history, value));
+            }
+            return alarmVals;
+        }
+
+        final ChannelType type = value.getChannelType();
+        final boolean isNumber = type.isNumberType();
+        final boolean isIntegral = type.isIntegralType();
+        final boolean isString = type.isStringType();
+
+        /* DN and EU are read at most once, and only if a compiled alarm needs them */
+        boolean haveValues = false;
+        double dn = 0.0;
+        double eu = 0.0;
+        long dnLong = 0;
+        int dnInt = 0;
+
+        IAlarmValueSet alarmVals = null;
+        for (int i = 0; i < alarms.length; i++) {
+            final byte condition = conditions[i];
+            if (condition == GENERIC) {
+                alarmVals = add(alarmVals, alarms[i].check(history, value));
+                continue;
+            }
+
+            if (condition == MASK) {
+                if (!isIntegral || !onDn[i]) {
+                    continue;
+                }
+            } else if (condition == STATE) {
+                if (!isNumber && !isString) {
+                    continue;
+                }
+            } else if (!isNumber) {
+                continue;
+            }
+
+            if (!haveValues) {
+                if (isNumber) {
+                    dn = value.doubleValue();
+                    dnLong = value.longValue();
+                }
+                dnInt = value.intValue();
+                eu = value.getEu();
+                haveValues = true;
+            }
+
+            final boolean triggered;
+            switch (condition) {
+            case HIGH:
+                triggered = (onDn[i] ? dn : eu) >= upperLimits[i];
+                break;
+            case LOW:
+                triggered = (onDn[i] ? dn : eu) <= lowerLimits[i];
+                break;
+            case INCLUSIVE: {
+                final double v = onDn[i] ? dn : eu;
+                triggered = v >= lowerLimits[i] && v <= upperLimits[i];
+                break;
+            }
+            case EXCLUSIVE: {
+                final double v = onDn[i] ? dn : eu;
+                triggered = v <= lowerLimits[i] || v >= upperLimits[i];
+                break;
+            }
+            case MASK:
+                triggered = dnLong >= 0 && dnLong <= 15 && ((1 << dnLong) & masks[i]) != 0;
+                break;
+            case STATE:
+                triggered = contains(states[i], onDn[i] ? dnInt : (int) eu);
+                break;
+            default:
+                triggered = true;
+                break;
+            }
+
+            if (triggered) {
+                alarmVals = add(alarmVals, alarms[i].check(history, value));
+            }
+        }
+        return alarmVals;
+    }
+
+    /**
+     * Determines how an alarm can be compiled. Only the exact stateless alarm
+     * classes are compiled, and only when hysteresis, which needs the alarm
+     * history for every value, is not in effect.
+     */
+    private static byte compile(final IChannelAlarm alarm) {
+        if (alarm.getDefinition().hasHysteresis()) {
+            return GENERIC;
+        }
+        final Class<?> c = alarm.getClass();
+        if (c == HighValueCompareAlarm.class) {
+            return HIGH;
+        } else if (c == LowValueCompareAlarm.class) {
+            return LOW;
+        } else if (c == InclusiveCompareAlarm.class) {
+            return INCLUSIVE;
+        } else if (c == ExclusiveCompareAlarm.class) {
+            return EXCLUSIVE;
+        } else if (c == MaskCompareAlarm.class) {
+            return MASK;
+        } else if (c == StateCompareAlarm.class) {
+            return STATE;
+        }
+        return GENERIC;
+    }
+
+    private static boolean contains(final long[] values, final int value) {
+        for (final long v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static IAlarmValueSet add(final IAlarmValueSet set, final IAlarmValue alarmVal) {
+        if (alarmVal == null) {
+            return set;
+        }
+        /* Do not create an alarm value set unless there really is an alarm */
+        final IAlarmValueSet result = set == null ? new AlarmValueSet() : set;
+        result.addAlarm(alarmVal);
+        return result;
+    }
+}
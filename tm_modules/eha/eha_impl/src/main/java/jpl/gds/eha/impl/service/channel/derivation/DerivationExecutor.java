@@ -0,0 +1,431 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.eha.impl.service.channel.derivation;
+
+import static jpl.gds.shared.exceptions.ExceptionTools.printStack;
+import static jpl.gds.shared.exceptions.ExceptionTools.rollUpMessages;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.ApplicationContext;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import jpl.gds.eha.api.config.EhaProperties;
+import jpl.gds.shared.config.PerformanceProperties;
+import jpl.gds.shared.log.Loggers;
+import jpl.gds.shared.log.TraceManager;
+import jpl.gds.shared.log.Tracer;
+import jpl.gds.shared.performance.IPerformanceData;
+import jpl.gds.shared.performance.IPerformanceProvider;
+import jpl.gds.shared.performance.LatencyPerformanceData;
+import jpl.gds.shared.performance.PerformanceSummaryPublisher;
+import jpl.gds.shared.types.Pair;
+
+/**
+ * DerivationExecutor runs algorithmic channel derivations on a bounded pool of
+ * reusable worker threads, replacing the thread-per-derivation approach. Each
+ * derivation is timed against the configured derivation timeout by the
+ * calling thread, which acts as the watchdog: a derivation that exceeds the
+ * timeout is interrupted and, if it has not finished within a short grace
+ * period, its worker is killed. A derivation that cannot start within the
+ * timeout, because no worker is free, is skipped.
+ * An algorithm that times out too many times is quarantined and is not run
+ * again for the remainder of the session.
+ * <p>
+ * All derivations handed to one call of executeAll() must be independent of
+ * each other. When parallel execution is enabled they are run concurrently;
+ * otherwise they are run one at a time, still on the worker pool so that the
+ * timeout can be enforced. Results are always returned in submission order.
+ * <p>
+ * Per-algorithm latency, timeout, and failure counters are published through
+ * the performance summary.
+ *
+ */
+public class DerivationExecutor implements IPerformanceProvider {
+
+    private static final String PROVIDER_NAME = "Channel Derivation";
+
+    /** How long an interrupted derivation has to finish before its worker is killed, milliseconds */
+    private static final long KILL_GRACE = 1000L;
+
+    private final Tracer                            deriveLog;
+    private final ApplicationContext                appContext;
+    private final PerformanceProperties             perfProps;
+    private final ThreadPoolExecutor                pool;
+    private final long                              maxWait;
+    private final int                               maxTimeouts;
+    private final boolean                           parallel;
+    private final Map<String, AlgorithmStatistics>  stats     = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor. Creates the worker pool and registers this object as a
+     * performance provider.
+     *
+     * @param appContext
+     *            the current application context
+     */
+    public DerivationExecutor(final ApplicationContext appContext) {
+        this.appContext = appContext;
+        this.deriveLog = TraceManager.getTracer(appContext, Loggers.TLM_DERIVATION);
+        this.perfProps = appContext.getBean(PerformanceProperties.class);
+
+        final EhaProperties ehaProps = appContext.getBean(EhaProperties.class);
+        this.maxWait = Math.max(ehaProps.getDerivationTimeout(), 1L);
+        this.maxTimeouts = ehaProps.getDerivationMaxTimeouts();
+        this.parallel = ehaProps.isParallelDerivationEnabled();
+        final int workers = parallel ? ehaProps.getDerivationWorkerCount() : 1;
+
+        this.pool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactoryBuilder().setNameFormat("Derivation_Worker_%d").setDaemon(true)
+                                          .setPriority(Thread.MIN_PRIORITY).build());
+
+        appContext.getBean(PerformanceSummaryPublisher.class).registerProvider(this);
+    }
+
+    /**
+     * Runs a single algorithmic derivation, waiting no longer than the
+     * configured derivation timeout for it to complete.
+     *
+     * @param algo
+     *            the derivation to run
+     * @param parents
+     *            the parent channel values for the derivation
+     * @return result of running the algorithm, or null if it failed, timed
+     *         out, or is quarantined
+     */
+    public Pair<ACVMap, Integer> execute(final AlgorithmicDerivation algo, final ACVMap parents) {
+        final List<AlgorithmicDerivation> algos = new ArrayList<>(1);
+        algos.add(algo);
+        final List<ACVMap> parentMaps = new ArrayList<>(1);
+        parentMaps.add(parents);
+        return executeAll(algos, parentMaps).get(0);
+    }
+
+    /**
+     * Runs a batch of mutually independent algorithmic derivations. Each is
+     * allowed to run for no longer than the configured derivation timeout,
+     * measured from the time it starts on a worker.
+     *
+     * @param algos
+     *            the derivations to run
+     * @param parents
+     *            the parent channel values for each derivation, in the same
+     *            order as algos
+     * @return list of results, in the same order as algos; an entry is null
+     *         if the corresponding algorithm failed, timed out, or is
+     *         quarantined
+     */
+    public List<Pair<ACVMap, Integer>> executeAll(final List<AlgorithmicDerivation> algos,
+                                                  final List<ACVMap> parents) {
+        final List<DerivationTask> tasks = new ArrayList<>(algos.size());
+
+        for (int i = 0; i < algos.size(); i++) {
+            final AlgorithmicDerivation algo = algos.get(i);
+            final AlgorithmStatistics algoStats = getStatistics(algo);
+            if (algoStats.quarantined) {
+                tasks.add(null);
+                continue;
+            }
+            final DerivationTask task = new DerivationTask(algo, parents.get(i), algoStats);
+            tasks.add(task);
+            if (parallel) {
+                task.future = pool.submit(task::call);
+            }
+        }
+
+        final List<Pair<ACVMap, Integer>> results = new ArrayList<>(algos.size());
+        for (final DerivationTask task : tasks) {
+            if (task == null) {
+                results.add(null);
+                continue;
+            }
+            if (!parallel) {
+                task.future = pool.submit(task::call);
+            }
+            results.add(awaitResult(task));
+        }
+        return results;
+    }
+
+    /**
+     * Indicates whether the given derivation has been quarantined due to
+     * excessive timeouts.
+     *
+     * @param algo
+     *            the derivation to check
+     * @return true if quarantined, false if not
+     */
+    public boolean isQuarantined(final AlgorithmicDerivation algo) {
+        final AlgorithmStatistics algoStats = stats.get(algo.getDefinition().getId());
+        return algoStats != null && algoStats.quarantined;
+    }
+
+    /**
+     * Shuts down the worker pool and de-registers this object as a
+     * performance provider. Running derivations are interrupted.
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+        appContext.getBean(PerformanceSummaryPublisher.class).deregisterProvider(this);
+    }
+
+    /**
+     * Waits for a submitted derivation to complete, killing it if it exceeds
+     * the timeout. The wait for it to start on a worker is bounded by the
+     * timeout too.
+     *
+     * @param task
+     *            the derivation task to wait for
+     * @return the result of the derivation, or null if it failed, was
+     *         killed, or could not be started
+     */
+    private Pair<ACVMap, Integer> awaitResult(final DerivationTask task) {
+        final long waitStarted = System.nanoTime();
+        while (true) {
+            final long started = task.startNanos;
+            final long remaining = maxWait
+                    - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - (started != 0 ? started : waitStarted));
+            try {
+                if (remaining > 0) {
+                    return task.future.get(remaining, TimeUnit.MILLISECONDS);
+                }
+            } catch (final TimeoutException e) {
+                // Loop back and check whether the task has actually started
+                continue;
+            } catch (final InterruptedException e) {
+                deriveLog.error("Interrupted waiting for derived algorithm id '" + task.id + "'");
+                Thread.currentThread().interrupt();
+                kill(task);
+                return null;
+            } catch (final ExecutionException | CancellationException e) {
+                return null;
+            }
+            if (started == 0) {
+                if (task.cancelIfNotStarted()) {
+                    // Every worker is tied up, probably by a derivation that could not be killed
+                    task.algo.incrementErrorCount();
+                    task.algoStats.failures.incrementAndGet();
+                    deriveLog.error("No derivation worker became free within " + maxWait
+                            + " ms; derived algorithm id '" + task.id + "' was not run");
+                    return null;
+                }
+                // Started just now; give it its full time
+                continue;
+            }
+            kill(task);
+            return null;
+        }
+    }
+
+    /**
+     * Kills a derivation that has exceeded its timeout, and quarantines its
+     * algorithm if it has timed out too many times. The derivation is
+     * interrupted first, and its worker is stopped only if it is still
+     * running the derivation after the grace period. The check and the stop
+     * are made holding the task's lock, which the worker also holds when it
+     * finishes with the task, so a worker that has moved on to another
+     * derivation is never stopped.
+     *
+     * @param task
+     *            the derivation task to kill
+     */
+    @SuppressWarnings("deprecation")
+    private void kill(final DerivationTask task) {
+        // Get state BEFORE we stop it
+        final Thread runner = task.runner;
+        final Thread.State state = runner == null ? null : runner.getState();
+        final StackTraceElement[] stack = runner == null ? null : runner.getStackTrace();
+
+        task.future.cancel(true);
+
+        if (runner != null) {
+            synchronized (task) {
+                if (task.runner == runner) {
+                    // The future may have been cancelled already, in which case cancel() did not interrupt
+                    runner.interrupt();
+                }
+                final long graceEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(KILL_GRACE);
+                try {
+                    long wait;
+                    while (task.runner == runner && (wait = graceEnd - System.nanoTime()) > 0) {
+                        TimeUnit.NANOSECONDS.timedWait(task, wait);
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (task.runner == runner) {
+                    // Interrupt did not stop it; no choice but to kill it
+                    try {
+                        runner.stop();
+                    } catch (final UnsupportedOperationException e) {
+                        deriveLog.error("Unable to kill worker running derived algorithm id '" + task.id
+                                + "'; worker is abandoned");
+                    }
+                }
+            }
+        }
+
+        task.algo.incrementErrorCount();
+        final long timeouts = task.algoStats.timeouts.incrementAndGet();
+
+        deriveLog.error("Forced to kill derived algorithm id '" + task.id + "' in state " + state);
+
+        // Don't put tracebacks in logs
+        if (stack != null) {
+            System.out.println("Traceback for '" + task.id + "':\n" + printStack(stack));
+        }
+
+        if (maxTimeouts > 0 && timeouts >= maxTimeouts && !task.algoStats.quarantined) {
+            task.algoStats.quarantined = true;
+            deriveLog.error("Derived algorithm '" + task.id + "' has timed out " + timeouts
+                    + " times and has been quarantined; it will not be run again");
+        }
+    }
+
+    private AlgorithmStatistics getStatistics(final AlgorithmicDerivation algo) {
+        return stats.computeIfAbsent(algo.getDefinition().getId(), k -> new AlgorithmStatistics());
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see jpl.gds.shared.performance.IPerformanceProvider#getProviderName()
+     */
+    @Override
+    public String getProviderName() {
+        return PROVIDER_NAME;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see jpl.gds.shared.performance.IPerformanceProvider#getPerformanceData()
+     */
+    @Override
+    public List<IPerformanceData> getPerformanceData() {
+        final List<IPerformanceData> result = new ArrayList<>(stats.size());
+        for (final Map.Entry<String, AlgorithmStatistics> entry : new TreeMap<>(stats).entrySet()) {
+            final AlgorithmStatistics s = entry.getValue();
+            final LatencyPerformanceData data = new LatencyPerformanceData(perfProps, "Derivation " + entry.getKey(),
+                    0, 0);
+            data.setCounters(s.count.get(), s.timeouts.get(), s.failures.get(), s.totalNanos.get(),
+                    s.maxNanos.get(), s.quarantined);
+            result.add(data);
+        }
+        return result;
+    }
+
+    /**
+     * Execution statistics and quarantine state for one algorithm.
+     */
+    private static class AlgorithmStatistics {
+        private final AtomicLong count      = new AtomicLong();
+        private final AtomicLong timeouts   = new AtomicLong();
+        private final AtomicLong failures   = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos   = new AtomicLong();
+        private volatile boolean quarantined;
+
+        private void record(final long nanos) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    /**
+     * Runs one derivation on a pool worker. The deriveChannels method takes
+     * care of all throwables and rethrows as DerivationException. We also
+     * check for throwable just in case, so we can properly account for the
+     * failure.
+     */
+    private class DerivationTask {
+        private final AlgorithmicDerivation algo;
+        private final ACVMap                parents;
+        private final AlgorithmStatistics   algoStats;
+        private final String                id;
+
+        private volatile Thread                       runner;
+        private volatile long                         startNanos;
+        private Future<Pair<ACVMap, Integer>>         future;
+
+        private DerivationTask(final AlgorithmicDerivation algo, final ACVMap parents,
+                final AlgorithmStatistics algoStats) {
+            this.algo = algo;
+            this.parents = parents;
+            this.algoStats = algoStats;
+            this.id = algo.getDefinition().getId();
+        }
+
+        /**
+         * Cancels the task if it has not yet started on a worker.
+         *
+         * @return true if cancelled, false if it has already started
+         */
+        private synchronized boolean cancelIfNotStarted() {
+            if (startNanos != 0) {
+                return false;
+            }
+            // Marks the task so that a worker that has just picked it up does not run it
+            startNanos = -1;
+            future.cancel(false);
+            return true;
+        }
+
+        private Pair<ACVMap, Integer> call() {
+            synchronized (this) {
+                if (startNanos != 0) {
+                    // Given up on before it started
+                    return null;
+                }
+                runner = Thread.currentThread();
+                startNanos = System.nanoTime();
+            }
+            try {
+                final Pair<ACVMap, Integer> result = algo.deriveChannels(appContext, parents);
+                algoStats.record(System.nanoTime() - startNanos);
+                return result;
+            } catch (final ThreadDeath td) {
+                throw td;
+            } catch (final Throwable t) {
+                t.printStackTrace();
+                algo.incrementErrorCount();
+                algoStats.failures.incrementAndGet();
+                deriveLog.error("Problem producing derived algorithmic channels for id '" + id + "': "
+                        + rollUpMessages(t));
+                return null;
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                    notifyAll();
+                }
+                // Clear any interrupt left by a late cancel so the worker can be reused
+                Thread.interrupted();
+            }
+        }
+    }
+}
@@ -45,6 +45,39 @@ public interface IEvrExtractorUtility {
             String inFormat, IEvrDefinition evrDefinition)
             throws EvrExtractorException;
 
+    /**
+     * Replaces values in the given list of EVR parameters as defined by enum
+     * and OPCODE replacement arguments, and looks up the text to be inserted
+     * after sequence ID arguments, without modifying the EVR format string.
+     * Together with replaceParameterFormats(), this performs the same
+     * replacements as replaceParameters(), but allows the rewritten format
+     * string, which depends only on the EVR definition, to be computed once.
+     *
+     * @param parameters
+     *            list of parameter RawEvrData values extracted from the EVR
+     * @param evrDefinition
+     *            the dictionary definition object for the EVR
+     * @return the text to insert after each formatted parameter, indexed by
+     *         parameter, with null entries where there is none; or null if no
+     *         replacement was performed
+     * @throws EvrExtractorException
+     *             if there is a problem of any type with this operation
+     */
+    public String[] replaceParameterValues(List<IRawEvrData> parameters,
+            IEvrDefinition evrDefinition) throws EvrExtractorException;
+
+    /**
+     * Rewrites an EVR format string so that the formatters for enum and OPCODE
+     * arguments accept the replacement values set by replaceParameterValues().
+     *
+     * @param inFormat
+     *            the EVR format (message) string
+     * @param evrDefinition
+     *            the dictionary definition object for the EVR
+     * @return the rewritten format string
+     */
+    public String replaceParameterFormats(String inFormat, IEvrDefinition evrDefinition);
+
     /**
      * Inserts the given text in the format string after the current formatter.
      * If there is no Nth format specifier, the string is left unchanged.
@@ -41,6 +41,7 @@ import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.context.ApplicationContext;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * AbstractEvrAdaptor is the super-class for all EVR Adaptations. The EVR mission
@@ -77,8 +78,10 @@ public abstract class AbstractEvrExtractor implements IEvrExtractor {
     protected Map<Long, IEvrDefinition> definitionMap;
     /** Publication bus to use for message publication */
     protected IMessagePublicationBus bus;
-    /** Print formatter object */
-    protected SprintfFormat formatter;
+    /** Print formatter objects, one per thread, so that formatting is not locked */
+    private final ThreadLocal<SprintfFormat> formatters;
+    /** Parsed EVR message formats, by EVR ID */
+    private final Map<Long, EvrMessageFormat> messageFormats = new ConcurrentHashMap<Long, EvrMessageFormat>();
     /** EVR extractor utility */
     protected IEvrExtractorUtility extractUtil;
     /** Raw EVR data factory */
@@ -187,7 +190,7 @@ public abstract class AbstractEvrExtractor implements IEvrExtractor {
         this.setSolTimes = context.getBean(EnableLstContextFlag.class).isLstEnabled();
         final int scid = context.getBean(IContextIdentification.class).getSpacecraftId();
         
-        this.formatter = new SprintfFormat(scid);
+        this.formatters = ThreadLocal.withInitial(() -> new SprintfFormat(scid));
         
         this.extractUtil = context.getBean(IEvrExtractorUtility.class);
 
@@ -411,6 +414,44 @@ public abstract class AbstractEvrExtractor implements IEvrExtractor {
     }
 
 
+    /**
+     * Gets the print formatter for the current thread.
+     *
+     * @return print formatter
+     */
+    protected SprintfFormat getFormatter() {
+        return formatters.get();
+    }
+
+    /**
+     * Gets the parsed message format for an EVR definition. The format string
+     * is parsed and compiled the first time an EVR with the definition's ID is
+     * extracted, and the result is reused for all later ones.
+     *
+     * @param evrDefinition
+     *            the dictionary definition of the EVR
+     * @param originalMessage
+     *            the EVR format string, as taken from the definition
+     * @param replaceFormats
+     *            true if the formatters of enum and OPCODE parameters are to be
+     *            rewritten for parameter replacement
+     * @return parsed message format
+     * @throws EvrExtractorException
+     *             if the format string cannot be parsed
+     */
+    protected EvrMessageFormat getMessageFormat(final IEvrDefinition evrDefinition,
+            final String originalMessage, final boolean replaceFormats) throws EvrExtractorException {
+        final Long id = evrDefinition.getId();
+        EvrMessageFormat messageFormat = messageFormats.get(id);
+        if (messageFormat == null) {
+            final String replacedMessage = replaceFormats
+                    ? extractUtil.replaceParameterFormats(originalMessage, evrDefinition) : originalMessage;
+            messageFormat = new EvrMessageFormat(originalMessage, replacedMessage, getFormatter());
+            messageFormats.put(id, messageFormat);
+        }
+        return messageFormat;
+    }
+
     /**
      * Reads the raw evr data parameters and the list of
      * requested formats and converts the evr data parameters to a type suitable
@@ -51,6 +51,8 @@ public class EvrExtractorUtility implements IEvrExtractorUtility {
     private final OpcodeUtil opcodeUtil;
     private ICommandDefinitionProvider cmdProvider;
     private final Tracer logger;
+    private final SeqidReplacement seqidReplacement;
+    private volatile OpcodeReplacement opcodeReplacement;
 
 
     /**
@@ -76,6 +78,7 @@ public class EvrExtractorUtility implements IEvrExtractorUtility {
         this.opcodeUtil = new OpcodeUtil(context.getBean(DictionaryProperties.class));
         /* make logger have the app context */
         logger = TraceManager.getTracer(context, Loggers.TLM_EVR);
+        this.seqidReplacement = new SeqidReplacement(seqDict);
     }
 
     /**
@@ -92,6 +95,7 @@ public class EvrExtractorUtility implements IEvrExtractorUtility {
          this.seqDict = seqDict;
          this.opcodeUtil = opcodeUtil;
          logger = tracer;
+         this.seqidReplacement = new SeqidReplacement(seqDict);
      }
     
 
@@ -102,16 +106,38 @@ public class EvrExtractorUtility implements IEvrExtractorUtility {
     @Override
     public String replaceParameters(final List<IRawEvrData> parameters,
             final String inFormat, final IEvrDefinition evrDefinition) throws EvrExtractorException {
-        String format = inFormat;
-        
+
+        final String[] insertions = replaceParameterValues(parameters, evrDefinition);
+        if (insertions == null) {
+            return inFormat;
+        }
+
+        String format = replaceParameterFormats(inFormat, evrDefinition);
+        for (int i = 0; i < insertions.length; ++i) {
+            /* insertTextAfterParameter() supplies the separating space itself */
+            if (insertions[i] != null) {
+                format = insertTextAfterParameter(format, insertions[i].substring(1), i + 1);
+            }
+        }
+        return format;
+    }
+
+    /**
+     * @{inheritDoc}
+     * @see jpl.gds.evr.api.service.extractor.IEvrExtractorUtility#replaceParameterValues(List, IEvrDefinition)
+     */
+    @Override
+    public String[] replaceParameterValues(final List<IRawEvrData> parameters,
+            final IEvrDefinition evrDefinition) throws EvrExtractorException {
+
         /*  Re-arranged logic to fix NPE resulting from using null args */
         if (parameters.isEmpty()) {
-            return format;
+            return null;
         }
  
         final List<IEvrArgumentDefinition> args = evrDefinition.getArgs();
         if (args == null) {
-            return format;
+            return null;
         }
         final int nargs = args.size();
 
@@ -119,6 +145,8 @@ public class EvrExtractorUtility implements IEvrExtractorUtility {
             throw new EvrExtractorException("Number of actual parameters " + parameters.size() + 
                     " does not match number of declared EVR arguments " + nargs);
         }
+
+        final String[] insertions = new String[nargs];
         for (int i = 0; i < nargs; ++i) {
             final IRawEvrData parameter = parameters.get(i);
             final IEvrArgumentDefinition entry = args.get(i);
@@ -132,7 +160,6 @@ public class EvrExtractorUtility implements IEvrExtractorUtility {
                 final Object replacer = getReplacement(newValue, enumValues);
                 parameter.replaceData(replacer.toString());
                 parameters.set(i, parameter );
-                format = replaceFormat(format, i + 1);
             }
             else if(entry.getType().equals(EvrArgumentType.OPCODE))
             {
@@ -140,10 +167,6 @@ public class EvrExtractorUtility implements IEvrExtractorUtility {
                                                            0,
                                                            parameter.getSize() * 8);
                 
-                /* Code was just completely wrong. It returned the opcode
-                 * rather than the format string. Reworked the logic and now return the format string.
-                 */
-                
                 if (cmdProvider == null && !noCommandDictFlagged.get())
                 {
                     logger.warn("Could not load command dictionary to do EVR opcode replacement.");
@@ -155,14 +178,10 @@ public class EvrExtractorUtility implements IEvrExtractorUtility {
                     final String op = opcodeUtil.formatOpcode(opcode, true);
                     parameter.replaceData(op);
                     parameters.set(i,parameter);
-                    format = replaceFormat(format,i+1);
                 } else {
-
-                    final OpcodeReplacement or = new OpcodeReplacement(cmdProvider.getStemByOpcodeMap(), opcodeUtil);
-                    final String replacement = or.replace(Long.valueOf(opcode)).toString();
+                    final String replacement = getOpcodeReplacement().replace(Long.valueOf(opcode)).toString();
                     parameter.replaceData(replacement);
                     parameters.set(i,parameter);
-                    format = replaceFormat(format,i+1);
                 }
             }
             else if(entry.getType().equals(EvrArgumentType.SEQID)) {
@@ -170,19 +189,53 @@ public class EvrExtractorUtility implements IEvrExtractorUtility {
                 //if there is a seqid file...
                 if(!noSeqidDictFlagged.get()) {
                    if (seqDict != null) {
-
-                        final SeqidReplacement sr = new SeqidReplacement(seqDict);
-                        final String replacement = sr.replace(parameter.getByteArray()).toString();
-                        format = insertTextAfterParameter(format, replacement, i+1);
+                        final String replacement = seqidReplacement.replace(parameter.getByteArray()).toString();
+                        insertions[i] = " " + replacement;
                     } else {
                         setNoSeqidDictFlagged(true);
                     }
                 }
             }
         }      
+        return insertions;
+    }
+
+    /**
+     * @{inheritDoc}
+     * @see jpl.gds.evr.api.service.extractor.IEvrExtractorUtility#replaceParameterFormats(String, IEvrDefinition)
+     */
+    @Override
+    public String replaceParameterFormats(final String inFormat, final IEvrDefinition evrDefinition) {
+        String format = inFormat;
+
+        final List<IEvrArgumentDefinition> args = evrDefinition.getArgs();
+        if (args == null) {
+            return format;
+        }
+        for (int i = 0; i < args.size(); ++i) {
+            final EvrArgumentType type = args.get(i).getType();
+            if (type.equals(EvrArgumentType.ENUM) || type.equals(EvrArgumentType.OPCODE)) {
+                format = replaceFormat(format, i + 1);
+            }
+        }
         return format;
     }
-    
+
+    /**
+     * Gets the opcode replacement object, creating it from the command
+     * dictionary on first use. The dictionary's opcode map is copied when
+     * fetched, so it is fetched once rather than for every OPCODE argument.
+     *
+     * @return opcode replacement object
+     */
+    private OpcodeReplacement getOpcodeReplacement() {
+        OpcodeReplacement or = opcodeReplacement;
+        if (or == null) {
+            or = new OpcodeReplacement(cmdProvider.getStemByOpcodeMap(), opcodeUtil);
+            opcodeReplacement = or;
+        }
+        return or;
+    }
     
     /**
      * Sets the flag indicating that a missing command dictionary message has
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.evr.impl.service.extractor;
+
+import java.util.Collections;
+import java.util.List;
+
+import jpl.gds.evr.api.service.extractor.EvrExtractorException;
+import jpl.gds.shared.formatting.CompiledSprintfFormat;
+import jpl.gds.shared.formatting.SprintfFormat;
+import jpl.gds.shared.string.SprintfUtil;
+import jpl.gds.shared.string.SprintfUtilException;
+
+/**
+ * The message format of one EVR definition, parsed once and reused for every
+ * EVR with the same ID.
+ * <p>
+ * Holds the format letters of the dictionary format string, used to decode
+ * the parameters, and the format string as rewritten for enum and OPCODE
+ * replacement, compiled for output. Sequence ID names, which depend on the
+ * parameter value, are not part of the compiled format; they are supplied as
+ * insertions when it is applied. Instances are immutable.
+ *
+ */
+final class EvrMessageFormat {
+
+    private final List<String> originalFormatLetters;
+    private final List<String> formatLetters;
+    private final CompiledSprintfFormat compiledFormat;
+
+    /**
+     * Constructor.
+     *
+     * @param originalMessage
+     *            the EVR format string from the dictionary
+     * @param replacedMessage
+     *            the format string with formatters rewritten for parameter
+     *            replacement; the same as originalMessage if there is none
+     * @param formatter
+     *            the formatter used to compile the format string
+     * @throws EvrExtractorException
+     *             if either format string cannot be parsed
+     */
+    EvrMessageFormat(final String originalMessage, final String replacedMessage, final SprintfFormat formatter)
+            throws EvrExtractorException {
+        this.originalFormatLetters = getFormatLetters(originalMessage);
+        this.formatLetters = replacedMessage.equals(originalMessage) ? originalFormatLetters
+                : getFormatLetters(replacedMessage);
+        this.compiledFormat = formatter.compile(replacedMessage);
+    }
+
+    /**
+     * Gets the format letters of the dictionary format string.
+     *
+     * @return list of format letters, one per formatter
+     */
+    List<String> getOriginalFormatLetters() {
+        return originalFormatLetters;
+    }
+
+    /**
+     * Gets the format letters of the format string after the formatters of
+     * replaced parameters have been rewritten.
+     *
+     * @return list of format letters, one per formatter
+     */
+    List<String> getFormatLetters() {
+        return formatLetters;
+    }
+
+    /**
+     * Gets the compiled output format.
+     *
+     * @return compiled format
+     */
+    CompiledSprintfFormat getCompiledFormat() {
+        return compiledFormat;
+    }
+
+    private static List<String> getFormatLetters(final String message) throws EvrExtractorException {
+        try {
+            return Collections.unmodifiableList(SprintfUtil.getFormatLetters(message));
+        } catch (final SprintfUtilException e) {
+            throw new EvrExtractorException("Could not format EVR message using format string ( " + message + "): "
+                    + e.getMessage());
+        }
+    }
+}
@@ -24,8 +24,6 @@ import jpl.gds.shared.gdr.GDR;
 import jpl.gds.shared.log.Loggers;
 import jpl.gds.shared.log.TraceManager;
 import jpl.gds.shared.log.Tracer;
-import jpl.gds.shared.string.SprintfUtil;
-import jpl.gds.shared.string.SprintfUtilException;
 import jpl.gds.shared.time.IAccurateDateTime;
 import jpl.gds.shared.time.ILocalSolarTime;
 import jpl.gds.shared.time.ISclk;
@@ -310,7 +308,7 @@ public class JplMultimissionEvrExtractor extends AbstractEvrExtractor {
                     fmt.append("0x%08x");
                 }
                 metaKeys.add(EvrMetadataKeywordEnum.ADDRESSSTACK);
-                metaData.add(formatter.sprintf(fmt.toString(),
+                metaData.add(getFormatter().sprintf(fmt.toString(),
                         addressList.toArray()));
                 --parameterCount;
             }
@@ -615,14 +613,10 @@ public class JplMultimissionEvrExtractor extends AbstractEvrExtractor {
             final String originalMessage, final byte[] evrDataBuffer)
                     throws EvrExtractorException {
 
-        // get parameter formats
+        // get parameter formats, parsed once per EVR ID
 
-        List<String> parameterFormats = null;
-        try {
-            parameterFormats = SprintfUtil.getFormatLetters( originalMessage );
-        } catch (final SprintfUtilException e) {			  
-            throw new EvrExtractorException( "Could not format EVR message using format string ( " + originalMessage + "): " + e.getMessage());
-        }
+        final EvrMessageFormat messageFormat = getMessageFormat(currentEvrDefinition, originalMessage, true);
+        List<String> parameterFormats = messageFormat.getOriginalFormatLetters();
 
         // If we could not find any format statements in the message,
         // finalize the evr message and return
@@ -656,25 +650,14 @@ public class JplMultimissionEvrExtractor extends AbstractEvrExtractor {
             fail(apid, vcid, dssId, seqCount, currentEvr, e.getMessage());
         }
 
-        // Replace parameter values (table lookup, opcode replacement)
-
-        String messageWithReplacements = originalMessage;
-        if (currentEvrDefinition != null) {
+        // Replace parameter values (table lookup, opcode replacement). The
+        // format string rewritten for the replacements is part of the
+        // compiled message format; sequence ID names are inserted as it is applied.
 
-
-            messageWithReplacements = extractUtil.replaceParameters(
-                    rawParameters, originalMessage, currentEvrDefinition);
-        }
+        final String[] insertions = extractUtil.replaceParameterValues(rawParameters, currentEvrDefinition);
 
         // get the revised parameter format list
-        if (!(messageWithReplacements.equals(originalMessage))) {
-
-            try {
-                parameterFormats = SprintfUtil.getFormatLetters( messageWithReplacements );
-            } catch (final SprintfUtilException e) {			  
-                throw new EvrExtractorException( "Could not format EVR message using format string ( " + messageWithReplacements+ "): " + e.getMessage());
-            }
-        }
+        parameterFormats = messageFormat.getFormatLetters();
 
         // check that the number of parameters is equal to the number of format
         // statements in the message
@@ -701,13 +684,8 @@ public class JplMultimissionEvrExtractor extends AbstractEvrExtractor {
 
         try {
 
-            if (formattedParameters.size() == 1) {
-                finalMessage = formatter.anCsprintf(
-                        messageWithReplacements, formattedParameters.get(0));
-            } else {
-                finalMessage = formatter.sprintf(messageWithReplacements,
-                        formattedParameters.toArray());
-            }
+            finalMessage = getFormatter().sprintf(messageFormat.getCompiledFormat(),
+                    formattedParameters.toArray(), insertions);
 
         } catch (final ClassCastException cce) {
             throw new EvrExtractorException("EVR extraction failed for event ID "
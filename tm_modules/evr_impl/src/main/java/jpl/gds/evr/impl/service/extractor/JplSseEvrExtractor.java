@@ -244,7 +244,7 @@ public class JplSseEvrExtractor extends AbstractEvrExtractor {
                     fmt.append("0x%08x");
                 }
                 metaKeys.add(EvrMetadataKeywordEnum.ADDRESSSTACK);
-                metaData.add(formatter.sprintf(fmt.toString(), addressList.toArray()));
+                metaData.add(getFormatter().sprintf(fmt.toString(), addressList.toArray()));
                 --parameterCount;
             }
 
@@ -585,17 +585,13 @@ public class JplSseEvrExtractor extends AbstractEvrExtractor {
             final byte[] evrDataBuffer ) throws EvrExtractorException {
 
 
-        // get parameter formats
+        // get parameter formats, parsed once per EVR ID
         /*
          *  Removed use of getParameterFormats() method in
          * favor of method in SprintfUtil for locating formatters.
          */
-        List< String > parameterFormats = null;
-        try {
-            parameterFormats = SprintfUtil.getFormatLetters( originalMessage );
-        } catch (final SprintfUtilException e) {			  
-            throw new EvrExtractorException( "Could not format EVR message using format string ( " + originalMessage + "): " + e.getMessage());
-        }
+        final EvrMessageFormat messageFormat = getMessageFormat( currentEvrDefinition, originalMessage, false );
+        final List< String > parameterFormats = messageFormat.getOriginalFormatLetters();
 
         // If we could not find any format statements in the message,
         // finalize the evr message and return
@@ -638,8 +634,6 @@ public class JplSseEvrExtractor extends AbstractEvrExtractor {
             fail(apid, vcid, dssId, seqCount, currentEvr, e.getMessage());
         }
 
-        final String messageWithReplacements = originalMessage;
-
         // check that the number of parameters is equal to the number of format
         // statements in the message
 
@@ -668,13 +662,8 @@ public class JplSseEvrExtractor extends AbstractEvrExtractor {
 
         try{
 
-            if( formattedParameters.size() == 1 ) {
-                finalMessage = formatter.anCsprintf( messageWithReplacements,
-                        formattedParameters.get( 0 ));
-            }else{
-                finalMessage = formatter.sprintf( messageWithReplacements,
-                        formattedParameters.toArray());
-            }
+            finalMessage = getFormatter().sprintf( messageFormat.getCompiledFormat(),
+                    formattedParameters.toArray(), null );
 
         } catch (final ClassCastException cce) {
             throw new EvrExtractorException("EVR extraction failed for event ID " +
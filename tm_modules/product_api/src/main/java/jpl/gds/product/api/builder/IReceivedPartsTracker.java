@@ -62,6 +62,19 @@ public interface IReceivedPartsTracker {
      */
     public String getKey(int vcid, String transactionId);
 
+    /**
+     * Gets the object on which the tracker synchronizes operations on a product. Callers that need
+     * a sequence of operations on one product to be atomic should synchronize on it, rather than
+     * on the tracker, so that other products are not held up.
+     * 
+     * @param vcid
+     *            virtual channel ID
+     * @param transactionId
+     *            product transaction ID
+     * @return lock object for the product
+     */
+    public Object getLock(int vcid, String transactionId);
+
     /**
      * Adds an MPDU to a product.  
      * @param vcid
@@ -204,30 +217,39 @@ public interface IReceivedPartsTracker {
     public SortedSet<Integer> getParts(int vcid, String transactionId);
 
     /**
-     * Store contents of this object to a single file (the default parts tracker file), 
-     * for the specified data product.
+     * Gets the number of distinct part numbers that have been received (tracked) for a product,
+     * without copying them.
      * 
-     * File format is CSV:<b>
-     * <ul>
-     * <li>The first value is is a String used as the KEY for both Maps</li>
-     * <li>The second value is the ERT of the first packet received</li>
-     * <li>The third value is 1 or 0 indicating if the product MPDU was received.</li>
-     * <li>The fourth value is 1 or 0 indicating if the product EPDU was received.</li>
-     * <li>The fifth value is the total number of parts for that key</li>
-     * <li>The remaining values are the part numbers already contained in the tracker</li>
-     * </ul>
-     * Blank lines are ignored
+     * @param vcid
+     *            virtual channel ID
+     * @param transactionId
+     *            product transaction ID
+     * @return number of parts tracked for the specified product; 0 if none
+     */
+    public int getReceivedPartCount(int vcid, String transactionId);
+
+    /**
+     * Check if a part number has been received (tracked) for a product.
      * 
-     * <pre>
-     * Example:
-     * 	 KEY,ERT,MPDU,EPDU,total,list...
-     * 	 KEY,ERT,MPDU,EPDU,total,list...
-     * 	 KEY,ERT,MPDU,EPDU,total,list...
-     * 	 KEY,ERT,MPDU,EPDU,total,list...
-     * 	 KEY,ERT,MPDU,EPDU,total,list...
+     * @param vcid
+     *            virtual channel ID
+     * @param transactionId
+     *            product transaction ID
+     * @param partNumber
+     *            the part number to check
+     * @return true if the part has been received, false otherwise
+     */
+    public boolean isPartReceived(int vcid, String transactionId, int partNumber);
+
+    /**
+     * Store the tracking information for the specified data product to its received parts
+     * index file, in the product's active directory.
+     * 
+     * The index is binary and append-only: only the changes made since the product was last
+     * loaded or stored are appended, each with its own checksum, so an interrupted store loses
+     * at most the changes it was writing. A tracker data file in the older CSV format (see
+     * {@link #store(Writer)}) is replaced by the index.
      * 
-     * MDPU and EPDU are either 1 for true, 0 for false.  These just indicate if they have been received.
-     * </pre>
      * @param vcid VCID of the data product
      * @param transactionId ID of the data product
      */
@@ -330,7 +352,9 @@ public interface IReceivedPartsTracker {
     public void store(Writer out) throws IOException;
 
     /**
-     * Loads the tracker information for the specified data product.
+     * Loads the tracker information for the specified data product from its received parts
+     * index file, or from its CSV tracker data file if it has no index. If the product has
+     * been loaded before, only what has been appended to the index since is read.
      * 
      * @param vcid the product virtual channel ID
      * @param transactionId the product ID
@@ -135,7 +135,7 @@ public class ReferenceProductAdaptor extends AbstractProductAdapter {
 		final String transactionId = part.getTransactionId();
 		final int vcid = part.getVcid();
 
-		synchronized (tracker) {
+		synchronized (tracker.getLock(vcid, transactionId)) {
 
 			// First, set the total parts value in the ReceivedPartsTracker.
 			if (!tracker.isTotalPartsKnown(vcid, transactionId)) {
@@ -351,18 +351,18 @@ public abstract class AbstractDiskProductStorage extends Thread implements IProd
             final IPduType pduType = part.getPartPduType();
 
             if (pduType.isMetadata()) {
-                synchronized (tracker) {
+                synchronized (tracker.getLock(part.getVcid(), txId)) {
                     tracker.addMpdu(part.getVcid(), txId, part.getMetadata().getErt());
                 }
             } else if (pduType.isEnd()) {
                 // This means a separate EPDU was received.
-                synchronized (tracker) {
+                synchronized (tracker.getLock(part.getVcid(), txId)) {
                     tracker.addEpdu(part.getVcid(), txId, part.getMetadata().getErt());
                 }
             } else if (pduType.isEndOfData()) {
                 // Data end types mean the EPDU was embedded in the last data part.  Must also
                 // add this as a part.
-                synchronized (tracker) {
+                synchronized (tracker.getLock(part.getVcid(), txId)) {
                     /**
                      * Call to add part must be done first because it clears the tracker and loads it before adding and
                      * will remove the addEpdu call if done after it without saving.
@@ -372,7 +372,7 @@ public abstract class AbstractDiskProductStorage extends Thread implements IProd
                 }
             } else { // No other option, must be a data PDU.
                 // All other PDU types are data and are added to the parts tracker using the addPart.
-                synchronized (tracker) {
+                synchronized (tracker.getLock(part.getVcid(), txId)) {
                     tracker.addPart(part.getVcid(), txId, part.getPartNumber(), part.getMetadata().getErt());
                 }
             }
@@ -417,7 +417,7 @@ public abstract class AbstractDiskProductStorage extends Thread implements IProd
              * Persist the receive parts tracker information. Must happen AFTER the
              * storePartReceivedEvent() call, but before actual assembly.
              */
-            synchronized (tracker) {
+            synchronized (tracker.getLock(part.getVcid(), txId)) {
                 tracker.store(part.getVcid(), txId);
             }
 
@@ -572,7 +572,7 @@ public abstract class AbstractDiskProductStorage extends Thread implements IProd
          */
         purgeAgingAndForceMessages(tx.getId());
 
-        synchronized (tracker) {
+        synchronized (tracker.getLock(md.getVcid(), tx.getId())) {
             tracker.clearProduct(md.getVcid(),
                     tx.getId());
         }
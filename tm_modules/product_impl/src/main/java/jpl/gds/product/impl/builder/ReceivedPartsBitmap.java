@@ -0,0 +1,203 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.product.impl.builder;
+
+import java.util.Arrays;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * <code>ReceivedPartsBitmap</code> is the set of part numbers received for one product, held as a bitmap.
+ *
+ * Part numbers are split into chunks of 65536 by their high 16 bits, and each chunk that holds any part is
+ * a bitmap that grows only as far as the highest part received in it, so a product whose parts are numbered
+ * densely from 0 or 1 costs one bit per part. The number of parts received is kept as parts are added, so
+ * completeness checks do not need to count them. Negative part numbers, which no product type currently
+ * produces, are kept in a sorted set on the side.
+ *
+ * This class is not thread safe.
+ */
+final class ReceivedPartsBitmap {
+
+	private static final int CHUNK_BITS = 16;
+	private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+	private static final int INITIAL_CHUNK_WORDS = 4;
+
+	/** High 16 bits of the parts in each chunk, ascending */
+	private int[] keys = new int[0];
+	private long[][] chunks = new long[0][];
+	private int size;
+	private SortedSet<Integer> negativeParts;
+
+	/**
+	 * Receives one run of consecutive part numbers.
+	 */
+	interface RunConsumer {
+		/**
+		 * @param start the first part number in the run
+		 * @param count the number of parts in the run
+		 */
+		void accept(int start, int count);
+	}
+
+	/**
+	 * Adds a part number.
+	 * @param part the part number
+	 * @return true if the part was not already present
+	 */
+	boolean add(final int part) {
+		if (part < 0) {
+			if (negativeParts == null) {
+				negativeParts = new TreeSet<Integer>();
+			}
+			if (negativeParts.add(part)) {
+				size++;
+				return true;
+			}
+			return false;
+		}
+
+		final int key = part >>> CHUNK_BITS;
+		int index = Arrays.binarySearch(keys, key);
+		if (index < 0) {
+			index = -index - 1;
+			keys = insert(keys, index, key);
+			final long[][] newChunks = new long[chunks.length + 1][];
+			System.arraycopy(chunks, 0, newChunks, 0, index);
+			System.arraycopy(chunks, index, newChunks, index + 1, chunks.length - index);
+			newChunks[index] = new long[INITIAL_CHUNK_WORDS];
+			chunks = newChunks;
+		}
+
+		final int bit = part & CHUNK_MASK;
+		final int word = bit >>> 6;
+		long[] chunk = chunks[index];
+		if (word >= chunk.length) {
+			chunk = Arrays.copyOf(chunk, Math.min(Math.max(chunk.length * 2, word + 1), (CHUNK_MASK + 1) >>> 6));
+			chunks[index] = chunk;
+		}
+		final long mask = 1L << bit;
+		if ((chunk[word] & mask) != 0) {
+			return false;
+		}
+		chunk[word] |= mask;
+		size++;
+		return true;
+	}
+
+	/**
+	 * Adds a run of consecutive part numbers.
+	 * @param start the first part number
+	 * @param count the number of parts
+	 */
+	void addRun(final int start, final int count) {
+		for (int i = 0; i < count; i++) {
+			add(start + i);
+		}
+	}
+
+	/**
+	 * Indicates whether a part number is present.
+	 * @param part the part number
+	 * @return true if present
+	 */
+	boolean contains(final int part) {
+		if (part < 0) {
+			return negativeParts != null && negativeParts.contains(part);
+		}
+		final int index = Arrays.binarySearch(keys, part >>> CHUNK_BITS);
+		if (index < 0) {
+			return false;
+		}
+		final int bit = part & CHUNK_MASK;
+		final long[] chunk = chunks[index];
+		return (bit >>> 6) < chunk.length && (chunk[bit >>> 6] & (1L << bit)) != 0;
+	}
+
+	/**
+	 * Gets the number of part numbers present.
+	 * @return part count
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Passes the part numbers present to a consumer as runs of consecutive numbers, in ascending order.
+	 * @param consumer the consumer of the runs
+	 */
+	void forEachRun(final RunConsumer consumer) {
+		long runStart = 0;
+		int runCount = 0;
+		if (negativeParts != null) {
+			for (final Integer part : negativeParts) {
+				if (runCount != 0 && runStart + runCount == part) {
+					runCount++;
+				} else {
+					if (runCount != 0) {
+						consumer.accept((int) runStart, runCount);
+					}
+					runStart = part;
+					runCount = 1;
+				}
+			}
+		}
+		for (int c = 0; c < keys.length; c++) {
+			final long base = ((long) keys[c]) << CHUNK_BITS;
+			final long[] chunk = chunks[c];
+			for (int w = 0; w < chunk.length; w++) {
+				long word = chunk[w];
+				while (word != 0) {
+					final int bit = Long.numberOfTrailingZeros(word);
+					word &= word - 1;
+					final long part = base + (w << 6) + bit;
+					if (runCount != 0 && runStart + runCount == part) {
+						runCount++;
+					} else {
+						if (runCount != 0) {
+							consumer.accept((int) runStart, runCount);
+						}
+						runStart = part;
+						runCount = 1;
+					}
+				}
+			}
+		}
+		if (runCount != 0) {
+			consumer.accept((int) runStart, runCount);
+		}
+	}
+
+	/**
+	 * Copies the part numbers present to a sorted set.
+	 * @return a new sorted set of part numbers
+	 */
+	SortedSet<Integer> toSortedSet() {
+		final SortedSet<Integer> set = new TreeSet<Integer>();
+		forEachRun((start, count) -> {
+			for (int i = 0; i < count; i++) {
+				set.add(start + i);
+			}
+		});
+		return set;
+	}
+
+	private static int[] insert(final int[] array, final int index, final int value) {
+		final int[] result = new int[array.length + 1];
+		System.arraycopy(array, 0, result, 0, index);
+		result[index] = value;
+		System.arraycopy(array, index, result, index + 1, array.length - index);
+		return result;
+	}
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.product.impl.builder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * <code>ReceivedPartsIndexFile</code> reads and writes the binary, append-only index in which the
+ * received parts tracker persists the state of one product.
+ *
+ * The file is an 8-byte header followed by fixed-length records, each of which describes one change to
+ * the product's state and carries its own checksum. Changes are only ever appended, so a reader that has
+ * already replayed the start of the file only needs to read what has been appended since. A record that
+ * was not completely written, for instance because the process died while appending it, fails its
+ * checksum, and replay stops there. Large files are memory-mapped for replay.
+ */
+final class ReceivedPartsIndexFile {
+
+	/** Index file name */
+	static final String INDEX_FILE_NAME = "ReceivedPartsTracker.idx";
+
+	/* Record types */
+	/** Part numbers received; value is the first part, count the number of consecutive parts */
+	static final int PARTS = 1;
+	/** MPDU received */
+	static final int MPDU = 2;
+	/** EPDU received */
+	static final int EPDU = 3;
+	/** Total parts, if greater than the current total; value is the total */
+	static final int TOTAL_PARTS = 4;
+	/** Total parts, unconditionally; value is the total */
+	static final int TOTAL_PARTS_DIRECT = 5;
+	/** ERT only */
+	static final int ERT = 6;
+
+	/** Value of the ERT milliseconds field when a record has no ERT */
+	static final long NO_ERT = Long.MIN_VALUE;
+
+	/** Header size in bytes */
+	static final int HEADER_SIZE = 8;
+	/** Record size in bytes */
+	static final int RECORD_SIZE = 32;
+
+	private static final int MAGIC = 0x52505449; // "RPTI"
+	private static final int VERSION = 1;
+	private static final int CHECKED_SIZE = 24;
+	private static final long MAP_THRESHOLD = 64 * 1024;
+
+	/**
+	 * One change to a product's state.
+	 */
+	static final class Record {
+		final int type;
+		final int value;
+		final int count;
+		final long ertMillis;
+		final int ertNanos;
+
+		/**
+		 * Constructor.
+		 * @param type the record type
+		 * @param value the part number or total parts, depending on type
+		 * @param count the number of parts, for PARTS records
+		 * @param ertMillis ERT milliseconds, or NO_ERT
+		 * @param ertNanos ERT sub-millisecond nanoseconds
+		 */
+		Record(final int type, final int value, final int count, final long ertMillis, final int ertNanos) {
+			this.type = type;
+			this.value = value;
+			this.count = count;
+			this.ertMillis = ertMillis;
+			this.ertNanos = ertNanos;
+		}
+	}
+
+	/**
+	 * Receives records as they are replayed.
+	 */
+	interface RecordConsumer {
+		/**
+		 * @param record the record replayed
+		 */
+		void accept(Record record);
+	}
+
+	private ReceivedPartsIndexFile() {
+		// static methods only
+	}
+
+	/**
+	 * Replays the records in an index file from the given offset.
+	 * @param file the index file
+	 * @param offset the offset to start at, 0 for the start of the file
+	 * @param consumer the consumer of the records replayed
+	 * @return the offset just past the last valid record replayed; if this is less than the
+	 *         file length, the rest of the file is not valid
+	 * @throws IOException if the file cannot be read or is not an index file
+	 */
+	static long replay(final File file, final long offset, final RecordConsumer consumer) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			final long fileLength = channel.size();
+			long position = offset;
+			if (position < HEADER_SIZE) {
+				final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+				while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+					// read until full
+				}
+				header.flip();
+				if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION) {
+					throw new IOException("Not a received parts index file: " + file);
+				}
+				position = HEADER_SIZE;
+			}
+
+			final long length = ((fileLength - position) / RECORD_SIZE) * RECORD_SIZE;
+			if (length <= 0) {
+				return position;
+			}
+
+			final ByteBuffer buffer;
+			if (length >= MAP_THRESHOLD) {
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+			} else {
+				buffer = ByteBuffer.allocate((int) length);
+				while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) > 0) {
+					// read until full
+				}
+				buffer.flip();
+			}
+
+			final CRC32 crc = new CRC32();
+			final byte[] checked = new byte[CHECKED_SIZE];
+			while (buffer.remaining() >= RECORD_SIZE) {
+				buffer.get(checked);
+				final long checksum = buffer.getLong();
+				crc.reset();
+				crc.update(checked, 0, CHECKED_SIZE);
+				if (crc.getValue() != checksum) {
+					break;
+				}
+				final ByteBuffer fields = ByteBuffer.wrap(checked);
+				final int type = fields.getInt();
+				final int value = fields.getInt();
+				final int count = fields.getInt();
+				final int ertNanos = fields.getInt();
+				final long ertMillis = fields.getLong();
+				consumer.accept(new Record(type, value, count, ertMillis, ertNanos));
+				position += RECORD_SIZE;
+			}
+			return position;
+		}
+	}
+
+	/**
+	 * Appends records to an index file, creating it if necessary. The records are written
+	 * at the end of the valid part of the file, so anything left after it by an incomplete
+	 * write is overwritten and discarded.
+	 * @param file the index file
+	 * @param validLength the length of the valid part of the file, as returned by replay();
+	 *        0 if the file is new
+	 * @param records the records to append
+	 * @return the new file length
+	 * @throws IOException if the file cannot be written
+	 */
+	static long append(final File file, final long validLength, final List<Record> records) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE)) {
+			long position = Math.min(validLength, channel.size());
+			if (position < HEADER_SIZE) {
+				position = 0;
+			}
+			final ByteBuffer buffer = encode(records, position == 0);
+			while (buffer.hasRemaining()) {
+				position += channel.write(buffer, position);
+			}
+			if (channel.size() > position) {
+				channel.truncate(position);
+			}
+			return position;
+		}
+	}
+
+	/**
+	 * Replaces an index file with one containing only the given records. The new file is written
+	 * alongside and then moved into place, so the old file remains intact until the new one is complete.
+	 * @param file the index file
+	 * @param records the records the new file is to contain
+	 * @return the new file length
+	 * @throws IOException if the file cannot be written
+	 */
+	static long rewrite(final File file, final List<Record> records) throws IOException {
+		final File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+		final ByteBuffer buffer = encode(records, true);
+		try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+		return buffer.limit();
+	}
+
+	private static ByteBuffer encode(final List<Record> records, final boolean withHeader) {
+		final ByteBuffer buffer = ByteBuffer.allocate((withHeader ? HEADER_SIZE : 0) + records.size() * RECORD_SIZE);
+		if (withHeader) {
+			buffer.putInt(MAGIC).putInt(VERSION);
+		}
+		final CRC32 crc = new CRC32();
+		for (final Record record : records) {
+			final int start = buffer.position();
+			buffer.putInt(record.type).putInt(record.value).putInt(record.count).putInt(record.ertNanos)
+					.putLong(record.ertMillis);
+			crc.reset();
+			crc.update(buffer.array(), start, CHECKED_SIZE);
+			buffer.putLong(crc.getValue());
+		}
+		buffer.flip();
+		return buffer;
+	}
+}
@@ -22,11 +22,12 @@ import java.io.PrintWriter;
 import java.io.Reader;
 import java.io.Writer;
 import java.text.ParseException;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.context.ApplicationContext;
 
@@ -50,12 +51,23 @@ import jpl.gds.shared.time.IAccurateDateTime;
  * 6/30/2016 - Tracking if a product has received MPDU and EPDU.  Also update the load and
  * store to include entries if any information was added for a given transaction.  Would skip it if there were no parts added
  * but it now is needed to tell if the M or E PDUs were received.
+ * 
+ * The part numbers received for each product are held in a bitmap, along with a count of them, so completeness
+ * checks are constant time. Each product is persisted to a binary, append-only index file in its active product
+ * directory: changes made since the last store are appended, and loading a product that has already been loaded
+ * only reads what has been appended since (see ReceivedPartsIndexFile). Tracker data files in the old text format
+ * are still loaded, and are replaced by an index file the next time the product is stored.
+ * 
+ * Products are locked individually rather than as a whole. Callers that need several operations on a product to
+ * be atomic synchronize on {@link #getLock(int, String)}.
  */
 public class ReceivedPartsTracker implements IReceivedPartsTracker {
     private final Tracer               log;
 
 	private static final String			VERSION_HEADER									= ReceivedPartsTracker.class.getSimpleName() + " VERSION: ";
 
+	private static final int			LOCK_STRIPES									= 64;
+
 	/** The current application context */
 	protected final ApplicationContext appContext;
 
@@ -66,39 +78,43 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
 	public ReceivedPartsTracker(final ApplicationContext appContext) {
 		this.appContext = appContext;
         this.log = TraceManager.getTracer(appContext, Loggers.TLM_PRODUCT);
+        for (int i = 0; i < locks.length; i++) {
+        	locks[i] = new Object();
+        }
 	}
 
 
 	// member variables of interest below
-	private final Map<String, SortedSet<Integer>>	receivedPartsTable	= new HashMap<String, SortedSet<Integer>>();
-	private final Map<String, Integer>				totalPartsTable		= new HashMap<String, Integer>();
-	private final Map<String, IAccurateDateTime>		ertTable			= new HashMap<String, IAccurateDateTime>();
-	private final HashSet<String>				    mpduReceivedTable	= new HashSet<String>();
-	private final HashSet<String>				    epduReceivedTable	= new HashSet<String>();
+	private final Map<String, ProductEntry>			productTable		= new ConcurrentHashMap<String, ProductEntry>();
+	private final Object[]							locks				= new Object[LOCK_STRIPES];
 
-	private final StringBuilder						sb					= new StringBuilder(1024);
-	
-	/*
-	 * Keep track of version number of READ file.
-	 * (Always write current version).
+	/**
+	 * The tracking information for one product.
 	 */
-	private int trackerReaderVersion = 0;
+	private static final class ProductEntry {
+		private final ReceivedPartsBitmap parts = new ReceivedPartsBitmap();
+		/** True once a part list exists for the product, even if it is empty */
+		private boolean partsTracked;
+		private int totalParts;
+		private boolean totalPartsKnown;
+		private IAccurateDateTime ert;
+		private boolean mpduReceived;
+		private boolean epduReceived;
+
+		/** Length of the index file that has been replayed into, or written from, this entry */
+		private long indexLength;
+		/** Changes not yet appended to the index file */
+		private final List<ReceivedPartsIndexFile.Record> pending = new ArrayList<>();
+		/** True if the index file must be rewritten from this entry, rather than appended to */
+		private boolean rewrite;
+	}
 
 	/**
      * {@inheritDoc}
      */
 	@Override
     public void clear() {
-		receivedPartsTable.clear();
-		totalPartsTable.clear();
-		ertTable.clear();
-		sb.setLength(0);
-		
-		/**
-		 * Clear the new tables.
-		 */
-		mpduReceivedTable.clear();
-		epduReceivedTable.clear();
+		productTable.clear();
 	}
 
 	/**
@@ -106,11 +122,23 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
      */
 	@Override
     public String getKey(final int vcid, final String transactionId) {
-		sb.setLength(0);
-		sb.append(vcid);
-		sb.append("/");
-		sb.append(transactionId);
-		return sb.toString();
+		return vcid + "/" + transactionId;
+	}
+
+	/**
+     * {@inheritDoc}
+     */
+	@Override
+	public Object getLock(final int vcid, final String transactionId) {
+		return lockFor(getKey(vcid, transactionId));
+	}
+
+	private Object lockFor(final String key) {
+		return locks[(key.hashCode() & Integer.MAX_VALUE) % LOCK_STRIPES];
+	}
+
+	private ProductEntry getEntry(final String key) {
+		return productTable.computeIfAbsent(key, k -> new ProductEntry());
 	}
 
 	/**
@@ -139,6 +167,72 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
 		return builder.toString();
 	}
 
+	/**
+	 * Applies a change to a product entry and queues it to be appended to the index file.
+	 */
+	private void record(final String key, final int type, final int value, final IAccurateDateTime ert) {
+		final ProductEntry entry = getEntry(key);
+		final ReceivedPartsIndexFile.Record record = new ReceivedPartsIndexFile.Record(type, value,
+				type == ReceivedPartsIndexFile.PARTS ? 1 : 0,
+				ert == null ? ReceivedPartsIndexFile.NO_ERT : ert.getTime(),
+				ert == null ? 0 : (int) ert.getNanoseconds());
+		apply(entry, record, ert);
+		entry.pending.add(record);
+	}
+
+	/**
+	 * Applies a change, either made now or replayed from the index file, to a product entry.
+	 */
+	private static void apply(final ProductEntry entry, final ReceivedPartsIndexFile.Record record,
+			final IAccurateDateTime ert) {
+		switch (record.type) {
+		case ReceivedPartsIndexFile.PARTS:
+			entry.parts.addRun(record.value, record.count);
+			entry.partsTracked = true;
+			break;
+		case ReceivedPartsIndexFile.MPDU:
+			entry.mpduReceived = true;
+			break;
+		case ReceivedPartsIndexFile.EPDU:
+			entry.epduReceived = true;
+			break;
+		case ReceivedPartsIndexFile.TOTAL_PARTS:
+			if (!entry.totalPartsKnown || record.value > entry.totalParts) {
+				entry.totalParts = record.value;
+				entry.totalPartsKnown = true;
+			}
+			break;
+		case ReceivedPartsIndexFile.TOTAL_PARTS_DIRECT:
+			entry.totalParts = record.value;
+			entry.totalPartsKnown = true;
+			break;
+		default:
+			break;
+		}
+
+		/*
+		 * Keep track of earliest ERT for product.
+		 */
+		IAccurateDateTime recordErt = ert;
+		if (null == recordErt && record.ertMillis != ReceivedPartsIndexFile.NO_ERT) {
+			recordErt = new AccurateDateTime(record.ertMillis, record.ertNanos);
+		}
+		if (null != recordErt && (null == entry.ert || recordErt.before(entry.ert))) {
+			entry.ert = recordErt;
+		}
+	}
+
+	/**
+	 * Replays what has been appended to a product's index file since it was last read or written,
+	 * then reapplies the changes not yet stored, which will follow it in the file.
+	 */
+	private static void catchUp(final ProductEntry entry, final File indexFile) throws IOException {
+		entry.indexLength = ReceivedPartsIndexFile.replay(indexFile, entry.indexLength, r -> apply(entry, r, null));
+		for (final ReceivedPartsIndexFile.Record r : entry.pending) {
+			apply(entry, r, null);
+		}
+	}
+
 	/**
      * {@inheritDoc}
      */
@@ -146,9 +240,10 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
     public void addMpdu(final int vcid, final String transactionId, final IAccurateDateTime ert) {
 		final String key = getKey(vcid, transactionId);
 
-		// Just add it, if it already exists will just replace the old one.
-		mpduReceivedTable.add(key);
-		updateEarliestERT(vcid, transactionId, ert);
+		synchronized (lockFor(key)) {
+			// Just add it, if it already exists will just replace the old one.
+			record(key, ReceivedPartsIndexFile.MPDU, 0, ert);
+		}
 		
 		log.debug(buildDebugMessage("Adding MPDU", vcid, transactionId, null));
 	}
@@ -160,10 +255,11 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
     public void addEpdu(final int vcid, final String transactionId, final IAccurateDateTime ert) {
 		final String key = getKey(vcid, transactionId);
 		
-		// Just add it, if it already exists will just replace the old one.
-		epduReceivedTable.add(key);
-		
-		updateEarliestERT(vcid, transactionId, ert);
+		synchronized (lockFor(key)) {
+			// Just add it, if it already exists will just replace the old one.
+			record(key, ReceivedPartsIndexFile.EPDU, 0, ert);
+		}
+
 		log.debug(buildDebugMessage("Adding EPDU", vcid, transactionId, null));
 	}
 	
@@ -173,36 +269,19 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
 	@Override
     public void addPart(final int vcid, final String transactionId, final int partNumber, final IAccurateDateTime ert) {
 		final String key = getKey(vcid, transactionId);
-		SortedSet<Integer> partNumbers = null;
-
-		/*
-		 *
-		 * Used to be that the tracker was loaded only upon receipt of the 
-		 * first part, but caching does not work when multiple processes are
-		 * operating in concert. It must be loaded from the file system
-		 * every time.
-		 */
-		load(vcid, transactionId);
 
-		/*
-		 * Fixed bug that neglected to set the partNumbers variable after loading it.
-		 */
-		if (receivedPartsTable.containsKey(key)) {
-			partNumbers = receivedPartsTable.get(key);
-		}
-
-
-		if (null == partNumbers) {
+		synchronized (lockFor(key)) {
 			/*
-			 * No persistence found. Create a new, empty entry in table. Add a new part numbers SortedSet object to the table
+			 *
+			 * Used to be that the tracker was loaded only upon receipt of the 
+			 * first part, but caching does not work when multiple processes are
+			 * operating in concert. It must be loaded from the file system
+			 * every time. Only what has been appended since the last load is read.
 			 */
-			partNumbers = new TreeSet<Integer>();
-			receivedPartsTable.put(key, partNumbers);
-		}
-		partNumbers.add(partNumber);
+			load(vcid, transactionId);
 
-		
-		updateEarliestERT(vcid, transactionId, ert);
+			record(key, ReceivedPartsIndexFile.PARTS, partNumber, ert);
+		}
 		
 		log.debug(buildDebugMessage("Adding Part", vcid, transactionId, partNumber));
 	}
@@ -212,20 +291,16 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
      */
 	@Override
     public void updateEarliestERT(final int vcid, final String transactionId, final IAccurateDateTime ert) {
+		if (null == ert) {
+			return;
+		}
 		final String key = getKey(vcid, transactionId);
-		/*
-		 * Keep track of earliest ERT for product.
-		 */
-		if (null != ert) {
-			if (ertTable.containsKey(key)) {
-				final IAccurateDateTime earliestTime = ertTable.get(key);
-				if (ert.before(earliestTime)) {
-					ertTable.put(key,ert);
-				}
-			} else {
-				ertTable.put(key, ert);
+		synchronized (lockFor(key)) {
+			final ProductEntry entry = productTable.get(key);
+			if (entry == null || entry.ert == null || ert.before(entry.ert)) {
+				record(key, ReceivedPartsIndexFile.ERT, 0, ert);
 			}
-		}	
+		}
 	}
 
 	/**
@@ -235,12 +310,10 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
     public void setTotalParts(final int vcid, final String transactionId, final int totalParts) {
 		final String key = getKey(vcid, transactionId);
 
-		if (totalPartsTable.get(key) == null) {
-			totalPartsTable.put(key, totalParts);
-		} else {
-			final int total = totalPartsTable.get(key);
-			if (totalParts > total) {
-				totalPartsTable.put(key, totalParts);
+		synchronized (lockFor(key)) {
+			final ProductEntry entry = productTable.get(key);
+			if (entry == null || !entry.totalPartsKnown || totalParts > entry.totalParts) {
+				record(key, ReceivedPartsIndexFile.TOTAL_PARTS, totalParts, null);
 			}
 		}
 	}
@@ -251,7 +324,9 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
 	@Override
     public void setTotalPartsDirect(final int vcid, final String transactionId, final int totalParts) {
 		final String key = getKey(vcid, transactionId);
-		totalPartsTable.put(key, totalParts);
+		synchronized (lockFor(key)) {
+			record(key, ReceivedPartsIndexFile.TOTAL_PARTS_DIRECT, totalParts, null);
+		}
 	}
 
 	/**
@@ -259,7 +334,11 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
      */
 	@Override
     public boolean isTotalPartsKnown(final int vcid, final String transactionId) {
-		return totalPartsTable.get(getKey(vcid, transactionId)) != null ? true : false;
+		final String key = getKey(vcid, transactionId);
+		synchronized (lockFor(key)) {
+			final ProductEntry entry = productTable.get(key);
+			return entry != null && entry.totalPartsKnown;
+		}
 	}
 
 	/**
@@ -267,15 +346,21 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
      */
 	@Override
     public IAccurateDateTime getEarliestERT(final int vcid, final String transactionId) {
-		/*
-		 * Do not use Current Time for ERT if there have been no parts received.
-		 */
-		final SortedSet<Integer> parts = getParts(vcid, transactionId);
-		IAccurateDateTime ert = ertTable.get(getKey(vcid, transactionId));
-		if ((null == ert) && ((null != parts) && (parts.size() > 0))) {
-			ert = new AccurateDateTime();
+		final String key = getKey(vcid, transactionId);
+		synchronized (lockFor(key)) {
+			final ProductEntry entry = productTable.get(key);
+			if (entry == null) {
+				return null;
+			}
+			/*
+			 * Do not use Current Time for ERT if there have been no parts received.
+			 */
+			IAccurateDateTime ert = entry.ert;
+			if ((null == ert) && (entry.parts.size() > 0)) {
+				ert = new AccurateDateTime();
+			}
+			return ert;
 		}
-		return ert;
 	}
 
 	/**
@@ -283,12 +368,14 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
      */
 	@Override
     public int getTotalParts(final int vcid, final String transactionId) {
-
-		if (!isTotalPartsKnown(vcid, transactionId)) {
-			return -1;
+		final String key = getKey(vcid, transactionId);
+		synchronized (lockFor(key)) {
+			final ProductEntry entry = productTable.get(key);
+			if (entry == null || !entry.totalPartsKnown) {
+				return -1;
+			}
+			return entry.totalParts;
 		}
-
-		return totalPartsTable.get(getKey(vcid, transactionId)).intValue();
 	}
 
 	/**
@@ -298,35 +385,34 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
     public boolean allPartsReceived(final int vcid, final String transactionId) {
 		final String key = getKey(vcid, transactionId);
 
-		if (!mpduReceivedTable.contains(key) || !epduReceivedTable.contains(key)) {
-			return false;
-		}
-
-		if (!isTotalPartsKnown(vcid, transactionId)) {
-			return false;
-		} 
+		synchronized (lockFor(key)) {
+			final ProductEntry entry = productTable.get(key);
 
-		/**
-		 * Must handle the case where we only have MPDU and EPDU for a
-		 * complete product with no data parts.
-		 */
-		final int totalParts = totalPartsTable.get(key).intValue();
-		
-		if (totalParts == 0) {
-			return true; 
-		} else if (!receivedPartsTable.containsKey(key) || receivedPartsTable.get(key) == null) {
-			return false;
-		} else {
+			if (entry == null || !entry.mpduReceived || !entry.epduReceived) {
+				return false;
+			}
 
-			final SortedSet<Integer> partNumbers = receivedPartsTable.get(key);
+			if (!entry.totalPartsKnown) {
+				return false;
+			} 
 
 			/**
-			 * All data parts will be stored only, we have different collections to store
-			 * if the MPDU or EPDU were tracked.  In the case of an embedded EPDU, that will be treated just like a 
-			 * normal data part here.  It is important that the maintainer of the parts tracker handle the case where 
-			 * the total parts include EPDUs.  
+			 * Must handle the case where we only have MPDU and EPDU for a
+			 * complete product with no data parts.
 			 */
-			return partNumbers.size() == totalParts;
+			if (entry.totalParts == 0) {
+				return true; 
+			} else if (!entry.partsTracked) {
+				return false;
+			} else {
+				/**
+				 * All data parts will be stored only, we have different collections to store
+				 * if the MPDU or EPDU were tracked.  In the case of an embedded EPDU, that will be treated just like a 
+				 * normal data part here.  It is important that the maintainer of the parts tracker handle the case where 
+				 * the total parts include EPDUs.  
+				 */
+				return entry.parts.size() == entry.totalParts;
+			}
 		}
 	}
 
@@ -336,15 +422,9 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
 	@Override
     public void clearProduct(final int vcid, final String transactionId) {
 		final String key = getKey(vcid, transactionId);
-		totalPartsTable.remove(key);
-		receivedPartsTable.remove(key);
-		ertTable.remove(key);
-		
-		/**
-		 * Clear the new tables.
-		 */
-		mpduReceivedTable.remove(key);
-		epduReceivedTable.remove(key);
+		synchronized (lockFor(key)) {
+			productTable.remove(key);
+		}
 	}
 
 	/**
@@ -352,17 +432,44 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
      */
 	@Override
     public SortedSet<Integer> getParts(final int vcid, final String transactionId) {
-		return receivedPartsTable.get(getKey(vcid, transactionId));
+		final String key = getKey(vcid, transactionId);
+		synchronized (lockFor(key)) {
+			final ProductEntry entry = productTable.get(key);
+			if (entry == null || !entry.partsTracked) {
+				return null;
+			}
+			return entry.parts.toSortedSet();
+		}
+	}
+
+	/**
+     * {@inheritDoc}
+     */
+	@Override
+	public int getReceivedPartCount(final int vcid, final String transactionId) {
+		final String key = getKey(vcid, transactionId);
+		synchronized (lockFor(key)) {
+			final ProductEntry entry = productTable.get(key);
+			return entry == null ? 0 : entry.parts.size();
+		}
+	}
+
+	/**
+     * {@inheritDoc}
+     */
+	@Override
+	public boolean isPartReceived(final int vcid, final String transactionId, final int partNumber) {
+		final String key = getKey(vcid, transactionId);
+		synchronized (lockFor(key)) {
+			final ProductEntry entry = productTable.get(key);
+			return entry != null && entry.parts.contains(partNumber);
+		}
 	}
 
 	/*
 	 * PERSISTENCE PERSISTENCE PERSISTENCE PERSISTENCE PERSISTENCE PERSISTENCE PERSISTENCE PERSISTENCE PERSISTENCE
 	 */
-	private File getTrackerDataFile(final int vcid, final String transactionId) {
-		return getTrackerDataFile(vcid, transactionId, false);
-	}
-
-	private File getTrackerDataFile(final int vcid, final String transactionId, final boolean create) {
+	private File getTrackerDirectory(final int vcid, final String transactionId, final boolean create) {
 		File logDir = null;
 		try {
 			final IProductStorage dps = appContext.getBean(IProductStorage.class, vcid);
@@ -375,7 +482,33 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
 		if (create && !logDir.exists()) {
 			logDir.mkdirs();
 		}
-		return new File(logDir, RECEIVED_PARTS_TRACKER_PERSISTENCE_FILE_NAME);
+		return logDir;
+	}
+
+	/**
+	 * Builds the records that reproduce the current state of a product, for rewriting its index file.
+	 */
+	private static List<ReceivedPartsIndexFile.Record> snapshot(final ProductEntry entry) {
+		final List<ReceivedPartsIndexFile.Record> records = new ArrayList<>();
+		if (entry.mpduReceived) {
+			records.add(new ReceivedPartsIndexFile.Record(ReceivedPartsIndexFile.MPDU, 0, 0,
+					ReceivedPartsIndexFile.NO_ERT, 0));
+		}
+		if (entry.epduReceived) {
+			records.add(new ReceivedPartsIndexFile.Record(ReceivedPartsIndexFile.EPDU, 0, 0,
+					ReceivedPartsIndexFile.NO_ERT, 0));
+		}
+		if (entry.totalPartsKnown) {
+			records.add(new ReceivedPartsIndexFile.Record(ReceivedPartsIndexFile.TOTAL_PARTS_DIRECT,
+					entry.totalParts, 0, ReceivedPartsIndexFile.NO_ERT, 0));
+		}
+		if (entry.ert != null) {
+			records.add(new ReceivedPartsIndexFile.Record(ReceivedPartsIndexFile.ERT, 0, 0, entry.ert.getTime(),
+					(int) entry.ert.getNanoseconds()));
+		}
+		entry.parts.forEachRun((start, count) -> records.add(new ReceivedPartsIndexFile.Record(
+				ReceivedPartsIndexFile.PARTS, start, count, ReceivedPartsIndexFile.NO_ERT, 0)));
+		return records;
 	}
 	
 	/**
@@ -383,13 +516,44 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
      */
 	@Override
     public void store(final int vcid, final String transactionId) {
-		final File trackerDataFile = getTrackerDataFile(vcid, transactionId, true);
-		trackerDataFile.delete();
-		
-		try (PrintWriter wrtr = new PrintWriter(new FileWriter(trackerDataFile))) {
-			store(vcid, transactionId, wrtr);
-		} catch (final IOException e) {
-			// ignore -- succeeded already false
+		final String key = getKey(vcid, transactionId);
+
+		synchronized (lockFor(key)) {
+			final File trackerDir = getTrackerDirectory(vcid, transactionId, true);
+			final File indexFile = new File(trackerDir, ReceivedPartsIndexFile.INDEX_FILE_NAME);
+			ProductEntry entry = productTable.get(key);
+			if (entry == null) {
+				// Nothing is known about the product; record exactly that
+				entry = getEntry(key);
+				entry.rewrite = true;
+			}
+
+			try {
+				if (entry.rewrite) {
+					entry.indexLength = ReceivedPartsIndexFile.rewrite(indexFile, snapshot(entry));
+					entry.pending.clear();
+					entry.rewrite = false;
+					/* The index replaces any tracker data file in the old text format */
+					new File(trackerDir, RECEIVED_PARTS_TRACKER_PERSISTENCE_FILE_NAME).delete();
+					return;
+				}
+				if (entry.pending.isEmpty()) {
+					return;
+				}
+
+				/*
+				 * Pick up anything appended by another process since this product was
+				 * last loaded, then reapply this process's changes over it, in the order
+				 * they will appear in the file.
+				 */
+				if (indexFile.length() > entry.indexLength) {
+					catchUp(entry, indexFile);
+				}
+				entry.indexLength = ReceivedPartsIndexFile.append(indexFile, entry.indexLength, entry.pending);
+				entry.pending.clear();
+			} catch (final IOException e) {
+				log.warn("Unable to store received parts tracker for product " + key + ": " + e.getMessage());
+			}
 		}
 	}
 
@@ -404,10 +568,18 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
 		 * With the new version we must write a line if only the
 		 * epdu and / or mpdu are received with no data.  
 		 */
-		final SortedSet<Integer> partList = receivedPartsTable.get(key);
 		wrtr.printf("%s%d\n", VERSION_HEADER, CURRENT_VERSION);
-		final Integer totalParts = totalPartsTable.containsKey(key) ? totalPartsTable.get(key) : -1;
-		final IAccurateDateTime ert = ertTable.containsKey(key) ? ertTable.get(key) : new AccurateDateTime();
+		synchronized (lockFor(key)) {
+			writeEntry(wrtr, key, productTable.get(key));
+		}
+	}
+
+	/**
+	 * Writes one product in the text tracker format.
+	 */
+	private static void writeEntry(final PrintWriter wrtr, final String key, final ProductEntry entry) {
+		final int totalParts = (entry != null && entry.totalPartsKnown) ? entry.totalParts : -1;
+		final IAccurateDateTime ert = (entry != null && entry.ert != null) ? entry.ert : new AccurateDateTime();
 
 		/**
 		 * include the mpdu and epdu flags.
@@ -415,14 +587,16 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
 		wrtr.printf("%s,%s,%s,%s,%s", 
 				key, // key
 				ert.getFormattedErt(false), // ERT
-				mpduReceivedTable.contains(key) ? WAS_RECEIVED : WAS_NOT_RECEIVED,
-				epduReceivedTable.contains(key) ? WAS_RECEIVED : WAS_NOT_RECEIVED,
-				totalParts.toString()); // Total parts
-
-		if (partList != null) {
-			for (final Integer i : partList) {
-				wrtr.printf(",%s", i.toString());
-			}
+				(entry != null && entry.mpduReceived) ? WAS_RECEIVED : WAS_NOT_RECEIVED,
+				(entry != null && entry.epduReceived) ? WAS_RECEIVED : WAS_NOT_RECEIVED,
+				Integer.toString(totalParts)); // Total parts
+
+		if (entry != null) {
+			entry.parts.forEachRun((start, count) -> {
+				for (int i = 0; i < count; i++) {
+					wrtr.printf(",%d", start + i);
+				}
+			});
 		}
 
 		wrtr.println();
@@ -449,36 +623,15 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
 			 * Handle cases where no data was added but we did get other info
 			 * like ERT, total parts or E/M pdu.  
 			 */
-			final TreeSet<String> allKeys = new TreeSet<String>(receivedPartsTable.keySet());
-			
-			// Add the keys from the EPDU and MPDU tables and total parts table.  Must make 
-			// sure that any transaction that has info in this gets saved.
-			allKeys.addAll(mpduReceivedTable);
-			allKeys.addAll(epduReceivedTable);
-			allKeys.addAll(totalPartsTable.keySet());
-			allKeys.addAll(ertTable.keySet());
+			final TreeSet<String> allKeys = new TreeSet<String>(productTable.keySet());
 
 			for (final String key : allKeys) {
-				final SortedSet<Integer> partList = receivedPartsTable.get(key);
-				final Integer totalParts = totalPartsTable.get(key);
-				final IAccurateDateTime ert = ertTable.containsKey(key) ? ertTable.get(key) : new AccurateDateTime();
-				/**
-				 * include the mpdu and epdu flags.
-				 */
-				wrtr.printf("%s,%s,%s,%s,%s", 
-						key, // key
-						ert.getFormattedErt(false), // ERT
-						mpduReceivedTable.contains(key) ? WAS_RECEIVED : WAS_NOT_RECEIVED,
-						epduReceivedTable.contains(key) ? WAS_RECEIVED : WAS_NOT_RECEIVED,
-						((null != totalParts) ? totalParts.toString() : "-1")); // TOTAL PARTS
-				
-				if (partList != null) {
-					for (final Integer i : partList) {
-						wrtr.printf(",%s", i.toString());
+				synchronized (lockFor(key)) {
+					final ProductEntry entry = productTable.get(key);
+					if (entry != null) {
+						writeEntry(wrtr, key, entry);
 					}
 				}
-
-				wrtr.println();
 			}
 		}
 		finally {
@@ -499,13 +652,62 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
      */
 	@Override
     public void load(final int vcid, final String transactionId) {
-		final File trackerDataFile = getTrackerDataFile(vcid, transactionId);
-		this.clearProduct(vcid, transactionId);
-		try {
-			load(trackerDataFile);
-		}
-		catch (final IOException e) {
-			// ignore -- succeeded already false
+		final String key = getKey(vcid, transactionId);
+
+		synchronized (lockFor(key)) {
+			final File trackerDir = getTrackerDirectory(vcid, transactionId, false);
+			final File indexFile = new File(trackerDir, ReceivedPartsIndexFile.INDEX_FILE_NAME);
+			final ProductEntry entry = productTable.get(key);
+
+			/*
+			 * If the product is already tracked against the index, only what other
+			 * processes have appended since needs to be read. If the index has been
+			 * replaced or removed instead, the product is reloaded from scratch.
+			 */
+			if (entry != null) {
+				/*
+				 * Products loaded from a tracker data file in the old format are kept
+				 * as they are until they are stored, which replaces that file.
+				 */
+				if (entry.rewrite || (entry.indexLength == 0 && !indexFile.exists())) {
+					return;
+				}
+				if (entry.indexLength > 0 && indexFile.length() >= entry.indexLength) {
+					try {
+						catchUp(entry, indexFile);
+						return;
+					} catch (final IOException e) {
+						// fall through and reload the product from scratch
+					}
+				}
+			}
+
+			this.clearProduct(vcid, transactionId);
+
+			if (indexFile.exists()) {
+				final ProductEntry loaded = getEntry(key);
+				try {
+					loaded.indexLength = ReceivedPartsIndexFile.replay(indexFile, 0, r -> apply(loaded, r, null));
+				} catch (final IOException e) {
+					log.warn("Unable to load received parts index for product " + key + ": " + e.getMessage());
+					loaded.rewrite = true;
+				}
+				/* Changes not yet stored still apply on top of what was loaded */
+				if (entry != null) {
+					for (final ReceivedPartsIndexFile.Record r : entry.pending) {
+						apply(loaded, r, null);
+						loaded.pending.add(r);
+					}
+				}
+				return;
+			}
+
+			try {
+				load(new File(trackerDir, RECEIVED_PARTS_TRACKER_PERSISTENCE_FILE_NAME));
+			}
+			catch (final IOException e) {
+				// ignore -- succeeded already false
+			}
 		}
 	}
 
@@ -524,6 +726,10 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
     public void load(final Reader in) throws IOException {
         final LineNumberReader rdr = new LineNumberReader(in);
 		try {
+			/*
+			 * Keep track of version number of READ file.
+			 */
+			int trackerReaderVersion = DEFAULT_VERSION;
 			boolean firstLine = true;
 			String line;
 			while (null != (line = rdr.readLine())) {
@@ -546,7 +752,8 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
 				try {
 					final String[] vals = line.split(",");
 					final String key = vals[i++].trim();
-					
+					final ProductEntry entry = new ProductEntry();
+
 					/*
 					 * Only load ERT if not the DEFAULT_VERSION of the file.
 					 * (The original (DEFAULT_VERSION) of the file did not contain
@@ -560,7 +767,7 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
 						catch (final ParseException e1) {
 							ert = new AccurateDateTime();
 						}
-						ertTable.put(key, ert);
+						entry.ert = ert;
 					}
 					
 					/**
@@ -568,26 +775,25 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
 					 */
 					if (trackerReaderVersion >= MPDU_EPDU_VERSION) {
 						if (WAS_RECEIVED.equals(vals[i++])) {
-							mpduReceivedTable.add(key);
+							entry.mpduReceived = true;
 						}
 						
 						if (WAS_RECEIVED.equals(vals[i++])) {
-							epduReceivedTable.add(key);
+							entry.epduReceived = true;
 						}
 					}
 					
 					final String totalPartsString = vals[i++].trim();
-					final SortedSet<Integer> partList = new TreeSet<Integer>();
 					try {
-						final int totalParts = Integer.valueOf(totalPartsString);
-						totalPartsTable.put(key, totalParts);
+						entry.totalParts = Integer.valueOf(totalPartsString);
+						entry.totalPartsKnown = true;
 					}
 					catch (final Exception e) {
 						// ignore -- totalParts is not specified
 					}
 					while (i < vals.length) {
 						try {
-							partList.add(Integer.valueOf(vals[i].trim()));
+							entry.parts.add(Integer.parseInt(vals[i].trim()));
 						}
 						catch (final NumberFormatException e) {
 							throw new IOException("Format error while loading " + getClass().getSimpleName() + " on line #"
@@ -595,7 +801,13 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
 						}
 						i++;
 					}
-					receivedPartsTable.put(key, partList);
+					entry.partsTracked = true;
+
+					/* Loaded from text, so the product's index must be written in full */
+					entry.rewrite = true;
+					synchronized (lockFor(key)) {
+						productTable.put(key, entry);
+					}
 				}
 				catch (final ArrayIndexOutOfBoundsException e) {
 					final int lineno = rdr.getLineNumber();
@@ -622,4 +834,4 @@ public class ReceivedPartsTracker implements IReceivedPartsTracker {
 			}
 		}
 	}
-}
\ No newline at end of file
+}
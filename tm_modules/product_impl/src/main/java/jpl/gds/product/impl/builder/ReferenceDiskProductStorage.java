@@ -191,7 +191,7 @@ public class ReferenceDiskProductStorage extends AbstractDiskProductStorage {
                 cleanupAfterProduct(sourceDir, tx, md);
             } else {
                 // Store the cache for a true partial.
-                synchronized (tracker) {
+                synchronized (tracker.getLock(md.getVcid(), tx.getId())) {
                     tracker.store(md.getVcid(), tx.getId());
                 }
             }
@@ -561,7 +561,7 @@ public class ReferenceTransactionLogStorage extends AbstractTransactionLogStorag
 		/*
 		 * Set ERT from ReceivedPartsTracker
 		 */
-		synchronized (tracker) {
+		synchronized (tracker.getLock(mtx.getMetadata().getVcid(), mtx.getId())) {
 			result.setErt(tracker.getEarliestERT(mtx.getMetadata().getVcid(), mtx.getId()));
 		}
 
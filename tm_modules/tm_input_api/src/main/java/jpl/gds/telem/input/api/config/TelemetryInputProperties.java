@@ -75,6 +75,14 @@ public final class TelemetryInputProperties extends GdsHierarchicalProperties
     private static final String ALLOWED_BUFFERED_INPUT_MODE_PROPERTY = BUFFERED_INPUT_MODE_BLOCK + "allowed";
     private static final String DEFAULT_BUFFERED_INPUT_MODE_PROPERTY = BUFFERED_INPUT_MODE_BLOCK + "default";
 
+    private static final String REPLAY_BLOCK = PROPERTY_PREFIX + "replay.";
+    private static final String REPLAY_MEMORY_MAPPED_PROPERTY = REPLAY_BLOCK + "memoryMapped";
+    private static final String REPLAY_SEGMENT_SIZE_PROPERTY = REPLAY_BLOCK + "segmentSize";
+    private static final String REPLAY_READ_AHEAD_PROPERTY = REPLAY_BLOCK + "readAheadSegments";
+    private static final String REPLAY_BIT_RATE_PROPERTY = REPLAY_BLOCK + "bitRate";
+    private static final String REPLAY_YELLOW_PROPERTY = REPLAY_BLOCK + "rateYellow";
+    private static final String REPLAY_RED_PROPERTY = REPLAY_BLOCK + "rateRed";
+
 	private final int BUFFER_ITEM_SIZE	 		=	128000;
 	private final int BUFFER_ITEM_COUNT	 		=	128000;
 	private final int BUFFER_WINDOW_SIZE		=	10;
@@ -100,6 +108,11 @@ public final class TelemetryInputProperties extends GdsHierarchicalProperties
     // MPCS-7610  - 11/10/16 - Added defaults for TDS heartbeat configuration
     private final int DEFAULT_SFDU_HEARTBEAT_PERIOD_MS             = 300000;
     private final boolean DEFAULT_SFDU_HEARTBEAT_RECONNECT_ENABLED = false;
+
+    private final long DEFAULT_REPLAY_SEGMENT_SIZE              = 268435456;
+    private final int DEFAULT_REPLAY_READ_AHEAD                 = 2;
+    private final int DEFAULT_REPLAY_YELLOW                     = 90;
+    private final int DEFAULT_REPLAY_RED                        = 50;
     
 	// MPCS-7766 12/21/15 - Added for DiskBackedBufferedInputStream command line option validation
     private static final BufferedInputModeType DEFAULT_BUFFER_MODE = BufferedInputModeType.NONE;
@@ -548,6 +561,72 @@ public final class TelemetryInputProperties extends GdsHierarchicalProperties
         return getIntProperty(NEN_STATUS_CLASS_PROPERTY, DEFAULT_NEN_STATUS_CLASS);
     }
 
+
+	/**
+	 * Indicates whether file input is replayed by memory-mapping the input
+	 * file, or each file in an input directory.
+	 * 
+	 * @return true if memory-mapped replay is enabled, false if files are
+	 *         read as a plain stream
+	 */
+	public boolean isMemoryMappedReplayEnabled() {
+		return getBooleanProperty(REPLAY_MEMORY_MAPPED_PROPERTY, false);
+	}
+
+	/**
+	 * Gets the maximum number of bytes of a replay file that is memory-mapped
+	 * at once.
+	 * 
+	 * @return segment size in bytes
+	 */
+	public long getReplaySegmentSize() {
+		final long val = getLongProperty(REPLAY_SEGMENT_SIZE_PROPERTY, DEFAULT_REPLAY_SEGMENT_SIZE);
+		if (val <= 0) {
+			log.warn("Value for " + REPLAY_SEGMENT_SIZE_PROPERTY + " in the " + PROPERTY_FILE
+					+ " file must be greater than 0; using " + DEFAULT_REPLAY_SEGMENT_SIZE);
+			return DEFAULT_REPLAY_SEGMENT_SIZE;
+		}
+		return val;
+	}
+
+	/**
+	 * Gets the number of replay file segments that are memory-mapped and
+	 * loaded ahead of the segment being read.
+	 * 
+	 * @return number of segments; 0 disables read-ahead
+	 */
+	public int getReplayReadAheadSegments() {
+		return Math.max(0, getIntProperty(REPLAY_READ_AHEAD_PROPERTY, DEFAULT_REPLAY_READ_AHEAD));
+	}
+
+	/**
+	 * Gets the target rate for memory-mapped file replay.
+	 * 
+	 * @return bits per second; 0 replays at full speed
+	 */
+	public double getReplayBitRate() {
+		return Math.max(0.0, getDoubleProperty(REPLAY_BIT_RATE_PROPERTY, 0.0));
+	}
+
+	/**
+	 * Gets the percentage of the target replay rate below which replay
+	 * throughput health is YELLOW. Unused when replaying at full speed.
+	 * 
+	 * @return percentage of the target rate, 0 to 100; 0 disables
+	 */
+	public long getReplayRateYellowLevel() {
+		return Math.min(100, Math.max(0, getLongProperty(REPLAY_YELLOW_PROPERTY, DEFAULT_REPLAY_YELLOW)));
+	}
+
+	/**
+	 * Gets the percentage of the target replay rate below which replay
+	 * throughput health is RED. Unused when replaying at full speed.
+	 * 
+	 * @return percentage of the target rate, 0 to 100; 0 disables
+	 */
+	public long getReplayRateRedLevel() {
+		return Math.min(100, Math.max(0, getLongProperty(REPLAY_RED_PROPERTY, DEFAULT_REPLAY_RED)));
+	}
 	
     @Override
     public String getPropertyPrefix() {
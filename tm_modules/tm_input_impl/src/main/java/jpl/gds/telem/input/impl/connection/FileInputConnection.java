@@ -60,6 +60,10 @@ public class FileInputConnection extends AbstractRawInputConnection {
 			logger.debug("Filename: " + filename);
 
 			final File f = new File(filename);
+			if (f.isDirectory()) {
+				throw new RawInputException("Input directory " + filename
+				        + " can only be replayed when memory-mapped replay is enabled.");
+			}
 			FileInputStream fis;
 			try {
 				fis = new FileInputStream(f);
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.telem.input.impl.connection;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.context.ApplicationContext;
+
+import jpl.gds.common.config.connection.IConnectionMap;
+import jpl.gds.common.config.connection.IDownlinkConnection;
+import jpl.gds.common.config.connection.IFileConnectionSupport;
+import jpl.gds.shared.config.PerformanceProperties;
+import jpl.gds.shared.io.MappedFileReplayInputStream;
+import jpl.gds.shared.performance.IPerformanceData;
+import jpl.gds.shared.performance.IPerformanceProvider;
+import jpl.gds.shared.performance.PerformanceSummaryPublisher;
+import jpl.gds.shared.performance.ThroughputPerformanceData;
+import jpl.gds.telem.input.api.RawInputException;
+import jpl.gds.telem.input.api.stream.IRawInputStream;
+import jpl.gds.telem.input.impl.stream.RawInputStream;
+
+/**
+ * This class replays telemetry data from a file, or from every file in a
+ * directory, by memory-mapping it. It is used instead of FileInputConnection
+ * when memory-mapped replay is enabled in the telemetry input properties.
+ * Data is delivered as fast as it can be processed or at the configured
+ * target bitrate, and replay throughput is reported in the performance
+ * summary.
+ *
+ */
+public class MappedFileInputConnection extends AbstractRawInputConnection {
+	private MappedFileReplayInputStream replayStream;
+	private DataInputStream dis;
+	private final String filename;
+	private PerformanceReporter perfReporter;
+
+	/**
+     * Constructor.
+     *
+     * @param serveContext the current application context
+     */
+	public MappedFileInputConnection(final ApplicationContext serveContext) {
+	    super(serveContext);
+	    final IDownlinkConnection dc = serveContext.getBean(IConnectionMap.class).getDownlinkConnection();
+		this.filename =  ((IFileConnectionSupport)dc).getFile();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see jpl.gds.telem.input.api.connection.IRawInputConnection#openConnection()
+	 */
+	@Override
+	public boolean openConnection() throws RawInputException {
+
+		if (replayStream == null) {
+
+			logger.debug("Filename: " + filename);
+
+			final List<File> files = MappedFileReplayInputStream.listReplayFiles(new File(filename));
+			if (files.isEmpty()) {
+				throw new RawInputException("Input directory " + filename + " contains no files.");
+			}
+
+			try {
+				replayStream = new MappedFileReplayInputStream(files,
+				        rawConfig.getReplaySegmentSize(),
+				        rawConfig.getReplayReadAheadSegments(),
+				        rawConfig.getReplayBitRate());
+			} catch (final IOException e) {
+				throw new RawInputException("Could not open input file for replay.", e);
+			}
+
+			dis = new DataInputStream(replayStream);
+
+			logger.info("Replaying " + replayStream.getTotalBytes() + " bytes from "
+			        + replayStream.getFileCount() + " file(s) in " + filename
+			        + (replayStream.getTargetBitRate() > 0
+			                ? " at " + replayStream.getTargetBitRate() + " bps"
+			                : " at full speed"));
+
+			if (perfReporter == null) {
+				perfReporter = new PerformanceReporter();
+			}
+		}
+
+		return dis != null;
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see jpl.gds.telem.input.api.connection.IRawInputConnection#getConnectionString()
+	 */
+	@Override
+	public String getConnectionString() {
+		if (replayStream != null) {
+			connectionString = this.rawInputType
+			        + ":" + filename;
+
+			return connectionString;
+		}
+
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see jpl.gds.telem.input.impl.connection.AbstractRawInputConnection#reconnect()
+	 */
+	@Override
+	public void reconnect() throws RawInputException {
+		super.reconnect();
+
+		// as with FileInputConnection, reconnecting would restart the replay
+		// from the beginning, so it is not supported
+		this.dis = null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see jpl.gds.telem.input.api.connection.IRawInputConnection#getRawInputStream()
+	 */
+	@Override
+	public IRawInputStream getRawInputStream() {
+		if (this.dis == null) {
+			return null;
+		}
+		// return the replay stream and nullify it to signal that there are
+		// not additional data input streams. The replay stream itself is kept
+		// for performance reporting.
+		final DataInputStream tempDis = this.dis;
+		this.dis = null;
+
+		return new RawInputStream(tempDis);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see jpl.gds.telem.input.api.connection.IRawInputConnection#loadData(java.util.concurrent.atomic.AtomicBoolean)
+	 */
+	@Override
+	public boolean loadData(final AtomicBoolean handlerStopping)
+        throws IOException
+    {
+		// the initial (and only) DataInputStream is loaded in openConnection
+		return this.dis != null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see jpl.gds.telem.input.api.connection.IRawInputConnection#isConnected()
+	 */
+	@Override
+	public boolean isConnected() {
+		return dis != null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see jpl.gds.telem.input.api.connection.IRawInputConnection#isDataStream()
+	 */
+	@Override
+	public boolean isDataStream() {
+		// files are finite data streams
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @see jpl.gds.telem.input.impl.connection.AbstractRawInputConnection#closeConnection()
+	 */
+	@Override
+	public void closeConnection() throws IOException {
+		super.closeConnection();
+
+		if (perfReporter != null) {
+			perfReporter.deregister();
+			perfReporter = null;
+
+			logger.info("Replayed " + replayStream.getBytesRead() + " of " + replayStream.getTotalBytes()
+			        + " bytes from " + filename + " at an average of "
+			        + (long) replayStream.getAverageBitRate() + " bps");
+		}
+
+		if (replayStream != null) {
+			replayStream.close();
+			// a later openConnection() starts a new replay
+			replayStream = null;
+			dis = null;
+		}
+	}
+
+	/**
+	 * Performance reporter class for the memory-mapped file replay.
+	 */
+	public class PerformanceReporter implements IPerformanceProvider {
+
+		/** The performance provider name */
+		private static final String THIS_PROVIDER = "Mapped File Replay";
+
+		private final MappedFileReplayInputStream stream;
+		private final ThroughputPerformanceData throughput;
+		private long lastBytes;
+		private long lastNanos;
+
+		/**
+		 * Constructor. Registers with the performance summary publisher for
+		 * performance data requests. Health bounds are set from the target
+		 * replay rate; they are disabled when replaying at full speed.
+		 */
+		public PerformanceReporter() {
+			stream = replayStream;
+			final double target = stream.getTargetBitRate();
+			throughput = new ThroughputPerformanceData(appContext.getBean(PerformanceProperties.class),
+			        "Replay Input", (long) (target * rawConfig.getReplayRateYellowLevel() / 100.0),
+			        (long) (target * rawConfig.getReplayRateRedLevel() / 100.0));
+			appContext.getBean(PerformanceSummaryPublisher.class).registerProvider(this);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see jpl.gds.shared.performance.IPerformanceProvider#getProviderName()
+		 */
+		@Override
+		public String getProviderName() {
+			return THIS_PROVIDER;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 *
+		 * @see jpl.gds.shared.performance.IPerformanceProvider#getPerformanceData()
+		 */
+		@Override
+		public synchronized List<IPerformanceData> getPerformanceData() {
+			final long bytes = stream.getBytesRead();
+			final long elapsed = stream.getElapsedNanos();
+
+			if (elapsed == 0) {
+				// replay has not started; nothing to measure yet
+				return new LinkedList<IPerformanceData>();
+			}
+
+			final double average = bytes * 8 * 1.0E9 / elapsed;
+			final double current = elapsed > lastNanos
+			        ? (bytes - lastBytes) * 8 * 1.0E9 / (elapsed - lastNanos)
+			        : average;
+			lastBytes = bytes;
+			lastNanos = elapsed;
+
+			throughput.setCounters(bytes, stream.getTotalBytes(), stream.getFilesRead(),
+			        stream.getFileCount(), current, average);
+
+			return Arrays.asList((IPerformanceData) throughput);
+		}
+
+		/**
+		 * De-registers with the performance summary publisher for performance
+		 * data requests.
+		 */
+		public void deregister() {
+			appContext.getBean(PerformanceSummaryPublisher.class).deregisterProvider(this);
+		}
+	}
+}
@@ -118,6 +118,9 @@ public class TelemetryInputSpringBootstrap {
 			case DATABASE:
 				return new DatabaseInputConnection(appContext);
 			case FILE:
+				if (appContext.getBean(TelemetryInputProperties.class).isMemoryMappedReplayEnabled()) {
+					return new MappedFileInputConnection(appContext);
+				}
 				return new FileInputConnection(appContext);
 			case NEN_SN_SERVER:
 			case SERVER_SOCKET:
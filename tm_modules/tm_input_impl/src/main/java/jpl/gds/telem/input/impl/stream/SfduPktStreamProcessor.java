@@ -46,6 +46,7 @@ import jpl.gds.shared.time.ISclk;
 import jpl.gds.shared.time.Sclk;
 import jpl.gds.station.api.IStationTelemInfo;
 import jpl.gds.station.api.dsn.chdo.ChdoConfigurationException;
+import jpl.gds.station.api.dsn.chdo.ChdoFieldAccessor;
 import jpl.gds.station.api.dsn.chdo.IChdo;
 import jpl.gds.station.api.dsn.chdo.IChdoSfdu;
 import jpl.gds.station.api.dsn.message.IDsnMonitorMessage;
@@ -146,6 +147,17 @@ public class SfduPktStreamProcessor extends AbstractSfduStreamProcessor {
             throw new RawInputException("Could not parse CHDO dictionary: "
                     + e.getMessage(), e);
         }
+
+        /* Resolve the header fields read from every SFDU once, up front */
+        final ChdoFieldAccessor scidField = sfdu.getFieldAccessor("spacecraft_id");
+        final ChdoFieldAccessor sclkField = sfdu.getFieldAccessor("sclk");
+        final ChdoFieldAccessor scetField = sfdu.getFieldAccessor("scet");
+        final ChdoFieldAccessor ertField = sfdu.getFieldAccessor("ert");
+        final ChdoFieldAccessor vcidField = sfdu.getFieldAccessor("virtual_channel_id");
+        final ChdoFieldAccessor vfcField = sfdu.getFieldAccessor("virtual_frame_count");
+        final ChdoFieldAccessor bitRateField = sfdu.getFieldAccessor("bit_rate");
+        final ChdoFieldAccessor relayScidField = sfdu.getFieldAccessor("relay_scft_id");
+        final ChdoFieldAccessor dataSourceField = sfdu.getFieldAccessor("data_source");
         
         heartbeatPerformance.setGood(true);
 
@@ -266,22 +278,22 @@ public class SfduPktStreamProcessor extends AbstractSfduStreamProcessor {
                 final SfduId sfduId = sfdu.getSfduId();
                 final int apid = sfduId.getFormatId();
                 int scid = 0;
-                final Long tempScid = sfdu.getFieldValueAsUnsignedInt("spacecraft_id");
+                final Long tempScid = sfdu.getFieldValueAsUnsignedInt(scidField);
                 if (tempScid != null) {
                     scid = tempScid.intValue();
                 } 
 
-                ISclk sclk = sfdu.getFieldValueAsSclk("sclk");
+                ISclk sclk = sfdu.getFieldValueAsSclk(sclkField);
                 if (sclk == null) {
                     sclk = new Sclk(0, 0);
                 }
 
-                IAccurateDateTime scet = sfdu.getFieldValueAsDate("scet");
+                IAccurateDateTime scet = sfdu.getFieldValueAsDate(scetField);
                 if (scet == null) {
                     scet = new AccurateDateTime(0);
                 }
 
-                IAccurateDateTime ert = sfdu.getFieldValueAsDate("ert");
+                IAccurateDateTime ert = sfdu.getFieldValueAsDate(ertField);
                 if (ert == null) {
                     ert = new AccurateDateTime(0);
                 }
@@ -289,29 +301,29 @@ public class SfduPktStreamProcessor extends AbstractSfduStreamProcessor {
 
                 // Get the VCID from the SFDU
                 /** MPCS-5008 08/29/13 */
-                Long vcid = sfdu.getFieldValueAsUnsignedInt("virtual_channel_id");
+                Long vcid = sfdu.getFieldValueAsUnsignedInt(vcidField);
 
                 int vfc = 0;
-                final Long tempVfc = sfdu.getFieldValueAsUnsignedInt("virtual_frame_count");
+                final Long tempVfc = sfdu.getFieldValueAsUnsignedInt(vfcField);
                 if (tempVfc != null) {
                     vfc = tempVfc.intValue();
                 }
 
                 double bitRate = 0.0;
-                final Double tempBitRate = sfdu.getFieldValueAsFloatingPoint("bit_rate");
+                final Double tempBitRate = sfdu.getFieldValueAsFloatingPoint(bitRateField);
                 if (tempBitRate != null) {
                     bitRate = tempBitRate.doubleValue();
                 }
 
                 int relayScid = 0;
-                final Long tempRelayScid = sfdu.getFieldValueAsUnsignedInt("relay_scft_id");
+                final Long tempRelayScid = sfdu.getFieldValueAsUnsignedInt(relayScidField);
                 if (tempRelayScid != null) {
                     relayScid = tempRelayScid.intValue();
                 }
 
                 // Get the DSS ID from the SFDU
                 /** MPCS-5008 08/29/13 */
-                final Long tempDss = sfdu.getFieldValueAsUnsignedInt("data_source");
+                final Long tempDss = sfdu.getFieldValueAsUnsignedInt(dataSourceField);
                 int        dssId   = (tempDss != null) ? tempDss.intValue() : -1;
 
                 /** MPCS-5008 08/29/13 */
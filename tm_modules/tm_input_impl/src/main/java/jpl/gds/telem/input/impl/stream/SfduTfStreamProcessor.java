@@ -32,6 +32,7 @@ import jpl.gds.shared.time.IAccurateDateTime;
 import jpl.gds.station.api.IStationTelemInfo;
 import jpl.gds.station.api.InvalidFrameCode;
 import jpl.gds.station.api.dsn.chdo.ChdoConfigurationException;
+import jpl.gds.station.api.dsn.chdo.ChdoFieldAccessor;
 import jpl.gds.station.api.dsn.chdo.IChdo;
 import jpl.gds.station.api.dsn.chdo.IChdoSfdu;
 import jpl.gds.station.api.dsn.message.IDsnMonitorMessage;
@@ -112,6 +113,12 @@ public class SfduTfStreamProcessor extends AbstractSfduStreamProcessor {
                     + e.getMessage(), e);
         }
 
+        /* Resolve the header fields read from every SFDU once, up front */
+        final ChdoFieldAccessor ertField = sfdu.getFieldAccessor("ert");
+        final ChdoFieldAccessor bitRateField = sfdu.getFieldAccessor("bit_rate");
+        final ChdoFieldAccessor dataSourceField = sfdu.getFieldAccessor("data_source");
+        final ChdoFieldAccessor relayScidField = sfdu.getFieldAccessor("relay_scft_id");
+
         IAccurateDateTime ert = null;
         double bitRate = 0.0;
         int relayScid = 0;
@@ -178,14 +185,14 @@ public class SfduTfStreamProcessor extends AbstractSfduStreamProcessor {
                  */
                 metadataClone.setBitSize(sfdu.getNumberOfDataBits());
 
-                ert = sfdu.getFieldValueAsDate("ert");
+                ert = sfdu.getFieldValueAsDate(ertField);
                 if (ert == null) {
                     ert = new AccurateDateTime(0);
                 }
 
                 metadataClone.setErt(ert);
 
-                final Double tempBitRate = sfdu.getFieldValueAsFloatingPoint("bit_rate");
+                final Double tempBitRate = sfdu.getFieldValueAsFloatingPoint(bitRateField);
                 if (tempBitRate != null) {
                     bitRate = tempBitRate.doubleValue();
                     metadataClone.setBitRate(bitRate);
@@ -193,12 +200,12 @@ public class SfduTfStreamProcessor extends AbstractSfduStreamProcessor {
 
                 // Get the DSS ID from the SFDU
                 int dssId = 0;
-                final Long tempDss = sfdu.getFieldValueAsUnsignedInt("data_source");
+                final Long tempDss = sfdu.getFieldValueAsUnsignedInt(dataSourceField);
                 if (tempDss != null) {
                     dssId = tempDss.intValue();
                 }
 
-                final Long tempRelayScid = sfdu.getFieldValueAsUnsignedInt("relay_scft_id");
+                final Long tempRelayScid = sfdu.getFieldValueAsUnsignedInt(relayScidField);
                 if (tempRelayScid != null) {
                     relayScid = tempRelayScid.intValue();
                 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2006-2018. California Institute of Technology.
+ * ALL RIGHTS RESERVED.
+ * U.S. Government sponsorship acknowledged.
+ *
+ * This software is subject to U. S. export control laws and
+ * regulations (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the
+ * extent that the software is subject to U.S. export control laws
+ * and regulations, the recipient has the responsibility to obtain
+ * export licenses or other export authority as may be required
+ * before exporting such information to foreign countries or
+ * providing access to foreign nationals.
+ */
+package jpl.gds.tm.service.impl.frame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import jpl.gds.dictionary.api.frame.ITransferFrameDefinition;
+import jpl.gds.shared.gdr.GDR;
+
+/**
+ * FrameAsmSearcher locates candidate ASMs in a FrameSyncBuffer, considering
+ * the ASMs of all transfer frame definitions at once.
+ * <p>
+ * Only the leading 32 bits of each ASM (the "quick ASM") are searched for;
+ * the caller still performs the full ASM and frame-length checks at any
+ * candidate offset. The search is a multi-pattern Horspool scan: the byte at
+ * the end of the current 4-byte window determines how far the window can
+ * safely move, so a buffer containing no ASM bytes is stepped through four
+ * bytes at a time rather than one.
+ * <p>
+ * For diagnosing why sync cannot be acquired, it can also scan out of sync
+ * data for ASMs that are bit-slipped (not byte aligned) or inverted.
+ *
+ */
+class FrameAsmSearcher {
+	private static final int WINDOW = 4;
+
+	/* Distinct quick ASMs, and the name of the first frame type using each */
+	private final int[] patterns;
+	private final String[] names;
+	/* Horspool shift for each value of the last byte in the window */
+	private final int[] shift = new int[256];
+
+	/**
+	 * Constructor.
+	 * @param frameFormats the transfer frame definitions to search for
+	 */
+	FrameAsmSearcher(final List<ITransferFrameDefinition> frameFormats) {
+		final List<Integer> distinct = new ArrayList<Integer>();
+		final List<String> frameNames = new ArrayList<String>();
+		for (final ITransferFrameDefinition def : frameFormats) {
+			if (!def.arrivesWithASM() || def.getASMSizeBytes() < WINDOW) {
+				continue;
+			}
+			final int quickAsm = (int) GDR.get_u32(def.getASM(), 0);
+			if (!distinct.contains(quickAsm)) {
+				distinct.add(quickAsm);
+				frameNames.add(def.getName());
+			}
+		}
+		patterns = new int[distinct.size()];
+		names = frameNames.toArray(new String[frameNames.size()]);
+		for (int i = 0; i < patterns.length; i++) {
+			patterns[i] = distinct.get(i);
+		}
+
+		Arrays.fill(shift, WINDOW);
+		for (final int p : patterns) {
+			for (int i = 0; i < WINDOW - 1; i++) {
+				final int b = (p >>> (8 * (WINDOW - 1 - i))) & 0xff;
+				shift[b] = Math.min(shift[b], WINDOW - 1 - i);
+			}
+		}
+	}
+
+	/**
+	 * Finds the first offset, in the range [from, to), at which the buffer
+	 * holds the quick ASM of any frame type.
+	 * @param buff the buffer to search
+	 * @param from the first offset to check
+	 * @param to the offset at which to stop; offset to + 3 must be within the buffer
+	 * @return the offset of the first candidate ASM, or -1 if none
+	 */
+	int findCandidate(final FrameSyncBuffer buff, final int from, final int to) {
+		if (patterns.length == 0) {
+			return -1;
+		}
+		int pos = from;
+		while (pos < to) {
+			final int last = buff.getByte(pos + WINDOW - 1);
+			if (isPatternEnd(last)) {
+				final int word = (int) buff.getU32(pos);
+				for (final int p : patterns) {
+					if (word == p) {
+						return pos;
+					}
+				}
+			}
+			pos += shift[last];
+		}
+		return -1;
+	}
+
+	/**
+	 * Looks in the range [from, to) for a quick ASM that is bit-slipped or
+	 * inverted. Byte-aligned, non-inverted ASMs are not reported, since the
+	 * normal search would have found them.
+	 * @param buff the buffer to search
+	 * @param from the first offset to check
+	 * @param to the offset at which to stop, exclusive
+	 * @return a description of the first slipped or inverted ASM found,
+	 *         or null if none
+	 */
+	String findSlippedOrInverted(final FrameSyncBuffer buff, final int from, final int to) {
+		if (patterns.length == 0) {
+			return null;
+		}
+		/* Rolling window of the most recent 8 bytes */
+		long window = 0;
+		for (int pos = from; pos < to; pos++) {
+			window = (window << 8) | buff.getByte(pos);
+			if (pos - from < WINDOW) {
+				continue;
+			}
+			for (int i = 0; i < patterns.length; i++) {
+				for (int slip = 0; slip < 8; slip++) {
+					final int bits = (int) (window >>> slip);
+					if (bits == ~patterns[i]) {
+						return describe(i, pos, slip, true);
+					}
+					if (slip != 0 && bits == patterns[i]) {
+						return describe(i, pos, slip, false);
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	private String describe(final int pattern, final int pos, final int slip, final boolean inverted) {
+		/* pos is the offset of the last byte in the window; the pattern ends slip bits before its end */
+		final long bitOffset = (pos + 1) * 8L - slip - 32;
+		final StringBuilder sb = new StringBuilder();
+		sb.append(inverted ? "Inverted " : "Bit-slipped ");
+		sb.append("ASM for frame type ").append(names[pattern]);
+		sb.append(" at byte offset ").append(bitOffset / 8);
+		if (bitOffset % 8 != 0) {
+			sb.append(", bit ").append(bitOffset % 8);
+		}
+		return sb.toString();
+	}
+
+	private boolean isPatternEnd(final int b) {
+		for (final int p : patterns) {
+			if ((p & 0xff) == b) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
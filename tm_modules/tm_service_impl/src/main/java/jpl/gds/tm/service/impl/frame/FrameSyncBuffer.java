@@ -23,12 +23,25 @@ import jpl.gds.tm.service.api.frame.IPresyncFrameMessage;
 
 /**
  * FrameSyncBuffer presents a view of the raw data of a single array.
- * It internally consists of a list of IPresyncFrameMessage objects.
- * Utility functions can also find the previous ERT time stamp
- * and the current bitRate.
- * 
+ * The data from each consumed IPresyncFrameMessage is copied into one
+ * contiguous ring buffer, so random access to any byte is constant time.
+ * The ERT and station information of each consumed message are kept in
+ * a separate list of chunks, ordered by offset, which is binary searched
+ * to find the previous ERT time stamp and the station information for an
+ * offset.
+ *
  */
 class FrameSyncBuffer {
+	/* Initial ring capacity, bytes. Must be a power of 2. */
+	private static final int INITIAL_CAPACITY = 64 * 1024;
+	/* Number of dropped chunk entries allowed before the chunk list is compacted */
+	private static final int CHUNK_COMPACT_THRESHOLD = 64;
+
+	// the ring buffer; capacity is always a power of 2
+	private byte[] ring = new byte[INITIAL_CAPACITY];
+	private int mask = INITIAL_CAPACITY - 1;
+	// ring index of logical offset 0
+	private int start = 0;
 	// variables to optimize access to buff
 	private int size = 0;
 	private int numBuffs = 0;
@@ -36,18 +49,21 @@ class FrameSyncBuffer {
 	private boolean firstTime = true;
 	// the first ert value before the first buffer
 	private IAccurateDateTime firstErt = new AccurateDateTime(0);
-	// the actual buffer list
-	private final List<IPresyncFrameMessage> buff = new ArrayList<IPresyncFrameMessage>();
-	
+	// absolute stream position of logical offset 0
+	private long basePosition = 0;
+	// the chunk list; entries before firstChunk have been dropped
+	private final List<Chunk> chunks = new ArrayList<Chunk>();
+	private int firstChunk = 0;
+
 	private static final boolean debug = false;
-	
+
 	/**
 	 * Default constructor
 	 */
 	FrameSyncBuffer() {
 	}
 	/**
-	 * Consume one IPresyncFrameMessage into the list.
+	 * Consume one IPresyncFrameMessage into the buffer.
 	 * @param iPresyncFrameMessage the IPresyncFrameMessage to be consumed
 	 */
 	public void consume(IPresyncFrameMessage iPresyncFrameMessage) {
@@ -55,13 +71,23 @@ class FrameSyncBuffer {
 			firstErt = iPresyncFrameMessage.getErt(); // won't be quite correct first time, but....
 			firstTime = false;
 		}
+		final int len = iPresyncFrameMessage.getNumBytes();
+		ensureCapacity(size + len);
+
+		final int tail = (start + size) & mask;
+		final int firstPart = Math.min(len, ring.length - tail);
+		System.arraycopy(iPresyncFrameMessage.getData(), 0, ring, tail, firstPart);
+		if (firstPart < len) {
+			System.arraycopy(iPresyncFrameMessage.getData(), firstPart, ring, 0, len - firstPart);
+		}
+
+		chunks.add(new Chunk(basePosition + size, len, iPresyncFrameMessage.getErt(),
+				iPresyncFrameMessage.getStationInfo()));
 		numBuffs = numBuffs + 1;
-		size = size + iPresyncFrameMessage.getNumBytes();
+		size = size + len;
 		if (debug) {
-			System.out.println("ByteBuffer, got RDM, size now " + size + " from rdm " +
-					iPresyncFrameMessage.getNumBytes());
+			System.out.println("ByteBuffer, got RDM, size now " + size + " from rdm " + len);
 		}
-		buff.add(iPresyncFrameMessage);
 	}
 
 	/**
@@ -85,30 +111,23 @@ class FrameSyncBuffer {
 	 * @throws ArrayIndexOutOfBoundsException Catches array issues.
 	 */
 	public int getLen(int buffId) throws ArrayIndexOutOfBoundsException {
-		if (buffId < 0 || buffId >= buff.size()) {
+		if (buffId < 0 || buffId >= numBuffs) {
 			throw new ArrayIndexOutOfBoundsException("buffId out of range " + buffId);
 		}
-		IPresyncFrameMessage rdm =  buff.get(buffId);
-		return rdm.getNumBytes();
+		return chunks.get(firstChunk + buffId).length;
 	}
-	
+
 	/**
 	 * Gets the length of the first buffer
 	 * @return length in bytes of first buffer
 	 */
 	public int lenFirstBuffer() {
-		if (buff.isEmpty()) {
+		if (numBuffs == 0) {
 			return 0;
 		}
-		int len0 = 0;
-		try {
-			len0 = this.getLen(0);
-		} catch (ArrayIndexOutOfBoundsException e) { 
-		    e.printStackTrace();
-		}
-		return len0;
+		return chunks.get(firstChunk).length;
 	}
-	
+
 	/**
 	 * Gets a byte as an integer at a selected offset with in composite
 	 * array.
@@ -120,18 +139,7 @@ class FrameSyncBuffer {
 		if (off < 0 || off >= size) {
 			throw new ArrayIndexOutOfBoundsException("offset out of range " + off + " of len " + size);
 		}
-		int posInBuff = 0;
-		int lenSoFar = 0;
-		IPresyncFrameMessage rdm;
-		for (int bPos = 0; bPos < buff.size(); ++bPos) {
-			rdm = buff.get(bPos);
-			if (off < (lenSoFar + rdm.getNumBytes())) {
-				posInBuff = off - lenSoFar;
-				return rdm.get(posInBuff);
-			}
-			lenSoFar += rdm.getNumBytes();      		
-		}
-		return 0;
+		return ring[(start + off) & mask] & 0xff;
 	}
 
 	/**
@@ -142,15 +150,37 @@ class FrameSyncBuffer {
 	 * @throws ArrayIndexOutOfBoundsException Catches array issues
 	 */
 	public long getU32(int off) throws ArrayIndexOutOfBoundsException {
-		byte[] sbuff = this.getBuffer(off, 4);
-		// will optimize this later with logic from getByte
-		long val = ((sbuff[0] << 24) & 0xff000000L)
-		| ((sbuff[1] << 16) & 0x00ff0000L)
-		| ((sbuff[2] <<  8) & 0x0000ff00L)
-		| ((sbuff[3]      ) & 0x000000ffL);
-		return val;        
+		if (off < 0 || (off + 4) > size) {
+			throw new ArrayIndexOutOfBoundsException("offset out of range " + off + " plus blen=4 of len " + size);
+		}
+		final int pos = start + off;
+		return ((ring[pos & mask] & 0xffL) << 24)
+		| ((ring[(pos + 1) & mask] & 0xffL) << 16)
+		| ((ring[(pos + 2) & mask] & 0xffL) <<  8)
+		| ((ring[(pos + 3) & mask] & 0xffL));
+	}
+
+	/**
+	 * Compares the bytes at a selected offset in the composite array to
+	 * a pattern, without copying them. Bytes are compared last to first,
+	 * since the leading bytes have usually been checked already.
+	 * @param off offset into the composite array 0..length
+	 * @param pattern the bytes to compare
+	 * @return true if the bytes at the offset match the whole pattern; false
+	 *         if they do not, or if the buffer is too short
+	 */
+	public boolean matches(int off, byte[] pattern) {
+		if (off < 0 || (off + pattern.length) > size) {
+			return false;
+		}
+		for (int i = pattern.length - 1; i >= 0; --i) {
+			if (ring[(start + off + i) & mask] != pattern[i]) {
+				return false;
+			}
+		}
+		return true;
 	}
-	
+
 	/**
 	 * Get the previous ERT at the selected offset. ERT is time tagged
 	 * at the end of a buffer, so we need the previous one
@@ -162,18 +192,8 @@ class FrameSyncBuffer {
 		if (off < 0 || off >= size) {
 			throw new ArrayIndexOutOfBoundsException("offset out of range " + off + " of len " + size);
 		}
-		int lenSoFar = 0;
-		IAccurateDateTime prevErt = firstErt;
-		IPresyncFrameMessage rdm;
-		for (int bPos = 0; bPos < buff.size(); ++bPos) {
-			rdm = buff.get(bPos);
-			if (off < (lenSoFar + rdm.getNumBytes())) {
-				return prevErt;
-			}
-			lenSoFar += rdm.getNumBytes();
-			prevErt = rdm.getErt();
-		}
-		return firstErt;
+		final int index = findChunk(off);
+		return index == firstChunk ? firstErt : chunks.get(index - 1).ert;
 	}
 	/**
 	 * Get the station information object at the offset into the composite array
@@ -185,39 +205,38 @@ class FrameSyncBuffer {
 		if (off < 0 || off >= size) {
 			throw new ArrayIndexOutOfBoundsException("offset out of range " + off + " of len " + size);
 		}
-		int lenSoFar = 0;
-		IPresyncFrameMessage rdm;
-		for (int bPos = 0; bPos < buff.size(); ++bPos) {
-			rdm = buff.get(bPos);
-			if (off < (lenSoFar + rdm.getNumBytes())) {
-				return rdm.getStationInfo();
-			}
-			lenSoFar += rdm.getNumBytes(); 
-		}
-		return null;
+		return chunks.get(findChunk(off)).stationInfo;
 	}
-	
+
 	/**
 	 * Remove the first buffer in the composite array
 	 */
 	public void dropFirstBuffer() {
-		if (buff.isEmpty()) {
+		if (numBuffs == 0) {
 			size = 0;
 			numBuffs = 0;
 			return;
 		}
-		IPresyncFrameMessage rdm =  buff.get(0);
-		firstErt = rdm.getErt();
-		size -= rdm.getNumBytes();
+		final Chunk first = chunks.get(firstChunk);
+		chunks.set(firstChunk, null);
+		firstChunk++;
+		firstErt = first.ert;
+		size -= first.length;
+		start = (start + first.length) & mask;
+		basePosition += first.length;
 		if (debug) {
 			System.out.println("ByteBuffer, dropFirstBuffer, size = " + size);
 		}
 		numBuffs -= 1;
-		buff.remove(0);
+
+		if (firstChunk >= CHUNK_COMPACT_THRESHOLD && firstChunk >= numBuffs) {
+			chunks.subList(0, firstChunk).clear();
+			firstChunk = 0;
+		}
 	}
-	
+
 	/**
-	 * Gets a byte array from the composite array. 
+	 * Gets a byte array from the composite array.
 	 * @param off offset into the composite array 0..length
 	 * @param blen number of bytes to copy
 	 * @return extracted byte array
@@ -231,72 +250,98 @@ class FrameSyncBuffer {
 			System.out.println("getBuffer off " + off + " blen " + blen);
 			this.probe();
 		}
-		byte[] b = new byte[blen];
-
-		int startPosInBuff = 0;
-		int endPosInBuff = 0;
-		int lenSoFar = 0;
-		int bStart = 0;
-		IPresyncFrameMessage rdm;
-		for (int bPos = 0; bPos < buff.size(); ++bPos) {
-			rdm = buff.get(bPos);
-			// Find the start buffer based upon offset. Skip buffers
-			// prior to the requested offset.
-			if (off >= lenSoFar + rdm.getNumBytes()) {
-				lenSoFar += rdm.getNumBytes();              
-				continue;
-			} else if (bStart >= blen) {
-				// We've copied all needed bytes
-				break;
-			} else {
-				startPosInBuff = 0;
-				if (lenSoFar < off) {
-					startPosInBuff = off - lenSoFar;
-				}
-				// Decide how any bytes to copy.  Assume the remaining of the current
-				// buffer, then check to see if this is more than the number of bytes
-				// left in the return buffer, and adjust the number of bytes if needed
-				int bytesLeft = blen - bStart;
-				endPosInBuff = rdm.getNumBytes() - 1;
-				int numToCopy = endPosInBuff - startPosInBuff + 1;
-				if (numToCopy > bytesLeft) {
-					endPosInBuff = startPosInBuff + bytesLeft - 1;
-					numToCopy = bytesLeft;
-				}
-				if (debug) {
-					System.out.println("getBuffer: startPosInBuff " + startPosInBuff + " bStart " + bStart +
-							" endPosInBuff " + endPosInBuff + " numToCopy " + numToCopy + " " + " RDM size " + 
-							rdm.getData().length + " b length " + b.length);
-				}
-				System.arraycopy(rdm.getData(), startPosInBuff, b, bStart, numToCopy);
-				bStart += numToCopy;
-				lenSoFar += rdm.getNumBytes();              
-			}
+		final byte[] b = new byte[blen];
+		final int from = (start + off) & mask;
+		final int firstPart = Math.min(blen, ring.length - from);
+		System.arraycopy(ring, from, b, 0, firstPart);
+		if (firstPart < blen) {
+			System.arraycopy(ring, 0, b, firstPart, blen - firstPart);
 		}
 		return b;
 	}
-	
+
 	@Override
 	public String toString() {
-		if (buff.isEmpty()) {
+		if (numBuffs == 0) {
 			return "ByteBuffer is empty";
 		} else {
 			return "ByteBuffer numBuffs=" + numBuffs + " numBytes=" + size;
 		}
 	}
-	
+
 	/**
 	 * This prints out the state of the ByteBuffer to the console (whether it is empty or its content+size)
 	 */
 	public void probe() {
-		if (buff.isEmpty()) {
+		if (numBuffs == 0) {
 			System.out.println("ByteBuffer is empty");
 		} else {
-			System.out.println("ByteBuffer numBuffs=" + numBuffs + " numBytes=" + size);
-			for (int i = 0; i < buff.size(); ++i) {
-				IPresyncFrameMessage rdm = buff.get(i);
-				System.out.println("[" + i + "] len=" + rdm.getNumBytes() + " ERT=" + rdm.getErt());
+			System.out.println("ByteBuffer numBuffs=" + numBuffs + " numBytes=" + size + " capacity=" + ring.length);
+			for (int i = 0; i < numBuffs; ++i) {
+				final Chunk c = chunks.get(firstChunk + i);
+				System.out.println("[" + i + "] len=" + c.length + " ERT=" + c.ert);
+			}
+		}
+	}
+
+	/**
+	 * Grows the ring, if necessary, so it can hold the given number of
+	 * bytes. Existing data is copied to the start of the new ring.
+	 */
+	private void ensureCapacity(final int needed) {
+		if (needed <= ring.length) {
+			return;
+		}
+		int capacity = ring.length;
+		while (capacity < needed) {
+			capacity <<= 1;
+		}
+		final byte[] newRing = new byte[capacity];
+		final int firstPart = Math.min(size, ring.length - start);
+		System.arraycopy(ring, start, newRing, 0, firstPart);
+		if (firstPart < size) {
+			System.arraycopy(ring, 0, newRing, firstPart, size - firstPart);
+		}
+		ring = newRing;
+		mask = capacity - 1;
+		start = 0;
+	}
+
+	/**
+	 * Finds the index in the chunk list of the chunk containing the given
+	 * logical offset, which must be in range.
+	 */
+	private int findChunk(final int off) {
+		final long position = basePosition + off;
+		int low = firstChunk;
+		int high = firstChunk + numBuffs - 1;
+		while (low < high) {
+			final int mid = (low + high + 1) >>> 1;
+			if (chunks.get(mid).position <= position) {
+				low = mid;
+			} else {
+				high = mid - 1;
 			}
 		}
+		return low;
+	}
+
+	/**
+	 * The ERT and station information for one consumed message, and where its
+	 * data begins in the stream.
+	 */
+	private static class Chunk {
+		private final long position;
+		private final int length;
+		private final IAccurateDateTime ert;
+		private final IStationTelemInfo stationInfo;
+
+		private Chunk(final long position, final int length, final IAccurateDateTime ert,
+				final IStationTelemInfo stationInfo) {
+			this.position = position;
+			this.length = length;
+			this.ert = ert;
+			this.stationInfo = stationInfo;
+		}
 	}
 }
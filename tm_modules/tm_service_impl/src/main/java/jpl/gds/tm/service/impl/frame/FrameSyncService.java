@@ -108,6 +108,11 @@ public class FrameSyncService implements IFrameSyncService {
 
 	/* MPCS-7039 - 7/9/15. Map of quick-32 bit ASM longs for fast ASM checking. */
 	private final Map<String, Long> quickAsmMap = new HashMap<String, Long>();
+
+	/* Multi-pattern search for the next candidate ASM while out of sync */
+	private FrameAsmSearcher asmSearcher;
+	/* Set once a slipped or inverted ASM has been reported, until sync is next acquired */
+	private boolean misalignedAsmReported;
 	
 	/* MPCS-7993 - 3/30/16. Now cache checksum computation instance per frame type,
 	 * and store max ASM size from the dictionary into non-constant member. */
@@ -214,6 +219,7 @@ public class FrameSyncService implements IFrameSyncService {
             this.quickAsmMap.put(def.getName(),
                     GDR.get_u32(def.getASM(), 0));
         }
+        this.asmSearcher = new FrameAsmSearcher(frameFormats);
 
     }
 
@@ -235,7 +241,6 @@ public class FrameSyncService implements IFrameSyncService {
 	 */
 	private int findNextFrameType ( final int offset, final boolean isFlush ) {
 		long quickASM;
-		byte[] longASM;
 		int nextOffset = 0;
 		int i = 0;
 		int j = 0;
@@ -263,10 +268,8 @@ public class FrameSyncService implements IFrameSyncService {
 				
 				log.trace("quick ASM check succeeded for frame type " , frameFormats.get(i).getName());
 
-				// Quick ASM matches. Check the long ASM
-				longASM = this.buff.getBuffer ( offset, this.frameFormats.get(i).getASMSizeBytes());
-
-				if ( reverseLongASMCheck (frameFormats.get(i), longASM )) {
+				// Quick ASM matches. Check the long ASM in place
+				if ( reverseLongASMCheck (frameFormats.get(i), offset )) {
 					
 					log.trace("long ASM check succeeded for frame type " , frameFormats.get(i).getName());
 					
@@ -464,6 +467,7 @@ public class FrameSyncService implements IFrameSyncService {
 			// and remove the out of sync bytes from the byte buffer
 			if ((this.cursor - this.lastcursor) >= outOfSyncThreshold) {
 				log.debug("syncScan() has found more than " , outOfSyncThreshold ," out of sync bytes");
+				reportMisalignedAsm();
 				sendOutOfSyncData();
 				this.lastcursor = this.cursor; // always after send outasync data
 				while (this.buff.lenFirstBuffer() < this.cursor) {
@@ -503,7 +507,18 @@ public class FrameSyncService implements IFrameSyncService {
 				return;
 
 			} // end if found_pn for second check
-			this.cursor += 1;
+
+			/*
+			 * No frame at the cursor. Skip directly to the next offset holding
+			 * any quick ASM, since findNextFrameType() cannot succeed anywhere
+			 * else. Do not skip past the end of the scannable data, or past the
+			 * out of sync threshold, so out of sync reporting is unchanged.
+			 */
+			final int scanEnd = Math.min(this.bufferLen - this.maxFrameLength - 2 * maxAsmLength,
+					this.lastcursor + outOfSyncThreshold);
+			final int candidate = scanEnd > this.cursor + 1
+					? asmSearcher.findCandidate(this.buff, this.cursor + 1, scanEnd) : -1;
+			this.cursor = candidate >= 0 ? candidate : Math.max(scanEnd, this.cursor + 1);
 
 		} // end while
 	}
@@ -513,6 +528,8 @@ public class FrameSyncService implements IFrameSyncService {
 	 */
 	private void aquireSync() {
 
+		misalignedAsmReported = false;
+
 		/*
 		 * 6/4/13 - MPCS-4861. Removed stuff no longer needed for
 		 * substituting transfer frames and just use the frame format.
@@ -668,6 +685,23 @@ public class FrameSyncService implements IFrameSyncService {
 		this.lastFrameErt = dsnI.getErt();
 	}
 
+    /*
+     * Checks the out of sync data before the cursor for ASMs that are not
+     * byte aligned or are inverted. Either points to a problem upstream that
+     * this byte-level synchronizer cannot recover from, so it is reported
+     * once per loss of sync rather than silently discarded as noise.
+     */
+    private void reportMisalignedAsm() {
+        if (misalignedAsmReported || this.cursor == this.lastcursor) {
+            return;
+        }
+        final String found = asmSearcher.findSlippedOrInverted(this.buff, this.lastcursor, this.cursor);
+        if (found != null) {
+            log.warn(found, " found in out of sync data; frames in this data cannot be synchronized");
+            misalignedAsmReported = true;
+        }
+    }
+
     private void sendOutOfSyncData() {
 		if (this.cursor == this.lastcursor) {
 			return;
@@ -781,14 +815,14 @@ public class FrameSyncService implements IFrameSyncService {
      * 
      * @param format
      *            the frame definition object containing the ASM to test
-     * @param testAsm
-     *            the byte array containing the ASM bytes to check
+     * @param offset
+     *            the offset in the frame sync buffer of the ASM bytes to check
      * @return true if the ASM matches; false otherwise
      * 
      * MPCS-7039 - 7/9/15. Moved here from TransferFrameDefinition.
      */
     private boolean reverseLongASMCheck(final ITransferFrameDefinition format,
-            final byte[] testAsm) {
+            final int offset) {
         
         /* MPCS-7993 - 3/30/16. There is no longer an "actual" ASM
          * vs ASM. There is a flag indicating whether the frame has an ASM.
@@ -798,17 +832,7 @@ public class FrameSyncService implements IFrameSyncService {
         if (!format.arrivesWithASM()) {
             return false;
         }
-        if (testAsm.length != format.getASMSizeBytes()) {
-            return false;
-        }
-        final byte[] asm = format.getASM();
-
-        for (int i = asm.length - 1; i >= 0; --i) {
-            if (testAsm[i] != asm[i]) {
-                return false;
-            }
-        }
-        return true;
+        return this.buff.matches(offset, format.getASM());
     }
     
 	/**